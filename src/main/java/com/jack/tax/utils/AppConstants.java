@@ -1,27 +0,0 @@
-package com.jack.tax.utils;
-
-/**
- * Application constants
- */
-public class AppConstants {
-
-    /**
-     * Min USD field amount as a string
-     */
-    public static final String MIN_USD_AMOUNT_AS_STR = "0.0";
-
-    /**
-     * Max USD field amount as a string
-     */
-    public static final String MAX_USD_AMOUNT_AS_STR = "2147483647.0";
-
-    /**
-     * Maximum number of digits before decimal point
-     */
-    public static final int MAX_DIGITS_BEFORE_DECIMAL_POINT = 12;
-
-    /**
-     * Max number of digits after decimal point
-     */
-    public static final int MAX_PRECISION = 2;
-}
@@ -0,0 +1,38 @@
+package com.jack.tax;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets API clients send and receive CBOR (application/cbor) or Smile (application/x-jackson-smile) instead of
+ * JSON, by Content-Type and Accept headers, e.g. for high-volume service-to-service calls where parsing and
+ * writing JSON text costs more than the calculations.  The binary formats carry the same fields as the JSON.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * Reads and writes CBOR with the same object mapper settings as JSON.
+     *
+     * @param builder The app's object mapper builder, with its Jackson settings applied
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Reads and writes Smile with the same object mapper settings as JSON.
+     *
+     * @param builder The app's object mapper builder, with its Jackson settings applied
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,240 @@
+package com.jack.tax;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jack.tax.engine.BulkCalculator;
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.services.TaxTableService;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point for offline bulk calculations, e.g. year-end runs over files of tens of millions of
+ * returns.  Calculates federal tax for every row of a CSV or fixed-width file, see {@link BulkCalculator} for the
+ * file layouts, and prints the progress in rows/sec while it runs.  The tax tables are loaded once, either from
+ * persistent storage, which starts the app without its web server, or from a snapshot file saved beforehand with
+ * {@code --export-snapshot}, which needs no database at all.
+ *
+ * <p>Usage (the app jar's launcher picks this class with
+ * {@code java -Dloader.main=com.jack.tax.BulkCalculatorApplication -cp tax-app.jar org.springframework.boot.loader.launch.PropertiesLauncher}):
+ * <pre>
+ *   --input=FILE --output=FILE --tax-year=YEAR [--format=csv|fixed-width] [--snapshot=FILE]
+ *   --export-snapshot=FILE
+ * </pre>
+ * With {@code --snapshot}, the app's {@code --tax.projection.cpi-rates} and {@code --tax.engine.generated-schedules}
+ * settings can be passed the same way; they default to no projected years and no generated schedules.
+ */
+public class BulkCalculatorApplication {
+
+    /**
+     * Exit status for bad arguments or input rows
+     */
+    static final int EXIT_USAGE = 2;
+
+    /**
+     * Exit status for any other failure
+     */
+    static final int EXIT_FAILURE = 1;
+
+    /**
+     * Milliseconds between progress lines
+     */
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the bulk calculation or snapshot export described by the given arguments.
+     *
+     * @param args Command line arguments
+     * @param out  Receives the progress and summary lines
+     * @param err  Receives the error messages
+     * @return The exit status, 0 if successful
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+
+        try {
+            Map<String, String> options = parseOptions(args);
+
+            // Save the stored tables for later offline runs
+            if (options.containsKey("export-snapshot")) {
+                try (ConfigurableApplicationContext context = startApp(args)) {
+                    TaxTableService.Snapshot snapshot = context.getBean(TaxTableService.class).loadSnapshot();
+                    new ObjectMapper().writerWithDefaultPrettyPrinter()
+                            .writeValue(Path.of(options.get("export-snapshot")).toFile(), snapshot);
+                }
+                out.println("Saved the tax tables to " + options.get("export-snapshot"));
+                return 0;
+            }
+
+            Path input = Path.of(requireOption(options, "input"));
+            Path output = Path.of(requireOption(options, "output"));
+            int taxYear = parseTaxYear(requireOption(options, "tax-year"));
+            BulkCalculator.InputFormat inputFormat =
+                    BulkCalculator.InputFormat.parse(options.getOrDefault("format", "csv"));
+            if (!Files.isRegularFile(input)) {
+                throw new IllegalArgumentException("Could not find input file " + input);
+            }
+
+            // Load the tax tables once, then let go of everything but the compiled schedules of the tax year
+            CompiledTaxYear compiledTaxYear;
+            if (options.containsKey("snapshot")) {
+                TaxTableService.Snapshot snapshot = new ObjectMapper()
+                        .readValue(Path.of(options.get("snapshot")).toFile(), TaxTableService.Snapshot.class);
+                compiledTaxYear = new TaxTableService(snapshot,
+                        parseCpiRates(options.getOrDefault("tax.projection.cpi-rates", "")),
+                        Boolean.parseBoolean(options.getOrDefault("tax.engine.generated-schedules", "false")))
+                        .getCompiledTaxYear(taxYear);
+            } else {
+                try (ConfigurableApplicationContext context = startApp(args)) {
+                    compiledTaxYear = context.getBean(TaxTableService.class).getCompiledTaxYear(taxYear);
+                }
+            }
+
+            return calculate(new BulkCalculator(compiledTaxYear, inputFormat, true), input, output, out);
+
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return EXIT_USAGE;
+        } catch (Exception e) {
+            err.println("Bulk calculation failed: " + e);
+            return EXIT_FAILURE;
+        }
+    }
+
+    /**
+     * Calculates the input file into the output file, printing the progress every second and a summary at the end.
+     *
+     * @param bulkCalculator Calculator for the tax year and input format
+     * @param input          Input file
+     * @param output         Output file
+     * @param out            Receives the progress and summary lines
+     * @return The exit status, 0 if successful
+     * @throws Exception If the calculation fails
+     */
+    private static int calculate(BulkCalculator bulkCalculator, Path input, Path output, PrintStream out)
+            throws Exception {
+
+        long startNanos = System.nanoTime();
+        Thread progress = Thread.ofPlatform().daemon().name("bulk-progress").start(() -> {
+            long previousRows = 0;
+            long previousNanos = startNanos;
+            try {
+                while (true) {
+                    Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+                    long rows = bulkCalculator.getProcessedRowCount();
+                    long nanos = System.nanoTime();
+                    out.printf(Locale.US, "%,d rows (%,.0f rows/sec)%n",
+                            rows, (rows - previousRows) * 1e9 / (nanos - previousNanos));
+                    previousRows = rows;
+                    previousNanos = nanos;
+                }
+            } catch (InterruptedException e) {
+                // The calculation is over
+            }
+        });
+
+        try {
+            long rowCount = bulkCalculator.calculate(input, output);
+            double seconds = Math.max(System.nanoTime() - startNanos, 1) / 1e9;
+            progress.interrupt();
+            progress.join(TimeUnit.SECONDS.toMillis(1));
+            out.printf(Locale.US, "Calculated %,d rows in %.1f s (%,.0f rows/sec) into %s%n",
+                    rowCount, seconds, rowCount / seconds, output);
+            return 0;
+        } finally {
+            progress.interrupt();
+        }
+    }
+
+    /**
+     * Starts the app without its web server or batch job workers, to load the tax tables from persistent storage.
+     *
+     * @param args Command line arguments, passed on so that app settings can be overridden
+     */
+    private static ConfigurableApplicationContext startApp(String[] args) {
+        return new SpringApplicationBuilder(TaxApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("tax.jobs.resume-on-startup=false")
+                .run(args);
+    }
+
+    /**
+     * Parses {@code --name=value} arguments into a map of values keyed by name.
+     *
+     * @param args Command line arguments
+     */
+    static Map<String, String> parseOptions(String[] args) {
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 3) {
+                throw new IllegalArgumentException("Arguments must look like --name=value: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        return options;
+    }
+
+    /**
+     * Returns the value of the given required option.
+     *
+     * @param options Options keyed by name
+     * @param name    Option name
+     */
+    private static String requireOption(Map<String, String> options, String name) {
+
+        String value = options.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses the tax year option.
+     *
+     * @param value Option value
+     */
+    private static int parseTaxYear(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Tax year must be a whole number: " + value);
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of CPI rates (%), the same as the app's projection setting.
+     *
+     * @param value Option value, empty for none
+     */
+    private static List<Double> parseCpiRates(String value) {
+        try {
+            return value.isBlank() ? List.of() : Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .map(Double::valueOf)
+                    .toList();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Projection CPI rates must be comma-separated numbers: " + value);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.engine.ArrowStreamWriter;
+import com.jack.tax.models.BatchJobRequest;
+import com.jack.tax.models.interfaces.BatchJobResponse;
+import com.jack.tax.services.BatchJobService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * API controller for batch jobs, which calculate federal tax owed for every row of a large input in the background.
+ * Submitting a job returns its identifier right away; the job's progress is then polled and its results downloaded
+ * once it completes.
+ */
+@RestController
+@RequestMapping("/api")
+public class BatchJobApiController {
+
+    /**
+     * Contains the business logic for batch jobs.
+     */
+    private final BatchJobService batchJobService;
+
+    /**
+     * Creates a fully initialized Batch Job API Controller using the given data.
+     *
+     * @param batchJobService Contains the business logic for batch jobs.
+     */
+    @Autowired
+    public BatchJobApiController(BatchJobService batchJobService) {
+        this.batchJobService = batchJobService;
+    }
+
+    /**
+     * Queues a job that calculates every row of the uploaded file.  The file is the request body, streamed to
+     * storage as it arrives rather than parsed as a multipart form, so that it is only bound by the batch job
+     * upload limit (tax.jobs.max-upload-size) rather than the app-wide multipart limits.
+     *
+     * @param file            CSV or fixed-width file with a return per row
+     * @param selectedTaxYear Tax year to calculate every row for
+     * @param format          Format of the file, "csv" (the default) or "fixed-width"
+     * @param fileName        Name of the file, reported back with the job's progress
+     * @return The queued job, with its location to poll
+     */
+    @PostMapping(value = "/jobs",
+            consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<BatchJobResponse> submitUpload(InputStream file,
+                                                         @RequestParam int selectedTaxYear,
+                                                         @RequestParam(defaultValue = "csv") String format,
+                                                         @RequestParam(required = false) String fileName) {
+
+        return accepted(batchJobService.submitUpload(file, fileName, selectedTaxYear, format));
+    }
+
+    /**
+     * Queues a job that calculates every document of a Mongo collection.
+     *
+     * @param batchJobRequest Tax year and collection to calculate
+     * @return The queued job, with its location to poll
+     */
+    @PostMapping(value = "/jobs", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchJobResponse> submitCollection(@Valid @RequestBody BatchJobRequest batchJobRequest) {
+
+        return accepted(batchJobService.submitCollection(batchJobRequest));
+    }
+
+    /**
+     * Returns the progress of the given job, with its throughput (rows/sec) and estimated time to completion.
+     *
+     * @param jobId Identifier of the job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BatchJobResponse> getJob(@PathVariable String jobId) {
+
+        return ResponseEntity.ok(batchJobService.getJob(jobId));
+    }
+
+    /**
+     * Streams the results of the given completed job: a CSV with a line per input row, in input order, or an Arrow
+     * IPC stream with typed tax year, federal tax owed, marginal tax rate, effective tax rate and take home pay
+     * columns if the client accepts application/vnd.apache.arrow.stream.
+     *
+     * @param jobId  Identifier of the job
+     * @param accept Accept header of the request.
+     */
+    @GetMapping("/jobs/{jobId}/results")
+    public ResponseEntity<StreamingResponseBody> getResults(
+            @PathVariable String jobId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept) {
+
+        // Check the job before the response starts, so a missing or unfinished job still gets its error status
+        Path results = batchJobService.getResults(jobId);
+
+        // Arrow only when asked for explicitly, CSV otherwise
+        MediaType arrow = MediaType.parseMediaType(ArrowStreamWriter.MEDIA_TYPE);
+        if (MediaType.parseMediaTypes(accept).stream().anyMatch(arrow::equalsTypeAndSubtype)) {
+            return ResponseEntity.ok()
+                    .contentType(arrow)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(jobId + ".arrows").build().toString())
+                    .body(outputStream -> batchJobService.writeResultsArrow(jobId, outputStream));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(jobId + ".csv").build().toString())
+                .body(outputStream -> Files.copy(results, outputStream));
+    }
+
+    /**
+     * Returns 202 Accepted with the given job and its location.
+     *
+     * @param batchJobResponse Queued job
+     */
+    private static ResponseEntity<BatchJobResponse> accepted(BatchJobResponse batchJobResponse) {
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + batchJobResponse.getId()))
+                .body(batchJobResponse);
+    }
+}
@@ -0,0 +1,81 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.models.CalculationDelta;
+import com.jack.tax.models.InputModel;
+import com.jack.tax.models.interfaces.CalculationSessionResponse;
+import com.jack.tax.services.CalculationSessionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * API controller for interactive what-if sessions, where the UI sends only the inputs that changed and
+ * the tax calculation is updated incrementally.
+ */
+@RestController
+@RequestMapping("/api/calculationSessions")
+public class CalculationSessionApiController {
+
+    /**
+     * Contains the business logic for interactive what-if sessions.
+     */
+    private final CalculationSessionService calculationSessionService;
+
+    /**
+     * Creates a fully initialized Calculation Session API Controller using the given data.
+     *
+     * @param calculationSessionService Contains the business logic for interactive what-if sessions.
+     */
+    @Autowired
+    public CalculationSessionApiController(CalculationSessionService calculationSessionService) {
+        this.calculationSessionService = calculationSessionService;
+    }
+
+    /**
+     * Starts a session with a full tax calculation based on the given input data.
+     *
+     * @param inputModel Encapsulates user entered data about gross income,
+     *                  filing status, deductions, and credits for a specified tax year.
+     * @return Session identifier plus federal tax owed (USD), marginal tax rate (%), effective tax rate (%),
+     * take home pay (USD).
+     */
+    @PostMapping
+    public ResponseEntity<CalculationSessionResponse> startSession(@Valid @RequestBody InputModel inputModel) {
+
+        return ResponseEntity.ok(calculationSessionService.startSession(inputModel));
+    }
+
+    /**
+     * Recalculates a session's taxes after some of its inputs changed.
+     *
+     * @param sessionId Identifier returned when the session was started.
+     * @param calculationDelta Only the inputs that changed.
+     * @return Session identifier plus the updated tax calculation.
+     */
+    @PatchMapping("/{sessionId}")
+    public ResponseEntity<CalculationSessionResponse> updateSession(
+            @PathVariable String sessionId,
+            @Valid @RequestBody CalculationDelta calculationDelta) {
+
+        return ResponseEntity.ok(calculationSessionService.updateSession(sessionId, calculationDelta));
+    }
+
+    /**
+     * Ends a session, discarding its state.
+     *
+     * @param sessionId Identifier returned when the session was started.
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> endSession(@PathVariable String sessionId) {
+
+        calculationSessionService.endSession(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
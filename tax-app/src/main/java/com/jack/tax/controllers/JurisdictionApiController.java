@@ -0,0 +1,67 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.models.InputModel;
+import com.jack.tax.models.interfaces.JurisdictionResponse;
+import com.jack.tax.models.interfaces.MultiJurisdictionResponse;
+import com.jack.tax.services.JurisdictionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * API controller for calculations that combine the federal income tax with the income tax of one or more states.
+ */
+@RestController
+@RequestMapping("/api")
+public class JurisdictionApiController {
+
+    /**
+     * Contains the business logic for multi-jurisdiction calculations.
+     */
+    private final JurisdictionService jurisdictionService;
+
+    /**
+     * Creates a fully initialized Jurisdiction API Controller using the given data.
+     *
+     * @param jurisdictionService Contains the business logic for multi-jurisdiction calculations.
+     */
+    @Autowired
+    public JurisdictionApiController(JurisdictionService jurisdictionService) {
+        this.jurisdictionService = jurisdictionService;
+    }
+
+    /**
+     * Returns the jurisdictions calculations can include, the federal one first, with the tax years each supports.
+     */
+    @GetMapping("/jurisdictions")
+    public ResponseEntity<List<JurisdictionResponse>> getJurisdictions() {
+
+        return ResponseEntity.ok(jurisdictionService.getJurisdictions());
+    }
+
+    /**
+     * Calculates federal tax owed plus the income tax owed to each of the given jurisdictions, all starting from
+     * the same federal adjusted gross income.
+     *
+     * @param inputModel    Encapsulates user entered data about gross income,
+     *                      filing status, deductions, and credits for a specified tax year.
+     * @param jurisdictions Codes of the state jurisdictions to include, e.g. "IL".  Defaults to none.
+     * @return Each jurisdiction's tax owed (USD), marginal and effective tax rates (%) and calculation time, and
+     * the combined tax owed, tax rates and take home pay.
+     */
+    @PostMapping("/taxCalculation/jurisdictions")
+    public ResponseEntity<MultiJurisdictionResponse> calculateTaxesForJurisdictions(
+            @Valid @RequestBody InputModel inputModel,
+            @RequestParam(required = false) List<String> jurisdictions) {
+
+        return ResponseEntity.ok(jurisdictionService.calculateTaxes(inputModel, jurisdictions));
+    }
+}
@@ -0,0 +1,65 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.models.InputModel;
+import com.jack.tax.services.LiveCalculationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * API controller for live recalculation channels, where the UI streams input updates and the server
+ * pushes back the (debounced) tax calculations as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/liveCalculations")
+public class LiveCalculationApiController {
+
+    /**
+     * Contains the business logic for live recalculation channels.
+     */
+    private final LiveCalculationService liveCalculationService;
+
+    /**
+     * Creates a fully initialized Live Calculation API Controller using the given data.
+     *
+     * @param liveCalculationService Contains the business logic for live recalculation channels.
+     */
+    @Autowired
+    public LiveCalculationApiController(LiveCalculationService liveCalculationService) {
+        this.liveCalculationService = liveCalculationService;
+    }
+
+    /**
+     * Opens a live recalculation channel.  The first event ("channel") carries the channel identifier to post
+     * updates to; every later event ("calculation") carries the tax calculation for the latest update.  Answers
+     * 503 Service Unavailable while the max number of channels are open.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter openChannel() {
+
+        return liveCalculationService.openChannel();
+    }
+
+    /**
+     * Posts an input update to a live recalculation channel.  Updates that arrive within the debounce window
+     * are coalesced and only the latest one is calculated.
+     *
+     * @param channelId Identifier sent as the channel's first event.
+     * @param inputModel Encapsulates user entered data about gross income,
+     *                  filing status, deductions, and credits for a specified tax year.
+     */
+    @PostMapping("/{channelId}")
+    public ResponseEntity<Void> submit(@PathVariable String channelId, @Valid @RequestBody InputModel inputModel) {
+
+        liveCalculationService.submit(channelId, inputModel);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.models.MicrosimulationRequest;
+import com.jack.tax.models.PolicyDiffRequest;
+import com.jack.tax.models.interfaces.MicrosimulationResponse;
+import com.jack.tax.models.interfaces.PolicyDiffResponse;
+import com.jack.tax.services.MicrosimulationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * API controller for microsimulations, which calculate federal tax owed for every household of a population
+ * file and return distributional aggregates or the effects of a draft tax table.
+ */
+@RestController
+@RequestMapping("/api/microsimulations")
+public class MicrosimulationApiController {
+
+    /**
+     * Contains the business logic for microsimulations.
+     */
+    private final MicrosimulationService microsimulationService;
+
+    /**
+     * Creates a fully initialized Microsimulation API Controller using the given data.
+     *
+     * @param microsimulationService Contains the business logic for microsimulations.
+     */
+    @Autowired
+    public MicrosimulationApiController(MicrosimulationService microsimulationService) {
+        this.microsimulationService = microsimulationService;
+    }
+
+    /**
+     * Runs a microsimulation over a population file.
+     *
+     * @param microsimulationRequest Tax year, population file (relative to the population directory) and grouping.
+     * @return Household count, total gross income, total federal tax owed (revenue), average federal tax owed and
+     * average effective tax rate for the whole population and for each group.
+     */
+    @PostMapping
+    public ResponseEntity<MicrosimulationResponse> simulate(@Valid @RequestBody MicrosimulationRequest microsimulationRequest) {
+
+        return ResponseEntity.ok(microsimulationService.simulate(microsimulationRequest));
+    }
+
+    /**
+     * Compares a draft tax table against current law for every household of a population file.  The draft is
+     * never stored.
+     *
+     * @param policyDiffRequest Current law tax year, population file (relative to the population directory), and
+     *                          draft standard deductions and brackets.
+     * @return Revenue under current law and the draft, the revenue change, and the number of households that
+     * owe less, more or the same with their average change in federal tax owed.
+     */
+    @PostMapping("/policyDiff")
+    public ResponseEntity<PolicyDiffResponse> comparePolicies(@Valid @RequestBody PolicyDiffRequest policyDiffRequest) {
+
+        return ResponseEntity.ok(microsimulationService.comparePolicies(policyDiffRequest));
+    }
+}
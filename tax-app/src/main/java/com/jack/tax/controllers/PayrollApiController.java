@@ -0,0 +1,50 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.models.PayrollRunRequest;
+import com.jack.tax.models.interfaces.PayrollRunResponse;
+import com.jack.tax.services.PayrollService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * API controller for payroll runs, which estimate the federal income tax to withhold from every employee's pay
+ * for one pay period.
+ */
+@RestController
+@RequestMapping("/api/payrollRuns")
+public class PayrollApiController {
+
+    /**
+     * Contains the business logic for payroll runs.
+     */
+    private final PayrollService payrollService;
+
+    /**
+     * Creates a fully initialized Payroll API Controller using the given data.
+     *
+     * @param payrollService Contains the business logic for payroll runs.
+     */
+    @Autowired
+    public PayrollApiController(PayrollService payrollService) {
+        this.payrollService = payrollService;
+    }
+
+    /**
+     * Calculates the withholding of every employee of a payroll run.
+     *
+     * @param payrollRunRequest Tax year, pay frequency, and each employee's pay for the current pay period and
+     *                          year-to-date figures.
+     * @return Each employee's annualized wages, federal tax owed on them and withholding for the current pay
+     * period, in request order, along with the run totals.
+     */
+    @PostMapping
+    public ResponseEntity<PayrollRunResponse> runPayroll(@Valid @RequestBody PayrollRunRequest payrollRunRequest) {
+
+        return ResponseEntity.ok(payrollService.runPayroll(payrollRunRequest));
+    }
+}
@@ -0,0 +1,81 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.engine.ArrowStreamWriter;
+import com.jack.tax.engine.ScenarioGrid;
+import com.jack.tax.models.ScenarioGridRequest;
+import com.jack.tax.services.ScenarioGridService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * API controller for scenario grids, which evaluate every combination of the given tax years, filing statuses,
+ * deductions, credits and gross incomes and stream the results back column by column.
+ */
+@RestController
+@RequestMapping("/api/scenarioGrid")
+public class ScenarioGridApiController {
+
+    /**
+     * Contains the business logic for scenario grids.
+     */
+    private final ScenarioGridService scenarioGridService;
+
+    /**
+     * Creates a fully initialized Scenario Grid API Controller using the given data.
+     *
+     * @param scenarioGridService Contains the business logic for scenario grids.
+     */
+    @Autowired
+    public ScenarioGridApiController(ScenarioGridService scenarioGridService) {
+        this.scenarioGridService = scenarioGridService;
+    }
+
+    /**
+     * Evaluates a scenario grid.  The grid is evaluated before the response starts, so invalid requests are
+     * still rejected with an error status; the results are then streamed as columnar JSON, as a binary
+     * matrix if the client accepts application/octet-stream, or as an Arrow IPC stream with a row per cell if the
+     * client accepts application/vnd.apache.arrow.stream.
+     *
+     * @param scenarioGridRequest Tax years, filing statuses, deductions, credits and gross incomes, each a list
+     *                            of values or (for amounts) a range.
+     * @param accept Accept header of the request.
+     * @return The dimensions, shape and one column per output (federal tax owed, marginal tax rate, effective
+     * tax rate and take home pay) in row-major order with the gross income varying fastest.
+     */
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            ArrowStreamWriter.MEDIA_TYPE})
+    public ResponseEntity<StreamingResponseBody> evaluate(
+            @Valid @RequestBody ScenarioGridRequest scenarioGridRequest,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept) {
+
+        ScenarioGrid grid = scenarioGridService.evaluate(scenarioGridRequest);
+
+        // Arrow or binary only when asked for explicitly, JSON otherwise
+        MediaType arrow = MediaType.parseMediaType(ArrowStreamWriter.MEDIA_TYPE);
+        if (MediaType.parseMediaTypes(accept).stream().anyMatch(arrow::equalsTypeAndSubtype)) {
+            return ResponseEntity.ok()
+                    .contentType(arrow)
+                    .body(outputStream -> scenarioGridService.writeArrow(scenarioGridRequest, grid, outputStream));
+        }
+        boolean binary = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_OCTET_STREAM::equalsTypeAndSubtype);
+        if (binary) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(outputStream -> scenarioGridService.writeBinary(scenarioGridRequest, grid, outputStream));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> scenarioGridService.writeJson(scenarioGridRequest, grid, outputStream));
+    }
+}
@@ -0,0 +1,206 @@
+package com.jack.tax.controllers;
+
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.InputModel;
+import com.jack.tax.models.InverseCalculationRequest;
+import com.jack.tax.models.MonteCarloRequest;
+import com.jack.tax.models.TaxCurveRequest;
+import com.jack.tax.models.interfaces.DeductionAnalysis;
+import com.jack.tax.models.interfaces.FilingStatusComparison;
+import com.jack.tax.models.interfaces.FilingStatusResponse;
+import com.jack.tax.models.interfaces.InverseCalculationResponse;
+import com.jack.tax.models.interfaces.MonteCarloResponse;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.models.interfaces.TaxCurveResponse;
+import com.jack.tax.services.TaxAnalysisService;
+import com.jack.tax.services.TaxCalculationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * API controller for receiving tax calculation requests and
+ * providing responses with computed tax information.
+ */
+@RestController
+@RequestMapping("/api")
+// Allow React frontend
+public class TaxCalculatorApiController {
+
+    /**
+     * Contains the business logic for tax calculations.
+     */
+    private final TaxCalculationService taxCalculationService;
+
+    /**
+     * Contains the business logic for analyses across many incomes.
+     */
+    private final TaxAnalysisService taxAnalysisService;
+
+    /**
+     * Creates a fully initialized Tax Calculator API Controller using the given data.
+     *
+     * @param taxCalculationService Contains the business logic for tax calculations.
+     * @param taxAnalysisService Contains the business logic for analyses across many incomes.
+     */
+    @Autowired
+    public TaxCalculatorApiController(TaxCalculationService taxCalculationService,
+                                      TaxAnalysisService taxAnalysisService) {
+        this.taxCalculationService = taxCalculationService;
+        this.taxAnalysisService = taxAnalysisService;
+    }
+
+    /**
+     * Returns the tax years the app supports based on what is loaded in persistent storage, including the
+     * years projected from it by inflation.
+     */
+    @GetMapping("/taxYears")
+    public ResponseEntity<List<Integer>> getTaxYears() {
+
+        return ResponseEntity.ok(taxCalculationService.getSupportedTaxYears());
+    }
+
+    /**
+     * Returns the supported tax years whose tables are projected by inflation rather than published, so
+     * calculations for them are estimates.
+     */
+    @GetMapping("/projectedTaxYears")
+    public ResponseEntity<List<Integer>> getProjectedTaxYears() {
+
+        return ResponseEntity.ok(taxCalculationService.getProjectedTaxYears());
+    }
+
+    /**
+     * Returns a list of filing statuses so the user can pick one.
+     */
+    @GetMapping("/filingStatuses")
+    public ResponseEntity<List<FilingStatusResponse>> getFilingStatuses() {
+
+        return ResponseEntity.ok(Arrays.stream(FilingStatus.values())
+                .map(com.jack.tax.models.FilingStatusResponse::new)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Calculates federal tax owed based on the given input data.
+     *
+     * @param inputModel Encapsulates user entered data about gross income,
+     *                  filing status, deductions, and credits for a specified tax year.
+     * @param includeMarginalSensitivity Optionally also returns the distance to the next and previous bracket
+     *                                   thresholds, and the tax and take home pay on the next $1,000 of income.
+     * @param explain Optionally also returns which deduction regime won and the income and tax in each bracket.
+     * @return Federal tax owed (USD), marginal tax rate (%), effective tax rate (%), take home pay (USD).
+     */
+    @PostMapping("/taxCalculation")
+    public ResponseEntity<List<OutputModel>> calculateFederalTaxOwed(
+            @Valid @RequestBody InputModel inputModel,
+            @RequestParam(defaultValue = "false") boolean includeMarginalSensitivity,
+            @RequestParam(defaultValue = "false") boolean explain) {
+
+        // Return a list with one and only one element with tax calculation output content
+        return ResponseEntity.ok(Collections.singletonList(
+                taxCalculationService.calculateTaxes(inputModel, includeMarginalSensitivity, explain)));
+    }
+
+    /**
+     * Calculates federal tax owed for every supported tax year based on the given input data.
+     *
+     * @param inputModel Encapsulates user entered data about gross income,
+     *                  filing status, deductions, and credits.  The selected tax year is ignored.
+     * @return One element per supported tax year (descending), each with federal tax owed (USD),
+     * marginal tax rate (%), effective tax rate (%), take home pay (USD).
+     */
+    @PostMapping("/taxCalculation/allYears")
+    public ResponseEntity<List<OutputModel>> calculateFederalTaxOwedForAllYears(@Valid @RequestBody InputModel inputModel) {
+
+        return ResponseEntity.ok(taxCalculationService.calculateTaxesForAllYears(inputModel));
+    }
+
+    /**
+     * Calculates federal tax owed for every filing status based on the given input data, and
+     * identifies the filing status with the least federal tax owed.
+     *
+     * @param inputModel Encapsulates user entered data about gross income, deductions, and credits
+     *                   for a specified tax year.  The selected filing status is validated like it
+     *                   is for other calculations, but otherwise ignored.
+     * @param eligibleFilingStatuses Optional filing statuses the user qualifies for; the best filing status
+     *                               is picked from these.  Defaults to all filing statuses.
+     * @return One calculation per filing status plus the calculation with the least federal tax owed.
+     */
+    @PostMapping("/taxCalculation/allFilingStatuses")
+    public ResponseEntity<FilingStatusComparison> compareFilingStatuses(
+            @Valid @RequestBody InputModel inputModel,
+            @RequestParam(required = false) List<FilingStatus> eligibleFilingStatuses) {
+
+        return ResponseEntity.ok(taxCalculationService.compareFilingStatuses(inputModel, eligibleFilingStatuses));
+    }
+
+    /**
+     * Returns federal tax owed as a function of gross income (e.g. for charting), as linear segments and,
+     * if a sample count is given, as evenly spaced samples.
+     *
+     * @param taxCurveRequest Tax year, filing status, deductions, credits, gross income range and sample count.
+     * @return Segments (breakpoints plus marginal tax rate) and optional samples of federal tax owed (USD),
+     * effective tax rate (%) and marginal tax rate (%).
+     */
+    @PostMapping("/taxCurve")
+    public ResponseEntity<TaxCurveResponse> getTaxCurve(@Valid @RequestBody TaxCurveRequest taxCurveRequest) {
+
+        return ResponseEntity.ok(taxAnalysisService.getTaxCurve(taxCurveRequest));
+    }
+
+    /**
+     * Solves for the gross income at which take home pay, federal tax owed or the effective tax rate
+     * reaches a target value, e.g. the salary that nets a given take home pay.
+     *
+     * @param inverseCalculationRequest Tax year, filing status, deductions, credits, target output and target value.
+     * @return The lowest gross income (USD) that reaches the target plus the tax calculation at that income.
+     */
+    @PostMapping("/inverseCalculation")
+    public ResponseEntity<InverseCalculationResponse> solveForGrossIncome(
+            @Valid @RequestBody InverseCalculationRequest inverseCalculationRequest) {
+
+        return ResponseEntity.ok(taxAnalysisService.solveForGrossIncome(inverseCalculationRequest));
+    }
+
+    /**
+     * Analyzes itemizing versus taking the standard deduction based on the given input data.
+     *
+     * @param inputModel Encapsulates user entered data about gross income,
+     *                  filing status, deductions, and credits for a specified tax year.
+     * @return Breakeven itemized deductions (USD), tax saved by the entered deductions (USD), and the tax saved (%)
+     * per extra dollar of deductions for every range of deductions.
+     */
+    @PostMapping("/deductionAnalysis")
+    public ResponseEntity<DeductionAnalysis> analyzeDeductions(@Valid @RequestBody InputModel inputModel) {
+
+        return ResponseEntity.ok(taxAnalysisService.analyzeDeductions(inputModel));
+    }
+
+    /**
+     * Simulates federal tax owed and take home pay for randomly drawn incomes when the salary and bonus are
+     * uncertain.
+     *
+     * @param monteCarloRequest Tax year, filing status, deductions, credits, salary and bonus distributions,
+     *                          sample count, histogram bin count and optional seed.
+     * @return The seed used plus the mean, standard deviation, range, percentiles and histogram of gross income,
+     * federal tax owed and take home pay (USD).
+     */
+    @PostMapping("/monteCarlo")
+    public ResponseEntity<MonteCarloResponse> simulateIncomeUncertainty(
+            @Valid @RequestBody MonteCarloRequest monteCarloRequest) {
+
+        return ResponseEntity.ok(taxAnalysisService.simulateIncomeUncertainty(monteCarloRequest));
+    }
+}
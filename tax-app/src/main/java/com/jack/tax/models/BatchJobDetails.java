@@ -0,0 +1,334 @@
+package com.jack.tax.models;
+
+import com.jack.tax.engine.BulkCalculator;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encapsulates a batch job that calculates federal tax owed for every row of a large input in the background.
+ * The input and results live in the job's directory; this entity tracks the job's progress and the chunks whose
+ * results are already saved, so that a restarted instance resumes the job where it stopped.
+ */
+@Document(collection = "BatchJobs")
+public class BatchJobDetails implements com.jack.tax.models.interfaces.BatchJobDetails {
+
+    /**
+     * Identifier of the job
+     */
+    @Id
+    private String id;
+
+    /**
+     * Status of the job
+     */
+    private BatchJobStatus status = BatchJobStatus.QUEUED;
+
+    /**
+     * Tax year every row is calculated for
+     */
+    private int taxYear;
+
+    /**
+     * Format of the job's input file
+     */
+    private BulkCalculator.InputFormat inputFormat;
+
+    /**
+     * Name of the uploaded input file, null if the rows come from a collection
+     */
+    private String fileName;
+
+    /**
+     * Name of the Mongo collection the rows come from, null if they were uploaded
+     */
+    private String collection;
+
+    /**
+     * True once the rows of the collection are copied to the job's input file
+     */
+    private boolean inputStaged;
+
+    /**
+     * Number of rows in the input, -1 until the input is split into chunks
+     */
+    private long totalRows = -1;
+
+    /**
+     * Number of chunks the input is split into
+     */
+    private int chunkCount;
+
+    /**
+     * Indexes of the chunks whose results are saved, i.e. the checkpoint a restarted job resumes from
+     */
+    private List<Integer> completedChunks = new ArrayList<>();
+
+    /**
+     * Number of rows in the completed chunks
+     */
+    private long completedRows;
+
+    /**
+     * Time the job was submitted
+     */
+    private Instant submittedAt;
+
+    /**
+     * Time the job first started running, null until then
+     */
+    private Instant startedAt;
+
+    /**
+     * Time the job completed or failed, null until then
+     */
+    private Instant finishedAt;
+
+    /**
+     * Reason the job failed, null unless it did
+     */
+    private String errorMessage;
+
+    /**
+     * Returns the identifier of the job
+     */
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Sets the identifier of the job with the given data
+     * @param id Identifier of the job to set
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the status of the job
+     */
+    @Override
+    public BatchJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the status of the job with the given data
+     * @param status Status of the job to set
+     */
+    public void setStatus(BatchJobStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the tax year every row is calculated for
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the tax year every row is calculated for with the given data
+     * @param taxYear Tax year to set
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the format of the job's input file
+     */
+    @Override
+    public BulkCalculator.InputFormat getInputFormat() {
+        return inputFormat;
+    }
+
+    /**
+     * Sets the format of the job's input file with the given data
+     * @param inputFormat Format of the job's input file to set
+     */
+    public void setInputFormat(BulkCalculator.InputFormat inputFormat) {
+        this.inputFormat = inputFormat;
+    }
+
+    /**
+     * Returns the name of the uploaded input file, null if the rows come from a collection
+     */
+    @Override
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Sets the name of the uploaded input file with the given data
+     * @param fileName Name of the uploaded input file to set
+     */
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the name of the Mongo collection the rows come from, null if they were uploaded
+     */
+    @Override
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * Sets the name of the Mongo collection the rows come from with the given data
+     * @param collection Name of the collection to set
+     */
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * Returns true once the rows of the collection are copied to the job's input file
+     */
+    @Override
+    public boolean isInputStaged() {
+        return inputStaged;
+    }
+
+    /**
+     * Sets whether the rows of the collection are copied to the job's input file with the given data
+     * @param inputStaged True if the rows are copied
+     */
+    public void setInputStaged(boolean inputStaged) {
+        this.inputStaged = inputStaged;
+    }
+
+    /**
+     * Returns the number of rows in the input, -1 until the input is split into chunks
+     */
+    @Override
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Sets the number of rows in the input with the given data
+     * @param totalRows Number of rows in the input to set
+     */
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * Returns the number of chunks the input is split into
+     */
+    @Override
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Sets the number of chunks the input is split into with the given data
+     * @param chunkCount Number of chunks the input is split into to set
+     */
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    /**
+     * Returns the indexes of the chunks whose results are saved, i.e. the checkpoint a restarted job resumes from
+     */
+    @Override
+    public List<Integer> getCompletedChunks() {
+        return completedChunks;
+    }
+
+    /**
+     * Sets the indexes of the chunks whose results are saved with the given data
+     * @param completedChunks Indexes of the chunks whose results are saved to set
+     */
+    public void setCompletedChunks(List<Integer> completedChunks) {
+        this.completedChunks = completedChunks;
+    }
+
+    /**
+     * Returns the number of rows in the completed chunks
+     */
+    @Override
+    public long getCompletedRows() {
+        return completedRows;
+    }
+
+    /**
+     * Sets the number of rows in the completed chunks with the given data
+     * @param completedRows Number of rows in the completed chunks to set
+     */
+    public void setCompletedRows(long completedRows) {
+        this.completedRows = completedRows;
+    }
+
+    /**
+     * Returns the time the job was submitted
+     */
+    @Override
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * Sets the time the job was submitted with the given data
+     * @param submittedAt Time the job was submitted to set
+     */
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    /**
+     * Returns the time the job first started running, null until then
+     */
+    @Override
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Sets the time the job first started running with the given data
+     * @param startedAt Time the job first started running to set
+     */
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Returns the time the job completed or failed, null until then
+     */
+    @Override
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets the time the job completed or failed with the given data
+     * @param finishedAt Time the job completed or failed to set
+     */
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Returns the reason the job failed, null unless it did
+     */
+    @Override
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Sets the reason the job failed with the given data
+     * @param errorMessage Reason the job failed to set
+     */
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,51 @@
+package com.jack.tax.models;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contains the inputs needed to calculate federal tax owed for every document of a Mongo collection in a batch job.
+ * Each document holds a return: its filingStatus, grossIncome, preferentialIncome, totalDeductions, totalCredits and
+ * qualifyingChildren.
+ */
+@NoArgsConstructor
+public class BatchJobRequest implements com.jack.tax.models.interfaces.BatchJobRequest {
+
+    private int selectedTaxYear;
+    @NotBlank(message = "Collection must have a value")
+    private String collection;
+
+    /**
+     * Returns the selected tax year.
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the selected tax year.
+     *
+     * @param selectedTaxYear Tax year to calculate every row for
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the name of the Mongo collection whose documents are the rows to calculate.
+     */
+    @Override
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * Sets the name of the Mongo collection whose documents are the rows to calculate.
+     *
+     * @param collection Name of the collection
+     */
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+}
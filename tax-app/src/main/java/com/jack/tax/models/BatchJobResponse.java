@@ -0,0 +1,174 @@
+package com.jack.tax.models;
+
+import java.time.Instant;
+
+/**
+ * Reports the progress of a batch job, with its throughput and estimated time to completion.
+ */
+public class BatchJobResponse implements com.jack.tax.models.interfaces.BatchJobResponse {
+
+    private final String id;
+    private final BatchJobStatus status;
+    private final int taxYear;
+    private final String fileName;
+    private final String collection;
+    private final Long totalRows;
+    private final long processedRows;
+    private final double rowsPerSecond;
+    private final Long etaSeconds;
+    private final Instant submittedAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String errorMessage;
+
+    /**
+     * Creates a fully initialized batch job response using the given data.
+     *
+     * @param id            Identifier of the job
+     * @param status        Status of the job
+     * @param taxYear       Tax year every row is calculated for
+     * @param fileName      Name of the uploaded input file, null if the rows come from a collection
+     * @param collection    Name of the Mongo collection the rows come from, null if they were uploaded
+     * @param totalRows     Number of rows in the input, null until the job has split it into chunks
+     * @param processedRows Number of rows calculated so far
+     * @param rowsPerSecond Rows calculated per second since the job (re)started running, or over the whole run
+     *                      once it is over
+     * @param etaSeconds    Estimated seconds until the job completes, null if it is not running or has no
+     *                      throughput yet
+     * @param submittedAt   Time the job was submitted
+     * @param startedAt     Time the job first started running, null until then
+     * @param finishedAt    Time the job completed or failed, null until then
+     * @param errorMessage  Reason the job failed, null unless it did
+     */
+    public BatchJobResponse(String id,
+                            BatchJobStatus status,
+                            int taxYear,
+                            String fileName,
+                            String collection,
+                            Long totalRows,
+                            long processedRows,
+                            double rowsPerSecond,
+                            Long etaSeconds,
+                            Instant submittedAt,
+                            Instant startedAt,
+                            Instant finishedAt,
+                            String errorMessage) {
+        this.id = id;
+        this.status = status;
+        this.taxYear = taxYear;
+        this.fileName = fileName;
+        this.collection = collection;
+        this.totalRows = totalRows;
+        this.processedRows = processedRows;
+        this.rowsPerSecond = rowsPerSecond;
+        this.etaSeconds = etaSeconds;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Returns the identifier of the job.
+     */
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the status of the job.
+     */
+    @Override
+    public BatchJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the tax year every row is calculated for.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Returns the name of the uploaded input file, null if the rows come from a collection.
+     */
+    @Override
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the name of the Mongo collection the rows come from, null if they were uploaded.
+     */
+    @Override
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * Returns the number of rows in the input, null until the job has split it into chunks.
+     */
+    @Override
+    public Long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Returns the number of rows calculated so far.
+     */
+    @Override
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    /**
+     * Returns the rows calculated per second since the job (re)started running, or over the whole run once it is over.
+     */
+    @Override
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * Returns the estimated seconds until the job completes, null if it is not running or has no throughput yet.
+     */
+    @Override
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    /**
+     * Returns the time the job was submitted.
+     */
+    @Override
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * Returns the time the job first started running, null until then.
+     */
+    @Override
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Returns the time the job completed or failed, null until then.
+     */
+    @Override
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Returns the reason the job failed, null unless it did.
+     */
+    @Override
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
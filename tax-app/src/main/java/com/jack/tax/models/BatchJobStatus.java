@@ -0,0 +1,39 @@
+package com.jack.tax.models;
+
+/**
+ * Batch job status enumeration
+ */
+public enum BatchJobStatus {
+
+    QUEUED("Queued", false),
+    RUNNING("Running", false),
+    COMPLETED("Completed", true),
+    FAILED("Failed", true);
+
+    private final String description;
+    private final boolean finished;
+
+    /**
+     * Initializes the enum with a description and whether the job is over
+     * @param description Description for the enum
+     * @param finished True if a job with this status will not run again
+     */
+    BatchJobStatus(String description, boolean finished) {
+        this.description = description;
+        this.finished = finished;
+    }
+
+    /**
+     * Returns the description for the enum
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns true if a job with this status will not run again
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+}
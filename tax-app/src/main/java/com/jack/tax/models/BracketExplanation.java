@@ -0,0 +1,74 @@
+package com.jack.tax.models;
+
+/**
+ * Explains how much of the taxable income falls in one tax bracket and the tax owed on it.
+ */
+public class BracketExplanation implements com.jack.tax.models.interfaces.BracketExplanation {
+
+    private final int taxRate;
+    private final double minIncome;
+    private final double maxIncome;
+    private final double applicableIncome;
+    private final double tax;
+
+    /**
+     * Creates a fully initialized bracket explanation using the given data.
+     *
+     * @param taxRate          Marginal tax rate (%) of the bracket
+     * @param minIncome        Min taxable income (USD) of the bracket
+     * @param maxIncome        Max taxable income (USD) of the bracket
+     * @param applicableIncome Portion of the taxable income (USD) that falls in the bracket
+     * @param tax              Tax (USD) owed on the applicable income in the bracket
+     */
+    public BracketExplanation(int taxRate,
+                              double minIncome,
+                              double maxIncome,
+                              double applicableIncome,
+                              double tax) {
+        this.taxRate = taxRate;
+        this.minIncome = minIncome;
+        this.maxIncome = maxIncome;
+        this.applicableIncome = applicableIncome;
+        this.tax = tax;
+    }
+
+    /**
+     * Returns the marginal tax rate (%) of the bracket.
+     */
+    @Override
+    public int getTaxRate() {
+        return taxRate;
+    }
+
+    /**
+     * Returns the min taxable income (USD) of the bracket.
+     */
+    @Override
+    public double getMinIncome() {
+        return minIncome;
+    }
+
+    /**
+     * Returns the max taxable income (USD) of the bracket.
+     */
+    @Override
+    public double getMaxIncome() {
+        return maxIncome;
+    }
+
+    /**
+     * Returns the portion of the taxable income (USD) that falls in the bracket.
+     */
+    @Override
+    public double getApplicableIncome() {
+        return applicableIncome;
+    }
+
+    /**
+     * Returns the tax (USD) owed on the applicable income in the bracket.
+     */
+    @Override
+    public double getTax() {
+        return tax;
+    }
+}
@@ -0,0 +1,138 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.*;
+
+/**
+ * Contains the user-entered inputs that changed since the last calculation of an interactive session.  Fields
+ * that are left out (null) keep their previous values.
+ */
+@NoArgsConstructor
+public class CalculationDelta implements com.jack.tax.models.interfaces.CalculationDelta {
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Gross income must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Gross income must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private Double grossIncome;
+
+    private FilingStatus selectedFilingStatus;
+
+    private Integer selectedTaxYear;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Deductions must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Deductions must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private Double totalDeductions;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Credits must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Credits must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private Double totalCredits;
+
+    @Min(value = 0, message = "Qualifying children must be at least 0")
+    @Max(value = AppConstants.MAX_QUALIFYING_CHILDREN, message = "Qualifying children must be less than or equal to " + AppConstants.MAX_QUALIFYING_CHILDREN)
+    private Integer qualifyingChildren;
+
+    /**
+     * Returns the new gross income (USD), or null if unchanged.
+     */
+    @Override
+    public Double getGrossIncome() {
+        return grossIncome;
+    }
+
+    /**
+     * Sets the new gross income (USD).
+     *
+     * @param grossIncome Gross income (USD), or null if unchanged
+     */
+    public void setGrossIncome(Double grossIncome) {
+        this.grossIncome = grossIncome;
+    }
+
+    /**
+     * Returns the new filing status, or null if unchanged.
+     */
+    @Override
+    public FilingStatus getSelectedFilingStatus() {
+        return selectedFilingStatus;
+    }
+
+    /**
+     * Sets the new filing status.
+     *
+     * @param selectedFilingStatus Filing status, or null if unchanged
+     */
+    public void setSelectedFilingStatus(FilingStatus selectedFilingStatus) {
+        this.selectedFilingStatus = selectedFilingStatus;
+    }
+
+    /**
+     * Returns the new tax year, or null if unchanged.
+     */
+    @Override
+    public Integer getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the new tax year.
+     *
+     * @param selectedTaxYear Tax year, or null if unchanged
+     */
+    public void setSelectedTaxYear(Integer selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the new total deductions (USD), or null if unchanged.
+     */
+    @Override
+    public Double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the new total deductions (USD).
+     *
+     * @param totalDeductions Total deductions (USD), or null if unchanged
+     */
+    public void setTotalDeductions(Double totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the new total credits (USD), or null if unchanged.
+     */
+    @Override
+    public Double getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the new total credits (USD).
+     *
+     * @param totalCredits Total credits (USD), or null if unchanged
+     */
+    public void setTotalCredits(Double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    /**
+     * Returns the new number of qualifying children, or null if unchanged.
+     */
+    @Override
+    public Integer getQualifyingChildren() {
+        return qualifyingChildren;
+    }
+
+    /**
+     * Sets the new number of qualifying children.
+     *
+     * @param qualifyingChildren Number of qualifying children, or null if unchanged
+     */
+    public void setQualifyingChildren(Integer qualifyingChildren) {
+        this.qualifyingChildren = qualifyingChildren;
+    }
+}
@@ -0,0 +1,185 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.BracketExplanation;
+
+import java.util.List;
+
+/**
+ * Explains how a tax calculation was reached: which deduction regime won, the resulting taxable income, and
+ * the income and tax in each bracket.
+ */
+public class CalculationExplanation implements com.jack.tax.models.interfaces.CalculationExplanation {
+
+    private double grossIncome;
+    private double standardDeduction;
+    private double totalDeductions;
+    private DeductionRegime deductionRegime;
+    private double taxableIncome;
+    private List<BracketExplanation> brackets;
+    private double capitalGainsTax;
+    private double incomeTaxBeforeCredits;
+    private double totalCredits;
+
+    /**
+     * Creates a fully initialized calculation explanation.
+     */
+    public CalculationExplanation() {
+        // No processing required
+    }
+
+    /**
+     * Returns the gross income (USD) the calculation was made for.
+     */
+    @Override
+    public double getGrossIncome() {
+        return grossIncome;
+    }
+
+    /**
+     * Sets the gross income (USD) the calculation was made for.
+     *
+     * @param grossIncome Gross income (USD).
+     */
+    public void setGrossIncome(double grossIncome) {
+        this.grossIncome = grossIncome;
+    }
+
+    /**
+     * Returns the standard deduction (USD) for the tax year and filing status.
+     */
+    @Override
+    public double getStandardDeduction() {
+        return standardDeduction;
+    }
+
+    /**
+     * Sets the standard deduction (USD) for the tax year and filing status.
+     *
+     * @param standardDeduction Standard deduction (USD).
+     */
+    public void setStandardDeduction(double standardDeduction) {
+        this.standardDeduction = standardDeduction;
+    }
+
+    /**
+     * Returns the total itemized deductions (USD) the user has entered.
+     */
+    @Override
+    public double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the total itemized deductions (USD) the user has entered.
+     *
+     * @param totalDeductions Total itemized deductions (USD).
+     */
+    public void setTotalDeductions(double totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the deduction regime that won, i.e. the one resulting in the lower taxable income.
+     */
+    @Override
+    public DeductionRegime getDeductionRegime() {
+        return deductionRegime;
+    }
+
+    /**
+     * Sets the deduction regime that won.
+     *
+     * @param deductionRegime Deduction regime that won.
+     */
+    public void setDeductionRegime(DeductionRegime deductionRegime) {
+        this.deductionRegime = deductionRegime;
+    }
+
+    /**
+     * Returns the taxable income (USD).
+     */
+    @Override
+    public double getTaxableIncome() {
+        return taxableIncome;
+    }
+
+    /**
+     * Sets the taxable income (USD).
+     *
+     * @param taxableIncome Taxable income (USD).
+     */
+    public void setTaxableIncome(double taxableIncome) {
+        this.taxableIncome = taxableIncome;
+    }
+
+    /**
+     * Returns how the ordinary taxable income is split across the tax brackets it reaches, in ascending bracket
+     * order.  Qualified dividends and long-term capital gains are taxed separately, at the preferential rates.
+     */
+    @Override
+    public List<BracketExplanation> getBrackets() {
+        return brackets;
+    }
+
+    /**
+     * Sets how the ordinary taxable income is split across the tax brackets it reaches, in ascending bracket order.
+     *
+     * @param brackets Bracket explanations in ascending bracket order.
+     */
+    public void setBrackets(List<BracketExplanation> brackets) {
+        this.brackets = brackets;
+    }
+
+    /**
+     * Returns the tax (USD) on qualified dividends and long-term capital gains, stacked on top of the ordinary
+     * income in the brackets.
+     */
+    @Override
+    public double getCapitalGainsTax() {
+        return capitalGainsTax;
+    }
+
+    /**
+     * Sets the tax (USD) on qualified dividends and long-term capital gains.
+     *
+     * @param capitalGainsTax Capital gains tax (USD).
+     */
+    public void setCapitalGainsTax(double capitalGainsTax) {
+        this.capitalGainsTax = capitalGainsTax;
+    }
+
+    /**
+     * Returns the income tax (USD) owed before credits, i.e. the sum of the tax owed in each bracket and the
+     * capital gains tax.
+     */
+    @Override
+    public double getIncomeTaxBeforeCredits() {
+        return incomeTaxBeforeCredits;
+    }
+
+    /**
+     * Sets the income tax (USD) owed before credits.
+     *
+     * @param incomeTaxBeforeCredits Income tax (USD) before credits.
+     */
+    public void setIncomeTaxBeforeCredits(double incomeTaxBeforeCredits) {
+        this.incomeTaxBeforeCredits = incomeTaxBeforeCredits;
+    }
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    @Override
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the total credits (USD) the user has entered.
+     *
+     * @param totalCredits Total credits (USD).
+     */
+    public void setTotalCredits(double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.OutputModel;
+
+/**
+ * Contains the tax calculation for the current inputs of an interactive session, along with the session identifier.
+ */
+public class CalculationSessionResponse implements com.jack.tax.models.interfaces.CalculationSessionResponse {
+
+    private final String sessionId;
+    private final OutputModel outputModel;
+
+    /**
+     * Creates a fully initialized calculation session response using the given data.
+     *
+     * @param sessionId   Identifier of the session
+     * @param outputModel Tax calculation for the session's current inputs
+     */
+    public CalculationSessionResponse(String sessionId, OutputModel outputModel) {
+        this.sessionId = sessionId;
+        this.outputModel = outputModel;
+    }
+
+    /**
+     * Returns the identifier of the session, to send along with later changes.
+     */
+    @Override
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Returns the tax calculation for the session's current inputs.
+     */
+    @Override
+    public OutputModel getOutputModel() {
+        return outputModel;
+    }
+}
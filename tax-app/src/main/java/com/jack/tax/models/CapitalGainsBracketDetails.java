@@ -0,0 +1,15 @@
+package com.jack.tax.models;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Encapsulates the min/max taxable income ranges for the preferential (0%, 15% and 20%) rates on qualified
+ * dividends and long-term capital gains for all types of filers.  Stored in a collection of its own, but shaped
+ * exactly like an ordinary tax bracket.  Each instance represents a tax year.
+ */
+@Document(collection = "CapitalGainsBrackets")
+public class CapitalGainsBracketDetails extends BracketDetails
+        implements com.jack.tax.models.interfaces.CapitalGainsBracketDetails {
+
+    // Empty on purpose
+}
@@ -0,0 +1,95 @@
+package com.jack.tax.models;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Objects;
+
+/**
+ * Encapsulates a credit and its income-based phase-out as an expression in the credit rule language, stored
+ * next to the brackets.  Each instance represents a credit for a tax year.
+ */
+@Document(collection = "CreditRules")
+public class CreditRuleDetails implements com.jack.tax.models.interfaces.CreditRuleDetails {
+
+    /**
+     * Applicable tax year
+     */
+    private int taxYear;
+
+    /**
+     * Name of the credit
+     */
+    private String name;
+
+    /**
+     * Expression that works out the credit (USD)
+     */
+    private String expression;
+
+    /**
+     * Returns the tax year applicable to the credit rule
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the tax year field with the given data
+     * @param taxYear Tax year to set
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the name of the credit, e.g. "Child tax credit"
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the credit with the given data
+     * @param name Name of the credit to set
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the expression that works out the credit (USD)
+     */
+    @Override
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Sets the expression that works out the credit (USD) with the given data
+     * @param expression Expression in the credit rule language to set
+     */
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Returns a flag indicating if this CreditRuleDetails instance is considered equal to the other one
+     * @param o Other CreditRuleDetails instance
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        CreditRuleDetails that = (CreditRuleDetails) o;
+        return taxYear == that.taxYear && Objects.equals(name, that.name) && Objects.equals(expression, that.expression);
+    }
+
+    /**
+     * Computes the hash code for this credit rule details instance
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(taxYear, name, expression);
+    }
+}
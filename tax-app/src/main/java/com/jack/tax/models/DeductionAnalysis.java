@@ -0,0 +1,187 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.DeductionSensitivitySegment;
+
+import java.util.List;
+
+/**
+ * Contains how federal tax owed responds to itemized deductions for one set of user inputs: where itemizing
+ * starts to pay off, what the entered deductions save, and the tax saved per extra dollar across every range
+ * of deductions.
+ */
+public class DeductionAnalysis implements com.jack.tax.models.interfaces.DeductionAnalysis {
+
+    private int taxYear;
+    private FilingStatus filingStatus;
+    private double breakevenItemizedDeductions;
+    private boolean itemizing;
+    private double federalTaxOwed;
+    private double taxSavedByItemizing;
+    private int marginalTaxSavingsRate;
+    private double marginalTaxSavingsRateEndDeductions;
+    private List<DeductionSensitivitySegment> segments;
+
+    /**
+     * Creates a fully initialized deduction analysis.
+     */
+    public DeductionAnalysis() {
+        // No processing required
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the applicable tax year.
+     *
+     * @param taxYear Applicable tax year.
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the applicable filing status.
+     */
+    @Override
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Sets the applicable filing status.
+     *
+     * @param filingStatus Applicable filing status.
+     */
+    public void setFilingStatus(FilingStatus filingStatus) {
+        this.filingStatus = filingStatus;
+    }
+
+    /**
+     * Returns the itemized deductions (USD) beyond which itemizing pays off, i.e. the standard deduction.
+     */
+    @Override
+    public double getBreakevenItemizedDeductions() {
+        return breakevenItemizedDeductions;
+    }
+
+    /**
+     * Sets the itemized deductions (USD) beyond which itemizing pays off.
+     *
+     * @param breakevenItemizedDeductions Itemized deductions (USD) beyond which itemizing pays off.
+     */
+    public void setBreakevenItemizedDeductions(double breakevenItemizedDeductions) {
+        this.breakevenItemizedDeductions = breakevenItemizedDeductions;
+    }
+
+    /**
+     * Returns true if the entered itemized deductions beat the standard deduction.
+     */
+    @Override
+    public boolean isItemizing() {
+        return itemizing;
+    }
+
+    /**
+     * Sets whether the entered itemized deductions beat the standard deduction.
+     *
+     * @param itemizing True if the entered itemized deductions beat the standard deduction.
+     */
+    public void setItemizing(boolean itemizing) {
+        this.itemizing = itemizing;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) with the entered itemized deductions.
+     */
+    @Override
+    public double getFederalTaxOwed() {
+        return federalTaxOwed;
+    }
+
+    /**
+     * Sets the federal tax owed (USD) with the entered itemized deductions.
+     *
+     * @param federalTaxOwed Federal tax owed (USD) with the entered itemized deductions.
+     */
+    public void setFederalTaxOwed(double federalTaxOwed) {
+        this.federalTaxOwed = federalTaxOwed;
+    }
+
+    /**
+     * Returns the federal tax (USD) saved by the entered itemized deductions compared to taking the
+     * standard deduction.
+     */
+    @Override
+    public double getTaxSavedByItemizing() {
+        return taxSavedByItemizing;
+    }
+
+    /**
+     * Sets the federal tax (USD) saved by the entered itemized deductions compared to taking the
+     * standard deduction.
+     *
+     * @param taxSavedByItemizing Federal tax (USD) saved compared to taking the standard deduction.
+     */
+    public void setTaxSavedByItemizing(double taxSavedByItemizing) {
+        this.taxSavedByItemizing = taxSavedByItemizing;
+    }
+
+    /**
+     * Returns the tax saved (%) on the next dollar of itemized deductions beyond those entered.
+     */
+    @Override
+    public int getMarginalTaxSavingsRate() {
+        return marginalTaxSavingsRate;
+    }
+
+    /**
+     * Sets the tax saved (%) on the next dollar of itemized deductions beyond those entered.
+     *
+     * @param marginalTaxSavingsRate Tax saved (%) on the next dollar of itemized deductions.
+     */
+    public void setMarginalTaxSavingsRate(int marginalTaxSavingsRate) {
+        this.marginalTaxSavingsRate = marginalTaxSavingsRate;
+    }
+
+    /**
+     * Returns the itemized deductions (USD) up to which the marginal tax savings rate holds.
+     */
+    @Override
+    public double getMarginalTaxSavingsRateEndDeductions() {
+        return marginalTaxSavingsRateEndDeductions;
+    }
+
+    /**
+     * Sets the itemized deductions (USD) up to which the marginal tax savings rate holds.
+     *
+     * @param marginalTaxSavingsRateEndDeductions Itemized deductions (USD) up to which the marginal tax savings rate holds.
+     */
+    public void setMarginalTaxSavingsRateEndDeductions(double marginalTaxSavingsRateEndDeductions) {
+        this.marginalTaxSavingsRateEndDeductions = marginalTaxSavingsRateEndDeductions;
+    }
+
+    /**
+     * Returns the linear segments of federal tax owed as a function of itemized deductions, in
+     * ascending order.
+     */
+    @Override
+    public List<DeductionSensitivitySegment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Sets the linear segments of federal tax owed as a function of itemized deductions, in
+     * ascending order.
+     *
+     * @param segments Segments in ascending itemized deductions order.
+     */
+    public void setSegments(List<DeductionSensitivitySegment> segments) {
+        this.segments = segments;
+    }
+}
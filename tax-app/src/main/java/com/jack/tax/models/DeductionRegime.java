@@ -0,0 +1,27 @@
+package com.jack.tax.models;
+
+/**
+ * Deduction regime enumeration, i.e. which deduction was subtracted from gross income to get taxable income
+ */
+public enum DeductionRegime {
+
+    STANDARD("Standard Deduction"),
+    ITEMIZED("Itemized Deductions");
+
+    private final String description;
+
+    /**
+     * Initializes the enum with a description
+     * @param description Description for the enum
+     */
+    DeductionRegime(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the description for the enum
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,87 @@
+package com.jack.tax.models;
+
+/**
+ * One linear piece of federal tax owed as a function of itemized deductions: each extra dollar of deductions
+ * saves the same amount of tax across the segment.
+ */
+public class DeductionSensitivitySegment implements com.jack.tax.models.interfaces.DeductionSensitivitySegment {
+
+    private final double startDeductions;
+    private final double endDeductions;
+    private final double startFederalTaxOwed;
+    private final double endFederalTaxOwed;
+    private final int marginalTaxSavingsRate;
+    private final boolean itemized;
+
+    /**
+     * Creates a fully initialized deduction sensitivity segment using the given data.
+     *
+     * @param startDeductions        Itemized deductions (USD) at which the segment starts
+     * @param endDeductions          Itemized deductions (USD) at which the segment ends
+     * @param startFederalTaxOwed    Federal tax owed (USD) at the start of the segment
+     * @param endFederalTaxOwed      Federal tax owed (USD) at the end of the segment
+     * @param marginalTaxSavingsRate Tax saved (%) on each extra dollar of itemized deductions within the segment
+     * @param itemized               True if the segment lies in the itemized regime
+     */
+    public DeductionSensitivitySegment(double startDeductions,
+                                       double endDeductions,
+                                       double startFederalTaxOwed,
+                                       double endFederalTaxOwed,
+                                       int marginalTaxSavingsRate,
+                                       boolean itemized) {
+        this.startDeductions = startDeductions;
+        this.endDeductions = endDeductions;
+        this.startFederalTaxOwed = startFederalTaxOwed;
+        this.endFederalTaxOwed = endFederalTaxOwed;
+        this.marginalTaxSavingsRate = marginalTaxSavingsRate;
+        this.itemized = itemized;
+    }
+
+    /**
+     * Returns the itemized deductions (USD) at which the segment starts.
+     */
+    @Override
+    public double getStartDeductions() {
+        return startDeductions;
+    }
+
+    /**
+     * Returns the itemized deductions (USD) at which the segment ends.
+     */
+    @Override
+    public double getEndDeductions() {
+        return endDeductions;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) at the start of the segment.
+     */
+    @Override
+    public double getStartFederalTaxOwed() {
+        return startFederalTaxOwed;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) at the end of the segment.
+     */
+    @Override
+    public double getEndFederalTaxOwed() {
+        return endFederalTaxOwed;
+    }
+
+    /**
+     * Returns the tax saved (%) on each extra dollar of itemized deductions within the segment.
+     */
+    @Override
+    public int getMarginalTaxSavingsRate() {
+        return marginalTaxSavingsRate;
+    }
+
+    /**
+     * Returns true if the segment lies in the itemized regime, i.e. itemizing beats the standard deduction.
+     */
+    @Override
+    public boolean isItemized() {
+        return itemized;
+    }
+}
@@ -0,0 +1,144 @@
+package com.jack.tax.models;
+
+import java.util.Map;
+
+/**
+ * Summarizes the distribution of one simulated output (e.g. federal tax owed) without keeping the individual
+ * samples: moments, percentiles and a histogram.
+ */
+public class DistributionSummary implements com.jack.tax.models.interfaces.DistributionSummary {
+
+    private double mean;
+    private double standardDeviation;
+    private double min;
+    private double max;
+    private Map<String, Double> percentiles;
+    private double histogramBinWidth;
+    private long[] histogramCounts;
+
+    /**
+     * Creates a fully initialized distribution summary.
+     */
+    public DistributionSummary() {
+        // No processing required
+    }
+
+    /**
+     * Returns the mean of the sampled values.
+     */
+    @Override
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Sets the mean of the sampled values.
+     *
+     * @param mean Mean
+     */
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    /**
+     * Returns the standard deviation of the sampled values.
+     */
+    @Override
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    /**
+     * Sets the standard deviation of the sampled values.
+     *
+     * @param standardDeviation Standard deviation
+     */
+    public void setStandardDeviation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    /**
+     * Returns the smallest sampled value.
+     */
+    @Override
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Sets the smallest sampled value.
+     *
+     * @param min Smallest sampled value
+     */
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    /**
+     * Returns the largest sampled value.
+     */
+    @Override
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Sets the largest sampled value.
+     *
+     * @param max Largest sampled value
+     */
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    /**
+     * Returns the percentiles of the sampled values keyed by name (e.g. "p50" for the median), in ascending order.
+     */
+    @Override
+    public Map<String, Double> getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * Sets the percentiles of the sampled values keyed by name (e.g. "p50" for the median), in ascending order.
+     *
+     * @param percentiles Percentiles keyed by name
+     */
+    public void setPercentiles(Map<String, Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    /**
+     * Returns the width of each histogram bin; the first bin starts at the smallest sampled value.
+     */
+    @Override
+    public double getHistogramBinWidth() {
+        return histogramBinWidth;
+    }
+
+    /**
+     * Sets the width of each histogram bin; the first bin starts at the smallest sampled value.
+     *
+     * @param histogramBinWidth Width of each histogram bin
+     */
+    public void setHistogramBinWidth(double histogramBinWidth) {
+        this.histogramBinWidth = histogramBinWidth;
+    }
+
+    /**
+     * Returns the number of sampled values in each histogram bin, in ascending order.
+     */
+    @Override
+    public long[] getHistogramCounts() {
+        return histogramCounts;
+    }
+
+    /**
+     * Sets the number of sampled values in each histogram bin, in ascending order.
+     *
+     * @param histogramCounts Number of sampled values in each bin
+     */
+    public void setHistogramCounts(long[] histogramCounts) {
+        this.histogramCounts = histogramCounts;
+    }
+}
@@ -0,0 +1,105 @@
+package com.jack.tax.models;
+
+/**
+ * Contains the federal income tax withholding of one employee for the current pay period.
+ */
+public class EmployeeWithholding implements com.jack.tax.models.interfaces.EmployeeWithholding {
+
+    private String employeeId;
+    private double grossPay;
+    private double annualizedWages;
+    private double annualFederalTaxOwed;
+    private double withholding;
+
+    /**
+     * Creates a fully initialized employee withholding.
+     */
+    public EmployeeWithholding() {
+        // No processing required
+    }
+
+    /**
+     * Returns the employee identifier.
+     */
+    @Override
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Sets the employee identifier.
+     *
+     * @param employeeId Employee identifier
+     */
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Returns the gross pay (USD) for the current pay period.
+     */
+    @Override
+    public double getGrossPay() {
+        return grossPay;
+    }
+
+    /**
+     * Sets the gross pay (USD) for the current pay period.
+     *
+     * @param grossPay Gross pay for the current pay period (USD)
+     */
+    public void setGrossPay(double grossPay) {
+        this.grossPay = grossPay;
+    }
+
+    /**
+     * Returns the wages (USD) paid so far this year, including the current pay period, annualized.
+     */
+    @Override
+    public double getAnnualizedWages() {
+        return annualizedWages;
+    }
+
+    /**
+     * Sets the wages (USD) paid so far this year, including the current pay period, annualized.
+     *
+     * @param annualizedWages Annualized wages (USD)
+     */
+    public void setAnnualizedWages(double annualizedWages) {
+        this.annualizedWages = annualizedWages;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) on the annualized wages.
+     */
+    @Override
+    public double getAnnualFederalTaxOwed() {
+        return annualFederalTaxOwed;
+    }
+
+    /**
+     * Sets the federal tax owed (USD) on the annualized wages.
+     *
+     * @param annualFederalTaxOwed Federal tax owed on the annualized wages (USD)
+     */
+    public void setAnnualFederalTaxOwed(double annualFederalTaxOwed) {
+        this.annualFederalTaxOwed = annualFederalTaxOwed;
+    }
+
+    /**
+     * Returns the federal income tax (USD) to withhold for the current pay period.
+     */
+    @Override
+    public double getWithholding() {
+        return withholding;
+    }
+
+    /**
+     * Sets the federal income tax (USD) to withhold for the current pay period.
+     *
+     * @param withholding Withholding for the current pay period (USD)
+     */
+    public void setWithholding(double withholding) {
+        this.withholding = withholding;
+    }
+}
@@ -0,0 +1,52 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.OutputModel;
+
+import java.util.function.Supplier;
+
+/**
+ * Pairs a filing status with the tax calculation output for that filing status.  The output can be supplied on
+ * demand, so it is only created (and rounded) once it is read.
+ */
+public class FilingStatusCalculation implements com.jack.tax.models.interfaces.FilingStatusCalculation {
+
+    private final FilingStatus filingStatus;
+    private final Supplier<OutputModel> outputModel;
+
+    /**
+     * Creates a fully initialized filing status calculation using the given data.
+     *
+     * @param filingStatus Filing status the calculation was made for
+     * @param outputModel  Tax calculation output for the filing status
+     */
+    public FilingStatusCalculation(FilingStatus filingStatus, OutputModel outputModel) {
+        this(filingStatus, () -> outputModel);
+    }
+
+    /**
+     * Creates a fully initialized filing status calculation whose output is supplied on demand.
+     *
+     * @param filingStatus Filing status the calculation was made for
+     * @param outputModel  Supplies the tax calculation output for the filing status, the same one on every call
+     */
+    public FilingStatusCalculation(FilingStatus filingStatus, Supplier<OutputModel> outputModel) {
+        this.filingStatus = filingStatus;
+        this.outputModel = outputModel;
+    }
+
+    /**
+     * Returns the filing status the calculation was made for.
+     */
+    @Override
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Returns the tax calculation output for the filing status.
+     */
+    @Override
+    public OutputModel getOutputModel() {
+        return outputModel.get();
+    }
+}
@@ -0,0 +1,58 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.FilingStatusCalculation;
+
+import java.util.List;
+
+/**
+ * Contains the tax calculations for every filing status for one set of user inputs, along with
+ * the one that results in the least federal tax owed.
+ */
+public class FilingStatusComparison implements com.jack.tax.models.interfaces.FilingStatusComparison {
+
+    private List<FilingStatusCalculation> calculations;
+    private FilingStatusCalculation bestCalculation;
+
+    /**
+     * Creates a fully initialized filing status comparison.
+     */
+    public FilingStatusComparison() {
+        // No processing required
+    }
+
+    /**
+     * Returns the tax calculations, one per filing status.
+     */
+    @Override
+    public List<FilingStatusCalculation> getCalculations() {
+        return calculations;
+    }
+
+    /**
+     * Sets the tax calculations, one per filing status.
+     *
+     * @param calculations Tax calculations.
+     */
+    @Override
+    public void setCalculations(List<FilingStatusCalculation> calculations) {
+        this.calculations = calculations;
+    }
+
+    /**
+     * Returns the calculation for the eligible filing status with the least federal tax owed.
+     */
+    @Override
+    public FilingStatusCalculation getBestCalculation() {
+        return bestCalculation;
+    }
+
+    /**
+     * Sets the calculation for the eligible filing status with the least federal tax owed.
+     *
+     * @param bestCalculation Calculation with the least federal tax owed.
+     */
+    @Override
+    public void setBestCalculation(FilingStatusCalculation bestCalculation) {
+        this.bestCalculation = bestCalculation;
+    }
+}
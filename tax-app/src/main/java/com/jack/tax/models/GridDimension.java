@@ -0,0 +1,96 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.constraints.*;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One dimension of a scenario grid: either a list of values or an evenly stepped range from a start value to an
+ * end value.
+ */
+@NoArgsConstructor
+public class GridDimension implements com.jack.tax.models.interfaces.GridDimension {
+
+    private List<Double> values;
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Range start must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Range start must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    private Double start;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Range end must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Range end must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    private Double end;
+
+    @Positive(message = "Range step must be positive")
+    private Double step;
+
+    /**
+     * Returns the values of the dimension, or null if the dimension is a range.
+     */
+    @Override
+    public List<Double> getValues() {
+        return values;
+    }
+
+    /**
+     * Sets the values of the dimension.
+     *
+     * @param values Values of the dimension
+     */
+    public void setValues(List<Double> values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the first value of the range, or null if the dimension is a list of values.
+     */
+    @Override
+    public Double getStart() {
+        return start;
+    }
+
+    /**
+     * Sets the first value of the range.
+     *
+     * @param start First value of the range
+     */
+    public void setStart(Double start) {
+        this.start = start;
+    }
+
+    /**
+     * Returns the last value of the range (included if the steps land on it), or null if the dimension is a list of
+     * values.
+     */
+    @Override
+    public Double getEnd() {
+        return end;
+    }
+
+    /**
+     * Sets the last value of the range (included if the steps land on it).
+     *
+     * @param end Last value of the range
+     */
+    public void setEnd(Double end) {
+        this.end = end;
+    }
+
+    /**
+     * Returns the step between consecutive values of the range, or null if the dimension is a list of values.
+     */
+    @Override
+    public Double getStep() {
+        return step;
+    }
+
+    /**
+     * Sets the step between consecutive values of the range.
+     *
+     * @param step Step between consecutive values
+     */
+    public void setStep(Double step) {
+        this.step = step;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jack.tax.models;
+
+/**
+ * Income distribution enumeration, i.e. how an uncertain base salary is spread around its expected value
+ */
+public enum IncomeDistribution {
+
+    NORMAL("Normal"),
+    LOGNORMAL("Lognormal");
+
+    private final String description;
+
+    /**
+     * Initializes the enum with a description
+     * @param description Description for the enum
+     */
+    IncomeDistribution(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the description for the enum
+     */
+    public String getDescription() {
+        return description;
+    }
+}
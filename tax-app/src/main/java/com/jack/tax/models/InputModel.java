@@ -15,6 +15,11 @@ public class InputModel implements com.jack.tax.models.interfaces.InputModel {
     @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
     private double grossIncome;
 
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Preferential income must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Preferential income must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double preferentialIncome;
+
     @NotNull(message = "Filing status must have a value")
     private FilingStatus selectedFilingStatus;
 
@@ -30,6 +35,10 @@ public class InputModel implements com.jack.tax.models.interfaces.InputModel {
     @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
     private double totalCredits;
 
+    @Min(value = 0, message = "Qualifying children must be at least 0")
+    @Max(value = AppConstants.MAX_QUALIFYING_CHILDREN, message = "Qualifying children must be less than or equal to " + AppConstants.MAX_QUALIFYING_CHILDREN)
+    private int qualifyingChildren;
+
     /**
      * Returns the gross income (USD) before any taxes / withholdings.
      */
@@ -48,6 +57,24 @@ public class InputModel implements com.jack.tax.models.interfaces.InputModel {
         this.grossIncome = grossIncome;
     }
 
+    /**
+     * Returns the part of the gross income (USD) that is qualified dividends and long-term capital gains.
+     */
+    @Override
+    public double getPreferentialIncome() {
+        return preferentialIncome;
+    }
+
+    /**
+     * Sets the part of the gross income (USD) that is qualified dividends and long-term capital gains.
+     *
+     * @param preferentialIncome User-entered qualified dividends and long-term capital gains (USD)
+     */
+    @Override
+    public void setPreferentialIncome(double preferentialIncome) {
+        this.preferentialIncome = preferentialIncome;
+    }
+
     /**
      * Returns the selected filing status
      */
@@ -119,4 +146,22 @@ public class InputModel implements com.jack.tax.models.interfaces.InputModel {
     public void setTotalCredits(double totalCredits) {
         this.totalCredits = totalCredits;
     }
+
+    /**
+     * Returns the number of qualifying children the credit rules of the tax year consider.
+     */
+    @Override
+    public int getQualifyingChildren() {
+        return qualifyingChildren;
+    }
+
+    /**
+     * Sets the number of qualifying children
+     *
+     * @param qualifyingChildren User-entered number of qualifying children
+     */
+    @Override
+    public void setQualifyingChildren(int qualifyingChildren) {
+        this.qualifyingChildren = qualifyingChildren;
+    }
 }
@@ -0,0 +1,159 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.constraints.*;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contains the user-entered inputs needed to solve for the gross income at which an output reaches a target value.
+ */
+@NoArgsConstructor
+public class InverseCalculationRequest implements com.jack.tax.models.interfaces.InverseCalculationRequest {
+
+    @NotNull(message = "Filing status must have a value")
+    private FilingStatus selectedFilingStatus;
+
+    private int selectedTaxYear;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Deductions must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Deductions must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalDeductions;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Credits must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Credits must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalCredits;
+
+    @Min(value = 0, message = "Qualifying children must be at least 0")
+    @Max(value = AppConstants.MAX_QUALIFYING_CHILDREN, message = "Qualifying children must be less than or equal to " + AppConstants.MAX_QUALIFYING_CHILDREN)
+    private int qualifyingChildren;
+
+    @NotNull(message = "Target must have a value")
+    private InverseCalculationTarget target;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Target value must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Target value must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount or rate")
+    private double targetValue;
+
+    /**
+     * Returns the selected tax year
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the tax year
+     *
+     * @param selectedTaxYear User-entered tax year
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the selected filing status
+     */
+    @Override
+    public FilingStatus getSelectedFilingStatus() {
+        return selectedFilingStatus;
+    }
+
+    /**
+     * Sets the filing status
+     *
+     * @param selectedFilingStatus User-entered filing status
+     */
+    public void setSelectedFilingStatus(FilingStatus selectedFilingStatus) {
+        this.selectedFilingStatus = selectedFilingStatus;
+    }
+
+    /**
+     * Returns the total deductions (USD) the user has entered.
+     */
+    @Override
+    public double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the total deductions (USD)
+     *
+     * @param totalDeductions User-entered total deductions (USD)
+     */
+    public void setTotalDeductions(double totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    @Override
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the total credits (USD)
+     *
+     * @param totalCredits User-entered total credits (USD)
+     */
+    public void setTotalCredits(double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    /**
+     * Returns the number of qualifying children the user has entered.
+     */
+    @Override
+    public int getQualifyingChildren() {
+        return qualifyingChildren;
+    }
+
+    /**
+     * Sets the number of qualifying children the user has entered.
+     *
+     * @param qualifyingChildren User-entered number of qualifying children
+     */
+    public void setQualifyingChildren(int qualifyingChildren) {
+        this.qualifyingChildren = qualifyingChildren;
+    }
+
+    /**
+     * Returns the output to solve gross income for.
+     */
+    @Override
+    public InverseCalculationTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * Sets the output to solve gross income for.
+     *
+     * @param target User-entered target output
+     */
+    public void setTarget(InverseCalculationTarget target) {
+        this.target = target;
+    }
+
+    /**
+     * Returns the value the target output must reach, in USD for take home pay and federal tax owed,
+     * or in % for the effective tax rate.
+     */
+    @Override
+    public double getTargetValue() {
+        return targetValue;
+    }
+
+    /**
+     * Sets the value the target output must reach.
+     *
+     * @param targetValue User-entered target value (USD, or % for the effective tax rate)
+     */
+    public void setTargetValue(double targetValue) {
+        this.targetValue = targetValue;
+    }
+}
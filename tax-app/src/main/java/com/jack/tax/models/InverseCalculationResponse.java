@@ -0,0 +1,64 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.OutputModel;
+
+/**
+ * Contains the gross income solved for by an inverse calculation, along with the tax calculation at that income.
+ */
+public class InverseCalculationResponse implements com.jack.tax.models.interfaces.InverseCalculationResponse {
+
+    private final InverseCalculationTarget target;
+    private final double targetValue;
+    private final double grossIncome;
+    private final OutputModel calculation;
+
+    /**
+     * Creates a fully initialized inverse calculation response using the given data.
+     *
+     * @param target      Output gross income was solved for
+     * @param targetValue Value the target output had to reach
+     * @param grossIncome Lowest gross income (USD) at which the target output reaches the target value
+     * @param calculation Tax calculation for the solved gross income
+     */
+    public InverseCalculationResponse(InverseCalculationTarget target,
+                                      double targetValue,
+                                      double grossIncome,
+                                      OutputModel calculation) {
+        this.target = target;
+        this.targetValue = targetValue;
+        this.grossIncome = grossIncome;
+        this.calculation = calculation;
+    }
+
+    /**
+     * Returns the output gross income was solved for.
+     */
+    @Override
+    public InverseCalculationTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the value the target output had to reach.
+     */
+    @Override
+    public double getTargetValue() {
+        return targetValue;
+    }
+
+    /**
+     * Returns the lowest gross income (USD, in whole cents) at which the target output reaches the target value.
+     */
+    @Override
+    public double getGrossIncome() {
+        return grossIncome;
+    }
+
+    /**
+     * Returns the tax calculation for the solved gross income.
+     */
+    @Override
+    public OutputModel getCalculation() {
+        return calculation;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jack.tax.models;
+
+/**
+ * Inverse calculation target enumeration, i.e. the output an inverse calculation solves gross income for
+ */
+public enum InverseCalculationTarget {
+
+    TAKE_HOME_PAY("Take Home Pay"),
+    FEDERAL_TAX_OWED("Federal Tax Owed"),
+    EFFECTIVE_TAX_RATE("Effective Tax Rate");
+
+    private final String description;
+
+    /**
+     * Initializes the enum with a description
+     * @param description Description for the enum
+     */
+    InverseCalculationTarget(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the description for the enum
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,179 @@
+package com.jack.tax.models;
+
+/**
+ * Contains the income tax one jurisdiction (federal or state) levies for a calculation and how long working it out
+ * took.
+ */
+public class JurisdictionCalculation implements com.jack.tax.models.interfaces.JurisdictionCalculation {
+
+    private String jurisdiction;
+    private String name;
+    private int taxYear;
+    private boolean projected;
+    private double taxOwed;
+    private double marginalTaxRate;
+    private double effectiveTaxRate;
+    private double calculatedCredits;
+    private long calculationNanos;
+
+    /**
+     * Creates a fully initialized jurisdiction calculation.
+     */
+    public JurisdictionCalculation() {
+        // No processing required
+    }
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "US" or "IL".
+     */
+    @Override
+    public String getJurisdiction() {
+        return jurisdiction;
+    }
+
+    /**
+     * Sets the code of the jurisdiction.
+     *
+     * @param jurisdiction Code of the jurisdiction
+     */
+    public void setJurisdiction(String jurisdiction) {
+        this.jurisdiction = jurisdiction;
+    }
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Federal" or "Illinois".
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the jurisdiction.
+     *
+     * @param name Name of the jurisdiction
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the applicable tax year.
+     *
+     * @param taxYear Applicable tax year
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns true if the jurisdiction's tables for the tax year are projected by inflation rather than published.
+     */
+    @Override
+    public boolean isProjected() {
+        return projected;
+    }
+
+    /**
+     * Sets true if the jurisdiction's tables for the tax year are projected by inflation rather than published.
+     *
+     * @param projected True for a projected tax year
+     */
+    public void setProjected(boolean projected) {
+        this.projected = projected;
+    }
+
+    /**
+     * Returns the income tax (USD) owed to the jurisdiction after deductions/credits.
+     */
+    @Override
+    public double getTaxOwed() {
+        return taxOwed;
+    }
+
+    /**
+     * Sets the income tax (USD) owed to the jurisdiction after deductions/credits.
+     *
+     * @param taxOwed Tax owed (USD)
+     */
+    public void setTaxOwed(double taxOwed) {
+        this.taxOwed = taxOwed;
+    }
+
+    /**
+     * Returns the jurisdiction's marginal tax rate (%).
+     */
+    @Override
+    public double getMarginalTaxRate() {
+        return marginalTaxRate;
+    }
+
+    /**
+     * Sets the jurisdiction's marginal tax rate (%).
+     *
+     * @param marginalTaxRate Marginal tax rate (%)
+     */
+    public void setMarginalTaxRate(double marginalTaxRate) {
+        this.marginalTaxRate = marginalTaxRate;
+    }
+
+    /**
+     * Returns the jurisdiction's effective tax rate (%).
+     */
+    @Override
+    public double getEffectiveTaxRate() {
+        return effectiveTaxRate;
+    }
+
+    /**
+     * Sets the jurisdiction's effective tax rate (%).
+     *
+     * @param effectiveTaxRate Effective tax rate (%)
+     */
+    public void setEffectiveTaxRate(double effectiveTaxRate) {
+        this.effectiveTaxRate = effectiveTaxRate;
+    }
+
+    /**
+     * Returns the credits (USD) the jurisdiction's credit rules granted.
+     */
+    @Override
+    public double getCalculatedCredits() {
+        return calculatedCredits;
+    }
+
+    /**
+     * Sets the credits (USD) the jurisdiction's credit rules granted.
+     *
+     * @param calculatedCredits Calculated credits (USD)
+     */
+    public void setCalculatedCredits(double calculatedCredits) {
+        this.calculatedCredits = calculatedCredits;
+    }
+
+    /**
+     * Returns the time (nanoseconds) the jurisdiction took to calculate.
+     */
+    @Override
+    public long getCalculationNanos() {
+        return calculationNanos;
+    }
+
+    /**
+     * Sets the time (nanoseconds) the jurisdiction took to calculate.
+     *
+     * @param calculationNanos Calculation time (nanoseconds)
+     */
+    @Override
+    public void setCalculationNanos(long calculationNanos) {
+        this.calculationNanos = calculationNanos;
+    }
+}
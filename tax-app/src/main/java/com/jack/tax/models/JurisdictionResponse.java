@@ -0,0 +1,50 @@
+package com.jack.tax.models;
+
+import java.util.List;
+
+/**
+ * Describes a jurisdiction that calculations can fan out to.
+ */
+public class JurisdictionResponse implements com.jack.tax.models.interfaces.JurisdictionResponse {
+
+    private final String code;
+    private final String name;
+    private final List<Integer> taxYears;
+
+    /**
+     * Creates a fully initialized jurisdiction response using the given data.
+     *
+     * @param code     Code of the jurisdiction
+     * @param name     Name of the jurisdiction
+     * @param taxYears Tax years the jurisdiction supports, in descending order
+     */
+    public JurisdictionResponse(String code, String name, List<Integer> taxYears) {
+        this.code = code;
+        this.name = name;
+        this.taxYears = taxYears;
+    }
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "US" or "IL".
+     */
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Federal" or "Illinois".
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the tax years the jurisdiction supports, in descending order.
+     */
+    @Override
+    public List<Integer> getTaxYears() {
+        return taxYears;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jack.tax.models;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contains the inputs needed to simulate federal tax owed for every household of a population file.
+ */
+@NoArgsConstructor
+public class MicrosimulationRequest implements com.jack.tax.models.interfaces.MicrosimulationRequest {
+
+    private int selectedTaxYear;
+    @NotBlank(message = "Population file must have a value")
+    private String populationFile;
+
+    @NotNull(message = "Grouping must have a value")
+    private PopulationGrouping grouping = PopulationGrouping.INCOME_DECILE;
+
+    /**
+     * Returns the selected tax year.
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the selected tax year.
+     *
+     * @param selectedTaxYear Tax year to simulate
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the name of the population file, relative to the configured population directory.
+     */
+    @Override
+    public String getPopulationFile() {
+        return populationFile;
+    }
+
+    /**
+     * Sets the name of the population file, relative to the configured population directory.
+     *
+     * @param populationFile Name of the population file
+     */
+    public void setPopulationFile(String populationFile) {
+        this.populationFile = populationFile;
+    }
+
+    /**
+     * Returns how the households are grouped for the aggregates.
+     */
+    @Override
+    public PopulationGrouping getGrouping() {
+        return grouping;
+    }
+
+    /**
+     * Sets how the households are grouped for the aggregates.
+     *
+     * @param grouping How the households are grouped
+     */
+    public void setGrouping(PopulationGrouping grouping) {
+        this.grouping = grouping;
+    }
+}
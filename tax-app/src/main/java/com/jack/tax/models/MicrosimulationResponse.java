@@ -0,0 +1,91 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.PopulationGroupSummary;
+
+import java.util.List;
+
+/**
+ * Contains the aggregates of a microsimulation over a population of households, overall and per group.
+ */
+public class MicrosimulationResponse implements com.jack.tax.models.interfaces.MicrosimulationResponse {
+
+    private int taxYear;
+    private PopulationGrouping grouping;
+    private PopulationGroupSummary total;
+    private List<PopulationGroupSummary> groups;
+
+    /**
+     * Creates a fully initialized microsimulation response.
+     */
+    public MicrosimulationResponse() {
+        // No processing required
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the applicable tax year.
+     *
+     * @param taxYear Applicable tax year
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns how the households are grouped.
+     */
+    @Override
+    public PopulationGrouping getGrouping() {
+        return grouping;
+    }
+
+    /**
+     * Sets how the households are grouped.
+     *
+     * @param grouping How the households are grouped
+     */
+    public void setGrouping(PopulationGrouping grouping) {
+        this.grouping = grouping;
+    }
+
+    /**
+     * Returns the aggregates over the whole population.
+     */
+    @Override
+    public PopulationGroupSummary getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the aggregates over the whole population.
+     *
+     * @param total Aggregates over the whole population
+     */
+    public void setTotal(PopulationGroupSummary total) {
+        this.total = total;
+    }
+
+    /**
+     * Returns the aggregates of each group, in ascending order.
+     */
+    @Override
+    public List<PopulationGroupSummary> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Sets the aggregates of each group, in ascending order.
+     *
+     * @param groups Aggregates of each group
+     */
+    public void setGroups(List<PopulationGroupSummary> groups) {
+        this.groups = groups;
+    }
+}
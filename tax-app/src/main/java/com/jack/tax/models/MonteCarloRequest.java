@@ -0,0 +1,286 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.constraints.*;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contains the user-entered inputs needed to simulate federal tax owed and take home pay when income is
+ * uncertain.
+ */
+@NoArgsConstructor
+public class MonteCarloRequest implements com.jack.tax.models.interfaces.MonteCarloRequest {
+
+    private int selectedTaxYear;
+    @NotNull(message = "Filing status must have a value")
+    private FilingStatus selectedFilingStatus;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Deductions must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Deductions must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalDeductions;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Credits must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Credits must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalCredits;
+
+    @Min(value = 0, message = "Qualifying children must be at least 0")
+    @Max(value = AppConstants.MAX_QUALIFYING_CHILDREN, message = "Qualifying children must be less than or equal to " + AppConstants.MAX_QUALIFYING_CHILDREN)
+    private int qualifyingChildren;
+
+    @NotNull(message = "Salary distribution must have a value")
+    private IncomeDistribution salaryDistribution = IncomeDistribution.NORMAL;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Expected salary must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Expected salary must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double expectedSalary;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Salary standard deviation must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Salary standard deviation must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double salaryStandardDeviation;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Expected bonus must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Expected bonus must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double expectedBonus;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Bonus standard deviation must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Bonus standard deviation must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double bonusStandardDeviation;
+
+    @Min(value = 1, message = "Sample count must be at least 1")
+    @Max(value = AppConstants.MAX_SIMULATION_SAMPLE_COUNT, message = "Sample count must be less than or equal to " + AppConstants.MAX_SIMULATION_SAMPLE_COUNT)
+    private int sampleCount = AppConstants.DEFAULT_SIMULATION_SAMPLE_COUNT;
+
+    @Min(value = 1, message = "Histogram bin count must be at least 1")
+    @Max(value = AppConstants.MAX_HISTOGRAM_BIN_COUNT, message = "Histogram bin count must be less than or equal to " + AppConstants.MAX_HISTOGRAM_BIN_COUNT)
+    private int histogramBinCount = AppConstants.DEFAULT_HISTOGRAM_BIN_COUNT;
+
+    private Long seed;
+
+    /**
+     * Returns the selected tax year.
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the selected tax year.
+     *
+     * @param selectedTaxYear User-entered tax year
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the selected filing status.
+     */
+    @Override
+    public FilingStatus getSelectedFilingStatus() {
+        return selectedFilingStatus;
+    }
+
+    /**
+     * Sets the selected filing status.
+     *
+     * @param selectedFilingStatus User-entered filing status
+     */
+    public void setSelectedFilingStatus(FilingStatus selectedFilingStatus) {
+        this.selectedFilingStatus = selectedFilingStatus;
+    }
+
+    /**
+     * Returns the total deductions (USD) the user has entered.
+     */
+    @Override
+    public double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the total deductions (USD) the user has entered.
+     *
+     * @param totalDeductions User-entered total deductions (USD)
+     */
+    public void setTotalDeductions(double totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    @Override
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the total credits (USD) the user has entered.
+     *
+     * @param totalCredits User-entered total credits (USD)
+     */
+    public void setTotalCredits(double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    /**
+     * Returns the number of qualifying children the user has entered.
+     */
+    @Override
+    public int getQualifyingChildren() {
+        return qualifyingChildren;
+    }
+
+    /**
+     * Sets the number of qualifying children the user has entered.
+     *
+     * @param qualifyingChildren User-entered number of qualifying children
+     */
+    public void setQualifyingChildren(int qualifyingChildren) {
+        this.qualifyingChildren = qualifyingChildren;
+    }
+
+    /**
+     * Returns how the base salary is distributed around its expected value.
+     */
+    @Override
+    public IncomeDistribution getSalaryDistribution() {
+        return salaryDistribution;
+    }
+
+    /**
+     * Sets how the base salary is distributed around its expected value.
+     *
+     * @param salaryDistribution Salary distribution
+     */
+    public void setSalaryDistribution(IncomeDistribution salaryDistribution) {
+        this.salaryDistribution = salaryDistribution;
+    }
+
+    /**
+     * Returns the expected base salary (USD).
+     */
+    @Override
+    public double getExpectedSalary() {
+        return expectedSalary;
+    }
+
+    /**
+     * Sets the expected base salary (USD).
+     *
+     * @param expectedSalary Expected base salary (USD)
+     */
+    public void setExpectedSalary(double expectedSalary) {
+        this.expectedSalary = expectedSalary;
+    }
+
+    /**
+     * Returns the standard deviation (USD) of the base salary.
+     */
+    @Override
+    public double getSalaryStandardDeviation() {
+        return salaryStandardDeviation;
+    }
+
+    /**
+     * Sets the standard deviation (USD) of the base salary.
+     *
+     * @param salaryStandardDeviation Standard deviation (USD) of the base salary
+     */
+    public void setSalaryStandardDeviation(double salaryStandardDeviation) {
+        this.salaryStandardDeviation = salaryStandardDeviation;
+    }
+
+    /**
+     * Returns the expected bonus (USD).
+     */
+    @Override
+    public double getExpectedBonus() {
+        return expectedBonus;
+    }
+
+    /**
+     * Sets the expected bonus (USD).
+     *
+     * @param expectedBonus Expected bonus (USD)
+     */
+    public void setExpectedBonus(double expectedBonus) {
+        this.expectedBonus = expectedBonus;
+    }
+
+    /**
+     * Returns the standard deviation (USD) of the bonus.
+     */
+    @Override
+    public double getBonusStandardDeviation() {
+        return bonusStandardDeviation;
+    }
+
+    /**
+     * Sets the standard deviation (USD) of the bonus.
+     *
+     * @param bonusStandardDeviation Standard deviation (USD) of the bonus
+     */
+    public void setBonusStandardDeviation(double bonusStandardDeviation) {
+        this.bonusStandardDeviation = bonusStandardDeviation;
+    }
+
+    /**
+     * Returns the number of random incomes to simulate.
+     */
+    @Override
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Sets the number of random incomes to simulate.
+     *
+     * @param sampleCount Number of samples
+     */
+    public void setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    /**
+     * Returns the number of equally wide histogram bins per distribution.
+     */
+    @Override
+    public int getHistogramBinCount() {
+        return histogramBinCount;
+    }
+
+    /**
+     * Sets the number of equally wide histogram bins per distribution.
+     *
+     * @param histogramBinCount Number of histogram bins
+     */
+    public void setHistogramBinCount(int histogramBinCount) {
+        this.histogramBinCount = histogramBinCount;
+    }
+
+    /**
+     * Returns the seed for the random number generators, or null for a random seed, so a simulation can be repeated
+     * exactly.
+     */
+    @Override
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed for the random number generators.
+     *
+     * @param seed Seed, or null for a random seed
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,144 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.DistributionSummary;
+
+/**
+ * Contains the distributions of gross income, federal tax owed and take home pay from a Monte Carlo simulation
+ * of uncertain income.
+ */
+public class MonteCarloResponse implements com.jack.tax.models.interfaces.MonteCarloResponse {
+
+    private int taxYear;
+    private FilingStatus filingStatus;
+    private int sampleCount;
+    private long seed;
+    private DistributionSummary grossIncome;
+    private DistributionSummary federalTaxOwed;
+    private DistributionSummary takeHomePay;
+
+    /**
+     * Creates a fully initialized Monte Carlo response.
+     */
+    public MonteCarloResponse() {
+        // No processing required
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the applicable tax year.
+     *
+     * @param taxYear Applicable tax year
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the applicable filing status.
+     */
+    @Override
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Sets the applicable filing status.
+     *
+     * @param filingStatus Applicable filing status
+     */
+    public void setFilingStatus(FilingStatus filingStatus) {
+        this.filingStatus = filingStatus;
+    }
+
+    /**
+     * Returns the number of simulated incomes.
+     */
+    @Override
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Sets the number of simulated incomes.
+     *
+     * @param sampleCount Number of simulated incomes
+     */
+    public void setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    /**
+     * Returns the seed the simulation used, so it can be repeated exactly.
+     */
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed the simulation used, so it can be repeated exactly.
+     *
+     * @param seed Seed used
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the distribution of the simulated gross incomes (USD).
+     */
+    @Override
+    public DistributionSummary getGrossIncome() {
+        return grossIncome;
+    }
+
+    /**
+     * Sets the distribution of the simulated gross incomes (USD).
+     *
+     * @param grossIncome Distribution of gross incomes (USD)
+     */
+    public void setGrossIncome(DistributionSummary grossIncome) {
+        this.grossIncome = grossIncome;
+    }
+
+    /**
+     * Returns the distribution of federal tax owed (USD).
+     */
+    @Override
+    public DistributionSummary getFederalTaxOwed() {
+        return federalTaxOwed;
+    }
+
+    /**
+     * Sets the distribution of federal tax owed (USD).
+     *
+     * @param federalTaxOwed Distribution of federal tax owed (USD)
+     */
+    public void setFederalTaxOwed(DistributionSummary federalTaxOwed) {
+        this.federalTaxOwed = federalTaxOwed;
+    }
+
+    /**
+     * Returns the distribution of take home pay (USD).
+     */
+    @Override
+    public DistributionSummary getTakeHomePay() {
+        return takeHomePay;
+    }
+
+    /**
+     * Sets the distribution of take home pay (USD).
+     *
+     * @param takeHomePay Distribution of take home pay (USD)
+     */
+    public void setTakeHomePay(DistributionSummary takeHomePay) {
+        this.takeHomePay = takeHomePay;
+    }
+}
@@ -0,0 +1,146 @@
+package com.jack.tax.models;
+
+import com.jack.tax.models.interfaces.JurisdictionCalculation;
+
+import java.util.List;
+
+/**
+ * Contains the federal and state income taxes of one calculation, combined, along with each jurisdiction's own
+ * calculation and timing.
+ */
+public class MultiJurisdictionResponse implements com.jack.tax.models.interfaces.MultiJurisdictionResponse {
+
+    private double federalAdjustedGrossIncome;
+    private List<JurisdictionCalculation> calculations;
+    private double totalTaxOwed;
+    private double marginalTaxRate;
+    private double effectiveTaxRate;
+    private double takeHomePay;
+    private long calculationNanos;
+
+    /**
+     * Creates a fully initialized multi-jurisdiction response.
+     */
+    public MultiJurisdictionResponse() {
+        // No processing required
+    }
+
+    /**
+     * Returns the federal adjusted gross income (USD) every jurisdiction started from.
+     */
+    @Override
+    public double getFederalAdjustedGrossIncome() {
+        return federalAdjustedGrossIncome;
+    }
+
+    /**
+     * Sets the federal adjusted gross income (USD) every jurisdiction started from.
+     *
+     * @param federalAdjustedGrossIncome Federal adjusted gross income (USD)
+     */
+    public void setFederalAdjustedGrossIncome(double federalAdjustedGrossIncome) {
+        this.federalAdjustedGrossIncome = federalAdjustedGrossIncome;
+    }
+
+    /**
+     * Returns the calculation of each jurisdiction, federal first and then the states in request order.
+     */
+    @Override
+    public List<JurisdictionCalculation> getCalculations() {
+        return calculations;
+    }
+
+    /**
+     * Sets the calculation of each jurisdiction.
+     *
+     * @param calculations Calculation of each jurisdiction, federal first
+     */
+    public void setCalculations(List<JurisdictionCalculation> calculations) {
+        this.calculations = calculations;
+    }
+
+    /**
+     * Returns the income tax (USD) owed to all the jurisdictions combined.
+     */
+    @Override
+    public double getTotalTaxOwed() {
+        return totalTaxOwed;
+    }
+
+    /**
+     * Sets the income tax (USD) owed to all the jurisdictions combined.
+     *
+     * @param totalTaxOwed Total tax owed (USD)
+     */
+    public void setTotalTaxOwed(double totalTaxOwed) {
+        this.totalTaxOwed = totalTaxOwed;
+    }
+
+    /**
+     * Returns the combined marginal tax rate (%).
+     */
+    @Override
+    public double getMarginalTaxRate() {
+        return marginalTaxRate;
+    }
+
+    /**
+     * Sets the combined marginal tax rate (%).
+     *
+     * @param marginalTaxRate Combined marginal tax rate (%)
+     */
+    public void setMarginalTaxRate(double marginalTaxRate) {
+        this.marginalTaxRate = marginalTaxRate;
+    }
+
+    /**
+     * Returns the combined effective tax rate (%).
+     */
+    @Override
+    public double getEffectiveTaxRate() {
+        return effectiveTaxRate;
+    }
+
+    /**
+     * Sets the combined effective tax rate (%).
+     *
+     * @param effectiveTaxRate Combined effective tax rate (%)
+     */
+    public void setEffectiveTaxRate(double effectiveTaxRate) {
+        this.effectiveTaxRate = effectiveTaxRate;
+    }
+
+    /**
+     * Returns the take home pay (USD) after the income tax of every jurisdiction.
+     */
+    @Override
+    public double getTakeHomePay() {
+        return takeHomePay;
+    }
+
+    /**
+     * Sets the take home pay (USD) after the income tax of every jurisdiction.
+     *
+     * @param takeHomePay Take home pay (USD)
+     */
+    public void setTakeHomePay(double takeHomePay) {
+        this.takeHomePay = takeHomePay;
+    }
+
+    /**
+     * Returns the time (nanoseconds) all the jurisdictions took to calculate, side by side.
+     */
+    @Override
+    public long getCalculationNanos() {
+        return calculationNanos;
+    }
+
+    /**
+     * Sets the time (nanoseconds) all the jurisdictions took to calculate, side by side.
+     *
+     * @param calculationNanos Calculation time (nanoseconds)
+     */
+    public void setCalculationNanos(long calculationNanos) {
+        this.calculationNanos = calculationNanos;
+    }
+}
@@ -0,0 +1,377 @@
+package com.jack.tax.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jack.tax.models.interfaces.CalculationExplanation;
+
+/**
+ * Defines the data and behavior of the tax calculation response.
+ */
+public class OutputModel implements com.jack.tax.models.interfaces.OutputModel {
+
+    private int taxYear;
+    private boolean projected;
+    private double federalTaxOwed;
+    private int marginalTaxRate;
+    private double effectiveTaxRate;
+    private double takeHomePay;
+    private double socialSecurityTax;
+    private double medicareTax;
+    private double additionalMedicareTax;
+    private double payrollTaxOwed;
+    private double capitalGainsTax;
+    private int capitalGainsTaxRate;
+    private double calculatedCredits;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceToNextThreshold;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceToPreviousThreshold;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double taxOnNextIncrement;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double takeHomePayOnNextIncrement;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CalculationExplanation explanation;
+
+    /**
+     * Creates a fully initialized output model.
+     */
+    public OutputModel() {
+        // No processing required
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the tax year.
+     *
+     * @param taxYear Applicable tax year.
+     */
+    @Override
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns true if the tax year's tables are projected by inflation rather than published, i.e. the
+     * calculation is an estimate.
+     */
+    @Override
+    public boolean isProjected() {
+        return projected;
+    }
+
+    /**
+     * Sets whether the tax year's tables are projected by inflation.
+     *
+     * @param projected True for a projected tax year.
+     */
+    @Override
+    public void setProjected(boolean projected) {
+        this.projected = projected;
+    }
+
+    /**
+     * Returns the amount of federal tax owed after deductions/credits (USD).
+     */
+    @Override
+    public double getFederalTaxOwed() {
+        return federalTaxOwed;
+    }
+
+    /**
+     * Sets the amount of federal tax owed after deductions/credits (USD).
+     *
+     * @param federalTaxOwed Federal tax owed (USD).
+     */
+    @Override
+    public void setFederalTaxOwed(double federalTaxOwed) {
+        this.federalTaxOwed = federalTaxOwed;
+    }
+
+    /**
+     * Returns the marginal tax rate (%).  In other words, the tax rate tied to the last dollar of income.
+     */
+    @Override
+    public int getMarginalTaxRate() {
+        return marginalTaxRate;
+    }
+
+    /**
+     * Sets the marginal tax rate (%).
+     *
+     * @param marginalTaxRate The tax rate (%) tied to the last dollar of income.
+     */
+    @Override
+    public void setMarginalTaxRate(int marginalTaxRate) {
+        this.marginalTaxRate = marginalTaxRate;
+    }
+
+    /**
+     * Returns the effective tax rate (%).  In other words, the
+     * (federal income tax owed divided by gross income) * 100.0.
+     */
+    @Override
+    public double getEffectiveTaxRate() {
+        return effectiveTaxRate;
+    }
+
+    /**
+     * Sets the effective tax rate (%).
+     *
+     * @param effectiveTaxRate Effective tax rate (%).
+     */
+    @Override
+    public void setEffectiveTaxRate(double effectiveTaxRate) {
+        this.effectiveTaxRate = effectiveTaxRate;
+    }
+
+    /**
+     * Returns the take home pay amount (USD).  Computed as gross income minus
+     * federal tax owed.
+     */
+    @Override
+    public double getTakeHomePay() {
+        return takeHomePay;
+    }
+
+    /**
+     * Sets the take home pay amount (USD).
+     *
+     * @param takeHomePay Take home pay (USD).
+     */
+    @Override
+    public void setTakeHomePay(double takeHomePay) {
+        this.takeHomePay = takeHomePay;
+    }
+
+    /**
+     * Returns the employee's Social Security tax (USD) on the gross income, treated as wages, up to the wage base.
+     */
+    @Override
+    public double getSocialSecurityTax() {
+        return socialSecurityTax;
+    }
+
+    /**
+     * Sets the employee's Social Security tax (USD).
+     *
+     * @param socialSecurityTax Social Security tax (USD).
+     */
+    @Override
+    public void setSocialSecurityTax(double socialSecurityTax) {
+        this.socialSecurityTax = socialSecurityTax;
+    }
+
+    /**
+     * Returns the employee's Medicare tax (USD) on the gross income, treated as wages.
+     */
+    @Override
+    public double getMedicareTax() {
+        return medicareTax;
+    }
+
+    /**
+     * Sets the employee's Medicare tax (USD).
+     *
+     * @param medicareTax Medicare tax (USD).
+     */
+    @Override
+    public void setMedicareTax(double medicareTax) {
+        this.medicareTax = medicareTax;
+    }
+
+    /**
+     * Returns the Additional Medicare tax (USD) on the gross income above the filing status threshold.
+     */
+    @Override
+    public double getAdditionalMedicareTax() {
+        return additionalMedicareTax;
+    }
+
+    /**
+     * Sets the Additional Medicare tax (USD).
+     *
+     * @param additionalMedicareTax Additional Medicare tax (USD).
+     */
+    @Override
+    public void setAdditionalMedicareTax(double additionalMedicareTax) {
+        this.additionalMedicareTax = additionalMedicareTax;
+    }
+
+    /**
+     * Returns the total payroll (FICA) tax (USD), i.e. Social Security, Medicare and Additional Medicare tax.
+     */
+    @Override
+    public double getPayrollTaxOwed() {
+        return payrollTaxOwed;
+    }
+
+    /**
+     * Sets the total payroll (FICA) tax (USD).
+     *
+     * @param payrollTaxOwed Payroll tax owed (USD).
+     */
+    @Override
+    public void setPayrollTaxOwed(double payrollTaxOwed) {
+        this.payrollTaxOwed = payrollTaxOwed;
+    }
+
+    /**
+     * Returns the tax (USD) on qualified dividends and long-term capital gains at the preferential rates, which
+     * is included in the federal tax owed.
+     */
+    @Override
+    public double getCapitalGainsTax() {
+        return capitalGainsTax;
+    }
+
+    /**
+     * Sets the tax (USD) on qualified dividends and long-term capital gains at the preferential rates.
+     *
+     * @param capitalGainsTax Capital gains tax (USD).
+     */
+    @Override
+    public void setCapitalGainsTax(double capitalGainsTax) {
+        this.capitalGainsTax = capitalGainsTax;
+    }
+
+    /**
+     * Returns the preferential tax rate (%) tied to the last dollar of qualified dividends and long-term capital
+     * gains.  Zero if there are none.
+     */
+    @Override
+    public int getCapitalGainsTaxRate() {
+        return capitalGainsTaxRate;
+    }
+
+    /**
+     * Sets the preferential tax rate (%) tied to the last dollar of qualified dividends and long-term capital gains.
+     *
+     * @param capitalGainsTaxRate Capital gains tax rate (%).
+     */
+    @Override
+    public void setCapitalGainsTaxRate(int capitalGainsTaxRate) {
+        this.capitalGainsTaxRate = capitalGainsTaxRate;
+    }
+
+    /**
+     * Returns the credits (USD) the credit rules of the tax year granted, which are applied on top of the credits
+     * entered.
+     */
+    @Override
+    public double getCalculatedCredits() {
+        return calculatedCredits;
+    }
+
+    /**
+     * Sets the credits (USD) the credit rules of the tax year granted.
+     *
+     * @param calculatedCredits Calculated credits (USD).
+     */
+    @Override
+    public void setCalculatedCredits(double calculatedCredits) {
+        this.calculatedCredits = calculatedCredits;
+    }
+
+    /**
+     * Returns the additional gross income (USD) at which the marginal tax rate changes.  Null if not requested,
+     * or if already in the top bracket.
+     */
+    @Override
+    public Double getDistanceToNextThreshold() {
+        return distanceToNextThreshold;
+    }
+
+    /**
+     * Sets the additional gross income (USD) at which the marginal tax rate changes.
+     *
+     * @param distanceToNextThreshold Distance to the next threshold (USD).
+     */
+    @Override
+    public void setDistanceToNextThreshold(Double distanceToNextThreshold) {
+        this.distanceToNextThreshold = distanceToNextThreshold;
+    }
+
+    /**
+     * Returns the gross income (USD) that can be lost before the marginal tax rate changes.  Null if not requested.
+     */
+    @Override
+    public Double getDistanceToPreviousThreshold() {
+        return distanceToPreviousThreshold;
+    }
+
+    /**
+     * Sets the gross income (USD) that can be lost before the marginal tax rate changes.
+     *
+     * @param distanceToPreviousThreshold Distance to the previous threshold (USD).
+     */
+    @Override
+    public void setDistanceToPreviousThreshold(Double distanceToPreviousThreshold) {
+        this.distanceToPreviousThreshold = distanceToPreviousThreshold;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) on the next increment of gross income.  Null if not requested.
+     */
+    @Override
+    public Double getTaxOnNextIncrement() {
+        return taxOnNextIncrement;
+    }
+
+    /**
+     * Sets the federal tax owed (USD) on the next increment of gross income.
+     *
+     * @param taxOnNextIncrement Tax on the next increment (USD).
+     */
+    @Override
+    public void setTaxOnNextIncrement(Double taxOnNextIncrement) {
+        this.taxOnNextIncrement = taxOnNextIncrement;
+    }
+
+    /**
+     * Returns the take home pay (USD) from the next increment of gross income.  Null if not requested.
+     */
+    @Override
+    public Double getTakeHomePayOnNextIncrement() {
+        return takeHomePayOnNextIncrement;
+    }
+
+    /**
+     * Sets the take home pay (USD) from the next increment of gross income.
+     *
+     * @param takeHomePayOnNextIncrement Take home pay from the next increment (USD).
+     */
+    @Override
+    public void setTakeHomePayOnNextIncrement(Double takeHomePayOnNextIncrement) {
+        this.takeHomePayOnNextIncrement = takeHomePayOnNextIncrement;
+    }
+
+    /**
+     * Returns the explanation of how the calculation was reached.  Null if not requested.
+     */
+    @Override
+    public CalculationExplanation getExplanation() {
+        return explanation;
+    }
+
+    /**
+     * Sets the explanation of how the calculation was reached.
+     *
+     * @param explanation Calculation explanation.
+     */
+    @Override
+    public void setExplanation(CalculationExplanation explanation) {
+        this.explanation = explanation;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jack.tax.models;
+
+/**
+ * Pay frequency enumeration, i.e. how often employees are paid and so how many pay periods a year has
+ */
+public enum PayFrequency {
+
+    WEEKLY("Weekly", 52),
+    BIWEEKLY("Biweekly", 26),
+    SEMIMONTHLY("Semimonthly", 24),
+    MONTHLY("Monthly", 12),
+    QUARTERLY("Quarterly", 4),
+    ANNUALLY("Annually", 1);
+
+    private final String description;
+    private final int payPeriodsPerYear;
+
+    /**
+     * Initializes the enum with a description and the number of pay periods per year
+     * @param description Description for the enum
+     * @param payPeriodsPerYear Number of pay periods per year
+     */
+    PayFrequency(String description, int payPeriodsPerYear) {
+        this.description = description;
+        this.payPeriodsPerYear = payPeriodsPerYear;
+    }
+
+    /**
+     * Returns the description for the enum
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the number of pay periods per year
+     */
+    public int getPayPeriodsPerYear() {
+        return payPeriodsPerYear;
+    }
+}
@@ -0,0 +1,187 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contains the pay and year-to-date figures of one employee of a payroll run.
+ */
+@NoArgsConstructor
+public class PayrollEmployee implements com.jack.tax.models.interfaces.PayrollEmployee {
+
+    @NotBlank(message = "Employee id must have a value")
+    private String employeeId;
+
+    @NotNull(message = "Filing status must have a value")
+    private FilingStatus filingStatus;
+
+    @Min(value = 1, message = "Pay period must be at least 1")
+    private int payPeriod = 1;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Gross pay must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Gross pay must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double grossPay;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Year-to-date gross pay must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Year-to-date gross pay must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double ytdGrossPay;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Year-to-date withholding must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Year-to-date withholding must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double ytdWithholding;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Deductions must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Deductions must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalDeductions;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Credits must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Credits must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalCredits;
+
+    /**
+     * Returns the employee identifier, echoed back with the withholding.
+     */
+    @Override
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Sets the employee identifier, echoed back with the withholding.
+     *
+     * @param employeeId Employee identifier
+     */
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Returns the filing status the employee claims.
+     */
+    @Override
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Sets the filing status the employee claims.
+     *
+     * @param filingStatus Claimed filing status
+     */
+    public void setFilingStatus(FilingStatus filingStatus) {
+        this.filingStatus = filingStatus;
+    }
+
+    /**
+     * Returns the one-based number of the current pay period within the tax year.
+     */
+    @Override
+    public int getPayPeriod() {
+        return payPeriod;
+    }
+
+    /**
+     * Sets the one-based number of the current pay period within the tax year.
+     *
+     * @param payPeriod One-based number of the current pay period
+     */
+    public void setPayPeriod(int payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    /**
+     * Returns the gross pay (USD) for the current pay period.
+     */
+    @Override
+    public double getGrossPay() {
+        return grossPay;
+    }
+
+    /**
+     * Sets the gross pay (USD) for the current pay period.
+     *
+     * @param grossPay Gross pay for the current pay period (USD)
+     */
+    public void setGrossPay(double grossPay) {
+        this.grossPay = grossPay;
+    }
+
+    /**
+     * Returns the gross pay (USD) before the current pay period this year.
+     */
+    @Override
+    public double getYtdGrossPay() {
+        return ytdGrossPay;
+    }
+
+    /**
+     * Sets the gross pay (USD) before the current pay period this year.
+     *
+     * @param ytdGrossPay Year-to-date gross pay before the current pay period (USD)
+     */
+    public void setYtdGrossPay(double ytdGrossPay) {
+        this.ytdGrossPay = ytdGrossPay;
+    }
+
+    /**
+     * Returns the federal income tax (USD) withheld before the current pay period this year.
+     */
+    @Override
+    public double getYtdWithholding() {
+        return ytdWithholding;
+    }
+
+    /**
+     * Sets the federal income tax (USD) withheld before the current pay period this year.
+     *
+     * @param ytdWithholding Year-to-date withholding before the current pay period (USD)
+     */
+    public void setYtdWithholding(double ytdWithholding) {
+        this.ytdWithholding = ytdWithholding;
+    }
+
+    /**
+     * Returns the expected annual itemized deductions (USD).
+     */
+    @Override
+    public double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the expected annual itemized deductions (USD).
+     *
+     * @param totalDeductions Expected annual itemized deductions (USD)
+     */
+    public void setTotalDeductions(double totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the expected annual credits (USD).
+     */
+    @Override
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the expected annual credits (USD).
+     *
+     * @param totalCredits Expected annual credits (USD)
+     */
+    public void setTotalCredits(double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+}
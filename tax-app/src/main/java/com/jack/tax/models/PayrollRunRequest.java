@@ -0,0 +1,78 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Contains the inputs needed to calculate the federal income tax withholding of every employee of one payroll
+ * run.
+ */
+@NoArgsConstructor
+public class PayrollRunRequest implements com.jack.tax.models.interfaces.PayrollRunRequest {
+
+    private int selectedTaxYear;
+    @NotNull(message = "Pay frequency must have a value")
+    private PayFrequency payFrequency;
+
+    @NotEmpty(message = "Payroll run must have at least one employee")
+    @Size(max = AppConstants.MAX_PAYROLL_EMPLOYEE_COUNT, message = "Payroll run must have at most " + AppConstants.MAX_PAYROLL_EMPLOYEE_COUNT + " employees")
+    @Valid
+    private List<PayrollEmployee> employees;
+
+    /**
+     * Returns the tax year of the pay date.
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the tax year of the pay date.
+     *
+     * @param selectedTaxYear Tax year of the pay date
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns how often the employees are paid.
+     */
+    @Override
+    public PayFrequency getPayFrequency() {
+        return payFrequency;
+    }
+
+    /**
+     * Sets how often the employees are paid.
+     *
+     * @param payFrequency Pay frequency
+     */
+    public void setPayFrequency(PayFrequency payFrequency) {
+        this.payFrequency = payFrequency;
+    }
+
+    /**
+     * Returns the employees to calculate the withholding of.
+     */
+    @Override
+    public List<PayrollEmployee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Sets the employees to calculate the withholding of.
+     *
+     * @param employees Employees of the run
+     */
+    public void setEmployees(List<PayrollEmployee> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,143 @@
+package com.jack.tax.models;
+
+import java.util.List;
+
+/**
+ * Contains the federal income tax withholding of every employee of one payroll run, along with the run totals.
+ */
+public class PayrollRunResponse implements com.jack.tax.models.interfaces.PayrollRunResponse {
+
+    private int taxYear;
+    private boolean projected;
+    private PayFrequency payFrequency;
+    private int employeeCount;
+    private double totalGrossPay;
+    private double totalWithholding;
+    private List<EmployeeWithholding> withholdings;
+
+    /**
+     * Creates a fully initialized payroll run response.
+     */
+    public PayrollRunResponse() {
+        // No processing required
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the applicable tax year.
+     *
+     * @param taxYear Applicable tax year
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns true if the tax year's tables are projected by inflation rather than published.
+     */
+    @Override
+    public boolean isProjected() {
+        return projected;
+    }
+
+    /**
+     * Sets true if the tax year's tables are projected by inflation rather than published.
+     *
+     * @param projected True for a projected tax year
+     */
+    public void setProjected(boolean projected) {
+        this.projected = projected;
+    }
+
+    /**
+     * Returns how often the employees are paid.
+     */
+    @Override
+    public PayFrequency getPayFrequency() {
+        return payFrequency;
+    }
+
+    /**
+     * Sets how often the employees are paid.
+     *
+     * @param payFrequency Pay frequency
+     */
+    public void setPayFrequency(PayFrequency payFrequency) {
+        this.payFrequency = payFrequency;
+    }
+
+    /**
+     * Returns the number of employees.
+     */
+    @Override
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    /**
+     * Sets the number of employees.
+     *
+     * @param employeeCount Number of employees
+     */
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    /**
+     * Returns the total gross pay (USD) for the current pay period.
+     */
+    @Override
+    public double getTotalGrossPay() {
+        return totalGrossPay;
+    }
+
+    /**
+     * Sets the total gross pay (USD) for the current pay period.
+     *
+     * @param totalGrossPay Total gross pay (USD)
+     */
+    public void setTotalGrossPay(double totalGrossPay) {
+        this.totalGrossPay = totalGrossPay;
+    }
+
+    /**
+     * Returns the total federal income tax (USD) to withhold for the current pay period.
+     */
+    @Override
+    public double getTotalWithholding() {
+        return totalWithholding;
+    }
+
+    /**
+     * Sets the total federal income tax (USD) to withhold for the current pay period.
+     *
+     * @param totalWithholding Total withholding (USD)
+     */
+    public void setTotalWithholding(double totalWithholding) {
+        this.totalWithholding = totalWithholding;
+    }
+
+    /**
+     * Returns the withholding of each employee, in request order.
+     */
+    @Override
+    public List<EmployeeWithholding> getWithholdings() {
+        return withholdings;
+    }
+
+    /**
+     * Sets the withholding of each employee, in request order.
+     *
+     * @param withholdings Withholding of each employee
+     */
+    public void setWithholdings(List<EmployeeWithholding> withholdings) {
+        this.withholdings = withholdings;
+    }
+}
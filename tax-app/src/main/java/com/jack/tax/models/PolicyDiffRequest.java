@@ -0,0 +1,94 @@
+package com.jack.tax.models;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Contains the inputs needed to compare federal tax owed under a draft tax table against current law for every
+ * household of a population file.  The draft table is only ever compiled for the comparison, never stored.
+ */
+@NoArgsConstructor
+public class PolicyDiffRequest implements com.jack.tax.models.interfaces.PolicyDiffRequest {
+
+    private int selectedTaxYear;
+    @NotBlank(message = "Population file must have a value")
+    private String populationFile;
+
+    @NotNull(message = "Draft standard deductions must have a value")
+    private StandardDeductionDetails draftStandardDeductionDetails;
+
+    @NotEmpty(message = "Draft brackets must have at least one bracket")
+    private List<BracketDetails> draftBracketDetails;
+
+    /**
+     * Returns the tax year whose current law tables the draft is compared against.
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the tax year whose current law tables the draft is compared against.
+     *
+     * @param selectedTaxYear Current law tax year
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the name of the population file, relative to the configured population directory.
+     */
+    @Override
+    public String getPopulationFile() {
+        return populationFile;
+    }
+
+    /**
+     * Sets the name of the population file, relative to the configured population directory.
+     *
+     * @param populationFile Name of the population file
+     */
+    public void setPopulationFile(String populationFile) {
+        this.populationFile = populationFile;
+    }
+
+    /**
+     * Returns the draft standard deductions.
+     */
+    @Override
+    public StandardDeductionDetails getDraftStandardDeductionDetails() {
+        return draftStandardDeductionDetails;
+    }
+
+    /**
+     * Sets the draft standard deductions.
+     *
+     * @param draftStandardDeductionDetails Draft standard deductions
+     */
+    public void setDraftStandardDeductionDetails(StandardDeductionDetails draftStandardDeductionDetails) {
+        this.draftStandardDeductionDetails = draftStandardDeductionDetails;
+    }
+
+    /**
+     * Returns the draft tax brackets.
+     */
+    @Override
+    public List<BracketDetails> getDraftBracketDetails() {
+        return draftBracketDetails;
+    }
+
+    /**
+     * Sets the draft tax brackets.
+     *
+     * @param draftBracketDetails Draft tax brackets
+     */
+    public void setDraftBracketDetails(List<BracketDetails> draftBracketDetails) {
+        this.draftBracketDetails = draftBracketDetails;
+    }
+}
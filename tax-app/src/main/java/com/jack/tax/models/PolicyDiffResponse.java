@@ -0,0 +1,214 @@
+package com.jack.tax.models;
+
+/**
+ * Contains the winners, losers and revenue change when a draft tax table replaces current law for a population
+ * of households.  Household counts and totals are weighted.
+ */
+public class PolicyDiffResponse implements com.jack.tax.models.interfaces.PolicyDiffResponse {
+
+    private int taxYear;
+    private long recordCount;
+    private double householdCount;
+    private double currentRevenue;
+    private double draftRevenue;
+    private double revenueChange;
+    private double winnerCount;
+    private double averageWinnerTaxChange;
+    private double loserCount;
+    private double averageLoserTaxChange;
+    private double unchangedCount;
+
+    /**
+     * Creates a fully initialized policy diff response.
+     */
+    public PolicyDiffResponse() {
+        // No processing required
+    }
+
+    /**
+     * Returns the current law tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the current law tax year.
+     *
+     * @param taxYear Current law tax year
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the number of population records.
+     */
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Sets the number of population records.
+     *
+     * @param recordCount Number of records
+     */
+    public void setRecordCount(long recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Returns the number of households, i.e. the sum of the record weights.
+     */
+    @Override
+    public double getHouseholdCount() {
+        return householdCount;
+    }
+
+    /**
+     * Sets the number of households.
+     *
+     * @param householdCount Number of households
+     */
+    public void setHouseholdCount(double householdCount) {
+        this.householdCount = householdCount;
+    }
+
+    /**
+     * Returns the total federal tax owed (USD) under current law.
+     */
+    @Override
+    public double getCurrentRevenue() {
+        return currentRevenue;
+    }
+
+    /**
+     * Sets the total federal tax owed (USD) under current law.
+     *
+     * @param currentRevenue Total federal tax owed (USD) under current law
+     */
+    public void setCurrentRevenue(double currentRevenue) {
+        this.currentRevenue = currentRevenue;
+    }
+
+    /**
+     * Returns the total federal tax owed (USD) under the draft table.
+     */
+    @Override
+    public double getDraftRevenue() {
+        return draftRevenue;
+    }
+
+    /**
+     * Sets the total federal tax owed (USD) under the draft table.
+     *
+     * @param draftRevenue Total federal tax owed (USD) under the draft table
+     */
+    public void setDraftRevenue(double draftRevenue) {
+        this.draftRevenue = draftRevenue;
+    }
+
+    /**
+     * Returns the change in total federal tax owed (USD) from current law to the draft table.
+     */
+    @Override
+    public double getRevenueChange() {
+        return revenueChange;
+    }
+
+    /**
+     * Sets the change in total federal tax owed (USD) from current law to the draft table.
+     *
+     * @param revenueChange Change in total federal tax owed (USD)
+     */
+    public void setRevenueChange(double revenueChange) {
+        this.revenueChange = revenueChange;
+    }
+
+    /**
+     * Returns the number of households that owe less under the draft table.
+     */
+    @Override
+    public double getWinnerCount() {
+        return winnerCount;
+    }
+
+    /**
+     * Sets the number of households that owe less under the draft table.
+     *
+     * @param winnerCount Number of households that owe less
+     */
+    public void setWinnerCount(double winnerCount) {
+        this.winnerCount = winnerCount;
+    }
+
+    /**
+     * Returns the average change in federal tax owed (USD, negative) for the households that owe less.
+     */
+    @Override
+    public double getAverageWinnerTaxChange() {
+        return averageWinnerTaxChange;
+    }
+
+    /**
+     * Sets the average change in federal tax owed (USD, negative) for the households that owe less.
+     *
+     * @param averageWinnerTaxChange Average change in federal tax owed (USD) for the households that owe less
+     */
+    public void setAverageWinnerTaxChange(double averageWinnerTaxChange) {
+        this.averageWinnerTaxChange = averageWinnerTaxChange;
+    }
+
+    /**
+     * Returns the number of households that owe more under the draft table.
+     */
+    @Override
+    public double getLoserCount() {
+        return loserCount;
+    }
+
+    /**
+     * Sets the number of households that owe more under the draft table.
+     *
+     * @param loserCount Number of households that owe more
+     */
+    public void setLoserCount(double loserCount) {
+        this.loserCount = loserCount;
+    }
+
+    /**
+     * Returns the average change in federal tax owed (USD, positive) for the households that owe more.
+     */
+    @Override
+    public double getAverageLoserTaxChange() {
+        return averageLoserTaxChange;
+    }
+
+    /**
+     * Sets the average change in federal tax owed (USD, positive) for the households that owe more.
+     *
+     * @param averageLoserTaxChange Average change in federal tax owed (USD) for the households that owe more
+     */
+    public void setAverageLoserTaxChange(double averageLoserTaxChange) {
+        this.averageLoserTaxChange = averageLoserTaxChange;
+    }
+
+    /**
+     * Returns the number of households whose federal tax owed does not change.
+     */
+    @Override
+    public double getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    /**
+     * Sets the number of households whose federal tax owed does not change.
+     *
+     * @param unchangedCount Number of households whose federal tax owed does not change
+     */
+    public void setUnchangedCount(double unchangedCount) {
+        this.unchangedCount = unchangedCount;
+    }
+}
@@ -0,0 +1,178 @@
+package com.jack.tax.models;
+
+/**
+ * Aggregates of the federal calculation over one group of households (e.g. an income decile) in a
+ * microsimulation.  Household counts and totals are weighted.
+ */
+public class PopulationGroupSummary implements com.jack.tax.models.interfaces.PopulationGroupSummary {
+
+    private String label;
+    private long recordCount;
+    private double householdCount;
+    private double minGrossIncome;
+    private double maxGrossIncome;
+    private double totalGrossIncome;
+    private double totalFederalTaxOwed;
+    private double averageFederalTaxOwed;
+    private double averageEffectiveTaxRate;
+
+    /**
+     * Creates a fully initialized population group summary.
+     */
+    public PopulationGroupSummary() {
+        // No processing required
+    }
+
+    /**
+     * Returns the label of the group, e.g. "Decile 1", "SINGLE" or "22%".
+     */
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Sets the label of the group, e.g. "Decile 1", "SINGLE" or "22%".
+     *
+     * @param label Label of the group
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the number of population records in the group.
+     */
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Sets the number of population records in the group.
+     *
+     * @param recordCount Number of records
+     */
+    public void setRecordCount(long recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Returns the number of households in the group, i.e. the sum of the record weights.
+     */
+    @Override
+    public double getHouseholdCount() {
+        return householdCount;
+    }
+
+    /**
+     * Sets the number of households in the group.
+     *
+     * @param householdCount Number of households
+     */
+    public void setHouseholdCount(double householdCount) {
+        this.householdCount = householdCount;
+    }
+
+    /**
+     * Returns the smallest gross income (USD) in the group.
+     */
+    @Override
+    public double getMinGrossIncome() {
+        return minGrossIncome;
+    }
+
+    /**
+     * Sets the smallest gross income (USD) in the group.
+     *
+     * @param minGrossIncome Smallest gross income (USD)
+     */
+    public void setMinGrossIncome(double minGrossIncome) {
+        this.minGrossIncome = minGrossIncome;
+    }
+
+    /**
+     * Returns the largest gross income (USD) in the group.
+     */
+    @Override
+    public double getMaxGrossIncome() {
+        return maxGrossIncome;
+    }
+
+    /**
+     * Sets the largest gross income (USD) in the group.
+     *
+     * @param maxGrossIncome Largest gross income (USD)
+     */
+    public void setMaxGrossIncome(double maxGrossIncome) {
+        this.maxGrossIncome = maxGrossIncome;
+    }
+
+    /**
+     * Returns the total gross income (USD) of the households in the group.
+     */
+    @Override
+    public double getTotalGrossIncome() {
+        return totalGrossIncome;
+    }
+
+    /**
+     * Sets the total gross income (USD) of the households in the group.
+     *
+     * @param totalGrossIncome Total gross income (USD)
+     */
+    public void setTotalGrossIncome(double totalGrossIncome) {
+        this.totalGrossIncome = totalGrossIncome;
+    }
+
+    /**
+     * Returns the total federal tax owed (USD) by the households in the group, i.e. the revenue.
+     */
+    @Override
+    public double getTotalFederalTaxOwed() {
+        return totalFederalTaxOwed;
+    }
+
+    /**
+     * Sets the total federal tax owed (USD) by the households in the group.
+     *
+     * @param totalFederalTaxOwed Total federal tax owed (USD)
+     */
+    public void setTotalFederalTaxOwed(double totalFederalTaxOwed) {
+        this.totalFederalTaxOwed = totalFederalTaxOwed;
+    }
+
+    /**
+     * Returns the average federal tax owed (USD) per household in the group.
+     */
+    @Override
+    public double getAverageFederalTaxOwed() {
+        return averageFederalTaxOwed;
+    }
+
+    /**
+     * Sets the average federal tax owed (USD) per household in the group.
+     *
+     * @param averageFederalTaxOwed Average federal tax owed (USD)
+     */
+    public void setAverageFederalTaxOwed(double averageFederalTaxOwed) {
+        this.averageFederalTaxOwed = averageFederalTaxOwed;
+    }
+
+    /**
+     * Returns the average of the households' effective tax rates (%) in the group.
+     */
+    @Override
+    public double getAverageEffectiveTaxRate() {
+        return averageEffectiveTaxRate;
+    }
+
+    /**
+     * Sets the average of the households' effective tax rates (%) in the group.
+     *
+     * @param averageEffectiveTaxRate Average effective tax rate (%)
+     */
+    public void setAverageEffectiveTaxRate(double averageEffectiveTaxRate) {
+        this.averageEffectiveTaxRate = averageEffectiveTaxRate;
+    }
+}
@@ -0,0 +1,141 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Contains the dimensions of a scenario grid: every combination of tax year, filing status, deductions, credits
+ * and gross income is evaluated, with the credit rules evaluated for one number of qualifying children.
+ */
+@NoArgsConstructor
+public class ScenarioGridRequest implements com.jack.tax.models.interfaces.ScenarioGridRequest {
+
+    @NotEmpty(message = "Tax years must have at least one value")
+    private List<Integer> taxYears;
+
+    @NotEmpty(message = "Filing statuses must have at least one value")
+    private List<FilingStatus> filingStatuses;
+
+    @Valid
+    private GridDimension totalDeductions;
+
+    @Valid
+    private GridDimension totalCredits;
+
+    @Valid
+    @NotNull(message = "Gross incomes must have a value")
+    private GridDimension grossIncomes;
+
+    @Min(value = 0, message = "Qualifying children must be at least 0")
+    @Max(value = AppConstants.MAX_QUALIFYING_CHILDREN, message = "Qualifying children must be less than or equal to " + AppConstants.MAX_QUALIFYING_CHILDREN)
+    private int qualifyingChildren;
+
+    /**
+     * Returns the tax years to evaluate.
+     */
+    @Override
+    public List<Integer> getTaxYears() {
+        return taxYears;
+    }
+
+    /**
+     * Sets the tax years to evaluate.
+     *
+     * @param taxYears Tax years
+     */
+    public void setTaxYears(List<Integer> taxYears) {
+        this.taxYears = taxYears;
+    }
+
+    /**
+     * Returns the filing statuses to evaluate.
+     */
+    @Override
+    public List<FilingStatus> getFilingStatuses() {
+        return filingStatuses;
+    }
+
+    /**
+     * Sets the filing statuses to evaluate.
+     *
+     * @param filingStatuses Filing statuses
+     */
+    public void setFilingStatuses(List<FilingStatus> filingStatuses) {
+        this.filingStatuses = filingStatuses;
+    }
+
+    /**
+     * Returns the total itemized deductions (USD) to evaluate, or null for none.
+     */
+    @Override
+    public GridDimension getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the total itemized deductions (USD) to evaluate.
+     *
+     * @param totalDeductions Total deductions (USD)
+     */
+    public void setTotalDeductions(GridDimension totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the total credits (USD) to evaluate, or null for none.
+     */
+    @Override
+    public GridDimension getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the total credits (USD) to evaluate.
+     *
+     * @param totalCredits Total credits (USD)
+     */
+    public void setTotalCredits(GridDimension totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    /**
+     * Returns the gross incomes (USD) to evaluate.
+     */
+    @Override
+    public GridDimension getGrossIncomes() {
+        return grossIncomes;
+    }
+
+    /**
+     * Sets the gross incomes (USD) to evaluate.
+     *
+     * @param grossIncomes Gross incomes (USD)
+     */
+    public void setGrossIncomes(GridDimension grossIncomes) {
+        this.grossIncomes = grossIncomes;
+    }
+
+    /**
+     * Returns the number of qualifying children the credit rules are evaluated for.
+     */
+    @Override
+    public int getQualifyingChildren() {
+        return qualifyingChildren;
+    }
+
+    /**
+     * Sets the number of qualifying children the credit rules are evaluated for.
+     *
+     * @param qualifyingChildren Number of qualifying children
+     */
+    public void setQualifyingChildren(int qualifyingChildren) {
+        this.qualifyingChildren = qualifyingChildren;
+    }
+}
@@ -0,0 +1,331 @@
+package com.jack.tax.models;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Objects;
+
+/**
+ * Encapsulates the standard deduction details for a particular tax year
+ * for the various filing options, along with that year's payroll (FICA) tax parameters.
+ */
+@Document(collection = "StandardDeductions")
+public class StandardDeductionDetails implements com.jack.tax.models.interfaces.StandardDeductionDetails {
+
+    /**
+     * Applicable tax year for the standard deduction details
+     */
+    private int taxYear;
+
+    /**
+     * Standard deduction (USD) for single filers
+     */
+    private int single;
+
+    /**
+     * Standard deduction (USD) for married filing jointly (or surviving spouse) filers
+     */
+    private int mfj;
+
+    /**
+     * Standard deduction (USD) for married filing separately filers
+     */
+    private int mfs;
+
+    /**
+     * Standard deduction (USD) for head of household filers
+     */
+    private int hoh;
+
+    /**
+     * Social Security tax rate (%) paid by employees on wages up to the wage base
+     */
+    private double socialSecurityTaxRate;
+
+    /**
+     * Max wages (USD) subject to Social Security tax, i.e. the wage base
+     */
+    private int socialSecurityWageBase;
+
+    /**
+     * Medicare tax rate (%) paid by employees on all wages
+     */
+    private double medicareTaxRate;
+
+    /**
+     * Additional Medicare tax rate (%) paid on wages above the filing status threshold
+     */
+    private double additionalMedicareTaxRate;
+
+    /**
+     * Wages (USD) above which single (or surviving spouse) filers pay Additional Medicare tax
+     */
+    private int additionalMedicareThresholdSingle;
+
+    /**
+     * Wages (USD) above which married filing jointly filers pay Additional Medicare tax
+     */
+    private int additionalMedicareThresholdMfj;
+
+    /**
+     * Wages (USD) above which married filing separately filers pay Additional Medicare tax
+     */
+    private int additionalMedicareThresholdMfs;
+
+    /**
+     * Wages (USD) above which head of household filers pay Additional Medicare tax
+     */
+    private int additionalMedicareThresholdHoh;
+
+    /**
+     * Creates a fully initialized standard deduction details model
+     */
+    public StandardDeductionDetails() {
+        // No processing required
+    }
+
+    /**
+     * Returns the tax year applicable to the standard deduction
+     */
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the tax year using the given data
+     * @param taxYear Tax year to set
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the standard deduction (USD) for a single filer
+     */
+    public int getSingle() {
+        return single;
+    }
+
+    /**
+     * Sets the standard deduction (USD) for a single filer
+     * @param single Standard deduction amount (USD) to set
+     */
+    public void setSingle(int single) {
+        this.single = single;
+    }
+
+    /**
+     * Returns the standard deduction (USD) for married-filing-jointly filers
+     */
+    public int getMfj() {
+        return mfj;
+    }
+
+    /**
+     * Sets the standard deduction (USD) for married-filing-jointly filers
+     * @param mfj Standard deduction amount (USD) to set
+     */
+    public void setMfj(int mfj) {
+        this.mfj = mfj;
+    }
+
+    /**
+     * Returns the standard deduction (USD) for a married-filing-separately filer
+     */
+    public int getMfs() {
+        return mfs;
+    }
+
+    /**
+     * Sets the standard deduction (USD) for a married-filing-separately filer
+     * @param mfs Standard deduction amount (USD) to set
+     */
+    public void setMfs(int mfs) {
+        this.mfs = mfs;
+    }
+
+    /**
+     * Returns the standard deduction (USD) for a head-of-household filer
+     */
+    public int getHoh() {
+        return hoh;
+    }
+
+    /**
+     * Sets the standard deduction (USD) for a head-of-household filer
+     * @param hoh Standard deduction amount (USD) to set
+     */
+    public void setHoh(int hoh) {
+        this.hoh = hoh;
+    }
+
+    /**
+     * Returns the social Security tax rate (%) paid by employees on wages up to the wage base
+     */
+    public double getSocialSecurityTaxRate() {
+        return socialSecurityTaxRate;
+    }
+
+    /**
+     * Sets the social Security tax rate (%) paid by employees on wages up to the wage base
+     * @param socialSecurityTaxRate Social Security tax rate (%) to set
+     */
+    public void setSocialSecurityTaxRate(double socialSecurityTaxRate) {
+        this.socialSecurityTaxRate = socialSecurityTaxRate;
+    }
+
+    /**
+     * Returns the max wages (USD) subject to Social Security tax, i.e. the wage base
+     */
+    public int getSocialSecurityWageBase() {
+        return socialSecurityWageBase;
+    }
+
+    /**
+     * Sets the max wages (USD) subject to Social Security tax, i.e. the wage base
+     * @param socialSecurityWageBase Social Security wage base (USD) to set
+     */
+    public void setSocialSecurityWageBase(int socialSecurityWageBase) {
+        this.socialSecurityWageBase = socialSecurityWageBase;
+    }
+
+    /**
+     * Returns the medicare tax rate (%) paid by employees on all wages
+     */
+    public double getMedicareTaxRate() {
+        return medicareTaxRate;
+    }
+
+    /**
+     * Sets the medicare tax rate (%) paid by employees on all wages
+     * @param medicareTaxRate Medicare tax rate (%) to set
+     */
+    public void setMedicareTaxRate(double medicareTaxRate) {
+        this.medicareTaxRate = medicareTaxRate;
+    }
+
+    /**
+     * Returns the additional Medicare tax rate (%) paid on wages above the filing status threshold
+     */
+    public double getAdditionalMedicareTaxRate() {
+        return additionalMedicareTaxRate;
+    }
+
+    /**
+     * Sets the additional Medicare tax rate (%) paid on wages above the filing status threshold
+     * @param additionalMedicareTaxRate Additional Medicare tax rate (%) to set
+     */
+    public void setAdditionalMedicareTaxRate(double additionalMedicareTaxRate) {
+        this.additionalMedicareTaxRate = additionalMedicareTaxRate;
+    }
+
+    /**
+     * Returns the wages (USD) above which single (or surviving spouse) filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdSingle() {
+        return additionalMedicareThresholdSingle;
+    }
+
+    /**
+     * Sets the wages (USD) above which single (or surviving spouse) filers pay Additional Medicare tax
+     * @param additionalMedicareThresholdSingle Additional Medicare tax threshold (USD) to set
+     */
+    public void setAdditionalMedicareThresholdSingle(int additionalMedicareThresholdSingle) {
+        this.additionalMedicareThresholdSingle = additionalMedicareThresholdSingle;
+    }
+
+    /**
+     * Returns the wages (USD) above which married filing jointly filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdMfj() {
+        return additionalMedicareThresholdMfj;
+    }
+
+    /**
+     * Sets the wages (USD) above which married filing jointly filers pay Additional Medicare tax
+     * @param additionalMedicareThresholdMfj Additional Medicare tax threshold (USD) to set
+     */
+    public void setAdditionalMedicareThresholdMfj(int additionalMedicareThresholdMfj) {
+        this.additionalMedicareThresholdMfj = additionalMedicareThresholdMfj;
+    }
+
+    /**
+     * Returns the wages (USD) above which married filing separately filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdMfs() {
+        return additionalMedicareThresholdMfs;
+    }
+
+    /**
+     * Sets the wages (USD) above which married filing separately filers pay Additional Medicare tax
+     * @param additionalMedicareThresholdMfs Additional Medicare tax threshold (USD) to set
+     */
+    public void setAdditionalMedicareThresholdMfs(int additionalMedicareThresholdMfs) {
+        this.additionalMedicareThresholdMfs = additionalMedicareThresholdMfs;
+    }
+
+    /**
+     * Returns the wages (USD) above which head of household filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdHoh() {
+        return additionalMedicareThresholdHoh;
+    }
+
+    /**
+     * Sets the wages (USD) above which head of household filers pay Additional Medicare tax
+     * @param additionalMedicareThresholdHoh Additional Medicare tax threshold (USD) to set
+     */
+    public void setAdditionalMedicareThresholdHoh(int additionalMedicareThresholdHoh) {
+        this.additionalMedicareThresholdHoh = additionalMedicareThresholdHoh;
+    }
+
+    /**
+     * Returns the string representation of a standard deduction details instance.
+     */
+    @Override
+    public String toString() {
+        return "StandardDeductionDetails{" +
+                "taxYear=" + taxYear +
+                ", single=" + single +
+                ", mfj=" + mfj +
+                ", mfs=" + mfs +
+                ", hoh=" + hoh +
+                ", socialSecurityTaxRate=" + socialSecurityTaxRate +
+                ", socialSecurityWageBase=" + socialSecurityWageBase +
+                ", medicareTaxRate=" + medicareTaxRate +
+                ", additionalMedicareTaxRate=" + additionalMedicareTaxRate +
+                ", additionalMedicareThresholdSingle=" + additionalMedicareThresholdSingle +
+                ", additionalMedicareThresholdMfj=" + additionalMedicareThresholdMfj +
+                ", additionalMedicareThresholdMfs=" + additionalMedicareThresholdMfs +
+                ", additionalMedicareThresholdHoh=" + additionalMedicareThresholdHoh +
+                '}';
+    }
+
+    /**
+     * Determines if this standard deduction details instance is considered equal to the other one.
+     * @param o Other standard deduction details instance
+     * @return True if equal, otherwise false
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        StandardDeductionDetails that = (StandardDeductionDetails) o;
+        return taxYear == that.taxYear && single == that.single && mfj == that.mfj && mfs == that.mfs && hoh == that.hoh
+                && socialSecurityTaxRate == that.socialSecurityTaxRate && socialSecurityWageBase == that.socialSecurityWageBase
+                && medicareTaxRate == that.medicareTaxRate && additionalMedicareTaxRate == that.additionalMedicareTaxRate
+                && additionalMedicareThresholdSingle == that.additionalMedicareThresholdSingle
+                && additionalMedicareThresholdMfj == that.additionalMedicareThresholdMfj
+                && additionalMedicareThresholdMfs == that.additionalMedicareThresholdMfs
+                && additionalMedicareThresholdHoh == that.additionalMedicareThresholdHoh;
+    }
+
+    /**
+     * Uses this standard deduction details instance's fields to compute and return a hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(taxYear, single, mfj, mfs, hoh, socialSecurityTaxRate, socialSecurityWageBase,
+                medicareTaxRate, additionalMedicareTaxRate, additionalMedicareThresholdSingle,
+                additionalMedicareThresholdMfj, additionalMedicareThresholdMfs, additionalMedicareThresholdHoh);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.jack.tax.models;
+
+import java.util.Objects;
+
+/**
+ * Encapsulates the min income for a state tax bracket for all types of filers.  Instances are embedded in the
+ * state tax table they belong to.
+ */
+public class StateBracketDetails implements com.jack.tax.models.interfaces.StateBracketDetails {
+
+    /**
+     * Marginal tax rate (%) for the bracket
+     */
+    private double taxRate;
+
+    /**
+     * Min income (USD) - single filer
+     */
+    private int minIncomeSingle;
+
+    /**
+     * Min income (USD) - married filing jointly (or surviving spouse) filer
+     */
+    private int minIncomeMFJ;
+
+    /**
+     * Min income (USD) - married filing separately filer
+     */
+    private int minIncomeMFS;
+
+    /**
+     * Min income (USD) - head of household filer
+     */
+    private int minIncomeHOH;
+
+    /**
+     * Returns the marginal tax rate (%) for the bracket
+     */
+    @Override
+    public double getTaxRate() {
+        return taxRate;
+    }
+
+    /**
+     * Sets the marginal tax rate (%) for the bracket with the given data
+     * @param taxRate Tax rate (%) to set
+     */
+    public void setTaxRate(double taxRate) {
+        this.taxRate = taxRate;
+    }
+
+    /**
+     * Returns the min income (USD) - single filer
+     */
+    @Override
+    public int getMinIncomeSingle() {
+        return minIncomeSingle;
+    }
+
+    /**
+     * Sets the min income (USD) - single filer with the given data
+     * @param minIncomeSingle Min income (USD) to set
+     */
+    public void setMinIncomeSingle(int minIncomeSingle) {
+        this.minIncomeSingle = minIncomeSingle;
+    }
+
+    /**
+     * Returns the min income (USD) - married filing jointly (or surviving spouse) filer
+     */
+    @Override
+    public int getMinIncomeMFJ() {
+        return minIncomeMFJ;
+    }
+
+    /**
+     * Sets the min income (USD) - married filing jointly (or surviving spouse) filer with the given data
+     * @param minIncomeMFJ Min income (USD) to set
+     */
+    public void setMinIncomeMFJ(int minIncomeMFJ) {
+        this.minIncomeMFJ = minIncomeMFJ;
+    }
+
+    /**
+     * Returns the min income (USD) - married filing separately filer
+     */
+    @Override
+    public int getMinIncomeMFS() {
+        return minIncomeMFS;
+    }
+
+    /**
+     * Sets the min income (USD) - married filing separately filer with the given data
+     * @param minIncomeMFS Min income (USD) to set
+     */
+    public void setMinIncomeMFS(int minIncomeMFS) {
+        this.minIncomeMFS = minIncomeMFS;
+    }
+
+    /**
+     * Returns the min income (USD) - head of household filer
+     */
+    @Override
+    public int getMinIncomeHOH() {
+        return minIncomeHOH;
+    }
+
+    /**
+     * Sets the min income (USD) - head of household filer with the given data
+     * @param minIncomeHOH Min income (USD) to set
+     */
+    public void setMinIncomeHOH(int minIncomeHOH) {
+        this.minIncomeHOH = minIncomeHOH;
+    }
+
+    /**
+     * Returns a flag indicating if this StateBracketDetails instance is considered equal to the other one
+     * @param o Other StateBracketDetails instance
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        StateBracketDetails that = (StateBracketDetails) o;
+        return Double.compare(taxRate, that.taxRate) == 0 && minIncomeSingle == that.minIncomeSingle
+                && minIncomeMFJ == that.minIncomeMFJ && minIncomeMFS == that.minIncomeMFS
+                && minIncomeHOH == that.minIncomeHOH;
+    }
+
+    /**
+     * Computes the hash code for this state bracket details instance
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(taxRate, minIncomeSingle, minIncomeMFJ, minIncomeMFS, minIncomeHOH);
+    }
+}
@@ -0,0 +1,227 @@
+package com.jack.tax.models;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encapsulates the standard deductions, brackets and credit rules of a state jurisdiction.  Each instance
+ * represents a jurisdiction for a tax year, with its brackets and credit rules embedded.
+ */
+@Document(collection = "StateTaxTables")
+public class StateTaxTableDetails implements com.jack.tax.models.interfaces.StateTaxTableDetails {
+
+    /**
+     * Code of the jurisdiction
+     */
+    private String jurisdiction;
+
+    /**
+     * Name of the jurisdiction
+     */
+    private String name;
+
+    /**
+     * Applicable tax year
+     */
+    private int taxYear;
+
+    /**
+     * Standard deduction (USD) - single filer
+     */
+    private int standardDeductionSingle;
+
+    /**
+     * Standard deduction (USD) - married filing jointly (or surviving spouse) filer
+     */
+    private int standardDeductionMfj;
+
+    /**
+     * Standard deduction (USD) - married filing separately filer
+     */
+    private int standardDeductionMfs;
+
+    /**
+     * Standard deduction (USD) - head of household filer
+     */
+    private int standardDeductionHoh;
+
+    /**
+     * Brackets in ascending order of min income
+     */
+    private List<StateBracketDetails> bracketDetails = List.of();
+
+    /**
+     * Credit rules of the jurisdiction
+     */
+    private List<CreditRuleDetails> creditRuleDetails = List.of();
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "IL"
+     */
+    @Override
+    public String getJurisdiction() {
+        return jurisdiction;
+    }
+
+    /**
+     * Sets the code of the jurisdiction with the given data
+     * @param jurisdiction Code of the jurisdiction to set
+     */
+    public void setJurisdiction(String jurisdiction) {
+        this.jurisdiction = jurisdiction;
+    }
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Illinois"
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the jurisdiction with the given data
+     * @param name Name of the jurisdiction to set
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the applicable tax year
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the tax year field with the given data
+     * @param taxYear Tax year to set
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the standard deduction (USD) - single filer
+     */
+    @Override
+    public int getStandardDeductionSingle() {
+        return standardDeductionSingle;
+    }
+
+    /**
+     * Sets the standard deduction (USD) - single filer with the given data
+     * @param standardDeductionSingle Standard deduction (USD) to set
+     */
+    public void setStandardDeductionSingle(int standardDeductionSingle) {
+        this.standardDeductionSingle = standardDeductionSingle;
+    }
+
+    /**
+     * Returns the standard deduction (USD) - married filing jointly (or surviving spouse) filer
+     */
+    @Override
+    public int getStandardDeductionMfj() {
+        return standardDeductionMfj;
+    }
+
+    /**
+     * Sets the standard deduction (USD) - married filing jointly (or surviving spouse) filer with the given data
+     * @param standardDeductionMfj Standard deduction (USD) to set
+     */
+    public void setStandardDeductionMfj(int standardDeductionMfj) {
+        this.standardDeductionMfj = standardDeductionMfj;
+    }
+
+    /**
+     * Returns the standard deduction (USD) - married filing separately filer
+     */
+    @Override
+    public int getStandardDeductionMfs() {
+        return standardDeductionMfs;
+    }
+
+    /**
+     * Sets the standard deduction (USD) - married filing separately filer with the given data
+     * @param standardDeductionMfs Standard deduction (USD) to set
+     */
+    public void setStandardDeductionMfs(int standardDeductionMfs) {
+        this.standardDeductionMfs = standardDeductionMfs;
+    }
+
+    /**
+     * Returns the standard deduction (USD) - head of household filer
+     */
+    @Override
+    public int getStandardDeductionHoh() {
+        return standardDeductionHoh;
+    }
+
+    /**
+     * Sets the standard deduction (USD) - head of household filer with the given data
+     * @param standardDeductionHoh Standard deduction (USD) to set
+     */
+    public void setStandardDeductionHoh(int standardDeductionHoh) {
+        this.standardDeductionHoh = standardDeductionHoh;
+    }
+
+    /**
+     * Returns the brackets, in ascending order of min income
+     */
+    @Override
+    public List<StateBracketDetails> getBracketDetails() {
+        return bracketDetails;
+    }
+
+    /**
+     * Sets the brackets with the given data
+     * @param bracketDetails Brackets in ascending order of min income
+     */
+    public void setBracketDetails(List<StateBracketDetails> bracketDetails) {
+        this.bracketDetails = bracketDetails;
+    }
+
+    /**
+     * Returns the credit rules of the jurisdiction
+     */
+    @Override
+    public List<CreditRuleDetails> getCreditRuleDetails() {
+        return creditRuleDetails;
+    }
+
+    /**
+     * Sets the credit rules of the jurisdiction with the given data
+     * @param creditRuleDetails Credit rules to set
+     */
+    public void setCreditRuleDetails(List<CreditRuleDetails> creditRuleDetails) {
+        this.creditRuleDetails = creditRuleDetails;
+    }
+
+    /**
+     * Returns a flag indicating if this StateTaxTableDetails instance is considered equal to the other one
+     * @param o Other StateTaxTableDetails instance
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        StateTaxTableDetails that = (StateTaxTableDetails) o;
+        return taxYear == that.taxYear && standardDeductionSingle == that.standardDeductionSingle
+                && standardDeductionMfj == that.standardDeductionMfj && standardDeductionMfs == that.standardDeductionMfs
+                && standardDeductionHoh == that.standardDeductionHoh && Objects.equals(jurisdiction, that.jurisdiction)
+                && Objects.equals(name, that.name) && Objects.equals(bracketDetails, that.bracketDetails)
+                && Objects.equals(creditRuleDetails, that.creditRuleDetails);
+    }
+
+    /**
+     * Computes the hash code for this state tax table details instance
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(jurisdiction, name, taxYear, standardDeductionSingle, standardDeductionMfj,
+                standardDeductionMfs, standardDeductionHoh, bracketDetails, creditRuleDetails);
+    }
+}
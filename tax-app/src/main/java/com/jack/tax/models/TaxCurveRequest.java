@@ -0,0 +1,158 @@
+package com.jack.tax.models;
+
+import com.jack.tax.utils.AppConstants;
+import jakarta.validation.constraints.*;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contains the user-entered inputs needed to chart federal tax owed across a range of gross incomes.
+ */
+@NoArgsConstructor
+public class TaxCurveRequest implements com.jack.tax.models.interfaces.TaxCurveRequest {
+
+    @NotNull(message = "Filing status must have a value")
+    private FilingStatus selectedFilingStatus;
+
+    private int selectedTaxYear;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Deductions must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Deductions must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalDeductions;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Credits must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Credits must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    @Digits(integer = AppConstants.MAX_DIGITS_BEFORE_DECIMAL_POINT, fraction = AppConstants.MAX_PRECISION, message = "Must be a valid monetary amount")
+    private double totalCredits;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Min gross income must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Min gross income must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    private double minGrossIncome = 0.0;
+
+    @DecimalMin(value = AppConstants.MIN_USD_AMOUNT_AS_STR, message = "Max gross income must be at least " + AppConstants.MIN_USD_AMOUNT_AS_STR)
+    @DecimalMax(value = AppConstants.MAX_USD_AMOUNT_AS_STR, message = "Max gross income must be less than or equal to " + AppConstants.MAX_USD_AMOUNT_AS_STR)
+    private double maxGrossIncome = AppConstants.DEFAULT_MAX_CURVE_GROSS_INCOME;
+
+    @Min(value = 2, message = "Sample count must be at least 2")
+    @Max(value = AppConstants.MAX_CURVE_SAMPLE_COUNT, message = "Sample count must be less than or equal to " + AppConstants.MAX_CURVE_SAMPLE_COUNT)
+    private Integer sampleCount;
+
+    /**
+     * Returns the selected tax year
+     */
+    @Override
+    public int getSelectedTaxYear() {
+        return selectedTaxYear;
+    }
+
+    /**
+     * Sets the tax year
+     *
+     * @param selectedTaxYear User-entered tax year
+     */
+    public void setSelectedTaxYear(int selectedTaxYear) {
+        this.selectedTaxYear = selectedTaxYear;
+    }
+
+    /**
+     * Returns the selected filing status
+     */
+    @Override
+    public FilingStatus getSelectedFilingStatus() {
+        return selectedFilingStatus;
+    }
+
+    /**
+     * Sets the filing status
+     *
+     * @param selectedFilingStatus User-entered filing status
+     */
+    public void setSelectedFilingStatus(FilingStatus selectedFilingStatus) {
+        this.selectedFilingStatus = selectedFilingStatus;
+    }
+
+    /**
+     * Returns the total deductions (USD) the user has entered.
+     */
+    @Override
+    public double getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    /**
+     * Sets the total deductions (USD)
+     *
+     * @param totalDeductions User-entered total deductions (USD)
+     */
+    public void setTotalDeductions(double totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    @Override
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Sets the total credits (USD)
+     *
+     * @param totalCredits User-entered total credits (USD)
+     */
+    public void setTotalCredits(double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    /**
+     * Returns the gross income (USD) at which the curve starts.
+     */
+    @Override
+    public double getMinGrossIncome() {
+        return minGrossIncome;
+    }
+
+    /**
+     * Sets the gross income (USD) at which the curve starts.
+     *
+     * @param minGrossIncome Min gross income (USD)
+     */
+    public void setMinGrossIncome(double minGrossIncome) {
+        this.minGrossIncome = minGrossIncome;
+    }
+
+    /**
+     * Returns the gross income (USD) at which the curve ends.
+     */
+    @Override
+    public double getMaxGrossIncome() {
+        return maxGrossIncome;
+    }
+
+    /**
+     * Sets the gross income (USD) at which the curve ends.
+     *
+     * @param maxGrossIncome Max gross income (USD)
+     */
+    public void setMaxGrossIncome(double maxGrossIncome) {
+        this.maxGrossIncome = maxGrossIncome;
+    }
+
+    /**
+     * Returns the number of evenly spaced samples to return, or null if only the segments are wanted.
+     */
+    @Override
+    public Integer getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Sets the number of evenly spaced samples to return.
+     *
+     * @param sampleCount Number of samples, or null if only the segments are wanted
+     */
+    public void setSampleCount(Integer sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+}
@@ -0,0 +1,130 @@
+package com.jack.tax.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jack.tax.models.interfaces.TaxCurveSegment;
+
+import java.util.List;
+
+/**
+ * Contains federal tax owed across a range of gross incomes, as linear segments and (optionally) as
+ * evenly spaced samples held in parallel arrays.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaxCurveResponse implements com.jack.tax.models.interfaces.TaxCurveResponse {
+
+    private int taxYear;
+    private FilingStatus filingStatus;
+    private List<TaxCurveSegment> segments;
+    private double[] grossIncomes;
+    private double[] federalTaxOwed;
+    private double[] effectiveTaxRates;
+    private int[] marginalTaxRates;
+
+    /**
+     * Creates a fully initialized tax curve response.
+     */
+    public TaxCurveResponse() {
+        // No processing required
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    @Override
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Sets the tax year.
+     *
+     * @param taxYear Applicable tax year.
+     */
+    public void setTaxYear(int taxYear) {
+        this.taxYear = taxYear;
+    }
+
+    /**
+     * Returns the applicable filing status.
+     */
+    @Override
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Sets the filing status.
+     *
+     * @param filingStatus Applicable filing status.
+     */
+    public void setFilingStatus(FilingStatus filingStatus) {
+        this.filingStatus = filingStatus;
+    }
+
+    /**
+     * Returns the linear segments of the curve, in ascending gross income order.
+     */
+    @Override
+    public List<TaxCurveSegment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Sets the linear segments of the curve.
+     *
+     * @param segments Segments in ascending gross income order.
+     */
+    public void setSegments(List<TaxCurveSegment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Returns the gross income (USD) of each sample, or null if no samples were requested.
+     */
+    @Override
+    public double[] getGrossIncomes() {
+        return grossIncomes;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) of each sample, or null if no samples were requested.
+     */
+    @Override
+    public double[] getFederalTaxOwed() {
+        return federalTaxOwed;
+    }
+
+    /**
+     * Returns the effective tax rate (%) of each sample, or null if no samples were requested.
+     */
+    @Override
+    public double[] getEffectiveTaxRates() {
+        return effectiveTaxRates;
+    }
+
+    /**
+     * Returns the marginal tax rate (%) of each sample, or null if no samples were requested.
+     */
+    @Override
+    public int[] getMarginalTaxRates() {
+        return marginalTaxRates;
+    }
+
+    /**
+     * Sets the samples, each array holding one value per sample.
+     *
+     * @param grossIncomes      Gross income (USD) of each sample
+     * @param federalTaxOwed    Federal tax owed (USD) of each sample
+     * @param effectiveTaxRates Effective tax rate (%) of each sample
+     * @param marginalTaxRates  Marginal tax rate (%) of each sample
+     */
+    public void setSamples(double[] grossIncomes,
+                           double[] federalTaxOwed,
+                           double[] effectiveTaxRates,
+                           int[] marginalTaxRates) {
+        this.grossIncomes = grossIncomes;
+        this.federalTaxOwed = federalTaxOwed;
+        this.effectiveTaxRates = effectiveTaxRates;
+        this.marginalTaxRates = marginalTaxRates;
+    }
+}
@@ -0,0 +1,74 @@
+package com.jack.tax.models;
+
+/**
+ * One linear piece of a tax curve: federal tax owed grows by the marginal tax rate across the segment.
+ */
+public class TaxCurveSegment implements com.jack.tax.models.interfaces.TaxCurveSegment {
+
+    private final double startGrossIncome;
+    private final double endGrossIncome;
+    private final double startFederalTaxOwed;
+    private final double endFederalTaxOwed;
+    private final int marginalTaxRate;
+
+    /**
+     * Creates a fully initialized tax curve segment using the given data.
+     *
+     * @param startGrossIncome    Gross income (USD) at which the segment starts
+     * @param endGrossIncome      Gross income (USD) at which the segment ends
+     * @param startFederalTaxOwed Federal tax owed (USD) at the start of the segment
+     * @param endFederalTaxOwed   Federal tax owed (USD) at the end of the segment
+     * @param marginalTaxRate     Marginal tax rate (%) within the segment
+     */
+    public TaxCurveSegment(double startGrossIncome,
+                           double endGrossIncome,
+                           double startFederalTaxOwed,
+                           double endFederalTaxOwed,
+                           int marginalTaxRate) {
+        this.startGrossIncome = startGrossIncome;
+        this.endGrossIncome = endGrossIncome;
+        this.startFederalTaxOwed = startFederalTaxOwed;
+        this.endFederalTaxOwed = endFederalTaxOwed;
+        this.marginalTaxRate = marginalTaxRate;
+    }
+
+    /**
+     * Returns the gross income (USD) at which the segment starts.
+     */
+    @Override
+    public double getStartGrossIncome() {
+        return startGrossIncome;
+    }
+
+    /**
+     * Returns the gross income (USD) at which the segment ends.
+     */
+    @Override
+    public double getEndGrossIncome() {
+        return endGrossIncome;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) at the start of the segment.
+     */
+    @Override
+    public double getStartFederalTaxOwed() {
+        return startFederalTaxOwed;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) at the end of the segment.
+     */
+    @Override
+    public double getEndFederalTaxOwed() {
+        return endFederalTaxOwed;
+    }
+
+    /**
+     * Returns the marginal tax rate (%) within the segment.
+     */
+    @Override
+    public int getMarginalTaxRate() {
+        return marginalTaxRate;
+    }
+}
@@ -1,6 +1,8 @@
 package com.jack.tax.models;
 
 import com.jack.tax.models.interfaces.BracketDetails;
+import com.jack.tax.models.interfaces.CapitalGainsBracketDetails;
+import com.jack.tax.models.interfaces.CreditRuleDetails;
 import com.jack.tax.models.interfaces.StandardDeductionDetails;
 
 import java.util.List;
@@ -14,6 +16,9 @@ public class TaxYearDetails implements com.jack.tax.models.interfaces.TaxYearDet
     private int taxYear;
     private StandardDeductionDetails standardDeductionDetails;
     private List<BracketDetails> bracketDetails;
+    private List<CapitalGainsBracketDetails> capitalGainsBracketDetails = List.of();
+    private List<CreditRuleDetails> creditRuleDetails = List.of();
+    private boolean projected;
 
     /**
      * Creates a fully initialized tax year details instance.
@@ -76,6 +81,62 @@ public class TaxYearDetails implements com.jack.tax.models.interfaces.TaxYearDet
         this.bracketDetails = bracketDetails;
     }
 
+    /**
+     * Returns the capital gains bracket details for an applicable tax year, i.e. the preferential rates on
+     * qualified dividends and long-term capital gains.  Empty if the tax year has none.
+     */
+    @Override
+    public List<CapitalGainsBracketDetails> getCapitalGainsBracketDetails() {
+        return capitalGainsBracketDetails;
+    }
+
+    /**
+     * Sets the capital gains bracket details for an applicable tax year.
+     *
+     * @param capitalGainsBracketDetails Capital gains bracket details.
+     */
+    @Override
+    public void setCapitalGainsBracketDetails(List<CapitalGainsBracketDetails> capitalGainsBracketDetails) {
+        this.capitalGainsBracketDetails = capitalGainsBracketDetails;
+    }
+
+    /**
+     * Returns the credit rule details for an applicable tax year, i.e. the credits and phase-outs the engine
+     * works out itself.  Empty if the tax year has none.
+     */
+    @Override
+    public List<CreditRuleDetails> getCreditRuleDetails() {
+        return creditRuleDetails;
+    }
+
+    /**
+     * Sets the credit rule details for an applicable tax year.
+     *
+     * @param creditRuleDetails Credit rule details.
+     */
+    @Override
+    public void setCreditRuleDetails(List<CreditRuleDetails> creditRuleDetails) {
+        this.creditRuleDetails = creditRuleDetails;
+    }
+
+    /**
+     * Returns true if the tax year is projected from an earlier stored year by inflation, rather than stored.
+     */
+    @Override
+    public boolean isProjected() {
+        return projected;
+    }
+
+    /**
+     * Sets whether the tax year is projected from an earlier stored year by inflation.
+     *
+     * @param projected True for a projected tax year.
+     */
+    @Override
+    public void setProjected(boolean projected) {
+        this.projected = projected;
+    }
+
     /**
      * Determines if this TaxYearDetails instance is regarded as equal to the other instance
      * @param o Other TaxYearDetails instance
@@ -84,7 +145,7 @@ public class TaxYearDetails implements com.jack.tax.models.interfaces.TaxYearDet
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         TaxYearDetails that = (TaxYearDetails) o;
-        return taxYear == that.taxYear && Objects.equals(standardDeductionDetails, that.standardDeductionDetails) && Objects.equals(bracketDetails, that.bracketDetails);
+        return taxYear == that.taxYear && projected == that.projected && Objects.equals(standardDeductionDetails, that.standardDeductionDetails) && Objects.equals(bracketDetails, that.bracketDetails) && Objects.equals(capitalGainsBracketDetails, that.capitalGainsBracketDetails) && Objects.equals(creditRuleDetails, that.creditRuleDetails);
     }
 
     /**
@@ -92,6 +153,6 @@ public class TaxYearDetails implements com.jack.tax.models.interfaces.TaxYearDet
      */
     @Override
     public int hashCode() {
-        return Objects.hash(taxYear, standardDeductionDetails, bracketDetails);
+        return Objects.hash(taxYear, standardDeductionDetails, bracketDetails, capitalGainsBracketDetails, creditRuleDetails, projected);
     }
 }
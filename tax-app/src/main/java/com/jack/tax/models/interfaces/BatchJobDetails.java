@@ -0,0 +1,89 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.engine.BulkCalculator;
+import com.jack.tax.models.BatchJobStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete Batch Job Details class must contain.  A batch job calculates federal tax
+ * owed for every row of a large input in the background, and its details double as the checkpoint it resumes from.
+ */
+public interface BatchJobDetails {
+
+    /**
+     * Returns the identifier of the job
+     */
+    public String getId();
+
+    /**
+     * Returns the status of the job
+     */
+    public BatchJobStatus getStatus();
+
+    /**
+     * Returns the tax year every row is calculated for
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the format of the job's input file
+     */
+    public BulkCalculator.InputFormat getInputFormat();
+
+    /**
+     * Returns the name of the uploaded input file, null if the rows come from a collection
+     */
+    public String getFileName();
+
+    /**
+     * Returns the name of the Mongo collection the rows come from, null if they were uploaded
+     */
+    public String getCollection();
+
+    /**
+     * Returns true once the rows of the collection are copied to the job's input file
+     */
+    public boolean isInputStaged();
+
+    /**
+     * Returns the number of rows in the input, -1 until the input is split into chunks
+     */
+    public long getTotalRows();
+
+    /**
+     * Returns the number of chunks the input is split into
+     */
+    public int getChunkCount();
+
+    /**
+     * Returns the indexes of the chunks whose results are saved, i.e. the checkpoint a restarted job resumes from
+     */
+    public List<Integer> getCompletedChunks();
+
+    /**
+     * Returns the number of rows in the completed chunks
+     */
+    public long getCompletedRows();
+
+    /**
+     * Returns the time the job was submitted
+     */
+    public Instant getSubmittedAt();
+
+    /**
+     * Returns the time the job first started running, null until then
+     */
+    public Instant getStartedAt();
+
+    /**
+     * Returns the time the job completed or failed, null until then
+     */
+    public Instant getFinishedAt();
+
+    /**
+     * Returns the reason the job failed, null unless it did
+     */
+    public String getErrorMessage();
+}
@@ -0,0 +1,17 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior a concrete batch job request must contain.
+ */
+public interface BatchJobRequest {
+
+    /**
+     * Returns the tax year to calculate every row for.
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns the name of the Mongo collection whose documents are the rows to calculate.
+     */
+    public String getCollection();
+}
@@ -0,0 +1,76 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.BatchJobStatus;
+
+import java.time.Instant;
+
+/**
+ * Defines the behavior a concrete batch job response must contain.
+ */
+public interface BatchJobResponse {
+
+    /**
+     * Returns the identifier of the job.
+     */
+    public String getId();
+
+    /**
+     * Returns the status of the job.
+     */
+    public BatchJobStatus getStatus();
+
+    /**
+     * Returns the tax year every row is calculated for.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the name of the uploaded input file, null if the rows come from a collection.
+     */
+    public String getFileName();
+
+    /**
+     * Returns the name of the Mongo collection the rows come from, null if they were uploaded.
+     */
+    public String getCollection();
+
+    /**
+     * Returns the number of rows in the input, null until the job has split it into chunks.
+     */
+    public Long getTotalRows();
+
+    /**
+     * Returns the number of rows calculated so far.
+     */
+    public long getProcessedRows();
+
+    /**
+     * Returns the rows calculated per second since the job (re)started running, or over the whole run once it is over.
+     */
+    public double getRowsPerSecond();
+
+    /**
+     * Returns the estimated seconds until the job completes, null if it is not running or has no throughput yet.
+     */
+    public Long getEtaSeconds();
+
+    /**
+     * Returns the time the job was submitted.
+     */
+    public Instant getSubmittedAt();
+
+    /**
+     * Returns the time the job first started running, null until then.
+     */
+    public Instant getStartedAt();
+
+    /**
+     * Returns the time the job completed or failed, null until then.
+     */
+    public Instant getFinishedAt();
+
+    /**
+     * Returns the reason the job failed, null unless it did.
+     */
+    public String getErrorMessage();
+}
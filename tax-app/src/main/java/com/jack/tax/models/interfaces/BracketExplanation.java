@@ -0,0 +1,32 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete bracket explanation must contain.
+ */
+public interface BracketExplanation {
+
+    /**
+     * Returns the marginal tax rate (%) of the bracket.
+     */
+    public int getTaxRate();
+
+    /**
+     * Returns the min taxable income (USD) of the bracket.
+     */
+    public double getMinIncome();
+
+    /**
+     * Returns the max taxable income (USD) of the bracket.
+     */
+    public double getMaxIncome();
+
+    /**
+     * Returns the portion of the taxable income (USD) that falls in the bracket.
+     */
+    public double getApplicableIncome();
+
+    /**
+     * Returns the tax (USD) owed on the applicable income in the bracket.
+     */
+    public double getTax();
+}
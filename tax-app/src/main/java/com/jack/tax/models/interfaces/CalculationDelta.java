@@ -0,0 +1,40 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Defines the behavior that a concrete calculation delta must contain.  Every field is optional; only the
+ * fields that are present change.
+ */
+public interface CalculationDelta {
+
+    /**
+     * Returns the new gross income (USD), or null if unchanged.
+     */
+    public Double getGrossIncome();
+
+    /**
+     * Returns the new filing status, or null if unchanged.
+     */
+    public FilingStatus getSelectedFilingStatus();
+
+    /**
+     * Returns the new tax year, or null if unchanged.
+     */
+    public Integer getSelectedTaxYear();
+
+    /**
+     * Returns the new total deductions (USD), or null if unchanged.
+     */
+    public Double getTotalDeductions();
+
+    /**
+     * Returns the new total credits (USD), or null if unchanged.
+     */
+    public Double getTotalCredits();
+
+    /**
+     * Returns the new number of qualifying children, or null if unchanged.
+     */
+    public Integer getQualifyingChildren();
+}
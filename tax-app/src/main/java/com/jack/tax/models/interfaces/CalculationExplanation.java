@@ -0,0 +1,59 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.DeductionRegime;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete calculation explanation must contain.
+ */
+public interface CalculationExplanation {
+
+    /**
+     * Returns the gross income (USD) the calculation was made for.
+     */
+    public double getGrossIncome();
+
+    /**
+     * Returns the standard deduction (USD) for the tax year and filing status.
+     */
+    public double getStandardDeduction();
+
+    /**
+     * Returns the total itemized deductions (USD) the user has entered.
+     */
+    public double getTotalDeductions();
+
+    /**
+     * Returns the deduction regime that won, i.e. the one resulting in the lower taxable income.
+     */
+    public DeductionRegime getDeductionRegime();
+
+    /**
+     * Returns the taxable income (USD).
+     */
+    public double getTaxableIncome();
+
+    /**
+     * Returns how the ordinary taxable income is split across the tax brackets it reaches, in ascending bracket
+     * order.  Qualified dividends and long-term capital gains are taxed separately, at the preferential rates.
+     */
+    public List<BracketExplanation> getBrackets();
+
+    /**
+     * Returns the tax (USD) on qualified dividends and long-term capital gains, stacked on top of the ordinary
+     * income in the brackets.
+     */
+    public double getCapitalGainsTax();
+
+    /**
+     * Returns the income tax (USD) owed before credits, i.e. the sum of the tax owed in each bracket and the
+     * capital gains tax.
+     */
+    public double getIncomeTaxBeforeCredits();
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    public double getTotalCredits();
+}
@@ -0,0 +1,17 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete calculation session response must contain.
+ */
+public interface CalculationSessionResponse {
+
+    /**
+     * Returns the identifier of the session, to send along with later changes.
+     */
+    public String getSessionId();
+
+    /**
+     * Returns the tax calculation for the session's current inputs.
+     */
+    public OutputModel getOutputModel();
+}
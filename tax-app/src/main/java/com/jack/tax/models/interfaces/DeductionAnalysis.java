@@ -0,0 +1,58 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete deduction analysis must contain.
+ */
+public interface DeductionAnalysis {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the applicable filing status.
+     */
+    public FilingStatus getFilingStatus();
+
+    /**
+     * Returns the itemized deductions (USD) beyond which itemizing pays off, i.e. the standard deduction.
+     */
+    public double getBreakevenItemizedDeductions();
+
+    /**
+     * Returns true if the entered itemized deductions beat the standard deduction.
+     */
+    public boolean isItemizing();
+
+    /**
+     * Returns the federal tax owed (USD) with the entered itemized deductions.
+     */
+    public double getFederalTaxOwed();
+
+    /**
+     * Returns the federal tax (USD) saved by the entered itemized deductions compared to taking the
+     * standard deduction.
+     */
+    public double getTaxSavedByItemizing();
+
+    /**
+     * Returns the tax saved (%) on the next dollar of itemized deductions beyond those entered.
+     */
+    public int getMarginalTaxSavingsRate();
+
+    /**
+     * Returns the itemized deductions (USD) up to which the marginal tax savings rate holds.
+     */
+    public double getMarginalTaxSavingsRateEndDeductions();
+
+    /**
+     * Returns federal tax owed as a function of itemized deductions, as linear segments in ascending order
+     * from no deductions to deductions that leave nothing to tax.  Consecutive segments share their breakpoints.
+     */
+    public List<DeductionSensitivitySegment> getSegments();
+}
@@ -0,0 +1,37 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete deduction sensitivity segment must contain.
+ */
+public interface DeductionSensitivitySegment {
+
+    /**
+     * Returns the itemized deductions (USD) at which the segment starts.
+     */
+    public double getStartDeductions();
+
+    /**
+     * Returns the itemized deductions (USD) at which the segment ends.
+     */
+    public double getEndDeductions();
+
+    /**
+     * Returns the federal tax owed (USD) at the start of the segment.
+     */
+    public double getStartFederalTaxOwed();
+
+    /**
+     * Returns the federal tax owed (USD) at the end of the segment.
+     */
+    public double getEndFederalTaxOwed();
+
+    /**
+     * Returns the tax saved (%) on each extra dollar of itemized deductions within the segment.
+     */
+    public int getMarginalTaxSavingsRate();
+
+    /**
+     * Returns true if the segment lies in the itemized regime, i.e. itemizing beats the standard deduction.
+     */
+    public boolean isItemized();
+}
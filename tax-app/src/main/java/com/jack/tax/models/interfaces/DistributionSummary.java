@@ -0,0 +1,44 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.Map;
+
+/**
+ * Defines the behavior that a concrete distribution summary must contain.
+ */
+public interface DistributionSummary {
+
+    /**
+     * Returns the mean of the sampled values.
+     */
+    public double getMean();
+
+    /**
+     * Returns the standard deviation of the sampled values.
+     */
+    public double getStandardDeviation();
+
+    /**
+     * Returns the smallest sampled value.
+     */
+    public double getMin();
+
+    /**
+     * Returns the largest sampled value.
+     */
+    public double getMax();
+
+    /**
+     * Returns the percentiles of the sampled values keyed by name (e.g. "p50" for the median), in ascending order.
+     */
+    public Map<String, Double> getPercentiles();
+
+    /**
+     * Returns the width of each histogram bin; the first bin starts at the smallest sampled value.
+     */
+    public double getHistogramBinWidth();
+
+    /**
+     * Returns the number of sampled values in each histogram bin, in ascending order.
+     */
+    public long[] getHistogramCounts();
+}
@@ -0,0 +1,32 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete employee withholding must contain.
+ */
+public interface EmployeeWithholding {
+
+    /**
+     * Returns the employee identifier.
+     */
+    public String getEmployeeId();
+
+    /**
+     * Returns the gross pay (USD) for the current pay period.
+     */
+    public double getGrossPay();
+
+    /**
+     * Returns the wages (USD) paid so far this year, including the current pay period, annualized.
+     */
+    public double getAnnualizedWages();
+
+    /**
+     * Returns the federal tax owed (USD) on the annualized wages.
+     */
+    public double getAnnualFederalTaxOwed();
+
+    /**
+     * Returns the federal income tax (USD) to withhold for the current pay period.
+     */
+    public double getWithholding();
+}
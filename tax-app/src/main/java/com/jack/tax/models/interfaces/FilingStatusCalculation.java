@@ -0,0 +1,19 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Defines the behavior that a concrete filing status calculation must contain.
+ */
+public interface FilingStatusCalculation {
+
+    /**
+     * Returns the filing status the calculation was made for.
+     */
+    public FilingStatus getFilingStatus();
+
+    /**
+     * Returns the tax calculation output for the filing status.
+     */
+    public OutputModel getOutputModel();
+}
@@ -0,0 +1,31 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete filing status comparison must contain.
+ */
+public interface FilingStatusComparison {
+
+    /**
+     * Returns the tax calculations, one per filing status.
+     */
+    public List<FilingStatusCalculation> getCalculations();
+
+    /**
+     * Sets the tax calculations, one per filing status.
+     * @param calculations Tax calculations.
+     */
+    public void setCalculations(List<FilingStatusCalculation> calculations);
+
+    /**
+     * Returns the calculation for the eligible filing status with the least federal tax owed.
+     */
+    public FilingStatusCalculation getBestCalculation();
+
+    /**
+     * Sets the calculation for the eligible filing status with the least federal tax owed.
+     * @param bestCalculation Calculation with the least federal tax owed.
+     */
+    public void setBestCalculation(FilingStatusCalculation bestCalculation);
+}
@@ -0,0 +1,30 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete grid dimension must contain.
+ */
+public interface GridDimension {
+
+    /**
+     * Returns the values of the dimension, or null if the dimension is a range.
+     */
+    public List<Double> getValues();
+
+    /**
+     * Returns the first value of the range, or null if the dimension is a list of values.
+     */
+    public Double getStart();
+
+    /**
+     * Returns the last value of the range (included if the steps land on it), or null if the dimension is a list of
+     * values.
+     */
+    public Double getEnd();
+
+    /**
+     * Returns the step between consecutive values of the range, or null if the dimension is a list of values.
+     */
+    public Double getStep();
+}
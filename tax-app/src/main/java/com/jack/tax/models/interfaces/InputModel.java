@@ -19,6 +19,18 @@ public interface InputModel {
      */
     public void setGrossIncome(double grossIncome);
 
+    /**
+     * Returns the part of the gross income (USD) that is qualified dividends and long-term capital gains.
+     */
+    public double getPreferentialIncome();
+
+    /**
+     * Sets the part of the gross income (USD) that is qualified dividends and long-term capital gains.
+     *
+     * @param preferentialIncome User-entered qualified dividends and long-term capital gains (USD)
+     */
+    public void setPreferentialIncome(double preferentialIncome);
+
     /**
      * Returns the selected filing status
      */
@@ -66,4 +78,16 @@ public interface InputModel {
      * @param totalCredits User-entered total credits (USD)
      */
     public void setTotalCredits(double totalCredits);
+
+    /**
+     * Returns the number of qualifying children the credit rules of the tax year consider.
+     */
+    public int getQualifyingChildren();
+
+    /**
+     * Sets the number of qualifying children
+     *
+     * @param qualifyingChildren User-entered number of qualifying children
+     */
+    public void setQualifyingChildren(int qualifyingChildren);
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.InverseCalculationTarget;
+
+/**
+ * Defines the behavior that a concrete inverse calculation request must contain.
+ */
+public interface InverseCalculationRequest {
+
+    /**
+     * Returns the selected tax year
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns the selected filing status
+     */
+    public FilingStatus getSelectedFilingStatus();
+
+    /**
+     * Returns the total deductions (USD) the user has entered.
+     */
+    public double getTotalDeductions();
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    public double getTotalCredits();
+
+    /**
+     * Returns the number of qualifying children the user has entered.
+     */
+    public int getQualifyingChildren();
+
+    /**
+     * Returns the output to solve gross income for.
+     */
+    public InverseCalculationTarget getTarget();
+
+    /**
+     * Returns the value the target output must reach, in USD for take home pay and federal tax owed,
+     * or in % for the effective tax rate.
+     */
+    public double getTargetValue();
+}
@@ -0,0 +1,29 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.InverseCalculationTarget;
+
+/**
+ * Defines the behavior that a concrete inverse calculation response must contain.
+ */
+public interface InverseCalculationResponse {
+
+    /**
+     * Returns the output gross income was solved for.
+     */
+    public InverseCalculationTarget getTarget();
+
+    /**
+     * Returns the value the target output had to reach.
+     */
+    public double getTargetValue();
+
+    /**
+     * Returns the lowest gross income (USD, in whole cents) at which the target output reaches the target value.
+     */
+    public double getGrossIncome();
+
+    /**
+     * Returns the tax calculation for the solved gross income.
+     */
+    public OutputModel getCalculation();
+}
@@ -0,0 +1,60 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete jurisdiction calculation must contain, i.e. the income tax one jurisdiction
+ * (federal or state) levies for a calculation and how long working it out took.
+ */
+public interface JurisdictionCalculation {
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "US" or "IL".
+     */
+    public String getJurisdiction();
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Federal" or "Illinois".
+     */
+    public String getName();
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns true if the jurisdiction's tables for the tax year are projected by inflation rather than published.
+     */
+    public boolean isProjected();
+
+    /**
+     * Returns the income tax (USD) owed to the jurisdiction after deductions/credits.
+     */
+    public double getTaxOwed();
+
+    /**
+     * Returns the jurisdiction's marginal tax rate (%), i.e. the tax rate tied to the last dollar of income.
+     */
+    public double getMarginalTaxRate();
+
+    /**
+     * Returns the jurisdiction's effective tax rate (%), i.e. (tax owed divided by gross income) * 100.0.
+     */
+    public double getEffectiveTaxRate();
+
+    /**
+     * Returns the credits (USD) the jurisdiction's credit rules granted.
+     */
+    public double getCalculatedCredits();
+
+    /**
+     * Returns the time (nanoseconds) the jurisdiction took to calculate.
+     */
+    public long getCalculationNanos();
+
+    /**
+     * Sets the time (nanoseconds) the jurisdiction took to calculate.
+     *
+     * @param calculationNanos Calculation time (nanoseconds)
+     */
+    public void setCalculationNanos(long calculationNanos);
+}
@@ -0,0 +1,24 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Defines the behavior a concrete jurisdiction response must contain.
+ */
+public interface JurisdictionResponse {
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "US" or "IL".
+     */
+    public String getCode();
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Federal" or "Illinois".
+     */
+    public String getName();
+
+    /**
+     * Returns the tax years the jurisdiction supports, in descending order.
+     */
+    public List<Integer> getTaxYears();
+}
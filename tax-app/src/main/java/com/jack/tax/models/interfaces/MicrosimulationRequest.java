@@ -0,0 +1,24 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.PopulationGrouping;
+
+/**
+ * Defines the behavior that a concrete microsimulation request must contain.
+ */
+public interface MicrosimulationRequest {
+
+    /**
+     * Returns the selected tax year.
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns the name of the population file, relative to the configured population directory.
+     */
+    public String getPopulationFile();
+
+    /**
+     * Returns how the households are grouped for the aggregates.
+     */
+    public PopulationGrouping getGrouping();
+}
@@ -0,0 +1,31 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.PopulationGrouping;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete microsimulation response must contain.
+ */
+public interface MicrosimulationResponse {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns how the households are grouped.
+     */
+    public PopulationGrouping getGrouping();
+
+    /**
+     * Returns the aggregates over the whole population.
+     */
+    public PopulationGroupSummary getTotal();
+
+    /**
+     * Returns the aggregates of each group, in ascending order.
+     */
+    public List<PopulationGroupSummary> getGroups();
+}
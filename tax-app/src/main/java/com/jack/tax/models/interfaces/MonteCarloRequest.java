@@ -0,0 +1,76 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.IncomeDistribution;
+
+/**
+ * Defines the behavior that a concrete Monte Carlo request must contain.
+ */
+public interface MonteCarloRequest {
+
+    /**
+     * Returns the selected tax year.
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns the selected filing status.
+     */
+    public FilingStatus getSelectedFilingStatus();
+
+    /**
+     * Returns the total deductions (USD) the user has entered.
+     */
+    public double getTotalDeductions();
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    public double getTotalCredits();
+
+    /**
+     * Returns the number of qualifying children the user has entered.
+     */
+    public int getQualifyingChildren();
+
+    /**
+     * Returns how the base salary is distributed around its expected value.
+     */
+    public IncomeDistribution getSalaryDistribution();
+
+    /**
+     * Returns the expected base salary (USD).
+     */
+    public double getExpectedSalary();
+
+    /**
+     * Returns the standard deviation (USD) of the base salary.
+     */
+    public double getSalaryStandardDeviation();
+
+    /**
+     * Returns the expected bonus (USD).
+     */
+    public double getExpectedBonus();
+
+    /**
+     * Returns the standard deviation (USD) of the bonus.
+     */
+    public double getBonusStandardDeviation();
+
+    /**
+     * Returns the number of random incomes to simulate.
+     */
+    public int getSampleCount();
+
+    /**
+     * Returns the number of equally wide histogram bins per distribution.
+     */
+    public int getHistogramBinCount();
+
+    /**
+     * Returns the seed for the random number generators, or null for a random seed, so a simulation can be repeated
+     * exactly.
+     */
+    public Long getSeed();
+}
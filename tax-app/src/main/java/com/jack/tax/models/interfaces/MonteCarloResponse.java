@@ -0,0 +1,44 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Defines the behavior that a concrete Monte Carlo response must contain.
+ */
+public interface MonteCarloResponse {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the applicable filing status.
+     */
+    public FilingStatus getFilingStatus();
+
+    /**
+     * Returns the number of simulated incomes.
+     */
+    public int getSampleCount();
+
+    /**
+     * Returns the seed the simulation used, so it can be repeated exactly.
+     */
+    public long getSeed();
+
+    /**
+     * Returns the distribution of the simulated gross incomes (USD).
+     */
+    public DistributionSummary getGrossIncome();
+
+    /**
+     * Returns the distribution of federal tax owed (USD).
+     */
+    public DistributionSummary getFederalTaxOwed();
+
+    /**
+     * Returns the distribution of take home pay (USD).
+     */
+    public DistributionSummary getTakeHomePay();
+}
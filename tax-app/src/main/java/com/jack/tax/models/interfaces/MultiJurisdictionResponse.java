@@ -0,0 +1,45 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete multi-jurisdiction response must contain, i.e. the federal and state income
+ * taxes of one calculation, combined.
+ */
+public interface MultiJurisdictionResponse {
+
+    /**
+     * Returns the federal adjusted gross income (USD) every jurisdiction started from.
+     */
+    public double getFederalAdjustedGrossIncome();
+
+    /**
+     * Returns the calculation of each jurisdiction, federal first and then the states in request order.
+     */
+    public List<JurisdictionCalculation> getCalculations();
+
+    /**
+     * Returns the income tax (USD) owed to all the jurisdictions combined.
+     */
+    public double getTotalTaxOwed();
+
+    /**
+     * Returns the combined marginal tax rate (%), i.e. the sum of the jurisdictions' marginal tax rates.
+     */
+    public double getMarginalTaxRate();
+
+    /**
+     * Returns the combined effective tax rate (%), i.e. (total tax owed divided by gross income) * 100.0.
+     */
+    public double getEffectiveTaxRate();
+
+    /**
+     * Returns the take home pay (USD) after the income tax of every jurisdiction.
+     */
+    public double getTakeHomePay();
+
+    /**
+     * Returns the time (nanoseconds) all the jurisdictions took to calculate, side by side.
+     */
+    public long getCalculationNanos();
+}
@@ -0,0 +1,212 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete output model must contain.
+ */
+public interface OutputModel {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Sets the tax year.
+     * @param taxYear Applicable tax year.
+     */
+    public void setTaxYear(int taxYear);
+
+    /**
+     * Returns true if the tax year's tables are projected by inflation rather than published, i.e. the
+     * calculation is an estimate.
+     */
+    public boolean isProjected();
+
+    /**
+     * Sets whether the tax year's tables are projected by inflation.
+     * @param projected True for a projected tax year.
+     */
+    public void setProjected(boolean projected);
+
+    /**
+     * Returns the amount of federal tax owed after deductions/credits (USD).
+     */
+    public double getFederalTaxOwed();
+
+    /**
+     * Sets the amount of federal tax owed after deductions/credits (USD).
+     * @param federalTaxOwed Federal tax owed (USD).
+     */
+    public void setFederalTaxOwed(double federalTaxOwed);
+
+    /**
+     * Returns the marginal tax rate (%).  In other words, the tax rate tied to the last dollar of income.
+     */
+    public int getMarginalTaxRate();
+
+    /**
+     * Sets the marginal tax rate (%).
+     * @param marginalTaxRate The tax rate (%) tied to the last dollar of income.
+     */
+    public void setMarginalTaxRate(int marginalTaxRate);
+
+    /**
+     * Returns the effective tax rate (%).  In other words, the
+     * (federal income tax owed divided by gross income) * 100.0.
+     */
+    public double getEffectiveTaxRate();
+
+    /**
+     * Sets the effective tax rate (%).
+     * @param effectiveTaxRate Effective tax rate (%).
+     */
+    public void setEffectiveTaxRate(double effectiveTaxRate);
+
+    /**
+     * Returns the take home pay amount (USD).  Computed as gross income minus
+     * federal tax owed.
+     */
+    public double getTakeHomePay();
+
+    /**
+     * Sets the take home pay amount (USD).
+     * @param takeHomePay Take home pay (USD).
+     */
+    public void setTakeHomePay(double takeHomePay);
+
+    /**
+     * Returns the employee's Social Security tax (USD) on the gross income, treated as wages, up to the wage base.
+     */
+    public double getSocialSecurityTax();
+
+    /**
+     * Sets the employee's Social Security tax (USD).
+     * @param socialSecurityTax Social Security tax (USD).
+     */
+    public void setSocialSecurityTax(double socialSecurityTax);
+
+    /**
+     * Returns the employee's Medicare tax (USD) on the gross income, treated as wages.
+     */
+    public double getMedicareTax();
+
+    /**
+     * Sets the employee's Medicare tax (USD).
+     * @param medicareTax Medicare tax (USD).
+     */
+    public void setMedicareTax(double medicareTax);
+
+    /**
+     * Returns the Additional Medicare tax (USD) on the gross income above the filing status threshold.
+     */
+    public double getAdditionalMedicareTax();
+
+    /**
+     * Sets the Additional Medicare tax (USD).
+     * @param additionalMedicareTax Additional Medicare tax (USD).
+     */
+    public void setAdditionalMedicareTax(double additionalMedicareTax);
+
+    /**
+     * Returns the total payroll (FICA) tax (USD), i.e. Social Security, Medicare and Additional Medicare tax.
+     */
+    public double getPayrollTaxOwed();
+
+    /**
+     * Sets the total payroll (FICA) tax (USD).
+     * @param payrollTaxOwed Payroll tax owed (USD).
+     */
+    public void setPayrollTaxOwed(double payrollTaxOwed);
+
+    /**
+     * Returns the tax (USD) on qualified dividends and long-term capital gains at the preferential rates, which
+     * is included in the federal tax owed.
+     */
+    public double getCapitalGainsTax();
+
+    /**
+     * Sets the tax (USD) on qualified dividends and long-term capital gains at the preferential rates.
+     * @param capitalGainsTax Capital gains tax (USD).
+     */
+    public void setCapitalGainsTax(double capitalGainsTax);
+
+    /**
+     * Returns the preferential tax rate (%) tied to the last dollar of qualified dividends and long-term capital
+     * gains.  Zero if there are none.
+     */
+    public int getCapitalGainsTaxRate();
+
+    /**
+     * Sets the preferential tax rate (%) tied to the last dollar of qualified dividends and long-term capital gains.
+     * @param capitalGainsTaxRate Capital gains tax rate (%).
+     */
+    public void setCapitalGainsTaxRate(int capitalGainsTaxRate);
+
+    /**
+     * Returns the credits (USD) the credit rules of the tax year granted, which are applied on top of the credits
+     * entered.
+     */
+    public double getCalculatedCredits();
+
+    /**
+     * Sets the credits (USD) the credit rules of the tax year granted.
+     * @param calculatedCredits Calculated credits (USD).
+     */
+    public void setCalculatedCredits(double calculatedCredits);
+
+    /**
+     * Returns the additional gross income (USD) at which the marginal tax rate changes, or null if not requested
+     * or already in the top bracket.
+     */
+    public Double getDistanceToNextThreshold();
+
+    /**
+     * Sets the additional gross income (USD) at which the marginal tax rate changes.
+     * @param distanceToNextThreshold Distance to the next threshold (USD).
+     */
+    public void setDistanceToNextThreshold(Double distanceToNextThreshold);
+
+    /**
+     * Returns the gross income (USD) that can be lost before the marginal tax rate changes, or null if not requested.
+     */
+    public Double getDistanceToPreviousThreshold();
+
+    /**
+     * Sets the gross income (USD) that can be lost before the marginal tax rate changes.
+     * @param distanceToPreviousThreshold Distance to the previous threshold (USD).
+     */
+    public void setDistanceToPreviousThreshold(Double distanceToPreviousThreshold);
+
+    /**
+     * Returns the federal tax owed (USD) on the next increment of gross income, or null if not requested.
+     */
+    public Double getTaxOnNextIncrement();
+
+    /**
+     * Sets the federal tax owed (USD) on the next increment of gross income.
+     * @param taxOnNextIncrement Tax on the next increment (USD).
+     */
+    public void setTaxOnNextIncrement(Double taxOnNextIncrement);
+
+    /**
+     * Returns the take home pay (USD) from the next increment of gross income, or null if not requested.
+     */
+    public Double getTakeHomePayOnNextIncrement();
+
+    /**
+     * Sets the take home pay (USD) from the next increment of gross income.
+     * @param takeHomePayOnNextIncrement Take home pay from the next increment (USD).
+     */
+    public void setTakeHomePayOnNextIncrement(Double takeHomePayOnNextIncrement);
+
+    /**
+     * Returns the explanation of how the calculation was reached, or null if not requested.
+     */
+    public CalculationExplanation getExplanation();
+
+    /**
+     * Sets the explanation of how the calculation was reached.
+     * @param explanation Calculation explanation.
+     */
+    public void setExplanation(CalculationExplanation explanation);
+}
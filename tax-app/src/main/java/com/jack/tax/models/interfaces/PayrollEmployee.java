@@ -0,0 +1,49 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Defines the behavior that a concrete payroll employee must contain.
+ */
+public interface PayrollEmployee {
+
+    /**
+     * Returns the employee identifier, echoed back with the withholding.
+     */
+    public String getEmployeeId();
+
+    /**
+     * Returns the filing status the employee claims.
+     */
+    public FilingStatus getFilingStatus();
+
+    /**
+     * Returns the one-based number of the current pay period within the tax year.
+     */
+    public int getPayPeriod();
+
+    /**
+     * Returns the gross pay (USD) for the current pay period.
+     */
+    public double getGrossPay();
+
+    /**
+     * Returns the gross pay (USD) before the current pay period this year.
+     */
+    public double getYtdGrossPay();
+
+    /**
+     * Returns the federal income tax (USD) withheld before the current pay period this year.
+     */
+    public double getYtdWithholding();
+
+    /**
+     * Returns the expected annual itemized deductions (USD).
+     */
+    public double getTotalDeductions();
+
+    /**
+     * Returns the expected annual credits (USD).
+     */
+    public double getTotalCredits();
+}
@@ -0,0 +1,25 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.PayFrequency;
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete payroll run request must contain.
+ */
+public interface PayrollRunRequest {
+
+    /**
+     * Returns the tax year of the pay date.
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns how often the employees are paid.
+     */
+    public PayFrequency getPayFrequency();
+
+    /**
+     * Returns the employees to calculate the withholding of.
+     */
+    public List<? extends PayrollEmployee> getEmployees();
+}
@@ -0,0 +1,45 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.PayFrequency;
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete payroll run response must contain.
+ */
+public interface PayrollRunResponse {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns true if the tax year's tables are projected by inflation rather than published.
+     */
+    public boolean isProjected();
+
+    /**
+     * Returns how often the employees are paid.
+     */
+    public PayFrequency getPayFrequency();
+
+    /**
+     * Returns the number of employees.
+     */
+    public int getEmployeeCount();
+
+    /**
+     * Returns the total gross pay (USD) for the current pay period.
+     */
+    public double getTotalGrossPay();
+
+    /**
+     * Returns the total federal income tax (USD) to withhold for the current pay period.
+     */
+    public double getTotalWithholding();
+
+    /**
+     * Returns the withholding of each employee, in request order.
+     */
+    public List<? extends EmployeeWithholding> getWithholdings();
+}
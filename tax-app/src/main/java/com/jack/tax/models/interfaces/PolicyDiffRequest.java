@@ -0,0 +1,29 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete policy diff request must contain.
+ */
+public interface PolicyDiffRequest {
+
+    /**
+     * Returns the tax year whose current law tables the draft is compared against.
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns the name of the population file, relative to the configured population directory.
+     */
+    public String getPopulationFile();
+
+    /**
+     * Returns the draft standard deductions.
+     */
+    public StandardDeductionDetails getDraftStandardDeductionDetails();
+
+    /**
+     * Returns the draft tax brackets.
+     */
+    public List<? extends BracketDetails> getDraftBracketDetails();
+}
@@ -0,0 +1,62 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete policy diff response must contain.
+ */
+public interface PolicyDiffResponse {
+
+    /**
+     * Returns the current law tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the number of population records.
+     */
+    public long getRecordCount();
+
+    /**
+     * Returns the number of households, i.e. the sum of the record weights.
+     */
+    public double getHouseholdCount();
+
+    /**
+     * Returns the total federal tax owed (USD) under current law.
+     */
+    public double getCurrentRevenue();
+
+    /**
+     * Returns the total federal tax owed (USD) under the draft table.
+     */
+    public double getDraftRevenue();
+
+    /**
+     * Returns the change in total federal tax owed (USD) from current law to the draft table.
+     */
+    public double getRevenueChange();
+
+    /**
+     * Returns the number of households that owe less under the draft table.
+     */
+    public double getWinnerCount();
+
+    /**
+     * Returns the average change in federal tax owed (USD, negative) for the households that owe less.
+     */
+    public double getAverageWinnerTaxChange();
+
+    /**
+     * Returns the number of households that owe more under the draft table.
+     */
+    public double getLoserCount();
+
+    /**
+     * Returns the average change in federal tax owed (USD, positive) for the households that owe more.
+     */
+    public double getAverageLoserTaxChange();
+
+    /**
+     * Returns the number of households whose federal tax owed does not change.
+     */
+    public double getUnchangedCount();
+}
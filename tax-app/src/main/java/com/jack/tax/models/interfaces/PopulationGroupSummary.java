@@ -0,0 +1,52 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete population group summary must contain.
+ */
+public interface PopulationGroupSummary {
+
+    /**
+     * Returns the label of the group, e.g. "Decile 1", "SINGLE" or "22%".
+     */
+    public String getLabel();
+
+    /**
+     * Returns the number of population records in the group.
+     */
+    public long getRecordCount();
+
+    /**
+     * Returns the number of households in the group, i.e. the sum of the record weights.
+     */
+    public double getHouseholdCount();
+
+    /**
+     * Returns the smallest gross income (USD) in the group.
+     */
+    public double getMinGrossIncome();
+
+    /**
+     * Returns the largest gross income (USD) in the group.
+     */
+    public double getMaxGrossIncome();
+
+    /**
+     * Returns the total gross income (USD) of the households in the group.
+     */
+    public double getTotalGrossIncome();
+
+    /**
+     * Returns the total federal tax owed (USD) by the households in the group, i.e. the revenue.
+     */
+    public double getTotalFederalTaxOwed();
+
+    /**
+     * Returns the average federal tax owed (USD) per household in the group.
+     */
+    public double getAverageFederalTaxOwed();
+
+    /**
+     * Returns the average of the households' effective tax rates (%) in the group.
+     */
+    public double getAverageEffectiveTaxRate();
+}
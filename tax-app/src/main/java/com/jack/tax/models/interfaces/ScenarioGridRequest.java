@@ -0,0 +1,41 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete scenario grid request must contain.
+ */
+public interface ScenarioGridRequest {
+
+    /**
+     * Returns the tax years to evaluate.
+     */
+    public List<Integer> getTaxYears();
+
+    /**
+     * Returns the filing statuses to evaluate.
+     */
+    public List<FilingStatus> getFilingStatuses();
+
+    /**
+     * Returns the total itemized deductions (USD) to evaluate, or null for none.
+     */
+    public GridDimension getTotalDeductions();
+
+    /**
+     * Returns the total credits (USD) to evaluate, or null for none.
+     */
+    public GridDimension getTotalCredits();
+
+    /**
+     * Returns the gross incomes (USD) to evaluate.
+     */
+    public GridDimension getGrossIncomes();
+
+    /**
+     * Returns the number of qualifying children the credit rules are evaluated for.
+     */
+    public int getQualifyingChildren();
+}
@@ -0,0 +1,33 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete State Bracket Details class must contain.  A state bracket starts at a min
+ * taxable income for each type of filer and runs up to where the next bracket starts.
+ */
+public interface StateBracketDetails {
+
+    /**
+     * Returns the marginal tax rate (%) for the bracket, which need not be a whole percentage
+     */
+    public double getTaxRate();
+
+    /**
+     * Returns the min income (USD) - single filer
+     */
+    public int getMinIncomeSingle();
+
+    /**
+     * Returns the min income (USD) - married filing jointly (or surviving spouse) filer
+     */
+    public int getMinIncomeMFJ();
+
+    /**
+     * Returns the min income (USD) - married filing separately filer
+     */
+    public int getMinIncomeMFS();
+
+    /**
+     * Returns the min income (USD) - head of household filer
+     */
+    public int getMinIncomeHOH();
+}
@@ -0,0 +1,56 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete State Tax Table Details class must contain.  A state tax table holds
+ * everything a state jurisdiction needs to calculate its income tax for one tax year.
+ */
+public interface StateTaxTableDetails {
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "IL"
+     */
+    public String getJurisdiction();
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Illinois"
+     */
+    public String getName();
+
+    /**
+     * Returns the applicable tax year
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the standard deduction (USD), including any personal exemption - single filer
+     */
+    public int getStandardDeductionSingle();
+
+    /**
+     * Returns the standard deduction (USD), including any personal exemption - married filing jointly (or
+     * surviving spouse) filer
+     */
+    public int getStandardDeductionMfj();
+
+    /**
+     * Returns the standard deduction (USD), including any personal exemption - married filing separately filer
+     */
+    public int getStandardDeductionMfs();
+
+    /**
+     * Returns the standard deduction (USD), including any personal exemption - head of household filer
+     */
+    public int getStandardDeductionHoh();
+
+    /**
+     * Returns the brackets, in ascending order of min income, the first one starting at zero
+     */
+    public List<? extends StateBracketDetails> getBracketDetails();
+
+    /**
+     * Returns the credits and phase-outs of the jurisdiction as credit rules.  Empty if it has none.
+     */
+    public List<? extends CreditRuleDetails> getCreditRuleDetails();
+}
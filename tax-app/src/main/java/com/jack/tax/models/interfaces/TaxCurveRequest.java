@@ -0,0 +1,44 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Defines the behavior that a concrete tax curve request must contain.
+ */
+public interface TaxCurveRequest {
+
+    /**
+     * Returns the selected tax year
+     */
+    public int getSelectedTaxYear();
+
+    /**
+     * Returns the selected filing status
+     */
+    public FilingStatus getSelectedFilingStatus();
+
+    /**
+     * Returns the total deductions (USD) the user has entered.
+     */
+    public double getTotalDeductions();
+
+    /**
+     * Returns the total credits (USD) the user has entered.
+     */
+    public double getTotalCredits();
+
+    /**
+     * Returns the gross income (USD) at which the curve starts.
+     */
+    public double getMinGrossIncome();
+
+    /**
+     * Returns the gross income (USD) at which the curve ends.
+     */
+    public double getMaxGrossIncome();
+
+    /**
+     * Returns the number of evenly spaced samples to return, or null if only the segments are wanted.
+     */
+    public Integer getSampleCount();
+}
@@ -0,0 +1,47 @@
+package com.jack.tax.models.interfaces;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.util.List;
+
+/**
+ * Defines the behavior that a concrete tax curve response must contain.
+ */
+public interface TaxCurveResponse {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the applicable filing status.
+     */
+    public FilingStatus getFilingStatus();
+
+    /**
+     * Returns the linear segments of the curve between the requested min and max gross income, in ascending
+     * gross income order.  Consecutive segments share their breakpoints.
+     */
+    public List<TaxCurveSegment> getSegments();
+
+    /**
+     * Returns the gross income (USD) of each sample, or null if no samples were requested.
+     */
+    public double[] getGrossIncomes();
+
+    /**
+     * Returns the federal tax owed (USD) of each sample, or null if no samples were requested.
+     */
+    public double[] getFederalTaxOwed();
+
+    /**
+     * Returns the effective tax rate (%) of each sample, or null if no samples were requested.
+     */
+    public double[] getEffectiveTaxRates();
+
+    /**
+     * Returns the marginal tax rate (%) of each sample, or null if no samples were requested.
+     */
+    public int[] getMarginalTaxRates();
+}
@@ -0,0 +1,33 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete tax curve segment must contain.
+ */
+public interface TaxCurveSegment {
+
+    /**
+     * Returns the gross income (USD) at which the segment starts.
+     */
+    public double getStartGrossIncome();
+
+    /**
+     * Returns the gross income (USD) at which the segment ends.
+     */
+    public double getEndGrossIncome();
+
+    /**
+     * Returns the federal tax owed (USD) at the start of the segment.
+     */
+    public double getStartFederalTaxOwed();
+
+    /**
+     * Returns the federal tax owed (USD) at the end of the segment.
+     */
+    public double getEndFederalTaxOwed();
+
+    /**
+     * Returns the marginal tax rate (%) within the segment, i.e. the tax owed on each additional dollar
+     * of gross income.
+     */
+    public int getMarginalTaxRate();
+}
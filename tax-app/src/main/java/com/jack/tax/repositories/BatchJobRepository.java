@@ -0,0 +1,28 @@
+package com.jack.tax.repositories;
+
+import com.jack.tax.models.BatchJobDetails;
+import com.jack.tax.models.BatchJobStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Used to perform CRUD operations on Batch Job Details entities
+ */
+public interface BatchJobRepository extends MongoRepository<BatchJobDetails, String> {
+
+    /**
+     * Returns the jobs with any of the given statuses, oldest submission first.
+     *
+     * @param statuses Statuses to look for
+     */
+    List<BatchJobDetails> findByStatusInOrderBySubmittedAtAsc(Collection<BatchJobStatus> statuses);
+
+    /**
+     * Returns the number of jobs with any of the given statuses.
+     *
+     * @param statuses Statuses to look for
+     */
+    long countByStatusIn(Collection<BatchJobStatus> statuses);
+}
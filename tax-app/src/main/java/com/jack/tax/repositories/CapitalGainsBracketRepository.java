@@ -0,0 +1,11 @@
+package com.jack.tax.repositories;
+
+import com.jack.tax.models.CapitalGainsBracketDetails;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Used to perform CRUD operations on Capital Gains Bracket Details entities
+ */
+public interface CapitalGainsBracketRepository extends MongoRepository<CapitalGainsBracketDetails, org.bson.types.ObjectId> {
+    // Empty on purpose
+}
@@ -0,0 +1,11 @@
+package com.jack.tax.repositories;
+
+import com.jack.tax.models.CreditRuleDetails;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Used to perform CRUD operations on Credit Rule Details entities
+ */
+public interface CreditRuleRepository extends MongoRepository<CreditRuleDetails, org.bson.types.ObjectId> {
+    // Empty on purpose
+}
@@ -0,0 +1,11 @@
+package com.jack.tax.repositories;
+
+import com.jack.tax.models.StateTaxTableDetails;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Used to perform CRUD operations on State Tax Table Details entities
+ */
+public interface StateTaxTableRepository extends MongoRepository<StateTaxTableDetails, org.bson.types.ObjectId> {
+    // Empty on purpose
+}
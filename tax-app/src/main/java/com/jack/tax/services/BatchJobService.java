@@ -0,0 +1,642 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.ArrowStreamWriter;
+import com.jack.tax.engine.BulkCalculator;
+import com.jack.tax.engine.Money;
+import com.jack.tax.models.BatchJobDetails;
+import com.jack.tax.models.BatchJobStatus;
+import com.jack.tax.models.interfaces.BatchJobRequest;
+import com.jack.tax.models.interfaces.BatchJobResponse;
+import com.jack.tax.repositories.BatchJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Contains the business logic for batch jobs, which calculate federal tax owed for every row of a large input in
+ * the background so that no HTTP connection is held open while they run.  The input is either an uploaded CSV or
+ * fixed-width file (see {@link BulkCalculator} for the layouts) or a Mongo collection, which is copied to a CSV
+ * file before it is calculated.  Jobs run one per worker on a bounded pool, each on a single thread, and their
+ * inputs and results are kept in a directory per job.
+ *
+ * <p>A job's details are saved after every chunk of the input it completes, and the chunks' results are forced to
+ * storage before that, so the saved details are a checkpoint: a restarted instance picks up the queued and running
+ * jobs and resumes each one from its completed chunks.  Only one instance should run jobs off the same job
+ * directory and collection.
+ */
+@Service
+public class BatchJobService {
+
+    /**
+     * Statuses of the jobs that still need a worker
+     */
+    private static final Set<BatchJobStatus> UNFINISHED_STATUSES = EnumSet.of(BatchJobStatus.QUEUED, BatchJobStatus.RUNNING);
+
+    /**
+     * Names of collections jobs can read, which excludes the system collections
+     */
+    private static final Pattern COLLECTION_NAME_PATTERN = Pattern.compile("(?!system\\.)[A-Za-z0-9_][A-Za-z0-9_.-]*");
+
+    /**
+     * Name of the results file in a job's directory
+     */
+    private static final String RESULTS_FILE_NAME = "results.csv";
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobService.class);
+
+    /**
+     * Used to perform CRUD operations on batch job entities
+     */
+    private final BatchJobRepository batchJobRepository;
+
+    /**
+     * Reads the collections that jobs take their rows from
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Supplies the compiled schedules
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Directory that holds a directory per job
+     */
+    private final Path jobDirectory;
+
+    /**
+     * Max number of queued and running jobs
+     */
+    private final int maxQueuedJobCount;
+
+    /**
+     * True to resume the queued and running jobs once the app is started
+     */
+    private final boolean resumeOnStartup;
+
+    /**
+     * Max size (bytes) of an uploaded input file
+     */
+    private final long maxUploadBytes;
+
+    /**
+     * Runs the jobs
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Jobs running on this instance by identifier, with their live progress
+     */
+    private final ConcurrentHashMap<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a fully initialized Batch Job Service using the given data.
+     *
+     * @param batchJobRepository Used to query and save batch job information
+     * @param mongoTemplate      Reads the collections that jobs take their rows from
+     * @param taxTableService    Supplies the compiled schedules
+     * @param jobDirectory       Directory that holds a directory per job
+     * @param threadCount        Number of jobs that run at the same time
+     * @param maxQueuedJobCount  Max number of queued and running jobs
+     * @param resumeOnStartup    True to resume the queued and running jobs once the app is started
+     * @param maxUploadSize      Max size of an uploaded input file
+     */
+    @Autowired
+    public BatchJobService(BatchJobRepository batchJobRepository,
+                           MongoTemplate mongoTemplate,
+                           TaxTableService taxTableService,
+                           @Value("${tax.jobs.directory:jobs}") String jobDirectory,
+                           @Value("${tax.jobs.threads:2}") int threadCount,
+                           @Value("${tax.jobs.max-queued:100}") int maxQueuedJobCount,
+                           @Value("${tax.jobs.resume-on-startup:true}") boolean resumeOnStartup,
+                           @Value("${tax.jobs.max-upload-size:1GB}") DataSize maxUploadSize) {
+
+        if (threadCount < 1 || maxQueuedJobCount < 1) {
+            throw new IllegalArgumentException("Batch jobs need a positive thread count and max queued job count");
+        }
+        if (maxUploadSize.toBytes() < 1) {
+            throw new IllegalArgumentException("Batch jobs need a positive max upload size");
+        }
+
+        this.batchJobRepository = batchJobRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.taxTableService = taxTableService;
+        this.jobDirectory = Path.of(jobDirectory).toAbsolutePath().normalize();
+        this.maxQueuedJobCount = maxQueuedJobCount;
+        this.resumeOnStartup = resumeOnStartup;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "batch-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops running jobs when the app shuts down.  Jobs that were running stay saved as running and resume from
+     * their last checkpoint on the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Queues the jobs that were queued or running when the app last stopped, oldest submission first.  Called
+     * once the app is started; reading the saved jobs happens on a worker so that a slow database cannot hold up
+     * the start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+
+        if (resumeOnStartup) {
+            workers.execute(() -> {
+                try {
+                    resumeJobs();
+                } catch (RuntimeException e) {
+                    logger.error("Could not resume the batch jobs; they will be resumed on the next start", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Queues the jobs that are saved as queued or running but not running on this instance, oldest submission
+     * first.
+     */
+    public void resumeJobs() {
+
+        for (BatchJobDetails job : batchJobRepository.findByStatusInOrderBySubmittedAtAsc(UNFINISHED_STATUSES)) {
+            if (!runningJobs.containsKey(job.getId())) {
+                workers.execute(() -> runJob(job.getId()));
+            }
+        }
+    }
+
+    /**
+     * Streams the given uploaded file to storage as the input of a new job and queues the job.  The upload is
+     * read in chunks and never held in memory, and reading stops as soon as it is larger than the max upload size.
+     *
+     * @param input    Uploaded CSV or fixed-width file
+     * @param fileName Name of the uploaded file, or null if not known
+     * @param taxYear  Tax year to calculate every row for
+     * @param format   Format of the file, "csv" or "fixed-width"
+     * @throws IllegalArgumentException       If the file is empty, the format or tax year is not supported, or too
+     *                                        many jobs are queued
+     * @throws MaxUploadSizeExceededException If the file is larger than the max upload size
+     */
+    public BatchJobResponse submitUpload(InputStream input, String fileName, int taxYear, String format) {
+
+        BulkCalculator.InputFormat inputFormat = BulkCalculator.InputFormat.parse(format);
+        checkTaxYear(taxYear);
+        checkCapacity();
+
+        // Copy the upload to the job's input file, stopping at the first chunk beyond the max upload size
+        BatchJobDetails job = createJob(taxYear, inputFormat);
+        job.setFileName(fileName);
+        long uploadBytes = 0;
+        try {
+            Files.createDirectories(getJobDirectory(job));
+            try (OutputStream output = Files.newOutputStream(getInputPath(job))) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while (uploadBytes <= maxUploadBytes && (read = input.read(buffer)) >= 0) {
+                    uploadBytes += read;
+                    output.write(buffer, 0, read);
+                }
+            }
+        } catch (IOException e) {
+            deleteJobDirectory(job);
+            throw new RuntimeException("Could not save the input of batch job " + job.getId(), e);
+        }
+
+        if (uploadBytes == 0 || uploadBytes > maxUploadBytes) {
+            deleteJobDirectory(job);
+            if (uploadBytes == 0) {
+                throw new IllegalArgumentException("Input file must not be empty");
+            }
+            throw new MaxUploadSizeExceededException(maxUploadBytes);
+        }
+
+        return enqueue(job);
+    }
+
+    /**
+     * Queues a new job that calculates every document of the requested collection.
+     *
+     * @param request Tax year and collection to calculate
+     * @throws IllegalArgumentException If the collection does not exist, the tax year is not supported, or too
+     *                                  many jobs are queued
+     */
+    public BatchJobResponse submitCollection(BatchJobRequest request) {
+
+        String collection = request.getCollection() == null ? "" : request.getCollection().trim();
+        if (!COLLECTION_NAME_PATTERN.matcher(collection).matches() || !mongoTemplate.collectionExists(collection)) {
+            throw new IllegalArgumentException("Could not find collection " + collection);
+        }
+        checkTaxYear(request.getSelectedTaxYear());
+        checkCapacity();
+
+        BatchJobDetails job = createJob(request.getSelectedTaxYear(), BulkCalculator.InputFormat.CSV);
+        job.setCollection(collection);
+        try {
+            Files.createDirectories(getJobDirectory(job));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create the directory of batch job " + job.getId(), e);
+        }
+
+        return enqueue(job);
+    }
+
+    /**
+     * Returns the progress of the given job, with its throughput and estimated time to completion.
+     *
+     * @param jobId Identifier of the job
+     * @throws NoSuchElementException If there is no such job
+     */
+    public BatchJobResponse getJob(String jobId) {
+        return createResponse(findJob(jobId));
+    }
+
+    /**
+     * Returns the results file of the given completed job: a fixed-width CSV with a line per input row, in input
+     * order (see {@link BulkCalculator}).
+     *
+     * @param jobId Identifier of the job
+     * @throws NoSuchElementException   If there is no such job
+     * @throws IllegalArgumentException If the job has not completed
+     */
+    public Path getResults(String jobId) {
+
+        BatchJobDetails job = findJob(jobId);
+        if (job.getStatus() != BatchJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Batch job " + jobId + " has not completed");
+        }
+
+        return getJobDirectory(job).resolve(RESULTS_FILE_NAME);
+    }
+
+    /**
+     * Writes the results of the given completed job as an Arrow IPC stream with a column per output: tax year,
+     * federal tax owed, marginal tax rate, effective tax rate and take home pay.  The results file is read back a
+     * record batch at a time into primitive columns, which are written straight into the stream.
+     *
+     * @param jobId        Identifier of the job
+     * @param outputStream Receives the stream
+     * @throws NoSuchElementException   If there is no such job
+     * @throws IllegalArgumentException If the job has not completed
+     * @throws IOException              If reading the results or writing the stream fails
+     */
+    public void writeResultsArrow(String jobId, OutputStream outputStream) throws IOException {
+
+        Path results = getResults(jobId);
+        int taxYear = findJob(jobId).getTaxYear();
+
+        // The columns read whichever batch the arrays currently hold
+        double[] federalTaxOwed = new double[ArrowStreamWriter.DEFAULT_BATCH_ROW_COUNT];
+        int[] marginalTaxRates = new int[ArrowStreamWriter.DEFAULT_BATCH_ROW_COUNT];
+        double[] effectiveTaxRates = new double[ArrowStreamWriter.DEFAULT_BATCH_ROW_COUNT];
+        double[] takeHomePay = new double[ArrowStreamWriter.DEFAULT_BATCH_ROW_COUNT];
+        ArrowStreamWriter writer = new ArrowStreamWriter(outputStream, List.of(
+                new ArrowStreamWriter.IntColumn("taxYear", rowIndex -> taxYear),
+                new ArrowStreamWriter.DoubleColumn("federalTaxOwed", rowIndex -> federalTaxOwed[rowIndex]),
+                new ArrowStreamWriter.IntColumn("marginalTaxRate", rowIndex -> marginalTaxRates[rowIndex]),
+                new ArrowStreamWriter.DoubleColumn("effectiveTaxRate", rowIndex -> effectiveTaxRates[rowIndex]),
+                new ArrowStreamWriter.DoubleColumn("takeHomePay", rowIndex -> takeHomePay[rowIndex])));
+
+        BulkCalculator.readOutput(results, federalTaxOwed, marginalTaxRates, effectiveTaxRates, takeHomePay,
+                rowCount -> writer.writeBatch(0, rowCount));
+        writer.finish();
+    }
+
+    /**
+     * Runs the given job from its last checkpoint, unless it is over or already running on this instance.
+     *
+     * @param jobId Identifier of the job
+     */
+    private void runJob(String jobId) {
+
+        BatchJobDetails job = batchJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus().isFinished()) {
+            return;
+        }
+        RunningJob runningJob = new RunningJob(job.getCompletedRows());
+        if (runningJobs.putIfAbsent(jobId, runningJob) != null) {
+            return;
+        }
+
+        try {
+            job.setStatus(BatchJobStatus.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(Instant.now());
+            }
+            batchJobRepository.save(job);
+
+            // Copy the collection's documents to the input file once; a job stopped while copying copies them again
+            if (job.getCollection() != null && !job.isInputStaged()) {
+                stageCollection(job);
+                job.setInputStaged(true);
+                batchJobRepository.save(job);
+            }
+
+            BulkCalculator bulkCalculator = new BulkCalculator(
+                    taxTableService.getCompiledTaxYear(job.getTaxYear()), job.getInputFormat(), false);
+            runningJob.start(bulkCalculator);
+
+            // Skip the chunks whose results were saved before the job stopped, and save a checkpoint after each
+            // chunk from here on
+            BitSet completedChunks = new BitSet();
+            job.getCompletedChunks().forEach(completedChunks::set);
+            bulkCalculator.calculate(getInputPath(job), getJobDirectory(job).resolve(RESULTS_FILE_NAME),
+                    completedChunks, new BulkCalculator.ChunkListener() {
+
+                        @Override
+                        public void started(int chunkCount, long rowCount) {
+                            job.setChunkCount(chunkCount);
+                            job.setTotalRows(rowCount);
+                            batchJobRepository.save(job);
+                        }
+
+                        @Override
+                        public void chunkCompleted(int chunkIndex, long rowCount) {
+                            job.getCompletedChunks().add(chunkIndex);
+                            job.setCompletedRows(job.getCompletedRows() + rowCount);
+                            batchJobRepository.save(job);
+                        }
+                    });
+
+            job.setStatus(BatchJobStatus.COMPLETED);
+            job.setFinishedAt(Instant.now());
+            batchJobRepository.save(job);
+
+        } catch (IOException | RuntimeException e) {
+
+            // A job stopped by the app shutting down stays running, to resume from its checkpoint on the next start
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            job.setStatus(BatchJobStatus.FAILED);
+            job.setErrorMessage(e.getMessage() != null ? e.getMessage() : e.toString());
+            job.setFinishedAt(Instant.now());
+            batchJobRepository.save(job);
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Copies the documents of the job's collection to its input file as CSV rows, in {@code _id} order, the
+     * number of qualifying children last.  Missing amounts and numbers of children are written as zero, the same
+     * as the defaults of a single calculation, and everything else is written as it is, so the rows are validated
+     * the same as an uploaded file's.
+     *
+     * @param job Job whose collection to copy
+     * @throws IOException If the input file cannot be written
+     */
+    private void stageCollection(BatchJobDetails job) throws IOException {
+
+        // Write to a temporary file first, so an interrupted copy never passes for a complete input
+        Path inputPath = getInputPath(job);
+        Path stagingPath = inputPath.resolveSibling(inputPath.getFileName() + ".staging");
+        try (BufferedWriter writer = Files.newBufferedWriter(stagingPath, StandardCharsets.US_ASCII);
+             Stream<Document> documents = mongoTemplate.stream(
+                     new Query().with(Sort.by("_id")), Document.class, job.getCollection())) {
+
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                writer.write(String.valueOf(document.getOrDefault("filingStatus", "")));
+                for (String amountField : new String[]{"grossIncome", "preferentialIncome", "totalDeductions", "totalCredits",
+                        "qualifyingChildren"}) {
+                    Object amount = document.getOrDefault(amountField, 0);
+                    writer.write(',');
+                    writer.write(amount instanceof Number
+                            ? new BigDecimal(amount.toString()).stripTrailingZeros().toPlainString()
+                            : String.valueOf(amount));
+                }
+                writer.write('\n');
+            }
+        }
+
+        Files.move(stagingPath, inputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Creates the details of a new queued job.
+     *
+     * @param taxYear     Tax year to calculate every row for
+     * @param inputFormat Format of the job's input file
+     */
+    private BatchJobDetails createJob(int taxYear, BulkCalculator.InputFormat inputFormat) {
+
+        BatchJobDetails job = new BatchJobDetails();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(BatchJobStatus.QUEUED);
+        job.setTaxYear(taxYear);
+        job.setInputFormat(inputFormat);
+        job.setSubmittedAt(Instant.now());
+        return job;
+    }
+
+    /**
+     * Saves the given new job and queues it for a worker.
+     *
+     * @param job New job
+     */
+    private BatchJobResponse enqueue(BatchJobDetails job) {
+
+        batchJobRepository.save(job);
+        workers.execute(() -> runJob(job.getId()));
+        return createResponse(job);
+    }
+
+    /**
+     * Returns the saved details of the given job.
+     *
+     * @param jobId Identifier of the job
+     * @throws NoSuchElementException If there is no such job
+     */
+    private BatchJobDetails findJob(String jobId) {
+        return batchJobRepository.findById(jobId)
+                .orElseThrow(() -> new NoSuchElementException("Could not find batch job " + jobId));
+    }
+
+    /**
+     * Throws if the given tax year is not supported.
+     *
+     * @param taxYear Tax year to check
+     */
+    private void checkTaxYear(int taxYear) {
+
+        if (!taxTableService.getSupportedTaxYears().contains(taxYear)) {
+            throw new IllegalArgumentException("Tax year " + taxYear + " is not supported");
+        }
+    }
+
+    /**
+     * Throws if no more jobs can be queued.
+     */
+    private void checkCapacity() {
+
+        if (batchJobRepository.countByStatusIn(UNFINISHED_STATUSES) >= maxQueuedJobCount) {
+            throw new IllegalArgumentException("Too many batch jobs are queued; try again later");
+        }
+    }
+
+    /**
+     * Deletes the directory of a job that was never queued, along with its input.  A directory that cannot be
+     * deleted is only logged, so that it does not hide why the job was not queued.
+     *
+     * @param job Job details
+     */
+    private void deleteJobDirectory(BatchJobDetails job) {
+
+        try {
+            Files.deleteIfExists(getInputPath(job));
+            Files.deleteIfExists(getJobDirectory(job));
+        } catch (IOException e) {
+            logger.warn("Could not delete the directory of batch job {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Returns the directory that holds the given job's input and results.
+     *
+     * @param job Job details
+     */
+    private Path getJobDirectory(BatchJobDetails job) {
+        return jobDirectory.resolve(job.getId());
+    }
+
+    /**
+     * Returns the input file of the given job.
+     *
+     * @param job Job details
+     */
+    private Path getInputPath(BatchJobDetails job) {
+        return getJobDirectory(job).resolve(job.getInputFormat() == BulkCalculator.InputFormat.CSV ? "input.csv" : "input.dat");
+    }
+
+    /**
+     * Reports the given job's progress, using the live row count if the job is running on this instance.
+     *
+     * @param job Saved job details
+     */
+    private BatchJobResponse createResponse(BatchJobDetails job) {
+
+        long processedRows = job.getCompletedRows();
+        double rowsPerSecond = 0.0;
+        Long etaSeconds = null;
+
+        RunningJob runningJob = runningJobs.get(job.getId());
+        BulkCalculator bulkCalculator = runningJob != null ? runningJob.bulkCalculator : null;
+        if (bulkCalculator != null && job.getStatus() == BatchJobStatus.RUNNING) {
+
+            // Measure the throughput since this run started, since a resumed job's earlier runs may have been
+            // on different hardware or load
+            long runRows = bulkCalculator.getProcessedRowCount();
+            double runSeconds = (System.nanoTime() - runningJob.startNanos) / 1e9;
+            processedRows = runningJob.completedRowsAtStart + runRows;
+            rowsPerSecond = runSeconds > 0 ? runRows / runSeconds : 0.0;
+            if (rowsPerSecond > 0 && job.getTotalRows() >= 0) {
+                etaSeconds = (long) Math.ceil(Math.max(job.getTotalRows() - processedRows, 0) / rowsPerSecond);
+            }
+
+        } else if (job.getStatus() == BatchJobStatus.COMPLETED && job.getStartedAt() != null && job.getFinishedAt() != null) {
+            double seconds = Math.max(Duration.between(job.getStartedAt(), job.getFinishedAt()).toNanos(), 1) / 1e9;
+            rowsPerSecond = job.getTotalRows() / seconds;
+            etaSeconds = 0L;
+        }
+
+        return new com.jack.tax.models.BatchJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getTaxYear(),
+                job.getFileName(),
+                job.getCollection(),
+                job.getTotalRows() >= 0 ? job.getTotalRows() : null,
+                processedRows,
+                Money.roundToCents(rowsPerSecond),
+                etaSeconds,
+                job.getSubmittedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getErrorMessage());
+    }
+
+    /**
+     * Live progress of a job running on this instance.
+     */
+    private static final class RunningJob {
+
+        /**
+         * Number of rows the job had completed when this run started
+         */
+        private final long completedRowsAtStart;
+
+        /**
+         * Calculates the job's rows; null until the input is ready
+         */
+        private volatile BulkCalculator bulkCalculator;
+
+        /**
+         * Time (nanoseconds) the calculation started
+         */
+        private volatile long startNanos;
+
+        /**
+         * Creates the live progress of a job run.
+         *
+         * @param completedRowsAtStart Number of rows the job had completed when this run started
+         */
+        private RunningJob(long completedRowsAtStart) {
+            this.completedRowsAtStart = completedRowsAtStart;
+        }
+
+        /**
+         * Marks the start of the calculation.
+         *
+         * @param bulkCalculator Calculates the job's rows
+         */
+        private void start(BulkCalculator bulkCalculator) {
+            this.startNanos = System.nanoTime();
+            this.bulkCalculator = bulkCalculator;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.TaxCalculation;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.CalculationDelta;
+import com.jack.tax.models.interfaces.CalculationSessionResponse;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Contains the business logic for interactive what-if sessions.  The last calculation of each session is kept in
+ * a bounded store whose entries expire when idle, so a change to one input can be recalculated from the previous
+ * state instead of from scratch: a credits-only change is a subtraction, a gross income or deductions change steps
+ * from the previous tax bracket, and only a tax year or filing status change looks up a new schedule.  A session
+ * with preferential income (qualified dividends and long-term capital gains) restacks it on every income change.
+ * The credits the tax year's credit rules grant are worked out again whenever the schedule, gross income or number
+ * of qualifying children changes, and applied on top of the credits entered, as in a full calculation.
+ */
+@Service
+public class CalculationSessionService {
+
+    /**
+     * Provides the cached tax tables
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Turns calculations into output models
+     */
+    private final TaxCalculationService taxCalculationService;
+
+    /**
+     * Sessions by identifier, least recently used first.  Guarded by its own lock.
+     */
+    private final LinkedHashMap<String, CalculationSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Max number of sessions kept; the least recently used session is dropped beyond it
+     */
+    private final int maxSessionCount;
+
+    /**
+     * Time (nanoseconds) a session is kept after it was last used
+     */
+    private final long timeToLiveNanos;
+
+    /**
+     * Supplies the current time (nanoseconds)
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a fully initialized Calculation Session Service using the given data.
+     *
+     * @param taxTableService        Provides the cached standard deduction and tax bracket information
+     * @param taxCalculationService  Turns calculations into output models
+     * @param maxSessionCount        Max number of sessions kept
+     * @param timeToLiveSeconds      Time (seconds) a session is kept after it was last used
+     */
+    @Autowired
+    public CalculationSessionService(TaxTableService taxTableService,
+                                     TaxCalculationService taxCalculationService,
+                                     @Value("${tax.sessions.max-count:10000}") int maxSessionCount,
+                                     @Value("${tax.sessions.time-to-live-seconds:1800}") long timeToLiveSeconds) {
+
+        this(taxTableService, taxCalculationService, maxSessionCount,
+                TimeUnit.SECONDS.toNanos(timeToLiveSeconds), System::nanoTime);
+    }
+
+    /**
+     * Creates a fully initialized Calculation Session Service using the given data and clock.
+     *
+     * @param taxTableService       Provides the cached standard deduction and tax bracket information
+     * @param taxCalculationService Turns calculations into output models
+     * @param maxSessionCount       Max number of sessions kept
+     * @param timeToLiveNanos       Time (nanoseconds) a session is kept after it was last used
+     * @param nanoClock             Supplies the current time (nanoseconds)
+     */
+    protected CalculationSessionService(TaxTableService taxTableService,
+                                        TaxCalculationService taxCalculationService,
+                                        int maxSessionCount,
+                                        long timeToLiveNanos,
+                                        LongSupplier nanoClock) {
+
+        if (maxSessionCount < 1 || timeToLiveNanos < 1) {
+            throw new IllegalArgumentException("Sessions must have a positive max count and time to live");
+        }
+
+        this.taxTableService = taxTableService;
+        this.taxCalculationService = taxCalculationService;
+        this.maxSessionCount = maxSessionCount;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Starts a session with a full calculation for the given inputs.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @throws IllegalArgumentException if the preferential income exceeds the gross income
+     */
+    public CalculationSessionResponse startSession(InputModel inputModel) {
+
+        if (inputModel.getPreferentialIncome() > inputModel.getGrossIncome()) {
+            throw new IllegalArgumentException("Preferential income must not exceed gross income");
+        }
+
+        CompiledTaxSchedule schedule = getSchedule(inputModel.getSelectedTaxYear(), inputModel.getSelectedFilingStatus());
+        CalculationSession session = new CalculationSession(
+                schedule,
+                inputModel.getGrossIncome(),
+                inputModel.getPreferentialIncome(),
+                inputModel.getTotalDeductions(),
+                inputModel.getTotalCredits(),
+                inputModel.getQualifyingChildren());
+        session.evaluateCreditRules();
+        TaxEngine.calculate(schedule, session.grossIncome, session.preferentialIncome, session.totalDeductions,
+                session.getAllCredits(), session.calculation);
+        OutputModel outputModel = session.createOutputModel(taxCalculationService);
+
+        String sessionId = UUID.randomUUID().toString();
+        long now = nanoClock.getAsLong();
+        synchronized (sessions) {
+            evictExpiredSessions(now);
+            session.lastUsedNanos = now;
+            sessions.put(sessionId, session);
+            if (sessions.size() > maxSessionCount) {
+                Iterator<CalculationSession> leastRecentlyUsed = sessions.values().iterator();
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+            }
+        }
+
+        return new com.jack.tax.models.CalculationSessionResponse(sessionId, outputModel);
+    }
+
+    /**
+     * Applies the given changes to a session's inputs and recalculates incrementally from its last calculation.
+     * Changes that are rejected (e.g. for a tax year that is not supported) leave the session as it was.
+     *
+     * @param sessionId Identifier of the session
+     * @param delta     Changed inputs; fields left out keep their previous values
+     * @throws NoSuchElementException if the session does not exist or has expired, or the new tax year is not
+     *                                supported
+     * @throws IllegalArgumentException if the new gross income is less than the session's preferential income
+     */
+    public CalculationSessionResponse updateSession(String sessionId, CalculationDelta delta) {
+
+        CalculationSession session = getSession(sessionId);
+
+        OutputModel outputModel;
+        synchronized (session) {
+
+            // A new tax year or filing status needs a different schedule, so recalculate from scratch
+            int taxYear = delta.getSelectedTaxYear() != null ? delta.getSelectedTaxYear() : session.schedule.getTaxYear();
+            FilingStatus filingStatus = delta.getSelectedFilingStatus() != null
+                    ? delta.getSelectedFilingStatus()
+                    : session.schedule.getFilingStatus();
+            boolean scheduleChanged = taxYear != session.schedule.getTaxYear() || filingStatus != session.schedule.getFilingStatus();
+            boolean grossIncomeChanged = delta.getGrossIncome() != null && delta.getGrossIncome() != session.grossIncome;
+            boolean incomeChanged = grossIncomeChanged
+                    || (delta.getTotalDeductions() != null && delta.getTotalDeductions() != session.totalDeductions);
+            boolean qualifyingChildrenChanged = delta.getQualifyingChildren() != null
+                    && delta.getQualifyingChildren() != session.qualifyingChildren;
+            if (delta.getGrossIncome() != null && session.preferentialIncome > delta.getGrossIncome()) {
+                throw new IllegalArgumentException("Preferential income must not exceed gross income");
+            }
+
+            // Look up the new schedule before changing anything, so a delta that is rejected leaves the session as it was
+            CompiledTaxSchedule schedule = scheduleChanged ? getSchedule(taxYear, filingStatus) : session.schedule;
+
+            if (delta.getGrossIncome() != null) {
+                session.grossIncome = delta.getGrossIncome();
+            }
+            if (delta.getTotalDeductions() != null) {
+                session.totalDeductions = delta.getTotalDeductions();
+            }
+            if (delta.getTotalCredits() != null) {
+                session.totalCredits = delta.getTotalCredits();
+            }
+            if (delta.getQualifyingChildren() != null) {
+                session.qualifyingChildren = delta.getQualifyingChildren();
+            }
+            session.schedule = schedule;
+
+            // The credit rules depend on the schedule, gross income and qualifying children, but not the deductions
+            if (scheduleChanged || grossIncomeChanged || qualifyingChildrenChanged) {
+                session.evaluateCreditRules();
+            }
+
+            if (scheduleChanged) {
+                TaxEngine.calculate(session.schedule, session.grossIncome, session.preferentialIncome,
+                        session.totalDeductions, session.getAllCredits(), session.calculation);
+            } else if (incomeChanged && session.preferentialIncome > 0.0) {
+                // The preferential income is stacked on top of the new ordinary income, so restack it from scratch
+                TaxEngine.calculate(session.schedule, session.grossIncome, session.preferentialIncome,
+                        session.totalDeductions, session.getAllCredits(), session.calculation);
+            } else if (incomeChanged) {
+                // The taxable income changed, so step to the new max tax bracket from the previous one
+                TaxEngine.recalculate(session.schedule, session.grossIncome, session.totalDeductions,
+                        session.getAllCredits(), session.calculation);
+            } else {
+                // Only the credits (if anything) changed, which are subtracted after the income tax
+                TaxEngine.recalculateCredits(session.getAllCredits(), session.calculation);
+            }
+
+            outputModel = session.createOutputModel(taxCalculationService);
+        }
+
+        return new com.jack.tax.models.CalculationSessionResponse(sessionId, outputModel);
+    }
+
+    /**
+     * Ends a session, discarding its state.  Ending a session that does not exist does nothing.
+     *
+     * @param sessionId Identifier of the session
+     */
+    public void endSession(String sessionId) {
+
+        synchronized (sessions) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * Returns the number of sessions currently kept, including any that expired but have not been evicted yet.
+     */
+    public int getSessionCount() {
+
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    /**
+     * Returns the session with the given identifier and marks it as used.
+     *
+     * @param sessionId Identifier of the session
+     * @throws NoSuchElementException if the session does not exist or has expired
+     */
+    private CalculationSession getSession(String sessionId) {
+
+        long now = nanoClock.getAsLong();
+        synchronized (sessions) {
+            CalculationSession session = sessions.get(sessionId);
+            if (session != null && now - session.lastUsedNanos > timeToLiveNanos) {
+                sessions.remove(sessionId);
+                session = null;
+            }
+            if (session == null) {
+                throw new NoSuchElementException("Could not find calculation session " + sessionId
+                        + "; it may have expired");
+            }
+            session.lastUsedNanos = now;
+            return session;
+        }
+    }
+
+    /**
+     * Drops the sessions that have not been used within the time to live.  Sessions are ordered from least to
+     * most recently used, so this stops at the first session that is still live.  Must hold the sessions lock.
+     *
+     * @param now Current time (nanoseconds)
+     */
+    private void evictExpiredSessions(long now) {
+
+        Iterator<Map.Entry<String, CalculationSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext() && now - iterator.next().getValue().lastUsedNanos > timeToLiveNanos) {
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the cached, compiled schedule for the given tax year and filing status.
+     *
+     * @param taxYear      Tax year
+     * @param filingStatus Filing status
+     */
+    private CompiledTaxSchedule getSchedule(int taxYear, FilingStatus filingStatus) {
+
+        return taxTableService.getCompiledTaxYear(taxYear).getSchedule(filingStatus);
+    }
+
+    /**
+     * The inputs and last calculation of one session.  Guarded by its own lock, apart from the last used time
+     * which is guarded by the sessions lock.
+     */
+    private static final class CalculationSession {
+
+        private CompiledTaxSchedule schedule;
+        private double grossIncome;
+        private final double preferentialIncome;
+        private double totalDeductions;
+        private double totalCredits;
+        private int qualifyingChildren;
+        private double calculatedCredits;
+        private final TaxCalculation calculation = new TaxCalculation();
+        private long lastUsedNanos;
+
+        /**
+         * Creates a session using the given data.
+         */
+        private CalculationSession(CompiledTaxSchedule schedule,
+                                   double grossIncome,
+                                   double preferentialIncome,
+                                   double totalDeductions,
+                                   double totalCredits,
+                                   int qualifyingChildren) {
+            this.schedule = schedule;
+            this.grossIncome = grossIncome;
+            this.preferentialIncome = preferentialIncome;
+            this.totalDeductions = totalDeductions;
+            this.totalCredits = totalCredits;
+            this.qualifyingChildren = qualifyingChildren;
+        }
+
+        /**
+         * Works out the credits the schedule's credit rules grant for the session's current inputs.
+         */
+        private void evaluateCreditRules() {
+            calculatedCredits = schedule.getCreditRules().evaluate(grossIncome, preferentialIncome, qualifyingChildren);
+        }
+
+        /**
+         * Returns the credits entered plus the ones the credit rules grant (USD).
+         */
+        private double getAllCredits() {
+            return totalCredits + calculatedCredits;
+        }
+
+        /**
+         * Turns the last calculation into an output model, including the credits the credit rules granted.
+         *
+         * @param taxCalculationService Turns calculations into output models
+         */
+        private OutputModel createOutputModel(TaxCalculationService taxCalculationService) {
+
+            OutputModel outputModel = taxCalculationService.createOutputModel(schedule, calculation);
+            outputModel.setCalculatedCredits(Money.roundToCents(calculatedCredits));
+            return outputModel;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.jack.tax.services;
+
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.JurisdictionCalculation;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.utils.AppConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The federal jurisdiction, which every multi-jurisdiction calculation includes.  It calculates against the cached
+ * federal schedules just like a single federal calculation does.
+ */
+@Service
+public class FederalJurisdictionModule implements JurisdictionModule {
+
+    /**
+     * Performs the federal tax calculations
+     */
+    private final TaxCalculationService taxCalculationService;
+
+    /**
+     * Creates a fully initialized Federal Jurisdiction Module using the given data.
+     *
+     * @param taxCalculationService Performs the federal tax calculations
+     */
+    @Autowired
+    public FederalJurisdictionModule(TaxCalculationService taxCalculationService) {
+
+        this.taxCalculationService = taxCalculationService;
+    }
+
+    /**
+     * Returns the code of the federal jurisdiction.
+     */
+    @Override
+    public String getCode() {
+        return AppConstants.FEDERAL_JURISDICTION;
+    }
+
+    /**
+     * Returns the name of the federal jurisdiction.
+     */
+    @Override
+    public String getName() {
+        return AppConstants.FEDERAL_JURISDICTION_NAME;
+    }
+
+    /**
+     * Returns the supported federal tax years, including the projected ones, in descending order.
+     */
+    @Override
+    public List<Integer> getSupportedTaxYears() {
+        return taxCalculationService.getSupportedTaxYears();
+    }
+
+    /**
+     * Calculates federal tax owed for the selected tax year and filing status.  The federal adjusted gross income
+     * is the gross income entered, which the federal calculation starts from itself.
+     *
+     * @param inputModel                 User-entered tax inputs.
+     * @param federalAdjustedGrossIncome Federal adjusted gross income (USD).
+     */
+    @Override
+    public JurisdictionCalculation calculateTaxes(InputModel inputModel, double federalAdjustedGrossIncome) {
+
+        OutputModel outputModel = taxCalculationService.calculateTaxes(inputModel);
+
+        com.jack.tax.models.JurisdictionCalculation calculation = new com.jack.tax.models.JurisdictionCalculation();
+        calculation.setJurisdiction(getCode());
+        calculation.setName(getName());
+        calculation.setTaxYear(outputModel.getTaxYear());
+        calculation.setProjected(outputModel.isProjected());
+        calculation.setTaxOwed(outputModel.getFederalTaxOwed());
+        calculation.setMarginalTaxRate(outputModel.getMarginalTaxRate());
+        calculation.setEffectiveTaxRate(outputModel.getEffectiveTaxRate());
+        calculation.setCalculatedCredits(outputModel.getCalculatedCredits());
+        return calculation;
+    }
+}
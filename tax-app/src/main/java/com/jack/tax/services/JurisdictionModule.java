@@ -0,0 +1,39 @@
+package com.jack.tax.services;
+
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.JurisdictionCalculation;
+
+import java.util.List;
+
+/**
+ * A jurisdiction (federal or state) that multi-jurisdiction calculations fan out to, with its own compiled tables
+ * and rules.  Every Spring bean implementing this interface is registered as a plugin by the
+ * {@link JurisdictionService}, alongside the state jurisdictions compiled from the stored state tax tables.
+ * Modules are called concurrently, so implementations must be thread-safe and must not modify the input model.
+ */
+public interface JurisdictionModule {
+
+    /**
+     * Returns the code of the jurisdiction, e.g. "US" or "IL", which requests select it by.
+     */
+    public String getCode();
+
+    /**
+     * Returns the name of the jurisdiction, e.g. "Federal" or "Illinois".
+     */
+    public String getName();
+
+    /**
+     * Returns the tax years the jurisdiction supports, in descending order.
+     */
+    public List<Integer> getSupportedTaxYears();
+
+    /**
+     * Calculates the income tax the jurisdiction levies for the selected tax year and filing status.
+     *
+     * @param inputModel                 User-entered tax inputs, shared by all the jurisdictions of a calculation.
+     * @param federalAdjustedGrossIncome Federal adjusted gross income (USD) the jurisdiction starts from.
+     * @throws IllegalArgumentException If the jurisdiction does not support the selected tax year
+     */
+    public JurisdictionCalculation calculateTaxes(InputModel inputModel, double federalAdjustedGrossIncome);
+}
@@ -0,0 +1,284 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.Money;
+import com.jack.tax.models.StateTaxTableDetails;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.JurisdictionCalculation;
+import com.jack.tax.models.interfaces.JurisdictionResponse;
+import com.jack.tax.models.interfaces.MultiJurisdictionResponse;
+import com.jack.tax.repositories.StateTaxTableRepository;
+import com.jack.tax.utils.AppConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the jurisdictions that calculations can fan out to: the jurisdiction modules registered as Spring
+ * beans (the federal one included), plus a state jurisdiction compiled from the stored state tax tables of each
+ * state.  The stored tables are loaded and compiled once and cached, and reloaded once the cache is older than the
+ * refresh interval the federal tax tables use.  A multi-jurisdiction
+ * calculation runs the federal module and the requested state modules in parallel, all sharing the one input model
+ * and federal adjusted gross income, and combines their results.
+ */
+@Service
+public class JurisdictionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JurisdictionService.class);
+
+    /**
+     * Jurisdiction modules registered as Spring beans
+     */
+    private final List<JurisdictionModule> pluginModules;
+
+    /**
+     * Used to perform CRUD operations on state tax table entities
+     */
+    private final StateTaxTableRepository stateTaxTableRepository;
+
+    /**
+     * Time (nanoseconds) after which the cached modules are reloaded, or zero to keep them until {@link #refresh()}
+     */
+    private final long refreshIntervalNanos;
+
+    /**
+     * Supplies the current time (nanoseconds)
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * The registered jurisdiction modules.  Null until first needed, and replaced as a whole (never mutated) when
+     * the state tax tables are reloaded.
+     */
+    private volatile CachedModules cachedModules;
+
+    /**
+     * Creates a fully initialized Jurisdiction Service using the given data.
+     *
+     * @param pluginModules           Jurisdiction modules registered as Spring beans, which must include the
+     *                                federal one
+     * @param stateTaxTableRepository Used to query state tax table information
+     * @param refreshSeconds          Time (seconds) after which the state tax tables are reloaded from persistent
+     *                                storage, or zero to keep them until {@link #refresh()}
+     */
+    @Autowired
+    public JurisdictionService(List<JurisdictionModule> pluginModules,
+                               StateTaxTableRepository stateTaxTableRepository,
+                               @Value("${tax.tables.refresh-seconds:0}") long refreshSeconds) {
+
+        this(pluginModules, stateTaxTableRepository, TimeUnit.SECONDS.toNanos(refreshSeconds), System::nanoTime);
+    }
+
+    /**
+     * Creates a fully initialized Jurisdiction Service reading the time from the given clock.
+     *
+     * @param pluginModules           Jurisdiction modules registered as Spring beans, which must include the
+     *                                federal one
+     * @param stateTaxTableRepository Used to query state tax table information
+     * @param refreshIntervalNanos    Time (nanoseconds) after which the state tax tables are reloaded, or zero to
+     *                                keep them until {@link #refresh()}
+     * @param nanoClock               Supplies the current time (nanoseconds)
+     */
+    protected JurisdictionService(List<JurisdictionModule> pluginModules,
+                                  StateTaxTableRepository stateTaxTableRepository,
+                                  long refreshIntervalNanos,
+                                  LongSupplier nanoClock) {
+
+        if (refreshIntervalNanos < 0) {
+            throw new IllegalArgumentException("The tax table refresh interval must not be negative");
+        }
+
+        this.pluginModules = List.copyOf(pluginModules);
+        this.stateTaxTableRepository = stateTaxTableRepository;
+        this.refreshIntervalNanos = refreshIntervalNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns every registered jurisdiction, the federal one first and the rest in code order.
+     */
+    public List<JurisdictionResponse> getJurisdictions() {
+
+        return getModules().values().stream()
+                .<JurisdictionResponse>map(module -> new com.jack.tax.models.JurisdictionResponse(
+                        module.getCode(), module.getName(), module.getSupportedTaxYears()))
+                .toList();
+    }
+
+    /**
+     * Calculates the federal income tax and the income tax of each of the given jurisdictions for the selected
+     * tax year and filing status, and combines them.  The jurisdictions are calculated in parallel, each timed on
+     * its own.  The federal adjusted gross income they all start from is the gross income entered, since no
+     * above-the-line adjustments are entered.
+     *
+     * @param inputModel        User-entered tax inputs, shared by all the jurisdictions.
+     * @param jurisdictionCodes Codes of the jurisdictions to calculate besides the federal one, case-insensitive.
+     *                          Null or empty for the federal one alone.
+     * @throws IllegalArgumentException If a jurisdiction is unknown or does not support the selected tax year
+     */
+    public MultiJurisdictionResponse calculateTaxes(InputModel inputModel, List<String> jurisdictionCodes) {
+
+        long startNanos = System.nanoTime();
+
+        // Look up the federal module and the requested ones, each once
+        Map<String, JurisdictionModule> modules = getModules();
+        Map<String, JurisdictionModule> selectedModules = new LinkedHashMap<>();
+        selectedModules.put(AppConstants.FEDERAL_JURISDICTION, modules.get(AppConstants.FEDERAL_JURISDICTION));
+        for (String jurisdictionCode : jurisdictionCodes == null ? List.<String>of() : jurisdictionCodes) {
+            String code = jurisdictionCode.trim().toUpperCase(Locale.ROOT);
+            JurisdictionModule module = modules.get(code);
+            if (module == null) {
+                throw new IllegalArgumentException("Unknown jurisdiction '" + jurisdictionCode + "'");
+            }
+            selectedModules.putIfAbsent(code, module);
+        }
+
+        // Fan out to the jurisdictions, timing each one
+        double federalAdjustedGrossIncome = inputModel.getGrossIncome();
+        List<JurisdictionCalculation> calculations = new ArrayList<>(selectedModules.values())
+                .parallelStream()
+                .map(module -> {
+                    long moduleStartNanos = System.nanoTime();
+                    JurisdictionCalculation calculation = module.calculateTaxes(inputModel, federalAdjustedGrossIncome);
+                    calculation.setCalculationNanos(System.nanoTime() - moduleStartNanos);
+                    return calculation;
+                })
+                .toList();
+
+        // Combine the results
+        double totalTaxOwed = 0.0;
+        double marginalTaxRate = 0.0;
+        for (JurisdictionCalculation calculation : calculations) {
+            totalTaxOwed += calculation.getTaxOwed();
+            marginalTaxRate += calculation.getMarginalTaxRate();
+        }
+
+        com.jack.tax.models.MultiJurisdictionResponse response = new com.jack.tax.models.MultiJurisdictionResponse();
+        response.setFederalAdjustedGrossIncome(federalAdjustedGrossIncome);
+        response.setCalculations(calculations);
+        response.setTotalTaxOwed(Money.roundToCents(totalTaxOwed));
+        response.setMarginalTaxRate(Money.roundToCents(marginalTaxRate));
+        response.setEffectiveTaxRate(inputModel.getGrossIncome() == 0
+                ? 0.0
+                : Money.roundToCents(totalTaxOwed / inputModel.getGrossIncome() * 100.0));
+        response.setTakeHomePay(Money.roundToCents(inputModel.getGrossIncome() - totalTaxOwed));
+        response.setCalculationNanos(System.nanoTime() - startNanos);
+        return response;
+    }
+
+    /**
+     * Discards the compiled state jurisdictions so that the next lookup reloads them from persistent storage.
+     */
+    public void refresh() {
+        cachedModules = null;
+    }
+
+    /**
+     * Returns the registered jurisdiction modules keyed by code, the federal one first and the rest in code order,
+     * loading the state tax tables first if that has not happened yet or they are older than the refresh interval.
+     * If reloading fails, the modules already loaded are kept for another interval rather than failing every lookup.
+     */
+    private Map<String, JurisdictionModule> getModules() {
+
+        CachedModules cached = cachedModules;
+        if (cached == null || isStale(cached)) {
+            synchronized (this) {
+                cached = cachedModules;
+                if (cached == null) {
+                    cached = new CachedModules(loadModules(), nanoClock.getAsLong());
+                    cachedModules = cached;
+                } else if (isStale(cached)) {
+                    Map<String, JurisdictionModule> modules;
+                    try {
+                        modules = loadModules();
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not reload the state tax tables; keeping the loaded ones", e);
+                        modules = cached.modulesByCode();
+                    }
+                    cached = new CachedModules(modules, nanoClock.getAsLong());
+                    cachedModules = cached;
+                }
+            }
+        }
+
+        return cached.modulesByCode();
+    }
+
+    /**
+     * Returns true if the given cached modules are older than the refresh interval.
+     *
+     * @param cached Cached modules
+     */
+    private boolean isStale(CachedModules cached) {
+        return refreshIntervalNanos > 0 && nanoClock.getAsLong() - cached.loadedAtNanos() >= refreshIntervalNanos;
+    }
+
+    /**
+     * Registers the plugin modules, then queries persistent storage once for all state tax tables, groups them by
+     * jurisdiction and compiles a module for each.
+     *
+     * @throws RuntimeException If there is no federal module, a jurisdiction is registered twice or its stored
+     *                          tables are not valid
+     */
+    private Map<String, JurisdictionModule> loadModules() {
+
+        Map<String, JurisdictionModule> modulesByCode = new TreeMap<>();
+        for (JurisdictionModule module : pluginModules) {
+            register(modulesByCode, module);
+        }
+
+        // Group the stored state tax tables by jurisdiction
+        Map<String, List<StateTaxTableDetails>> tablesByCode = new TreeMap<>();
+        for (StateTaxTableDetails table : stateTaxTableRepository.findAll()) {
+            tablesByCode.computeIfAbsent(table.getJurisdiction().trim().toUpperCase(Locale.ROOT), code -> new ArrayList<>())
+                    .add(table);
+        }
+        tablesByCode.forEach((code, tables) -> register(modulesByCode, StateJurisdictionModule.compile(code, tables)));
+
+        // Put the federal jurisdiction first
+        JurisdictionModule federalModule = modulesByCode.remove(AppConstants.FEDERAL_JURISDICTION);
+        if (federalModule == null) {
+            throw new RuntimeException("Could not find the federal jurisdiction module");
+        }
+        Map<String, JurisdictionModule> modules = new LinkedHashMap<>();
+        modules.put(AppConstants.FEDERAL_JURISDICTION, federalModule);
+        modules.putAll(modulesByCode);
+
+        return Collections.unmodifiableMap(modules);
+    }
+
+    /**
+     * Registers the given module under its code.
+     *
+     * @param modulesByCode Modules registered so far, keyed by code
+     * @param module        Module to register
+     * @throws RuntimeException If a module is already registered under the code
+     */
+    private static void register(Map<String, JurisdictionModule> modulesByCode, JurisdictionModule module) {
+
+        String code = module.getCode().trim().toUpperCase(Locale.ROOT);
+        if (modulesByCode.putIfAbsent(code, module) != null) {
+            throw new RuntimeException("Jurisdiction " + code + " is registered more than once");
+        }
+    }
+
+    /**
+     * Snapshot of the registered jurisdiction modules.
+     *
+     * @param modulesByCode Modules keyed by code, the federal one first and the rest in code order
+     * @param loadedAtNanos Time (nanoseconds) the state tax tables were loaded
+     */
+    private record CachedModules(Map<String, JurisdictionModule> modulesByCode, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.jack.tax.services;
+
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contains the business logic for live recalculation channels.  A client opens a Server-Sent Events channel and
+ * then posts input updates to it as fast as it likes (e.g. while a slider moves).  The first update in a burst
+ * starts a debounce window; updates arriving within the window replace the pending one, and only the latest is
+ * calculated when the window closes.  Results are pushed back on the channel, and inputs that cannot be calculated
+ * are answered with an error event, leaving the channel open for the next update.
+ */
+@Service
+public class LiveCalculationService {
+
+    /**
+     * Name of the event that tells the client the channel identifier to post updates to
+     */
+    public static final String CHANNEL_EVENT_NAME = "channel";
+
+    /**
+     * Name of the events that carry calculation results
+     */
+    public static final String CALCULATION_EVENT_NAME = "calculation";
+
+    /**
+     * Name of the events that tell the client why an update could not be calculated
+     */
+    public static final String ERROR_EVENT_NAME = "error";
+
+    /**
+     * Performs the tax calculations
+     */
+    private final TaxCalculationService taxCalculationService;
+
+    /**
+     * Open channels by identifier
+     */
+    private final ConcurrentHashMap<String, LiveCalculationChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Number of channel slots taken, reserved before a channel is added and released when it is removed
+     */
+    private final AtomicInteger reservedChannelCount = new AtomicInteger();
+
+    /**
+     * Runs the debounced calculations
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Time (milliseconds) updates are coalesced for before the latest one is calculated
+     */
+    private final long debounceMillis;
+
+    /**
+     * Time (milliseconds) a channel stays open
+     */
+    private final long channelTimeoutMillis;
+
+    /**
+     * Max number of open channels
+     */
+    private final int maxChannelCount;
+
+    /**
+     * Creates a fully initialized Live Calculation Service using the given data.
+     *
+     * @param taxCalculationService Performs the tax calculations
+     * @param debounceMillis        Time (milliseconds) updates are coalesced for before the latest one is calculated
+     * @param channelTimeoutMillis  Time (milliseconds) a channel stays open
+     * @param maxChannelCount       Max number of open channels
+     * @param threadCount           Number of threads that run the debounced calculations
+     */
+    @Autowired
+    public LiveCalculationService(TaxCalculationService taxCalculationService,
+                                  @Value("${tax.live.debounce-millis:100}") long debounceMillis,
+                                  @Value("${tax.live.channel-timeout-millis:1800000}") long channelTimeoutMillis,
+                                  @Value("${tax.live.max-channels:1000}") int maxChannelCount,
+                                  @Value("${tax.live.threads:2}") int threadCount) {
+
+        if (debounceMillis < 0 || channelTimeoutMillis < 1 || maxChannelCount < 1 || threadCount < 1) {
+            throw new IllegalArgumentException("Live calculations need a non-negative debounce window and a positive "
+                    + "channel timeout, max channel count and thread count");
+        }
+
+        this.taxCalculationService = taxCalculationService;
+        this.debounceMillis = debounceMillis;
+        this.channelTimeoutMillis = channelTimeoutMillis;
+        this.maxChannelCount = maxChannelCount;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "live-calculation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a channel and sends its identifier as the first event.
+     *
+     * @throws TooManyChannelsException if too many channels are open
+     */
+    public SseEmitter openChannel() {
+
+        return openChannel(new SseEmitter(channelTimeoutMillis));
+    }
+
+    /**
+     * Opens a channel on the given emitter and sends its identifier as the first event.
+     *
+     * @param emitter Emitter the channel's events are sent on
+     * @throws TooManyChannelsException if too many channels are open
+     */
+    protected SseEmitter openChannel(SseEmitter emitter) {
+
+        // Reserve a slot first, so concurrent openings cannot all pass the check and exceed the max
+        if (reservedChannelCount.getAndUpdate(count -> count < maxChannelCount ? count + 1 : count) >= maxChannelCount) {
+            throw new TooManyChannelsException("Too many live calculation channels are open; try again later");
+        }
+
+        // Forget the channel as soon as the client goes away
+        String channelId = UUID.randomUUID().toString();
+        LiveCalculationChannel channel = new LiveCalculationChannel(emitter);
+        channels.put(channelId, channel);
+        emitter.onCompletion(() -> removeChannel(channelId));
+        emitter.onTimeout(() -> removeChannel(channelId));
+        emitter.onError(error -> removeChannel(channelId));
+
+        try {
+            emitter.send(SseEmitter.event().name(CHANNEL_EVENT_NAME).data(channelId));
+        } catch (IOException e) {
+            removeChannel(channelId);
+            emitter.completeWithError(e);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Accepts an input update for a channel.  If no calculation is pending for the channel one is scheduled at the
+     * end of the debounce window; otherwise the update just replaces the pending input.
+     *
+     * @param channelId  Identifier of the channel
+     * @param inputModel User-entered tax inputs.
+     * @throws NoSuchElementException if the channel does not exist or has closed
+     */
+    public void submit(String channelId, InputModel inputModel) {
+
+        LiveCalculationChannel channel = channels.get(channelId);
+        if (channel == null) {
+            throw new NoSuchElementException("Could not find live calculation channel " + channelId
+                    + "; it may have closed");
+        }
+
+        channel.pendingInput.set(inputModel);
+        if (channel.calculationScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> calculateLatest(channelId, channel), debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the number of open channels.
+     */
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Stops running debounced calculations when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Calculates the latest pending input of a channel and pushes the result on it.  An input that cannot be
+     * calculated is answered with an error event carrying the reason, the same as the calculation endpoints' error
+     * body, and the channel stays open for the next update.
+     *
+     * @param channelId Identifier of the channel
+     * @param channel   Channel to calculate for
+     */
+    private void calculateLatest(String channelId, LiveCalculationChannel channel) {
+
+        // Clear the flag before taking the input, so an update that arrives from here on schedules a new calculation
+        channel.calculationScheduled.set(false);
+        InputModel inputModel = channel.pendingInput.getAndSet(null);
+        if (inputModel == null) {
+            return;
+        }
+
+        OutputModel outputModel;
+        try {
+            outputModel = taxCalculationService.calculateTaxes(inputModel);
+        } catch (IllegalArgumentException | NoSuchElementException e) {
+            send(channelId, channel, SseEmitter.event().name(ERROR_EVENT_NAME).data(Map.of("error", e.getMessage())));
+            return;
+        }
+
+        send(channelId, channel, SseEmitter.event().name(CALCULATION_EVENT_NAME).data(outputModel));
+    }
+
+    /**
+     * Sends an event on a channel, closing the channel if the event cannot be written to the client.
+     *
+     * @param channelId Identifier of the channel
+     * @param channel   Channel to send the event on
+     * @param event     Event to send
+     */
+    private void send(String channelId, LiveCalculationChannel channel, SseEmitter.SseEventBuilder event) {
+
+        try {
+            // Events on one emitter must not be sent concurrently
+            synchronized (channel) {
+                channel.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            removeChannel(channelId);
+            channel.emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Forgets a channel and releases its slot, once however many times the emitter reports it closed.
+     *
+     * @param channelId Identifier of the channel
+     */
+    private void removeChannel(String channelId) {
+
+        if (channels.remove(channelId) != null) {
+            reservedChannelCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * The emitter and pending input of one channel.
+     */
+    private static final class LiveCalculationChannel {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<InputModel> pendingInput = new AtomicReference<>();
+        private final AtomicBoolean calculationScheduled = new AtomicBoolean();
+
+        /**
+         * Creates a channel for the given emitter.
+         */
+        private LiveCalculationChannel(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
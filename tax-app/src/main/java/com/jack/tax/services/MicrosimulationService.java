@@ -0,0 +1,242 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.Microsimulation;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.PolicyDiff;
+import com.jack.tax.engine.PopulationFile;
+import com.jack.tax.models.interfaces.BracketDetails;
+import com.jack.tax.models.interfaces.MicrosimulationRequest;
+import com.jack.tax.models.interfaces.MicrosimulationResponse;
+import com.jack.tax.models.interfaces.PolicyDiffRequest;
+import com.jack.tax.models.interfaces.PolicyDiffResponse;
+import com.jack.tax.models.interfaces.PopulationGroupSummary;
+import com.jack.tax.models.interfaces.TaxYearDetails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Contains the business logic for microsimulations, which run the federal calculation for every household of
+ * a (synthetic) population file and aggregate the results, e.g. total revenue and average effective tax rate
+ * by income decile, or the winners and losers of a draft tax table.  Population files are memory-mapped from a
+ * configured directory, and current law calculations use the same cached, compiled tax tables as every other
+ * calculation.
+ */
+@Service
+public class MicrosimulationService {
+
+    /**
+     * Provides the cached tax tables
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Directory the population files are read from
+     */
+    private final Path populationDirectory;
+
+    /**
+     * Creates a fully initialized Microsimulation Service using the given data.
+     *
+     * @param taxTableService     Provides the cached standard deduction and tax bracket information
+     * @param populationDirectory Directory the population files are read from
+     */
+    @Autowired
+    public MicrosimulationService(TaxTableService taxTableService,
+                                  @Value("${tax.microsimulation.population-directory:populations}") String populationDirectory) {
+
+        this.taxTableService = taxTableService;
+        this.populationDirectory = Path.of(populationDirectory).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Simulates federal tax owed for every household of the requested population file, on every available core.
+     *
+     * @param request Tax year, population file and grouping.
+     */
+    public MicrosimulationResponse simulate(MicrosimulationRequest request) {
+
+        Microsimulation microsimulation = new Microsimulation(
+                openPopulationFile(request.getPopulationFile()),
+                taxTableService.getCompiledTaxYear(request.getSelectedTaxYear()),
+                request.getGrouping(),
+                true).run();
+
+        // Summarize each group and add them up for the whole population
+        List<PopulationGroupSummary> groups = new ArrayList<>(microsimulation.getGroupCount());
+        long recordCount = 0;
+        double householdCount = 0.0;
+        double minGrossIncome = Double.POSITIVE_INFINITY;
+        double maxGrossIncome = Double.NEGATIVE_INFINITY;
+        double totalGrossIncome = 0.0;
+        double totalFederalTaxOwed = 0.0;
+        double totalEffectiveTaxRate = 0.0;
+        for (int group = 0; group < microsimulation.getGroupCount(); group++) {
+            groups.add(summarizeGroup(
+                    microsimulation.getGroupLabel(group),
+                    microsimulation.getRecordCount(group),
+                    microsimulation.getHouseholdCount(group),
+                    microsimulation.getMinGrossIncome(group),
+                    microsimulation.getMaxGrossIncome(group),
+                    microsimulation.getTotalGrossIncome(group),
+                    microsimulation.getTotalFederalTaxOwed(group),
+                    microsimulation.getTotalEffectiveTaxRate(group)));
+
+            if (microsimulation.getRecordCount(group) > 0) {
+                recordCount += microsimulation.getRecordCount(group);
+                householdCount += microsimulation.getHouseholdCount(group);
+                minGrossIncome = Math.min(minGrossIncome, microsimulation.getMinGrossIncome(group));
+                maxGrossIncome = Math.max(maxGrossIncome, microsimulation.getMaxGrossIncome(group));
+                totalGrossIncome += microsimulation.getTotalGrossIncome(group);
+                totalFederalTaxOwed += microsimulation.getTotalFederalTaxOwed(group);
+                totalEffectiveTaxRate += microsimulation.getTotalEffectiveTaxRate(group);
+            }
+        }
+
+        com.jack.tax.models.MicrosimulationResponse response = new com.jack.tax.models.MicrosimulationResponse();
+        response.setTaxYear(request.getSelectedTaxYear());
+        response.setGrouping(request.getGrouping());
+        response.setTotal(summarizeGroup("Total", recordCount, householdCount,
+                recordCount > 0 ? minGrossIncome : 0.0, recordCount > 0 ? maxGrossIncome : 0.0,
+                totalGrossIncome, totalFederalTaxOwed, totalEffectiveTaxRate));
+        response.setGroups(groups);
+        return response;
+    }
+
+    /**
+     * Compares federal tax owed under a draft tax table against current law for every household of the requested
+     * population file, in one fused pass on every available core.  The draft table is compiled on its own for
+     * this comparison only; it never reaches persistent storage or the cached tax tables.
+     *
+     * @param request Current law tax year, population file, and draft standard deductions and brackets.
+     */
+    public PolicyDiffResponse comparePolicies(PolicyDiffRequest request) {
+
+        CompiledTaxYear current = taxTableService.getCompiledTaxYear(request.getSelectedTaxYear());
+
+        // Compile the draft exactly like the stored tables, brackets sorted by tax rate
+        List<BracketDetails> draftBracketDetails = request.getDraftBracketDetails().stream()
+                .sorted(Comparator.comparingInt(BracketDetails::getTaxRate))
+                .map(BracketDetails.class::cast)
+                .toList();
+        validateDraftBrackets(draftBracketDetails);
+        TaxYearDetails draftTaxYearDetails = new com.jack.tax.models.TaxYearDetails();
+        draftTaxYearDetails.setTaxYear(request.getSelectedTaxYear());
+        draftTaxYearDetails.setStandardDeductionDetails(request.getDraftStandardDeductionDetails());
+        draftTaxYearDetails.setBracketDetails(draftBracketDetails);
+        CompiledTaxYear draft = TaxTableService.compileTaxYear(draftTaxYearDetails);
+
+        PolicyDiff policyDiff = new PolicyDiff(
+                openPopulationFile(request.getPopulationFile()), current, draft, true).run();
+
+        double householdCount = policyDiff.getHouseholdCount();
+        double winnerCount = policyDiff.getWinnerHouseholdCount();
+        double loserCount = policyDiff.getLoserHouseholdCount();
+
+        com.jack.tax.models.PolicyDiffResponse response = new com.jack.tax.models.PolicyDiffResponse();
+        response.setTaxYear(request.getSelectedTaxYear());
+        response.setRecordCount(policyDiff.getRecordCount());
+        response.setHouseholdCount(householdCount);
+        response.setCurrentRevenue(Money.roundToCents(policyDiff.getCurrentRevenue()));
+        response.setDraftRevenue(Money.roundToCents(policyDiff.getDraftRevenue()));
+        response.setRevenueChange(Money.roundToCents(policyDiff.getDraftRevenue() - policyDiff.getCurrentRevenue()));
+        response.setWinnerCount(winnerCount);
+        response.setAverageWinnerTaxChange(winnerCount > 0.0 ? Money.roundToCents(policyDiff.getWinnerTaxChange() / winnerCount) : 0.0);
+        response.setLoserCount(loserCount);
+        response.setAverageLoserTaxChange(loserCount > 0.0 ? Money.roundToCents(policyDiff.getLoserTaxChange() / loserCount) : 0.0);
+        response.setUnchangedCount(householdCount - winnerCount - loserCount);
+        return response;
+    }
+
+    /**
+     * Checks that, for every filing status, each draft bracket ends at or after it starts and does not start
+     * before the previous bracket ends.
+     *
+     * @param bracketDetails Draft brackets sorted by tax rate
+     */
+    protected void validateDraftBrackets(List<BracketDetails> bracketDetails) {
+
+        for (int bracketIndex = 0; bracketIndex < bracketDetails.size(); bracketIndex++) {
+
+            BracketDetails details = bracketDetails.get(bracketIndex);
+            BracketDetails previous = bracketIndex > 0 ? bracketDetails.get(bracketIndex - 1) : null;
+            if (details.getMaxIncomeSingle() < details.getMinIncomeSingle()
+                    || details.getMaxIncomeMFJ() < details.getMinIncomeMFJ()
+                    || details.getMaxIncomeMFS() < details.getMinIncomeMFS()
+                    || details.getMaxIncomeHOH() < details.getMinIncomeHOH()
+                    || (previous != null && (details.getMinIncomeSingle() < previous.getMaxIncomeSingle()
+                    || details.getMinIncomeMFJ() < previous.getMaxIncomeMFJ()
+                    || details.getMinIncomeMFS() < previous.getMaxIncomeMFS()
+                    || details.getMinIncomeHOH() < previous.getMaxIncomeHOH()))) {
+                throw new IllegalArgumentException("Draft bracket at " + details.getTaxRate()
+                        + "% overlaps another bracket or ends before it starts");
+            }
+        }
+    }
+
+    /**
+     * Maps the population file with the given name from the population directory.
+     *
+     * @param populationFile Name of the population file, relative to the population directory
+     */
+    protected PopulationFile openPopulationFile(String populationFile) {
+
+        // Only files inside the population directory can be simulated
+        Path path = populationDirectory.resolve(populationFile).normalize();
+        if (!path.startsWith(populationDirectory)) {
+            throw new IllegalArgumentException("Population file must be inside the population directory");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchElementException("Could not find population file " + populationFile);
+        }
+
+        try {
+            return PopulationFile.open(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read population file " + populationFile, e);
+        }
+    }
+
+    /**
+     * Summarizes one group of households, rounding the amounts to whole cents.
+     *
+     * @param label                 Label of the group
+     * @param recordCount           Number of records
+     * @param householdCount        Number of households (sum of the weights)
+     * @param minGrossIncome        Smallest gross income (USD)
+     * @param maxGrossIncome        Largest gross income (USD)
+     * @param totalGrossIncome      Weighted total gross income (USD)
+     * @param totalFederalTaxOwed   Weighted total federal tax owed (USD)
+     * @param totalEffectiveTaxRate Weighted sum of the effective tax rates (%)
+     */
+    protected PopulationGroupSummary summarizeGroup(String label,
+                                                    long recordCount,
+                                                    double householdCount,
+                                                    double minGrossIncome,
+                                                    double maxGrossIncome,
+                                                    double totalGrossIncome,
+                                                    double totalFederalTaxOwed,
+                                                    double totalEffectiveTaxRate) {
+
+        com.jack.tax.models.PopulationGroupSummary summary = new com.jack.tax.models.PopulationGroupSummary();
+        summary.setLabel(label);
+        summary.setRecordCount(recordCount);
+        summary.setHouseholdCount(householdCount);
+        summary.setMinGrossIncome(Money.roundToCents(minGrossIncome));
+        summary.setMaxGrossIncome(Money.roundToCents(maxGrossIncome));
+        summary.setTotalGrossIncome(Money.roundToCents(totalGrossIncome));
+        summary.setTotalFederalTaxOwed(Money.roundToCents(totalFederalTaxOwed));
+        summary.setAverageFederalTaxOwed(householdCount > 0.0 ? Money.roundToCents(totalFederalTaxOwed / householdCount) : 0.0);
+        summary.setAverageEffectiveTaxRate(householdCount > 0.0 ? Money.roundToCents(totalEffectiveTaxRate / householdCount) : 0.0);
+        return summary;
+    }
+}
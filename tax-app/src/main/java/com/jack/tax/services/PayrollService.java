@@ -0,0 +1,107 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.PayrollRun;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.EmployeeWithholding;
+import com.jack.tax.models.interfaces.PayrollEmployee;
+import com.jack.tax.models.interfaces.PayrollRunRequest;
+import com.jack.tax.models.interfaces.PayrollRunResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the business logic for payroll runs, which estimate the federal income tax to withhold from every
+ * employee's pay for one pay period against the cached compiled schedules.
+ */
+@Service
+public class PayrollService {
+
+    /**
+     * Provides the cached tax tables
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Creates a fully initialized Payroll Service using the given data.
+     *
+     * @param taxTableService Provides the cached standard deduction and tax bracket information
+     */
+    @Autowired
+    public PayrollService(TaxTableService taxTableService) {
+        this.taxTableService = taxTableService;
+    }
+
+    /**
+     * Calculates the withholding of every employee of the requested payroll run on every available core.
+     *
+     * @param request Tax year, pay frequency, and each employee's pay and year-to-date figures.
+     */
+    public PayrollRunResponse runPayroll(PayrollRunRequest request) {
+
+        CompiledTaxYear compiledTaxYear = taxTableService.getCompiledTaxYear(request.getSelectedTaxYear());
+        int payPeriodsPerYear = request.getPayFrequency().getPayPeriodsPerYear();
+
+        // Split the employees into columns for the engine
+        List<? extends PayrollEmployee> employees = request.getEmployees();
+        int employeeCount = employees.size();
+        FilingStatus[] filingStatuses = new FilingStatus[employeeCount];
+        int[] payPeriods = new int[employeeCount];
+        double[] grossPays = new double[employeeCount];
+        double[] ytdGrossPays = new double[employeeCount];
+        double[] ytdWithholdings = new double[employeeCount];
+        double[] totalDeductions = new double[employeeCount];
+        double[] totalCredits = new double[employeeCount];
+        for (int index = 0; index < employeeCount; index++) {
+
+            PayrollEmployee employee = employees.get(index);
+            if (employee.getPayPeriod() > payPeriodsPerYear) {
+                throw new IllegalArgumentException("Pay period of employee " + employee.getEmployeeId()
+                        + " must be at most " + payPeriodsPerYear + " when paid " + request.getPayFrequency());
+            }
+
+            filingStatuses[index] = employee.getFilingStatus();
+            payPeriods[index] = employee.getPayPeriod();
+            grossPays[index] = employee.getGrossPay();
+            ytdGrossPays[index] = employee.getYtdGrossPay();
+            ytdWithholdings[index] = employee.getYtdWithholding();
+            totalDeductions[index] = employee.getTotalDeductions();
+            totalCredits[index] = employee.getTotalCredits();
+        }
+
+        PayrollRun payrollRun = new PayrollRun(compiledTaxYear, payPeriodsPerYear, filingStatuses, payPeriods,
+                grossPays, ytdGrossPays, ytdWithholdings, totalDeductions, totalCredits).run(true);
+
+        // Report each employee's withholding in request order, along with the run totals
+        List<com.jack.tax.models.EmployeeWithholding> withholdings = new ArrayList<>(employeeCount);
+        double totalGrossPay = 0.0;
+        double totalWithholding = 0.0;
+        for (int index = 0; index < employeeCount; index++) {
+
+            com.jack.tax.models.EmployeeWithholding withholding = new com.jack.tax.models.EmployeeWithholding();
+            withholding.setEmployeeId(employees.get(index).getEmployeeId());
+            withholding.setGrossPay(grossPays[index]);
+            withholding.setAnnualizedWages(payrollRun.getAnnualizedWages(index));
+            withholding.setAnnualFederalTaxOwed(payrollRun.getAnnualFederalTaxOwed(index));
+            withholding.setWithholding(payrollRun.getWithholding(index));
+            withholdings.add(withholding);
+
+            totalGrossPay += grossPays[index];
+            totalWithholding += payrollRun.getWithholding(index);
+        }
+
+        com.jack.tax.models.PayrollRunResponse response = new com.jack.tax.models.PayrollRunResponse();
+        response.setTaxYear(compiledTaxYear.getTaxYear());
+        response.setProjected(compiledTaxYear.getSchedule(FilingStatus.SINGLE).isProjected());
+        response.setPayFrequency(request.getPayFrequency());
+        response.setEmployeeCount(employeeCount);
+        response.setTotalGrossPay(Money.roundToCents(totalGrossPay));
+        response.setTotalWithholding(Money.roundToCents(totalWithholding));
+        response.setWithholdings(withholdings);
+        return response;
+    }
+}
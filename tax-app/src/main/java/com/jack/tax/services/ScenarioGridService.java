@@ -0,0 +1,354 @@
+package com.jack.tax.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jack.tax.engine.ArrowStreamWriter;
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.ScenarioGrid;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.GridDimension;
+import com.jack.tax.models.interfaces.ScenarioGridRequest;
+import com.jack.tax.utils.AppConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Contains the business logic for scenario grids, which evaluate every combination of tax year, filing status,
+ * deductions, credits and gross income against the cached compiled schedules, and write the results out
+ * column by column without creating an object per cell.
+ */
+@Service
+public class ScenarioGridService {
+
+    /**
+     * Creates the streaming JSON generators
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Names of the grid dimensions, outermost first
+     */
+    private static final List<String> DIMENSION_NAMES =
+            List.of("taxYear", "filingStatus", "totalDeductions", "totalCredits", "grossIncome");
+
+    /**
+     * Provides the cached tax tables
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Creates a fully initialized Scenario Grid Service using the given data.
+     *
+     * @param taxTableService Provides the cached standard deduction and tax bracket information
+     */
+    @Autowired
+    public ScenarioGridService(TaxTableService taxTableService) {
+        this.taxTableService = taxTableService;
+    }
+
+    /**
+     * Evaluates every cell of the requested grid on every available core.  The compiled schedules are looked
+     * up once per tax year and filing status up front, never per cell.
+     *
+     * @param request Tax years, filing statuses, deductions, credits and gross incomes.
+     */
+    public ScenarioGrid evaluate(ScenarioGridRequest request) {
+
+        // Check the size of the grid before expanding any ranges
+        long cellCount = (long) request.getTaxYears().size() * request.getFilingStatuses().size();
+        cellCount *= getValueCount(request.getTotalDeductions(), "Deductions");
+        cellCount *= getValueCount(request.getTotalCredits(), "Credits");
+        cellCount *= getValueCount(request.getGrossIncomes(), "Gross incomes");
+        if (cellCount > AppConstants.MAX_GRID_CELL_COUNT) {
+            throw new IllegalArgumentException("Scenario grid has " + cellCount + " cells, more than the max of "
+                    + AppConstants.MAX_GRID_CELL_COUNT);
+        }
+
+        // Tax year is the outermost dimension, then filing status
+        CompiledTaxSchedule[] schedules = new CompiledTaxSchedule[request.getTaxYears().size()
+                * request.getFilingStatuses().size()];
+        int scheduleIndex = 0;
+        for (int taxYear : request.getTaxYears()) {
+            for (FilingStatus filingStatus : request.getFilingStatuses()) {
+                schedules[scheduleIndex++] = taxTableService.getCompiledTaxYear(taxYear).getSchedule(filingStatus);
+            }
+        }
+
+        return new ScenarioGrid(
+                schedules,
+                getValues(request.getTotalDeductions()),
+                getValues(request.getTotalCredits()),
+                getValues(request.getGrossIncomes()),
+                request.getQualifyingChildren()).evaluate(true);
+    }
+
+    /**
+     * Writes the given grid as one JSON object: the dimension names, the shape (number of values per
+     * dimension), the values of each dimension, and one array per output holding every cell in row-major
+     * order with the gross income varying fastest.
+     *
+     * @param request      Request the grid was evaluated for, whose tax years and filing statuses label the grid
+     * @param grid         Evaluated grid
+     * @param outputStream Receives the JSON
+     * @throws IOException If writing fails
+     */
+    public void writeJson(ScenarioGridRequest request, ScenarioGrid grid, OutputStream outputStream) throws IOException {
+
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+
+            generator.writeStartObject();
+
+            generator.writeArrayFieldStart("dimensions");
+            for (String dimensionName : DIMENSION_NAMES) {
+                generator.writeString(dimensionName);
+            }
+            generator.writeEndArray();
+
+            generator.writeFieldName("shape");
+            generator.writeArray(getShape(request, grid), 0, DIMENSION_NAMES.size());
+
+            generator.writeArrayFieldStart("taxYears");
+            for (int taxYear : request.getTaxYears()) {
+                generator.writeNumber(taxYear);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("filingStatuses");
+            for (FilingStatus filingStatus : request.getFilingStatuses()) {
+                generator.writeString(filingStatus.name());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("totalDeductions");
+            for (int index = 0; index < grid.getTotalDeductionsCount(); index++) {
+                generator.writeNumber(grid.getTotalDeductions(index));
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("totalCredits");
+            for (int index = 0; index < grid.getTotalCreditsCount(); index++) {
+                generator.writeNumber(grid.getTotalCredits(index));
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("grossIncomes");
+            for (int index = 0; index < grid.getGrossIncomeCount(); index++) {
+                generator.writeNumber(grid.getGrossIncome(index));
+            }
+            generator.writeEndArray();
+
+            generator.writeNumberField("cellCount", grid.getCellCount());
+
+            // One column per output
+            generator.writeArrayFieldStart("federalTaxOwed");
+            for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+                generator.writeNumber(grid.getFederalTaxOwed(cellIndex));
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("marginalTaxRate");
+            for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+                generator.writeNumber(grid.getMarginalTaxRate(cellIndex));
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("effectiveTaxRate");
+            for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+                generator.writeNumber(grid.getEffectiveTaxRate(cellIndex));
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("takeHomePay");
+            for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+                generator.writeNumber(grid.getTakeHomePay(cellIndex));
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the given grid as a binary matrix, big-endian throughout: the number of dimensions (int32), the
+     * shape (one int32 per dimension), the tax years (int32 each), the filing statuses (int32 ordinal each),
+     * the deductions, credits and gross incomes (float64 each), then the federal tax owed (float64 per cell),
+     * marginal tax rate (int32 per cell), effective tax rate (float64 per cell) and take home pay (float64 per
+     * cell) columns, each in row-major order with the gross income varying fastest.
+     *
+     * @param request      Request the grid was evaluated for, whose tax years and filing statuses label the grid
+     * @param grid         Evaluated grid
+     * @param outputStream Receives the matrix
+     * @throws IOException If writing fails
+     */
+    public void writeBinary(ScenarioGridRequest request, ScenarioGrid grid, OutputStream outputStream) throws IOException {
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+
+        output.writeInt(DIMENSION_NAMES.size());
+        for (int valueCount : getShape(request, grid)) {
+            output.writeInt(valueCount);
+        }
+        for (int taxYear : request.getTaxYears()) {
+            output.writeInt(taxYear);
+        }
+        for (FilingStatus filingStatus : request.getFilingStatuses()) {
+            output.writeInt(filingStatus.ordinal());
+        }
+        for (int index = 0; index < grid.getTotalDeductionsCount(); index++) {
+            output.writeDouble(grid.getTotalDeductions(index));
+        }
+        for (int index = 0; index < grid.getTotalCreditsCount(); index++) {
+            output.writeDouble(grid.getTotalCredits(index));
+        }
+        for (int index = 0; index < grid.getGrossIncomeCount(); index++) {
+            output.writeDouble(grid.getGrossIncome(index));
+        }
+
+        // One column per output
+        for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+            output.writeDouble(grid.getFederalTaxOwed(cellIndex));
+        }
+        for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+            output.writeInt(grid.getMarginalTaxRate(cellIndex));
+        }
+        for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+            output.writeDouble(grid.getEffectiveTaxRate(cellIndex));
+        }
+        for (int cellIndex = 0; cellIndex < grid.getCellCount(); cellIndex++) {
+            output.writeDouble(grid.getTakeHomePay(cellIndex));
+        }
+
+        output.flush();
+    }
+
+    /**
+     * Writes the given grid as an Arrow IPC stream with a row per cell, in row-major order with the gross income
+     * varying fastest: tax year (int32), filing status (utf8), total deductions, total credits and gross income
+     * (float64), then federal tax owed (float64), marginal tax rate (int32), effective tax rate (float64) and take
+     * home pay (float64).  The dimension columns are unpacked from the cell index and the outputs copied straight
+     * from the grid's arrays.
+     *
+     * @param request      Request the grid was evaluated for, whose tax years and filing statuses label the grid
+     * @param grid         Evaluated grid
+     * @param outputStream Receives the stream
+     * @throws IOException If writing fails
+     */
+    public void writeArrow(ScenarioGridRequest request, ScenarioGrid grid, OutputStream outputStream) throws IOException {
+
+        int[] taxYears = request.getTaxYears().stream().mapToInt(Integer::intValue).toArray();
+        byte[][] filingStatusNames = request.getFilingStatuses().stream()
+                .map(filingStatus -> filingStatus.name().getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+
+        // Cells per value of each dimension, i.e. the strides of the row-major order
+        int grossIncomeCount = grid.getGrossIncomeCount();
+        int creditsStride = grossIncomeCount;
+        int deductionsStride = creditsStride * grid.getTotalCreditsCount();
+        int scheduleStride = deductionsStride * grid.getTotalDeductionsCount();
+
+        BufferedOutputStream output = new BufferedOutputStream(outputStream, 1 << 16);
+        ArrowStreamWriter.write(output, List.of(
+                new ArrowStreamWriter.IntColumn("taxYear",
+                        cellIndex -> taxYears[cellIndex / scheduleStride / filingStatusNames.length]),
+                new ArrowStreamWriter.StringColumn("filingStatus",
+                        cellIndex -> filingStatusNames[cellIndex / scheduleStride % filingStatusNames.length]),
+                new ArrowStreamWriter.DoubleColumn("totalDeductions", cellIndex -> grid.getTotalDeductions(
+                        cellIndex / deductionsStride % grid.getTotalDeductionsCount())),
+                new ArrowStreamWriter.DoubleColumn("totalCredits", cellIndex -> grid.getTotalCredits(
+                        cellIndex / creditsStride % grid.getTotalCreditsCount())),
+                new ArrowStreamWriter.DoubleColumn("grossIncome",
+                        cellIndex -> grid.getGrossIncome(cellIndex % grossIncomeCount)),
+                new ArrowStreamWriter.DoubleColumn("federalTaxOwed", grid::getFederalTaxOwed),
+                new ArrowStreamWriter.IntColumn("marginalTaxRate", grid::getMarginalTaxRate),
+                new ArrowStreamWriter.DoubleColumn("effectiveTaxRate", grid::getEffectiveTaxRate),
+                new ArrowStreamWriter.DoubleColumn("takeHomePay", grid::getTakeHomePay)),
+                grid.getCellCount(), ArrowStreamWriter.DEFAULT_BATCH_ROW_COUNT);
+    }
+
+    /**
+     * Returns the number of values per dimension, outermost first.
+     *
+     * @param request Request the grid was evaluated for
+     * @param grid    Evaluated grid
+     */
+    private static int[] getShape(ScenarioGridRequest request, ScenarioGrid grid) {
+
+        return new int[]{
+                request.getTaxYears().size(),
+                request.getFilingStatuses().size(),
+                grid.getTotalDeductionsCount(),
+                grid.getTotalCreditsCount(),
+                grid.getGrossIncomeCount()};
+    }
+
+    /**
+     * Returns the number of values in the given dimension without expanding it.  A missing dimension has a
+     * single value of zero.
+     *
+     * @param dimension Grid dimension, or null
+     * @param name      Name of the dimension for error messages
+     */
+    protected long getValueCount(GridDimension dimension, String name) {
+
+        if (dimension == null) {
+            return 1;
+        }
+
+        // A dimension is either a list of values or a range, never both
+        boolean isRange = dimension.getStart() != null || dimension.getEnd() != null || dimension.getStep() != null;
+        if (dimension.getValues() != null) {
+            if (isRange || dimension.getValues().isEmpty()) {
+                throw new IllegalArgumentException(name + " must have either a non-empty list of values or a range");
+            }
+            for (Double value : dimension.getValues()) {
+                if (value == null || value < 0 || value > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException(name + " must be between " + AppConstants.MIN_USD_AMOUNT_AS_STR
+                            + " and " + AppConstants.MAX_USD_AMOUNT_AS_STR);
+                }
+            }
+            return dimension.getValues().size();
+        }
+
+        if (dimension.getStart() == null || dimension.getEnd() == null || dimension.getStep() == null) {
+            throw new IllegalArgumentException(name + " must have either a non-empty list of values or a range");
+        }
+        if (dimension.getEnd() < dimension.getStart()) {
+            throw new IllegalArgumentException(name + " range must not end before it starts");
+        }
+
+        // Allow for rounding errors in the division so a step that lands on the end includes it
+        return (long) Math.floor((dimension.getEnd() - dimension.getStart()) / dimension.getStep() + 1e-9) + 1;
+    }
+
+    /**
+     * Expands the given dimension into its values.  A missing dimension has a single value of zero.
+     *
+     * @param dimension Grid dimension, already checked by {@link #getValueCount(GridDimension, String)}, or null
+     */
+    protected double[] getValues(GridDimension dimension) {
+
+        if (dimension == null) {
+            return new double[]{0.0};
+        }
+
+        if (dimension.getValues() != null) {
+            return dimension.getValues().stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        // Multiply rather than accumulate the step so rounding errors do not build up along the range
+        double[] values = new double[(int) getValueCount(dimension, "Range")];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = dimension.getStart() + index * dimension.getStep();
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,201 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CreditRule;
+import com.jack.tax.engine.CreditRules;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.StateTaxSchedule;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.CreditRuleDetails;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.JurisdictionCalculation;
+import com.jack.tax.models.interfaces.StateBracketDetails;
+import com.jack.tax.models.interfaces.StateTaxTableDetails;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A state jurisdiction compiled from its stored state tax tables: a schedule per tax year and filing status, with
+ * the state's credit rules compiled into each.  The credit rules are parsed once per load, like the federal ones.
+ */
+public final class StateJurisdictionModule implements JurisdictionModule {
+
+    /**
+     * Code of the jurisdiction
+     */
+    private final String code;
+
+    /**
+     * Name of the jurisdiction
+     */
+    private final String name;
+
+    /**
+     * Compiled schedules indexed by filing status ordinal, keyed by tax year
+     */
+    private final Map<Integer, StateTaxSchedule[]> schedulesByYear;
+
+    /**
+     * Creates a state jurisdiction module using the given data.
+     *
+     * @param code            Code of the jurisdiction
+     * @param name            Name of the jurisdiction
+     * @param schedulesByYear Compiled schedules indexed by filing status ordinal, keyed by tax year
+     */
+    private StateJurisdictionModule(String code, String name, Map<Integer, StateTaxSchedule[]> schedulesByYear) {
+
+        this.code = code;
+        this.name = name;
+        this.schedulesByYear = Map.copyOf(schedulesByYear);
+    }
+
+    /**
+     * Compiles a state jurisdiction from its stored tax tables, one per tax year.
+     *
+     * @param code   Code of the jurisdiction
+     * @param tables Tax tables of the jurisdiction
+     * @throws RuntimeException If the brackets or credit rules of a tax year are not valid
+     */
+    public static StateJurisdictionModule compile(String code, List<? extends StateTaxTableDetails> tables) {
+
+        Map<Integer, StateTaxSchedule[]> schedulesByYear = new HashMap<>();
+        String name = code;
+        for (StateTaxTableDetails table : tables) {
+
+            // Keep the first table found for a year, same as the federal tables do
+            if (schedulesByYear.containsKey(table.getTaxYear())) {
+                continue;
+            }
+            if (table.getName() != null) {
+                name = table.getName();
+            }
+
+            try {
+                schedulesByYear.put(table.getTaxYear(), compileTaxYear(code, table));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Could not load the tax tables of jurisdiction " + code
+                        + " for tax year " + table.getTaxYear(), e);
+            }
+        }
+
+        return new StateJurisdictionModule(code, name, schedulesByYear);
+    }
+
+    /**
+     * Compiles a schedule for every filing status of the given tax table.
+     *
+     * @param code  Code of the jurisdiction
+     * @param table Tax table of the jurisdiction for one tax year
+     * @throws IllegalArgumentException If the brackets or credit rules are not valid
+     */
+    private static StateTaxSchedule[] compileTaxYear(String code, StateTaxTableDetails table) {
+
+        // Parse the credit rules once, to be compiled for each filing status
+        List<CreditRule> creditRules = new ArrayList<>();
+        for (CreditRuleDetails details : table.getCreditRuleDetails()) {
+            creditRules.add(CreditRule.parse(details.getName(), details.getExpression()));
+        }
+
+        List<? extends StateBracketDetails> bracketDetails = table.getBracketDetails();
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        StateTaxSchedule[] schedules = new StateTaxSchedule[filingStatuses.length];
+        for (FilingStatus filingStatus : filingStatuses) {
+
+            // Pick the bracket min incomes and standard deduction that pertain to the filing status; surviving
+            // spouses use the married-filing-jointly ones, as they do federally
+            double[] minIncomes = new double[bracketDetails.size()];
+            double[] taxRates = new double[bracketDetails.size()];
+            for (int bracketIndex = 0; bracketIndex < bracketDetails.size(); bracketIndex++) {
+                StateBracketDetails details = bracketDetails.get(bracketIndex);
+                taxRates[bracketIndex] = details.getTaxRate();
+                minIncomes[bracketIndex] = switch (filingStatus) {
+                    case SINGLE -> details.getMinIncomeSingle();
+                    case MARRIED_FILING_JOINTLY, SURVIVING_SPOUSE -> details.getMinIncomeMFJ();
+                    case MARRIED_FILING_SEPARATELY -> details.getMinIncomeMFS();
+                    case HEAD_OF_HOUSEHOLD -> details.getMinIncomeHOH();
+                };
+            }
+            double standardDeduction = switch (filingStatus) {
+                case SINGLE -> table.getStandardDeductionSingle();
+                case MARRIED_FILING_JOINTLY, SURVIVING_SPOUSE -> table.getStandardDeductionMfj();
+                case MARRIED_FILING_SEPARATELY -> table.getStandardDeductionMfs();
+                case HEAD_OF_HOUSEHOLD -> table.getStandardDeductionHoh();
+            };
+
+            schedules[filingStatus.ordinal()] = new StateTaxSchedule(code, table.getTaxYear(), filingStatus,
+                    standardDeduction, minIncomes, taxRates, CreditRules.compile(creditRules, filingStatus));
+        }
+
+        return schedules;
+    }
+
+    /**
+     * Returns the code of the jurisdiction.
+     */
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the name of the jurisdiction.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the tax years the jurisdiction has tax tables for, in descending order.
+     */
+    @Override
+    public List<Integer> getSupportedTaxYears() {
+
+        List<Integer> taxYears = new ArrayList<>(schedulesByYear.keySet());
+        taxYears.sort(Collections.reverseOrder());
+        return taxYears;
+    }
+
+    /**
+     * Calculates the state income tax for the selected tax year and filing status, starting from the federal
+     * adjusted gross income.  State credits are treated as nonrefundable, so they take the tax owed down to zero
+     * at most.  The user-entered credits are federal ones and are not applied.
+     *
+     * @param inputModel                 User-entered tax inputs.
+     * @param federalAdjustedGrossIncome Federal adjusted gross income (USD).
+     * @throws IllegalArgumentException If the jurisdiction has no tax tables for the selected tax year
+     */
+    @Override
+    public JurisdictionCalculation calculateTaxes(InputModel inputModel, double federalAdjustedGrossIncome) {
+
+        StateTaxSchedule[] schedules = schedulesByYear.get(inputModel.getSelectedTaxYear());
+        if (schedules == null) {
+            throw new IllegalArgumentException("Jurisdiction " + code + " has no tax tables for tax year "
+                    + inputModel.getSelectedTaxYear());
+        }
+        StateTaxSchedule schedule = schedules[inputModel.getSelectedFilingStatus().ordinal()];
+
+        // One binary search for the bracket, then the credits the state's credit rules grant
+        double taxableIncome = schedule.getTaxableIncome(federalAdjustedGrossIncome, inputModel.getTotalDeductions());
+        int bracketIndex = schedule.getBracketIndex(taxableIncome);
+        double incomeTax = schedule.getIncomeTax(taxableIncome, bracketIndex);
+        double calculatedCredits = schedule.getCreditRules().evaluate(
+                federalAdjustedGrossIncome, inputModel.getPreferentialIncome(), inputModel.getQualifyingChildren());
+        double taxOwed = Math.max(0.0, incomeTax - calculatedCredits);
+
+        com.jack.tax.models.JurisdictionCalculation calculation = new com.jack.tax.models.JurisdictionCalculation();
+        calculation.setJurisdiction(code);
+        calculation.setName(name);
+        calculation.setTaxYear(schedule.getTaxYear());
+        calculation.setTaxOwed(Money.roundToCents(taxOwed));
+        calculation.setMarginalTaxRate(schedule.getTaxRate(bracketIndex));
+        calculation.setEffectiveTaxRate(federalAdjustedGrossIncome == 0
+                ? 0.0
+                : Money.roundToCents(taxOwed / federalAdjustedGrossIncome * 100.0));
+        calculation.setCalculatedCredits(Money.roundToCents(calculatedCredits));
+        return calculation;
+    }
+}
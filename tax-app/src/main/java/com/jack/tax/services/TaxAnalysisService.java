@@ -0,0 +1,397 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.CreditRules;
+import com.jack.tax.engine.DeductionCurve;
+import com.jack.tax.engine.IncomeSampler;
+import com.jack.tax.engine.MonteCarloSimulation;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.TaxCurve;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.interfaces.DeductionAnalysis;
+import com.jack.tax.models.IncomeDistribution;
+import com.jack.tax.models.interfaces.DeductionSensitivitySegment;
+import com.jack.tax.models.interfaces.DistributionSummary;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.InverseCalculationRequest;
+import com.jack.tax.models.interfaces.InverseCalculationResponse;
+import com.jack.tax.models.interfaces.MonteCarloRequest;
+import com.jack.tax.models.interfaces.MonteCarloResponse;
+import com.jack.tax.models.interfaces.TaxCurveRequest;
+import com.jack.tax.models.interfaces.TaxCurveResponse;
+import com.jack.tax.models.interfaces.TaxCurveSegment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Contains the business logic for analyses that look at federal tax owed across many incomes at once.  They
+ * work directly on the piecewise linear tax function defined by the compiled schedules rather than by
+ * repeating calculations.
+ */
+@Service
+public class TaxAnalysisService {
+
+    /**
+     * Percentiles (%) reported for every simulated output
+     */
+    private static final double[] SIMULATION_PERCENTILES = {1, 5, 10, 25, 50, 75, 90, 95, 99};
+
+    /**
+     * Max number of times the gross income is solved again for the credits the credit rules grant at the previous
+     * solution
+     */
+    private static final int MAX_CREDIT_RULE_ITERATIONS = 32;
+
+    /**
+     * Provides the cached tax tables
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Performs the tax calculations for solved gross incomes
+     */
+    private final TaxCalculationService taxCalculationService;
+
+    /**
+     * Creates a fully initialized Tax Analysis Service using the given data.
+     *
+     * @param taxTableService       Provides the cached standard deduction and tax bracket information
+     * @param taxCalculationService Performs the tax calculations for solved gross incomes
+     */
+    @Autowired
+    public TaxAnalysisService(TaxTableService taxTableService, TaxCalculationService taxCalculationService) {
+
+        this.taxTableService = taxTableService;
+        this.taxCalculationService = taxCalculationService;
+    }
+
+    /**
+     * Returns federal tax owed across the requested range of gross incomes, as the linear segments of the tax
+     * function (clipped to the range) and, if requested, as evenly spaced samples.  The curve is for the entered
+     * credits only: credits the credit rules grant vary with gross income, so they are left out.
+     *
+     * @param request Tax year, filing status, deductions, credits, gross income range and sample count.
+     */
+    public TaxCurveResponse getTaxCurve(TaxCurveRequest request) {
+
+        if (request.getMaxGrossIncome() <= request.getMinGrossIncome()) {
+            throw new IllegalArgumentException("Max gross income must be greater than min gross income");
+        }
+
+        // Build the tax function from the bracket breakpoints of the compiled schedule
+        CompiledTaxSchedule schedule = taxTableService
+                .getCompiledTaxYear(request.getSelectedTaxYear())
+                .getSchedule(request.getSelectedFilingStatus());
+        TaxCurve taxCurve = new TaxCurve(
+                schedule,
+                request.getTotalDeductions(),
+                request.getTotalCredits());
+
+        // Collect the segments that overlap the requested range, clipped to it
+        List<TaxCurveSegment> segments = new ArrayList<>();
+        for (int segmentIndex = taxCurve.findSegmentIndex(request.getMinGrossIncome());
+             segmentIndex < taxCurve.getSegmentCount(); segmentIndex++) {
+
+            double start = Math.max(taxCurve.getSegmentStart(segmentIndex), request.getMinGrossIncome());
+            double end = Math.min(taxCurve.getSegmentEnd(segmentIndex), request.getMaxGrossIncome());
+            if (start >= request.getMaxGrossIncome()) {
+                break;
+            }
+            if (end > start) {
+                segments.add(new com.jack.tax.models.TaxCurveSegment(
+                        start,
+                        end,
+                        Money.roundToCents(taxCurve.getFederalTaxOwed(start, segmentIndex)),
+                        Money.roundToCents(taxCurve.getFederalTaxOwed(end, segmentIndex)),
+                        taxCurve.getSegmentTaxRate(segmentIndex)));
+            }
+        }
+
+        com.jack.tax.models.TaxCurveResponse response = new com.jack.tax.models.TaxCurveResponse();
+        response.setTaxYear(request.getSelectedTaxYear());
+        response.setFilingStatus(request.getSelectedFilingStatus());
+        response.setSegments(segments);
+
+        // Sample the curve if asked to
+        if (request.getSampleCount() != null) {
+
+            int sampleCount = request.getSampleCount();
+            double[] grossIncomes = new double[sampleCount];
+            double[] federalTaxOwed = new double[sampleCount];
+            double[] effectiveTaxRates = new double[sampleCount];
+            int[] marginalTaxRates = new int[sampleCount];
+            taxCurve.sample(request.getMinGrossIncome(), request.getMaxGrossIncome(),
+                    grossIncomes, federalTaxOwed, marginalTaxRates);
+
+            for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
+                double grossIncome = grossIncomes[sampleIndex];
+                effectiveTaxRates[sampleIndex] = grossIncome == 0
+                        ? 0.0
+                        : Money.roundToCents((federalTaxOwed[sampleIndex] / grossIncome) * 100.0);
+                federalTaxOwed[sampleIndex] = Money.roundToCents(federalTaxOwed[sampleIndex]);
+            }
+
+            response.setSamples(grossIncomes, federalTaxOwed, effectiveTaxRates, marginalTaxRates);
+        }
+
+        return response;
+    }
+
+    /**
+     * Solves for the lowest gross income at which take home pay, federal tax owed or the effective tax rate
+     * reaches the requested target value.  The tax function is inverted analytically, one linear segment at a
+     * time, and the solution is rounded up to whole cents so the target is met.
+     *
+     * <p>The credits the credit rules grant change with gross income, so the function is inverted for the rule
+     * credits at no income first, then again for the ones granted at each solution until they stop changing.
+     * Where a phase-out step makes the solutions alternate around the target instead, the lowest whole-cent
+     * gross income meeting it is found by bisection between the closest solutions that miss and meet it.
+     *
+     * @param request Tax year, filing status, deductions, credits, qualifying children, target output and target
+     *                value.
+     */
+    public InverseCalculationResponse solveForGrossIncome(InverseCalculationRequest request) {
+
+        CompiledTaxSchedule schedule = taxTableService
+                .getCompiledTaxYear(request.getSelectedTaxYear())
+                .getSchedule(request.getSelectedFilingStatus());
+        CreditRules creditRules = schedule.getCreditRules();
+
+        // Invert the tax function for the requested target, with the rule credits granted at the previous solution
+        double ruleCredits = creditRules.evaluate(0.0, 0.0, request.getQualifyingChildren());
+        double missedGrossIncome = -0.01;
+        double grossIncome = Double.NaN;
+        boolean solved = false;
+        for (int iteration = 0; iteration < MAX_CREDIT_RULE_ITERATIONS && !solved; iteration++) {
+
+            double solution = solve(schedule, request, request.getTotalCredits() + ruleCredits);
+            if (Double.isNaN(solution)) {
+                break;
+            }
+            solution = Money.roundUpToCents(solution);
+            double solutionRuleCredits = creditRules.evaluate(solution, 0.0, request.getQualifyingChildren());
+
+            // The rules grant the credits the solution was found for, so it is the lowest one meeting the target
+            solved = solutionRuleCredits == ruleCredits;
+            if (solved || reachesTarget(schedule, request, solution)) {
+                grossIncome = solved || Double.isNaN(grossIncome) ? solution : Math.min(grossIncome, solution);
+            } else {
+                missedGrossIncome = Math.max(missedGrossIncome, solution);
+            }
+            ruleCredits = solutionRuleCredits;
+        }
+
+        if (Double.isNaN(grossIncome)) {
+            throw new IllegalArgumentException(request.getTarget().getDescription() + " of "
+                    + request.getTargetValue() + " cannot be reached for tax year " + request.getSelectedTaxYear());
+        }
+
+        // Bisect (in whole cents) between the closest solutions that miss and meet the target
+        if (!solved) {
+            long missedCents = Math.round(missedGrossIncome * 100.0);
+            long reachedCents = Math.round(grossIncome * 100.0);
+            while (reachedCents - missedCents > 1) {
+                long cents = (missedCents + reachedCents) >>> 1;
+                if (reachesTarget(schedule, request, cents / 100.0)) {
+                    reachedCents = cents;
+                } else {
+                    missedCents = cents;
+                }
+            }
+            grossIncome = reachedCents / 100.0;
+        }
+
+        // Calculate taxes at the solved gross income so the caller can see every output
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(request.getSelectedTaxYear());
+        inputModel.setSelectedFilingStatus(request.getSelectedFilingStatus());
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(request.getTotalDeductions());
+        inputModel.setTotalCredits(request.getTotalCredits());
+        inputModel.setQualifyingChildren(request.getQualifyingChildren());
+
+        return new com.jack.tax.models.InverseCalculationResponse(
+                request.getTarget(),
+                request.getTargetValue(),
+                grossIncome,
+                taxCalculationService.calculateTaxes(inputModel));
+    }
+
+    /**
+     * Returns the lowest gross income (USD, unrounded) at which the requested output reaches the target value
+     * for the given total credits, or NaN if it is never reached.
+     *
+     * @param schedule     Compiled schedule for the tax year and filing status
+     * @param request      Deductions, target output and target value
+     * @param totalCredits Total credits (USD), including the ones the credit rules grant
+     */
+    protected double solve(CompiledTaxSchedule schedule, InverseCalculationRequest request, double totalCredits) {
+
+        TaxCurve taxCurve = new TaxCurve(schedule, request.getTotalDeductions(), totalCredits);
+
+        return switch (request.getTarget()) {
+            case TAKE_HOME_PAY -> taxCurve.solveForTakeHomePay(request.getTargetValue());
+            case FEDERAL_TAX_OWED -> taxCurve.solveForFederalTaxOwed(request.getTargetValue());
+            case EFFECTIVE_TAX_RATE -> taxCurve.solveForEffectiveTaxRate(request.getTargetValue());
+        };
+    }
+
+    /**
+     * Returns true if the requested output reaches the target value at the given gross income, with the credits
+     * the credit rules grant at that income.
+     *
+     * @param schedule    Compiled schedule for the tax year and filing status
+     * @param request     Deductions, credits, qualifying children, target output and target value
+     * @param grossIncome Gross income (USD)
+     */
+    protected boolean reachesTarget(CompiledTaxSchedule schedule, InverseCalculationRequest request, double grossIncome) {
+
+        double federalTaxOwed = TaxEngine.federalTaxOwed(schedule, grossIncome, request.getTotalDeductions(),
+                request.getTotalCredits()
+                        + schedule.getCreditRules().evaluate(grossIncome, 0.0, request.getQualifyingChildren()));
+        double output = switch (request.getTarget()) {
+            case TAKE_HOME_PAY -> grossIncome - federalTaxOwed;
+            case FEDERAL_TAX_OWED -> federalTaxOwed;
+            case EFFECTIVE_TAX_RATE -> grossIncome <= 0.0 ? 0.0 : (federalTaxOwed / grossIncome) * 100.0;
+        };
+
+        return output >= request.getTargetValue();
+    }
+
+    /**
+     * Analyzes how federal tax owed responds to itemized deductions for the given inputs: the breakeven amount
+     * beyond which itemizing beats the standard deduction, the tax saved by the entered deductions, and the tax
+     * saved per extra dollar of deductions across every range of deductions.  Everything comes from the
+     * bracket breakpoints of the compiled schedule.
+     *
+     * @param inputModel Encapsulates user entered data about gross income, filing status, deductions, credits and
+     *                   qualifying children for a specified tax year.
+     * @throws IllegalArgumentException if the inputs include preferential income, which the bracket breakpoints
+     *                                  alone do not describe
+     */
+    public DeductionAnalysis analyzeDeductions(InputModel inputModel) {
+
+        // The curve only walks the ordinary brackets, so it cannot price deductions against stacked preferential income
+        if (inputModel.getPreferentialIncome() > 0.0) {
+            throw new IllegalArgumentException("Deduction analysis does not support preferential income");
+        }
+
+        CompiledTaxSchedule schedule = taxTableService
+                .getCompiledTaxYear(inputModel.getSelectedTaxYear())
+                .getSchedule(inputModel.getSelectedFilingStatus());
+
+        // The credit rules depend on the gross income rather than the deductions, so they are evaluated once
+        double ruleCredits = schedule.getCreditRules().evaluate(
+                inputModel.getGrossIncome(), inputModel.getPreferentialIncome(), inputModel.getQualifyingChildren());
+        DeductionCurve deductionCurve = new DeductionCurve(
+                schedule,
+                inputModel.getGrossIncome(),
+                inputModel.getTotalCredits() + ruleCredits);
+
+        // Convert the segments of the deduction curve
+        List<DeductionSensitivitySegment> segments = new ArrayList<>(deductionCurve.getSegmentCount());
+        for (int segmentIndex = 0; segmentIndex < deductionCurve.getSegmentCount(); segmentIndex++) {
+            double start = deductionCurve.getSegmentStart(segmentIndex);
+            double end = deductionCurve.getSegmentEnd(segmentIndex);
+            segments.add(new com.jack.tax.models.DeductionSensitivitySegment(
+                    start,
+                    end,
+                    Money.roundToCents(deductionCurve.getFederalTaxOwed(start, segmentIndex)),
+                    Money.roundToCents(deductionCurve.getFederalTaxOwed(end, segmentIndex)),
+                    deductionCurve.getSegmentSavingsRate(segmentIndex),
+                    deductionCurve.isItemizedSegment(segmentIndex)));
+        }
+
+        // Compare the entered deductions with taking the standard deduction
+        int segmentIndex = deductionCurve.findSegmentIndex(inputModel.getTotalDeductions());
+        double federalTaxOwed = deductionCurve.getFederalTaxOwed(inputModel.getTotalDeductions(), segmentIndex);
+        double federalTaxOwedWithStandardDeduction = deductionCurve.getFederalTaxOwed(0.0, 0);
+
+        com.jack.tax.models.DeductionAnalysis deductionAnalysis = new com.jack.tax.models.DeductionAnalysis();
+        deductionAnalysis.setTaxYear(schedule.getTaxYear());
+        deductionAnalysis.setFilingStatus(inputModel.getSelectedFilingStatus());
+        deductionAnalysis.setBreakevenItemizedDeductions(deductionCurve.getStandardDeduction());
+        deductionAnalysis.setItemizing(inputModel.getTotalDeductions() > deductionCurve.getStandardDeduction());
+        deductionAnalysis.setFederalTaxOwed(Money.roundToCents(federalTaxOwed));
+        deductionAnalysis.setTaxSavedByItemizing(Money.roundToCents(federalTaxOwedWithStandardDeduction - federalTaxOwed));
+        deductionAnalysis.setMarginalTaxSavingsRate(inputModel.getTotalDeductions() < deductionCurve.getSegmentEnd(segmentIndex)
+                ? deductionCurve.getSegmentSavingsRate(segmentIndex)
+                : 0);
+        deductionAnalysis.setMarginalTaxSavingsRateEndDeductions(deductionCurve.getSegmentEnd(segmentIndex));
+        deductionAnalysis.setSegments(segments);
+        return deductionAnalysis;
+    }
+
+    /**
+     * Simulates federal tax owed and take home pay when the salary and bonus are uncertain, by drawing the
+     * requested number of random incomes on every available core.  Only the distribution of each output
+     * (moments, percentiles and a histogram) is returned; no per-sample calculations are kept.
+     *
+     * @param request Tax year, filing status, deductions, credits, qualifying children, salary and bonus
+     *                distributions, sample count, histogram bin count and optional seed.
+     */
+    public MonteCarloResponse simulateIncomeUncertainty(MonteCarloRequest request) {
+
+        CompiledTaxSchedule schedule = taxTableService
+                .getCompiledTaxYear(request.getSelectedTaxYear())
+                .getSchedule(request.getSelectedFilingStatus());
+        IncomeSampler incomeSampler = new IncomeSampler(
+                request.getSalaryDistribution() == IncomeDistribution.LOGNORMAL,
+                request.getExpectedSalary(),
+                request.getSalaryStandardDeviation(),
+                request.getExpectedBonus(),
+                request.getBonusStandardDeviation());
+
+        // Pick a seed if none was given and report it so the simulation can be repeated
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        MonteCarloSimulation simulation = new MonteCarloSimulation(
+                schedule,
+                request.getTotalDeductions(),
+                request.getTotalCredits(),
+                request.getQualifyingChildren(),
+                incomeSampler,
+                request.getSampleCount(),
+                seed,
+                true).run(request.getHistogramBinCount());
+
+        com.jack.tax.models.MonteCarloResponse response = new com.jack.tax.models.MonteCarloResponse();
+        response.setTaxYear(schedule.getTaxYear());
+        response.setFilingStatus(request.getSelectedFilingStatus());
+        response.setSampleCount(simulation.getSampleCount());
+        response.setSeed(seed);
+        response.setGrossIncome(summarizeDistribution(simulation, MonteCarloSimulation.GROSS_INCOME));
+        response.setFederalTaxOwed(summarizeDistribution(simulation, MonteCarloSimulation.FEDERAL_TAX_OWED));
+        response.setTakeHomePay(summarizeDistribution(simulation, MonteCarloSimulation.TAKE_HOME_PAY));
+        return response;
+    }
+
+    /**
+     * Converts the distribution of one simulated output, rounding the amounts to whole cents.
+     *
+     * @param simulation Simulation that has been run
+     * @param output     Index of the output, e.g. {@link MonteCarloSimulation#FEDERAL_TAX_OWED}
+     */
+    protected DistributionSummary summarizeDistribution(MonteCarloSimulation simulation, int output) {
+
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : SIMULATION_PERCENTILES) {
+            percentiles.put("p" + (int) percentile, Money.roundToCents(simulation.getPercentile(output, percentile)));
+        }
+
+        com.jack.tax.models.DistributionSummary summary = new com.jack.tax.models.DistributionSummary();
+        summary.setMean(Money.roundToCents(simulation.getMean(output)));
+        summary.setStandardDeviation(Money.roundToCents(simulation.getStandardDeviation(output)));
+        summary.setMin(Money.roundToCents(simulation.getMin(output)));
+        summary.setMax(Money.roundToCents(simulation.getMax(output)));
+        summary.setPercentiles(percentiles);
+        summary.setHistogramBinWidth(simulation.getHistogramBinWidth(output));
+        summary.setHistogramCounts(simulation.getHistogramCounts(output));
+        return summary;
+    }
+}
@@ -0,0 +1,589 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.CreditRules;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.TaxCalculation;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.DeductionRegime;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.BracketExplanation;
+import com.jack.tax.models.interfaces.CalculationExplanation;
+import com.jack.tax.models.interfaces.FilingStatusCalculation;
+import com.jack.tax.models.interfaces.FilingStatusComparison;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.models.interfaces.TaxYearDetails;
+import com.jack.tax.utils.AppConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Contains the business logic for calculating federal taxes owed based on user-entered data.
+ */
+@Service
+public class TaxCalculationService {
+
+    /**
+     * Provides the cached tax tables
+     */
+    private final TaxTableService taxTableService;
+
+    /**
+     * Creates a fully initialized Tax Calculation Service using the given data.
+     *
+     * @param taxTableService Provides the cached standard deduction and tax bracket information
+     */
+    @Autowired
+    public TaxCalculationService(TaxTableService taxTableService) {
+
+        this.taxTableService = taxTableService;
+    }
+
+    /**
+     * Returns the tax years that are supported (based on what is loaded in persistent storage) in a list.
+     */
+    public List<Integer> getSupportedTaxYears() {
+
+        return taxTableService.getSupportedTaxYears();
+    }
+
+    /**
+     * Returns the supported tax years whose tables are projected by inflation rather than stored, in a list.
+     */
+    public List<Integer> getProjectedTaxYears() {
+
+        return taxTableService.getProjectedTaxYears();
+    }
+
+    /**
+     * Uses the user-entered tax inputs to calculate and return federal tax owed, marginal tax rate,
+     * effective tax rate, and take home pay in an output model.
+     *
+     * @param inputModel User-entered tax inputs.
+     */
+    public OutputModel calculateTaxes(InputModel inputModel) {
+
+        return calculateTaxes(inputModel, false);
+    }
+
+    /**
+     * Uses the user-entered tax inputs to calculate and return federal tax owed, marginal tax rate,
+     * effective tax rate, and take home pay in an output model, optionally along with how close the income is
+     * to the neighbouring bracket thresholds and what the next increment of income would be taxed.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param includeMarginalSensitivity True to also populate the marginal sensitivity fields.
+     */
+    public OutputModel calculateTaxes(InputModel inputModel, boolean includeMarginalSensitivity) {
+
+        return calculateTaxes(inputModel, includeMarginalSensitivity, false);
+    }
+
+    /**
+     * Uses the user-entered tax inputs to calculate and return federal tax owed, marginal tax rate,
+     * effective tax rate, and take home pay in an output model, optionally along with the marginal sensitivity
+     * and an explanation of how the calculation was reached.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param includeMarginalSensitivity True to also populate the marginal sensitivity fields.
+     * @param explain True to also explain the deduction regime and the income and tax in each bracket.
+     */
+    public OutputModel calculateTaxes(InputModel inputModel, boolean includeMarginalSensitivity, boolean explain) {
+
+        // Get the cached, compiled schedule for the selected tax year and filing status
+        CompiledTaxSchedule schedule = taxTableService
+                .getCompiledTaxYear(inputModel.getSelectedTaxYear())
+                .getSchedule(inputModel.getSelectedFilingStatus());
+
+        return calculateTaxes(inputModel, schedule, includeMarginalSensitivity, explain);
+    }
+
+    /**
+     * Uses the user-entered tax inputs to calculate federal tax owed, marginal tax rate, effective tax rate,
+     * and take home pay for every supported tax year.  The selected tax year on the input model is ignored.
+     * The years are evaluated in parallel against the cached tax tables.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @return One output model per supported tax year, in descending tax year order.
+     */
+    public List<OutputModel> calculateTaxesForAllYears(InputModel inputModel) {
+
+        return getSupportedTaxYears()
+                .parallelStream()
+                .map(taxYear -> calculateTaxes(inputModel, taxTableService
+                        .getCompiledTaxYear(taxYear)
+                        .getSchedule(inputModel.getSelectedFilingStatus())))
+                .toList();
+    }
+
+    /**
+     * Uses the user-entered tax inputs to calculate federal tax owed, marginal tax rate, effective tax rate,
+     * and take home pay for every filing status, and picks the filing status with the least federal tax owed.
+     * The selected filing status on the input model is ignored.  The best filing status is picked on the unrounded
+     * calculations, and each output model is only rounded once it is first read (e.g. when the response is
+     * written), so the comparison itself costs little more than the calculations.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param eligibleFilingStatuses Filing statuses the user may choose from when picking the best one.
+     *                               Null or empty means all of them.
+     */
+    public FilingStatusComparison compareFilingStatuses(InputModel inputModel, List<FilingStatus> eligibleFilingStatuses) {
+
+        if (inputModel.getPreferentialIncome() > inputModel.getGrossIncome()) {
+            throw new IllegalArgumentException("Preferential income must not exceed gross income");
+        }
+
+        // All filing statuses share the one compiled tax year
+        CompiledTaxYear compiledTaxYear = taxTableService.getCompiledTaxYear(inputModel.getSelectedTaxYear());
+
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        List<FilingStatusCalculation> calculations = new ArrayList<>(filingStatuses.length);
+        FilingStatusCalculation bestCalculation = null;
+        double bestFederalTaxOwed = 0.0;
+        for (FilingStatus filingStatus : filingStatuses) {
+
+            // Every filing status is calculated on its own schedule: even surviving spouses, who share the joint
+            // filers' brackets, have an Additional Medicare threshold of their own
+            CompiledTaxSchedule schedule = compiledTaxYear.getSchedule(filingStatus);
+            double calculatedCredits = evaluateCreditRules(inputModel, schedule);
+            LazyOutputModel outputModel = new LazyOutputModel(schedule, calculate(inputModel, schedule, calculatedCredits),
+                    calculatedCredits);
+
+            FilingStatusCalculation calculation = new com.jack.tax.models.FilingStatusCalculation(filingStatus, outputModel);
+            calculations.add(calculation);
+
+            // Keep track of the eligible filing status with the least federal tax owed (the first one wins a tie)
+            boolean eligible = eligibleFilingStatuses == null
+                    || eligibleFilingStatuses.isEmpty()
+                    || eligibleFilingStatuses.contains(filingStatus);
+            double federalTaxOwed = outputModel.taxCalculation.getFederalTaxOwed();
+            if (eligible && (bestCalculation == null || federalTaxOwed < bestFederalTaxOwed)) {
+                bestCalculation = calculation;
+                bestFederalTaxOwed = federalTaxOwed;
+            }
+        }
+
+        FilingStatusComparison comparison = new com.jack.tax.models.FilingStatusComparison();
+        comparison.setCalculations(calculations);
+        comparison.setBestCalculation(bestCalculation);
+        return comparison;
+    }
+
+    /**
+     * Uses the user-entered tax inputs and the given compiled schedule to calculate and return federal tax owed,
+     * marginal tax rate, effective tax rate, and take home pay in an output model.  The tax year and filing status
+     * used are the ones the schedule was compiled for.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param schedule Compiled schedule to calculate against.
+     */
+    protected OutputModel calculateTaxes(InputModel inputModel, CompiledTaxSchedule schedule) {
+
+        return calculateTaxes(inputModel, schedule, false, false);
+    }
+
+    /**
+     * Uses the user-entered tax inputs and the given compiled schedule to calculate and return federal tax owed,
+     * marginal tax rate, effective tax rate, and take home pay in an output model, optionally along with the
+     * marginal sensitivity and explanation.  The tax year and filing status used are the ones the schedule was
+     * compiled for.  Nothing beyond the output model is allocated unless the extras are requested.  Qualified
+     * dividends and long-term capital gains are stacked on top of the ordinary income and taxed at the
+     * preferential rates.  The credits the tax year's credit rules grant are applied on top of the credits entered.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param schedule Compiled schedule to calculate against.
+     * @param includeMarginalSensitivity True to also populate the marginal sensitivity fields.
+     * @param explain True to also explain the deduction regime and the income and tax in each bracket.
+     */
+    protected OutputModel calculateTaxes(InputModel inputModel,
+                                         CompiledTaxSchedule schedule,
+                                         boolean includeMarginalSensitivity,
+                                         boolean explain) {
+
+        if (inputModel.getPreferentialIncome() > inputModel.getGrossIncome()) {
+            throw new IllegalArgumentException("Preferential income must not exceed gross income");
+        }
+
+        // Work out the credits the compiled credit rules grant, phase-outs included
+        CreditRules creditRules = schedule.getCreditRules();
+        double calculatedCredits = evaluateCreditRules(inputModel, schedule);
+
+        // Compute the taxable income, max tax bracket and federal tax owed after credits
+        TaxCalculation taxCalculation = calculate(inputModel, schedule, calculatedCredits);
+
+        // Initialize and populate an output tax model with the rounded results
+        OutputModel outputModel = createOutputModel(schedule, taxCalculation);
+        outputModel.setCalculatedCredits(Money.roundToCents(calculatedCredits));
+
+        // Only when asked, reuse the max tax bracket found above to work out the marginal sensitivity
+        if (includeMarginalSensitivity) {
+            TaxEngine.calculateMarginalSensitivity(
+                    schedule,
+                    inputModel.getTotalDeductions(),
+                    AppConstants.MARGINAL_INCOME_INCREMENT,
+                    taxCalculation);
+            // Credits phasing out as income grows take back part of the next increment too
+            double taxOnNextIncrement = taxCalculation.getTaxOnNextIncrement() + calculatedCredits - creditRules.evaluate(
+                    inputModel.getGrossIncome() + AppConstants.MARGINAL_INCOME_INCREMENT,
+                    inputModel.getPreferentialIncome(),
+                    inputModel.getQualifyingChildren());
+            if (taxCalculation.getDistanceToNextThreshold() != Double.POSITIVE_INFINITY) {
+                outputModel.setDistanceToNextThreshold(Money.roundToCents(taxCalculation.getDistanceToNextThreshold()));
+            }
+            outputModel.setDistanceToPreviousThreshold(Money.roundToCents(taxCalculation.getDistanceToPreviousThreshold()));
+            outputModel.setTaxOnNextIncrement(Money.roundToCents(taxOnNextIncrement));
+            outputModel.setTakeHomePayOnNextIncrement(Money.roundToCents(
+                    AppConstants.MARGINAL_INCOME_INCREMENT - taxOnNextIncrement));
+        }
+
+        // Only when asked, trace how the taxable income and income tax were reached
+        if (explain) {
+            outputModel.setExplanation(explainCalculation(inputModel, schedule, taxCalculation));
+        }
+
+        return outputModel;
+    }
+
+    /**
+     * Returns the credits the schedule's credit rules grant for the given inputs, phase-outs included.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param schedule Compiled schedule whose credit rules to evaluate.
+     */
+    private static double evaluateCreditRules(InputModel inputModel, CompiledTaxSchedule schedule) {
+
+        return schedule.getCreditRules().evaluate(
+                inputModel.getGrossIncome(), inputModel.getPreferentialIncome(), inputModel.getQualifyingChildren());
+    }
+
+    /**
+     * Computes the taxable income, max tax bracket and federal tax owed after the credits entered and the given
+     * calculated credits, unrounded.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param schedule Compiled schedule to calculate against.
+     * @param calculatedCredits Credits the schedule's credit rules grant (USD).
+     */
+    private static TaxCalculation calculate(InputModel inputModel, CompiledTaxSchedule schedule, double calculatedCredits) {
+
+        return TaxEngine.calculate(
+                schedule,
+                inputModel.getGrossIncome(),
+                inputModel.getPreferentialIncome(),
+                inputModel.getTotalDeductions(),
+                inputModel.getTotalCredits() + calculatedCredits,
+                new TaxCalculation());
+    }
+
+    /**
+     * Initializes and populates an output tax model from the given calculation, rounding the amounts and rates
+     * to a precision of 2.
+     *
+     * @param schedule Compiled schedule the calculation was made against.
+     * @param taxCalculation Calculation to report.
+     */
+    protected OutputModel createOutputModel(CompiledTaxSchedule schedule, TaxCalculation taxCalculation) {
+
+        OutputModel outputModel = new com.jack.tax.models.OutputModel();
+        outputModel.setTaxYear(schedule.getTaxYear());
+        outputModel.setProjected(schedule.isProjected());
+        outputModel.setFederalTaxOwed(Money.roundToCents(taxCalculation.getFederalTaxOwed()));
+        outputModel.setMarginalTaxRate(taxCalculation.getMarginalTaxRate());
+        outputModel.setEffectiveTaxRate(Money.roundToCents(taxCalculation.getEffectiveTaxRate()));
+        outputModel.setTakeHomePay(Money.roundToCents(taxCalculation.getTakeHomePay()));
+        outputModel.setSocialSecurityTax(Money.roundToCents(taxCalculation.getSocialSecurityTax()));
+        outputModel.setMedicareTax(Money.roundToCents(taxCalculation.getMedicareTax()));
+        outputModel.setAdditionalMedicareTax(Money.roundToCents(taxCalculation.getAdditionalMedicareTax()));
+        outputModel.setPayrollTaxOwed(Money.roundToCents(taxCalculation.getPayrollTaxOwed()));
+        outputModel.setCapitalGainsTax(Money.roundToCents(taxCalculation.getCapitalGainsTax()));
+        outputModel.setCapitalGainsTaxRate(taxCalculation.getCapitalGainsTaxRate());
+        return outputModel;
+    }
+
+    /**
+     * Explains the given calculation: which deduction regime won, and the income and tax in each bracket up to
+     * the max tax bracket, accumulated in the same order as the calculation so the bracket taxes and the capital
+     * gains tax add up to it.  The brackets only hold the ordinary taxable income; the preferential taxable income
+     * is stacked on top of it.  The total credits are the ones entered plus the ones the credit rules granted.
+     *
+     * @param inputModel User-entered tax inputs.
+     * @param schedule Compiled schedule the calculation was made against.
+     * @param taxCalculation Calculation to explain.
+     */
+    protected CalculationExplanation explainCalculation(InputModel inputModel,
+                                                        CompiledTaxSchedule schedule,
+                                                        TaxCalculation taxCalculation) {
+
+        double ordinaryTaxableIncome = taxCalculation.getOrdinaryTaxableIncome();
+        int maxTaxBracketIndex = taxCalculation.getMaxTaxBracketIndex();
+
+        // Every bracket below the max tax bracket is filled; income in the gaps between brackets is not taxed
+        List<BracketExplanation> brackets = new ArrayList<>(maxTaxBracketIndex + 1);
+        for (int bracketIndex = 0; bracketIndex <= maxTaxBracketIndex; bracketIndex++) {
+            double minIncome = schedule.getMinIncome(bracketIndex);
+            double maxIncome = schedule.getMaxIncome(bracketIndex);
+            double applicableIncome = bracketIndex < maxTaxBracketIndex
+                    ? maxIncome - minIncome
+                    : Math.max(0.0, ordinaryTaxableIncome - minIncome);
+            brackets.add(new com.jack.tax.models.BracketExplanation(
+                    schedule.getTaxRate(bracketIndex),
+                    minIncome,
+                    maxIncome,
+                    Money.roundToCents(applicableIncome),
+                    Money.roundToCents(applicableIncome * schedule.getRateFraction(bracketIndex))));
+        }
+
+        com.jack.tax.models.CalculationExplanation explanation = new com.jack.tax.models.CalculationExplanation();
+        explanation.setGrossIncome(inputModel.getGrossIncome());
+        explanation.setStandardDeduction(schedule.getStandardDeduction());
+        explanation.setTotalDeductions(inputModel.getTotalDeductions());
+        explanation.setDeductionRegime(inputModel.getTotalDeductions() > schedule.getStandardDeduction()
+                ? DeductionRegime.ITEMIZED
+                : DeductionRegime.STANDARD);
+        explanation.setTaxableIncome(Money.roundToCents(taxCalculation.getTaxableIncome()));
+        explanation.setBrackets(brackets);
+        explanation.setCapitalGainsTax(Money.roundToCents(taxCalculation.getCapitalGainsTax()));
+        explanation.setIncomeTaxBeforeCredits(Money.roundToCents(taxCalculation.getIncomeTaxBeforeCredits()));
+        explanation.setTotalCredits(Money.roundToCents(
+                taxCalculation.getIncomeTaxBeforeCredits() - taxCalculation.getFederalTaxOwed()));
+        return explanation;
+    }
+
+    /**
+     * Returns the cached tax year details for the given tax year.
+     *
+     * @param taxYear Tax year for which we want tax details.
+     */
+    protected TaxYearDetails getTaxYearDetails(int taxYear) {
+
+        return taxTableService.getTaxYearDetails(taxYear);
+    }
+
+    /**
+     * Uses the given data to compute taxable income (USD).
+     * @param inputModel User-entered tax inputs
+     * @param standardDeductionDetails Standard deduction details for a given tax year
+     */
+    protected double getTaxableIncome(InputModel inputModel, com.jack.tax.models.interfaces.StandardDeductionDetails standardDeductionDetails) {
+
+        double taxableIncome = 0.0;
+        double taxableIncomeWithItemizedDeductions = inputModel.getGrossIncome() - inputModel.getTotalDeductions();
+        double standardDeductionForFilingStatus = getStandardDeductionForFilingStatus(
+                inputModel.getSelectedFilingStatus(), standardDeductionDetails);
+
+        // If the gross income exceeds the standard deduction then there will be applicable taxes
+        // so these computations are necessary.  Should this evaluate to false then taxable income was
+        // already initialized to zero so that is what would be returned in that case.
+        if (inputModel.getGrossIncome() > standardDeductionForFilingStatus) {
+
+            // Compute what the taxable income would be with the standard deduction
+            double taxableIncomeWithStandardDeduction = inputModel.getGrossIncome() - standardDeductionForFilingStatus;
+
+            // Take the more advantageous taxable income (itemization vs standard deduction)
+            taxableIncome = Math.min(taxableIncomeWithItemizedDeductions, taxableIncomeWithStandardDeduction);
+        }
+
+        // Most likely this won't be needed, but just in case taxableIncomeWithItemizedDeductions
+        // happens to be negative, we'll force taxableIncome to be zero.  We're ignoring the rule
+        // about the itemized deduction amount being limited to a certain percentage of income because
+        // the real purpose of this app is to provide an approximation, and it is expected that the
+        // user will adhere to entering plausible values.  The main point is to avoid a
+        // situation of having this app output that the taxable income is negative.
+        taxableIncome = Math.max(0, taxableIncome);
+
+        return taxableIncome;
+    }
+
+    /**
+     * Gets the numerical zero-based index for the max tax bracket applicable to the user based
+     * on their taxable income and filing status.
+     *
+     * @param filingStatus   Filing status enum
+     * @param bracketDetails Tax bracket details for a particular tax year
+     * @param taxableIncome  Taxable income (USD)
+     */
+    protected int getMaxTaxBracketIndex(FilingStatus filingStatus,
+                                     List<com.jack.tax.models.interfaces.BracketDetails> bracketDetails,
+                                     double taxableIncome) {
+
+        // Iterate over the brackets for the given tax year
+        for (int bracketIndex = 0; bracketIndex < bracketDetails.size(); bracketIndex++) {
+
+            // If the user's taxable income maxes out in the current tax bracket
+            double maxIncomeForBracket = getMaxIncomeForBracket(filingStatus, bracketDetails.get(bracketIndex));
+            if (taxableIncome <= maxIncomeForBracket) {
+                // We've found the index for the max tax bracket applicable to the user
+                return bracketIndex;
+            }
+        }
+
+        // It is unlikely we would get here, but if we do
+        // as a default return the index for the last tax bracket
+        return bracketDetails.size() - 1;
+    }
+
+    /**
+     * Determines and returns how much the user's taxable income (USD) takes up in the current bracket.
+     * @param filingStatus   Filing status enum
+     * @param bracketDetails Tax bracket details for a given tax year
+     * @param taxableIncome  User's taxable income (USD)
+     */
+    public double getApplicableIncomeForBracket(FilingStatus filingStatus,
+                                                com.jack.tax.models.interfaces.BracketDetails bracketDetails,
+                                                double taxableIncome) {
+
+        // Start by getting the min and max incomes for the current bracket
+        // that pertain to the user's filing status
+        double minIncomeForBracket = getMinIncomeForBracket(filingStatus, bracketDetails);
+        double maxIncomeForBracket = getMaxIncomeForBracket(filingStatus, bracketDetails);
+
+        // Case 1 - If the user's taxable income is greater than or equal to the
+        // max income for the bracket relative to their filing status then
+        // just return the difference between the max and min income for the bracket
+        if (taxableIncome >= maxIncomeForBracket) {
+            return maxIncomeForBracket - minIncomeForBracket;
+        }
+
+        // Case 2 - If the user's taxable income is less than the max income for the bracket
+        // but greater than or equal to the min income for the bracket then return the difference
+        // between the user's taxable income and the min income for the bracket
+        if (taxableIncome >= minIncomeForBracket) {
+            return taxableIncome - minIncomeForBracket;
+        }
+
+        // We should not get here because it is the caller's responsibility to
+        // call this protected method in a scenario where the user's taxable income
+        // is greater than or equal to the min income for this bracket
+        throw new RuntimeException("Unable to compute the applicable income for a bracket");
+
+    }
+
+    /**
+     * Uses the given filing status and standard deduction details for a particular tax year to determine and
+     * return the standard deduction amount (USD) that would apply.
+     *
+     * @param filingStatus Filing status enum
+     * @param standardDeductionDetails Standard deduction details for all filing statuses for a given year
+     */
+    protected double getStandardDeductionForFilingStatus(FilingStatus filingStatus,
+                                                         com.jack.tax.models.interfaces.StandardDeductionDetails standardDeductionDetails) {
+
+        // Use the filing status to determine which standard deduction amount would apply
+        switch(filingStatus) {
+
+            case FilingStatus.SINGLE -> {
+                return standardDeductionDetails.getSingle();
+            }
+            case FilingStatus.MARRIED_FILING_JOINTLY, FilingStatus.SURVIVING_SPOUSE -> {
+                return standardDeductionDetails.getMfj();
+            }
+            case FilingStatus.MARRIED_FILING_SEPARATELY -> {
+                return standardDeductionDetails.getMfs();
+            }
+            case FilingStatus.HEAD_OF_HOUSEHOLD -> {
+                return standardDeductionDetails.getHoh();
+            }
+            default -> throw new RuntimeException("Unrecognized filing status found when looking up standard deduction amount");
+        }
+    }
+
+    /**
+     * Uses the given filing status and details for a particular tax bracket to look up,
+     * and return the min applicable income (USD) for that bracket.
+     * @param filingStatus Filing status enum
+     * @param bracketDetails Details for a particular tax bracket for a particular tax year
+     */
+    protected double getMinIncomeForBracket(FilingStatus filingStatus,
+                                            com.jack.tax.models.interfaces.BracketDetails bracketDetails) {
+
+        // Use the filing status to determine which min income amount would apply for a bracket
+        switch(filingStatus) {
+
+            case FilingStatus.SINGLE -> {
+                return bracketDetails.getMinIncomeSingle();
+            }
+            case FilingStatus.MARRIED_FILING_JOINTLY, FilingStatus.SURVIVING_SPOUSE -> {
+                return bracketDetails.getMinIncomeMFJ();
+            }
+            case FilingStatus.MARRIED_FILING_SEPARATELY -> {
+                return bracketDetails.getMinIncomeMFS();
+            }
+            case FilingStatus.HEAD_OF_HOUSEHOLD -> {
+                return bracketDetails.getMinIncomeHOH();
+            }
+            default -> throw new RuntimeException("Unrecognized filing status found when looking up min bracket income");
+        }
+    }
+
+    /**
+     * Uses the given filing status and details for a particular tax bracket to look up,
+     * and return the max applicable income (USD) for that bracket.
+     * @param filingStatus Filing status enum
+     * @param bracketDetails Details for a particular tax bracket for a particular tax year
+     */
+    protected double getMaxIncomeForBracket(FilingStatus filingStatus,
+                                            com.jack.tax.models.interfaces.BracketDetails bracketDetails) {
+
+        // Use the filing status to determine which max income amount would apply for a bracket
+        switch(filingStatus) {
+
+            case FilingStatus.SINGLE -> {
+                return bracketDetails.getMaxIncomeSingle();
+            }
+            case FilingStatus.MARRIED_FILING_JOINTLY, FilingStatus.SURVIVING_SPOUSE -> {
+                return bracketDetails.getMaxIncomeMFJ();
+            }
+            case FilingStatus.MARRIED_FILING_SEPARATELY -> {
+                return bracketDetails.getMaxIncomeMFS();
+            }
+            case FilingStatus.HEAD_OF_HOUSEHOLD -> {
+                return bracketDetails.getMaxIncomeHOH();
+            }
+            default -> throw new RuntimeException("Unrecognized filing status found when looking up max bracket income");
+        }
+    }
+
+    /**
+     * An unrounded calculation whose rounded output model is only created once it is first read.
+     */
+    private final class LazyOutputModel implements Supplier<OutputModel> {
+
+        private final CompiledTaxSchedule schedule;
+        private final TaxCalculation taxCalculation;
+        private final double calculatedCredits;
+        private OutputModel outputModel;
+
+        /**
+         * Creates a lazy output model for the given calculation.
+         *
+         * @param schedule Compiled schedule the calculation was made against.
+         * @param taxCalculation Unrounded calculation.
+         * @param calculatedCredits Credits the schedule's credit rules granted (USD).
+         */
+        private LazyOutputModel(CompiledTaxSchedule schedule, TaxCalculation taxCalculation, double calculatedCredits) {
+            this.schedule = schedule;
+            this.taxCalculation = taxCalculation;
+            this.calculatedCredits = calculatedCredits;
+        }
+
+        /**
+         * Returns the rounded output model, creating it on the first call.
+         */
+        @Override
+        public OutputModel get() {
+
+            if (outputModel == null) {
+                outputModel = createOutputModel(schedule, taxCalculation);
+                outputModel.setCalculatedCredits(Money.roundToCents(calculatedCredits));
+            }
+
+            return outputModel;
+        }
+    }
+}
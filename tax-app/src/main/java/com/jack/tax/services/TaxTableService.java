@@ -0,0 +1,534 @@
+package com.jack.tax.services;
+
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.TaxYearCompiler;
+import com.jack.tax.models.BracketDetails;
+import com.jack.tax.models.CapitalGainsBracketDetails;
+import com.jack.tax.models.CreditRuleDetails;
+import com.jack.tax.models.StandardDeductionDetails;
+import com.jack.tax.models.interfaces.TaxYearDetails;
+import com.jack.tax.repositories.BracketRepository;
+import com.jack.tax.repositories.CapitalGainsBracketRepository;
+import com.jack.tax.repositories.CreditRuleRepository;
+import com.jack.tax.repositories.StandardDeductionRepository;
+import com.jack.tax.utils.AppConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Loads the tax tables (standard deductions, brackets, capital gains brackets and credit rules) from persistent
+ * storage and keeps them cached in memory, along with a compiled schedule per tax year and filing status, so that
+ * calculations do not have to scan the collections on every request.  Credit rules are parsed once per load and
+ * compiled into each schedule.  Tax years after the latest stored year can be projected from it
+ * by a configured CPI inflation rate per year; projected years are derived once per load, cached with the
+ * stored years and flagged as projected.  Optionally, a class is generated per compiled schedule with its
+ * brackets baked in for the bulk calculations; the generated classes are unloaded once the tables they were
+ * generated from are replaced.  Offline tools can build the service from a {@link Snapshot} of the tables
+ * instead of persistent storage.  Table edits in persistent storage are picked up once the cached tables are older
+ * than the configured refresh interval (or on {@link #refresh()}); a reload that fails keeps serving the tables
+ * already loaded until the next interval.
+ */
+@Service
+public class TaxTableService {
+
+    /**
+     * Reports reloads that failed
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TaxTableService.class);
+
+    /**
+     * Reads all of the tax tables, from persistent storage or from a snapshot
+     */
+    private final Supplier<Snapshot> tableSource;
+
+    /**
+     * Annual CPI inflation rate (%) for each tax year projected after the latest stored year, in year order
+     */
+    private final List<Double> projectionCpiRates;
+
+    /**
+     * True to generate a class per compiled schedule for the bulk calculations
+     */
+    private final boolean generatedSchedules;
+
+    /**
+     * Time (nanoseconds) after which the cached tables are reloaded, or zero to keep them until {@link #refresh()}
+     */
+    private final long refreshIntervalNanos;
+
+    /**
+     * Supplies the current time (nanoseconds)
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * The cached tax tables.  Null until the tables are first needed, and replaced as a whole
+     * (never mutated) when the tables are reloaded.
+     */
+    private volatile CachedTaxTables cachedTaxTables;
+
+    /**
+     * Creates a fully initialized Tax Table Service using the given data.
+     *
+     * @param standardDeductionRepository Used to query standard deduction information
+     * @param bracketRepository Used to query tax bracket information
+     * @param capitalGainsBracketRepository Used to query capital gains bracket information
+     * @param creditRuleRepository Used to query credit rule information
+     * @param projectionCpiRates Annual CPI inflation rate (%) for each tax year to project after the latest
+     *                           stored year, in year order.  Empty to only support stored years.
+     * @param generatedSchedules True to generate a class per compiled schedule with its brackets baked in for the
+     *                           bulk calculations, false to run them against the compiled schedules
+     * @param refreshSeconds Time (seconds) after which the cached tables are reloaded from persistent storage, or
+     *                       zero to keep them until {@link #refresh()} (e.g. until the app restarts)
+     */
+    @Autowired
+    public TaxTableService(StandardDeductionRepository standardDeductionRepository,
+                           BracketRepository bracketRepository,
+                           CapitalGainsBracketRepository capitalGainsBracketRepository,
+                           CreditRuleRepository creditRuleRepository,
+                           @Value("${tax.projection.cpi-rates:}") List<Double> projectionCpiRates,
+                           @Value("${tax.engine.generated-schedules:false}") boolean generatedSchedules,
+                           @Value("${tax.tables.refresh-seconds:0}") long refreshSeconds) {
+
+        this(() -> new Snapshot(standardDeductionRepository.findAll(),
+                        bracketRepository.findAll(),
+                        capitalGainsBracketRepository.findAll(),
+                        creditRuleRepository.findAll()),
+                projectionCpiRates,
+                generatedSchedules,
+                TimeUnit.SECONDS.toNanos(refreshSeconds),
+                System::nanoTime);
+    }
+
+    /**
+     * Creates a fully initialized Tax Table Service that serves the tax tables of the given snapshot rather than
+     * reading persistent storage, e.g. for offline runs.
+     *
+     * @param snapshot Tax tables to serve
+     * @param projectionCpiRates Annual CPI inflation rate (%) for each tax year to project after the latest
+     *                           stored year, in year order.  Empty to only support stored years.
+     * @param generatedSchedules True to generate a class per compiled schedule with its brackets baked in for the
+     *                           bulk calculations, false to run them against the compiled schedules
+     */
+    public TaxTableService(Snapshot snapshot, List<Double> projectionCpiRates, boolean generatedSchedules) {
+        this(() -> snapshot, projectionCpiRates, generatedSchedules, 0, System::nanoTime);
+    }
+
+    /**
+     * Creates a fully initialized Tax Table Service reading its tables from the given source and clock.
+     *
+     * @param tableSource Reads all of the tax tables
+     * @param projectionCpiRates Annual CPI inflation rate (%) for each tax year to project after the latest
+     *                           stored year, in year order
+     * @param generatedSchedules True to generate a class per compiled schedule for the bulk calculations
+     * @param refreshIntervalNanos Time (nanoseconds) after which the cached tables are reloaded, or zero to keep
+     *                             them until {@link #refresh()}
+     * @param nanoClock Supplies the current time (nanoseconds)
+     */
+    protected TaxTableService(Supplier<Snapshot> tableSource, List<Double> projectionCpiRates, boolean generatedSchedules,
+                              long refreshIntervalNanos, LongSupplier nanoClock) {
+
+        for (Double cpiRate : projectionCpiRates) {
+            if (cpiRate == null || !(cpiRate > -100.0)) {
+                throw new IllegalArgumentException("Projection CPI rates must be greater than -100%");
+            }
+        }
+        if (refreshIntervalNanos < 0) {
+            throw new IllegalArgumentException("The tax table refresh interval must not be negative");
+        }
+
+        this.tableSource = tableSource;
+        this.projectionCpiRates = List.copyOf(projectionCpiRates);
+        this.generatedSchedules = generatedSchedules;
+        this.refreshIntervalNanos = refreshIntervalNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the supported tax years in descending order.
+     */
+    public List<Integer> getSupportedTaxYears() {
+
+        List<Integer> taxYears = new ArrayList<>(getCachedTaxTables().taxYearDetailsByYear().keySet());
+
+        // Sort the tax years in descending order
+        taxYears.sort(Collections.reverseOrder());
+
+        return taxYears;
+    }
+
+    /**
+     * Returns the projected tax years in descending order, i.e. the supported tax years whose tables are derived
+     * by inflation rather than stored.
+     */
+    public List<Integer> getProjectedTaxYears() {
+
+        List<Integer> taxYears = new ArrayList<>(getCachedTaxTables().taxYearDetailsByYear().values().stream()
+                .filter(TaxYearDetails::isProjected)
+                .map(TaxYearDetails::getTaxYear)
+                .toList());
+
+        // Sort the tax years in descending order
+        taxYears.sort(Collections.reverseOrder());
+
+        return taxYears;
+    }
+
+    /**
+     * Returns the cached tax year details for the given tax year.
+     *
+     * @param taxYear Tax year for which we want tax details.
+     * @throws NoSuchElementException if the tax year is not supported
+     */
+    public TaxYearDetails getTaxYearDetails(int taxYear) {
+
+        TaxYearDetails taxYearDetails = getCachedTaxTables().taxYearDetailsByYear().get(taxYear);
+        if (taxYearDetails == null) {
+            throw new NoSuchElementException("Could not find standard deduction details for tax year " + taxYear);
+        }
+
+        return taxYearDetails;
+    }
+
+    /**
+     * Returns the compiled schedules for the given tax year.
+     *
+     * @param taxYear Tax year for which we want the compiled schedules.
+     * @throws NoSuchElementException if the tax year is not supported
+     */
+    public CompiledTaxYear getCompiledTaxYear(int taxYear) {
+
+        CompiledTaxYear compiledTaxYear = getCachedTaxTables().compiledTaxYearsByYear().get(taxYear);
+        if (compiledTaxYear == null) {
+            throw new NoSuchElementException("Could not find tax brackets for tax year " + taxYear);
+        }
+
+        return compiledTaxYear;
+    }
+
+    /**
+     * Reads all of the tax tables as they are stored, bypassing the cache, e.g. to save them for offline runs.
+     */
+    public Snapshot loadSnapshot() {
+        return tableSource.get();
+    }
+
+    /**
+     * Discards the cached tax tables so that the next lookup reloads them from persistent storage.
+     */
+    public void refresh() {
+        cachedTaxTables = null;
+    }
+
+    /**
+     * Returns the cached tax tables, loading them from persistent storage first if that has not happened yet or
+     * they are older than the refresh interval.  If reloading fails, the tables already loaded are kept for another
+     * interval rather than failing every lookup.
+     */
+    private CachedTaxTables getCachedTaxTables() {
+
+        CachedTaxTables cached = cachedTaxTables;
+        if (cached == null || isStale(cached)) {
+            synchronized (this) {
+                cached = cachedTaxTables;
+                if (cached == null) {
+                    cached = loadTaxTables();
+                    cachedTaxTables = cached;
+                } else if (isStale(cached)) {
+                    try {
+                        cached = loadTaxTables();
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not reload the tax tables; keeping the loaded ones", e);
+                        cached = new CachedTaxTables(cached.taxYearDetailsByYear(), cached.compiledTaxYearsByYear(),
+                                nanoClock.getAsLong());
+                    }
+                    cachedTaxTables = cached;
+                }
+            }
+        }
+
+        return cached;
+    }
+
+    /**
+     * Returns true if the given cached tables are older than the refresh interval.
+     *
+     * @param cached Cached tax tables
+     */
+    private boolean isStale(CachedTaxTables cached) {
+        return refreshIntervalNanos > 0 && nanoClock.getAsLong() - cached.loadedAtNanos() >= refreshIntervalNanos;
+    }
+
+    /**
+     * Reads the table source once for all standard deduction details, bracket details, capital gains
+     * bracket details and credit rule details, groups them into tax year details keyed by tax year, and compiles
+     * the schedules for each tax year.
+     */
+    private CachedTaxTables loadTaxTables() {
+
+        // Read all available standard deduction details and bracket details regardless of year
+        Snapshot snapshot = tableSource.get();
+        List<StandardDeductionDetails> allStandardDeductionDetails =
+                Objects.requireNonNullElse(snapshot.standardDeductions(), List.of());
+        List<BracketDetails> allBracketDetails = Objects.requireNonNullElse(snapshot.brackets(), List.of());
+        List<CapitalGainsBracketDetails> allCapitalGainsBracketDetails =
+                Objects.requireNonNullElse(snapshot.capitalGainsBrackets(), List.of());
+        List<CreditRuleDetails> allCreditRuleDetails = Objects.requireNonNullElse(snapshot.creditRules(), List.of());
+
+        // Group the bracket details by tax year, keeping each year's brackets sorted by tax rate
+        Map<Integer, List<com.jack.tax.models.interfaces.BracketDetails>> bracketDetailsByYear = new HashMap<>();
+        allBracketDetails
+                .stream()
+                .sorted(Comparator.comparingInt(BracketDetails::getTaxRate))
+                .forEach(details -> bracketDetailsByYear
+                        .computeIfAbsent(details.getTaxYear(), year -> new ArrayList<>())
+                        .add(details));
+        Map<Integer, List<com.jack.tax.models.interfaces.CapitalGainsBracketDetails>> capitalGainsBracketDetailsByYear =
+                new HashMap<>();
+        allCapitalGainsBracketDetails
+                .stream()
+                .sorted(Comparator.comparingInt(CapitalGainsBracketDetails::getTaxRate))
+                .forEach(details -> capitalGainsBracketDetailsByYear
+                        .computeIfAbsent(details.getTaxYear(), year -> new ArrayList<>())
+                        .add(details));
+        Map<Integer, List<com.jack.tax.models.interfaces.CreditRuleDetails>> creditRuleDetailsByYear = new HashMap<>();
+        allCreditRuleDetails.forEach(details -> creditRuleDetailsByYear
+                .computeIfAbsent(details.getTaxYear(), year -> new ArrayList<>())
+                .add(details));
+
+        // There is one standard deduction entity for each tax year supported by this app, so use those
+        // to build up the tax year details
+        Map<Integer, TaxYearDetails> taxYearDetailsMap = new HashMap<>();
+        for (StandardDeductionDetails standardDeductionDetails : allStandardDeductionDetails) {
+
+            int taxYear = standardDeductionDetails.getTaxYear();
+
+            TaxYearDetails taxYearDetails = new com.jack.tax.models.TaxYearDetails();
+            taxYearDetails.setTaxYear(taxYear);
+            taxYearDetails.setStandardDeductionDetails(standardDeductionDetails);
+            taxYearDetails.setBracketDetails(List.copyOf(
+                    bracketDetailsByYear.getOrDefault(taxYear, Collections.emptyList())));
+            taxYearDetails.setCapitalGainsBracketDetails(List.copyOf(
+                    capitalGainsBracketDetailsByYear.getOrDefault(taxYear, Collections.emptyList())));
+            taxYearDetails.setCreditRuleDetails(List.copyOf(
+                    creditRuleDetailsByYear.getOrDefault(taxYear, Collections.emptyList())));
+
+            // Keep the first entity found for a year, same as the previous in-memory query did
+            taxYearDetailsMap.putIfAbsent(taxYear, taxYearDetails);
+        }
+
+        // Project the tax years after the latest stored year that has brackets
+        taxYearDetailsMap.values().stream()
+                .filter(taxYearDetails -> !taxYearDetails.getBracketDetails().isEmpty())
+                .max(Comparator.comparingInt(TaxYearDetails::getTaxYear))
+                .ifPresent(latest -> {
+                    double cpiFactor = 1.0;
+                    for (int yearIndex = 0; yearIndex < projectionCpiRates.size(); yearIndex++) {
+                        cpiFactor *= 1.0 + projectionCpiRates.get(yearIndex) / 100.0;
+                        int taxYear = latest.getTaxYear() + yearIndex + 1;
+                        taxYearDetailsMap.putIfAbsent(taxYear, projectTaxYear(latest, taxYear, cpiFactor));
+                    }
+                });
+
+        // Compile the schedules for every tax year that has brackets
+        Map<Integer, CompiledTaxYear> compiledTaxYearsMap = new HashMap<>();
+        for (TaxYearDetails taxYearDetails : taxYearDetailsMap.values()) {
+            if (!taxYearDetails.getBracketDetails().isEmpty()) {
+                compiledTaxYearsMap.put(taxYearDetails.getTaxYear(), compileTaxYear(taxYearDetails, generatedSchedules));
+            }
+        }
+
+        return new CachedTaxTables(Map.copyOf(taxYearDetailsMap), Map.copyOf(compiledTaxYearsMap), nanoClock.getAsLong());
+    }
+
+    /**
+     * Projects the given stored tax year to a later tax year.  Like the IRS's annual inflation adjustments, every
+     * amount is indexed from the stored year by the cumulative CPI factor and rounded down to a multiple of
+     * {@link AppConstants#PROJECTION_ROUNDING_INCREMENT}, bracket max incomes and standard deductions alike.
+     * The Social Security wage base is indexed by the same factor but rounded to a multiple of
+     * {@link AppConstants#WAGE_BASE_ROUNDING_INCREMENT}, and the other payroll tax parameters are carried over.  Each
+     * bracket's min income keeps its stored distance from the max income of the bracket below, and unbounded
+     * amounts stay unbounded.  Capital gains brackets are projected the same way as the ordinary brackets.  Credit
+     * rules are carried over as they are, since the amounts in their expressions are not known to be indexed.
+     *
+     * @param stored    Stored tax year details (brackets and capital gains brackets sorted by tax rate)
+     * @param taxYear   Tax year to project to
+     * @param cpiFactor Cumulative CPI factor from the stored year to the projected year
+     */
+    protected static TaxYearDetails projectTaxYear(TaxYearDetails stored, int taxYear, double cpiFactor) {
+
+        com.jack.tax.models.interfaces.StandardDeductionDetails storedStandardDeduction =
+                stored.getStandardDeductionDetails();
+        StandardDeductionDetails standardDeductionDetails = new StandardDeductionDetails();
+        standardDeductionDetails.setTaxYear(taxYear);
+        standardDeductionDetails.setSingle(projectAmount(storedStandardDeduction.getSingle(), cpiFactor));
+        standardDeductionDetails.setMfj(projectAmount(storedStandardDeduction.getMfj(), cpiFactor));
+        standardDeductionDetails.setMfs(projectAmount(storedStandardDeduction.getMfs(), cpiFactor));
+        standardDeductionDetails.setHoh(projectAmount(storedStandardDeduction.getHoh(), cpiFactor));
+
+        // Payroll tax rates and Additional Medicare thresholds are set by statute rather than indexed, and the
+        // Social Security wage base follows wage growth, for which CPI inflation is the stand-in here
+        standardDeductionDetails.setSocialSecurityTaxRate(storedStandardDeduction.getSocialSecurityTaxRate());
+        standardDeductionDetails.setSocialSecurityWageBase(projectAmount(storedStandardDeduction.getSocialSecurityWageBase(),
+                cpiFactor, AppConstants.WAGE_BASE_ROUNDING_INCREMENT));
+        standardDeductionDetails.setMedicareTaxRate(storedStandardDeduction.getMedicareTaxRate());
+        standardDeductionDetails.setAdditionalMedicareTaxRate(storedStandardDeduction.getAdditionalMedicareTaxRate());
+        standardDeductionDetails.setAdditionalMedicareThresholdSingle(storedStandardDeduction.getAdditionalMedicareThresholdSingle());
+        standardDeductionDetails.setAdditionalMedicareThresholdMfj(storedStandardDeduction.getAdditionalMedicareThresholdMfj());
+        standardDeductionDetails.setAdditionalMedicareThresholdMfs(storedStandardDeduction.getAdditionalMedicareThresholdMfs());
+        standardDeductionDetails.setAdditionalMedicareThresholdHoh(storedStandardDeduction.getAdditionalMedicareThresholdHoh());
+
+        TaxYearDetails taxYearDetails = new com.jack.tax.models.TaxYearDetails();
+        taxYearDetails.setTaxYear(taxYear);
+        taxYearDetails.setStandardDeductionDetails(standardDeductionDetails);
+        taxYearDetails.setBracketDetails(List.copyOf(
+                projectBrackets(stored.getBracketDetails(), taxYear, cpiFactor, BracketDetails::new)));
+        taxYearDetails.setCapitalGainsBracketDetails(List.copyOf(
+                projectBrackets(stored.getCapitalGainsBracketDetails(), taxYear, cpiFactor, CapitalGainsBracketDetails::new)));
+        taxYearDetails.setCreditRuleDetails(stored.getCreditRuleDetails());
+        taxYearDetails.setProjected(true);
+        return taxYearDetails;
+    }
+
+    /**
+     * Projects the given stored brackets to a later tax year, see {@link #projectTaxYear}.
+     *
+     * @param storedBrackets Stored brackets sorted by tax rate
+     * @param taxYear        Tax year to project to
+     * @param cpiFactor      Cumulative CPI factor from the stored year to the projected year
+     * @param newBracket     Creates an empty bracket of the type to project to
+     * @param <T>            Type of bracket to project to
+     */
+    private static <T extends BracketDetails> List<T> projectBrackets(
+            List<? extends com.jack.tax.models.interfaces.BracketDetails> storedBrackets,
+            int taxYear,
+            double cpiFactor,
+            Supplier<T> newBracket) {
+
+        List<T> bracketDetails = new ArrayList<>();
+        com.jack.tax.models.interfaces.BracketDetails previousStored = null;
+        T previous = null;
+        for (com.jack.tax.models.interfaces.BracketDetails storedBracket : storedBrackets) {
+
+            T details = newBracket.get();
+            details.setTaxYear(taxYear);
+            details.setTaxRate(storedBracket.getTaxRate());
+            details.setMaxIncomeSingle(projectAmount(storedBracket.getMaxIncomeSingle(), cpiFactor));
+            details.setMaxIncomeMFJ(projectAmount(storedBracket.getMaxIncomeMFJ(), cpiFactor));
+            details.setMaxIncomeMFS(projectAmount(storedBracket.getMaxIncomeMFS(), cpiFactor));
+            details.setMaxIncomeHOH(projectAmount(storedBracket.getMaxIncomeHOH(), cpiFactor));
+            if (previous == null) {
+                details.setMinIncomeSingle(storedBracket.getMinIncomeSingle());
+                details.setMinIncomeMFJ(storedBracket.getMinIncomeMFJ());
+                details.setMinIncomeMFS(storedBracket.getMinIncomeMFS());
+                details.setMinIncomeHOH(storedBracket.getMinIncomeHOH());
+            } else {
+                details.setMinIncomeSingle(previous.getMaxIncomeSingle()
+                        + storedBracket.getMinIncomeSingle() - previousStored.getMaxIncomeSingle());
+                details.setMinIncomeMFJ(previous.getMaxIncomeMFJ()
+                        + storedBracket.getMinIncomeMFJ() - previousStored.getMaxIncomeMFJ());
+                details.setMinIncomeMFS(previous.getMaxIncomeMFS()
+                        + storedBracket.getMinIncomeMFS() - previousStored.getMaxIncomeMFS());
+                details.setMinIncomeHOH(previous.getMaxIncomeHOH()
+                        + storedBracket.getMinIncomeHOH() - previousStored.getMaxIncomeHOH());
+            }
+
+            bracketDetails.add(details);
+            previousStored = storedBracket;
+            previous = details;
+        }
+
+        return bracketDetails;
+    }
+
+    /**
+     * Indexes the given amount by the given CPI factor and rounds it down to a multiple of
+     * {@link AppConstants#PROJECTION_ROUNDING_INCREMENT}.  Unbounded amounts stay unbounded.
+     *
+     * @param amount    Stored amount (USD)
+     * @param cpiFactor Cumulative CPI factor
+     */
+    private static int projectAmount(int amount, double cpiFactor) {
+        return projectAmount(amount, cpiFactor, AppConstants.PROJECTION_ROUNDING_INCREMENT);
+    }
+
+    /**
+     * Indexes the given amount by the given CPI factor and rounds it down to a multiple of the given increment.
+     * Unbounded amounts stay unbounded.
+     *
+     * @param amount            Stored amount (USD)
+     * @param cpiFactor         Cumulative CPI factor
+     * @param roundingIncrement Multiple (USD) to round down to
+     */
+    private static int projectAmount(int amount, double cpiFactor, int roundingIncrement) {
+
+        if (amount == Integer.MAX_VALUE) {
+            return amount;
+        }
+
+        long projected = (long) Math.floor(amount * cpiFactor / roundingIncrement) * roundingIncrement;
+        return (int) Math.min(projected, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compiles a schedule for every filing status of the given tax year, see {@link TaxYearCompiler#compile}.
+     *
+     * @param taxYearDetails Tax year details (brackets and capital gains brackets sorted by tax rate)
+     */
+    protected static CompiledTaxYear compileTaxYear(TaxYearDetails taxYearDetails) {
+        return TaxYearCompiler.compile(taxYearDetails);
+    }
+
+    /**
+     * Compiles a schedule for every filing status of the given tax year, optionally generating a class per
+     * schedule for the bulk calculations, see {@link TaxYearCompiler#compile}.
+     *
+     * @param taxYearDetails     Tax year details (brackets and capital gains brackets sorted by tax rate)
+     * @param generatedSchedules True to generate a class per schedule with its brackets baked in
+     * @throws RuntimeException If a credit rule of the tax year is not valid
+     */
+    protected static CompiledTaxYear compileTaxYear(TaxYearDetails taxYearDetails, boolean generatedSchedules) {
+        return TaxYearCompiler.compile(taxYearDetails, generatedSchedules);
+    }
+
+    /**
+     * All of the stored tax tables regardless of year, as read from persistent storage or saved for offline runs.
+     *
+     * @param standardDeductions   Standard deduction details, one per tax year
+     * @param brackets             Bracket details
+     * @param capitalGainsBrackets Capital gains bracket details
+     * @param creditRules          Credit rule details
+     */
+    public record Snapshot(List<StandardDeductionDetails> standardDeductions,
+                           List<BracketDetails> brackets,
+                           List<CapitalGainsBracketDetails> capitalGainsBrackets,
+                           List<CreditRuleDetails> creditRules) {
+    }
+
+    /**
+     * Snapshot of the cached tax tables.
+     *
+     * @param taxYearDetailsByYear   Tax year details keyed by tax year
+     * @param compiledTaxYearsByYear Compiled schedules keyed by tax year
+     * @param loadedAtNanos          Time (nanoseconds) the tables were loaded
+     */
+    private record CachedTaxTables(Map<Integer, TaxYearDetails> taxYearDetailsByYear,
+                                   Map<Integer, CompiledTaxYear> compiledTaxYearsByYear,
+                                   long loadedAtNanos) {
+    }
+}
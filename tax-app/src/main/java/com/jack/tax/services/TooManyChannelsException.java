@@ -0,0 +1,17 @@
+package com.jack.tax.services;
+
+/**
+ * Thrown when a live calculation channel cannot be opened because the max number of channels are already open.
+ * This is a temporary condition of the server rather than a problem with the request, so clients can retry later.
+ */
+public class TooManyChannelsException extends RuntimeException {
+
+    /**
+     * Creates the exception with the given message.
+     *
+     * @param message Detail message
+     */
+    public TooManyChannelsException(String message) {
+        super(message);
+    }
+}
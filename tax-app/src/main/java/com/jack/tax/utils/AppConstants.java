@@ -0,0 +1,98 @@
+package com.jack.tax.utils;
+
+/**
+ * Application constants
+ */
+public class AppConstants {
+
+    /**
+     * Min USD field amount as a string
+     */
+    public static final String MIN_USD_AMOUNT_AS_STR = "0.0";
+
+    /**
+     * Max USD field amount as a string
+     */
+    public static final String MAX_USD_AMOUNT_AS_STR = "2147483647.0";
+
+    /**
+     * Maximum number of digits before decimal point
+     */
+    public static final int MAX_DIGITS_BEFORE_DECIMAL_POINT = 12;
+
+    /**
+     * Max number of digits after decimal point
+     */
+    public static final int MAX_PRECISION = 2;
+
+    /**
+     * Default gross income (USD) at which a tax curve ends
+     */
+    public static final double DEFAULT_MAX_CURVE_GROSS_INCOME = 1_000_000.0;
+
+    /**
+     * Max number of samples that can be requested for a tax curve
+     */
+    public static final int MAX_CURVE_SAMPLE_COUNT = 10_000;
+
+    /**
+     * Increment of gross income (USD) that the "next dollar" sensitivity reports the tax on
+     */
+    public static final double MARGINAL_INCOME_INCREMENT = 1_000.0;
+
+    /**
+     * Number of incomes a Monte Carlo simulation samples unless told otherwise
+     */
+    public static final int DEFAULT_SIMULATION_SAMPLE_COUNT = 100_000;
+
+    /**
+     * Max number of incomes a Monte Carlo simulation can sample
+     */
+    public static final int MAX_SIMULATION_SAMPLE_COUNT = 10_000_000;
+
+    /**
+     * Number of histogram bins a distribution summary has unless told otherwise
+     */
+    public static final int DEFAULT_HISTOGRAM_BIN_COUNT = 50;
+
+    /**
+     * Max number of histogram bins a distribution summary can have
+     */
+    public static final int MAX_HISTOGRAM_BIN_COUNT = 1_000;
+
+    /**
+     * Max number of cells (i.e. combinations of inputs) a scenario grid can have
+     */
+    public static final int MAX_GRID_CELL_COUNT = 2_000_000;
+
+    /**
+     * Multiple (USD) that projected bracket thresholds and standard deductions are rounded down to, as the IRS
+     * does with its annual inflation adjustments
+     */
+    public static final int PROJECTION_ROUNDING_INCREMENT = 50;
+
+    /**
+     * Max number of employees a payroll run can have
+     */
+    public static final int MAX_PAYROLL_EMPLOYEE_COUNT = 1_000_000;
+
+    /**
+     * Multiple (USD) that a projected Social Security wage base is rounded down to, as the SSA does
+     */
+    public static final int WAGE_BASE_ROUNDING_INCREMENT = 300;
+
+    /**
+     * Max number of qualifying children a calculation can have
+     */
+    public static final int MAX_QUALIFYING_CHILDREN = 20;
+
+    /**
+     * Code of the federal jurisdiction, which every multi-jurisdiction calculation includes
+     */
+    public static final String FEDERAL_JURISDICTION = "US";
+
+    /**
+     * Name of the federal jurisdiction
+     */
+    public static final String FEDERAL_JURISDICTION_NAME = "Federal";
+}
@@ -0,0 +1,155 @@
+package com.jack.tax;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jack.tax.controllers.GlobalExceptionHandler;
+import com.jack.tax.controllers.TaxCalculatorApiController;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.InputModel;
+import com.jack.tax.services.TaxAnalysisService;
+import com.jack.tax.services.TaxCalculationService;
+import com.jack.tax.services.TaxTableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for BinaryFormatConfig, through the calculation endpoints
+ */
+public class BinaryFormatConfigTests {
+
+    /**
+     * Object mappers of each supported media type
+     */
+    private Map<String, ObjectMapper> objectMappers;
+
+    /**
+     * Calls the calculation endpoints with the JSON, CBOR and Smile converters, JSON first like the app
+     */
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+
+        BinaryFormatConfig binaryFormatConfig = new BinaryFormatConfig();
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(
+                new Jackson2ObjectMapperBuilder().build());
+        MappingJackson2CborHttpMessageConverter cbor =
+                binaryFormatConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder());
+        MappingJackson2SmileHttpMessageConverter smile =
+                binaryFormatConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder());
+        objectMappers = Map.of(
+                MediaType.APPLICATION_JSON_VALUE, json.getObjectMapper(),
+                MediaType.APPLICATION_CBOR_VALUE, cbor.getObjectMapper(),
+                "application/x-jackson-smile", smile.getObjectMapper());
+
+        TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+        TaxCalculationService taxCalculationService = new TaxCalculationService(taxTableService);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TaxCalculatorApiController(taxCalculationService,
+                        new TaxAnalysisService(taxTableService, taxCalculationService)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(json, smile, cbor)
+                .build();
+    }
+
+    /**
+     * Verifies that a calculation sent and returned in a binary format carries the same fields and values as
+     * the JSON one.
+     *
+     * @param mediaType Binary media type of the request and response
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile"})
+    public void calculateFederalTaxOwed_binaryFormat_matchesJson(String mediaType) throws Exception {
+
+        InputModel inputModel = createInputModel(215_000);
+
+        JsonNode jsonOutput = calculate(inputModel, MediaType.APPLICATION_JSON_VALUE);
+        JsonNode binaryOutput = calculate(inputModel, mediaType);
+
+        assertEquals(jsonOutput, binaryOutput);
+        assertTrue(jsonOutput.get(0).get("federalTaxOwed").asDouble() > 0);
+        assertTrue(jsonOutput.get(0).has("distanceToNextThreshold"));
+    }
+
+    /**
+     * Verifies that JSON stays the default when the client accepts anything, and that validation errors are
+     * returned in the requested binary format.
+     */
+    @Test
+    public void calculateFederalTaxOwed_defaultsAndErrors() throws Exception {
+
+        ObjectMapper cbor = objectMappers.get(MediaType.APPLICATION_CBOR_VALUE);
+
+        mockMvc.perform(post("/api/taxCalculation")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.ALL)
+                        .content(cbor.writeValueAsBytes(createInputModel(75_000))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        MvcResult result = mockMvc.perform(post("/api/taxCalculation")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(createInputModel(-1))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        assertTrue(cbor.readTree(result.getResponse().getContentAsByteArray()).has("grossIncome"));
+    }
+
+    /**
+     * Posts the given input in the given media type, accepting the same media type, and returns the response.
+     *
+     * @param inputModel Input to calculate
+     * @param mediaType  Media type of the request and response
+     */
+    private JsonNode calculate(InputModel inputModel, String mediaType) throws Exception {
+
+        ObjectMapper objectMapper = objectMappers.get(mediaType);
+        MvcResult result = mockMvc.perform(post("/api/taxCalculation")
+                        .param("includeMarginalSensitivity", "true")
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(objectMapper.writeValueAsBytes(inputModel)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    /**
+     * Creates a single filer's 2025 input with the given gross income.
+     *
+     * @param grossIncome Gross income (USD)
+     */
+    private static InputModel createInputModel(double grossIncome) {
+
+        InputModel inputModel = new InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(12_000);
+        inputModel.setTotalCredits(2_000);
+        return inputModel;
+    }
+}
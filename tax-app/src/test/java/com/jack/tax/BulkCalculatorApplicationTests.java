@@ -0,0 +1,117 @@
+package com.jack.tax;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jack.tax.engine.BulkCalculator;
+import com.jack.tax.services.TaxTableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BulkCalculatorApplication
+ */
+public class BulkCalculatorApplicationTests {
+
+    /**
+     * Holds the snapshot, input and output files
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Verifies that a run from a snapshot file calculates every row the same as the app would.
+     */
+    @Test
+    public void run_fromSnapshot_calculatesEveryRow() throws IOException {
+
+        Path snapshot = writeSnapshot();
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, """
+                filingStatus,grossIncome,preferentialIncome,totalDeductions,totalCredits
+                SINGLE,75000,0,0,0
+                MARRIED_FILING_JOINTLY,150000,10000,40000,500
+                """);
+        Path output = directory.resolve("results.csv");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int status = BulkCalculatorApplication.run(new String[]{
+                "--input=" + input, "--output=" + output, "--tax-year=2025", "--snapshot=" + snapshot},
+                new PrintStream(out, true, StandardCharsets.UTF_8), System.err);
+
+        assertEquals(0, status);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Calculated 2 rows"));
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(3, lines.size());
+        assertEquals("         7948.66,             22,           10.60,        67051.34", lines.get(1));
+        lines.forEach(line -> assertEquals(BulkCalculator.OUTPUT_RECORD_LENGTH - 1, line.length()));
+    }
+
+    /**
+     * Verifies that a run from a snapshot file can project tax years the same as the app.
+     */
+    @Test
+    public void run_projectedTaxYear_calculatesEveryRow() throws IOException {
+
+        Path snapshot = writeSnapshot();
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, "SINGLE,75000,0,0,0\n");
+        Path output = directory.resolve("results.csv");
+
+        int status = BulkCalculatorApplication.run(new String[]{
+                "--input=" + input, "--output=" + output, "--tax-year=2026", "--snapshot=" + snapshot,
+                "--tax.projection.cpi-rates=2.5"}, System.out, System.err);
+
+        assertEquals(0, status);
+        assertEquals(2, Files.readAllLines(output).size());
+    }
+
+    /**
+     * Verifies that bad arguments and bad rows end the run with the usage status.
+     *
+     * @param format  Input format argument
+     * @param taxYear Tax year argument
+     * @param row     Input row
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "csv|2025|SINGLE;75000;0;0;0",
+            "tsv|2025|SINGLE,75000,0,0,0",
+            "csv|last|SINGLE,75000,0,0,0"})
+    public void run_badArgumentsOrRows_returnsUsageStatus(String format, String taxYear, String row) throws IOException {
+
+        Path snapshot = writeSnapshot();
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, row + "\n");
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = BulkCalculatorApplication.run(new String[]{
+                "--input=" + input, "--output=" + directory.resolve("results.csv"), "--tax-year=" + taxYear,
+                "--format=" + format, "--snapshot=" + snapshot},
+                System.out, new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(BulkCalculatorApplication.EXIT_USAGE, status);
+        assertTrue(!err.toString(StandardCharsets.UTF_8).isBlank());
+    }
+
+    /**
+     * Saves the 2024 and 2025 tax tables to a snapshot file.
+     */
+    private Path writeSnapshot() throws IOException {
+
+        Path snapshot = directory.resolve("tax-tables.json");
+        new ObjectMapper().writeValue(snapshot.toFile(), TaxTableFixtures.createTaxTableService().loadSnapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,188 @@
+package com.jack.tax;
+
+import com.jack.tax.models.BracketDetails;
+import com.jack.tax.models.CapitalGainsBracketDetails;
+import com.jack.tax.models.CreditRuleDetails;
+import com.jack.tax.models.StandardDeductionDetails;
+import com.jack.tax.repositories.BracketRepository;
+import com.jack.tax.repositories.CapitalGainsBracketRepository;
+import com.jack.tax.repositories.CreditRuleRepository;
+import com.jack.tax.repositories.StandardDeductionRepository;
+import com.jack.tax.services.TaxTableService;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Supplies the 2024 and 2025 tax tables to tests and benchmarks without needing persistent storage.
+ */
+public final class TaxTableFixtures {
+
+    /**
+     * 2024 child tax credit: $2,000 per qualifying child, reduced by $50 for every $1,000 (or part of it) of
+     * income above $400,000 for joint filers and $200,000 for everyone else
+     */
+    public static final String CHILD_TAX_CREDIT_2024 = "2000 * qualifyingChildren - 50 * ceil(max(0, grossIncome"
+            + " - (filingStatus == MARRIED_FILING_JOINTLY ? 400_000 : 200_000)) / 1000)";
+
+    /**
+     * 2025 child tax credit: $2,200 per qualifying child, phased out like the 2024 one
+     */
+    public static final String CHILD_TAX_CREDIT_2025 = "2200 * qualifyingChildren - 50 * ceil(max(0, grossIncome"
+            + " - (filingStatus == MARRIED_FILING_JOINTLY ? 400_000 : 200_000)) / 1000)";
+
+    /**
+     * Not meant to be instantiated
+     */
+    private TaxTableFixtures() {
+    }
+
+    /**
+     * Creates a tax table service backed by mocked repositories that return the 2024 and 2025 tax tables,
+     * including the capital gains brackets and the child tax credit rules.
+     * The tables are loaded (and cached) before this method returns.
+     */
+    public static TaxTableService createTaxTableService() {
+        return createTaxTableService(List.of());
+    }
+
+    /**
+     * Creates a tax table service backed by mocked repositories that return the 2024 and 2025 tax tables, and
+     * projects the years after 2025 by the given CPI rates.  The tables are loaded (and cached) before this
+     * method returns.
+     *
+     * @param projectionCpiRates Annual CPI inflation rate (%) for each tax year projected after 2025
+     */
+    public static TaxTableService createTaxTableService(List<Double> projectionCpiRates) {
+        return createTaxTableService(projectionCpiRates, false);
+    }
+
+    /**
+     * Creates a tax table service backed by mocked repositories that return the 2024 and 2025 tax tables, and
+     * projects the years after 2025 by the given CPI rates, optionally generating a class per compiled schedule.
+     * The tables are loaded (and cached) before this method returns.
+     *
+     * @param projectionCpiRates Annual CPI inflation rate (%) for each tax year projected after 2025
+     * @param generatedSchedules True to generate a class per compiled schedule for the bulk calculations
+     */
+    public static TaxTableService createTaxTableService(List<Double> projectionCpiRates, boolean generatedSchedules) {
+
+        StandardDeductionRepository standardDeductionRepository = mock(StandardDeductionRepository.class);
+        when(standardDeductionRepository.findAll()).thenReturn(List.of(
+                standardDeduction(2024, 14600, 29200, 14600, 21900, 168600),
+                standardDeduction(2025, 15750, 31500, 15750, 23625, 176100)));
+
+        BracketRepository bracketRepository = mock(BracketRepository.class);
+        when(bracketRepository.findAll()).thenReturn(List.of(
+                bracket(2024, 10, 0, 11600, 0, 23200, 0, 11600, 0, 16550),
+                bracket(2024, 12, 11601, 47150, 23200, 94300, 11601, 47150, 16551, 63100),
+                bracket(2024, 22, 47151, 100525, 94301, 201050, 47151, 100525, 63101, 100500),
+                bracket(2024, 24, 100526, 191950, 201051, 383900, 100526, 191950, 100501, 191950),
+                bracket(2024, 32, 191951, 243725, 383901, 487450, 191951, 243725, 191951, 243700),
+                bracket(2024, 35, 243726, 609350, 487451, 731200, 243726, 365600, 243701, 609350),
+                bracket(2024, 37, 609351, Integer.MAX_VALUE, 731201, Integer.MAX_VALUE,
+                        365601, Integer.MAX_VALUE, 609351, Integer.MAX_VALUE),
+                bracket(2025, 10, 0, 11925, 0, 23850, 0, 11925, 0, 17000),
+                bracket(2025, 12, 11926, 48475, 23851, 96950, 11926, 48475, 17001, 64850),
+                bracket(2025, 22, 48476, 103350, 96951, 206700, 48476, 103350, 64851, 103350),
+                bracket(2025, 24, 103351, 197300, 206701, 394600, 103351, 197300, 103351, 197300),
+                bracket(2025, 32, 197301, 250525, 394601, 501050, 197301, 250525, 197301, 250500),
+                bracket(2025, 35, 250526, 626350, 501051, 751600, 250526, 375800, 250501, 626350),
+                bracket(2025, 37, 626351, Integer.MAX_VALUE, 751601, Integer.MAX_VALUE,
+                        375801, Integer.MAX_VALUE, 626351, Integer.MAX_VALUE)));
+
+        CapitalGainsBracketRepository capitalGainsBracketRepository = mock(CapitalGainsBracketRepository.class);
+        when(capitalGainsBracketRepository.findAll()).thenReturn(List.of(
+                setBracket(new CapitalGainsBracketDetails(), 2024, 0, 0, 47025, 0, 94050, 0, 47025, 0, 63000),
+                setBracket(new CapitalGainsBracketDetails(), 2024, 15, 47026, 518900, 94051, 583750, 47026, 291850, 63001, 551350),
+                setBracket(new CapitalGainsBracketDetails(), 2024, 20, 518901, Integer.MAX_VALUE, 583751, Integer.MAX_VALUE,
+                        291851, Integer.MAX_VALUE, 551351, Integer.MAX_VALUE),
+                setBracket(new CapitalGainsBracketDetails(), 2025, 0, 0, 48350, 0, 96700, 0, 48350, 0, 64750),
+                setBracket(new CapitalGainsBracketDetails(), 2025, 15, 48351, 533400, 96701, 600050, 48351, 300000, 64751, 566700),
+                setBracket(new CapitalGainsBracketDetails(), 2025, 20, 533401, Integer.MAX_VALUE, 600051, Integer.MAX_VALUE,
+                        300001, Integer.MAX_VALUE, 566701, Integer.MAX_VALUE)));
+
+        CreditRuleRepository creditRuleRepository = mock(CreditRuleRepository.class);
+        when(creditRuleRepository.findAll()).thenReturn(List.of(
+                creditRule(2024, "Child tax credit", CHILD_TAX_CREDIT_2024),
+                creditRule(2025, "Child tax credit", CHILD_TAX_CREDIT_2025)));
+
+        TaxTableService taxTableService = new TaxTableService(standardDeductionRepository, bracketRepository,
+                capitalGainsBracketRepository, creditRuleRepository, projectionCpiRates, generatedSchedules, 0);
+        taxTableService.getSupportedTaxYears();
+        return taxTableService;
+    }
+
+    /**
+     * Creates standard deduction details using the given data, with the statutory payroll tax rates and
+     * Additional Medicare tax thresholds.
+     */
+    private static StandardDeductionDetails standardDeduction(int taxYear, int single, int mfj, int mfs, int hoh,
+                                                              int socialSecurityWageBase) {
+
+        StandardDeductionDetails details = new StandardDeductionDetails();
+        details.setTaxYear(taxYear);
+        details.setSingle(single);
+        details.setMfj(mfj);
+        details.setMfs(mfs);
+        details.setHoh(hoh);
+        details.setSocialSecurityTaxRate(6.2);
+        details.setSocialSecurityWageBase(socialSecurityWageBase);
+        details.setMedicareTaxRate(1.45);
+        details.setAdditionalMedicareTaxRate(0.9);
+        details.setAdditionalMedicareThresholdSingle(200_000);
+        details.setAdditionalMedicareThresholdMfj(250_000);
+        details.setAdditionalMedicareThresholdMfs(125_000);
+        details.setAdditionalMedicareThresholdHoh(200_000);
+        return details;
+    }
+
+    /**
+     * Creates credit rule details using the given data.
+     */
+    private static CreditRuleDetails creditRule(int taxYear, String name, String expression) {
+
+        CreditRuleDetails details = new CreditRuleDetails();
+        details.setTaxYear(taxYear);
+        details.setName(name);
+        details.setExpression(expression);
+        return details;
+    }
+
+    /**
+     * Creates bracket details using the given data.
+     */
+    private static BracketDetails bracket(int taxYear, int taxRate,
+                                          int minSingle, int maxSingle,
+                                          int minMfj, int maxMfj,
+                                          int minMfs, int maxMfs,
+                                          int minHoh, int maxHoh) {
+
+        return setBracket(new BracketDetails(), taxYear, taxRate,
+                minSingle, maxSingle, minMfj, maxMfj, minMfs, maxMfs, minHoh, maxHoh);
+    }
+
+    /**
+     * Populates the given bracket details, ordinary or capital gains, using the given data.
+     */
+    private static <T extends BracketDetails> T setBracket(T details, int taxYear, int taxRate,
+                                                           int minSingle, int maxSingle,
+                                                           int minMfj, int maxMfj,
+                                                           int minMfs, int maxMfs,
+                                                           int minHoh, int maxHoh) {
+
+        details.setTaxYear(taxYear);
+        details.setTaxRate(taxRate);
+        details.setMinIncomeSingle(minSingle);
+        details.setMaxIncomeSingle(maxSingle);
+        details.setMinIncomeMFJ(minMfj);
+        details.setMaxIncomeMFJ(maxMfj);
+        details.setMinIncomeMFS(minMfs);
+        details.setMaxIncomeMFS(maxMfs);
+        details.setMinIncomeHOH(minHoh);
+        details.setMaxIncomeHOH(maxHoh);
+        return details;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jack.tax.benchmarks;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.services.TaxCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that the opt-in explain mode does not slow down regular calculations, by comparing the default path
+ * with the explain flag off against the explain path.  Run with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main ExplainModeBenchmark}, optionally with {@code -prof gc}
+ * to confirm the default path allocates nothing beyond the output model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExplainModeBenchmark {
+
+    private TaxCalculationService taxCalculationService;
+    private InputModel inputModel;
+
+    /**
+     * Loads the tax tables and creates the input model used by every invocation.
+     */
+    @Setup
+    public void setup() {
+
+        taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+        inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setGrossIncome(215_000);
+        inputModel.setTotalDeductions(12_000);
+        inputModel.setTotalCredits(2_000);
+    }
+
+    /**
+     * A regular calculation, as made by the default path.
+     */
+    @Benchmark
+    public OutputModel defaultCalculation() {
+        return taxCalculationService.calculateTaxes(inputModel);
+    }
+
+    /**
+     * A calculation with the explain flag explicitly turned off.
+     */
+    @Benchmark
+    public OutputModel explainOff() {
+        return taxCalculationService.calculateTaxes(inputModel, false, false);
+    }
+
+    /**
+     * A calculation with the per-bracket explanation.
+     */
+    @Benchmark
+    public OutputModel explainOn() {
+        return taxCalculationService.calculateTaxes(inputModel, false, true);
+    }
+}
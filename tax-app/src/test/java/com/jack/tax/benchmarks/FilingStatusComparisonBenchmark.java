@@ -0,0 +1,83 @@
+package com.jack.tax.benchmarks;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.FilingStatusCalculation;
+import com.jack.tax.models.interfaces.FilingStatusComparison;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.services.TaxCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of calculating taxes for every filing status at once, with and without reading every output
+ * model, against the cost of a single calculation.  Run with {@code java -cp <test classpath> org.openjdk.jmh.Main FilingStatusComparisonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilingStatusComparisonBenchmark {
+
+    private TaxCalculationService taxCalculationService;
+    private InputModel inputModel;
+
+    /**
+     * Loads the tax tables and creates the input model used by every invocation.
+     */
+    @Setup
+    public void setup() {
+
+        taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+        inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.MARRIED_FILING_JOINTLY);
+        inputModel.setGrossIncome(128_456.78);
+        inputModel.setTotalDeductions(12_000);
+        inputModel.setTotalCredits(2_000);
+    }
+
+    /**
+     * A single calculation for the selected filing status.
+     */
+    @Benchmark
+    public OutputModel singleCalculation() {
+        return taxCalculationService.calculateTaxes(inputModel);
+    }
+
+    /**
+     * A calculation for every filing status plus the best filing status pick.
+     */
+    @Benchmark
+    public FilingStatusComparison allFilingStatuses() {
+        return taxCalculationService.compareFilingStatuses(inputModel, null);
+    }
+
+    /**
+     * A calculation for every filing status plus the best filing status pick, with every output model read (and
+     * so rounded) as writing the response would.
+     */
+    @Benchmark
+    public void allFilingStatusesWithOutputs(Blackhole blackhole) {
+
+        for (FilingStatusCalculation calculation : taxCalculationService.compareFilingStatuses(inputModel, null)
+                .getCalculations()) {
+            blackhole.consume(calculation.getOutputModel());
+        }
+    }
+}
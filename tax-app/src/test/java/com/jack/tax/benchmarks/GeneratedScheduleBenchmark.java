@@ -0,0 +1,127 @@
+package com.jack.tax.benchmarks;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.FederalTaxFunction;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.services.TaxCalculationService;
+import com.jack.tax.services.TaxTableService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calculating the federal tax owed on 100,000 incomes through the tax calculation service, through the
+ * interpretive compiled schedules and through the generated schedule classes, for incomes spread over every filing
+ * status and for single filers only.  Run with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main GeneratedScheduleBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratedScheduleBenchmark {
+
+    /**
+     * Number of incomes per invocation
+     */
+    private static final int INCOME_COUNT = 100_000;
+
+    /**
+     * Whether the incomes are spread over every filing status, or all single
+     */
+    @Param({"true", "false"})
+    private boolean mixedFilingStatuses;
+
+    private TaxCalculationService taxCalculationService;
+    private CompiledTaxYear compiledTaxYear;
+    private CompiledTaxYear generatedTaxYear;
+    private FilingStatus[] filingStatuses;
+    private double[] grossIncomes;
+    private double[] totalDeductions;
+
+    /**
+     * Loads the tax tables, with and without generated schedules, and creates the incomes used by every invocation.
+     */
+    @Setup
+    public void setup() {
+
+        TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+        taxCalculationService = new TaxCalculationService(taxTableService);
+        compiledTaxYear = taxTableService.getCompiledTaxYear(2025);
+        generatedTaxYear = TaxTableFixtures.createTaxTableService(List.of(), true).getCompiledTaxYear(2025);
+
+        SplittableRandom random = new SplittableRandom(42);
+        FilingStatus[] values = mixedFilingStatuses ? FilingStatus.values() : new FilingStatus[]{FilingStatus.SINGLE};
+        filingStatuses = new FilingStatus[INCOME_COUNT];
+        grossIncomes = new double[INCOME_COUNT];
+        totalDeductions = new double[INCOME_COUNT];
+        for (int index = 0; index < INCOME_COUNT; index++) {
+            filingStatuses[index] = values[random.nextInt(values.length)];
+            grossIncomes[index] = random.nextDouble(10_000, 400_000);
+            totalDeductions[index] = random.nextInt(4) == 0 ? random.nextDouble(0, 40_000) : 0;
+        }
+    }
+
+    /**
+     * The regular calculation loop, one input model per income.
+     */
+    @Benchmark
+    public double calculateTaxes() {
+
+        double total = 0.0;
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        for (int index = 0; index < INCOME_COUNT; index++) {
+            inputModel.setSelectedFilingStatus(filingStatuses[index]);
+            inputModel.setGrossIncome(grossIncomes[index]);
+            inputModel.setTotalDeductions(totalDeductions[index]);
+            total += taxCalculationService.calculateTaxes(inputModel).getFederalTaxOwed();
+        }
+        return total;
+    }
+
+    /**
+     * The interpretive compiled schedules, searching the bracket arrays.
+     */
+    @Benchmark
+    public double interpretiveSchedules() {
+
+        double total = 0.0;
+        for (int index = 0; index < INCOME_COUNT; index++) {
+            total += TaxEngine.federalTaxOwed(compiledTaxYear.getSchedule(filingStatuses[index]),
+                    grossIncomes[index], totalDeductions[index], 0);
+        }
+        return total;
+    }
+
+    /**
+     * The generated schedule classes, with the brackets baked in as constants.
+     */
+    @Benchmark
+    public double generatedSchedules() {
+
+        double total = 0.0;
+        for (int index = 0; index < INCOME_COUNT; index++) {
+            FederalTaxFunction function = generatedTaxYear.getFederalTaxFunction(filingStatuses[index]);
+            total += function.federalTaxOwed(grossIncomes[index], totalDeductions[index], 0);
+        }
+        return total;
+    }
+}
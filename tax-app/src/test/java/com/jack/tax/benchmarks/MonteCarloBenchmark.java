@@ -0,0 +1,72 @@
+package com.jack.tax.benchmarks;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.IncomeSampler;
+import com.jack.tax.engine.MonteCarloSimulation;
+import com.jack.tax.models.FilingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Monte Carlo throughput in samples per second, both on a single core and on every available core
+ * (divide the latter by the number of cores for samples per second per core).  Each sample is drawn and
+ * calculated twice, once per pass.  Run with {@code java -cp <test classpath> org.openjdk.jmh.Main MonteCarloBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonteCarloBenchmark {
+
+    /**
+     * Number of samples per simulation
+     */
+    private static final int SAMPLE_COUNT = 1_000_000;
+
+    private CompiledTaxSchedule schedule;
+    private IncomeSampler incomeSampler;
+
+    /**
+     * Loads the tax tables and creates the income sampler used by every invocation.
+     */
+    @Setup
+    public void setup() {
+
+        schedule = TaxTableFixtures.createTaxTableService()
+                .getCompiledTaxYear(2025)
+                .getSchedule(FilingStatus.MARRIED_FILING_JOINTLY);
+        incomeSampler = new IncomeSampler(true, 150_000, 40_000, 15_000, 5_000);
+    }
+
+    /**
+     * A simulation on the calling thread only.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public MonteCarloSimulation singleCore() {
+        return new MonteCarloSimulation(schedule, 12_000, 2_000, 0, incomeSampler, SAMPLE_COUNT, 42, false).run(50);
+    }
+
+    /**
+     * A simulation on every available core.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public MonteCarloSimulation allCores() {
+        return new MonteCarloSimulation(schedule, 12_000, 2_000, 0, incomeSampler, SAMPLE_COUNT, 42, true).run(50);
+    }
+}
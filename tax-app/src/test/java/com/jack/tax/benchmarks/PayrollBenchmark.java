@@ -0,0 +1,84 @@
+package com.jack.tax.benchmarks;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.PayFrequency;
+import com.jack.tax.models.PayrollEmployee;
+import com.jack.tax.models.PayrollRunRequest;
+import com.jack.tax.models.interfaces.PayrollRunResponse;
+import com.jack.tax.services.PayrollService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a 100,000-employee biweekly payroll run takes through the payroll service, from the
+ * request's employees to the response's withholdings.  Run with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main PayrollBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollBenchmark {
+
+    /**
+     * Number of employees in the run
+     */
+    private static final int EMPLOYEE_COUNT = 100_000;
+
+    private PayrollService payrollService;
+    private PayrollRunRequest request;
+
+    /**
+     * Loads the tax tables and creates the payroll run used by every invocation.
+     */
+    @Setup
+    public void setup() {
+
+        payrollService = new PayrollService(TaxTableFixtures.createTaxTableService());
+
+        SplittableRandom random = new SplittableRandom(42);
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        List<PayrollEmployee> employees = new ArrayList<>(EMPLOYEE_COUNT);
+        for (int index = 0; index < EMPLOYEE_COUNT; index++) {
+            int payPeriod = 1 + random.nextInt(26);
+            double grossPay = random.nextDouble(500, 12_000);
+            PayrollEmployee employee = new PayrollEmployee();
+            employee.setEmployeeId("E" + index);
+            employee.setFilingStatus(filingStatuses[random.nextInt(filingStatuses.length)]);
+            employee.setPayPeriod(payPeriod);
+            employee.setGrossPay(grossPay);
+            employee.setYtdGrossPay(grossPay * (payPeriod - 1));
+            employee.setYtdWithholding(grossPay * (payPeriod - 1) * 0.12);
+            employees.add(employee);
+        }
+
+        request = new PayrollRunRequest();
+        request.setSelectedTaxYear(2025);
+        request.setPayFrequency(PayFrequency.BIWEEKLY);
+        request.setEmployees(employees);
+    }
+
+    /**
+     * A whole payroll run.
+     */
+    @Benchmark
+    public PayrollRunResponse runPayroll() {
+        return payrollService.runPayroll(request);
+    }
+}
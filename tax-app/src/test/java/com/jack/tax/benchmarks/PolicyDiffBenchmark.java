@@ -0,0 +1,105 @@
+package com.jack.tax.benchmarks;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.PolicyDiff;
+import com.jack.tax.engine.PopulationFile;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.services.TaxTableService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures policy diff throughput in records per second, both on a single core and on every available core.
+ * The 2024 tax table stands in for the draft and is compared against 2025 current law.  Run with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main PolicyDiffBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyDiffBenchmark {
+
+    /**
+     * Number of records in the population
+     */
+    private static final int RECORD_COUNT = 1_000_000;
+
+    private Path path;
+    private PopulationFile population;
+    private CompiledTaxYear current;
+    private CompiledTaxYear draft;
+
+    /**
+     * Writes and maps a random population and loads the tax tables used by every invocation.
+     */
+    @Setup
+    public void setup() throws IOException {
+
+        SplittableRandom random = new SplittableRandom(42);
+        FilingStatus[] allFilingStatuses = FilingStatus.values();
+        FilingStatus[] filingStatuses = new FilingStatus[RECORD_COUNT];
+        double[] grossIncomes = new double[RECORD_COUNT];
+        double[] totalDeductions = new double[RECORD_COUNT];
+        double[] totalCredits = new double[RECORD_COUNT];
+        double[] weights = new double[RECORD_COUNT];
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            filingStatuses[index] = allFilingStatuses[random.nextInt(allFilingStatuses.length)];
+            grossIncomes[index] = Math.exp(11 + random.nextGaussian());
+            totalDeductions[index] = random.nextInt(4) == 0 ? random.nextInt(60_000) : 0;
+            totalCredits[index] = random.nextInt(3) == 0 ? 2_000 : 0;
+            weights[index] = 50 + random.nextInt(100);
+        }
+        path = Files.createTempFile("population", ".bin");
+        PopulationFile.write(path, filingStatuses, grossIncomes, totalDeductions, totalCredits, weights);
+        population = PopulationFile.open(path);
+
+        TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+        current = taxTableService.getCompiledTaxYear(2025);
+        draft = taxTableService.getCompiledTaxYear(2024);
+    }
+
+    /**
+     * Deletes the population file.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * A comparison on the calling thread only.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public PolicyDiff singleCore() {
+        return new PolicyDiff(population, current, draft, false).run();
+    }
+
+    /**
+     * A comparison on every available core.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public PolicyDiff allCores() {
+        return new PolicyDiff(population, current, draft, true).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.jack.tax.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jack.tax.BinaryFormatConfig;
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.services.TaxCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the server-side cost of a calculation request in JSON against the CBOR and Smile binary formats: reading
+ * the input model, calculating and writing the one-element output list, with the same object mappers as the app's
+ * message converters.  The request and response sizes (bytes on the wire) of each format are printed at setup.  Run
+ * with {@code java -cp <test classpath> org.openjdk.jmh.Main WireFormatBenchmark}, optionally with {@code -prof gc}
+ * to compare allocations too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    /**
+     * Media type of the request and response
+     */
+    @Param({"application/json", "application/cbor", "application/x-jackson-smile"})
+    public String mediaType;
+
+    private TaxCalculationService taxCalculationService;
+    private ObjectMapper objectMapper;
+    private byte[] request;
+    private List<OutputModel> response;
+
+    /**
+     * Loads the tax tables, creates the object mapper of the media type and encodes the request used by every
+     * invocation.
+     */
+    @Setup
+    public void setup() throws IOException {
+
+        taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+        BinaryFormatConfig binaryFormatConfig = new BinaryFormatConfig();
+        objectMapper = switch (mediaType) {
+            case "application/cbor" ->
+                    binaryFormatConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            case "application/x-jackson-smile" ->
+                    binaryFormatConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            default -> new Jackson2ObjectMapperBuilder().build();
+        };
+
+        InputModel inputModel = new InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.MARRIED_FILING_JOINTLY);
+        inputModel.setGrossIncome(215_000.5);
+        inputModel.setPreferentialIncome(12_500);
+        inputModel.setTotalDeductions(32_000);
+        inputModel.setTotalCredits(2_000);
+        inputModel.setQualifyingChildren(2);
+        request = objectMapper.writeValueAsBytes(inputModel);
+        response = Collections.singletonList(taxCalculationService.calculateTaxes(inputModel, true, false));
+
+        System.out.printf("%s: request %d bytes, response %d bytes%n",
+                mediaType, request.length, objectMapper.writeValueAsBytes(response).length);
+    }
+
+    /**
+     * A whole request: reads the input, calculates with the marginal sensitivity and writes the output.
+     */
+    @Benchmark
+    public byte[] calculation() throws IOException {
+
+        InputModel inputModel = objectMapper.readValue(request, InputModel.class);
+        return objectMapper.writeValueAsBytes(Collections.singletonList(
+                taxCalculationService.calculateTaxes(inputModel, true, false)));
+    }
+
+    /**
+     * Only the wire format's share of a request: reads the input and writes a precalculated output.
+     */
+    @Benchmark
+    public byte[] readAndWrite() throws IOException {
+
+        objectMapper.readValue(request, InputModel.class);
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,405 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.services.TaxCalculationService;
+import com.jack.tax.services.TaxTableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BulkCalculator
+ */
+public class BulkCalculatorTests {
+
+    /**
+     * Number of random rows per input file
+     */
+    private static final int ROW_COUNT = 500;
+
+    /**
+     * Holds the input and output files
+     */
+    @TempDir
+    private Path directory;
+
+    /**
+     * Compiled 2025 schedules
+     */
+    private CompiledTaxYear taxYear;
+
+    /**
+     * Calculates the rows one at a time, child tax credit rules included
+     */
+    private TaxCalculationService taxCalculationService;
+
+    /**
+     * Random rows: filing status ordinal, gross income, preferential income, total deductions, total credits and
+     * number of qualifying children
+     */
+    private List<double[]> rows;
+
+    @BeforeEach
+    public void setUp() {
+
+        TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+        taxYear = taxTableService.getCompiledTaxYear(2025);
+        taxCalculationService = new TaxCalculationService(taxTableService);
+
+        SplittableRandom random = new SplittableRandom(47);
+        rows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < ROW_COUNT; rowIndex++) {
+            // Incomes up to $1.5M, so some rows are within the child tax credit phase-out
+            double grossIncome = random.nextLong(150_000_000) / 100.0;
+            rows.add(new double[]{
+                    random.nextInt(FilingStatus.values().length),
+                    grossIncome,
+                    random.nextInt(4) == 0 ? Math.floor(grossIncome * random.nextDouble() * 100) / 100 : 0.0,
+                    random.nextInt(3) == 0 ? random.nextInt(60_000) : 0.0,
+                    random.nextInt(5) == 0 ? random.nextInt(5_000) + 0.5 : 0.0,
+                    random.nextInt(2) == 0 ? random.nextInt(4) : 0});
+        }
+    }
+
+    /**
+     * Verifies that every CSV row is calculated the same as a single calculation would be and written in input
+     * order, however the file is split into chunks.
+     *
+     * @param chunkSize Number of input bytes per chunk
+     * @param parallel  True to calculate the chunks in parallel
+     */
+    @ParameterizedTest
+    @CsvSource({"1, false", "37, false", "37, true", "1024, true", "67108864, true"})
+    public void calculate_csv_matchesSingleCalculations(int chunkSize, boolean parallel) throws IOException {
+
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, toCsv(true, "\n"), StandardCharsets.US_ASCII);
+        Path output = directory.resolve("results.csv");
+
+        BulkCalculator bulkCalculator = new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, parallel, chunkSize);
+
+        assertEquals(ROW_COUNT, bulkCalculator.calculate(input, output));
+        assertEquals(ROW_COUNT, bulkCalculator.getProcessedRowCount());
+        assertEquals(expectedOutput(), Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Verifies that CSV files without a header, with Windows line endings and without a final newline are read
+     * the same.
+     */
+    @Test
+    public void calculate_csvWithoutHeaderOrFinalNewline_matchesSingleCalculations() throws IOException {
+
+        String csv = toCsv(false, "\r\n");
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, csv.substring(0, csv.length() - 2), StandardCharsets.US_ASCII);
+        Path output = directory.resolve("results.csv");
+
+        new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, true, 53).calculate(input, output);
+
+        assertEquals(expectedOutput(), Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Verifies that fixed-width records, number of qualifying children included, are calculated the same as their
+     * CSV rows.
+     *
+     * @param chunkSize Number of input bytes per chunk
+     */
+    @ParameterizedTest
+    @CsvSource({"1", "200", "67108864"})
+    public void calculate_fixedWidth_matchesSingleCalculations(int chunkSize) throws IOException {
+
+        StringBuilder records = new StringBuilder();
+        for (double[] row : rows) {
+            records.append((int) row[0]);
+            for (int column = 1; column < row.length - 1; column++) {
+                records.append(String.format(Locale.US, "%15.2f", row[column]));
+            }
+            records.append(String.format(Locale.US, "%2d", (int) row[5])).append('\n');
+        }
+        Path input = directory.resolve("returns.dat");
+        Files.writeString(input, records, StandardCharsets.US_ASCII);
+        Path output = directory.resolve("results.csv");
+
+        new BulkCalculator(taxYear, BulkCalculator.InputFormat.FIXED_WIDTH, true, chunkSize).calculate(input, output);
+
+        assertEquals(expectedOutput(), Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Verifies that a run resumed from the chunks an interrupted run completed only calculates the other chunks
+     * and ends with the same output as an uninterrupted run.
+     */
+    @Test
+    public void calculate_resumedRun_calculatesRemainingChunks() throws IOException {
+
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, toCsv(true, "\n"), StandardCharsets.US_ASCII);
+        Path output = directory.resolve("results.csv");
+        BulkCalculator bulkCalculator = new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, false, 1000);
+
+        // Stop the first run after a few chunks, as if the process died
+        BitSet completedChunks = new BitSet();
+        long[] completedRows = new long[1];
+        int[] chunkCount = new int[1];
+        assertThrows(IllegalStateException.class, () -> bulkCalculator.calculate(input, output, new BitSet(),
+                new BulkCalculator.ChunkListener() {
+
+                    @Override
+                    public void started(int count, long rowCount) {
+                        chunkCount[0] = count;
+                        assertEquals(ROW_COUNT, rowCount);
+                    }
+
+                    @Override
+                    public void chunkCompleted(int chunkIndex, long rowCount) {
+                        if (completedChunks.cardinality() == 3) {
+                            throw new IllegalStateException("Stopped");
+                        }
+                        completedChunks.set(chunkIndex);
+                        completedRows[0] += rowCount;
+                    }
+                }));
+        assertTrue(chunkCount[0] > 4);
+
+        BitSet resumedChunks = new BitSet();
+        bulkCalculator.calculate(input, output, (BitSet) completedChunks.clone(), new BulkCalculator.ChunkListener() {
+
+            @Override
+            public void started(int count, long rowCount) {
+                assertEquals(chunkCount[0], count);
+            }
+
+            @Override
+            public void chunkCompleted(int chunkIndex, long rowCount) {
+                resumedChunks.set(chunkIndex);
+            }
+        });
+
+        assertEquals(ROW_COUNT - completedRows[0], bulkCalculator.getProcessedRowCount());
+        assertTrue(!resumedChunks.intersects(completedChunks));
+        assertEquals(chunkCount[0], resumedChunks.cardinality() + completedChunks.cardinality());
+        assertEquals(expectedOutput(), Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Verifies that an output file is read back into the same values it was written from, a batch at a time.
+     *
+     * @param batchRowCount Max number of rows per batch
+     */
+    @ParameterizedTest
+    @CsvSource({"1", "37", "500", "4096"})
+    public void readOutput_matchesSingleCalculations(int batchRowCount) throws IOException {
+
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, toCsv(true, "\n"), StandardCharsets.US_ASCII);
+        Path output = directory.resolve("results.csv");
+        new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, true, 1000).calculate(input, output);
+
+        double[] federalTaxOwed = new double[batchRowCount];
+        int[] marginalTaxRates = new int[batchRowCount];
+        double[] effectiveTaxRates = new double[batchRowCount];
+        double[] takeHomePay = new double[batchRowCount];
+        int[] rowIndex = new int[1];
+        long rowCount = BulkCalculator.readOutput(output, federalTaxOwed, marginalTaxRates, effectiveTaxRates,
+                takeHomePay, batchSize -> {
+                    for (int batchIndex = 0; batchIndex < batchSize; batchIndex++, rowIndex[0]++) {
+                        OutputModel outputModel = calculateRow(rows.get(rowIndex[0]));
+                        assertEquals(outputModel.getFederalTaxOwed(), federalTaxOwed[batchIndex]);
+                        assertEquals(outputModel.getMarginalTaxRate(), marginalTaxRates[batchIndex]);
+                        assertEquals(outputModel.getEffectiveTaxRate(), effectiveTaxRates[batchIndex]);
+                        assertEquals(outputModel.getTakeHomePay(), takeHomePay[batchIndex]);
+                    }
+                });
+
+        assertEquals(ROW_COUNT, rowCount);
+        assertEquals(ROW_COUNT, rowIndex[0]);
+    }
+
+    /**
+     * Verifies that the child tax credit rules apply to rows with qualifying children, phase-out included, and
+     * that rows without the column have none.
+     */
+    @Test
+    public void calculate_qualifyingChildren_appliesCreditRules() throws IOException {
+
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, "filingStatus,grossIncome,preferentialIncome,totalDeductions,totalCredits,"
+                + "qualifyingChildren\n"
+                + "SINGLE,200000,0,0,0\n"
+                + "SINGLE,200000,0,0,0,2\n"
+                + "SINGLE,200000.01,0,0,0, 2\n"
+                + "MARRIED_FILING_JOINTLY,450000,25000,30000,1000,3\n");
+        Path output = directory.resolve("results.csv");
+        new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, false).calculate(input, output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(5, lines.size());
+        assertEquals(String.format(Locale.US, "%16.2f", 32666.42 + 4400), lines.get(1).substring(0, 16));
+        assertEquals(String.format(Locale.US, "%16.2f", 32666.42), lines.get(2).substring(0, 16));
+        assertEquals(String.format(Locale.US, "%16.2f", 32716.42), lines.get(3).substring(0, 16));
+        assertEquals(String.format(Locale.US, "%16.2f", calculateRow(new double[]{
+                        FilingStatus.MARRIED_FILING_JOINTLY.ordinal(), 450_000, 25_000, 30_000, 1_000, 3})
+                        .getFederalTaxOwed()),
+                lines.get(4).substring(0, 16));
+    }
+
+    /**
+     * Verifies that a file with only a header results in only the output header.
+     */
+    @Test
+    public void calculate_noRows_writesHeaderOnly() throws IOException {
+
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, "filingStatus,grossIncome,preferentialIncome,totalDeductions,totalCredits\n");
+        Path output = directory.resolve("results.csv");
+
+        assertEquals(0, new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, true).calculate(input, output));
+        assertEquals(List.of("  federalTaxOwed,marginalTaxRate,effectiveTaxRate,     takeHomePay"),
+                Files.readAllLines(output));
+    }
+
+    /**
+     * Verifies that invalid rows are reported with their row number.
+     *
+     * @param row             Invalid CSV row, placed second in the file
+     * @param expectedMessage Expected start of the error message
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "WIDOWED,50000,0,0,0|Row 2: \"WIDOWED\" is not a filing status",
+            "SINGLE,50000,0,0|Row 2: Expected 5 or 6 columns",
+            "SINGLE,50000,0,0,0,0,0|Row 2: Expected 5 or 6 columns",
+            "SINGLE,50000,0,0,0,21|Row 2: \"21\" is not a number of qualifying children from 0 to 20",
+            "SINGLE,50000,0,0,0,1.5|Row 2: \"1.5\" is not a number of qualifying children from 0 to 20",
+            "SINGLE,50000,0,0,0,|Row 2: \"\" is not a number of qualifying children from 0 to 20",
+            "SINGLE,-50000,0,0,0|Row 2: \"-50000\" is not a valid monetary amount",
+            "SINGLE,50000.005,0,0,0|Row 2: \"50000.005\" is not a valid monetary amount",
+            "SINGLE,1e5,0,0,0|Row 2: \"1e5\" is not a valid monetary amount",
+            "SINGLE,,0,0,0|Row 2: \"\" is not a valid monetary amount",
+            "SINGLE,1000000000000,0,0,0|Row 2: \"1000000000000\" is not a valid monetary amount",
+            "SINGLE,50000,60000,0,0|Row 2: Preferential income must not exceed gross income"})
+    public void calculate_invalidRow_throwsException(String row, String expectedMessage) throws IOException {
+
+        Path input = directory.resolve("returns.csv");
+        Files.writeString(input, "SINGLE,50000,0,0,0\n" + row + "\nSINGLE,50000,0,0,0\n");
+        Path output = directory.resolve("results.csv");
+
+        BulkCalculator bulkCalculator = new BulkCalculator(taxYear, BulkCalculator.InputFormat.CSV, false);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> bulkCalculator.calculate(input, output));
+        assertEquals(expectedMessage, e.getMessage());
+    }
+
+    /**
+     * Verifies that fixed-width files that are not made of whole records, and CSV lines that are too long, are
+     * rejected.
+     */
+    @Test
+    public void calculate_malformedFile_throwsException() throws IOException {
+
+        Path output = directory.resolve("results.csv");
+
+        Path fixedWidth = directory.resolve("returns.dat");
+        Files.writeString(fixedWidth, "0" + " ".repeat(14) + "1\n");
+        assertThrows(IllegalArgumentException.class, () -> new BulkCalculator(taxYear,
+                BulkCalculator.InputFormat.FIXED_WIDTH, false).calculate(fixedWidth, output));
+
+        // A record without the number of qualifying children is too short
+        Files.writeString(fixedWidth, "0" + String.format(Locale.US, "%15.2f", 50_000.0) + " ".repeat(14) + "0"
+                + " ".repeat(14) + "0" + " ".repeat(14) + "0\n");
+        assertThrows(IllegalArgumentException.class, () -> new BulkCalculator(taxYear,
+                BulkCalculator.InputFormat.FIXED_WIDTH, false).calculate(fixedWidth, output));
+
+        Path csv = directory.resolve("returns.csv");
+        Files.writeString(csv, "SINGLE,50000,0,0," + " ".repeat(2 * BulkCalculator.MAX_CSV_LINE_LENGTH) + "0\n"
+                + "SINGLE,50000,0,0,0\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new BulkCalculator(taxYear,
+                BulkCalculator.InputFormat.CSV, false, 100).calculate(csv, output));
+        assertTrue(e.getMessage().contains("longer than"));
+    }
+
+    /**
+     * Returns the random rows as CSV.
+     *
+     * @param header    True to start with a header line
+     * @param separator Line separator
+     */
+    private String toCsv(boolean header, String separator) {
+
+        StringBuilder csv = new StringBuilder();
+        if (header) {
+            csv.append("filingStatus,grossIncome,preferentialIncome,totalDeductions,totalCredits").append(separator);
+        }
+        for (double[] row : rows) {
+            csv.append(FilingStatus.values()[(int) row[0]]);
+            for (int column = 1; column < row.length - 1; column++) {
+                csv.append(',').append(row[column]);
+            }
+            // Rows without qualifying children mostly leave the optional column out
+            if (row[5] != 0 || row[3] != 0) {
+                csv.append(',').append((int) row[5]);
+            }
+            csv.append(separator);
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Returns the expected output of the random rows, calculated one at a time.
+     */
+    private String expectedOutput() {
+
+        StringBuilder output = new StringBuilder("  federalTaxOwed,marginalTaxRate,effectiveTaxRate,     takeHomePay\n");
+        for (double[] row : rows) {
+            OutputModel outputModel = calculateRow(row);
+            output.append(String.format(Locale.US, "%16.2f,%15d,%16.2f,%16.2f%n",
+                    outputModel.getFederalTaxOwed(),
+                    outputModel.getMarginalTaxRate(),
+                    outputModel.getEffectiveTaxRate(),
+                    outputModel.getTakeHomePay()));
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Calculates a row the way a single 2025 calculation request would.
+     *
+     * @param row Filing status ordinal, gross income, preferential income, total deductions, total credits and
+     *            number of qualifying children
+     */
+    private OutputModel calculateRow(double[] row) {
+
+        InputModel inputModel = new InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.values()[(int) row[0]]);
+        inputModel.setGrossIncome(row[1]);
+        inputModel.setPreferentialIncome(row[2]);
+        inputModel.setTotalDeductions(row[3]);
+        inputModel.setTotalCredits(row[4]);
+        inputModel.setQualifyingChildren((int) row[5]);
+        return taxCalculationService.calculateTaxes(inputModel);
+    }
+}
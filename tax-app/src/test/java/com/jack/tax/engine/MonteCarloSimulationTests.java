@@ -0,0 +1,93 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the Monte Carlo simulation
+ */
+public class MonteCarloSimulationTests {
+
+    /**
+     * Verifies the statistics of every output against the same samples drawn and sorted one at a time, and that
+     * the parallel simulation gives exactly the same results as the sequential one.  The child tax credit rule
+     * applies at every sampled income, phase-out included.
+     *
+     * @param lognormal   True for a lognormally distributed salary
+     * @param sampleCount Number of samples
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "false, 1",
+            "false, 150000",
+            "true, 200001"
+    })
+    public void run_matchesSortedSamples(boolean lognormal, int sampleCount) {
+
+        CompiledTaxSchedule schedule = TaxTableFixtures.createTaxTableService()
+                .getCompiledTaxYear(2024)
+                .getSchedule(FilingStatus.SINGLE);
+        IncomeSampler incomeSampler = new IncomeSampler(lognormal, 90_000, 30_000, 10_000, 5_000);
+        long seed = 42;
+
+        // Call the method under test
+        MonteCarloSimulation simulation = new MonteCarloSimulation(
+                schedule, 20_000, 1_000, 2, incomeSampler, sampleCount, seed, false).run(20);
+        MonteCarloSimulation parallelSimulation = new MonteCarloSimulation(
+                schedule, 20_000, 1_000, 2, incomeSampler, sampleCount, seed, true).run(20);
+
+        // Draw the same samples one at a time, one random number generator per chunk
+        double[][] samples = new double[3][sampleCount];
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom random = null;
+        for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
+            if (sampleIndex % MonteCarloSimulation.CHUNK_SIZE == 0) {
+                random = root.split();
+            }
+            double grossIncome = incomeSampler.sample(random);
+            double federalTaxOwed = TaxEngine.federalTaxOwed(schedule, grossIncome, 20_000,
+                    1_000 + schedule.getCreditRules().evaluate(grossIncome, 0.0, 2));
+            samples[MonteCarloSimulation.GROSS_INCOME][sampleIndex] = grossIncome;
+            samples[MonteCarloSimulation.FEDERAL_TAX_OWED][sampleIndex] = federalTaxOwed;
+            samples[MonteCarloSimulation.TAKE_HOME_PAY][sampleIndex] = grossIncome - federalTaxOwed;
+        }
+
+        for (int output = 0; output < 3; output++) {
+
+            double[] sorted = samples[output].clone();
+            Arrays.sort(sorted);
+            double mean = Arrays.stream(sorted).sum() / sampleCount;
+            double variance = Arrays.stream(sorted).map(value -> (value - mean) * (value - mean)).sum() / sampleCount;
+            double range = sorted[sampleCount - 1] - sorted[0];
+
+            assertEquals(sorted[0], simulation.getMin(output));
+            assertEquals(sorted[sampleCount - 1], simulation.getMax(output));
+            assertEquals(mean, simulation.getMean(output), 1e-6);
+            assertEquals(Math.sqrt(variance), simulation.getStandardDeviation(output), 1e-6);
+            assertEquals(sampleCount, Arrays.stream(simulation.getHistogramCounts(output)).sum());
+
+            // Percentiles are interpolated within bins of 1/16384th of the range
+            for (double percentile : new double[]{0, 1, 10, 50, 90, 99, 100}) {
+                double rank = (percentile / 100.0) * (sampleCount - 1);
+                int lower = (int) Math.floor(rank);
+                int upper = Math.min(sampleCount - 1, lower + 1);
+                double expected = sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+                assertEquals(expected, simulation.getPercentile(output, percentile), 2.0 * range / 16384 + 1e-9);
+            }
+
+            // The number of cores makes no difference
+            assertEquals(simulation.getMean(output), parallelSimulation.getMean(output));
+            assertEquals(simulation.getStandardDeviation(output), parallelSimulation.getStandardDeviation(output));
+            assertEquals(simulation.getPercentile(output, 50), parallelSimulation.getPercentile(output, 50));
+            assertArrayEquals(simulation.getHistogramCounts(output), parallelSimulation.getHistogramCounts(output));
+        }
+    }
+}
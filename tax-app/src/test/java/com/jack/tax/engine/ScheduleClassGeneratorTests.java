@@ -0,0 +1,107 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.services.TaxTableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the schedule class generator
+ */
+public class ScheduleClassGeneratorTests {
+
+    /**
+     * Verifies that the generated classes calculate exactly the same federal tax owed as the compiled schedules
+     * they were generated from, on every bracket threshold and on random incomes, for every filing status of the
+     * stored and projected years.
+     *
+     * @param taxYear Tax year
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2024, 2025, 2026})
+    public void generate_matchesCompiledSchedule(int taxYear) {
+
+        CompiledTaxYear compiledTaxYear = TaxTableFixtures.createTaxTableService(List.of(2.5), true)
+                .getCompiledTaxYear(taxYear);
+        SplittableRandom random = new SplittableRandom(taxYear);
+
+        for (FilingStatus filingStatus : FilingStatus.values()) {
+
+            CompiledTaxSchedule schedule = compiledTaxYear.getSchedule(filingStatus);
+            FederalTaxFunction generated = compiledTaxYear.getFederalTaxFunction(filingStatus);
+            assertNotSame(schedule, generated);
+
+            // Land on, just below and just above every threshold, above and below the standard deduction
+            for (int bracketIndex = 0; bracketIndex < schedule.getBracketCount(); bracketIndex++) {
+                for (double offset : new double[]{-0.01, 0.0, 0.5, 1.0}) {
+                    double grossIncome = schedule.getStandardDeduction() + schedule.getMinIncome(bracketIndex) + offset;
+                    assertEquals(schedule.federalTaxOwed(grossIncome, 0, 0), generated.federalTaxOwed(grossIncome, 0, 0));
+                    grossIncome = schedule.getStandardDeduction() + schedule.getMaxIncome(bracketIndex) + offset;
+                    assertEquals(schedule.federalTaxOwed(grossIncome, 0, 500), generated.federalTaxOwed(grossIncome, 0, 500));
+                }
+            }
+            for (int sample = 0; sample < 10_000; sample++) {
+                double grossIncome = random.nextDouble(0, 2_000_000);
+                double totalDeductions = random.nextBoolean() ? random.nextDouble(0, 100_000) : 0;
+                double totalCredits = random.nextInt(5_000);
+                assertEquals(schedule.federalTaxOwed(grossIncome, totalDeductions, totalCredits),
+                        generated.federalTaxOwed(grossIncome, totalDeductions, totalCredits));
+            }
+        }
+    }
+
+    /**
+     * Verifies that the interpretive tax tables use the compiled schedules themselves.
+     */
+    @Test
+    public void getFederalTaxFunction_notGenerated_isSchedule() {
+
+        CompiledTaxYear compiledTaxYear = TaxTableFixtures.createTaxTableService().getCompiledTaxYear(2025);
+
+        assertSame(compiledTaxYear.getSchedule(FilingStatus.SINGLE),
+                compiledTaxYear.getFederalTaxFunction(FilingStatus.SINGLE));
+    }
+
+    /**
+     * Verifies that a generated class is unloaded once the tax tables it was generated from are replaced.
+     */
+    @Test
+    public void generate_tablesReplaced_classUnloaded() throws InterruptedException {
+
+        TaxTableService taxTableService = TaxTableFixtures.createTaxTableService(List.of(), true);
+        WeakReference<Class<?>> generatedClass = getGeneratedClass(taxTableService);
+        assertTrue(generatedClass.get().isHidden());
+
+        // Call the method under test
+        taxTableService.refresh();
+        assertNotSame(generatedClass.get(), getGeneratedClass(taxTableService).get());
+
+        for (int attempt = 0; attempt < 50 && generatedClass.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(generatedClass.get());
+    }
+
+    /**
+     * Returns a weak reference to the generated class of the 2025 single schedule of the given service, without
+     * keeping a strong reference to it on the stack.
+     */
+    private static WeakReference<Class<?>> getGeneratedClass(TaxTableService taxTableService) {
+        return new WeakReference<>(taxTableService.getCompiledTaxYear(2025)
+                .getFederalTaxFunction(FilingStatus.SINGLE)
+                .getClass());
+    }
+}
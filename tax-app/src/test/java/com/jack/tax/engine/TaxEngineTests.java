@@ -0,0 +1,158 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the tax engine
+ */
+public class TaxEngineTests {
+
+    /**
+     * Provides the 2024 and 2025 tax tables, including the capital gains brackets
+     */
+    private final CompiledTaxYear compiledTaxYear = TaxTableFixtures.createTaxTableService().getCompiledTaxYear(2025);
+
+    /**
+     * Verifies that qualified dividends and long-term capital gains are stacked on top of the ordinary income and
+     * taxed at the preferential rates of the capital gains brackets they span, and that the ordinary taxable income
+     * below them is taxed as if it were all the income there is.
+     *
+     * @param filingStatus                Filing status
+     * @param grossIncome                 Income before taxes (USD), including the preferential income
+     * @param preferentialIncome          Qualified dividends and long-term capital gains (USD)
+     * @param expectedCapitalGainsTax     Expected capital gains tax (USD)
+     * @param expectedCapitalGainsTaxRate Expected preferential tax rate (%) at the top of the taxable income
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // Stacked from 34250 to 44250, all below the 0% max income of 48350
+            "SINGLE, 60000, 10000, 0.00, 0",
+            // Stacked from 34250 to 54250: 54250 - 48351 = 5899 at 15%
+            "SINGLE, 70000, 20000, 884.85, 15",
+            // Stacked from 64250 to 84250, all at 15%
+            "SINGLE, 100000, 20000, 3000.00, 15",
+            // Stacked from 384250 to 984250: 533400 - 384250 = 149150 at 15%, 984250 - 533401 = 450849 at 20%
+            "SINGLE, 1000000, 600000, 112542.30, 20",
+            // The standard deduction takes all but 4250 of the preferential income, which is taxed at 0%
+            "SINGLE, 20000, 20000, 0.00, 0",
+            // Stacked from 68500 to 118500: 118500 - 96701 = 21799 at 15%
+            "MARRIED_FILING_JOINTLY, 150000, 50000, 3269.85, 15",
+            // Surviving spouses share the married-filing-jointly capital gains brackets
+            "SURVIVING_SPOUSE, 150000, 50000, 3269.85, 15"
+    })
+    public void calculate_preferentialIncome_stackedOnOrdinaryIncome(FilingStatus filingStatus,
+                                                                    double grossIncome,
+                                                                    double preferentialIncome,
+                                                                    double expectedCapitalGainsTax,
+                                                                    int expectedCapitalGainsTaxRate) {
+
+        CompiledTaxSchedule schedule = compiledTaxYear.getSchedule(filingStatus);
+
+        // Call the method under test
+        TaxCalculation calculation = TaxEngine.calculate(
+                schedule, grossIncome, preferentialIncome, 0, 1_000, new TaxCalculation());
+
+        // Without the preferential income, the same deduction leaves just the ordinary taxable income
+        TaxCalculation ordinaryCalculation = TaxEngine.calculate(
+                schedule, grossIncome - preferentialIncome, 0, 1_000, new TaxCalculation());
+        assertEquals(expectedCapitalGainsTax, calculation.getCapitalGainsTax(), 1e-6);
+        assertEquals(expectedCapitalGainsTaxRate, calculation.getCapitalGainsTaxRate());
+        assertEquals(ordinaryCalculation.getFederalTaxOwed() + expectedCapitalGainsTax, calculation.getFederalTaxOwed(), 1e-6);
+        assertEquals(ordinaryCalculation.getMarginalTaxRate(), calculation.getMarginalTaxRate());
+        assertEquals(ordinaryCalculation.getTaxableIncome(), calculation.getOrdinaryTaxableIncome(), 1e-6);
+        assertEquals(schedule.getTaxableIncome(grossIncome, 0), calculation.getTaxableIncome());
+    }
+
+    /**
+     * Verifies the stacking against taxing the preferential income one capital gains bracket at a time, for
+     * incomes and splits that reach every bracket of every filing status.
+     */
+    @Test
+    public void calculate_preferentialIncome_matchesBracketByBracket() {
+
+        for (FilingStatus filingStatus : FilingStatus.values()) {
+            CompiledTaxSchedule schedule = compiledTaxYear.getSchedule(filingStatus);
+            for (double grossIncome = 0; grossIncome <= 1_500_000; grossIncome += 12_345.67) {
+                for (double share = 0.0; share <= 1.0; share += 0.125) {
+
+                    double preferentialIncome = grossIncome * share;
+                    double totalDeductions = grossIncome * 0.05;
+
+                    // Call the method under test
+                    TaxCalculation calculation = TaxEngine.calculate(
+                            schedule, grossIncome, preferentialIncome, totalDeductions, 0, new TaxCalculation());
+
+                    assertEquals(calculateCapitalGainsTax(schedule, calculation.getOrdinaryTaxableIncome(),
+                            calculation.getTaxableIncome()), calculation.getCapitalGainsTax(), 1e-6);
+                    assertEquals(schedule.getIncomeTax(calculation.getOrdinaryTaxableIncome(),
+                                    schedule.getMaxTaxBracketIndex(calculation.getOrdinaryTaxableIncome()))
+                                    + calculation.getCapitalGainsTax(),
+                            calculation.getIncomeTaxBeforeCredits(), 1e-6);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that the marginal sensitivity treats the next increment as ordinary income under the stacked
+     * preferential income, and that the distance to the next threshold lands exactly on it.
+     *
+     * @param grossIncome        Income before taxes (USD), including the preferential income
+     * @param preferentialIncome Qualified dividends and long-term capital gains (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // Taxable income 24250 does not cover the preferential income, so the increment is not ordinary yet
+            "40000, 30000",
+            "100000, 20000",
+            "700000, 300000",
+            "90000, 0"
+    })
+    public void calculateMarginalSensitivity_preferentialIncome_incrementIsOrdinary(double grossIncome,
+                                                                                   double preferentialIncome) {
+
+        CompiledTaxSchedule schedule = compiledTaxYear.getSchedule(FilingStatus.SINGLE);
+        TaxCalculation calculation = TaxEngine.calculate(
+                schedule, grossIncome, preferentialIncome, 0, 0, new TaxCalculation());
+
+        // Call the method under test
+        TaxEngine.calculateMarginalSensitivity(schedule, 0, 100, calculation);
+
+        TaxCalculation incremented = TaxEngine.calculate(
+                schedule, grossIncome + 100, preferentialIncome, 0, 0, new TaxCalculation());
+        TaxCalculation atThreshold = TaxEngine.calculate(schedule,
+                grossIncome + calculation.getDistanceToNextThreshold(), preferentialIncome, 0, 0, new TaxCalculation());
+        TaxCalculation pastThreshold = TaxEngine.calculate(schedule,
+                grossIncome + calculation.getDistanceToNextThreshold() + 0.01, preferentialIncome, 0, 0, new TaxCalculation());
+        assertEquals(incremented.getIncomeTaxBeforeCredits() - calculation.getIncomeTaxBeforeCredits(),
+                calculation.getTaxOnNextIncrement(), 1e-6);
+        assertEquals(calculation.getMaxTaxBracketIndex(), atThreshold.getMaxTaxBracketIndex());
+        assertEquals(calculation.getMaxTaxBracketIndex() + 1, pastThreshold.getMaxTaxBracketIndex());
+    }
+
+    /**
+     * Taxes the taxable income between the given ordinary taxable income and the given taxable income one
+     * capital gains bracket at a time.
+     */
+    private static double calculateCapitalGainsTax(CompiledTaxSchedule schedule,
+                                                   double ordinaryTaxableIncome,
+                                                   double taxableIncome) {
+
+        double capitalGainsTax = 0.0;
+        for (int bracketIndex = 0; bracketIndex < schedule.getCapitalGainsBracketCount(); bracketIndex++) {
+            double minIncome = schedule.getCapitalGainsMinIncome(bracketIndex);
+            double maxIncome = schedule.getCapitalGainsMaxIncome(bracketIndex);
+            double overlap = Math.min(taxableIncome, maxIncome) - Math.max(ordinaryTaxableIncome, minIncome);
+            if (overlap > 0) {
+                capitalGainsTax += overlap * schedule.getCapitalGainsTaxRate(bracketIndex) / 100.0;
+            }
+        }
+        return capitalGainsTax;
+    }
+}
@@ -0,0 +1,448 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.BulkCalculator;
+import com.jack.tax.models.BatchJobDetails;
+import com.jack.tax.models.BatchJobRequest;
+import com.jack.tax.models.BatchJobStatus;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.InputModel;
+import com.jack.tax.models.interfaces.BatchJobResponse;
+import com.jack.tax.repositories.BatchJobRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BatchJobService
+ */
+public class BatchJobServiceTests {
+
+    /**
+     * Returns calculated by the jobs, with a header
+     */
+    private static final String RETURNS_CSV = """
+            filingStatus,grossIncome,preferentialIncome,totalDeductions,totalCredits
+            SINGLE,75000,0,0,0
+            MARRIED_FILING_JOINTLY,150000,10000,40000,500
+            HEAD_OF_HOUSEHOLD,42000.5,0,0,1000
+            """;
+
+    /**
+     * Holds a directory per job
+     */
+    @TempDir
+    private Path jobDirectory;
+
+    /**
+     * Saved jobs by identifier, standing in for persistent storage
+     */
+    private Map<String, BatchJobDetails> savedJobs;
+
+    /**
+     * Reads the collections jobs take their rows from
+     */
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Class under test
+     */
+    private BatchJobService batchJobService;
+
+    @BeforeEach
+    public void setUp() {
+
+        savedJobs = new ConcurrentHashMap<>();
+        mongoTemplate = mock(MongoTemplate.class);
+        batchJobService = createBatchJobService(10);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        batchJobService.shutdown();
+    }
+
+    /**
+     * Verifies that an uploaded file is calculated in the background, and that the results are the same as a
+     * bulk calculation of the file.
+     */
+    @Test
+    public void submitUpload_csv_completesWithResults() throws IOException {
+
+        BatchJobResponse submitted = batchJobService.submitUpload(
+                new ByteArrayInputStream(RETURNS_CSV.getBytes(StandardCharsets.US_ASCII)), "returns.csv", 2025, "csv");
+        assertEquals("returns.csv", submitted.getFileName());
+
+        BatchJobResponse completed = awaitFinished(submitted.getId());
+
+        assertEquals(BatchJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(3L, completed.getTotalRows());
+        assertEquals(3, completed.getProcessedRows());
+        assertEquals(0L, completed.getEtaSeconds());
+        assertNull(completed.getErrorMessage());
+        assertEquals(calculate(RETURNS_CSV), Files.readString(batchJobService.getResults(submitted.getId())));
+
+        // The same results as Arrow columns
+        ByteArrayOutputStream arrow = new ByteArrayOutputStream();
+        batchJobService.writeResultsArrow(submitted.getId(), arrow);
+        ByteBuffer taxYears = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putInt(2025).putInt(2025).putInt(2025);
+        ByteBuffer takeHomePay = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+        calculate(RETURNS_CSV).lines().skip(1)
+                .forEach(line -> takeHomePay.putDouble(Double.parseDouble(line.substring(line.lastIndexOf(',') + 1))));
+        String stream = new String(arrow.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(stream.contains(new String(taxYears.array(), StandardCharsets.ISO_8859_1)));
+        assertTrue(stream.contains(new String(takeHomePay.array(), StandardCharsets.ISO_8859_1)));
+        assertTrue(stream.endsWith("\u00ff\u00ff\u00ff\u00ff\u0000\u0000\u0000\u0000"));
+    }
+
+    /**
+     * Verifies that a job whose input has an invalid row fails with the row's error.
+     */
+    @Test
+    public void submitUpload_invalidRow_fails() {
+
+        BatchJobResponse submitted = batchJobService.submitUpload(
+                new ByteArrayInputStream("SINGLE,75000,0,0,0\nSINGLE,abc,0,0,0\n".getBytes()), "returns.csv", 2025, "csv");
+
+        BatchJobResponse failed = awaitFinished(submitted.getId());
+
+        assertEquals(BatchJobStatus.FAILED, failed.getStatus());
+        assertEquals("Row 2: \"abc\" is not a valid monetary amount", failed.getErrorMessage());
+        assertThrows(IllegalArgumentException.class, () -> batchJobService.getResults(submitted.getId()));
+    }
+
+    /**
+     * Verifies that the documents of a collection are calculated in the background, missing amounts as zero.
+     */
+    @Test
+    public void submitCollection_documents_completesWithResults() throws IOException {
+
+        when(mongoTemplate.collectionExists("returns")).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("returns"))).thenReturn(Stream.of(
+                new Document("filingStatus", "SINGLE").append("grossIncome", 75000),
+                new Document("filingStatus", "MARRIED_FILING_JOINTLY").append("grossIncome", 150000.0)
+                        .append("preferentialIncome", 10000L).append("totalDeductions", 40000).append("totalCredits", 500),
+                new Document("filingStatus", "HEAD_OF_HOUSEHOLD").append("grossIncome", 42000.5)
+                        .append("totalCredits", 1000)));
+        BatchJobRequest request = new BatchJobRequest();
+        request.setSelectedTaxYear(2025);
+        request.setCollection("returns");
+
+        BatchJobResponse submitted = batchJobService.submitCollection(request);
+        BatchJobResponse completed = awaitFinished(submitted.getId());
+
+        assertEquals(BatchJobStatus.COMPLETED, completed.getStatus());
+        assertEquals("returns", completed.getCollection());
+        assertEquals(calculate(RETURNS_CSV), Files.readString(batchJobService.getResults(submitted.getId())));
+    }
+
+    /**
+     * Verifies that the qualifying children of a collection's documents get the credits the child tax credit rules
+     * grant, the same as single calculations of the documents.
+     */
+    @Test
+    public void submitCollection_qualifyingChildren_appliesCreditRules() throws IOException {
+
+        when(mongoTemplate.collectionExists("returns")).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("returns"))).thenReturn(Stream.of(
+                new Document("filingStatus", "SINGLE").append("grossIncome", 75000).append("qualifyingChildren", 2),
+                new Document("filingStatus", "SINGLE").append("grossIncome", 200000.01).append("qualifyingChildren", 2L),
+                new Document("filingStatus", "MARRIED_FILING_JOINTLY").append("grossIncome", 450000)
+                        .append("preferentialIncome", 25000).append("totalCredits", 1000).append("qualifyingChildren", 3.0),
+                new Document("filingStatus", "HEAD_OF_HOUSEHOLD").append("grossIncome", 42000.5)));
+        BatchJobRequest request = new BatchJobRequest();
+        request.setSelectedTaxYear(2025);
+        request.setCollection("returns");
+
+        BatchJobResponse submitted = batchJobService.submitCollection(request);
+        BatchJobResponse completed = awaitFinished(submitted.getId());
+        assertEquals(BatchJobStatus.COMPLETED, completed.getStatus());
+
+        List<String> resultLines = Files.readAllLines(batchJobService.getResults(submitted.getId()));
+        assertEquals(5, resultLines.size());
+        assertEquals(calculateFederalTaxOwed(FilingStatus.SINGLE, 75_000, 0, 0, 2), federalTaxOwed(resultLines.get(1)));
+        assertEquals(calculateFederalTaxOwed(FilingStatus.SINGLE, 200_000.01, 0, 0, 2), federalTaxOwed(resultLines.get(2)));
+        assertEquals(calculateFederalTaxOwed(FilingStatus.MARRIED_FILING_JOINTLY, 450_000, 25_000, 1_000, 3),
+                federalTaxOwed(resultLines.get(3)));
+        assertEquals(calculateFederalTaxOwed(FilingStatus.HEAD_OF_HOUSEHOLD, 42_000.5, 0, 0, 0),
+                federalTaxOwed(resultLines.get(4)));
+
+        // The credit rules make a difference to these returns
+        assertTrue(federalTaxOwed(resultLines.get(1)) < calculateFederalTaxOwed(FilingStatus.SINGLE, 75_000, 0, 0, 0));
+        assertTrue(federalTaxOwed(resultLines.get(2)) < calculateFederalTaxOwed(FilingStatus.SINGLE, 200_000.01, 0, 0, 0));
+    }
+
+    /**
+     * Verifies that jobs saved as running resume from their checkpoint, keeping the results of their completed
+     * chunks, and that queued jobs are run.
+     */
+    @Test
+    public void resumeJobs_savedJobs_resumeFromCheckpoints() throws IOException {
+
+        // A job that stopped after completing its only chunk, whose saved results must be kept as they are
+        BatchJobDetails stopped = saveJob("stopped", BatchJobStatus.RUNNING);
+        stopped.setChunkCount(1);
+        stopped.setCompletedChunks(new ArrayList<>(List.of(0)));
+        stopped.setTotalRows(3);
+        stopped.setCompletedRows(3);
+        String savedResults = calculate(RETURNS_CSV).replace(',', ';');
+        Files.writeString(jobDirectory.resolve("stopped").resolve("results.csv"), savedResults);
+
+        // A job that never started
+        saveJob("queued", BatchJobStatus.QUEUED);
+
+        batchJobService.resumeJobs();
+
+        assertEquals(BatchJobStatus.COMPLETED, awaitFinished("stopped").getStatus());
+        List<String> resultLines = Files.readAllLines(batchJobService.getResults("stopped"));
+        assertEquals(savedResults.lines().skip(1).toList(), resultLines.subList(1, resultLines.size()));
+
+        assertEquals(BatchJobStatus.COMPLETED, awaitFinished("queued").getStatus());
+        assertEquals(calculate(RETURNS_CSV), Files.readString(batchJobService.getResults("queued")));
+    }
+
+    /**
+     * Verifies that submissions are rejected when the input, format, tax year or collection is not valid, or when
+     * too many jobs are queued.
+     */
+    @Test
+    public void submit_invalidSubmission_throwsException() {
+
+        byte[] file = RETURNS_CSV.getBytes();
+        assertThrows(IllegalArgumentException.class,
+                () -> batchJobService.submitUpload(new ByteArrayInputStream(file), "returns.csv", 1999, "csv"));
+        assertThrows(IllegalArgumentException.class,
+                () -> batchJobService.submitUpload(new ByteArrayInputStream(file), "returns.csv", 2025, "xlsx"));
+        assertThrows(IllegalArgumentException.class,
+                () -> batchJobService.submitUpload(new ByteArrayInputStream(new byte[0]), "returns.csv", 2025, "csv"));
+
+        BatchJobRequest request = new BatchJobRequest();
+        request.setSelectedTaxYear(2025);
+        request.setCollection("returns");
+        assertThrows(IllegalArgumentException.class, () -> batchJobService.submitCollection(request));
+        when(mongoTemplate.collectionExists(anyString())).thenReturn(true);
+        request.setCollection("system.users");
+        assertThrows(IllegalArgumentException.class, () -> batchJobService.submitCollection(request));
+
+        batchJobService.shutdown();
+        batchJobService = createBatchJobService(1);
+        saveJob("queued", BatchJobStatus.QUEUED);
+        assertThrows(IllegalArgumentException.class,
+                () -> batchJobService.submitUpload(new ByteArrayInputStream(file), "returns.csv", 2025, "csv"));
+    }
+
+    /**
+     * Verifies that an upload larger than the max upload size is rejected without queuing a job or leaving its
+     * input behind, and that one of exactly the max upload size is queued.
+     */
+    @Test
+    public void submitUpload_tooLarge_throwsException() throws IOException {
+
+        batchJobService.shutdown();
+        byte[] file = RETURNS_CSV.getBytes(StandardCharsets.US_ASCII);
+        batchJobService = createBatchJobService(10, DataSize.ofBytes(file.length - 1));
+
+        MaxUploadSizeExceededException exception = assertThrows(MaxUploadSizeExceededException.class,
+                () -> batchJobService.submitUpload(new ByteArrayInputStream(file), "returns.csv", 2025, "csv"));
+        assertEquals(file.length - 1, exception.getMaxUploadSize());
+        assertTrue(savedJobs.isEmpty());
+        try (Stream<Path> jobDirectories = Files.list(jobDirectory)) {
+            assertEquals(0, jobDirectories.count());
+        }
+
+        batchJobService.shutdown();
+        batchJobService = createBatchJobService(10, DataSize.ofBytes(file.length));
+        BatchJobResponse submitted = batchJobService.submitUpload(new ByteArrayInputStream(file), "returns.csv", 2025, "csv");
+        assertEquals(BatchJobStatus.COMPLETED, awaitFinished(submitted.getId()).getStatus());
+    }
+
+    /**
+     * Verifies that unknown jobs are reported as missing, and that results cannot be downloaded before the job
+     * completes.
+     */
+    @Test
+    public void getJob_unknownOrUnfinishedJob_throwsException() throws IOException {
+
+        assertThrows(NoSuchElementException.class, () -> batchJobService.getJob("unknown"));
+        assertThrows(NoSuchElementException.class, () -> batchJobService.getResults("unknown"));
+
+        saveJob("queued", BatchJobStatus.QUEUED);
+        BatchJobResponse queued = batchJobService.getJob("queued");
+        assertEquals(BatchJobStatus.QUEUED, queued.getStatus());
+        assertNull(queued.getTotalRows());
+        assertNull(queued.getEtaSeconds());
+        assertThrows(IllegalArgumentException.class, () -> batchJobService.getResults("queued"));
+    }
+
+    /**
+     * Creates the class under test, backed by the saved jobs map.
+     *
+     * @param maxQueuedJobCount Max number of queued and running jobs
+     */
+    private BatchJobService createBatchJobService(int maxQueuedJobCount) {
+        return createBatchJobService(maxQueuedJobCount, DataSize.ofMegabytes(1));
+    }
+
+    /**
+     * Creates the class under test, backed by the saved jobs map, with the given max upload size.
+     *
+     * @param maxQueuedJobCount Max number of queued and running jobs
+     * @param maxUploadSize     Max size of an uploaded input file
+     */
+    private BatchJobService createBatchJobService(int maxQueuedJobCount, DataSize maxUploadSize) {
+
+        BatchJobRepository batchJobRepository = mock(BatchJobRepository.class);
+        when(batchJobRepository.save(any(BatchJobDetails.class))).thenAnswer(invocation -> {
+            BatchJobDetails job = invocation.getArgument(0);
+            savedJobs.put(job.getId(), job);
+            return job;
+        });
+        when(batchJobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(savedJobs.get(invocation.<String>getArgument(0))));
+        when(batchJobRepository.findByStatusInOrderBySubmittedAtAsc(any())).thenAnswer(invocation -> {
+            Collection<BatchJobStatus> statuses = invocation.getArgument(0);
+            return savedJobs.values().stream()
+                    .filter(job -> statuses.contains(job.getStatus()))
+                    .sorted(Comparator.comparing(BatchJobDetails::getSubmittedAt))
+                    .toList();
+        });
+        when(batchJobRepository.countByStatusIn(any())).thenAnswer(invocation -> {
+            Collection<BatchJobStatus> statuses = invocation.getArgument(0);
+            return savedJobs.values().stream().filter(job -> statuses.contains(job.getStatus())).count();
+        });
+
+        return new BatchJobService(batchJobRepository, mongoTemplate, TaxTableFixtures.createTaxTableService(),
+                jobDirectory.toString(), 2, maxQueuedJobCount, false, maxUploadSize);
+    }
+
+    /**
+     * Saves a job of the returns CSV with the given status, as if submitted before the app restarted.
+     *
+     * @param jobId  Identifier of the job
+     * @param status Status of the job
+     */
+    private BatchJobDetails saveJob(String jobId, BatchJobStatus status) {
+
+        try {
+            Files.createDirectories(jobDirectory.resolve(jobId));
+            Files.writeString(jobDirectory.resolve(jobId).resolve("input.csv"), RETURNS_CSV);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        BatchJobDetails job = new BatchJobDetails();
+        job.setId(jobId);
+        job.setStatus(status);
+        job.setTaxYear(2025);
+        job.setInputFormat(BulkCalculator.InputFormat.CSV);
+        job.setFileName("returns.csv");
+        job.setSubmittedAt(Instant.now());
+        savedJobs.put(jobId, job);
+        return job;
+    }
+
+    /**
+     * Waits for the given job to complete or fail and returns its final progress.
+     *
+     * @param jobId Identifier of the job
+     */
+    private BatchJobResponse awaitFinished(String jobId) {
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        BatchJobResponse job = batchJobService.getJob(jobId);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            job = batchJobService.getJob(jobId);
+        }
+        assertTrue(job.getStatus().isFinished(), "Timed out waiting for batch job " + jobId);
+
+        return job;
+    }
+
+    /**
+     * Returns the federal tax owed a single 2025 calculation request results in.
+     *
+     * @param filingStatus       Filing status of the return
+     * @param grossIncome        Gross income (USD)
+     * @param preferentialIncome Preferential income (USD)
+     * @param totalCredits       Total credits (USD)
+     * @param qualifyingChildren Number of qualifying children
+     */
+    private static double calculateFederalTaxOwed(FilingStatus filingStatus, double grossIncome,
+                                                  double preferentialIncome, double totalCredits,
+                                                  int qualifyingChildren) {
+
+        InputModel inputModel = new InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setPreferentialIncome(preferentialIncome);
+        inputModel.setTotalCredits(totalCredits);
+        inputModel.setQualifyingChildren(qualifyingChildren);
+        return new TaxCalculationService(TaxTableFixtures.createTaxTableService()).calculateTaxes(inputModel)
+                .getFederalTaxOwed();
+    }
+
+    /**
+     * Reads the federal tax owed of a results line.
+     *
+     * @param resultLine Line of the results file
+     */
+    private static double federalTaxOwed(String resultLine) {
+        return Double.parseDouble(resultLine.substring(0, resultLine.indexOf(',')).trim());
+    }
+
+    /**
+     * Returns the results of a bulk calculation of the given CSV for 2025.
+     *
+     * @param csv CSV rows
+     */
+    private String calculate(String csv) throws IOException {
+
+        Path input = Files.writeString(jobDirectory.resolve("expected.csv"), csv);
+        Path output = jobDirectory.resolve("expected-results.csv");
+        new BulkCalculator(TaxTableFixtures.createTaxTableService().getCompiledTaxYear(2025),
+                BulkCalculator.InputFormat.CSV, false).calculate(input, output);
+        return Files.readString(output);
+    }
+}
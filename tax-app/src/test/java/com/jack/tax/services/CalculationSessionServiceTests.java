@@ -0,0 +1,270 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.CalculationDelta;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.CalculationSessionResponse;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the Calculation Session Service
+ */
+public class CalculationSessionServiceTests {
+
+    /**
+     * Provides the 2024 and 2025 tax tables
+     */
+    private final TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+
+    /**
+     * Used to check the incremental calculations against full calculations
+     */
+    private final TaxCalculationService taxCalculationService = new TaxCalculationService(taxTableService);
+
+    /**
+     * Fake clock (nanoseconds) the sessions expire against
+     */
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    /**
+     * Verifies that, after every random change to a session, the incremental calculation matches a full
+     * calculation of the session's current inputs, including the credits the child tax credit rules grant.
+     */
+    @Test
+    public void updateSession_randomChanges_matchesFullCalculations() {
+
+        CalculationSessionService calculationSessionService = createCalculationSessionService(10, 1_000);
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2024);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setGrossIncome(85_000);
+        inputModel.setQualifyingChildren(2);
+        String sessionId = calculationSessionService.startSession(inputModel).getSessionId();
+
+        Random random = new Random(7);
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        for (int change = 0; change < 5_000; change++) {
+
+            // Change one input at a time, mostly the ones a slider would move
+            CalculationDelta delta = new CalculationDelta();
+            switch (random.nextInt(11)) {
+                case 0 -> delta.setSelectedTaxYear(2024 + random.nextInt(2));
+                case 1 -> delta.setSelectedFilingStatus(filingStatuses[random.nextInt(filingStatuses.length)]);
+                case 2, 3, 4 -> delta.setGrossIncome(random.nextInt(100_000_000) / 100.0);
+                case 5, 6 -> delta.setTotalDeductions(random.nextInt(5_000_000) / 100.0);
+                case 7 -> delta.setQualifyingChildren(random.nextInt(5));
+                default -> delta.setTotalCredits(random.nextInt(1_000_000) / 100.0);
+            }
+            if (delta.getSelectedTaxYear() != null) {
+                inputModel.setSelectedTaxYear(delta.getSelectedTaxYear());
+            }
+            if (delta.getSelectedFilingStatus() != null) {
+                inputModel.setSelectedFilingStatus(delta.getSelectedFilingStatus());
+            }
+            if (delta.getGrossIncome() != null) {
+                inputModel.setGrossIncome(delta.getGrossIncome());
+            }
+            if (delta.getTotalDeductions() != null) {
+                inputModel.setTotalDeductions(delta.getTotalDeductions());
+            }
+            if (delta.getTotalCredits() != null) {
+                inputModel.setTotalCredits(delta.getTotalCredits());
+            }
+            if (delta.getQualifyingChildren() != null) {
+                inputModel.setQualifyingChildren(delta.getQualifyingChildren());
+            }
+
+            // Call the method under test
+            CalculationSessionResponse response = calculationSessionService.updateSession(sessionId, delta);
+
+            // Verify against a full calculation
+            OutputModel expectedOutputModel = taxCalculationService.calculateTaxes(inputModel);
+            OutputModel actualOutputModel = response.getOutputModel();
+            assertEquals(sessionId, response.getSessionId());
+            assertEquals(expectedOutputModel.getTaxYear(), actualOutputModel.getTaxYear());
+            assertEquals(expectedOutputModel.getFederalTaxOwed(), actualOutputModel.getFederalTaxOwed(), "Change " + change);
+            assertEquals(expectedOutputModel.getMarginalTaxRate(), actualOutputModel.getMarginalTaxRate(), "Change " + change);
+            assertEquals(expectedOutputModel.getEffectiveTaxRate(), actualOutputModel.getEffectiveTaxRate(), "Change " + change);
+            assertEquals(expectedOutputModel.getTakeHomePay(), actualOutputModel.getTakeHomePay(), "Change " + change);
+            assertEquals(expectedOutputModel.getCalculatedCredits(), actualOutputModel.getCalculatedCredits(), "Change " + change);
+        }
+    }
+
+    /**
+     * Verifies that a session keeps its preferential income stacked on top of the ordinary income through income,
+     * deductions and schedule changes, and that a gross income below it is rejected.
+     */
+    @Test
+    public void updateSession_preferentialIncome_matchesFullCalculations() {
+
+        CalculationSessionService calculationSessionService = createCalculationSessionService(10, 1_000);
+
+        InputModel inputModel = createInputModel();
+        inputModel.setPreferentialIncome(40_000);
+        inputModel.setQualifyingChildren(1);
+        CalculationSessionResponse response = calculationSessionService.startSession(inputModel);
+        String sessionId = response.getSessionId();
+        assertOutputModelEquals(taxCalculationService.calculateTaxes(inputModel), response.getOutputModel());
+
+        CalculationDelta delta = new CalculationDelta();
+        delta.setGrossIncome(620_000.0);
+        inputModel.setGrossIncome(620_000);
+        response = calculationSessionService.updateSession(sessionId, delta);
+        assertOutputModelEquals(taxCalculationService.calculateTaxes(inputModel), response.getOutputModel());
+
+        delta = new CalculationDelta();
+        delta.setTotalDeductions(45_000.0);
+        inputModel.setTotalDeductions(45_000);
+        response = calculationSessionService.updateSession(sessionId, delta);
+        assertOutputModelEquals(taxCalculationService.calculateTaxes(inputModel), response.getOutputModel());
+
+        delta = new CalculationDelta();
+        delta.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        response = calculationSessionService.updateSession(sessionId, delta);
+        assertOutputModelEquals(taxCalculationService.calculateTaxes(inputModel), response.getOutputModel());
+
+        CalculationDelta belowPreferentialIncome = new CalculationDelta();
+        belowPreferentialIncome.setGrossIncome(30_000.0);
+        assertThrows(IllegalArgumentException.class,
+                () -> calculationSessionService.updateSession(sessionId, belowPreferentialIncome));
+
+        // The rejected change leaves the session as it was
+        response = calculationSessionService.updateSession(sessionId, new CalculationDelta());
+        assertOutputModelEquals(taxCalculationService.calculateTaxes(inputModel), response.getOutputModel());
+
+        inputModel.setPreferentialIncome(700_000);
+        assertThrows(IllegalArgumentException.class, () -> calculationSessionService.startSession(inputModel));
+    }
+
+    /**
+     * Verifies that a delta rejected for an unsupported tax year leaves the session's inputs and calculation as
+     * they were, so later changes still match full calculations.
+     */
+    @Test
+    public void updateSession_unsupportedTaxYear_leavesSessionUnchanged() {
+
+        CalculationSessionService calculationSessionService = createCalculationSessionService(10, 1_000);
+
+        InputModel inputModel = createInputModel();
+        inputModel.setQualifyingChildren(1);
+        String sessionId = calculationSessionService.startSession(inputModel).getSessionId();
+
+        CalculationDelta rejectedDelta = new CalculationDelta();
+        rejectedDelta.setSelectedTaxYear(1999);
+        rejectedDelta.setGrossIncome(420_000.0);
+        rejectedDelta.setTotalDeductions(50_000.0);
+        rejectedDelta.setQualifyingChildren(3);
+        assertThrows(RuntimeException.class, () -> calculationSessionService.updateSession(sessionId, rejectedDelta));
+
+        // A credits-only change recalculates from the session's original inputs
+        CalculationDelta delta = new CalculationDelta();
+        delta.setTotalCredits(750.0);
+        inputModel.setTotalCredits(750);
+        CalculationSessionResponse response = calculationSessionService.updateSession(sessionId, delta);
+        assertOutputModelEquals(taxCalculationService.calculateTaxes(inputModel), response.getOutputModel());
+    }
+
+    /**
+     * Verifies that a session expires once it has not been used within the time to live, and that using it
+     * keeps it alive.
+     */
+    @Test
+    public void updateSession_idleSession_expires() {
+
+        CalculationSessionService calculationSessionService = createCalculationSessionService(10, 1_000);
+        String sessionId = calculationSessionService.startSession(createInputModel()).getSessionId();
+
+        CalculationDelta delta = new CalculationDelta();
+        delta.setTotalCredits(500.0);
+
+        nanoClock.set(1_000);
+        assertDoesNotThrow(() -> calculationSessionService.updateSession(sessionId, delta));
+        nanoClock.set(2_000);
+        assertDoesNotThrow(() -> calculationSessionService.updateSession(sessionId, delta));
+        nanoClock.set(3_001);
+        assertThrows(NoSuchElementException.class, () -> calculationSessionService.updateSession(sessionId, delta));
+        assertEquals(0, calculationSessionService.getSessionCount());
+    }
+
+    /**
+     * Verifies that the store is bounded: the least recently used session is dropped, and expired sessions are
+     * evicted when new sessions start.
+     */
+    @Test
+    public void startSession_beyondMaxCount_dropsLeastRecentlyUsedSession() {
+
+        CalculationSessionService calculationSessionService = createCalculationSessionService(2, 1_000);
+        String firstSessionId = calculationSessionService.startSession(createInputModel()).getSessionId();
+        String secondSessionId = calculationSessionService.startSession(createInputModel()).getSessionId();
+
+        // Using the first session makes the second one the least recently used
+        calculationSessionService.updateSession(firstSessionId, new CalculationDelta());
+        calculationSessionService.startSession(createInputModel());
+        assertEquals(2, calculationSessionService.getSessionCount());
+        assertThrows(NoSuchElementException.class,
+                () -> calculationSessionService.updateSession(secondSessionId, new CalculationDelta()));
+        assertDoesNotThrow(() -> calculationSessionService.updateSession(firstSessionId, new CalculationDelta()));
+
+        // Once every session has expired, starting a new one evicts them all
+        nanoClock.set(5_000);
+        calculationSessionService.startSession(createInputModel());
+        assertEquals(1, calculationSessionService.getSessionCount());
+
+        // Ended sessions are gone
+        calculationSessionService.endSession(firstSessionId);
+        assertThrows(NoSuchElementException.class,
+                () -> calculationSessionService.updateSession(firstSessionId, new CalculationDelta()));
+    }
+
+    /**
+     * Verifies that a session's output matches a full calculation's, capital gains tax included.
+     *
+     * @param expectedOutputModel Output of the full calculation
+     * @param actualOutputModel   Output of the session
+     */
+    private static void assertOutputModelEquals(OutputModel expectedOutputModel, OutputModel actualOutputModel) {
+
+        assertEquals(expectedOutputModel.getFederalTaxOwed(), actualOutputModel.getFederalTaxOwed());
+        assertEquals(expectedOutputModel.getCapitalGainsTax(), actualOutputModel.getCapitalGainsTax());
+        assertEquals(expectedOutputModel.getCapitalGainsTaxRate(), actualOutputModel.getCapitalGainsTaxRate());
+        assertEquals(expectedOutputModel.getMarginalTaxRate(), actualOutputModel.getMarginalTaxRate());
+        assertEquals(expectedOutputModel.getTakeHomePay(), actualOutputModel.getTakeHomePay());
+        assertEquals(expectedOutputModel.getPayrollTaxOwed(), actualOutputModel.getPayrollTaxOwed());
+        assertEquals(expectedOutputModel.getCalculatedCredits(), actualOutputModel.getCalculatedCredits());
+    }
+
+    /**
+     * Creates the service under test with the fake clock.
+     */
+    private CalculationSessionService createCalculationSessionService(int maxSessionCount, long timeToLiveNanos) {
+
+        return new CalculationSessionService(taxTableService, taxCalculationService, maxSessionCount,
+                timeToLiveNanos, nanoClock::get);
+    }
+
+    /**
+     * Creates an input model for a session.
+     */
+    private static InputModel createInputModel() {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.MARRIED_FILING_JOINTLY);
+        inputModel.setGrossIncome(150_000);
+        inputModel.setTotalDeductions(10_000);
+        inputModel.setTotalCredits(2_000);
+        return inputModel;
+    }
+}
@@ -0,0 +1,341 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.CreditRuleDetails;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.StateBracketDetails;
+import com.jack.tax.models.StateTaxTableDetails;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.JurisdictionCalculation;
+import com.jack.tax.models.interfaces.JurisdictionResponse;
+import com.jack.tax.models.interfaces.MultiJurisdictionResponse;
+import com.jack.tax.repositories.StateTaxTableRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the Jurisdiction Service
+ */
+public class JurisdictionServiceTests {
+
+    /**
+     * Performs the federal calculations against the 2024 and 2025 tax tables
+     */
+    private final TaxCalculationService taxCalculationService =
+            new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+    /**
+     * Verifies the state income tax of a flat-rate state (Illinois: 4.95% after a $2,850 exemption per filer) and
+     * a progressive state with a credit per qualifying child, and that the federal calculation comes first and
+     * matches a single federal calculation.
+     *
+     * @param jurisdiction        Code of the state jurisdiction
+     * @param filingStatus        Filing status
+     * @param grossIncome         Gross income (USD)
+     * @param qualifyingChildren  Number of qualifying children
+     * @param expectedTaxOwed     Expected state tax owed (USD)
+     * @param expectedMarginalTaxRate Expected state marginal tax rate (%)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // (82850 - 2850) * 4.95%
+            "IL, SINGLE, 82850, 0, 3960, 4.95",
+            // (65700 - 5700) * 4.95%
+            "il, MARRIED_FILING_JOINTLY, 65700, 2, 2970, 4.95",
+            // 10000 * 2% + 30000 * 4% + 10000 * 6% less a $100 credit for each of two children
+            "TP, MARRIED_FILING_JOINTLY, 60000, 2, 1800, 6",
+            "TP, SURVIVING_SPOUSE, 60000, 2, 1800, 6",
+            // 3000 * 2% is less than the $300 credit, which is not refundable
+            "TP, SINGLE, 8000, 3, 0, 2",
+            "TP, HEAD_OF_HOUSEHOLD, 5000, 0, 0, 2"
+    })
+    public void calculateTaxes_stateJurisdiction_addedToFederal(String jurisdiction,
+                                                                FilingStatus filingStatus,
+                                                                double grossIncome,
+                                                                int qualifyingChildren,
+                                                                double expectedTaxOwed,
+                                                                double expectedMarginalTaxRate) {
+
+        InputModel inputModel = createInputModel(filingStatus, grossIncome, qualifyingChildren);
+        double federalTaxOwed = taxCalculationService.calculateTaxes(inputModel).getFederalTaxOwed();
+
+        // Call the method under test
+        MultiJurisdictionResponse response = createJurisdictionService()
+                .calculateTaxes(inputModel, List.of(jurisdiction));
+
+        assertEquals(List.of("US", jurisdiction.toUpperCase()),
+                response.getCalculations().stream().map(JurisdictionCalculation::getJurisdiction).toList());
+        JurisdictionCalculation state = response.getCalculations().get(1);
+        assertEquals(federalTaxOwed, response.getCalculations().get(0).getTaxOwed());
+        assertEquals(expectedTaxOwed, state.getTaxOwed(), 0.001);
+        assertEquals(expectedMarginalTaxRate, state.getMarginalTaxRate());
+        assertEquals(2025, state.getTaxYear());
+        assertEquals(grossIncome, response.getFederalAdjustedGrossIncome());
+        assertEquals(federalTaxOwed + expectedTaxOwed, response.getTotalTaxOwed(), 0.001);
+        assertEquals(grossIncome - federalTaxOwed - expectedTaxOwed, response.getTakeHomePay(), 0.001);
+    }
+
+    /**
+     * Verifies that plugin modules are registered alongside the stored states, are handed the shared input and
+     * federal adjusted gross income, keep the request order and are only calculated once each.
+     */
+    @Test
+    public void calculateTaxes_pluginModule_sharesInputsAndTimed() {
+
+        RecordingModule plugin = new RecordingModule("XX");
+        InputModel inputModel = createInputModel(FilingStatus.SINGLE, 100_000, 0);
+
+        // Call the method under test
+        MultiJurisdictionResponse response = createJurisdictionService(plugin)
+                .calculateTaxes(inputModel, List.of("xx", "IL", " XX "));
+
+        assertEquals(List.of("US", "XX", "IL"),
+                response.getCalculations().stream().map(JurisdictionCalculation::getJurisdiction).toList());
+        assertEquals(List.of(100_000.0), plugin.federalAdjustedGrossIncomes);
+        assertSame(inputModel, plugin.inputModels.get(0));
+        assertEquals(1_000.0, response.getCalculations().get(1).getTaxOwed());
+        assertEquals(22 + 1 + 4.95, response.getMarginalTaxRate(), 0.001);
+        for (JurisdictionCalculation calculation : response.getCalculations()) {
+            assertTrue(calculation.getCalculationNanos() > 0);
+            assertTrue(calculation.getCalculationNanos() <= response.getCalculationNanos());
+        }
+    }
+
+    /**
+     * Verifies that the federal jurisdiction is always calculated, even when no state is requested.
+     */
+    @Test
+    public void calculateTaxes_noJurisdictions_federalOnly() {
+
+        MultiJurisdictionResponse response = createJurisdictionService()
+                .calculateTaxes(createInputModel(FilingStatus.SINGLE, 50_000, 0), null);
+
+        assertEquals(1, response.getCalculations().size());
+        assertEquals(response.getCalculations().get(0).getTaxOwed(), response.getTotalTaxOwed());
+    }
+
+    /**
+     * Verifies that unknown jurisdictions and tax years a jurisdiction has no tables for are rejected.
+     */
+    @Test
+    public void calculateTaxes_unsupportedJurisdictionOrYear_throws() {
+
+        JurisdictionService jurisdictionService = createJurisdictionService();
+        InputModel inputModel = createInputModel(FilingStatus.SINGLE, 50_000, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> jurisdictionService.calculateTaxes(inputModel, List.of("ZZ")));
+        inputModel.setSelectedTaxYear(2024);
+        assertThrows(IllegalArgumentException.class, () -> jurisdictionService.calculateTaxes(inputModel, List.of("TP")));
+    }
+
+    /**
+     * Verifies that the jurisdictions are listed with the federal one first and the rest in code order.
+     */
+    @Test
+    public void getJurisdictions_federalFirst() {
+
+        List<JurisdictionResponse> jurisdictions = createJurisdictionService(new RecordingModule("AA")).getJurisdictions();
+
+        assertEquals(List.of("US", "AA", "IL", "TP"), jurisdictions.stream().map(JurisdictionResponse::getCode).toList());
+        assertEquals("Federal", jurisdictions.get(0).getName());
+        assertEquals(List.of(2025, 2024), jurisdictions.get(0).getTaxYears());
+        assertEquals("Illinois", jurisdictions.get(2).getName());
+        assertEquals(List.of(2025, 2024), jurisdictions.get(2).getTaxYears());
+        assertEquals(List.of(2025), jurisdictions.get(3).getTaxYears());
+    }
+
+    /**
+     * Verifies that a plugin module cannot take over a jurisdiction that has stored tables.
+     */
+    @Test
+    public void getJurisdictions_jurisdictionRegisteredTwice_throws() {
+
+        JurisdictionService jurisdictionService = createJurisdictionService(new RecordingModule("IL"));
+
+        assertThrows(RuntimeException.class, jurisdictionService::getJurisdictions);
+    }
+
+    /**
+     * Verifies that the state tax tables are cached until they are older than the refresh interval, then reloaded,
+     * and that a failed reload keeps the loaded ones.
+     */
+    @Test
+    public void getJurisdictions_afterRefreshInterval_reloadsStateTables() {
+
+        StateTaxTableRepository stateTaxTableRepository = mock(StateTaxTableRepository.class);
+        when(stateTaxTableRepository.findAll())
+                .thenReturn(List.of(stateTaxTable("IL", "Illinois", 2025, 2850, 5700,
+                        List.of(stateBracket(4.95, 0, 0, 0, 0)), List.of())))
+                .thenReturn(List.of(stateTaxTable("IL", "Illinois", 2025, 2850, 5700,
+                                List.of(stateBracket(4.95, 0, 0, 0, 0)), List.of()),
+                        stateTaxTable("TP", "Test progressive", 2025, 5000, 10000,
+                                List.of(stateBracket(2, 0, 0, 0, 0)), List.of())))
+                .thenThrow(new RuntimeException("Storage is unavailable"));
+        AtomicLong nanos = new AtomicLong();
+        JurisdictionService jurisdictionService = new JurisdictionService(
+                List.of(new FederalJurisdictionModule(taxCalculationService)), stateTaxTableRepository, 1_000, nanos::get);
+
+        assertEquals(List.of("US", "IL"), jurisdictionService.getJurisdictions().stream()
+                .map(JurisdictionResponse::getCode).toList());
+        nanos.set(999);
+        assertEquals(List.of("US", "IL"), jurisdictionService.getJurisdictions().stream()
+                .map(JurisdictionResponse::getCode).toList());
+        verify(stateTaxTableRepository, times(1)).findAll();
+
+        // Older than the interval, so the tables are reloaded and the new state is picked up
+        nanos.set(1_000);
+        assertEquals(List.of("US", "IL", "TP"), jurisdictionService.getJurisdictions().stream()
+                .map(JurisdictionResponse::getCode).toList());
+        verify(stateTaxTableRepository, times(2)).findAll();
+
+        // A failed reload keeps the loaded tables for another interval
+        nanos.set(2_000);
+        assertEquals(List.of("US", "IL", "TP"), jurisdictionService.getJurisdictions().stream()
+                .map(JurisdictionResponse::getCode).toList());
+        nanos.set(2_500);
+        jurisdictionService.getJurisdictions();
+        verify(stateTaxTableRepository, times(3)).findAll();
+    }
+
+    /**
+     * Creates a jurisdiction service with the federal module, the given plugin modules and the stored tables of
+     * Illinois for 2024 and 2025 and a progressive test state for 2025.
+     *
+     * @param plugins Additional plugin modules
+     */
+    private JurisdictionService createJurisdictionService(JurisdictionModule... plugins) {
+
+        StateTaxTableRepository stateTaxTableRepository = mock(StateTaxTableRepository.class);
+        when(stateTaxTableRepository.findAll()).thenReturn(List.of(
+                stateTaxTable("IL", "Illinois", 2024, 2775, 5550, List.of(stateBracket(4.95, 0, 0, 0, 0)), List.of()),
+                stateTaxTable("IL", "Illinois", 2025, 2850, 5700, List.of(stateBracket(4.95, 0, 0, 0, 0)), List.of()),
+                stateTaxTable("TP", "Test progressive", 2025, 5000, 10000, List.of(
+                                stateBracket(2, 0, 0, 0, 0),
+                                stateBracket(4, 10000, 10000, 10000, 10000),
+                                stateBracket(6, 20000, 40000, 20000, 30000)),
+                        List.of(creditRule("Dependent credit", "100 * qualifyingChildren")))));
+
+        List<JurisdictionModule> modules = new ArrayList<>(List.of(plugins));
+        modules.add(new FederalJurisdictionModule(taxCalculationService));
+        return new JurisdictionService(modules, stateTaxTableRepository, 0, System::nanoTime);
+    }
+
+    /**
+     * Creates 2025 user-entered tax inputs using the given data.
+     *
+     * @param filingStatus       Filing status
+     * @param grossIncome        Gross income (USD)
+     * @param qualifyingChildren Number of qualifying children
+     */
+    private static InputModel createInputModel(FilingStatus filingStatus, double grossIncome, int qualifyingChildren) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setQualifyingChildren(qualifyingChildren);
+        return inputModel;
+    }
+
+    /**
+     * Creates a state tax table using the given data, heads of household getting the single standard deduction.
+     */
+    private static StateTaxTableDetails stateTaxTable(String jurisdiction, String name, int taxYear,
+                                                      int standardDeductionSingle, int standardDeductionMfj,
+                                                      List<StateBracketDetails> brackets,
+                                                      List<CreditRuleDetails> creditRules) {
+
+        StateTaxTableDetails table = new StateTaxTableDetails();
+        table.setJurisdiction(jurisdiction);
+        table.setName(name);
+        table.setTaxYear(taxYear);
+        table.setStandardDeductionSingle(standardDeductionSingle);
+        table.setStandardDeductionMfj(standardDeductionMfj);
+        table.setStandardDeductionMfs(standardDeductionSingle);
+        table.setStandardDeductionHoh(standardDeductionSingle);
+        table.setBracketDetails(brackets);
+        table.setCreditRuleDetails(creditRules);
+        return table;
+    }
+
+    /**
+     * Creates a state bracket using the given data.
+     */
+    private static StateBracketDetails stateBracket(double taxRate, int minIncomeSingle, int minIncomeMFJ,
+                                                    int minIncomeMFS, int minIncomeHOH) {
+
+        StateBracketDetails bracket = new StateBracketDetails();
+        bracket.setTaxRate(taxRate);
+        bracket.setMinIncomeSingle(minIncomeSingle);
+        bracket.setMinIncomeMFJ(minIncomeMFJ);
+        bracket.setMinIncomeMFS(minIncomeMFS);
+        bracket.setMinIncomeHOH(minIncomeHOH);
+        return bracket;
+    }
+
+    /**
+     * Creates a credit rule using the given data.
+     */
+    private static CreditRuleDetails creditRule(String name, String expression) {
+
+        CreditRuleDetails creditRule = new CreditRuleDetails();
+        creditRule.setName(name);
+        creditRule.setExpression(expression);
+        return creditRule;
+    }
+
+    /**
+     * Plugin module that levies 1% of the federal adjusted gross income and records what it was called with.
+     */
+    private static final class RecordingModule implements JurisdictionModule {
+
+        private final String code;
+        private final List<Double> federalAdjustedGrossIncomes = new ArrayList<>();
+        private final List<InputModel> inputModels = new ArrayList<>();
+
+        private RecordingModule(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+
+        @Override
+        public String getName() {
+            return "Recording";
+        }
+
+        @Override
+        public List<Integer> getSupportedTaxYears() {
+            return List.of(2025);
+        }
+
+        @Override
+        public synchronized JurisdictionCalculation calculateTaxes(InputModel inputModel, double federalAdjustedGrossIncome) {
+
+            federalAdjustedGrossIncomes.add(federalAdjustedGrossIncome);
+            inputModels.add(inputModel);
+            com.jack.tax.models.JurisdictionCalculation calculation = new com.jack.tax.models.JurisdictionCalculation();
+            calculation.setJurisdiction(code);
+            calculation.setTaxOwed(federalAdjustedGrossIncome * 0.01);
+            calculation.setMarginalTaxRate(1);
+            return calculation;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the Live Calculation Service
+ */
+public class LiveCalculationServiceTests {
+
+    /**
+     * Debounce window (milliseconds) used by the tests
+     */
+    private static final long DEBOUNCE_MILLIS = 50;
+
+    /**
+     * Used to check the pushed results against regular calculations
+     */
+    private final TaxCalculationService taxCalculationService =
+            new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+    /**
+     * Instance of the class under test
+     */
+    private final LiveCalculationService liveCalculationService =
+            new LiveCalculationService(taxCalculationService, DEBOUNCE_MILLIS, 60_000, 2, 1);
+
+    /**
+     * Stops the service's threads.
+     */
+    @AfterEach
+    public void shutdown() {
+        liveCalculationService.shutdown();
+    }
+
+    /**
+     * Verifies that a burst of updates is coalesced into a single calculation of the latest update, and that a
+     * later burst is calculated again.
+     */
+    @Test
+    public void submit_burstOfUpdates_calculatesLatestOnly() throws InterruptedException {
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        liveCalculationService.openChannel(emitter);
+        String channelId = (String) emitter.events.get(0);
+
+        // First burst
+        for (int update = 1; update <= 50; update++) {
+            liveCalculationService.submit(channelId, createInputModel(update * 1_000));
+        }
+        waitForCalculations(emitter, 1);
+
+        // Second burst, after the window has closed
+        for (int update = 1; update <= 10; update++) {
+            liveCalculationService.submit(channelId, createInputModel(200_000 + update * 1_000));
+        }
+        waitForCalculations(emitter, 2);
+        Thread.sleep(DEBOUNCE_MILLIS * 4);
+
+        // One calculation per burst, each for the burst's latest update
+        List<OutputModel> calculations = emitter.getCalculations();
+        assertEquals(2, calculations.size());
+        assertEquals(taxCalculationService.calculateTaxes(createInputModel(50_000)).getFederalTaxOwed(),
+                calculations.get(0).getFederalTaxOwed());
+        assertEquals(taxCalculationService.calculateTaxes(createInputModel(210_000)).getFederalTaxOwed(),
+                calculations.get(1).getFederalTaxOwed());
+    }
+
+    /**
+     * Verifies that updates for unknown channels are rejected, and that the number of open channels is bounded.
+     */
+    @Test
+    public void openChannel_andSubmit_rejectUnknownAndExcessChannels() {
+
+        assertThrows(NoSuchElementException.class,
+                () -> liveCalculationService.submit("unknown", createInputModel(1_000)));
+
+        liveCalculationService.openChannel(new RecordingEmitter());
+        liveCalculationService.openChannel(new RecordingEmitter());
+        assertEquals(2, liveCalculationService.getChannelCount());
+        assertThrows(TooManyChannelsException.class, () -> liveCalculationService.openChannel(new RecordingEmitter()));
+    }
+
+    /**
+     * Verifies that an update that cannot be calculated is answered with an error event and leaves the channel
+     * open, so the next update is calculated.
+     */
+    @Test
+    public void submit_invalidUpdate_sendsErrorAndKeepsChannelOpen() throws InterruptedException {
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        liveCalculationService.openChannel(emitter);
+        String channelId = (String) emitter.events.get(0);
+
+        InputModel invalidInputModel = createInputModel(50_000);
+        invalidInputModel.setPreferentialIncome(60_000);
+        liveCalculationService.submit(channelId, invalidInputModel);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emitter.events.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Map.of("error", "Preferential income must not exceed gross income"), emitter.events.get(1));
+        assertEquals(1, liveCalculationService.getChannelCount());
+
+        liveCalculationService.submit(channelId, createInputModel(75_000));
+        waitForCalculations(emitter, 1);
+        assertEquals(taxCalculationService.calculateTaxes(createInputModel(75_000)).getFederalTaxOwed(),
+                emitter.getCalculations().get(0).getFederalTaxOwed());
+    }
+
+    /**
+     * Verifies that an update for a tax year that is not supported is reported on the channel as an error event,
+     * rather than failing silently, and that the channel stays open.
+     */
+    @Test
+    public void submit_unsupportedTaxYear_sendsErrorAndKeepsChannelOpen() throws InterruptedException {
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        liveCalculationService.openChannel(emitter);
+        String channelId = (String) emitter.events.get(0);
+
+        InputModel unsupportedInputModel = createInputModel(50_000);
+        unsupportedInputModel.setSelectedTaxYear(1999);
+        liveCalculationService.submit(channelId, unsupportedInputModel);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emitter.events.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Map.of("error", "Could not find tax brackets for tax year 1999"), emitter.events.get(1));
+        assertEquals(1, liveCalculationService.getChannelCount());
+
+        liveCalculationService.submit(channelId, createInputModel(75_000));
+        waitForCalculations(emitter, 1);
+        assertEquals(taxCalculationService.calculateTaxes(createInputModel(75_000)).getFederalTaxOwed(),
+                emitter.getCalculations().get(0).getFederalTaxOwed());
+    }
+
+    /**
+     * Verifies that channels opened concurrently never exceed the max count, and that a channel whose client went
+     * away gives its slot back.
+     */
+    @Test
+    public void openChannel_concurrentOpenings_respectMaxCount() throws InterruptedException {
+
+        int threadCount = 16;
+        AtomicInteger openedCount = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    liveCalculationService.openChannel(new RecordingEmitter());
+                    openedCount.incrementAndGet();
+                } catch (TooManyChannelsException | InterruptedException e) {
+                    // Rejected, as all but two must be
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2, openedCount.get());
+        assertEquals(2, liveCalculationService.getChannelCount());
+
+        // A channel that fails to send its identifier is closed and releases its slot
+        LiveCalculationService service = new LiveCalculationService(taxCalculationService, DEBOUNCE_MILLIS, 60_000, 1, 1);
+        try {
+            service.openChannel(new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                    throw new IOException("Client went away");
+                }
+            });
+            assertEquals(0, service.getChannelCount());
+            service.openChannel(new RecordingEmitter());
+            assertEquals(1, service.getChannelCount());
+            assertThrows(TooManyChannelsException.class, () -> service.openChannel(new RecordingEmitter()));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Waits (up to a few seconds) until the emitter has received the given number of calculations.
+     */
+    private static void waitForCalculations(RecordingEmitter emitter, int calculationCount) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emitter.getCalculations().size() < calculationCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(emitter.getCalculations().size() >= calculationCount, "Timed out waiting for calculations");
+    }
+
+    /**
+     * Creates an input model with the given gross income.
+     */
+    private static InputModel createInputModel(double grossIncome) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setGrossIncome(grossIncome);
+        return inputModel;
+    }
+
+    /**
+     * Emitter that records the data of every event sent on it instead of writing to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            // The event's framing ("event:...", "data:") is plain text; the data itself has no media type
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getMediaType() == null) {
+                    events.add(data.getData());
+                }
+            }
+        }
+
+        private List<OutputModel> getCalculations() {
+            return events.stream()
+                    .filter(OutputModel.class::isInstance)
+                    .map(OutputModel.class::cast)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.PopulationFile;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.Money;
+import com.jack.tax.models.BracketDetails;
+import com.jack.tax.models.MicrosimulationRequest;
+import com.jack.tax.models.PolicyDiffRequest;
+import com.jack.tax.models.PopulationGrouping;
+import com.jack.tax.models.StandardDeductionDetails;
+import com.jack.tax.models.interfaces.MicrosimulationResponse;
+import com.jack.tax.models.interfaces.PolicyDiffResponse;
+import com.jack.tax.models.interfaces.PopulationGroupSummary;
+import com.jack.tax.models.interfaces.TaxYearDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the Microsimulation Service
+ */
+public class MicrosimulationServiceTests {
+
+    /**
+     * Number of households in the test population, enough for several chunks
+     */
+    private static final int RECORD_COUNT = 150_001;
+
+    /**
+     * Provides the 2024 and 2025 tax tables
+     */
+    private final TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+
+    /**
+     * Directory holding the test population
+     */
+    @TempDir
+    Path populationDirectory;
+
+    /**
+     * Columns of the test population
+     */
+    private final FilingStatus[] filingStatuses = new FilingStatus[RECORD_COUNT];
+    private final double[] grossIncomes = new double[RECORD_COUNT];
+    private final double[] totalDeductions = new double[RECORD_COUNT];
+    private final double[] totalCredits = new double[RECORD_COUNT];
+    private final double[] weights = new double[RECORD_COUNT];
+
+    /**
+     * Writes a random population to the population directory.
+     */
+    @BeforeEach
+    public void writePopulation() throws IOException {
+
+        SplittableRandom random = new SplittableRandom(11);
+        FilingStatus[] allFilingStatuses = FilingStatus.values();
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            filingStatuses[index] = allFilingStatuses[random.nextInt(allFilingStatuses.length)];
+            grossIncomes[index] = Math.round(Math.exp(11 + random.nextGaussian()) * 100) / 100.0;
+            totalDeductions[index] = random.nextInt(4) == 0 ? random.nextInt(60_000) : 0;
+            totalCredits[index] = random.nextInt(3) == 0 ? 2_000 : 0;
+            weights[index] = 50 + random.nextInt(100);
+        }
+        PopulationFile.write(populationDirectory.resolve("population.bin"),
+                filingStatuses, grossIncomes, totalDeductions, totalCredits, weights);
+    }
+
+    /**
+     * Verifies the totals and group aggregates against calculating every household one at a time.
+     *
+     * @param grouping How the households are grouped
+     */
+    @ParameterizedTest
+    @EnumSource(PopulationGrouping.class)
+    public void simulate_matchesCalculations(PopulationGrouping grouping) {
+
+        // Call the method under test
+        MicrosimulationResponse response = createService().simulate(createRequest("population.bin", grouping));
+
+        double householdCount = 0.0;
+        double totalGrossIncome = 0.0;
+        double totalFederalTaxOwed = 0.0;
+        double[] federalTaxOwedByFilingStatus = new double[FilingStatus.values().length];
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            CompiledTaxSchedule schedule = taxTableService.getCompiledTaxYear(2025).getSchedule(filingStatuses[index]);
+            double federalTaxOwed = TaxEngine.federalTaxOwed(
+                    schedule, grossIncomes[index], totalDeductions[index], totalCredits[index]);
+            householdCount += weights[index];
+            totalGrossIncome += weights[index] * grossIncomes[index];
+            totalFederalTaxOwed += weights[index] * federalTaxOwed;
+            federalTaxOwedByFilingStatus[filingStatuses[index].ordinal()] += weights[index] * federalTaxOwed;
+        }
+
+        PopulationGroupSummary total = response.getTotal();
+        assertEquals(RECORD_COUNT, total.getRecordCount());
+        assertEquals(householdCount, total.getHouseholdCount(), 1e-6);
+        assertEquals(totalGrossIncome, total.getTotalGrossIncome(), 1.0);
+        assertEquals(totalFederalTaxOwed, total.getTotalFederalTaxOwed(), 1.0);
+        assertEquals(RECORD_COUNT, response.getGroups().stream().mapToLong(PopulationGroupSummary::getRecordCount).sum());
+
+        switch (grouping) {
+            case FILING_STATUS -> {
+                for (FilingStatus filingStatus : FilingStatus.values()) {
+                    PopulationGroupSummary group = response.getGroups().get(filingStatus.ordinal());
+                    assertEquals(filingStatus.name(), group.getLabel());
+                    assertEquals(federalTaxOwedByFilingStatus[filingStatus.ordinal()], group.getTotalFederalTaxOwed(), 1.0);
+                }
+            }
+            case INCOME_DECILE -> {
+                // Each decile holds about a tenth of the households, in ascending income order
+                assertEquals(10, response.getGroups().size());
+                for (int decile = 0; decile < 10; decile++) {
+                    PopulationGroupSummary group = response.getGroups().get(decile);
+                    assertEquals("Decile " + (decile + 1), group.getLabel());
+                    assertEquals(householdCount / 10, group.getHouseholdCount(), householdCount * 0.002);
+                    if (decile > 0) {
+                        assertTrue(response.getGroups().get(decile - 1).getMaxGrossIncome() <= group.getMinGrossIncome());
+                        assertTrue(response.getGroups().get(decile - 1).getAverageEffectiveTaxRate()
+                                <= group.getAverageEffectiveTaxRate());
+                    }
+                }
+            }
+            case MARGINAL_TAX_RATE -> {
+                assertEquals("10%", response.getGroups().get(0).getLabel());
+                assertEquals("37%", response.getGroups().get(response.getGroups().size() - 1).getLabel());
+            }
+        }
+    }
+
+    /**
+     * Verifies that only existing files inside the population directory can be simulated.
+     */
+    @Test
+    public void simulate_fileOutsideDirectoryOrMissing_throws() {
+
+        MicrosimulationService microsimulationService = createService();
+
+        assertThrows(IllegalArgumentException.class, () -> microsimulationService.simulate(
+                createRequest("../population.bin", PopulationGrouping.FILING_STATUS)));
+        assertThrows(NoSuchElementException.class, () -> microsimulationService.simulate(
+                createRequest("missing.bin", PopulationGrouping.FILING_STATUS)));
+    }
+
+    /**
+     * Verifies that a draft identical to current law changes nothing.
+     */
+    @Test
+    public void comparePolicies_currentLawDraft_noChange() {
+
+        // Call the method under test
+        PolicyDiffResponse response = createService().comparePolicies(createPolicyDiffRequest(0, 0));
+
+        assertEquals(RECORD_COUNT, response.getRecordCount());
+        assertEquals(response.getCurrentRevenue(), response.getDraftRevenue());
+        assertEquals(0.0, response.getRevenueChange());
+        assertEquals(0.0, response.getWinnerCount());
+        assertEquals(0.0, response.getLoserCount());
+        assertEquals(0.0, response.getAverageWinnerTaxChange());
+        assertEquals(response.getHouseholdCount(), response.getUnchangedCount());
+    }
+
+    /**
+     * Verifies the revenue, winners and losers of a draft with lower rates and a bigger standard deduction
+     * against calculating every household one at a time under both tables.
+     */
+    @Test
+    public void comparePolicies_lowerRates_matchesCalculations() {
+
+        // Call the method under test
+        PolicyDiffResponse response = createService().comparePolicies(createPolicyDiffRequest(-2, 1_000));
+
+        CompiledTaxYear current = taxTableService.getCompiledTaxYear(2025);
+        CompiledTaxYear draft = TaxTableService.compileTaxYear(createDraftTaxYearDetails(-2, 1_000));
+        double currentRevenue = 0.0;
+        double draftRevenue = 0.0;
+        double winnerCount = 0.0;
+        double winnerTaxChange = 0.0;
+        for (int index = 0; index < RECORD_COUNT; index++) {
+            double currentTaxOwed = Money.roundToCents(TaxEngine.federalTaxOwed(current.getSchedule(filingStatuses[index]),
+                    grossIncomes[index], totalDeductions[index], totalCredits[index]));
+            double draftTaxOwed = Money.roundToCents(TaxEngine.federalTaxOwed(draft.getSchedule(filingStatuses[index]),
+                    grossIncomes[index], totalDeductions[index], totalCredits[index]));
+            assertTrue(draftTaxOwed <= currentTaxOwed);
+            currentRevenue += weights[index] * currentTaxOwed;
+            draftRevenue += weights[index] * draftTaxOwed;
+            if (draftTaxOwed < currentTaxOwed) {
+                winnerCount += weights[index];
+                winnerTaxChange += weights[index] * (draftTaxOwed - currentTaxOwed);
+            }
+        }
+
+        assertEquals(currentRevenue, response.getCurrentRevenue(), 1.0);
+        assertEquals(draftRevenue, response.getDraftRevenue(), 1.0);
+        assertTrue(response.getRevenueChange() < 0.0);
+        assertEquals(winnerCount, response.getWinnerCount(), 1e-6);
+        assertEquals(winnerTaxChange / winnerCount, response.getAverageWinnerTaxChange(), 0.01);
+        assertEquals(0.0, response.getLoserCount());
+        assertEquals(response.getHouseholdCount() - winnerCount, response.getUnchangedCount(), 1e-6);
+    }
+
+    /**
+     * Verifies that a draft with overlapping brackets is rejected.
+     */
+    @Test
+    public void comparePolicies_overlappingBrackets_throws() {
+
+        PolicyDiffRequest request = createPolicyDiffRequest(0, 0);
+        request.getDraftBracketDetails().get(1).setMinIncomeSingle(5_000);
+
+        assertThrows(IllegalArgumentException.class, () -> createService().comparePolicies(request));
+    }
+
+    /**
+     * Creates the class under test, reading from the population directory.
+     */
+    private MicrosimulationService createService() {
+        return new MicrosimulationService(taxTableService, populationDirectory.toString());
+    }
+
+    /**
+     * Creates a 2025 microsimulation request using the given data.
+     */
+    private static MicrosimulationRequest createRequest(String populationFile, PopulationGrouping grouping) {
+
+        MicrosimulationRequest request = new MicrosimulationRequest();
+        request.setSelectedTaxYear(2025);
+        request.setPopulationFile(populationFile);
+        request.setGrouping(grouping);
+        return request;
+    }
+
+    /**
+     * Creates a 2025 policy diff request whose draft is current law with every rate moved by the given number of
+     * percentage points and every standard deduction raised by the given amount.
+     */
+    private PolicyDiffRequest createPolicyDiffRequest(int taxRateChange, int standardDeductionChange) {
+
+        TaxYearDetails draftTaxYearDetails = createDraftTaxYearDetails(taxRateChange, standardDeductionChange);
+
+        PolicyDiffRequest request = new PolicyDiffRequest();
+        request.setSelectedTaxYear(2025);
+        request.setPopulationFile("population.bin");
+        request.setDraftStandardDeductionDetails(
+                (StandardDeductionDetails) draftTaxYearDetails.getStandardDeductionDetails());
+        request.setDraftBracketDetails(draftTaxYearDetails.getBracketDetails().stream()
+                .map(BracketDetails.class::cast)
+                .toList());
+        return request;
+    }
+
+    /**
+     * Creates a copy of the 2025 tax table with every rate moved by the given number of percentage points and
+     * every standard deduction raised by the given amount.
+     */
+    private TaxYearDetails createDraftTaxYearDetails(int taxRateChange, int standardDeductionChange) {
+
+        TaxYearDetails currentLaw = taxTableService.getTaxYearDetails(2025);
+
+        StandardDeductionDetails standardDeductionDetails = new StandardDeductionDetails();
+        standardDeductionDetails.setTaxYear(2025);
+        standardDeductionDetails.setSingle(currentLaw.getStandardDeductionDetails().getSingle() + standardDeductionChange);
+        standardDeductionDetails.setMfj(currentLaw.getStandardDeductionDetails().getMfj() + standardDeductionChange);
+        standardDeductionDetails.setMfs(currentLaw.getStandardDeductionDetails().getMfs() + standardDeductionChange);
+        standardDeductionDetails.setHoh(currentLaw.getStandardDeductionDetails().getHoh() + standardDeductionChange);
+
+        List<com.jack.tax.models.interfaces.BracketDetails> bracketDetails = currentLaw.getBracketDetails().stream()
+                .map(current -> {
+                    BracketDetails draft = new BracketDetails();
+                    draft.setTaxYear(2025);
+                    draft.setTaxRate(current.getTaxRate() + taxRateChange);
+                    draft.setMinIncomeSingle(current.getMinIncomeSingle());
+                    draft.setMaxIncomeSingle(current.getMaxIncomeSingle());
+                    draft.setMinIncomeMFJ(current.getMinIncomeMFJ());
+                    draft.setMaxIncomeMFJ(current.getMaxIncomeMFJ());
+                    draft.setMinIncomeMFS(current.getMinIncomeMFS());
+                    draft.setMaxIncomeMFS(current.getMaxIncomeMFS());
+                    draft.setMinIncomeHOH(current.getMinIncomeHOH());
+                    draft.setMaxIncomeHOH(current.getMaxIncomeHOH());
+                    return (com.jack.tax.models.interfaces.BracketDetails) draft;
+                })
+                .toList();
+
+        TaxYearDetails taxYearDetails = new com.jack.tax.models.TaxYearDetails();
+        taxYearDetails.setTaxYear(2025);
+        taxYearDetails.setStandardDeductionDetails(standardDeductionDetails);
+        taxYearDetails.setBracketDetails(bracketDetails);
+        return taxYearDetails;
+    }
+}
@@ -0,0 +1,252 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.PayFrequency;
+import com.jack.tax.models.PayrollEmployee;
+import com.jack.tax.models.PayrollRunRequest;
+import com.jack.tax.models.interfaces.EmployeeWithholding;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.PayrollRunResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the Payroll Service
+ */
+public class PayrollServiceTests {
+
+    /**
+     * Provides the 2024 and 2025 tax tables
+     */
+    private final TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+
+    /**
+     * Used to check every employee against a regular calculation
+     */
+    private final TaxCalculationService taxCalculationService = new TaxCalculationService(taxTableService);
+
+    /**
+     * Instance of the class under test
+     */
+    private final PayrollService payrollService = new PayrollService(taxTableService);
+
+    /**
+     * Verifies that an employee paid the same every period, with exactly the right amount withheld so far,
+     * has the annual tax owed on their salary spread evenly over the pay periods.
+     *
+     * @param payFrequency Pay frequency
+     * @param payPeriod    Current pay period
+     * @param salary       Annual salary (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "BIWEEKLY, 1, 52000",
+            "BIWEEKLY, 14, 130000",
+            "WEEKLY, 52, 650000",
+            "SEMIMONTHLY, 7, 30000",
+            "MONTHLY, 12, 96000",
+            "ANNUALLY, 1, 250000"
+    })
+    public void runPayroll_evenPay_spreadsAnnualTax(PayFrequency payFrequency, int payPeriod, double salary) {
+
+        int payPeriodsPerYear = payFrequency.getPayPeriodsPerYear();
+        double annualTaxOwed = calculateFederalTaxOwed(FilingStatus.SINGLE, salary, 0, 0);
+        double grossPay = salary / payPeriodsPerYear;
+        PayrollEmployee employee = createEmployee("E1", FilingStatus.SINGLE, payPeriod, grossPay,
+                grossPay * (payPeriod - 1), annualTaxOwed / payPeriodsPerYear * (payPeriod - 1));
+
+        // Call the method under test
+        PayrollRunResponse response = payrollService.runPayroll(createRequest(payFrequency, List.of(employee)));
+
+        EmployeeWithholding withholding = response.getWithholdings().get(0);
+        assertEquals("E1", withholding.getEmployeeId());
+        assertEquals(salary, withholding.getAnnualizedWages(), 0.01);
+        assertEquals(annualTaxOwed, withholding.getAnnualFederalTaxOwed(), 0.01);
+        assertEquals(annualTaxOwed / payPeriodsPerYear, withholding.getWithholding(), 0.01);
+        assertFalse(response.isProjected());
+    }
+
+    /**
+     * Verifies that earlier under-withholding is caught up this period.
+     *
+     * @param ytdShortfall Amount (USD) by which earlier withholding fell short
+     */
+    @ParameterizedTest
+    @CsvSource({"0", "300", "1000"})
+    public void runPayroll_underWithheld_caughtUp(double ytdShortfall) {
+
+        // Monthly pay of 5000 in month 6 annualizes to 60000
+        double annualTaxOwed = calculateFederalTaxOwed(FilingStatus.SINGLE, 60_000, 0, 0);
+        PayrollEmployee employee = createEmployee("E1", FilingStatus.SINGLE, 6, 5_000, 25_000,
+                annualTaxOwed * 5 / 12 - ytdShortfall);
+
+        // Call the method under test
+        PayrollRunResponse response = payrollService.runPayroll(createRequest(PayFrequency.MONTHLY, List.of(employee)));
+
+        assertEquals(annualTaxOwed, response.getWithholdings().get(0).getAnnualFederalTaxOwed());
+        assertEquals(annualTaxOwed / 12 + ytdShortfall, response.getWithholdings().get(0).getWithholding(), 0.01);
+    }
+
+    /**
+     * Verifies that nothing, rather than a negative amount, is withheld once earlier withholding already covers
+     * the tax owed so far, and that no more than the period's gross pay is ever withheld.
+     */
+    @Test
+    public void runPayroll_overWithheldOrCatchUpExceedsPay_clamped() {
+
+        double annualTaxOwed = calculateFederalTaxOwed(FilingStatus.SINGLE, 60_000, 0, 0);
+        PayrollEmployee overWithheld = createEmployee("E1", FilingStatus.SINGLE, 6, 5_000, 25_000, annualTaxOwed);
+        PayrollEmployee smallPay = createEmployee("E2", FilingStatus.SINGLE, 12, 100, 200_000, 0);
+
+        // Call the method under test
+        PayrollRunResponse response = payrollService.runPayroll(
+                createRequest(PayFrequency.MONTHLY, List.of(overWithheld, smallPay)));
+
+        assertEquals(0.0, response.getWithholdings().get(0).getWithholding());
+        assertEquals(100.0, response.getWithholdings().get(1).getWithholding());
+        assertEquals(100.0, response.getTotalWithholding());
+        assertEquals(5_100.0, response.getTotalGrossPay());
+    }
+
+    /**
+     * Verifies a run big enough for several chunks against calculating every employee one at a time, in
+     * request order, along with the totals.
+     */
+    @Test
+    public void runPayroll_manyEmployees_matchesCalculations() {
+
+        SplittableRandom random = new SplittableRandom(7);
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        List<PayrollEmployee> employees = new ArrayList<>();
+        for (int index = 0; index < 10_001; index++) {
+            int payPeriod = 1 + random.nextInt(26);
+            double grossPay = Math.round(random.nextDouble(500, 12_000) * 100) / 100.0;
+            PayrollEmployee employee = createEmployee("E" + index, filingStatuses[random.nextInt(filingStatuses.length)],
+                    payPeriod, grossPay, grossPay * (payPeriod - 1), random.nextInt(20_000));
+            employee.setTotalDeductions(random.nextInt(4) == 0 ? random.nextInt(40_000) : 0);
+            employee.setTotalCredits(random.nextInt(3) == 0 ? 2_000 : 0);
+            employees.add(employee);
+        }
+
+        // Call the method under test
+        PayrollRunResponse response = payrollService.runPayroll(createRequest(PayFrequency.BIWEEKLY, employees));
+
+        double totalWithholding = 0.0;
+        for (int index = 0; index < employees.size(); index++) {
+            PayrollEmployee employee = employees.get(index);
+            EmployeeWithholding withholding = response.getWithholdings().get(index);
+            double annualWages = (employee.getYtdGrossPay() + employee.getGrossPay()) * 26 / employee.getPayPeriod();
+            double annualTaxOwed = calculateFederalTaxOwed(employee.getFilingStatus(), annualWages,
+                    employee.getTotalDeductions(), employee.getTotalCredits());
+            double expectedWithholding = Math.min(Math.max(
+                    annualTaxOwed * employee.getPayPeriod() / 26 - employee.getYtdWithholding(), 0.0), employee.getGrossPay());
+
+            assertEquals(employee.getEmployeeId(), withholding.getEmployeeId());
+            assertEquals(annualTaxOwed, withholding.getAnnualFederalTaxOwed(), 0.01);
+            assertEquals(expectedWithholding, withholding.getWithholding(), 0.02);
+            totalWithholding += withholding.getWithholding();
+        }
+        assertEquals(employees.size(), response.getEmployeeCount());
+        assertEquals(totalWithholding, response.getTotalWithholding(), 0.01);
+    }
+
+    /**
+     * Verifies that a run against generated schedules withholds exactly what it does against the compiled ones.
+     */
+    @Test
+    public void runPayroll_generatedSchedules_identical() {
+
+        SplittableRandom random = new SplittableRandom(11);
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        List<PayrollEmployee> employees = new ArrayList<>();
+        for (int index = 0; index < 1_000; index++) {
+            employees.add(createEmployee("E" + index, filingStatuses[random.nextInt(filingStatuses.length)],
+                    12, random.nextDouble(500, 30_000), random.nextDouble(0, 300_000), random.nextInt(20_000)));
+        }
+        PayrollService generatedPayrollService = new PayrollService(
+                TaxTableFixtures.createTaxTableService(List.of(), true));
+
+        // Call the method under test
+        PayrollRunResponse response = generatedPayrollService.runPayroll(createRequest(PayFrequency.MONTHLY, employees));
+
+        PayrollRunResponse expected = payrollService.runPayroll(createRequest(PayFrequency.MONTHLY, employees));
+        for (int index = 0; index < employees.size(); index++) {
+            assertEquals(expected.getWithholdings().get(index).getAnnualFederalTaxOwed(),
+                    response.getWithholdings().get(index).getAnnualFederalTaxOwed());
+            assertEquals(expected.getWithholdings().get(index).getWithholding(),
+                    response.getWithholdings().get(index).getWithholding());
+        }
+        assertEquals(expected.getTotalWithholding(), response.getTotalWithholding());
+    }
+
+    /**
+     * Verifies that a pay period past the end of the year for the pay frequency is rejected.
+     */
+    @Test
+    public void runPayroll_payPeriodPastYearEnd_throws() {
+
+        PayrollEmployee employee = createEmployee("E1", FilingStatus.SINGLE, 13, 5_000, 60_000, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> payrollService.runPayroll(
+                createRequest(PayFrequency.MONTHLY, List.of(employee))));
+    }
+
+    /**
+     * Creates a 2025 payroll run request using the given data.
+     */
+    private static PayrollRunRequest createRequest(PayFrequency payFrequency, List<PayrollEmployee> employees) {
+
+        PayrollRunRequest request = new PayrollRunRequest();
+        request.setSelectedTaxYear(2025);
+        request.setPayFrequency(payFrequency);
+        request.setEmployees(employees);
+        return request;
+    }
+
+    /**
+     * Creates an employee with no deductions or credits using the given data.
+     */
+    private static PayrollEmployee createEmployee(String employeeId,
+                                                  FilingStatus filingStatus,
+                                                  int payPeriod,
+                                                  double grossPay,
+                                                  double ytdGrossPay,
+                                                  double ytdWithholding) {
+
+        PayrollEmployee employee = new PayrollEmployee();
+        employee.setEmployeeId(employeeId);
+        employee.setFilingStatus(filingStatus);
+        employee.setPayPeriod(payPeriod);
+        employee.setGrossPay(grossPay);
+        employee.setYtdGrossPay(ytdGrossPay);
+        employee.setYtdWithholding(ytdWithholding);
+        return employee;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) of a regular 2025 calculation for the given data.
+     */
+    private double calculateFederalTaxOwed(FilingStatus filingStatus,
+                                           double grossIncome,
+                                           double totalDeductions,
+                                           double totalCredits) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setTotalCredits(totalCredits);
+        return taxCalculationService.calculateTaxes(inputModel).getFederalTaxOwed();
+    }
+}
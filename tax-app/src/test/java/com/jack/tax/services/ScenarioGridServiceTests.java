@@ -0,0 +1,256 @@
+package com.jack.tax.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.ScenarioGrid;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.GridDimension;
+import com.jack.tax.models.ScenarioGridRequest;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the Scenario Grid Service
+ */
+public class ScenarioGridServiceTests {
+
+    /**
+     * Provides the 2024 and 2025 tax tables
+     */
+    private final TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+
+    /**
+     * Used to check every cell against a regular calculation
+     */
+    private final TaxCalculationService taxCalculationService = new TaxCalculationService(taxTableService);
+
+    /**
+     * Instance of the class under test
+     */
+    private final ScenarioGridService scenarioGridService = new ScenarioGridService(taxTableService);
+
+    /**
+     * Verifies that every cell of the grid, in row-major order, matches a regular calculation for its inputs,
+     * child tax credit phase-out included, and that the JSON and binary outputs carry the same cells.
+     */
+    @Test
+    public void evaluate_matchesCalculations() throws IOException {
+
+        ScenarioGridRequest request = createRequest(
+                createRange(0, 300_000, 2_500),
+                createValues(0, 18_000, 40_000),
+                createValues(0, 1_500));
+        request.setQualifyingChildren(2);
+
+        // Call the method under test
+        ScenarioGrid grid = scenarioGridService.evaluate(request);
+
+        assertEquals(2 * 3 * 3 * 2 * 121, grid.getCellCount());
+        int cellIndex = 0;
+        for (int taxYear : request.getTaxYears()) {
+            for (FilingStatus filingStatus : request.getFilingStatuses()) {
+                for (double totalDeductions : request.getTotalDeductions().getValues()) {
+                    for (double totalCredits : request.getTotalCredits().getValues()) {
+                        for (int index = 0; index < grid.getGrossIncomeCount(); index++) {
+                            OutputModel outputModel = calculateTaxes(taxYear, filingStatus,
+                                    grid.getGrossIncome(index), totalDeductions, totalCredits, 2);
+                            assertEquals(outputModel.getFederalTaxOwed(), grid.getFederalTaxOwed(cellIndex));
+                            assertEquals(outputModel.getMarginalTaxRate(), grid.getMarginalTaxRate(cellIndex));
+                            assertEquals(outputModel.getEffectiveTaxRate(), grid.getEffectiveTaxRate(cellIndex));
+                            assertEquals(outputModel.getTakeHomePay(), grid.getTakeHomePay(cellIndex));
+                            cellIndex++;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Columnar JSON
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        scenarioGridService.writeJson(request, grid, json);
+        JsonNode root = new ObjectMapper().readTree(json.toByteArray());
+        assertEquals("[2,3,3,2,121]", root.get("shape").toString());
+        assertEquals(300_000.0, root.get("grossIncomes").get(120).asDouble());
+        assertEquals(grid.getCellCount(), root.get("federalTaxOwed").size());
+        assertEquals(grid.getTakeHomePay(1000), root.get("takeHomePay").get(1000).asDouble());
+        assertEquals(grid.getMarginalTaxRate(1000), root.get("marginalTaxRate").get(1000).asInt());
+
+        // Binary matrix
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        scenarioGridService.writeBinary(request, grid, binary);
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(binary.toByteArray()));
+        assertEquals(5, input.readInt());
+        int[] shape = {input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readInt()};
+        assertEquals(grid.getCellCount(), shape[0] * shape[1] * shape[2] * shape[3] * shape[4]);
+        input.skipBytes(4 * (shape[0] + shape[1]) + 8 * (shape[2] + shape[3] + shape[4]));
+        for (int index = 0; index < grid.getCellCount(); index++) {
+            assertEquals(grid.getFederalTaxOwed(index), input.readDouble());
+        }
+        assertEquals(4 * grid.getCellCount() + 16 * grid.getCellCount(), input.available());
+    }
+
+    /**
+     * Verifies that the Arrow stream carries every cell's dimensions and outputs as columns, in row-major order.
+     */
+    @Test
+    public void writeArrow_matchesGrid() throws IOException {
+
+        ScenarioGridRequest request = createRequest(
+                createRange(0, 300_000, 2_500),
+                createValues(0, 18_000, 40_000),
+                createValues(0, 1_500));
+        ScenarioGrid grid = scenarioGridService.evaluate(request);
+
+        // Call the method under test
+        ByteArrayOutputStream arrow = new ByteArrayOutputStream();
+        scenarioGridService.writeArrow(request, grid, arrow);
+
+        // Expected little-endian columns, one value per cell
+        int cellCount = grid.getCellCount();
+        ByteBuffer taxYears = ByteBuffer.allocate(4 * cellCount).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer filingStatuses = ByteBuffer.allocate(cellCount * 32);
+        ByteBuffer totalDeductions = ByteBuffer.allocate(8 * cellCount).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer grossIncomes = ByteBuffer.allocate(8 * cellCount).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer federalTaxOwed = ByteBuffer.allocate(8 * cellCount).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer marginalTaxRates = ByteBuffer.allocate(4 * cellCount).order(ByteOrder.LITTLE_ENDIAN);
+        for (int taxYear : request.getTaxYears()) {
+            for (FilingStatus filingStatus : request.getFilingStatuses()) {
+                for (double deductions : request.getTotalDeductions().getValues()) {
+                    for (int index = 0; index < grid.getTotalCreditsCount() * grid.getGrossIncomeCount(); index++) {
+                        taxYears.putInt(taxYear);
+                        filingStatuses.put(filingStatus.name().getBytes(StandardCharsets.UTF_8));
+                        totalDeductions.putDouble(deductions);
+                        grossIncomes.putDouble(grid.getGrossIncome(index % grid.getGrossIncomeCount()));
+                    }
+                }
+            }
+        }
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            federalTaxOwed.putDouble(grid.getFederalTaxOwed(cellIndex));
+            marginalTaxRates.putInt(grid.getMarginalTaxRate(cellIndex));
+        }
+
+        byte[] stream = arrow.toByteArray();
+        ByteBuffer prefix = ByteBuffer.wrap(stream).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(0xFFFFFFFF, prefix.getInt(0));
+        assertEquals(0xFFFFFFFF, prefix.getInt(stream.length - 8));
+        assertEquals(0, prefix.getInt(stream.length - 4));
+        for (String name : List.of("taxYear", "filingStatus", "grossIncome", "takeHomePay")) {
+            assertTrue(indexOf(stream, name.getBytes(StandardCharsets.UTF_8)) > 0, name);
+        }
+        for (ByteBuffer column : List.of(taxYears, filingStatuses, totalDeductions, grossIncomes, federalTaxOwed,
+                marginalTaxRates)) {
+            assertTrue(indexOf(stream, Arrays.copyOf(column.array(), column.position())) > 0);
+        }
+    }
+
+    /**
+     * Verifies that grids with too many cells or malformed dimensions are rejected before being evaluated.
+     */
+    @Test
+    public void evaluate_invalidGrid_throws() {
+
+        assertThrows(IllegalArgumentException.class, () -> scenarioGridService.evaluate(
+                createRequest(createRange(0, 1_000_000, 1), null, null)));
+
+        GridDimension listAndRange = createValues(1_000);
+        listAndRange.setStep(100.0);
+        assertThrows(IllegalArgumentException.class, () -> scenarioGridService.evaluate(
+                createRequest(listAndRange, null, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> scenarioGridService.evaluate(
+                createRequest(createRange(50_000, 10_000, 100), null, null)));
+    }
+
+    /**
+     * Creates a grid request over two tax years and three filing statuses.
+     */
+    private static ScenarioGridRequest createRequest(GridDimension grossIncomes,
+                                                     GridDimension totalDeductions,
+                                                     GridDimension totalCredits) {
+
+        ScenarioGridRequest request = new ScenarioGridRequest();
+        request.setTaxYears(List.of(2024, 2025));
+        request.setFilingStatuses(List.of(
+                FilingStatus.SINGLE, FilingStatus.MARRIED_FILING_JOINTLY, FilingStatus.HEAD_OF_HOUSEHOLD));
+        request.setGrossIncomes(grossIncomes);
+        request.setTotalDeductions(totalDeductions);
+        request.setTotalCredits(totalCredits);
+        return request;
+    }
+
+    /**
+     * Creates a grid dimension with the given values.
+     */
+    private static GridDimension createValues(double... values) {
+
+        GridDimension dimension = new GridDimension();
+        dimension.setValues(Arrays.stream(values).boxed().toList());
+        return dimension;
+    }
+
+    /**
+     * Creates a grid dimension with the given range.
+     */
+    private static GridDimension createRange(double start, double end, double step) {
+
+        GridDimension dimension = new GridDimension();
+        dimension.setStart(start);
+        dimension.setEnd(end);
+        dimension.setStep(step);
+        return dimension;
+    }
+
+    /**
+     * Returns a regular calculation for the given data.
+     */
+    private OutputModel calculateTaxes(int taxYear,
+                                       FilingStatus filingStatus,
+                                       double grossIncome,
+                                       double totalDeductions,
+                                       double totalCredits,
+                                       int qualifyingChildren) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(taxYear);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setTotalCredits(totalCredits);
+        inputModel.setQualifyingChildren(qualifyingChildren);
+        return taxCalculationService.calculateTaxes(inputModel);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given bytes, or -1 if there is none.
+     *
+     * @param bytes  Bytes to search
+     * @param target Bytes to find
+     */
+    private static int indexOf(byte[] bytes, byte[] target) {
+
+        for (int index = 0; index + target.length <= bytes.length; index++) {
+            if (Arrays.equals(bytes, index, index + target.length, target, 0, target.length)) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,554 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.Money;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.IncomeDistribution;
+import com.jack.tax.models.InverseCalculationRequest;
+import com.jack.tax.models.InverseCalculationTarget;
+import com.jack.tax.models.MonteCarloRequest;
+import com.jack.tax.models.TaxCurveRequest;
+import com.jack.tax.models.interfaces.DeductionAnalysis;
+import com.jack.tax.models.interfaces.DeductionSensitivitySegment;
+import com.jack.tax.models.interfaces.DistributionSummary;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.InverseCalculationResponse;
+import com.jack.tax.models.interfaces.MonteCarloResponse;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.models.interfaces.TaxCurveResponse;
+import com.jack.tax.models.interfaces.TaxCurveSegment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the Tax Analysis Service
+ */
+public class TaxAnalysisServiceTests {
+
+    /**
+     * Provides the 2024 and 2025 tax tables
+     */
+    private final TaxTableService taxTableService = TaxTableFixtures.createTaxTableService();
+
+    /**
+     * Used to check the analyses against regular calculations
+     */
+    private final TaxCalculationService taxCalculationService = new TaxCalculationService(taxTableService);
+
+    /**
+     * Instance of the class under test
+     */
+    private final TaxAnalysisService taxAnalysisService = new TaxAnalysisService(taxTableService, taxCalculationService);
+
+    /**
+     * Verifies that every sample (and every segment end point) on the tax curve matches a regular calculation
+     * for that gross income.
+     *
+     * @param taxYear         Tax year
+     * @param filingStatus    Filing status
+     * @param totalDeductions Total deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2024, SINGLE, 0, 0",
+            "2024, HEAD_OF_HOUSEHOLD, 30000, 500",
+            "2025, MARRIED_FILING_JOINTLY, 10000, 2000",
+            "2025, MARRIED_FILING_SEPARATELY, 50000, 0"
+    })
+    public void getTaxCurve_matchesCalculations(int taxYear,
+                                                FilingStatus filingStatus,
+                                                double totalDeductions,
+                                                double totalCredits) {
+
+        TaxCurveRequest request = createTaxCurveRequest(taxYear, filingStatus, totalDeductions, totalCredits);
+        request.setMaxGrossIncome(1_000_000);
+        request.setSampleCount(1001);
+
+        // Call the method under test
+        TaxCurveResponse response = taxAnalysisService.getTaxCurve(request);
+
+        // Verify the samples
+        assertEquals(1001, response.getGrossIncomes().length);
+        assertEquals(0.0, response.getGrossIncomes()[0]);
+        assertEquals(1_000_000.0, response.getGrossIncomes()[1000]);
+        for (int sampleIndex = 0; sampleIndex < response.getGrossIncomes().length; sampleIndex++) {
+            double grossIncome = response.getGrossIncomes()[sampleIndex];
+            double expectedFederalTaxOwed = calculateFederalTaxOwed(
+                    taxYear, filingStatus, grossIncome, totalDeductions, totalCredits);
+            assertEquals(expectedFederalTaxOwed, response.getFederalTaxOwed()[sampleIndex], 0.011,
+                    "Gross income " + grossIncome);
+        }
+
+        // Verify the segments are contiguous, cover the range and agree with regular calculations
+        List<TaxCurveSegment> segments = response.getSegments();
+        assertEquals(0.0, segments.get(0).getStartGrossIncome());
+        assertEquals(1_000_000.0, segments.get(segments.size() - 1).getEndGrossIncome());
+        for (int segmentIndex = 0; segmentIndex < segments.size(); segmentIndex++) {
+            TaxCurveSegment segment = segments.get(segmentIndex);
+            if (segmentIndex > 0) {
+                assertEquals(segments.get(segmentIndex - 1).getEndGrossIncome(), segment.getStartGrossIncome());
+            }
+            assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, segment.getEndGrossIncome(),
+                    totalDeductions, totalCredits), segment.getEndFederalTaxOwed(), 0.011);
+            assertEquals(segment.getMarginalTaxRate() / 100.0,
+                    (segment.getEndFederalTaxOwed() - segment.getStartFederalTaxOwed())
+                            / (segment.getEndGrossIncome() - segment.getStartGrossIncome()), 1e-6);
+        }
+    }
+
+    /**
+     * Verifies that segments are clipped to the requested range and no samples are returned unless asked for.
+     */
+    @Test
+    public void getTaxCurve_clipsSegmentsToRange() {
+
+        TaxCurveRequest request = createTaxCurveRequest(2025, FilingStatus.SINGLE, 0, 0);
+        request.setMinGrossIncome(50_000);
+        request.setMaxGrossIncome(150_000);
+
+        // Call the method under test
+        TaxCurveResponse response = taxAnalysisService.getTaxCurve(request);
+
+        // 2025 single: 12% up to 64,225 gross, 22% up to 119,100, then 24% (with flat one dollar gaps between)
+        List<TaxCurveSegment> segments = response.getSegments();
+        assertEquals(5, segments.size());
+        assertEquals(50_000.0, segments.get(0).getStartGrossIncome());
+        assertEquals(12, segments.get(0).getMarginalTaxRate());
+        assertEquals(0, segments.get(1).getMarginalTaxRate());
+        assertEquals(22, segments.get(2).getMarginalTaxRate());
+        assertEquals(24, segments.get(4).getMarginalTaxRate());
+        assertEquals(150_000.0, segments.get(4).getEndGrossIncome());
+        assertNull(response.getGrossIncomes());
+    }
+
+    /**
+     * Verifies that an empty gross income range is rejected.
+     */
+    @Test
+    public void getTaxCurve_emptyRange_throws() {
+
+        TaxCurveRequest request = createTaxCurveRequest(2025, FilingStatus.SINGLE, 0, 0);
+        request.setMinGrossIncome(100_000);
+        request.setMaxGrossIncome(100_000);
+
+        assertThrows(IllegalArgumentException.class, () -> taxAnalysisService.getTaxCurve(request));
+    }
+
+    /**
+     * Verifies that the solved gross income is the lowest whole-cent gross income at which the target output
+     * reaches the target value.
+     *
+     * @param taxYear         Tax year
+     * @param filingStatus    Filing status
+     * @param totalDeductions Total deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     * @param target          Output to solve gross income for
+     * @param targetValue     Value the target output must reach
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2024, SINGLE, 0, 0, TAKE_HOME_PAY, 75000",
+            "2025, MARRIED_FILING_JOINTLY, 10000, 2000, TAKE_HOME_PAY, 250000.55",
+            "2025, HEAD_OF_HOUSEHOLD, 40000, 500, TAKE_HOME_PAY, 12345.67",
+            "2024, SINGLE, 0, 0, FEDERAL_TAX_OWED, 10000",
+            "2025, MARRIED_FILING_SEPARATELY, 0, 1000, FEDERAL_TAX_OWED, 123456.78",
+            "2025, SINGLE, 0, 0, FEDERAL_TAX_OWED, 1160",
+            "2024, SINGLE, 0, 0, EFFECTIVE_TAX_RATE, 15",
+            "2025, MARRIED_FILING_JOINTLY, 0, 3000, EFFECTIVE_TAX_RATE, 30.5",
+            "2025, HEAD_OF_HOUSEHOLD, 20000, 0, EFFECTIVE_TAX_RATE, 0.01"
+    })
+    public void solveForGrossIncome_returnsLowestGrossIncomeReachingTarget(int taxYear,
+                                                                            FilingStatus filingStatus,
+                                                                            double totalDeductions,
+                                                                            double totalCredits,
+                                                                            InverseCalculationTarget target,
+                                                                            double targetValue) {
+
+        InverseCalculationRequest request = new InverseCalculationRequest();
+        request.setSelectedTaxYear(taxYear);
+        request.setSelectedFilingStatus(filingStatus);
+        request.setTotalDeductions(totalDeductions);
+        request.setTotalCredits(totalCredits);
+        request.setTarget(target);
+        request.setTargetValue(targetValue);
+
+        // Call the method under test
+        InverseCalculationResponse response = taxAnalysisService.solveForGrossIncome(request);
+
+        // The target is met at the solved gross income but not one cent below it
+        CompiledTaxSchedule schedule = taxTableService.getCompiledTaxYear(taxYear).getSchedule(filingStatus);
+        double grossIncome = response.getGrossIncome();
+        assertTrue(getOutput(schedule, target, grossIncome, totalDeductions, totalCredits) >= targetValue - 1e-9,
+                "Gross income " + grossIncome);
+        assertTrue(getOutput(schedule, target, grossIncome - 0.01, totalDeductions, totalCredits) < targetValue,
+                "Gross income " + grossIncome);
+
+        // The calculation is the regular one for the solved gross income
+        assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, totalDeductions, totalCredits),
+                response.getCalculation().getFederalTaxOwed());
+    }
+
+    /**
+     * Verifies that, with the child tax credit rules granting credits, the solved gross income is still the
+     * lowest whole-cent gross income at which the target output reaches the target value, including targets that
+     * fall within the $50 step the phase-out takes at $200,000.01 of a single filer's gross income.
+     *
+     * @param taxYear            Tax year
+     * @param filingStatus       Filing status
+     * @param totalDeductions    Total deductions (USD)
+     * @param qualifyingChildren Number of qualifying children
+     * @param target             Output to solve gross income for
+     * @param targetValue        Value the target output must reach
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2025, SINGLE, 0, 2, FEDERAL_TAX_OWED, 32690",
+            "2025, SINGLE, 0, 2, EFFECTIVE_TAX_RATE, 16.345",
+            "2025, SINGLE, 0, 2, TAKE_HOME_PAY, 168000",
+            "2024, MARRIED_FILING_JOINTLY, 0, 3, FEDERAL_TAX_OWED, 5000",
+            "2025, HEAD_OF_HOUSEHOLD, 12000, 1, TAKE_HOME_PAY, 180000",
+            "2024, SINGLE, 0, 4, EFFECTIVE_TAX_RATE, 20"
+    })
+    public void solveForGrossIncome_creditRules_returnsLowestGrossIncomeReachingTarget(int taxYear,
+                                                                                       FilingStatus filingStatus,
+                                                                                       double totalDeductions,
+                                                                                       int qualifyingChildren,
+                                                                                       InverseCalculationTarget target,
+                                                                                       double targetValue) {
+
+        InverseCalculationRequest request = new InverseCalculationRequest();
+        request.setSelectedTaxYear(taxYear);
+        request.setSelectedFilingStatus(filingStatus);
+        request.setTotalDeductions(totalDeductions);
+        request.setQualifyingChildren(qualifyingChildren);
+        request.setTarget(target);
+        request.setTargetValue(targetValue);
+
+        // Call the method under test
+        InverseCalculationResponse response = taxAnalysisService.solveForGrossIncome(request);
+
+        // The target is met at the solved gross income but not one cent below it
+        CompiledTaxSchedule schedule = taxTableService.getCompiledTaxYear(taxYear).getSchedule(filingStatus);
+        double grossIncome = response.getGrossIncome();
+        double ruleCredits = schedule.getCreditRules().evaluate(grossIncome, 0.0, qualifyingChildren);
+        double lowerRuleCredits = schedule.getCreditRules().evaluate(grossIncome - 0.01, 0.0, qualifyingChildren);
+        assertTrue(ruleCredits > 0, "Gross income " + grossIncome);
+        assertTrue(getOutput(schedule, target, grossIncome, totalDeductions, ruleCredits) >= targetValue - 1e-9,
+                "Gross income " + grossIncome);
+        assertTrue(getOutput(schedule, target, grossIncome - 0.01, totalDeductions, lowerRuleCredits) < targetValue,
+                "Gross income " + grossIncome);
+
+        // The calculation is the regular one for the solved gross income, and meets the target too
+        OutputModel outputModel = response.getCalculation();
+        assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, totalDeductions, 0,
+                qualifyingChildren), outputModel.getFederalTaxOwed());
+        assertEquals(Money.roundToCents(ruleCredits), outputModel.getCalculatedCredits());
+        if (target == InverseCalculationTarget.FEDERAL_TAX_OWED) {
+            assertTrue(outputModel.getFederalTaxOwed() >= targetValue);
+        } else if (target == InverseCalculationTarget.TAKE_HOME_PAY) {
+            assertTrue(outputModel.getTakeHomePay() >= targetValue);
+        }
+    }
+
+    /**
+     * Verifies that a target that can never be reached is rejected.
+     */
+    @Test
+    public void solveForGrossIncome_unreachableTarget_throws() {
+
+        InverseCalculationRequest request = new InverseCalculationRequest();
+        request.setSelectedTaxYear(2025);
+        request.setSelectedFilingStatus(FilingStatus.SINGLE);
+        request.setTarget(InverseCalculationTarget.EFFECTIVE_TAX_RATE);
+        request.setTargetValue(37);
+
+        assertThrows(IllegalArgumentException.class, () -> taxAnalysisService.solveForGrossIncome(request));
+    }
+
+    /**
+     * Verifies that the deduction analysis agrees with regular calculations across a range of itemized deductions.
+     *
+     * @param taxYear         Tax year
+     * @param filingStatus    Filing status
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2024, SINGLE, 85000, 20000, 0",
+            "2025, MARRIED_FILING_JOINTLY, 450000, 10000, 2000",
+            "2025, HEAD_OF_HOUSEHOLD, 1200000, 300000, 500",
+            "2024, MARRIED_FILING_SEPARATELY, 12000, 5000, 0",
+            "2025, SINGLE, 15000.50, 0, 0"
+    })
+    public void analyzeDeductions_matchesCalculations(int taxYear,
+                                                      FilingStatus filingStatus,
+                                                      double grossIncome,
+                                                      double totalDeductions,
+                                                      double totalCredits) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(taxYear);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setTotalCredits(totalCredits);
+
+        // Call the method under test
+        DeductionAnalysis deductionAnalysis = taxAnalysisService.analyzeDeductions(inputModel);
+
+        // Itemizing pays off beyond the standard deduction
+        double standardDeduction = taxTableService.getCompiledTaxYear(taxYear).getSchedule(filingStatus).getStandardDeduction();
+        assertEquals(standardDeduction, deductionAnalysis.getBreakevenItemizedDeductions());
+        assertEquals(totalDeductions > standardDeduction, deductionAnalysis.isItemizing());
+        assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, totalDeductions, totalCredits),
+                deductionAnalysis.getFederalTaxOwed(), 0.011);
+        assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, 0, totalCredits)
+                        - deductionAnalysis.getFederalTaxOwed(), deductionAnalysis.getTaxSavedByItemizing(), 0.011);
+
+        // The segments run from no deductions to deductions that leave nothing to tax, and each one agrees with
+        // regular calculations at its end points and in its middle
+        List<DeductionSensitivitySegment> segments = deductionAnalysis.getSegments();
+        assertEquals(0.0, segments.get(0).getStartDeductions());
+        assertFalse(segments.get(0).isItemized());
+        assertEquals(Math.max(grossIncome, standardDeduction), segments.get(segments.size() - 1).getEndDeductions());
+        for (int segmentIndex = 0; segmentIndex < segments.size(); segmentIndex++) {
+            DeductionSensitivitySegment segment = segments.get(segmentIndex);
+            if (segmentIndex > 0) {
+                assertEquals(segments.get(segmentIndex - 1).getEndDeductions(), segment.getStartDeductions());
+                assertTrue(segment.isItemized());
+            }
+            assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, segment.getStartDeductions(),
+                    totalCredits), segment.getStartFederalTaxOwed(), 0.011);
+            assertEquals(calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, segment.getEndDeductions(),
+                    totalCredits), segment.getEndFederalTaxOwed(), 0.011);
+
+            double middle = (segment.getStartDeductions() + segment.getEndDeductions()) / 2.0;
+            if (segment.getEndDeductions() - segment.getStartDeductions() >= 1000) {
+                assertEquals(segment.getMarginalTaxSavingsRate() * 5.0,
+                        calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, middle - 250, totalCredits)
+                                - calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, middle + 250, totalCredits),
+                        0.011);
+            }
+        }
+    }
+
+    /**
+     * Verifies that the deduction analysis includes the credits the credit rules grant for qualifying children,
+     * including a partly phased-out child tax credit.
+     *
+     * @param filingStatus       Filing status
+     * @param grossIncome        Gross income (USD)
+     * @param totalDeductions    Total deductions (USD)
+     * @param qualifyingChildren Number of qualifying children
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "SINGLE, 60000, 0, 2",
+            "MARRIED_FILING_JOINTLY, 430000, 40000, 3",
+            "HEAD_OF_HOUSEHOLD, 25000, 5000, 3"
+    })
+    public void analyzeDeductions_qualifyingChildren_matchesCalculations(FilingStatus filingStatus,
+                                                                         double grossIncome,
+                                                                         double totalDeductions,
+                                                                         int qualifyingChildren) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setQualifyingChildren(qualifyingChildren);
+
+        // Call the method under test
+        DeductionAnalysis deductionAnalysis = taxAnalysisService.analyzeDeductions(inputModel);
+
+        assertEquals(calculateFederalTaxOwed(2025, filingStatus, grossIncome, totalDeductions, 0, qualifyingChildren),
+                deductionAnalysis.getFederalTaxOwed(), 0.011);
+        for (DeductionSensitivitySegment segment : deductionAnalysis.getSegments()) {
+            assertEquals(calculateFederalTaxOwed(2025, filingStatus, grossIncome, segment.getStartDeductions(), 0,
+                    qualifyingChildren), segment.getStartFederalTaxOwed(), 0.011);
+            assertEquals(calculateFederalTaxOwed(2025, filingStatus, grossIncome, segment.getEndDeductions(), 0,
+                    qualifyingChildren), segment.getEndFederalTaxOwed(), 0.011);
+        }
+    }
+
+    /**
+     * Verifies that the deduction analysis rejects preferential income rather than pricing it at the ordinary rates.
+     */
+    @Test
+    public void analyzeDeductions_preferentialIncome_throws() {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setGrossIncome(150_000);
+        inputModel.setPreferentialIncome(40_000);
+        inputModel.setTotalDeductions(30_000);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> taxAnalysisService.analyzeDeductions(inputModel));
+        assertEquals("Deduction analysis does not support preferential income", exception.getMessage());
+    }
+
+    /**
+     * Verifies that a seeded simulation is repeatable, that percentiles ascend, and that an income with no
+     * uncertainty gives the same federal tax owed and take home pay as a regular calculation, with or without a
+     * phased-out child tax credit.
+     *
+     * @param distribution Salary distribution
+     */
+    @ParameterizedTest
+    @CsvSource({"NORMAL", "LOGNORMAL"})
+    public void simulateIncomeUncertainty_summarizesDistributions(IncomeDistribution distribution) {
+
+        MonteCarloRequest request = createMonteCarloRequest(distribution, 80_000, 20_000);
+
+        // Call the method under test
+        MonteCarloResponse response = taxAnalysisService.simulateIncomeUncertainty(request);
+        MonteCarloResponse repeatedResponse = taxAnalysisService.simulateIncomeUncertainty(request);
+
+        assertEquals(2025, response.getTaxYear());
+        assertEquals(FilingStatus.SINGLE, response.getFilingStatus());
+        assertEquals(100_000, response.getSampleCount());
+        assertEquals(7L, response.getSeed());
+        for (DistributionSummary summary : List.of(response.getGrossIncome(), response.getFederalTaxOwed(),
+                response.getTakeHomePay())) {
+            List<Double> percentiles = new ArrayList<>(summary.getPercentiles().values());
+            assertEquals(List.of("p1", "p5", "p10", "p25", "p50", "p75", "p90", "p95", "p99"),
+                    new ArrayList<>(summary.getPercentiles().keySet()));
+            for (int index = 1; index < percentiles.size(); index++) {
+                assertTrue(percentiles.get(index - 1) <= percentiles.get(index));
+            }
+            assertTrue(summary.getMin() <= percentiles.get(0));
+            assertTrue(percentiles.get(percentiles.size() - 1) <= summary.getMax());
+            assertEquals(40, summary.getHistogramCounts().length);
+            assertEquals(100_000, Arrays.stream(summary.getHistogramCounts()).sum());
+        }
+        assertEquals(response.getFederalTaxOwed().getPercentiles(), repeatedResponse.getFederalTaxOwed().getPercentiles());
+        assertEquals(response.getTakeHomePay().getMean(), repeatedResponse.getTakeHomePay().getMean());
+
+        // The simulated salary and bonus match the requested mean
+        assertEquals(85_000, response.getGrossIncome().getMean(), 500);
+
+        // Without any uncertainty every sample is the expected income
+        MonteCarloResponse certainResponse = taxAnalysisService.simulateIncomeUncertainty(
+                createMonteCarloRequest(distribution, 80_000, 0));
+        double federalTaxOwed = calculateFederalTaxOwed(2025, FilingStatus.SINGLE, 85_000, 10_000, 500);
+        assertEquals(federalTaxOwed, certainResponse.getFederalTaxOwed().getMean(), 0.011);
+        assertEquals(federalTaxOwed, certainResponse.getFederalTaxOwed().getPercentiles().get("p50"), 0.011);
+        assertEquals(85_000 - federalTaxOwed, certainResponse.getTakeHomePay().getMax(), 0.011);
+        assertEquals(0.0, certainResponse.getTakeHomePay().getStandardDeviation(), 0.011);
+
+        MonteCarloRequest childrenRequest = createMonteCarloRequest(distribution, 205_000, 0);
+        childrenRequest.setQualifyingChildren(2);
+        MonteCarloResponse childrenResponse = taxAnalysisService.simulateIncomeUncertainty(childrenRequest);
+        federalTaxOwed = calculateFederalTaxOwed(2025, FilingStatus.SINGLE, 210_000, 10_000, 500, 2);
+        assertEquals(federalTaxOwed, childrenResponse.getFederalTaxOwed().getMean(), 0.011);
+        assertEquals(federalTaxOwed + 3_900, calculateFederalTaxOwed(2025, FilingStatus.SINGLE, 210_000, 10_000, 500),
+                0.011);
+    }
+
+    /**
+     * Creates a seeded Monte Carlo request for a single filer in 2025 with a $5,000 bonus.
+     */
+    private static MonteCarloRequest createMonteCarloRequest(IncomeDistribution distribution,
+                                                             double expectedSalary,
+                                                             double salaryStandardDeviation) {
+
+        MonteCarloRequest request = new MonteCarloRequest();
+        request.setSelectedTaxYear(2025);
+        request.setSelectedFilingStatus(FilingStatus.SINGLE);
+        request.setTotalDeductions(10_000);
+        request.setTotalCredits(500);
+        request.setSalaryDistribution(distribution);
+        request.setExpectedSalary(expectedSalary);
+        request.setSalaryStandardDeviation(salaryStandardDeviation);
+        request.setExpectedBonus(5_000);
+        request.setBonusStandardDeviation(salaryStandardDeviation / 4);
+        request.setHistogramBinCount(40);
+        request.setSeed(7L);
+        return request;
+    }
+
+    /**
+     * Returns the (unrounded) value of the given output for the given data.
+     */
+    private static double getOutput(CompiledTaxSchedule schedule,
+                                    InverseCalculationTarget target,
+                                    double grossIncome,
+                                    double totalDeductions,
+                                    double totalCredits) {
+
+        double federalTaxOwed = TaxEngine.federalTaxOwed(schedule, grossIncome, totalDeductions, totalCredits);
+        return switch (target) {
+            case TAKE_HOME_PAY -> grossIncome - federalTaxOwed;
+            case FEDERAL_TAX_OWED -> federalTaxOwed;
+            case EFFECTIVE_TAX_RATE -> grossIncome <= 0 ? 0.0 : (federalTaxOwed / grossIncome) * 100.0;
+        };
+    }
+
+    /**
+     * Creates a tax curve request using the given data.
+     */
+    private static TaxCurveRequest createTaxCurveRequest(int taxYear,
+                                                         FilingStatus filingStatus,
+                                                         double totalDeductions,
+                                                         double totalCredits) {
+
+        TaxCurveRequest request = new TaxCurveRequest();
+        request.setSelectedTaxYear(taxYear);
+        request.setSelectedFilingStatus(filingStatus);
+        request.setTotalDeductions(totalDeductions);
+        request.setTotalCredits(totalCredits);
+        return request;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) from a regular calculation using the given data.
+     */
+    private double calculateFederalTaxOwed(int taxYear,
+                                           FilingStatus filingStatus,
+                                           double grossIncome,
+                                           double totalDeductions,
+                                           double totalCredits) {
+
+        return calculateFederalTaxOwed(taxYear, filingStatus, grossIncome, totalDeductions, totalCredits, 0);
+    }
+
+    /**
+     * Returns the federal tax owed (USD) from a regular calculation using the given data, qualifying children
+     * included.
+     */
+    private double calculateFederalTaxOwed(int taxYear,
+                                           FilingStatus filingStatus,
+                                           double grossIncome,
+                                           double totalDeductions,
+                                           double totalCredits,
+                                           int qualifyingChildren) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(taxYear);
+        inputModel.setSelectedFilingStatus(filingStatus);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setTotalCredits(totalCredits);
+        inputModel.setQualifyingChildren(qualifyingChildren);
+        return taxCalculationService.calculateTaxes(inputModel).getFederalTaxOwed();
+    }
+}
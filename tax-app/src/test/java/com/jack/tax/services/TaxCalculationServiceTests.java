@@ -1,13 +1,23 @@
 package com.jack.tax.services;
 
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.Money;
 import com.jack.tax.models.BracketDetails;
+import com.jack.tax.models.DeductionRegime;
 import com.jack.tax.models.FilingStatus;
 import com.jack.tax.models.StandardDeductionDetails;
 import com.jack.tax.models.TaxYearDetails;
+import com.jack.tax.models.interfaces.BracketExplanation;
+import com.jack.tax.models.interfaces.CalculationExplanation;
+import com.jack.tax.models.interfaces.FilingStatusCalculation;
+import com.jack.tax.models.interfaces.FilingStatusComparison;
 import com.jack.tax.models.interfaces.InputModel;
 import com.jack.tax.models.interfaces.OutputModel;
 import com.jack.tax.repositories.BracketRepository;
+import com.jack.tax.repositories.CapitalGainsBracketRepository;
+import com.jack.tax.repositories.CreditRuleRepository;
 import com.jack.tax.repositories.StandardDeductionRepository;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -17,13 +27,20 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.Mock;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,6 +61,18 @@ public class TaxCalculationServiceTests {
     @Mock
     private BracketRepository mockitoBracketRepository;
 
+    /**
+     * Mocks the interaction with the Capital Gains Bracket Repository, which has no capital gains brackets
+     */
+    @Mock
+    private CapitalGainsBracketRepository mockitoCapitalGainsBracketRepository;
+
+    /**
+     * Mocks the interaction with the Credit Rule Repository, which has no credit rules
+     */
+    @Mock
+    private CreditRuleRepository mockitoCreditRuleRepository;
+
     /**
      * Verifies expected tax years are returned.
      *
@@ -559,6 +588,568 @@ public class TaxCalculationServiceTests {
         assertEquals(expectedTakeHomePay, actualOutputModel.getTakeHomePay(), 1e-2);
     }
 
+    /**
+     * Verifies the payroll (FICA) taxes returned alongside federal income tax, treating the gross income as wages.
+     *
+     * @param taxYear                       Tax year
+     * @param grossIncome                   Income before taxes (USD)
+     * @param filingStatus                  Filing status
+     * @param expectedSocialSecurityTax     Expected Social Security tax (USD)
+     * @param expectedMedicareTax           Expected Medicare tax (USD)
+     * @param expectedAdditionalMedicareTax Expected Additional Medicare tax (USD)
+     * @param expectedPayrollTaxOwed        Expected total payroll tax (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // taxYear, grossIncome, filingStatus, social security tax, medicare tax, additional medicare tax, payroll tax owed
+            "2025, 50000, SINGLE, 3100.00, 725.00, 0.00, 3825.00",
+            "2025, 200000, SINGLE, 10918.20, 2900.00, 0.00, 13818.20",                       // Above the wage base
+            "2025, 300000, SINGLE, 10918.20, 4350.00, 900.00, 16168.20",                     // Above the single threshold
+            "2025, 300000, MARRIED_FILING_JOINTLY, 10918.20, 4350.00, 450.00, 15718.20",
+            "2025, 300000, SURVIVING_SPOUSE, 10918.20, 4350.00, 900.00, 16168.20",           // Single threshold
+            "2025, 150000, MARRIED_FILING_SEPARATELY, 9300.00, 2175.00, 225.00, 11700.00",
+            "2024, 200000, HEAD_OF_HOUSEHOLD, 10453.20, 2900.00, 0.00, 13353.20",            // 2024 wage base
+            "2025, 0, SINGLE, 0.00, 0.00, 0.00, 0.00"
+    })
+    public void calculateTaxes_payrollTaxesReturned(int taxYear,
+                                                    double grossIncome,
+                                                    FilingStatus filingStatus,
+                                                    double expectedSocialSecurityTax,
+                                                    double expectedMedicareTax,
+                                                    double expectedAdditionalMedicareTax,
+                                                    double expectedPayrollTaxOwed) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an input model that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(taxYear);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalCredits(2000);
+        inputModel.setSelectedFilingStatus(filingStatus);
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+
+        // Call the method under test
+        OutputModel actualOutputModel = taxCalculationService.calculateTaxes(inputModel);
+
+        // Check the outputs
+        assertEquals(expectedSocialSecurityTax, actualOutputModel.getSocialSecurityTax(), 1e-2);
+        assertEquals(expectedMedicareTax, actualOutputModel.getMedicareTax(), 1e-2);
+        assertEquals(expectedAdditionalMedicareTax, actualOutputModel.getAdditionalMedicareTax(), 1e-2);
+        assertEquals(expectedPayrollTaxOwed, actualOutputModel.getPayrollTaxOwed(), 1e-2);
+    }
+
+    /**
+     * Verifies that a tax year without capital gains brackets taxes qualified dividends and long-term capital gains
+     * as ordinary income, and that they are still not wages for the payroll taxes.
+     *
+     * @param grossIncome        Income before taxes (USD)
+     * @param preferentialIncome Qualified dividends and long-term capital gains (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({"60000, 10000", "250000, 250000", "1000000, 400000"})
+    public void calculateTaxes_noCapitalGainsBrackets_preferentialIncomeTaxedAsOrdinary(double grossIncome,
+                                                                                         double preferentialIncome) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an input model that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+        OutputModel ordinaryOutputModel = taxCalculationService.calculateTaxes(inputModel);
+
+        // Call the method under test
+        inputModel.setPreferentialIncome(preferentialIncome);
+        OutputModel actualOutputModel = taxCalculationService.calculateTaxes(inputModel);
+
+        // Check the outputs
+        assertEquals(ordinaryOutputModel.getFederalTaxOwed(), actualOutputModel.getFederalTaxOwed());
+        assertEquals(ordinaryOutputModel.getMarginalTaxRate(), actualOutputModel.getMarginalTaxRate());
+        assertEquals(0.0, actualOutputModel.getCapitalGainsTax());
+        assertEquals(0, actualOutputModel.getCapitalGainsTaxRate());
+        assertEquals(Money.roundToCents((grossIncome - preferentialIncome) * 0.0145), actualOutputModel.getMedicareTax());
+    }
+
+    /**
+     * Verifies that the capital gains tax is reported alongside the federal tax owed it is included in, and that
+     * the explained bracket taxes only cover the ordinary taxable income, adding up to the income tax together with
+     * the capital gains tax.
+     *
+     * @param filingStatus                Filing status
+     * @param grossIncome                 Income before taxes (USD), including the preferential income
+     * @param preferentialIncome          Qualified dividends and long-term capital gains (USD)
+     * @param totalDeductions             Total itemized deductions (USD)
+     * @param expectedCapitalGainsTax     Expected capital gains tax (USD)
+     * @param expectedCapitalGainsTaxRate Expected preferential tax rate (%)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // Stacked from 64250 to 84250, all at 15%
+            "SINGLE, 100000, 20000, 0, 3000.00, 15",
+            // Itemized deductions of 40000 leave taxable income 560000, stacked from 260000: 533400 - 260000 at 15%
+            // and 560000 - 533401 at 20%
+            "SINGLE, 600000, 300000, 40000, 46329.80, 20",
+            // Stacked from 48500 to 98500: 96700 - 48500 at 0% and 98500 - 96701 at 15%
+            "MARRIED_FILING_JOINTLY, 130000, 50000, 0, 269.85, 15"
+    })
+    public void calculateTaxes_preferentialIncome_capitalGainsTaxReturnedAndExplained(FilingStatus filingStatus,
+                                                                                      double grossIncome,
+                                                                                      double preferentialIncome,
+                                                                                      double totalDeductions,
+                                                                                      double expectedCapitalGainsTax,
+                                                                                      int expectedCapitalGainsTaxRate) {
+
+        // Create an input model that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setPreferentialIncome(preferentialIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setTotalCredits(500);
+        inputModel.setSelectedFilingStatus(filingStatus);
+
+        // Create an instance of the class under test backed by tax tables with capital gains brackets
+        TaxCalculationService taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+        // Call the method under test
+        OutputModel actualOutputModel = taxCalculationService.calculateTaxes(inputModel, false, true);
+
+        // Check the outputs
+        CalculationExplanation explanation = actualOutputModel.getExplanation();
+        double bracketTax = explanation.getBrackets().stream().mapToDouble(BracketExplanation::getTax).sum();
+        assertEquals(expectedCapitalGainsTax, actualOutputModel.getCapitalGainsTax());
+        assertEquals(expectedCapitalGainsTaxRate, actualOutputModel.getCapitalGainsTaxRate());
+        assertEquals(expectedCapitalGainsTax, explanation.getCapitalGainsTax());
+        assertEquals(explanation.getIncomeTaxBeforeCredits(), bracketTax + explanation.getCapitalGainsTax(), 0.02);
+        assertEquals(actualOutputModel.getFederalTaxOwed(), explanation.getIncomeTaxBeforeCredits() - 500, 0.01);
+        assertEquals(Money.roundToCents((grossIncome - preferentialIncome) * 0.0145), actualOutputModel.getMedicareTax());
+    }
+
+    /**
+     * Verifies that preferential income larger than the gross income it is part of is rejected.
+     */
+    @Test
+    public void calculateTaxes_preferentialIncomeExceedsGrossIncome_throws() {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setGrossIncome(50_000);
+        inputModel.setPreferentialIncome(50_000.01);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+
+        TaxCalculationService taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+
+        assertThrows(IllegalArgumentException.class, () -> taxCalculationService.calculateTaxes(inputModel));
+    }
+
+    /**
+     * Verifies that the child tax credit rule of the tax year is applied on top of the credits entered, phased
+     * out by income above the filing status threshold, and explained as part of the total credits.
+     *
+     * @param filingStatus              Filing status
+     * @param grossIncome               Income before taxes (USD)
+     * @param qualifyingChildren        Number of qualifying children
+     * @param expectedCalculatedCredits Expected child tax credit (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "SINGLE, 80000, 2, 4400",
+            // 10 thousands above 200000 take 500 off
+            "SINGLE, 210000, 2, 3900",
+            // Part of a thousand counts as a whole one
+            "SINGLE, 210000.01, 2, 3850",
+            "MARRIED_FILING_JOINTLY, 300000, 3, 6600",
+            "MARRIED_FILING_JOINTLY, 410000, 1, 1700",
+            // Surviving spouses share the married-filing-jointly brackets, but not the phase-out threshold
+            "SURVIVING_SPOUSE, 410000, 1, 0",
+            "HEAD_OF_HOUSEHOLD, 500000, 3, 0",
+            "HEAD_OF_HOUSEHOLD, 60000, 0, 0"
+    })
+    public void calculateTaxes_qualifyingChildren_childTaxCreditApplied(FilingStatus filingStatus,
+                                                                       double grossIncome,
+                                                                       int qualifyingChildren,
+                                                                       double expectedCalculatedCredits) {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalCredits(500);
+        inputModel.setSelectedFilingStatus(filingStatus);
+
+        // Create an instance of the class under test backed by tax tables with credit rules
+        TaxCalculationService taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+        OutputModel withoutChildren = taxCalculationService.calculateTaxes(inputModel);
+        inputModel.setQualifyingChildren(qualifyingChildren);
+
+        // Call the method under test
+        OutputModel actualOutputModel = taxCalculationService.calculateTaxes(inputModel, false, true);
+
+        assertEquals(expectedCalculatedCredits, actualOutputModel.getCalculatedCredits());
+        assertEquals(0.0, withoutChildren.getCalculatedCredits());
+        assertEquals(withoutChildren.getFederalTaxOwed() - expectedCalculatedCredits,
+                actualOutputModel.getFederalTaxOwed(), 0.01);
+        assertEquals(500 + expectedCalculatedCredits, actualOutputModel.getExplanation().getTotalCredits());
+    }
+
+    /**
+     * Verifies that the credit a phase-out takes back from the next increment of income counts towards the tax on
+     * that increment.
+     */
+    @Test
+    public void calculateTaxes_childTaxCreditPhasingOut_takenFromNextIncrement() {
+
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setGrossIncome(250_000);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        TaxCalculationService taxCalculationService = new TaxCalculationService(TaxTableFixtures.createTaxTableService());
+        OutputModel withoutChildren = taxCalculationService.calculateTaxes(inputModel, true);
+        inputModel.setQualifyingChildren(3);
+
+        // Call the method under test
+        OutputModel actualOutputModel = taxCalculationService.calculateTaxes(inputModel, true);
+
+        // Another 1000 above 200000 takes another 50 off the credit
+        assertEquals(6600 - 2500, actualOutputModel.getCalculatedCredits());
+        assertEquals(withoutChildren.getTaxOnNextIncrement() + 50, actualOutputModel.getTaxOnNextIncrement(), 0.01);
+        assertEquals(withoutChildren.getTakeHomePayOnNextIncrement() - 50,
+                actualOutputModel.getTakeHomePayOnNextIncrement(), 0.01);
+    }
+
+    /**
+     * Verifies that one output model is returned per supported tax year, in descending tax year order, and that
+     * each one matches what a calculation for that single tax year returns.
+     *
+     * @param grossIncome     Income before taxes (USD)
+     * @param totalDeductions Total deductions (USD)
+     * @param filingStatus    Filing status
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "50000, 10000, SINGLE",
+            "60000, 20000, MARRIED_FILING_JOINTLY",
+            "250000, 0, HEAD_OF_HOUSEHOLD",
+            "10000, 5000, MARRIED_FILING_SEPARATELY"
+    })
+    public void calculateTaxesForAllYears_matchesSingleYearCalculations(double grossIncome,
+                                                                        double totalDeductions,
+                                                                        FilingStatus filingStatus) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an input model without a tax year that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setSelectedFilingStatus(filingStatus);
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+
+        // Call the method under test
+        List<OutputModel> actualOutputModels = taxCalculationService.calculateTaxesForAllYears(inputModel);
+
+        // Verify there is one output model per year, in descending order
+        assertEquals(List.of(2025, 2024), actualOutputModels.stream().map(OutputModel::getTaxYear).toList());
+
+        // Verify each output model matches the single-year calculation
+        for (OutputModel actualOutputModel : actualOutputModels) {
+            inputModel.setSelectedTaxYear(actualOutputModel.getTaxYear());
+            OutputModel expectedOutputModel = taxCalculationService.calculateTaxes(inputModel);
+            assertEquals(expectedOutputModel.getFederalTaxOwed(), actualOutputModel.getFederalTaxOwed());
+            assertEquals(expectedOutputModel.getMarginalTaxRate(), actualOutputModel.getMarginalTaxRate());
+            assertEquals(expectedOutputModel.getEffectiveTaxRate(), actualOutputModel.getEffectiveTaxRate());
+            assertEquals(expectedOutputModel.getTakeHomePay(), actualOutputModel.getTakeHomePay());
+        }
+
+        // Verify persistent storage was only queried once even though several calculations were made
+        verify(mockitoStandardDeductionRepository, times(1)).findAll();
+        verify(mockitoBracketRepository, times(1)).findAll();
+    }
+
+    /**
+     * Verifies that the compiled schedules produce exactly the same outputs as walking the brackets one by one
+     * with the per-bracket helper methods.
+     *
+     * @param taxYear      Tax year
+     * @param filingStatus Filing status
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2024, SINGLE",
+            "2024, MARRIED_FILING_JOINTLY",
+            "2024, SURVIVING_SPOUSE",
+            "2024, MARRIED_FILING_SEPARATELY",
+            "2024, HEAD_OF_HOUSEHOLD",
+            "2025, SINGLE",
+            "2025, MARRIED_FILING_JOINTLY",
+            "2025, SURVIVING_SPOUSE",
+            "2025, MARRIED_FILING_SEPARATELY",
+            "2025, HEAD_OF_HOUSEHOLD"
+    })
+    public void calculateTaxes_matchesBracketByBracketCalculation(int taxYear, FilingStatus filingStatus) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+        com.jack.tax.models.interfaces.TaxYearDetails taxYearDetails = taxCalculationService.getTaxYearDetails(taxYear);
+
+        Random random = new Random(taxYear * 31L + filingStatus.ordinal());
+        for (int i = 0; i < 2000; i++) {
+
+            // Use whole dollar incomes (so they never land inside the one dollar gaps between brackets)
+            // and cent-precision deductions and credits
+            InputModel inputModel = new com.jack.tax.models.InputModel();
+            inputModel.setSelectedTaxYear(taxYear);
+            inputModel.setSelectedFilingStatus(filingStatus);
+            inputModel.setGrossIncome(random.nextInt(1_000_000));
+            inputModel.setTotalDeductions(random.nextInt(5_000_000) / 100.0);
+            inputModel.setTotalCredits(random.nextInt(500_000) / 100.0);
+
+            // Compute the expected federal tax owed the long way
+            double taxableIncome = taxCalculationService.getTaxableIncome(
+                    inputModel, taxYearDetails.getStandardDeductionDetails());
+            int maxTaxBracketIndex = taxCalculationService.getMaxTaxBracketIndex(
+                    filingStatus, taxYearDetails.getBracketDetails(), taxableIncome);
+            double expectedFederalTaxOwed = 0.0;
+            for (int bracketIndex = 0; bracketIndex <= maxTaxBracketIndex; bracketIndex++) {
+                com.jack.tax.models.interfaces.BracketDetails bracketDetails =
+                        taxYearDetails.getBracketDetails().get(bracketIndex);
+                expectedFederalTaxOwed += taxCalculationService.getApplicableIncomeForBracket(
+                        filingStatus, bracketDetails, taxableIncome) * (bracketDetails.getTaxRate() / 100.0);
+            }
+            expectedFederalTaxOwed -= inputModel.getTotalCredits();
+
+            // Call the method under test
+            OutputModel actualOutputModel = taxCalculationService.calculateTaxes(inputModel);
+
+            // Check the outputs
+            assertEquals(Money.roundToCentsExactly(expectedFederalTaxOwed), actualOutputModel.getFederalTaxOwed());
+            assertEquals(taxYearDetails.getBracketDetails().get(maxTaxBracketIndex).getTaxRate(),
+                    actualOutputModel.getMarginalTaxRate());
+            assertEquals(Money.roundToCentsExactly(inputModel.getGrossIncome() - expectedFederalTaxOwed),
+                    actualOutputModel.getTakeHomePay());
+        }
+    }
+
+    /**
+     * Verifies that one calculation is returned per filing status and that the best calculation is the eligible
+     * one with the least federal tax owed.
+     *
+     * @param grossIncome            Income before taxes (USD)
+     * @param eligibleFilingStatuses Filing statuses the best one is picked from (empty means all)
+     * @param expectedBestStatus     Expected best filing status
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "80000, '', MARRIED_FILING_JOINTLY",
+            "80000, 'SINGLE;HEAD_OF_HOUSEHOLD', HEAD_OF_HOUSEHOLD",
+            "80000, 'MARRIED_FILING_SEPARATELY', MARRIED_FILING_SEPARATELY",
+            "10000, 'SINGLE;MARRIED_FILING_SEPARATELY', SINGLE"
+    })
+    public void compareFilingStatuses_returnsAllStatusesAndBestEligibleStatus(double grossIncome,
+                                                                              String eligibleFilingStatuses,
+                                                                              FilingStatus expectedBestStatus) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an input model that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2025);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+
+        // Call the method under test
+        List<FilingStatus> eligible = eligibleFilingStatuses.isEmpty() ? null : Arrays
+                .stream(eligibleFilingStatuses.split(";"))
+                .map(FilingStatus::valueOf)
+                .toList();
+        FilingStatusComparison comparison = taxCalculationService.compareFilingStatuses(inputModel, eligible);
+
+        // Verify there is one calculation per filing status, matching a calculation for that filing status
+        assertEquals(FilingStatus.values().length, comparison.getCalculations().size());
+        for (FilingStatusCalculation calculation : comparison.getCalculations()) {
+            inputModel.setSelectedFilingStatus(calculation.getFilingStatus());
+            OutputModel expectedOutputModel = taxCalculationService.calculateTaxes(inputModel);
+            assertEquals(expectedOutputModel.getFederalTaxOwed(), calculation.getOutputModel().getFederalTaxOwed());
+            assertEquals(expectedOutputModel.getTakeHomePay(), calculation.getOutputModel().getTakeHomePay());
+            assertEquals(expectedOutputModel.getCalculatedCredits(), calculation.getOutputModel().getCalculatedCredits());
+
+            // The output model is rounded once, on the first read
+            assertSame(calculation.getOutputModel(), calculation.getOutputModel());
+        }
+
+        // Verify the best filing status
+        assertEquals(expectedBestStatus, comparison.getBestCalculation().getFilingStatus());
+    }
+
+    /**
+     * Verifies that the marginal sensitivity fields are populated only when requested, and hold the expected values.
+     *
+     * @param grossIncome                         Income before taxes (USD)
+     * @param expectedDistanceToNextThreshold     Expected distance to the next threshold (USD), empty if none
+     * @param expectedDistanceToPreviousThreshold Expected distance to the previous threshold (USD)
+     * @param expectedTaxOnNextIncrement          Expected tax on the next $1,000 (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "50000, 11750, 23799, 120",
+            "61000, 750, 34799, 144.78",
+            "10000, 16200, 0, 0",
+            "700000, , 76049, 370"
+    })
+    public void calculateTaxes_withMarginalSensitivity_returnsExpectedSensitivity(double grossIncome,
+                                                                                  Double expectedDistanceToNextThreshold,
+                                                                                  double expectedDistanceToPreviousThreshold,
+                                                                                  double expectedTaxOnNextIncrement) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an input model that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2024);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+
+        // Call the method under test, with and without the marginal sensitivity
+        OutputModel outputModel = taxCalculationService.calculateTaxes(inputModel, true);
+        OutputModel defaultOutputModel = taxCalculationService.calculateTaxes(inputModel);
+
+        // Verify the marginal sensitivity
+        assertEquals(expectedDistanceToNextThreshold, outputModel.getDistanceToNextThreshold());
+        assertEquals(expectedDistanceToPreviousThreshold, outputModel.getDistanceToPreviousThreshold());
+        assertEquals(expectedTaxOnNextIncrement, outputModel.getTaxOnNextIncrement());
+        assertEquals(Money.roundToCents(1000 - expectedTaxOnNextIncrement), outputModel.getTakeHomePayOnNextIncrement());
+
+        // Verify the regular outputs are unchanged, and the sensitivity is left out unless requested
+        assertEquals(defaultOutputModel.getFederalTaxOwed(), outputModel.getFederalTaxOwed());
+        assertEquals(defaultOutputModel.getMarginalTaxRate(), outputModel.getMarginalTaxRate());
+        assertNull(defaultOutputModel.getDistanceToNextThreshold());
+        assertNull(defaultOutputModel.getTaxOnNextIncrement());
+    }
+
+    /**
+     * Verifies that the explanation traces the deduction regime and the income and tax in each bracket, agreeing
+     * with the bracket-by-bracket calculation, and that it is only built when requested.
+     *
+     * @param filingStatus          Filing status
+     * @param grossIncome           Income before taxes (USD)
+     * @param totalDeductions       Total itemized deductions (USD)
+     * @param expectedRegime        Expected deduction regime
+     * @param expectedBracketCount  Expected number of brackets in the explanation
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "SINGLE, 50000, 0, STANDARD, 2",
+            "SINGLE, 30000, 20000, ITEMIZED, 1",
+            "MARRIED_FILING_JOINTLY, 850000, 40000, ITEMIZED, 7",
+            "HEAD_OF_HOUSEHOLD, 20000, 21900, STANDARD, 1",
+            "MARRIED_FILING_SEPARATELY, 100000, 14600, STANDARD, 3"
+    })
+    public void calculateTaxes_withExplain_tracesBrackets(FilingStatus filingStatus,
+                                                          double grossIncome,
+                                                          double totalDeductions,
+                                                          DeductionRegime expectedRegime,
+                                                          int expectedBracketCount) {
+
+        // Mock the behavior of the standard deductions repository
+        when(mockitoStandardDeductionRepository.findAll())
+                .thenReturn(createMockedStandardDeductionDetails());
+
+        // Mock the behavior of the bracket details repository
+        when(mockitoBracketRepository.findAll())
+                .thenReturn(createMockedBracketDetails());
+
+        // Create an input model that will be provided as an input to the method under test
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedTaxYear(2024);
+        inputModel.setGrossIncome(grossIncome);
+        inputModel.setTotalDeductions(totalDeductions);
+        inputModel.setTotalCredits(1000);
+        inputModel.setSelectedFilingStatus(filingStatus);
+
+        // Create an instance of the class under test
+        TaxCalculationService taxCalculationService = createTaxCalculationServiceWithMockedDependencies();
+
+        // Call the method under test, with and without the explanation
+        OutputModel outputModel = taxCalculationService.calculateTaxes(inputModel, false, true);
+        assertNull(taxCalculationService.calculateTaxes(inputModel).getExplanation());
+
+        // Verify the deduction regime and taxable income
+        CalculationExplanation explanation = outputModel.getExplanation();
+        com.jack.tax.models.interfaces.TaxYearDetails taxYearDetails = taxCalculationService.getTaxYearDetails(2024);
+        double expectedTaxableIncome = taxCalculationService.getTaxableIncome(
+                inputModel, taxYearDetails.getStandardDeductionDetails());
+        assertEquals(expectedRegime, explanation.getDeductionRegime());
+        assertEquals(expectedTaxableIncome, explanation.getTaxableIncome());
+        assertEquals(grossIncome, explanation.getGrossIncome());
+
+        // Verify each bracket matches the bracket-by-bracket calculation, and the bracket taxes add up
+        assertEquals(expectedBracketCount, explanation.getBrackets().size());
+        double totalBracketTax = 0.0;
+        for (int bracketIndex = 0; bracketIndex < expectedBracketCount; bracketIndex++) {
+            BracketExplanation bracket = explanation.getBrackets().get(bracketIndex);
+            com.jack.tax.models.interfaces.BracketDetails bracketDetails = taxYearDetails.getBracketDetails().get(bracketIndex);
+            assertEquals(bracketDetails.getTaxRate(), bracket.getTaxRate());
+            assertEquals(taxCalculationService.getApplicableIncomeForBracket(filingStatus, bracketDetails, expectedTaxableIncome),
+                    bracket.getApplicableIncome(), 0.005);
+            totalBracketTax += bracket.getTax();
+        }
+        assertEquals(explanation.getIncomeTaxBeforeCredits(), totalBracketTax, 0.005 * expectedBracketCount);
+        assertEquals(outputModel.getFederalTaxOwed(),
+                Money.roundToCents(explanation.getIncomeTaxBeforeCredits() - explanation.getTotalCredits()), 0.011);
+    }
+
     /**
      * Supplies the expected tax years, derived directly from the mocked standard deduction details.
      */
@@ -581,6 +1172,14 @@ public class TaxCalculationServiceTests {
         details2024.setMfj(29200);
         details2024.setMfs(14600);
         details2024.setHoh(21900);
+        details2024.setSocialSecurityTaxRate(6.2);
+        details2024.setSocialSecurityWageBase(168600);
+        details2024.setMedicareTaxRate(1.45);
+        details2024.setAdditionalMedicareTaxRate(0.9);
+        details2024.setAdditionalMedicareThresholdSingle(200000);
+        details2024.setAdditionalMedicareThresholdMfj(250000);
+        details2024.setAdditionalMedicareThresholdMfs(125000);
+        details2024.setAdditionalMedicareThresholdHoh(200000);
 
         StandardDeductionDetails details2025 = new StandardDeductionDetails();
         details2025.setTaxYear(2025);
@@ -588,6 +1187,14 @@ public class TaxCalculationServiceTests {
         details2025.setMfj(31500);
         details2025.setMfs(15750);
         details2025.setHoh(23625);
+        details2025.setSocialSecurityTaxRate(6.2);
+        details2025.setSocialSecurityWageBase(176100);
+        details2025.setMedicareTaxRate(1.45);
+        details2025.setAdditionalMedicareTaxRate(0.9);
+        details2025.setAdditionalMedicareThresholdSingle(200000);
+        details2025.setAdditionalMedicareThresholdMfj(250000);
+        details2025.setAdditionalMedicareThresholdMfs(125000);
+        details2025.setAdditionalMedicareThresholdHoh(200000);
 
         return List.of(details2024, details2025);
     }
@@ -807,6 +1414,8 @@ public class TaxCalculationServiceTests {
      */
     private TaxCalculationService createTaxCalculationServiceWithMockedDependencies() {
 
-        return new TaxCalculationService(mockitoStandardDeductionRepository, mockitoBracketRepository);
+        return new TaxCalculationService(
+                new TaxTableService(mockitoStandardDeductionRepository, mockitoBracketRepository,
+                        mockitoCapitalGainsBracketRepository, mockitoCreditRuleRepository, List.of(), false, 0));
     }
 }
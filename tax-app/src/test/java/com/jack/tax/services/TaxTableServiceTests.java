@@ -0,0 +1,288 @@
+package com.jack.tax.services;
+
+import com.jack.tax.TaxTableFixtures;
+import com.jack.tax.engine.CompiledTaxSchedule;
+import com.jack.tax.engine.CompiledTaxYear;
+import com.jack.tax.engine.CreditRules;
+import com.jack.tax.engine.TaxEngine;
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.BracketDetails;
+import com.jack.tax.models.interfaces.CapitalGainsBracketDetails;
+import com.jack.tax.models.interfaces.InputModel;
+import com.jack.tax.models.interfaces.OutputModel;
+import com.jack.tax.models.interfaces.StandardDeductionDetails;
+import com.jack.tax.models.interfaces.TaxYearDetails;
+import com.jack.tax.repositories.BracketRepository;
+import com.jack.tax.repositories.CapitalGainsBracketRepository;
+import com.jack.tax.repositories.CreditRuleRepository;
+import com.jack.tax.repositories.StandardDeductionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the Tax Table Service
+ */
+public class TaxTableServiceTests {
+
+    /**
+     * Provides the 2024 and 2025 tax tables, projected to 2026 and 2027 by 2.5% and 3% CPI inflation
+     */
+    private final TaxTableService taxTableService = TaxTableFixtures.createTaxTableService(List.of(2.5, 3.0));
+
+    /**
+     * Verifies that the projected years are supported and flagged, and that the stored years are not.
+     */
+    @Test
+    public void getSupportedTaxYears_includesProjectedYears() {
+
+        assertEquals(List.of(2027, 2026, 2025, 2024), taxTableService.getSupportedTaxYears());
+        assertEquals(List.of(2027, 2026), taxTableService.getProjectedTaxYears());
+        assertTrue(taxTableService.getTaxYearDetails(2026).isProjected());
+        assertFalse(taxTableService.getTaxYearDetails(2025).isProjected());
+    }
+
+    /**
+     * Verifies that projected standard deductions and bracket thresholds are the 2025 amounts indexed by the
+     * cumulative CPI factor and rounded down to a multiple of $50, with each min income one dollar above the
+     * max income of the bracket below as stored.
+     *
+     * @param taxYear                 Projected tax year
+     * @param taxRate                 Tax rate of the bracket to check
+     * @param standardDeductionSingle Expected single standard deduction (USD)
+     * @param minIncomeSingle         Expected single min income (USD)
+     * @param maxIncomeSingle         Expected single max income (USD)
+     * @param maxIncomeMFJ            Expected married-filing-jointly max income (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // 15750 * 1.025 = 16143.75, 48475 * 1.025 = 49686.875, 96950 * 1.025 = 99373.75
+            "2026, 12, 16100, 12201, 49650, 99350",
+            // 15750 * 1.05575 = 16628.06, 11925 * 1.05575 = 12589.82, 48475 * 1.05575 = 51177.48
+            "2027, 12, 16600, 12551, 51150, 102350",
+            // 626350 * 1.025 = 642008.75 below an unbounded max income
+            "2026, 37, 16100, 642001, 2147483647, 2147483647"
+    })
+    public void getTaxYearDetails_projectedYear_indexedAndRounded(int taxYear,
+                                                                  int taxRate,
+                                                                  int standardDeductionSingle,
+                                                                  int minIncomeSingle,
+                                                                  int maxIncomeSingle,
+                                                                  int maxIncomeMFJ) {
+
+        // Call the method under test
+        TaxYearDetails taxYearDetails = taxTableService.getTaxYearDetails(taxYear);
+
+        BracketDetails bracketDetails = taxYearDetails.getBracketDetails().stream()
+                .filter(details -> details.getTaxRate() == taxRate)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(taxYear, taxYearDetails.getTaxYear());
+        assertEquals(taxYear, bracketDetails.getTaxYear());
+        assertEquals(standardDeductionSingle, taxYearDetails.getStandardDeductionDetails().getSingle());
+        assertEquals(minIncomeSingle, bracketDetails.getMinIncomeSingle());
+        assertEquals(maxIncomeSingle, bracketDetails.getMaxIncomeSingle());
+        assertEquals(maxIncomeMFJ, bracketDetails.getMaxIncomeMFJ());
+    }
+
+    /**
+     * Verifies that a projected Social Security wage base is indexed and rounded down to a multiple of $300, and
+     * that the statutory payroll tax rates and thresholds are carried over.
+     */
+    @Test
+    public void getTaxYearDetails_projectedYear_payrollTaxParameters() {
+
+        StandardDeductionDetails projected = taxTableService.getTaxYearDetails(2026).getStandardDeductionDetails();
+
+        // 176100 * 1.025 = 180502.50
+        assertEquals(180_300, projected.getSocialSecurityWageBase());
+        assertEquals(6.2, projected.getSocialSecurityTaxRate());
+        assertEquals(1.45, projected.getMedicareTaxRate());
+        assertEquals(0.9, projected.getAdditionalMedicareTaxRate());
+        assertEquals(250_000, projected.getAdditionalMedicareThresholdMfj());
+    }
+
+    /**
+     * Verifies that projected capital gains brackets are indexed and rounded the same way as the ordinary brackets.
+     */
+    @Test
+    public void getTaxYearDetails_projectedYear_capitalGainsBrackets() {
+
+        List<CapitalGainsBracketDetails> projected = taxTableService.getTaxYearDetails(2026).getCapitalGainsBracketDetails();
+
+        // 48350 * 1.025 = 49558.75, 96700 * 1.025 = 99117.50, 533400 * 1.025 = 546735
+        assertEquals(List.of(0, 15, 20), projected.stream().map(CapitalGainsBracketDetails::getTaxRate).toList());
+        assertEquals(2026, projected.get(0).getTaxYear());
+        assertEquals(49_550, projected.get(0).getMaxIncomeSingle());
+        assertEquals(99_100, projected.get(0).getMaxIncomeMFJ());
+        assertEquals(49_551, projected.get(1).getMinIncomeSingle());
+        assertEquals(546_700, projected.get(1).getMaxIncomeSingle());
+        assertEquals(Integer.MAX_VALUE, projected.get(2).getMaxIncomeSingle());
+    }
+
+    /**
+     * Verifies that credit rules are carried over to the projected years as they are, and compiled into every
+     * schedule, surviving spouses getting rules of their own since the child tax credit tells them apart from
+     * joint filers.
+     */
+    @Test
+    public void getCompiledTaxYear_creditRulesCompiledPerFilingStatus() {
+
+        assertEquals(taxTableService.getTaxYearDetails(2025).getCreditRuleDetails(),
+                taxTableService.getTaxYearDetails(2026).getCreditRuleDetails());
+
+        CompiledTaxYear compiledTaxYear = taxTableService.getCompiledTaxYear(2026);
+        CreditRules marriedFilingJointly = compiledTaxYear.getSchedule(FilingStatus.MARRIED_FILING_JOINTLY).getCreditRules();
+        CreditRules survivingSpouse = compiledTaxYear.getSchedule(FilingStatus.SURVIVING_SPOUSE).getCreditRules();
+        assertEquals(1, marriedFilingJointly.getRuleCount());
+        assertEquals("Child tax credit", marriedFilingJointly.getName(0));
+        assertEquals(2200.0, marriedFilingJointly.evaluate(300_000, 0, 1));
+        assertEquals(0.0, survivingSpouse.evaluate(300_000, 0, 1));
+
+        // So with a qualifying child, joint filers owe the credit less than surviving spouses on the same income
+        CompiledTaxSchedule marriedFilingJointlySchedule = compiledTaxYear.getSchedule(FilingStatus.MARRIED_FILING_JOINTLY);
+        CompiledTaxSchedule survivingSpouseSchedule = compiledTaxYear.getSchedule(FilingStatus.SURVIVING_SPOUSE);
+        double marriedFilingJointlyTaxOwed = TaxEngine.federalTaxOwed(marriedFilingJointlySchedule, 300_000, 0,
+                marriedFilingJointly.evaluate(300_000, 0, 1));
+        double survivingSpouseTaxOwed = TaxEngine.federalTaxOwed(survivingSpouseSchedule, 300_000, 0,
+                survivingSpouse.evaluate(300_000, 0, 1));
+        assertEquals(survivingSpouseTaxOwed - 2200.0, marriedFilingJointlyTaxOwed, 0.001);
+    }
+
+    /**
+     * Verifies that a credit rule that does not parse fails the load of the tax tables, naming the tax year and
+     * the problem.
+     */
+    @Test
+    public void getCompiledTaxYear_invalidCreditRule_throws() {
+
+        com.jack.tax.models.CreditRuleDetails creditRule = new com.jack.tax.models.CreditRuleDetails();
+        creditRule.setTaxYear(2025);
+        creditRule.setName("Broken credit");
+        creditRule.setExpression("2200 * qualifyingChildren -");
+        com.jack.tax.models.StandardDeductionDetails standardDeductionDetails = new com.jack.tax.models.StandardDeductionDetails();
+        standardDeductionDetails.setTaxYear(2025);
+        com.jack.tax.models.TaxYearDetails taxYearDetails = new com.jack.tax.models.TaxYearDetails();
+        taxYearDetails.setTaxYear(2025);
+        taxYearDetails.setStandardDeductionDetails(standardDeductionDetails);
+        taxYearDetails.setBracketDetails(taxTableService.getTaxYearDetails(2025).getBracketDetails());
+        taxYearDetails.setCreditRuleDetails(List.of(creditRule));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> TaxTableService.compileTaxYear(taxYearDetails));
+
+        assertEquals("Could not load the credit rules for tax year 2025", exception.getMessage());
+        assertEquals("Credit rule 'Broken credit' is invalid at position 28: Expected a number, a name or '('",
+                exception.getCause().getMessage());
+    }
+
+    /**
+     * Verifies that the projections are derived once and cached with the stored years until the tables are
+     * refreshed.
+     */
+    @Test
+    public void getTaxYearDetails_projectedYear_cached() {
+
+        TaxYearDetails taxYearDetails = taxTableService.getTaxYearDetails(2027);
+
+        assertSame(taxYearDetails, taxTableService.getTaxYearDetails(2027));
+        assertSame(taxTableService.getCompiledTaxYear(2027), taxTableService.getCompiledTaxYear(2027));
+
+        taxTableService.refresh();
+        assertEquals(taxYearDetails, taxTableService.getTaxYearDetails(2027));
+    }
+
+    /**
+     * Verifies that calculations for projected years are flagged as projected.
+     */
+    @Test
+    public void calculateTaxes_projectedYear_flagged() {
+
+        TaxCalculationService taxCalculationService = new TaxCalculationService(taxTableService);
+        InputModel inputModel = new com.jack.tax.models.InputModel();
+        inputModel.setSelectedFilingStatus(FilingStatus.SINGLE);
+        inputModel.setGrossIncome(80_000);
+
+        inputModel.setSelectedTaxYear(2026);
+        OutputModel projected = taxCalculationService.calculateTaxes(inputModel);
+        inputModel.setSelectedTaxYear(2025);
+        OutputModel stored = taxCalculationService.calculateTaxes(inputModel);
+
+        assertTrue(projected.isProjected());
+        assertFalse(stored.isProjected());
+        assertTrue(projected.getFederalTaxOwed() < stored.getFederalTaxOwed());
+    }
+
+    /**
+     * Verifies that the cached tables are reloaded once they are older than the refresh interval, and that a
+     * failed reload keeps serving the loaded tables until the next interval.
+     */
+    @Test
+    public void getSupportedTaxYears_refreshInterval_reloadsStaleTables() {
+
+        TaxTableService.Snapshot bothYears = TaxTableFixtures.createTaxTableService().loadSnapshot();
+        TaxTableService.Snapshot onlyLatestYear = new TaxTableService.Snapshot(
+                bothYears.standardDeductions().stream().filter(details -> details.getTaxYear() == 2025).toList(),
+                bothYears.brackets().stream().filter(details -> details.getTaxYear() == 2025).toList(),
+                bothYears.capitalGainsBrackets().stream().filter(details -> details.getTaxYear() == 2025).toList(),
+                bothYears.creditRules().stream().filter(details -> details.getTaxYear() == 2025).toList());
+
+        AtomicReference<TaxTableService.Snapshot> storedTables = new AtomicReference<>(onlyLatestYear);
+        AtomicInteger loadCount = new AtomicInteger();
+        AtomicLong nanoClock = new AtomicLong();
+        TaxTableService refreshingService = new TaxTableService(() -> {
+            loadCount.incrementAndGet();
+            TaxTableService.Snapshot snapshot = storedTables.get();
+            if (snapshot == null) {
+                throw new IllegalStateException("Storage is unavailable");
+            }
+            return snapshot;
+        }, List.of(), false, 1_000, nanoClock::get);
+
+        assertEquals(List.of(2025), refreshingService.getSupportedTaxYears());
+
+        // Tables edited in storage are served once the cached ones are stale
+        storedTables.set(bothYears);
+        nanoClock.set(999);
+        assertEquals(List.of(2025), refreshingService.getSupportedTaxYears());
+        nanoClock.set(1_000);
+        assertEquals(List.of(2025, 2024), refreshingService.getSupportedTaxYears());
+        assertEquals(2, loadCount.get());
+
+        // A failed reload keeps the loaded tables and is only retried after another interval
+        storedTables.set(null);
+        nanoClock.set(2_000);
+        assertEquals(List.of(2025, 2024), refreshingService.getSupportedTaxYears());
+        nanoClock.set(2_999);
+        assertEquals(List.of(2025, 2024), refreshingService.getSupportedTaxYears());
+        assertEquals(3, loadCount.get());
+
+        storedTables.set(onlyLatestYear);
+        nanoClock.set(3_000);
+        assertEquals(List.of(2025), refreshingService.getSupportedTaxYears());
+        assertEquals(4, loadCount.get());
+    }
+
+    /**
+     * Verifies that CPI rates that would make amounts zero or negative are rejected.
+     */
+    @Test
+    public void constructor_invalidCpiRate_throws() {
+
+        assertThrows(IllegalArgumentException.class, () -> new TaxTableService(
+                mock(StandardDeductionRepository.class), mock(BracketRepository.class),
+                mock(CapitalGainsBracketRepository.class), mock(CreditRuleRepository.class), List.of(2.0, -100.0), false, 0));
+    }
+}
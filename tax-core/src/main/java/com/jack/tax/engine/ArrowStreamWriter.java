@@ -0,0 +1,615 @@
+package com.jack.tax.engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Writes typed columns in the Apache Arrow IPC streaming format (a schema message, record batch messages, then the
+ * end-of-stream marker), e.g. for analytics tools that read Arrow instead of JSON.  Column values are read through
+ * primitive accessors, typically method references to the engine's result arrays, and copied straight into the
+ * little-endian body of each record batch, so writing allocates no object per row.
+ *
+ * <p>Only what the calculation results need is supported: non-nullable signed 32-bit integer, 64-bit floating
+ * point and UTF-8 string columns, with no dictionaries, compression or custom metadata.  The flatbuffer metadata
+ * of each message (see Arrow's Schema.fbs and Message.fbs) is written by hand, so the app needs no Arrow library.
+ */
+public final class ArrowStreamWriter {
+
+    /**
+     * Media type of the Arrow IPC streaming format
+     */
+    public static final String MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+
+    /**
+     * Default number of rows per record batch
+     */
+    public static final int DEFAULT_BATCH_ROW_COUNT = 1 << 16;
+
+    /**
+     * Marks the start of every message
+     */
+    private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+    /**
+     * Metadata version V5
+     */
+    private static final short METADATA_VERSION = 4;
+
+    /**
+     * Message header types (MessageHeader union)
+     */
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    /**
+     * Column types (Type union)
+     */
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_FLOATING_POINT = 3;
+    private static final byte TYPE_UTF8 = 5;
+
+    /**
+     * Floating point precision DOUBLE
+     */
+    private static final short PRECISION_DOUBLE = 2;
+
+    /**
+     * Typed column of a stream, whose values are read by row index
+     */
+    public sealed interface Column permits IntColumn, DoubleColumn, StringColumn {
+
+        /**
+         * Returns the column name.
+         */
+        String name();
+    }
+
+    /**
+     * Signed 32-bit integer column
+     *
+     * @param name   Column name
+     * @param values Returns the value of a row
+     */
+    public record IntColumn(String name, IntUnaryOperator values) implements Column {
+    }
+
+    /**
+     * 64-bit floating point column
+     *
+     * @param name   Column name
+     * @param values Returns the value of a row
+     */
+    public record DoubleColumn(String name, IntToDoubleFunction values) implements Column {
+    }
+
+    /**
+     * UTF-8 string column, typically of a few distinct values encoded once up front
+     *
+     * @param name   Column name
+     * @param values Returns the UTF-8 bytes of a row's value, which are not modified
+     */
+    public record StringColumn(String name, IntFunction<byte[]> values) implements Column {
+    }
+
+    /**
+     * Receives the stream
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * Columns of every record batch
+     */
+    private final List<Column> columns;
+
+    /**
+     * Holds the body of the record batch being written, reused across batches
+     */
+    private ByteBuffer body = ByteBuffer.allocate(0);
+
+    /**
+     * True once the schema message has been written
+     */
+    private boolean schemaWritten;
+
+    /**
+     * Creates a writer of the given columns.  Nothing is written until the first batch or {@link #finish()}.
+     *
+     * @param outputStream Receives the stream; buffered by the caller if needed, and not closed
+     * @param columns      Columns of every record batch
+     */
+    public ArrowStreamWriter(OutputStream outputStream, List<Column> columns) {
+
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("An Arrow stream must have at least one column");
+        }
+
+        this.outputStream = outputStream;
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Writes the given rows in record batches of up to the given number of rows each, then ends the stream.
+     *
+     * @param outputStream  Receives the stream
+     * @param columns       Columns of every record batch
+     * @param rowCount      Number of rows, read from row index 0
+     * @param batchRowCount Max number of rows per record batch
+     * @throws IOException If writing fails
+     */
+    public static void write(OutputStream outputStream, List<Column> columns, int rowCount, int batchRowCount)
+            throws IOException {
+
+        ArrowStreamWriter writer = new ArrowStreamWriter(outputStream, columns);
+        for (int firstRow = 0; firstRow < rowCount; firstRow += batchRowCount) {
+            writer.writeBatch(firstRow, Math.min(batchRowCount, rowCount - firstRow));
+        }
+        writer.finish();
+    }
+
+    /**
+     * Writes a record batch of the given rows, preceded by the schema if this is the first batch.
+     *
+     * @param firstRow Index of the batch's first row, passed to the column accessors
+     * @param rowCount Number of rows in the batch
+     * @throws IOException If writing fails
+     */
+    public void writeBatch(int firstRow, int rowCount) throws IOException {
+
+        writeSchemaOnce();
+
+        // Lay out the body: an empty validity buffer (no nulls) then the value buffers of each column
+        int bufferCount = 0;
+        long bodyLength = 0;
+        long[] bufferLengths = new long[3 * columns.size()];
+        for (Column column : columns) {
+            bufferLengths[bufferCount++] = 0;
+            switch (column) {
+                case IntColumn intColumn -> bufferLengths[bufferCount++] = 4L * rowCount;
+                case DoubleColumn doubleColumn -> bufferLengths[bufferCount++] = 8L * rowCount;
+                case StringColumn stringColumn -> {
+                    long dataLength = 0;
+                    for (int rowIndex = firstRow; rowIndex < firstRow + rowCount; rowIndex++) {
+                        dataLength += stringColumn.values().apply(rowIndex).length;
+                    }
+                    bufferLengths[bufferCount++] = 4L * (rowCount + 1);
+                    bufferLengths[bufferCount++] = dataLength;
+                }
+            }
+        }
+        for (int bufferIndex = 0; bufferIndex < bufferCount; bufferIndex++) {
+            bodyLength += align(bufferLengths[bufferIndex], 8);
+        }
+        if (bodyLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Arrow record batch of " + rowCount + " rows is too large");
+        }
+
+        // Write the record batch metadata: the row count, a node per column and the offset and length of every buffer
+        FlatBuffer metadata = new FlatBuffer();
+        Table message = writeMessageTable(metadata, HEADER_RECORD_BATCH, bodyLength);
+        Table recordBatch = new Table(3).addLong(0, rowCount).addOffset(1).addOffset(2);
+        message.patchOffset(metadata, 2, recordBatch.write(metadata));
+        recordBatch.patchOffset(metadata, 1, metadata.startStructVector(columns.size()));
+        for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+            metadata.putLong(rowCount);
+            metadata.putLong(0);
+        }
+        recordBatch.patchOffset(metadata, 2, metadata.startStructVector(bufferCount));
+        long bufferOffset = 0;
+        for (int bufferIndex = 0; bufferIndex < bufferCount; bufferIndex++) {
+            metadata.putLong(bufferOffset);
+            metadata.putLong(bufferLengths[bufferIndex]);
+            bufferOffset += align(bufferLengths[bufferIndex], 8);
+        }
+
+        // Copy the values straight from the accessors into the body
+        if (body.capacity() < bodyLength) {
+            body = ByteBuffer.allocate((int) bodyLength).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        body.clear();
+        for (Column column : columns) {
+            switch (column) {
+                case IntColumn intColumn -> {
+                    for (int rowIndex = firstRow; rowIndex < firstRow + rowCount; rowIndex++) {
+                        body.putInt(intColumn.values().applyAsInt(rowIndex));
+                    }
+                }
+                case DoubleColumn doubleColumn -> {
+                    for (int rowIndex = firstRow; rowIndex < firstRow + rowCount; rowIndex++) {
+                        body.putDouble(doubleColumn.values().applyAsDouble(rowIndex));
+                    }
+                }
+                case StringColumn stringColumn -> {
+                    int dataOffset = 0;
+                    body.putInt(dataOffset);
+                    for (int rowIndex = firstRow; rowIndex < firstRow + rowCount; rowIndex++) {
+                        dataOffset += stringColumn.values().apply(rowIndex).length;
+                        body.putInt(dataOffset);
+                    }
+                    padBody();
+                    for (int rowIndex = firstRow; rowIndex < firstRow + rowCount; rowIndex++) {
+                        body.put(stringColumn.values().apply(rowIndex));
+                    }
+                }
+            }
+            padBody();
+        }
+
+        writeMessage(metadata);
+        outputStream.write(body.array(), 0, body.position());
+    }
+
+    /**
+     * Ends the stream, writing the schema first if no batch was written, and flushes it.
+     *
+     * @throws IOException If writing fails
+     */
+    public void finish() throws IOException {
+
+        writeSchemaOnce();
+
+        // A continuation marker followed by an empty message
+        ByteBuffer endOfStream = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        endOfStream.putInt(CONTINUATION_MARKER).putInt(0);
+        outputStream.write(endOfStream.array());
+        outputStream.flush();
+    }
+
+    /**
+     * Writes the schema message unless it has already been written.
+     *
+     * @throws IOException If writing fails
+     */
+    private void writeSchemaOnce() throws IOException {
+
+        if (schemaWritten) {
+            return;
+        }
+
+        FlatBuffer metadata = new FlatBuffer();
+        Table message = writeMessageTable(metadata, HEADER_SCHEMA, 0);
+
+        // Little-endian is the default, so the schema only needs its fields
+        Table schema = new Table(2).addOffset(1);
+        message.patchOffset(metadata, 2, schema.write(metadata));
+        int fieldVector = metadata.startOffsetVector(columns.size());
+        schema.patchOffset(metadata, 1, fieldVector);
+
+        for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+            Column column = columns.get(columnIndex);
+            byte typeType = switch (column) {
+                case IntColumn intColumn -> TYPE_INT;
+                case DoubleColumn doubleColumn -> TYPE_FLOATING_POINT;
+                case StringColumn stringColumn -> TYPE_UTF8;
+            };
+
+            // name, nullable, type (union of a type tag and a table), dictionary, children
+            Table field = new Table(6).addOffset(0).addByte(1, 0).addByte(2, typeType).addOffset(3).addOffset(5);
+            metadata.patchOffset(fieldVector + 4 + 4 * columnIndex, field.write(metadata));
+            field.patchOffset(metadata, 0, metadata.putString(column.name()));
+            Table type = switch (column) {
+                case IntColumn intColumn -> new Table(2).addInt(0, 32).addByte(1, 1);
+                case DoubleColumn doubleColumn -> new Table(1).addShort(0, PRECISION_DOUBLE);
+                case StringColumn stringColumn -> new Table(0);
+            };
+            field.patchOffset(metadata, 3, type.write(metadata));
+
+            // Readers expect the children even when there are none
+            field.patchOffset(metadata, 5, metadata.startOffsetVector(0));
+        }
+
+        writeMessage(metadata);
+        schemaWritten = true;
+    }
+
+    /**
+     * Starts the given flatbuffer with a Message table, whose header offset (field 2) is patched by the caller.
+     *
+     * @param metadata   Empty flatbuffer
+     * @param headerType Type of the message header
+     * @param bodyLength Length (bytes) of the message body
+     */
+    private static Table writeMessageTable(FlatBuffer metadata, byte headerType, long bodyLength) {
+
+        // The root offset, then version, header (union of a type tag and a table) and body length
+        int root = metadata.putOffsetPlaceholder();
+        Table message = new Table(4).addShort(0, METADATA_VERSION).addByte(1, headerType).addOffset(2)
+                .addLong(3, bodyLength);
+        metadata.patchOffset(root, message.write(metadata));
+
+        return message;
+    }
+
+    /**
+     * Writes an encapsulated message's prefix and metadata, padded so that the body that follows is 8-byte aligned.
+     *
+     * @param metadata Flatbuffer Message
+     * @throws IOException If writing fails
+     */
+    private void writeMessage(FlatBuffer metadata) throws IOException {
+
+        metadata.align(8);
+        ByteBuffer prefix = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        prefix.putInt(CONTINUATION_MARKER).putInt(metadata.position());
+        outputStream.write(prefix.array());
+        outputStream.write(metadata.array(), 0, metadata.position());
+    }
+
+    /**
+     * Pads the body with zeros to the next multiple of 8 bytes.
+     */
+    private void padBody() {
+        while (body.position() % 8 != 0) {
+            body.put((byte) 0);
+        }
+    }
+
+    /**
+     * Returns the given length rounded up to a multiple of the given alignment.
+     *
+     * @param length    Length (bytes)
+     * @param alignment Power of 2
+     */
+    private static long align(long length, int alignment) {
+        return (length + alignment - 1) & -alignment;
+    }
+
+    /**
+     * Little-endian flatbuffer written front to back: every table is written before the strings, vectors and
+     * tables it refers to, and its offsets are patched once those are written, so every offset points forward.
+     */
+    private static final class FlatBuffer {
+
+        /**
+         * Bytes written so far
+         */
+        private ByteBuffer bytes = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+
+        int position() {
+            return bytes.position();
+        }
+
+        byte[] array() {
+            return bytes.array();
+        }
+
+        void align(int alignment) {
+            while (bytes.position() % alignment != 0) {
+                putByte(0);
+            }
+        }
+
+        void putByte(int value) {
+            ensureCapacity(1);
+            bytes.put((byte) value);
+        }
+
+        void putShort(int value) {
+            ensureCapacity(2);
+            bytes.putShort((short) value);
+        }
+
+        void putInt(int value) {
+            ensureCapacity(4);
+            bytes.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensureCapacity(8);
+            bytes.putLong(value);
+        }
+
+        /**
+         * Writes a placeholder for an offset and returns its position.
+         */
+        int putOffsetPlaceholder() {
+            align(4);
+            int position = bytes.position();
+            putInt(0);
+            return position;
+        }
+
+        /**
+         * Points the offset at the given position to the given target, which must come after it.
+         *
+         * @param position Position of the offset
+         * @param target   Position of the string, vector or table
+         */
+        void patchOffset(int position, int target) {
+            bytes.putInt(position, target - position);
+        }
+
+        /**
+         * Writes a string (length, UTF-8 bytes and a terminating zero) and returns its position.
+         *
+         * @param value String to write
+         */
+        int putString(String value) {
+
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            align(4);
+            int position = bytes.position();
+            putInt(utf8.length);
+            ensureCapacity(utf8.length + 1);
+            bytes.put(utf8).put((byte) 0);
+
+            return position;
+        }
+
+        /**
+         * Writes the length and placeholder offsets of a vector of tables, and returns its position.  The offset
+         * of element i is at the returned position plus 4 + 4i.
+         *
+         * @param length Number of elements
+         */
+        int startOffsetVector(int length) {
+
+            align(4);
+            int position = bytes.position();
+            putInt(length);
+            for (int index = 0; index < length; index++) {
+                putInt(0);
+            }
+
+            return position;
+        }
+
+        /**
+         * Writes the length of a vector of 8-byte aligned structs, so that its elements start 8-byte aligned, and
+         * returns its position.  The caller then writes the elements.
+         *
+         * @param length Number of elements
+         */
+        int startStructVector(int length) {
+
+            while (bytes.position() % 8 != 4) {
+                putByte(0);
+            }
+            int position = bytes.position();
+            putInt(length);
+
+            return position;
+        }
+
+        private void ensureCapacity(int byteCount) {
+            if (bytes.remaining() < byteCount) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(2 * bytes.capacity(), bytes.position() + byteCount))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                grown.put(bytes.array(), 0, bytes.position());
+                bytes = grown;
+            }
+        }
+    }
+
+    /**
+     * Scalar fields and offset placeholders of a flatbuffer table, written together with its vtable
+     */
+    private static final class Table {
+
+        /**
+         * Size (bytes) of each field by id, 0 if the field is absent
+         */
+        private final int[] sizes;
+
+        /**
+         * Value of each scalar field by id
+         */
+        private final long[] values;
+
+        /**
+         * Position of each field by id once written
+         */
+        private final int[] positions;
+
+        /**
+         * @param fieldCount Number of field ids up to and including the last one present
+         */
+        Table(int fieldCount) {
+            this.sizes = new int[fieldCount];
+            this.values = new long[fieldCount];
+            this.positions = new int[fieldCount];
+        }
+
+        Table addByte(int id, int value) {
+            return add(id, 1, value);
+        }
+
+        Table addShort(int id, int value) {
+            return add(id, 2, value);
+        }
+
+        Table addInt(int id, int value) {
+            return add(id, 4, value);
+        }
+
+        Table addLong(int id, long value) {
+            return add(id, 8, value);
+        }
+
+        /**
+         * Adds an offset to a string, vector or table, which is patched with {@link #patchOffset} once written.
+         *
+         * @param id Field id
+         */
+        Table addOffset(int id) {
+            return add(id, 4, 0);
+        }
+
+        private Table add(int id, int size, long value) {
+            sizes[id] = size;
+            values[id] = value;
+            return this;
+        }
+
+        /**
+         * Writes the vtable then the table, with the largest fields first so that every field is aligned, and
+         * returns the position of the table.
+         *
+         * @param flatBuffer Flatbuffer to write to
+         */
+        int write(FlatBuffer flatBuffer) {
+
+            // Lay out the fields after the table's offset to its vtable
+            int[] fieldOffsets = new int[sizes.length];
+            int tableSize = 4;
+            for (int size = 8; size > 0; size /= 2) {
+                for (int id = 0; id < sizes.length; id++) {
+                    if (sizes[id] == size) {
+                        tableSize = (int) ArrowStreamWriter.align(tableSize, size);
+                        fieldOffsets[id] = tableSize;
+                        tableSize += size;
+                    }
+                }
+            }
+
+            // Pad so that the table starts 8-byte aligned, right after its vtable
+            int vtableSize = 4 + 2 * sizes.length;
+            while ((flatBuffer.position() + vtableSize) % 8 != 0) {
+                flatBuffer.putByte(0);
+            }
+            int vtablePosition = flatBuffer.position();
+            flatBuffer.putShort(vtableSize);
+            flatBuffer.putShort(tableSize);
+            for (int fieldOffset : fieldOffsets) {
+                flatBuffer.putShort(fieldOffset);
+            }
+
+            int tablePosition = flatBuffer.position();
+            flatBuffer.putInt(tablePosition - vtablePosition);
+            for (int offset = 4; offset < tableSize; offset++) {
+                flatBuffer.putByte(0);
+            }
+            for (int id = 0; id < sizes.length; id++) {
+                positions[id] = tablePosition + fieldOffsets[id];
+                switch (sizes[id]) {
+                    case 1 -> flatBuffer.bytes.put(positions[id], (byte) values[id]);
+                    case 2 -> flatBuffer.bytes.putShort(positions[id], (short) values[id]);
+                    case 4 -> flatBuffer.bytes.putInt(positions[id], (int) values[id]);
+                    case 8 -> flatBuffer.bytes.putLong(positions[id], values[id]);
+                    default -> {
+                        // Absent
+                    }
+                }
+            }
+
+            return tablePosition;
+        }
+
+        /**
+         * Points the given offset field to the given target.
+         *
+         * @param flatBuffer Flatbuffer the table was written to
+         * @param id         Field id
+         * @param target     Position of the string, vector or table
+         */
+        void patchOffset(FlatBuffer flatBuffer, int id, int target) {
+            flatBuffer.patchOffset(positions[id], target);
+        }
+    }
+}
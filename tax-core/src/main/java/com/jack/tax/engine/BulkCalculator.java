@@ -0,0 +1,982 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates federal tax for every row of a (possibly very large) CSV or fixed-width file of tax returns against
+ * one compiled tax year, e.g. for offline year-end runs.  The input and output files are memory-mapped a chunk at a
+ * time rather than read onto the heap, so heap use stays flat however big the files are, and the chunks are
+ * calculated on every available core.
+ *
+ * <p>CSV input has one return per line:
+ * {@code filingStatus,grossIncome,preferentialIncome,totalDeductions,totalCredits[,qualifyingChildren]}, the filing
+ * status being the enum name, the amounts non-negative with at most 12 digits before and 2 after the decimal point,
+ * and the optional number of qualifying children (none if left out) a whole number from 0 to
+ * {@value #MAX_QUALIFYING_CHILDREN}.  A first line starting with {@code filingStatus} is a header and is skipped.
+ * Fixed-width input has one {@value #FIXED_WIDTH_RECORD_LENGTH}-byte record per return: the filing status ordinal
+ * (one digit), the same four amounts right-aligned in {@value #FIXED_WIDTH_AMOUNT_LENGTH} bytes each, the number of
+ * qualifying children right-aligned in {@value #FIXED_WIDTH_CHILDREN_LENGTH} bytes, then a newline.  The credits
+ * the tax year's credit rules grant are applied on top of each row's total credits, as in a single calculation.
+ *
+ * <p>The output is a fixed-width CSV with a header line and then one line per input row, in input order: federal tax
+ * owed, marginal tax rate, effective tax rate and take-home pay, right-aligned and rounded the same as the app's
+ * outputs.  Every output line being {@value #OUTPUT_RECORD_LENGTH} bytes long, each chunk writes its rows straight
+ * to their offsets in the output without waiting on the chunks before it.  For CSV input, where row lengths vary, a
+ * first pass counts the rows of every chunk to find those offsets.
+ *
+ * <p>Runs can be resumed: the chunk boundaries only depend on the input file, so a run given the chunks an earlier
+ * run completed (see {@link ChunkListener}) skips them and keeps their output.
+ */
+public final class BulkCalculator {
+
+    /**
+     * Bulk input file formats
+     */
+    public enum InputFormat {
+        CSV,
+        FIXED_WIDTH;
+
+        /**
+         * Returns the input format with the given name, either "csv" or "fixed-width" (in any case).
+         *
+         * @param name Name of the input format
+         * @throws IllegalArgumentException If the name is not an input format
+         */
+        public static InputFormat parse(String name) {
+            return switch (name == null ? "" : name.trim().toLowerCase(Locale.ROOT)) {
+                case "csv" -> CSV;
+                case "fixed-width" -> FIXED_WIDTH;
+                default -> throw new IllegalArgumentException("Format must be csv or fixed-width");
+            };
+        }
+    }
+
+    /**
+     * Receives the progress of a resumable run, e.g. to persist it as a checkpoint.  Called from the threads
+     * calculating the chunks, so concurrently if the run is parallel.
+     */
+    public interface ChunkListener {
+
+        /**
+         * Called once the input is split into chunks, before any chunk is calculated.
+         *
+         * @param chunkCount Number of chunks
+         * @param rowCount   Number of rows in the whole input
+         */
+        void started(int chunkCount, long rowCount);
+
+        /**
+         * Called once the output of a chunk is written to storage, so the chunk does not need calculating again.
+         *
+         * @param chunkIndex Zero-based chunk index
+         * @param rowCount   Number of rows in the chunk
+         */
+        void chunkCompleted(int chunkIndex, long rowCount);
+    }
+
+    /**
+     * Receives the rows of an output file a batch at a time, see {@link #readOutput}.
+     */
+    public interface OutputBatchConsumer {
+
+        /**
+         * Called once the next batch of rows is read into the start of the arrays.
+         *
+         * @param rowCount Number of rows in the batch
+         * @throws IOException If the batch cannot be passed on
+         */
+        void accept(int rowCount) throws IOException;
+    }
+
+    /**
+     * Number of input bytes per mapped chunk, which keeps every input and output mapping well under the 2 GB limit
+     */
+    static final int CHUNK_SIZE = 1 << 26;
+
+    /**
+     * Longest CSV line (bytes) supported, newline included
+     */
+    static final int MAX_CSV_LINE_LENGTH = 1024;
+
+    /**
+     * Length (bytes) of each amount of a fixed-width record
+     */
+    public static final int FIXED_WIDTH_AMOUNT_LENGTH = 15;
+
+    /**
+     * Length (bytes) of the number of qualifying children of a fixed-width record
+     */
+    public static final int FIXED_WIDTH_CHILDREN_LENGTH = 2;
+
+    /**
+     * Length (bytes) of a fixed-width record: the filing status ordinal, four amounts, the number of qualifying
+     * children and a newline
+     */
+    public static final int FIXED_WIDTH_RECORD_LENGTH = 1 + 4 * FIXED_WIDTH_AMOUNT_LENGTH + FIXED_WIDTH_CHILDREN_LENGTH + 1;
+
+    /**
+     * Most qualifying children a row may have, the same as the app's inputs allow
+     */
+    public static final int MAX_QUALIFYING_CHILDREN = 20;
+
+    /**
+     * Names of the output columns
+     */
+    private static final String[] OUTPUT_COLUMNS = {"federalTaxOwed", "marginalTaxRate", "effectiveTaxRate", "takeHomePay"};
+
+    /**
+     * Width (bytes) of each output column, wide enough for its name and for any result of amounts of 12 digits
+     */
+    private static final int[] OUTPUT_COLUMN_WIDTHS = {16, 15, 16, 16};
+
+    /**
+     * Length (bytes) of an output line: the columns, the commas between them and a newline
+     */
+    public static final int OUTPUT_RECORD_LENGTH = 16 + 1 + 15 + 1 + 16 + 1 + 16 + 1;
+
+    /**
+     * How many rows a chunk calculates between progress updates
+     */
+    private static final int PROGRESS_INTERVAL = 1 << 16;
+
+    /**
+     * Most digits allowed before the decimal point of an input amount
+     */
+    private static final int MAX_DIGITS_BEFORE_DECIMAL_POINT = 12;
+
+    /**
+     * Most digits allowed after the decimal point of an input amount
+     */
+    private static final int MAX_DIGITS_AFTER_DECIMAL_POINT = 2;
+
+    /**
+     * Start of a CSV header line
+     */
+    private static final byte[] CSV_HEADER_PREFIX = "filingStatus".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * ASCII name of each filing status, indexed by ordinal
+     */
+    private static final byte[][] FILING_STATUS_NAMES = new byte[FilingStatus.values().length][];
+
+    static {
+        for (FilingStatus filingStatus : FilingStatus.values()) {
+            FILING_STATUS_NAMES[filingStatus.ordinal()] = filingStatus.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Compiled schedules of the tax year to calculate
+     */
+    private final CompiledTaxYear taxYear;
+
+    /**
+     * Format of the input file
+     */
+    private final InputFormat inputFormat;
+
+    /**
+     * True to calculate chunks on every available core, false to use the calling thread only
+     */
+    private final boolean parallel;
+
+    /**
+     * Number of input bytes per mapped chunk
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of rows calculated so far by the current (or last) run
+     */
+    private final LongAdder processedRowCount = new LongAdder();
+
+    /**
+     * Creates a bulk calculator for the given tax year and input format.
+     *
+     * @param taxYear     Compiled schedules of the tax year to calculate
+     * @param inputFormat Format of the input files
+     * @param parallel    True to calculate chunks on every available core, false to use the calling thread only
+     */
+    public BulkCalculator(CompiledTaxYear taxYear, InputFormat inputFormat, boolean parallel) {
+        this(taxYear, inputFormat, parallel, CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a bulk calculator with the given chunk size, so that tests can cross chunk boundaries with small files.
+     *
+     * @param taxYear     Compiled schedules of the tax year to calculate
+     * @param inputFormat Format of the input files
+     * @param parallel    True to calculate chunks on every available core, false to use the calling thread only
+     * @param chunkSize   Number of input bytes per mapped chunk, at most {@link #CHUNK_SIZE}
+     */
+    BulkCalculator(CompiledTaxYear taxYear, InputFormat inputFormat, boolean parallel, int chunkSize) {
+
+        if (chunkSize < 1 || chunkSize > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + CHUNK_SIZE + " bytes");
+        }
+
+        this.taxYear = taxYear;
+        this.inputFormat = inputFormat;
+        this.parallel = parallel;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Calculates every row of the given input file and writes the results to the given output file, replacing it.
+     * Progress can be followed from another thread through {@link #getProcessedRowCount()}.
+     *
+     * @param input  Input file, in this calculator's input format
+     * @param output Output file to create or overwrite
+     * @return The number of rows calculated
+     * @throws IllegalArgumentException If a row of the input file is not valid; the output is then incomplete
+     * @throws IOException              If a file cannot be read, written or mapped
+     */
+    public long calculate(Path input, Path output) throws IOException {
+        return calculate(input, output, new BitSet(), null);
+    }
+
+    /**
+     * Calculates the rows of the given input file that are not in the given completed chunks, and writes the results
+     * to the given output file.  The output is replaced if no chunk is completed yet, and otherwise updated in
+     * place, keeping the results of the completed chunks.  Progress can be followed from another thread through
+     * {@link #getProcessedRowCount()}, which only counts the rows calculated by this run.
+     *
+     * @param input           Input file, in this calculator's input format, unchanged since the chunks completed
+     * @param output          Output file to create, overwrite or update
+     * @param completedChunks Indexes of the chunks an earlier run of the same files completed
+     * @param listener        Receives the progress of the run, null for none
+     * @return The number of rows in the whole input
+     * @throws IllegalArgumentException If a row of the input file is not valid; the output is then incomplete
+     * @throws IOException              If a file cannot be read, written or mapped
+     */
+    public long calculate(Path input, Path output, BitSet completedChunks, ChunkListener listener) throws IOException {
+
+        processedRowCount.reset();
+
+        Set<StandardOpenOption> outputOptions = completedChunks.isEmpty()
+                ? EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)
+                : EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try (FileChannel inputChannel = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel outputChannel = FileChannel.open(output, outputOptions)) {
+
+            // Split the input into chunks and find the first row of each, so each chunk knows where its output goes
+            long inputSize = inputChannel.size();
+            long[] firstRows = inputFormat == InputFormat.CSV
+                    ? findCsvFirstRows(inputChannel, inputSize)
+                    : findFixedWidthFirstRows(input, inputSize);
+            int chunkCount = firstRows.length - 1;
+            long rowCount = firstRows[chunkCount];
+            if (listener != null) {
+                listener.started(chunkCount, rowCount);
+            }
+
+            // Write the header and size the output up front, so the chunks can map their own regions of it
+            // concurrently
+            outputChannel.write(ByteBuffer.wrap(createOutputHeader()), 0);
+            if (rowCount > 0) {
+                outputChannel.write(ByteBuffer.wrap(new byte[]{'\n'}), (rowCount + 1) * OUTPUT_RECORD_LENGTH - 1);
+            }
+
+            try {
+                chunks(chunkCount).filter(chunkIndex -> !completedChunks.get(chunkIndex)).forEach(chunkIndex -> {
+                    try {
+                        calculateChunk(inputChannel, inputSize, outputChannel, chunkIndex,
+                                firstRows[chunkIndex], firstRows[chunkIndex + 1] - firstRows[chunkIndex], listener);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return rowCount;
+        }
+    }
+
+    /**
+     * Returns the number of rows calculated so far by the current (or last) run.
+     */
+    public long getProcessedRowCount() {
+        return processedRowCount.sum();
+    }
+
+    /**
+     * Reads an output file back into the given primitive columns, memory-mapping a batch of rows at a time, e.g. to
+     * convert the results to a columnar format without creating an object per row.  The arrays are refilled for
+     * every batch, their length being the max number of rows per batch.
+     *
+     * @param output            Output file written by a completed run
+     * @param federalTaxOwed    Receives the federal tax owed (USD) of each row of a batch
+     * @param marginalTaxRates  Receives the marginal tax rate (%) of each row of a batch
+     * @param effectiveTaxRates Receives the effective tax rate (%) of each row of a batch
+     * @param takeHomePay       Receives the take home pay (USD) of each row of a batch
+     * @param consumer          Called after each batch is read
+     * @return The number of rows read
+     * @throws IOException If the output file cannot be read
+     */
+    public static long readOutput(Path output,
+                                  double[] federalTaxOwed,
+                                  int[] marginalTaxRates,
+                                  double[] effectiveTaxRates,
+                                  double[] takeHomePay,
+                                  OutputBatchConsumer consumer) throws IOException {
+
+        try (FileChannel outputChannel = FileChannel.open(output, StandardOpenOption.READ)) {
+
+            long outputSize = outputChannel.size();
+            if (outputSize == 0 || outputSize % OUTPUT_RECORD_LENGTH != 0) {
+                throw new IllegalArgumentException("Output file must have a header and lines of "
+                        + OUTPUT_RECORD_LENGTH + " bytes");
+            }
+            long rowCount = outputSize / OUTPUT_RECORD_LENGTH - 1;
+
+            int batchRowCount = federalTaxOwed.length;
+            for (long firstRow = 0; firstRow < rowCount; firstRow += batchRowCount) {
+
+                // Skip the header line
+                int batchSize = (int) Math.min(batchRowCount, rowCount - firstRow);
+                ByteBuffer records = outputChannel.map(FileChannel.MapMode.READ_ONLY,
+                        (firstRow + 1) * OUTPUT_RECORD_LENGTH, (long) batchSize * OUTPUT_RECORD_LENGTH);
+
+                for (int rowIndex = 0; rowIndex < batchSize; rowIndex++) {
+                    int position = rowIndex * OUTPUT_RECORD_LENGTH;
+                    federalTaxOwed[rowIndex] = readNumber(records, position, OUTPUT_COLUMN_WIDTHS[0]) / 100.0;
+                    position += OUTPUT_COLUMN_WIDTHS[0] + 1;
+                    marginalTaxRates[rowIndex] = (int) readNumber(records, position, OUTPUT_COLUMN_WIDTHS[1]);
+                    position += OUTPUT_COLUMN_WIDTHS[1] + 1;
+                    effectiveTaxRates[rowIndex] = readNumber(records, position, OUTPUT_COLUMN_WIDTHS[2]) / 100.0;
+                    position += OUTPUT_COLUMN_WIDTHS[2] + 1;
+                    takeHomePay[rowIndex] = readNumber(records, position, OUTPUT_COLUMN_WIDTHS[3]) / 100.0;
+                }
+
+                consumer.accept(batchSize);
+            }
+
+            return rowCount;
+        }
+    }
+
+    /**
+     * Returns the first row of each fixed-width chunk, followed by the total number of rows.
+     *
+     * @param input     Input file
+     * @param inputSize Size (bytes) of the input file
+     */
+    private long[] findFixedWidthFirstRows(Path input, long inputSize) {
+
+        if (inputSize % FIXED_WIDTH_RECORD_LENGTH != 0) {
+            throw new IllegalArgumentException(input.getFileName() + " is not made of whole "
+                    + FIXED_WIDTH_RECORD_LENGTH + "-byte records");
+        }
+
+        long rowCount = inputSize / FIXED_WIDTH_RECORD_LENGTH;
+        long rowsPerChunk = Math.max(1, chunkSize / FIXED_WIDTH_RECORD_LENGTH);
+        int chunkCount = (int) ((rowCount + rowsPerChunk - 1) / rowsPerChunk);
+        long[] firstRows = new long[chunkCount + 1];
+        for (int chunkIndex = 0; chunkIndex <= chunkCount; chunkIndex++) {
+            firstRows[chunkIndex] = Math.min(chunkIndex * rowsPerChunk, rowCount);
+        }
+
+        return firstRows;
+    }
+
+    /**
+     * Counts the rows of every CSV chunk (in parallel if requested) and returns the first row of each chunk,
+     * followed by the total number of rows.
+     *
+     * @param inputChannel Open input file
+     * @param inputSize    Size (bytes) of the input file
+     * @throws IOException If the input file cannot be mapped
+     */
+    private long[] findCsvFirstRows(FileChannel inputChannel, long inputSize) throws IOException {
+
+        int chunkCount = (int) ((inputSize + chunkSize - 1) / chunkSize);
+        long[] firstRows = new long[chunkCount + 1];
+        try {
+            chunks(chunkCount).forEach(chunkIndex -> {
+                try {
+                    firstRows[chunkIndex + 1] = countCsvRows(inputChannel, inputSize, chunkIndex);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Turn the row counts into first rows
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            firstRows[chunkIndex + 1] += firstRows[chunkIndex];
+        }
+
+        return firstRows;
+    }
+
+    /**
+     * Counts the CSV rows that start in the given chunk.
+     *
+     * @param inputChannel Open input file
+     * @param inputSize    Size (bytes) of the input file
+     * @param chunkIndex   Zero-based chunk index
+     * @throws IOException If the input file cannot be mapped
+     */
+    private int countCsvRows(FileChannel inputChannel, long inputSize, int chunkIndex) throws IOException {
+
+        CsvWindow window = mapCsvWindow(inputChannel, inputSize, chunkIndex);
+        int rowCount = 0;
+        for (int position = window.firstLineStart(); position < window.chunkEnd(); position = window.lineEnd(position) + 1) {
+            rowCount++;
+        }
+
+        return rowCount;
+    }
+
+    /**
+     * Calculates the rows of the given chunk and writes them to their region of the output.
+     *
+     * @param inputChannel  Open input file
+     * @param inputSize     Size (bytes) of the input file
+     * @param outputChannel Open output file, already sized
+     * @param chunkIndex    Zero-based chunk index
+     * @param firstRow      Zero-based index of the chunk's first row
+     * @param rowCount      Number of rows in the chunk
+     * @param listener      Receives the progress of the run, null for none
+     * @throws IOException If a file cannot be mapped
+     */
+    private void calculateChunk(FileChannel inputChannel,
+                                long inputSize,
+                                FileChannel outputChannel,
+                                int chunkIndex,
+                                long firstRow,
+                                long rowCount,
+                                ChunkListener listener) throws IOException {
+
+        if (rowCount == 0) {
+            if (listener != null) {
+                listener.chunkCompleted(chunkIndex, 0);
+            }
+            return;
+        }
+
+        MappedByteBuffer output = outputChannel.map(FileChannel.MapMode.READ_WRITE,
+                (firstRow + 1) * OUTPUT_RECORD_LENGTH, rowCount * OUTPUT_RECORD_LENGTH);
+        TaxCalculation calculation = new TaxCalculation();
+        double[] amounts = new double[5];
+
+        if (inputFormat == InputFormat.CSV) {
+
+            CsvWindow window = mapCsvWindow(inputChannel, inputSize, chunkIndex);
+            int rowIndex = 0;
+            for (int position = window.firstLineStart(); position < window.chunkEnd(); rowIndex++) {
+                int lineEnd = window.lineEnd(position);
+                FilingStatus filingStatus = parseCsvRow(window.buffer(), position, lineEnd, firstRow + rowIndex + 1, amounts);
+                calculateRow(filingStatus, amounts, firstRow + rowIndex + 1, calculation, output, rowIndex);
+                position = lineEnd + 1;
+            }
+
+        } else {
+
+            ByteBuffer input = inputChannel.map(FileChannel.MapMode.READ_ONLY,
+                    firstRow * FIXED_WIDTH_RECORD_LENGTH, rowCount * FIXED_WIDTH_RECORD_LENGTH);
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                FilingStatus filingStatus = parseFixedWidthRow(input, rowIndex * FIXED_WIDTH_RECORD_LENGTH,
+                        firstRow + rowIndex + 1, amounts);
+                calculateRow(filingStatus, amounts, firstRow + rowIndex + 1, calculation, output, rowIndex);
+            }
+        }
+
+        processedRowCount.add(rowCount % PROGRESS_INTERVAL);
+
+        // Only report the chunk once its output cannot be lost, so a resumed run can rely on it
+        if (listener != null) {
+            output.force();
+            listener.chunkCompleted(chunkIndex, rowCount);
+        }
+    }
+
+    /**
+     * Calculates one row and writes its output line.
+     *
+     * @param filingStatus Filing status of the row
+     * @param amounts      Gross income, preferential income, total deductions and total credits (USD) of the row,
+     *                     then its number of qualifying children
+     * @param rowNumber    One-based row number, for error messages
+     * @param calculation  Holder reused for every row of the chunk
+     * @param output       Output region of the chunk
+     * @param rowIndex     Zero-based index of the row within the chunk
+     */
+    private void calculateRow(FilingStatus filingStatus,
+                              double[] amounts,
+                              long rowNumber,
+                              TaxCalculation calculation,
+                              ByteBuffer output,
+                              int rowIndex) {
+
+        if (amounts[1] > amounts[0]) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": Preferential income must not exceed gross income");
+        }
+
+        // The credits the credit rules grant come on top of the credits of the row
+        CompiledTaxSchedule schedule = taxYear.getSchedule(filingStatus);
+        double totalCredits = amounts[3] + schedule.getCreditRules().evaluate(amounts[0], amounts[1], (int) amounts[4]);
+        TaxEngine.calculate(schedule, amounts[0], amounts[1], amounts[2], totalCredits, calculation);
+
+        // Write the columns right-aligned, each followed by a comma or, for the last one, a newline
+        int position = rowIndex * OUTPUT_RECORD_LENGTH;
+        position = writeCents(output, position, OUTPUT_COLUMN_WIDTHS[0], Money.roundToCents(calculation.getFederalTaxOwed()));
+        output.put(position++, (byte) ',');
+        position = writeWholeNumber(output, position, OUTPUT_COLUMN_WIDTHS[1], calculation.getMarginalTaxRate());
+        output.put(position++, (byte) ',');
+        position = writeCents(output, position, OUTPUT_COLUMN_WIDTHS[2], Money.roundToCents(calculation.getEffectiveTaxRate()));
+        output.put(position++, (byte) ',');
+        position = writeCents(output, position, OUTPUT_COLUMN_WIDTHS[3], Money.roundToCents(calculation.getTakeHomePay()));
+        output.put(position, (byte) '\n');
+
+        if ((rowIndex + 1) % PROGRESS_INTERVAL == 0) {
+            processedRowCount.add(PROGRESS_INTERVAL);
+        }
+    }
+
+    /**
+     * Parses a CSV row into its filing status, amounts and number of qualifying children, which is zero if the
+     * row leaves it out.
+     *
+     * @param buffer    Mapped window of the chunk
+     * @param lineStart Position of the first byte of the row
+     * @param lineEnd   Position of the newline that ends the row, or of the end of the file
+     * @param rowNumber One-based row number, for error messages
+     * @param amounts   Receives the gross income, preferential income, total deductions and total credits (USD),
+     *                  then the number of qualifying children
+     */
+    private static FilingStatus parseCsvRow(ByteBuffer buffer, int lineStart, int lineEnd, long rowNumber, double[] amounts) {
+
+        // Tolerate Windows line endings
+        if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+
+        int fieldEnd = findComma(buffer, lineStart, lineEnd);
+        FilingStatus filingStatus = parseFilingStatusName(buffer, lineStart, fieldEnd, rowNumber);
+        for (int amountIndex = 0; amountIndex < amounts.length - 1; amountIndex++) {
+            if (fieldEnd == lineEnd) {
+                throw new IllegalArgumentException("Row " + rowNumber + ": Expected " + amounts.length + " or "
+                        + (amounts.length + 1) + " columns");
+            }
+            int fieldStart = fieldEnd + 1;
+            fieldEnd = findComma(buffer, fieldStart, lineEnd);
+            amounts[amountIndex] = parseAmount(buffer, fieldStart, fieldEnd, rowNumber);
+        }
+
+        amounts[amounts.length - 1] = 0;
+        if (fieldEnd != lineEnd) {
+            int fieldStart = fieldEnd + 1;
+            fieldEnd = findComma(buffer, fieldStart, lineEnd);
+            amounts[amounts.length - 1] = parseQualifyingChildren(buffer, fieldStart, fieldEnd, rowNumber);
+        }
+        if (fieldEnd != lineEnd) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": Expected " + amounts.length + " or "
+                    + (amounts.length + 1) + " columns");
+        }
+
+        return filingStatus;
+    }
+
+    /**
+     * Parses a fixed-width record into its filing status, amounts and number of qualifying children.
+     *
+     * @param buffer      Mapped records of the chunk
+     * @param recordStart Position of the first byte of the record
+     * @param rowNumber   One-based row number, for error messages
+     * @param amounts     Receives the gross income, preferential income, total deductions and total credits (USD),
+     *                    then the number of qualifying children
+     */
+    private static FilingStatus parseFixedWidthRow(ByteBuffer buffer, int recordStart, long rowNumber, double[] amounts) {
+
+        if (buffer.get(recordStart + FIXED_WIDTH_RECORD_LENGTH - 1) != '\n') {
+            throw new IllegalArgumentException("Row " + rowNumber + ": Expected a newline after "
+                    + (FIXED_WIDTH_RECORD_LENGTH - 1) + " bytes");
+        }
+
+        int ordinal = buffer.get(recordStart) - '0';
+        if (ordinal < 0 || ordinal >= FILING_STATUS_NAMES.length) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": Filing status must be a digit from 0 to "
+                    + (FILING_STATUS_NAMES.length - 1));
+        }
+
+        for (int amountIndex = 0; amountIndex < amounts.length - 1; amountIndex++) {
+            int fieldStart = recordStart + 1 + amountIndex * FIXED_WIDTH_AMOUNT_LENGTH;
+            amounts[amountIndex] = parseAmount(buffer, fieldStart, fieldStart + FIXED_WIDTH_AMOUNT_LENGTH, rowNumber);
+        }
+        int childrenStart = recordStart + 1 + (amounts.length - 1) * FIXED_WIDTH_AMOUNT_LENGTH;
+        amounts[amounts.length - 1] = parseQualifyingChildren(buffer, childrenStart,
+                childrenStart + FIXED_WIDTH_CHILDREN_LENGTH, rowNumber);
+
+        return FilingStatus.values()[ordinal];
+    }
+
+    /**
+     * Returns the position of the first comma in the given range, or the end of the range if there is none.
+     *
+     * @param buffer Mapped input
+     * @param from   First position to look at
+     * @param to     Position after the last one to look at
+     */
+    private static int findComma(ByteBuffer buffer, int from, int to) {
+
+        int position = from;
+        while (position < to && buffer.get(position) != ',') {
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * Parses a filing status from its enum name, without decoding it to a string.
+     *
+     * @param buffer    Mapped input
+     * @param from      Position of the first byte of the name
+     * @param to        Position after the last byte of the name
+     * @param rowNumber One-based row number, for error messages
+     */
+    private static FilingStatus parseFilingStatusName(ByteBuffer buffer, int from, int to, long rowNumber) {
+
+        for (int ordinal = 0; ordinal < FILING_STATUS_NAMES.length; ordinal++) {
+            byte[] name = FILING_STATUS_NAMES[ordinal];
+            if (name.length == to - from) {
+                int index = 0;
+                while (index < name.length && buffer.get(from + index) == name[index]) {
+                    index++;
+                }
+                if (index == name.length) {
+                    return FilingStatus.values()[ordinal];
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("Row " + rowNumber + ": \"" + decode(buffer, from, to)
+                + "\" is not a filing status");
+    }
+
+    /**
+     * Parses a non-negative amount with at most 12 digits before and 2 after the decimal point, surrounded by
+     * any number of spaces.  The amount is parsed to whole cents first, so it converts to the same double as
+     * its decimal string would.
+     *
+     * @param buffer    Mapped input
+     * @param from      Position of the first byte of the field
+     * @param to        Position after the last byte of the field
+     * @param rowNumber One-based row number, for error messages
+     */
+    private static double parseAmount(ByteBuffer buffer, int from, int to, long rowNumber) {
+
+        int start = from;
+        int end = to;
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+
+        long cents = 0;
+        int digitsBefore = 0;
+        int digitsAfter = -1;
+        for (int position = start; position < end; position++) {
+            byte character = buffer.get(position);
+            if (character == '.' && digitsAfter < 0) {
+                digitsAfter = 0;
+            } else if (character >= '0' && character <= '9') {
+                cents = cents * 10 + (character - '0');
+                if (digitsAfter < 0) {
+                    digitsBefore++;
+                } else {
+                    digitsAfter++;
+                }
+            } else {
+                digitsBefore = -1;
+                break;
+            }
+        }
+
+        if (digitsBefore < 0 || digitsBefore > MAX_DIGITS_BEFORE_DECIMAL_POINT
+                || digitsAfter > MAX_DIGITS_AFTER_DECIMAL_POINT || digitsBefore + Math.max(digitsAfter, 0) == 0) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": \"" + decode(buffer, from, to)
+                    + "\" is not a valid monetary amount");
+        }
+
+        for (int digit = Math.max(digitsAfter, 0); digit < MAX_DIGITS_AFTER_DECIMAL_POINT; digit++) {
+            cents *= 10;
+        }
+
+        return cents / 100.0;
+    }
+
+    /**
+     * Parses a number of qualifying children from 0 to {@value #MAX_QUALIFYING_CHILDREN}, surrounded by any number
+     * of spaces.
+     *
+     * @param buffer    Mapped input
+     * @param from      Position of the first byte of the field
+     * @param to        Position after the last byte of the field
+     * @param rowNumber One-based row number, for error messages
+     */
+    private static int parseQualifyingChildren(ByteBuffer buffer, int from, int to, long rowNumber) {
+
+        int start = from;
+        int end = to;
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+
+        int qualifyingChildren = 0;
+        for (int position = start; position < end && qualifyingChildren <= MAX_QUALIFYING_CHILDREN; position++) {
+            byte character = buffer.get(position);
+            if (character < '0' || character > '9') {
+                qualifyingChildren = -1;
+                break;
+            }
+            qualifyingChildren = qualifyingChildren * 10 + (character - '0');
+        }
+
+        if (start == end || qualifyingChildren < 0 || qualifyingChildren > MAX_QUALIFYING_CHILDREN) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": \"" + decode(buffer, from, to)
+                    + "\" is not a number of qualifying children from 0 to " + MAX_QUALIFYING_CHILDREN);
+        }
+
+        return qualifyingChildren;
+    }
+
+    /**
+     * Reads a right-aligned output column as a whole number, ignoring the decimal point, so amounts are read as
+     * cents.
+     *
+     * @param records  Mapped output records
+     * @param position Position of the column
+     * @param width    Width (bytes) of the column
+     */
+    private static long readNumber(ByteBuffer records, int position, int width) {
+
+        long number = 0;
+        boolean negative = false;
+        for (int columnEnd = position + width; position < columnEnd; position++) {
+            byte character = records.get(position);
+            if (character >= '0' && character <= '9') {
+                number = number * 10 + (character - '0');
+            } else if (character == '-') {
+                negative = true;
+            } else if (character != ' ' && character != '.') {
+                throw new IllegalArgumentException("Output file has an invalid character in a result column");
+            }
+        }
+
+        return negative ? -number : number;
+    }
+
+    /**
+     * Writes the given amount, already rounded to cents, right-aligned in a column of the given width.
+     *
+     * @param output   Output region
+     * @param position Position of the column
+     * @param width    Width (bytes) of the column
+     * @param amount   Amount rounded to cents
+     * @return The position after the column
+     */
+    private static int writeCents(ByteBuffer output, int position, int width, double amount) {
+
+        long cents = Math.round(Math.abs(amount) * 100.0);
+        int digitPosition = position + width;
+        for (int digit = 0; digit < MAX_DIGITS_AFTER_DECIMAL_POINT; digit++) {
+            output.put(--digitPosition, (byte) ('0' + cents % 10));
+            cents /= 10;
+        }
+        output.put(--digitPosition, (byte) '.');
+        writeDigits(output, position, digitPosition, cents, amount < 0 && Math.round(amount * 100.0) != 0);
+
+        return position + width;
+    }
+
+    /**
+     * Writes the given whole number right-aligned in a column of the given width.
+     *
+     * @param output   Output region
+     * @param position Position of the column
+     * @param width    Width (bytes) of the column
+     * @param number   Number to write
+     * @return The position after the column
+     */
+    private static int writeWholeNumber(ByteBuffer output, int position, int width, long number) {
+        writeDigits(output, position, position + width, Math.abs(number), number < 0);
+        return position + width;
+    }
+
+    /**
+     * Writes the digits of the given non-negative number so that they end right before the given position, then
+     * the sign, and pads the rest of the column with spaces.
+     *
+     * @param output      Output region
+     * @param columnStart Position of the column
+     * @param digitsEnd   Position right after the last digit
+     * @param number      Non-negative number to write, at least one digit being written
+     * @param negative    True to write a minus sign before the digits
+     */
+    private static void writeDigits(ByteBuffer output, int columnStart, int digitsEnd, long number, boolean negative) {
+
+        int position = digitsEnd;
+        do {
+            if (position == columnStart) {
+                throw new IllegalArgumentException("A result does not fit its output column");
+            }
+            output.put(--position, (byte) ('0' + number % 10));
+            number /= 10;
+        } while (number > 0);
+
+        if (negative) {
+            if (position == columnStart) {
+                throw new IllegalArgumentException("A result does not fit its output column");
+            }
+            output.put(--position, (byte) '-');
+        }
+
+        while (position > columnStart) {
+            output.put(--position, (byte) ' ');
+        }
+    }
+
+    /**
+     * Returns the output header line, each column name right-aligned like the values below it.
+     */
+    private static byte[] createOutputHeader() {
+
+        StringBuilder header = new StringBuilder(OUTPUT_RECORD_LENGTH);
+        for (int columnIndex = 0; columnIndex < OUTPUT_COLUMNS.length; columnIndex++) {
+            header.append(" ".repeat(OUTPUT_COLUMN_WIDTHS[columnIndex] - OUTPUT_COLUMNS[columnIndex].length()))
+                    .append(OUTPUT_COLUMNS[columnIndex])
+                    .append(columnIndex == OUTPUT_COLUMNS.length - 1 ? '\n' : ',');
+        }
+
+        return header.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Maps the given CSV chunk, plus the byte before it (to tell whether a line starts right at the chunk) and
+     * up to one line after it (to finish the last line that starts in the chunk).
+     *
+     * @param inputChannel Open input file
+     * @param inputSize    Size (bytes) of the input file
+     * @param chunkIndex   Zero-based chunk index
+     * @throws IOException If the input file cannot be mapped
+     */
+    private CsvWindow mapCsvWindow(FileChannel inputChannel, long inputSize, int chunkIndex) throws IOException {
+
+        long chunkStart = (long) chunkIndex * chunkSize;
+        long chunkEnd = Math.min(chunkStart + chunkSize, inputSize);
+        long windowStart = Math.max(0, chunkStart - 1);
+        long windowEnd = Math.min(chunkEnd + MAX_CSV_LINE_LENGTH, inputSize);
+
+        ByteBuffer buffer = inputChannel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+        return new CsvWindow(buffer, (int) (chunkStart - windowStart), (int) (chunkEnd - windowStart),
+                windowEnd == inputSize);
+    }
+
+    /**
+     * Returns the chunk indexes, as a parallel stream if requested.
+     *
+     * @param chunkCount Number of chunks
+     */
+    private IntStream chunks(int chunkCount) {
+        IntStream chunks = IntStream.range(0, chunkCount);
+        return parallel ? chunks.parallel() : chunks;
+    }
+
+    /**
+     * Decodes the given range of the input, for error messages.
+     *
+     * @param buffer Mapped input
+     * @param from   First position of the range
+     * @param to     Position after the last one of the range
+     */
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        return StandardCharsets.US_ASCII.decode(buffer.slice(from, to - from)).toString();
+    }
+
+    /**
+     * Mapped window of a CSV chunk.  The chunk owns the lines that start in it.
+     *
+     * @param buffer     Mapped bytes of the window
+     * @param chunkStart Position of the chunk's first byte in the window
+     * @param chunkEnd   Position after the chunk's last byte in the window
+     * @param endOfFile  True if the window reaches the end of the file
+     */
+    private record CsvWindow(ByteBuffer buffer, int chunkStart, int chunkEnd, boolean endOfFile) {
+
+        /**
+         * Returns the position of the first line that starts in the chunk, skipping the header of the file.
+         */
+        int firstLineStart() {
+
+            if (chunkStart == 0) {
+                return startsWithHeader() ? lineEnd(0) + 1 : 0;
+            }
+
+            // A line starts right at the chunk only if the byte before it ends a line
+            return buffer.get(chunkStart - 1) == '\n' ? chunkStart : lineEnd(chunkStart) + 1;
+        }
+
+        /**
+         * Returns the position of the newline that ends the line at the given position, or the end of the
+         * window if the file ends without one.
+         *
+         * @param position Position within the line
+         * @throws IllegalArgumentException If the line is longer than {@link #MAX_CSV_LINE_LENGTH}
+         */
+        int lineEnd(int position) {
+
+            int limit = buffer.limit();
+            while (position < limit) {
+                if (buffer.get(position) == '\n') {
+                    return position;
+                }
+                position++;
+            }
+
+            if (!endOfFile) {
+                throw new IllegalArgumentException("CSV lines must not be longer than " + MAX_CSV_LINE_LENGTH + " bytes");
+            }
+
+            return limit;
+        }
+
+        /**
+         * Returns true if the file starts with a header line.
+         */
+        private boolean startsWithHeader() {
+
+            if (buffer.limit() < CSV_HEADER_PREFIX.length) {
+                return false;
+            }
+
+            return buffer.slice(0, CSV_HEADER_PREFIX.length).equals(ByteBuffer.wrap(CSV_HEADER_PREFIX));
+        }
+    }
+}
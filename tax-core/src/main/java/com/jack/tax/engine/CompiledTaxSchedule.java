@@ -0,0 +1,534 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Immutable, array-backed tax schedule for one tax year and filing status.  The bracket thresholds, rates and
+ * the tax owed on all brackets below each bracket are precomputed once, so a calculation only needs a binary
+ * search and a multiply-add instead of walking every bracket.  The preferential rates on qualified dividends and
+ * long-term capital gains are compiled the same way, and so are the year's payroll (FICA) tax parameters and
+ * credit rules, so income, capital gains and payroll taxes and credits all come from one lookup.
+ */
+public final class CompiledTaxSchedule implements FederalTaxFunction {
+
+    /**
+     * Applicable tax year
+     */
+    private final int taxYear;
+
+    /**
+     * True if the tax year is projected by inflation rather than published
+     */
+    private final boolean projected;
+
+    /**
+     * Applicable filing status
+     */
+    private final FilingStatus filingStatus;
+
+    /**
+     * Standard deduction (USD) for the filing status
+     */
+    private final double standardDeduction;
+
+    /**
+     * Min taxable income (USD) for each bracket, in ascending bracket order
+     */
+    private final double[] minIncomes;
+
+    /**
+     * Max taxable income (USD) for each bracket, in ascending bracket order
+     */
+    private final double[] maxIncomes;
+
+    /**
+     * Marginal tax rate (%) for each bracket
+     */
+    private final int[] taxRates;
+
+    /**
+     * Marginal tax rate for each bracket as a fraction (i.e. the rate divided by 100)
+     */
+    private final double[] rateFractions;
+
+    /**
+     * Tax owed (USD) on all the brackets below each bracket, accumulated in bracket order
+     */
+    private final double[] taxBelowBrackets;
+
+    /**
+     * Min taxable income (USD) for each capital gains bracket, in ascending bracket order.  Empty if the tax year
+     * has no preferential rates.
+     */
+    private final double[] capitalGainsMinIncomes;
+
+    /**
+     * Max taxable income (USD) for each capital gains bracket, in ascending bracket order
+     */
+    private final double[] capitalGainsMaxIncomes;
+
+    /**
+     * Preferential tax rate (%) for each capital gains bracket
+     */
+    private final int[] capitalGainsTaxRates;
+
+    /**
+     * Preferential tax rate for each capital gains bracket as a fraction
+     */
+    private final double[] capitalGainsRateFractions;
+
+    /**
+     * Tax owed (USD) at the preferential rates on all the capital gains brackets below each one, i.e. as if all
+     * income were preferential, accumulated in bracket order
+     */
+    private final double[] capitalGainsTaxBelowBrackets;
+
+    /**
+     * Social Security tax rate as a fraction
+     */
+    private final double socialSecurityRateFraction;
+
+    /**
+     * Max wages (USD) subject to Social Security tax
+     */
+    private final double socialSecurityWageBase;
+
+    /**
+     * Medicare tax rate as a fraction
+     */
+    private final double medicareRateFraction;
+
+    /**
+     * Additional Medicare tax rate as a fraction
+     */
+    private final double additionalMedicareRateFraction;
+
+    /**
+     * Wages (USD) above which the filing status pays Additional Medicare tax
+     */
+    private final double additionalMedicareThreshold;
+
+    /**
+     * Credit rules compiled for the tax year and filing status
+     */
+    private final CreditRules creditRules;
+
+    /**
+     * Creates a compiled tax schedule using the given data.
+     *
+     * @param taxYear           Applicable tax year
+     * @param projected         True if the tax year is projected by inflation rather than published
+     * @param filingStatus      Applicable filing status
+     * @param standardDeduction Standard deduction (USD) for the filing status
+     * @param minIncomes        Min taxable income (USD) for each bracket, sorted by tax rate
+     * @param maxIncomes        Max taxable income (USD) for each bracket, sorted by tax rate
+     * @param taxRates          Marginal tax rate (%) for each bracket, in ascending order
+     * @param capitalGainsMinIncomes Min taxable income (USD) for each capital gains bracket, sorted by tax rate.
+     *                               Empty if the tax year has no preferential rates.
+     * @param capitalGainsMaxIncomes Max taxable income (USD) for each capital gains bracket, sorted by tax rate
+     * @param capitalGainsTaxRates   Preferential tax rate (%) for each capital gains bracket, in ascending order
+     * @param payrollTaxRates   Payroll (FICA) tax rates and thresholds for the tax year and filing status
+     * @param creditRules       Credit rules compiled for the tax year and filing status
+     */
+    public CompiledTaxSchedule(int taxYear,
+                               boolean projected,
+                               FilingStatus filingStatus,
+                               double standardDeduction,
+                               double[] minIncomes,
+                               double[] maxIncomes,
+                               int[] taxRates,
+                               double[] capitalGainsMinIncomes,
+                               double[] capitalGainsMaxIncomes,
+                               int[] capitalGainsTaxRates,
+                               PayrollTaxRates payrollTaxRates,
+                               CreditRules creditRules) {
+
+        if (minIncomes.length == 0 || minIncomes.length != maxIncomes.length || minIncomes.length != taxRates.length) {
+            throw new IllegalArgumentException("Tax brackets for tax year " + taxYear + " and filing status "
+                    + filingStatus + " are missing or inconsistent");
+        }
+        if (capitalGainsMinIncomes.length != capitalGainsMaxIncomes.length
+                || capitalGainsMinIncomes.length != capitalGainsTaxRates.length) {
+            throw new IllegalArgumentException("Capital gains brackets for tax year " + taxYear + " and filing status "
+                    + filingStatus + " are inconsistent");
+        }
+
+        this.taxYear = taxYear;
+        this.projected = projected;
+        this.filingStatus = filingStatus;
+        this.standardDeduction = standardDeduction;
+        this.minIncomes = minIncomes.clone();
+        this.maxIncomes = maxIncomes.clone();
+        this.taxRates = taxRates.clone();
+        this.rateFractions = new double[taxRates.length];
+        this.taxBelowBrackets = accumulateTaxBelowBrackets(this.minIncomes, this.maxIncomes, this.taxRates, rateFractions);
+        this.capitalGainsMinIncomes = capitalGainsMinIncomes.clone();
+        this.capitalGainsMaxIncomes = capitalGainsMaxIncomes.clone();
+        this.capitalGainsTaxRates = capitalGainsTaxRates.clone();
+        this.capitalGainsRateFractions = new double[capitalGainsTaxRates.length];
+        this.capitalGainsTaxBelowBrackets = accumulateTaxBelowBrackets(this.capitalGainsMinIncomes,
+                this.capitalGainsMaxIncomes, this.capitalGainsTaxRates, capitalGainsRateFractions);
+        this.socialSecurityRateFraction = payrollTaxRates.socialSecurityTaxRate() / 100.0;
+        this.socialSecurityWageBase = payrollTaxRates.socialSecurityWageBase();
+        this.medicareRateFraction = payrollTaxRates.medicareTaxRate() / 100.0;
+        this.additionalMedicareRateFraction = payrollTaxRates.additionalMedicareTaxRate() / 100.0;
+        this.additionalMedicareThreshold = payrollTaxRates.additionalMedicareThreshold();
+        this.creditRules = creditRules;
+    }
+
+    /**
+     * Creates a compiled tax schedule for another filing status that shares the given schedule's
+     * standard deduction, brackets, capital gains brackets and payroll tax rates, but has its own Additional
+     * Medicare tax threshold and credit rules.
+     *
+     * @param schedule                    Schedule whose standard deduction and brackets are shared
+     * @param filingStatus                Applicable filing status
+     * @param additionalMedicareThreshold Wages (USD) above which the filing status pays Additional Medicare tax
+     * @param creditRules                 Credit rules compiled for the filing status, or the given schedule's
+     *                                    if they do not depend on the filing status
+     */
+    public CompiledTaxSchedule(CompiledTaxSchedule schedule,
+                               FilingStatus filingStatus,
+                               double additionalMedicareThreshold,
+                               CreditRules creditRules) {
+
+        this.taxYear = schedule.taxYear;
+        this.projected = schedule.projected;
+        this.filingStatus = filingStatus;
+        this.standardDeduction = schedule.standardDeduction;
+        this.minIncomes = schedule.minIncomes;
+        this.maxIncomes = schedule.maxIncomes;
+        this.taxRates = schedule.taxRates;
+        this.rateFractions = schedule.rateFractions;
+        this.taxBelowBrackets = schedule.taxBelowBrackets;
+        this.capitalGainsMinIncomes = schedule.capitalGainsMinIncomes;
+        this.capitalGainsMaxIncomes = schedule.capitalGainsMaxIncomes;
+        this.capitalGainsTaxRates = schedule.capitalGainsTaxRates;
+        this.capitalGainsRateFractions = schedule.capitalGainsRateFractions;
+        this.capitalGainsTaxBelowBrackets = schedule.capitalGainsTaxBelowBrackets;
+        this.socialSecurityRateFraction = schedule.socialSecurityRateFraction;
+        this.socialSecurityWageBase = schedule.socialSecurityWageBase;
+        this.medicareRateFraction = schedule.medicareRateFraction;
+        this.additionalMedicareRateFraction = schedule.additionalMedicareRateFraction;
+        this.additionalMedicareThreshold = additionalMedicareThreshold;
+        this.creditRules = creditRules;
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Returns true if the tax year is projected by inflation rather than published.
+     */
+    public boolean isProjected() {
+        return projected;
+    }
+
+    /**
+     * Returns the applicable filing status.
+     */
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Returns the standard deduction (USD) for the filing status.
+     */
+    public double getStandardDeduction() {
+        return standardDeduction;
+    }
+
+    /**
+     * Returns the number of tax brackets.
+     */
+    public int getBracketCount() {
+        return taxRates.length;
+    }
+
+    /**
+     * Returns the min taxable income (USD) of the bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based bracket index
+     */
+    public double getMinIncome(int bracketIndex) {
+        return minIncomes[bracketIndex];
+    }
+
+    /**
+     * Returns the max taxable income (USD) of the bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based bracket index
+     */
+    public double getMaxIncome(int bracketIndex) {
+        return maxIncomes[bracketIndex];
+    }
+
+    /**
+     * Returns the marginal tax rate (%) of the bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based bracket index
+     */
+    public int getTaxRate(int bracketIndex) {
+        return taxRates[bracketIndex];
+    }
+
+    /**
+     * Returns the marginal tax rate of the bracket at the given zero-based index as a fraction.
+     *
+     * @param bracketIndex Zero-based bracket index
+     */
+    public double getRateFraction(int bracketIndex) {
+        return rateFractions[bracketIndex];
+    }
+
+    /**
+     * Returns the tax owed (USD) on all brackets below the bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based bracket index
+     */
+    public double getTaxBelowBracket(int bracketIndex) {
+        return taxBelowBrackets[bracketIndex];
+    }
+
+    /**
+     * Calculates federal tax owed (USD) for the given inputs, all of the gross income being ordinary income.
+     *
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     */
+    @Override
+    public double federalTaxOwed(double grossIncome, double totalDeductions, double totalCredits) {
+        return TaxEngine.federalTaxOwed(this, grossIncome, totalDeductions, totalCredits);
+    }
+
+    /**
+     * Uses the given data to compute taxable income (USD), taking the more advantageous of the standard
+     * deduction and the itemized deductions, and never returning a negative amount.
+     *
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total itemized deductions (USD)
+     */
+    public double getTaxableIncome(double grossIncome, double totalDeductions) {
+
+        double taxableIncome = 0.0;
+
+        // Only when the gross income exceeds the standard deduction will there be applicable taxes
+        if (grossIncome > standardDeduction) {
+            taxableIncome = Math.min(grossIncome - totalDeductions, grossIncome - standardDeduction);
+        }
+
+        return Math.max(0, taxableIncome);
+    }
+
+    /**
+     * Gets the zero-based index for the max tax bracket applicable to the given taxable income, i.e. the
+     * first bracket whose max income is greater than or equal to the taxable income.  Falls back to the
+     * last bracket.
+     *
+     * @param taxableIncome Taxable income (USD)
+     */
+    public int getMaxTaxBracketIndex(double taxableIncome) {
+
+        // Binary search over the (ascending) max incomes
+        int low = 0;
+        int high = maxIncomes.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (taxableIncome <= maxIncomes[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Computes the income tax (USD) owed on the given taxable income before any credits are applied.
+     *
+     * @param taxableIncome     Taxable income (USD)
+     * @param maxTaxBracketIndex Zero-based index for the max tax bracket applicable to the taxable income
+     */
+    public double getIncomeTax(double taxableIncome, int maxTaxBracketIndex) {
+
+        // Income that falls in the (one dollar) gap between two brackets is not taxed by either one
+        double applicableIncomeForBracket = Math.max(0.0, taxableIncome - minIncomes[maxTaxBracketIndex]);
+
+        return taxBelowBrackets[maxTaxBracketIndex] + (applicableIncomeForBracket * rateFractions[maxTaxBracketIndex]);
+    }
+
+    /**
+     * Returns the number of capital gains brackets, zero if the tax year has no preferential rates.
+     */
+    public int getCapitalGainsBracketCount() {
+        return capitalGainsTaxRates.length;
+    }
+
+    /**
+     * Returns the min taxable income (USD) of the capital gains bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based capital gains bracket index
+     */
+    public double getCapitalGainsMinIncome(int bracketIndex) {
+        return capitalGainsMinIncomes[bracketIndex];
+    }
+
+    /**
+     * Returns the max taxable income (USD) of the capital gains bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based capital gains bracket index
+     */
+    public double getCapitalGainsMaxIncome(int bracketIndex) {
+        return capitalGainsMaxIncomes[bracketIndex];
+    }
+
+    /**
+     * Returns the preferential tax rate (%) of the capital gains bracket at the given zero-based index.
+     *
+     * @param bracketIndex Zero-based capital gains bracket index
+     */
+    public int getCapitalGainsTaxRate(int bracketIndex) {
+        return capitalGainsTaxRates[bracketIndex];
+    }
+
+    /**
+     * Gets the zero-based index for the capital gains bracket the given taxable income falls in, i.e. the first
+     * capital gains bracket whose max income is greater than or equal to it.  Falls back to the last capital gains
+     * bracket.  Only valid if the schedule has capital gains brackets.
+     *
+     * @param taxableIncome Taxable income (USD)
+     */
+    public int getCapitalGainsBracketIndex(double taxableIncome) {
+
+        // Binary search over the (ascending) capital gains max incomes
+        int low = 0;
+        int high = capitalGainsMaxIncomes.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (taxableIncome <= capitalGainsMaxIncomes[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Gets the zero-based index for the capital gains bracket the given taxable income falls in by walking
+     * forward from the given capital gains bracket, which must be at or below it.
+     *
+     * @param taxableIncome Taxable income (USD)
+     * @param bracketIndex  Zero-based index of a capital gains bracket at or below the one to find
+     */
+    public int getCapitalGainsBracketIndex(double taxableIncome, int bracketIndex) {
+
+        int topBracketIndex = capitalGainsMaxIncomes.length - 1;
+        while (bracketIndex < topBracketIndex && taxableIncome > capitalGainsMaxIncomes[bracketIndex]) {
+            bracketIndex++;
+        }
+
+        return bracketIndex;
+    }
+
+    /**
+     * Computes the tax (USD) owed at the preferential rates on all taxable income up to the given taxable income,
+     * i.e. as if all of it were qualified dividends and long-term capital gains.  The tax on preferential income
+     * stacked on top of ordinary income is the difference between this at the top and at the bottom of the stack.
+     *
+     * @param taxableIncome Taxable income (USD)
+     * @param bracketIndex  Zero-based index for the capital gains bracket the taxable income falls in
+     */
+    public double getCapitalGainsTaxBelow(double taxableIncome, int bracketIndex) {
+
+        // Income that falls in the (one dollar) gap between two brackets is not taxed by either one
+        double applicableIncomeForBracket = Math.max(0.0, taxableIncome - capitalGainsMinIncomes[bracketIndex]);
+
+        return capitalGainsTaxBelowBrackets[bracketIndex]
+                + (applicableIncomeForBracket * capitalGainsRateFractions[bracketIndex]);
+    }
+
+    /**
+     * Computes the employee's Social Security tax (USD) on the given wages, which stop being taxed at the
+     * wage base.
+     *
+     * @param wages Wages (USD)
+     */
+    public double getSocialSecurityTax(double wages) {
+        return Math.min(Math.max(wages, 0.0), socialSecurityWageBase) * socialSecurityRateFraction;
+    }
+
+    /**
+     * Computes the employee's Medicare tax (USD) on the given wages.
+     *
+     * @param wages Wages (USD)
+     */
+    public double getMedicareTax(double wages) {
+        return Math.max(wages, 0.0) * medicareRateFraction;
+    }
+
+    /**
+     * Computes the Additional Medicare tax (USD) on the given wages above the filing status threshold.
+     *
+     * @param wages Wages (USD)
+     */
+    public double getAdditionalMedicareTax(double wages) {
+        return Math.max(wages - additionalMedicareThreshold, 0.0) * additionalMedicareRateFraction;
+    }
+
+    /**
+     * Returns the credit rules compiled for the tax year and filing status.
+     */
+    public CreditRules getCreditRules() {
+        return creditRules;
+    }
+
+    /**
+     * Converts the given tax rates to fractions and accumulates the tax owed on each full bracket in bracket order,
+     * using the same arithmetic as the bracket-by-bracket calculation so the results are identical.
+     *
+     * @param minIncomes    Min taxable income (USD) for each bracket
+     * @param maxIncomes    Max taxable income (USD) for each bracket
+     * @param taxRates      Tax rate (%) for each bracket
+     * @param rateFractions Receives the tax rate for each bracket as a fraction
+     * @return The tax owed (USD) on all the brackets below each bracket
+     */
+    private static double[] accumulateTaxBelowBrackets(double[] minIncomes,
+                                                       double[] maxIncomes,
+                                                       int[] taxRates,
+                                                       double[] rateFractions) {
+
+        double[] taxBelowBrackets = new double[taxRates.length];
+        double taxOwed = 0.0;
+        for (int bracketIndex = 0; bracketIndex < taxRates.length; bracketIndex++) {
+            rateFractions[bracketIndex] = taxRates[bracketIndex] / 100.0;
+            taxBelowBrackets[bracketIndex] = taxOwed;
+            taxOwed += (maxIncomes[bracketIndex] - minIncomes[bracketIndex]) * rateFractions[bracketIndex];
+        }
+
+        return taxBelowBrackets;
+    }
+
+    /**
+     * Payroll (FICA) tax rates and thresholds for one tax year and filing status.
+     *
+     * @param socialSecurityTaxRate       Social Security tax rate (%)
+     * @param socialSecurityWageBase      Max wages (USD) subject to Social Security tax
+     * @param medicareTaxRate             Medicare tax rate (%)
+     * @param additionalMedicareTaxRate   Additional Medicare tax rate (%)
+     * @param additionalMedicareThreshold Wages (USD) above which Additional Medicare tax is paid
+     */
+    public record PayrollTaxRates(double socialSecurityTaxRate,
+                                  double socialSecurityWageBase,
+                                  double medicareTaxRate,
+                                  double additionalMedicareTaxRate,
+                                  double additionalMedicareThreshold) {
+    }
+}
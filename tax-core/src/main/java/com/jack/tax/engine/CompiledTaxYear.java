@@ -0,0 +1,84 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Holds the compiled tax schedules for every filing status of one tax year, along with the federal tax function
+ * bulk calculations use for each: the schedule itself, or a class generated for it with its brackets baked in.
+ */
+public final class CompiledTaxYear {
+
+    /**
+     * Applicable tax year
+     */
+    private final int taxYear;
+
+    /**
+     * Compiled schedules indexed by filing status ordinal
+     */
+    private final CompiledTaxSchedule[] schedules;
+
+    /**
+     * Federal tax functions indexed by filing status ordinal
+     */
+    private final FederalTaxFunction[] federalTaxFunctions;
+
+    /**
+     * Creates a compiled tax year using the given data, whose federal tax functions are the schedules themselves.
+     *
+     * @param taxYear   Applicable tax year
+     * @param schedules Compiled schedules indexed by filing status ordinal
+     */
+    public CompiledTaxYear(int taxYear, CompiledTaxSchedule[] schedules) {
+        this(taxYear, schedules, false);
+    }
+
+    /**
+     * Creates a compiled tax year using the given data.
+     *
+     * @param taxYear           Applicable tax year
+     * @param schedules         Compiled schedules indexed by filing status ordinal
+     * @param generateFunctions True to generate a class per schedule with its brackets baked in (see
+     *                          {@link ScheduleClassGenerator}), false to use the schedules themselves
+     */
+    public CompiledTaxYear(int taxYear, CompiledTaxSchedule[] schedules, boolean generateFunctions) {
+
+        if (schedules.length != FilingStatus.values().length) {
+            throw new IllegalArgumentException("Expected one compiled schedule per filing status for tax year " + taxYear);
+        }
+
+        this.taxYear = taxYear;
+        this.schedules = schedules.clone();
+        this.federalTaxFunctions = new FederalTaxFunction[schedules.length];
+        for (int index = 0; index < schedules.length; index++) {
+            federalTaxFunctions[index] = generateFunctions
+                    ? ScheduleClassGenerator.generate(schedules[index])
+                    : schedules[index];
+        }
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Returns the compiled schedule for the given filing status.
+     *
+     * @param filingStatus Filing status enum
+     */
+    public CompiledTaxSchedule getSchedule(FilingStatus filingStatus) {
+        return schedules[filingStatus.ordinal()];
+    }
+
+    /**
+     * Returns the federal tax function for the given filing status.
+     *
+     * @param filingStatus Filing status enum
+     */
+    public FederalTaxFunction getFederalTaxFunction(FilingStatus filingStatus) {
+        return federalTaxFunctions[filingStatus.ordinal()];
+    }
+}
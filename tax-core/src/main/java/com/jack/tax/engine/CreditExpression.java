@@ -0,0 +1,19 @@
+package com.jack.tax.engine;
+
+/**
+ * A credit rule compiled for one tax year and filing status: a tree of closures that works out a credit (USD)
+ * from the inputs of a calculation.  See {@link CreditRule} for the language the rules are written in.
+ */
+@FunctionalInterface
+public interface CreditExpression {
+
+    /**
+     * Evaluates the expression for the given inputs.
+     *
+     * @param grossIncome        Gross income (USD)
+     * @param earnedIncome       Part of the gross income (USD) that is not qualified dividends or long-term capital gains
+     * @param investmentIncome   Part of the gross income (USD) that is qualified dividends and long-term capital gains
+     * @param qualifyingChildren Number of qualifying children
+     */
+    public double evaluate(double grossIncome, double earnedIncome, double investmentIncome, double qualifyingChildren);
+}
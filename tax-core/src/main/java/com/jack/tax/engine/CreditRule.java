@@ -0,0 +1,779 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A credit and its income-based phase-out, written as an expression in a small rule language and parsed once
+ * when the tax tables are loaded.  A parsed rule is compiled into a tree of closures per filing status, so
+ * evaluating it during a calculation is a handful of virtual calls and no parsing, lookups or allocation.  The
+ * filing status is a constant of the compiled tree, so every part of a rule that only depends on it (and on
+ * literals) is folded away at compile time.
+ *
+ * <p>The language is arithmetic over doubles, where comparisons and logical operators yield 1 for true and 0
+ * for false, and any non-zero value is true:
+ * <pre>
+ * expression  := disjunction [ '?' expression ':' expression ]
+ * disjunction := conjunction { '||' conjunction }
+ * conjunction := comparison { '&amp;&amp;' comparison }
+ * comparison  := sum [ ( '&lt;' | '&lt;=' | '&gt;' | '&gt;=' | '==' | '!=' ) sum ]
+ * sum         := product { ( '+' | '-' ) product }
+ * product     := unary { ( '*' | '/' ) unary }
+ * unary       := ( '-' | '!' ) unary | primary
+ * primary     := number | name | function '(' expression { ',' expression } ')' | '(' expression ')'
+ * </pre>
+ * Numbers may use underscores to group digits (e.g. {@code 200_000}).  The names are the inputs
+ * {@code grossIncome}, {@code earnedIncome} (gross income less qualified dividends and long-term capital gains),
+ * {@code investmentIncome} (qualified dividends and long-term capital gains), {@code qualifyingChildren} and
+ * {@code filingStatus}, and the filing status constants ({@code SINGLE}, {@code MARRIED_FILING_JOINTLY}, ...).
+ * The functions are {@code min(a, b)}, {@code max(a, b)}, {@code ceil(x)} and {@code floor(x)}.  For example, a
+ * $2,200 child tax credit reduced by $50 for every $1,000 (or part of it) of income above $200,000, or $400,000
+ * for joint filers:
+ * <pre>
+ * 2200 * qualifyingChildren
+ *     - 50 * ceil(max(0, grossIncome - (filingStatus == MARRIED_FILING_JOINTLY ? 400_000 : 200_000)) / 1000)
+ * </pre>
+ * A rule that works out to less than zero grants no credit.
+ */
+public final class CreditRule {
+
+    /**
+     * Name of the credit
+     */
+    private final String name;
+
+    /**
+     * Root of the parsed expression
+     */
+    private final Node root;
+
+    /**
+     * True if the expression refers to the filing status
+     */
+    private final boolean filingStatusDependent;
+
+    /**
+     * Creates a parsed credit rule using the given data.
+     *
+     * @param name                  Name of the credit
+     * @param root                  Root of the parsed expression
+     * @param filingStatusDependent True if the expression refers to the filing status
+     */
+    private CreditRule(String name, Node root, boolean filingStatusDependent) {
+
+        this.name = name;
+        this.root = root;
+        this.filingStatusDependent = filingStatusDependent;
+    }
+
+    /**
+     * Parses the given expression.
+     *
+     * @param name       Name of the credit, used in error messages
+     * @param expression Expression in the credit rule language
+     * @throws IllegalArgumentException If the expression is not valid, naming the position of the problem
+     */
+    public static CreditRule parse(String name, String expression) {
+
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Credit rule '" + name + "' has no expression");
+        }
+
+        Parser parser = new Parser(name, expression);
+        Node root = parser.parseExpression();
+        parser.expectEnd();
+        return new CreditRule(name, root, parser.filingStatusReferenced);
+    }
+
+    /**
+     * Returns the name of the credit.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if the rule refers to the filing status, i.e. it may compile differently for filing statuses
+     * that otherwise share a schedule.
+     */
+    public boolean isFilingStatusDependent() {
+        return filingStatusDependent;
+    }
+
+    /**
+     * Compiles the rule into a tree of closures for the given filing status, folding every constant part.  The
+     * result is not clamped at zero.
+     *
+     * @param filingStatus Filing status enum
+     */
+    public CreditExpression compile(FilingStatus filingStatus) {
+        return root.compile(filingStatus);
+    }
+
+    /**
+     * Returns 1 for true and 0 for false.
+     */
+    private static double truth(boolean value) {
+        return value ? 1.0 : 0.0;
+    }
+
+    /**
+     * A compiled expression that always evaluates to the same value
+     *
+     * @param value Value (USD, count or truth)
+     */
+    private record Constant(double value) implements CreditExpression {
+
+        @Override
+        public double evaluate(double grossIncome, double earnedIncome, double investmentIncome, double qualifyingChildren) {
+            return value;
+        }
+    }
+
+    /**
+     * A node of a parsed expression
+     */
+    private sealed interface Node permits Literal, Input, FilingStatusInput, Negation, Not, Binary, Conditional, Call {
+
+        /**
+         * Compiles the node, and the nodes below it, into closures for the given filing status.
+         *
+         * @param filingStatus Filing status enum
+         */
+        CreditExpression compile(FilingStatus filingStatus);
+    }
+
+    /**
+     * A number, or a filing status constant
+     *
+     * @param value Value
+     */
+    private record Literal(double value) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+            return new Constant(value);
+        }
+    }
+
+    /**
+     * One of the inputs that vary between calculations
+     *
+     * @param index Zero-based index of the input in {@link CreditExpression#evaluate}
+     */
+    private record Input(int index) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+
+            return switch (index) {
+                case 0 -> (grossIncome, earnedIncome, investmentIncome, qualifyingChildren) -> grossIncome;
+                case 1 -> (grossIncome, earnedIncome, investmentIncome, qualifyingChildren) -> earnedIncome;
+                case 2 -> (grossIncome, earnedIncome, investmentIncome, qualifyingChildren) -> investmentIncome;
+                default -> (grossIncome, earnedIncome, investmentIncome, qualifyingChildren) -> qualifyingChildren;
+            };
+        }
+    }
+
+    /**
+     * The filing status, which is a constant of the compiled tree
+     */
+    private record FilingStatusInput() implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+            return new Constant(filingStatus.ordinal());
+        }
+    }
+
+    /**
+     * Unary minus
+     *
+     * @param operand Operand
+     */
+    private record Negation(Node operand) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+
+            CreditExpression compiled = operand.compile(filingStatus);
+            if (compiled instanceof Constant constant) {
+                return new Constant(-constant.value());
+            }
+            return (grossIncome, earnedIncome, investmentIncome, qualifyingChildren) ->
+                    -compiled.evaluate(grossIncome, earnedIncome, investmentIncome, qualifyingChildren);
+        }
+    }
+
+    /**
+     * Logical not
+     *
+     * @param operand Operand
+     */
+    private record Not(Node operand) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+
+            CreditExpression compiled = operand.compile(filingStatus);
+            if (compiled instanceof Constant constant) {
+                return new Constant(truth(constant.value() == 0.0));
+            }
+            return (grossIncome, earnedIncome, investmentIncome, qualifyingChildren) ->
+                    truth(compiled.evaluate(grossIncome, earnedIncome, investmentIncome, qualifyingChildren) == 0.0);
+        }
+    }
+
+    /**
+     * Binary operators, in the order the parser tries to match them
+     */
+    private enum Operator {
+
+        LESS_OR_EQUAL("<="),
+        GREATER_OR_EQUAL(">="),
+        EQUAL("=="),
+        NOT_EQUAL("!="),
+        LESS("<"),
+        GREATER(">"),
+        ADD("+"),
+        SUBTRACT("-"),
+        MULTIPLY("*"),
+        DIVIDE("/"),
+        AND("&&"),
+        OR("||");
+
+        /**
+         * Operators that compare two sums
+         */
+        private static final Operator[] COMPARISONS = {LESS_OR_EQUAL, GREATER_OR_EQUAL, EQUAL, NOT_EQUAL, LESS, GREATER};
+
+        /**
+         * Token of the operator
+         */
+        private final String token;
+
+        Operator(String token) {
+            this.token = token;
+        }
+
+        /**
+         * Applies the operator to the given values.
+         */
+        private double apply(double left, double right) {
+
+            return switch (this) {
+                case LESS_OR_EQUAL -> truth(left <= right);
+                case GREATER_OR_EQUAL -> truth(left >= right);
+                case EQUAL -> truth(left == right);
+                case NOT_EQUAL -> truth(left != right);
+                case LESS -> truth(left < right);
+                case GREATER -> truth(left > right);
+                case ADD -> left + right;
+                case SUBTRACT -> left - right;
+                case MULTIPLY -> left * right;
+                case DIVIDE -> left / right;
+                case AND -> truth(left != 0.0 && right != 0.0);
+                case OR -> truth(left != 0.0 || right != 0.0);
+            };
+        }
+    }
+
+    /**
+     * A binary operation
+     *
+     * @param operator Operator
+     * @param left     Left operand
+     * @param right    Right operand
+     */
+    private record Binary(Operator operator, Node left, Node right) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+
+            CreditExpression left = this.left.compile(filingStatus);
+            CreditExpression right = this.right.compile(filingStatus);
+            if (left instanceof Constant leftConstant && right instanceof Constant rightConstant) {
+                return new Constant(operator.apply(leftConstant.value(), rightConstant.value()));
+            }
+
+            // A constant operand of a logical operator either decides the result or drops out
+            if ((operator == Operator.AND || operator == Operator.OR)
+                    && (left instanceof Constant || right instanceof Constant)) {
+                Constant constant = (Constant) (left instanceof Constant ? left : right);
+                CreditExpression other = left instanceof Constant ? right : left;
+                boolean decides = operator == Operator.AND ? constant.value() == 0.0 : constant.value() != 0.0;
+                if (decides) {
+                    return new Constant(operator == Operator.AND ? 0.0 : 1.0);
+                }
+                return (g, e, i, c) -> truth(other.evaluate(g, e, i, c) != 0.0);
+            }
+
+            // Most operations on an input have a constant on the right (e.g. grossIncome - 200000), so save
+            // evaluating it
+            if (right instanceof Constant rightConstant) {
+                return compileConstantRight(left, rightConstant.value());
+            }
+            return compileGeneral(left, right);
+        }
+
+        /**
+         * Compiles the operation with a constant right operand.
+         */
+        private CreditExpression compileConstantRight(CreditExpression left, double right) {
+
+            return switch (operator) {
+                case LESS_OR_EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) <= right);
+                case GREATER_OR_EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) >= right);
+                case EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) == right);
+                case NOT_EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) != right);
+                case LESS -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) < right);
+                case GREATER -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) > right);
+                case ADD -> (g, e, i, c) -> left.evaluate(g, e, i, c) + right;
+                case SUBTRACT -> (g, e, i, c) -> left.evaluate(g, e, i, c) - right;
+                case MULTIPLY -> (g, e, i, c) -> left.evaluate(g, e, i, c) * right;
+                case DIVIDE -> (g, e, i, c) -> left.evaluate(g, e, i, c) / right;
+                case AND, OR -> throw new IllegalStateException("Logical operators with a constant operand are folded");
+            };
+        }
+
+        /**
+         * Compiles the operation with two operands that vary.
+         */
+        private CreditExpression compileGeneral(CreditExpression left, CreditExpression right) {
+
+            return switch (operator) {
+                case LESS_OR_EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) <= right.evaluate(g, e, i, c));
+                case GREATER_OR_EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) >= right.evaluate(g, e, i, c));
+                case EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) == right.evaluate(g, e, i, c));
+                case NOT_EQUAL -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) != right.evaluate(g, e, i, c));
+                case LESS -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) < right.evaluate(g, e, i, c));
+                case GREATER -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) > right.evaluate(g, e, i, c));
+                case ADD -> (g, e, i, c) -> left.evaluate(g, e, i, c) + right.evaluate(g, e, i, c);
+                case SUBTRACT -> (g, e, i, c) -> left.evaluate(g, e, i, c) - right.evaluate(g, e, i, c);
+                case MULTIPLY -> (g, e, i, c) -> left.evaluate(g, e, i, c) * right.evaluate(g, e, i, c);
+                case DIVIDE -> (g, e, i, c) -> left.evaluate(g, e, i, c) / right.evaluate(g, e, i, c);
+                case AND -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) != 0.0 && right.evaluate(g, e, i, c) != 0.0);
+                case OR -> (g, e, i, c) -> truth(left.evaluate(g, e, i, c) != 0.0 || right.evaluate(g, e, i, c) != 0.0);
+            };
+        }
+    }
+
+    /**
+     * A conditional expression
+     *
+     * @param condition Condition
+     * @param then      Value if the condition is true
+     * @param otherwise Value if the condition is false
+     */
+    private record Conditional(Node condition, Node then, Node otherwise) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+
+            // A condition on the filing status alone picks its branch at compile time
+            CreditExpression condition = this.condition.compile(filingStatus);
+            if (condition instanceof Constant constant) {
+                return constant.value() != 0.0 ? then.compile(filingStatus) : otherwise.compile(filingStatus);
+            }
+
+            CreditExpression then = this.then.compile(filingStatus);
+            CreditExpression otherwise = this.otherwise.compile(filingStatus);
+            return (g, e, i, c) -> condition.evaluate(g, e, i, c) != 0.0
+                    ? then.evaluate(g, e, i, c)
+                    : otherwise.evaluate(g, e, i, c);
+        }
+    }
+
+    /**
+     * Built-in functions
+     */
+    private enum Function {
+
+        MIN("min", 2),
+        MAX("max", 2),
+        CEIL("ceil", 1),
+        FLOOR("floor", 1);
+
+        /**
+         * Name of the function in expressions
+         */
+        private final String functionName;
+
+        /**
+         * Number of arguments the function takes
+         */
+        private final int arity;
+
+        Function(String functionName, int arity) {
+            this.functionName = functionName;
+            this.arity = arity;
+        }
+
+        /**
+         * Returns the function with the given name, or null if there is none.
+         */
+        private static Function forName(String functionName) {
+
+            for (Function function : values()) {
+                if (function.functionName.equals(functionName)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Applies the function to the given arguments.
+         */
+        private double apply(double[] arguments) {
+
+            return switch (this) {
+                case MIN -> Math.min(arguments[0], arguments[1]);
+                case MAX -> Math.max(arguments[0], arguments[1]);
+                case CEIL -> Math.ceil(arguments[0]);
+                case FLOOR -> Math.floor(arguments[0]);
+            };
+        }
+    }
+
+    /**
+     * A call to a built-in function
+     *
+     * @param function  Function
+     * @param arguments Arguments, as many as the function takes
+     */
+    private record Call(Function function, List<Node> arguments) implements Node {
+
+        @Override
+        public CreditExpression compile(FilingStatus filingStatus) {
+
+            CreditExpression[] compiled = new CreditExpression[arguments.size()];
+            double[] constants = new double[arguments.size()];
+            boolean allConstant = true;
+            for (int index = 0; index < compiled.length; index++) {
+                compiled[index] = arguments.get(index).compile(filingStatus);
+                if (compiled[index] instanceof Constant constant) {
+                    constants[index] = constant.value();
+                } else {
+                    allConstant = false;
+                }
+            }
+            if (allConstant) {
+                return new Constant(function.apply(constants));
+            }
+
+            CreditExpression first = compiled[0];
+            if (function == Function.CEIL) {
+                return (g, e, i, c) -> Math.ceil(first.evaluate(g, e, i, c));
+            }
+            if (function == Function.FLOOR) {
+                return (g, e, i, c) -> Math.floor(first.evaluate(g, e, i, c));
+            }
+
+            // Clamping an input against a constant (e.g. max(0, grossIncome - 200000)) is the common case, and
+            // min and max do not care about the order of their arguments
+            CreditExpression second = compiled[1];
+            if (first instanceof Constant || second instanceof Constant) {
+                double bound = first instanceof Constant constant ? constant.value() : ((Constant) second).value();
+                CreditExpression other = first instanceof Constant ? second : first;
+                return function == Function.MIN
+                        ? (g, e, i, c) -> Math.min(other.evaluate(g, e, i, c), bound)
+                        : (g, e, i, c) -> Math.max(other.evaluate(g, e, i, c), bound);
+            }
+            return function == Function.MIN
+                    ? (g, e, i, c) -> Math.min(first.evaluate(g, e, i, c), second.evaluate(g, e, i, c))
+                    : (g, e, i, c) -> Math.max(first.evaluate(g, e, i, c), second.evaluate(g, e, i, c));
+        }
+    }
+
+    /**
+     * Recursive descent parser for one expression
+     */
+    private static final class Parser {
+
+        /**
+         * Name of the credit, used in error messages
+         */
+        private final String name;
+
+        /**
+         * Expression being parsed
+         */
+        private final String text;
+
+        /**
+         * Zero-based index of the next character to parse
+         */
+        private int position;
+
+        /**
+         * Set once the expression refers to the filing status
+         */
+        private boolean filingStatusReferenced;
+
+        private Parser(String name, String text) {
+            this.name = name;
+            this.text = text;
+        }
+
+        /**
+         * expression := disjunction [ '?' expression ':' expression ]
+         */
+        private Node parseExpression() {
+
+            Node condition = parseDisjunction();
+            if (accept("?")) {
+                Node then = parseExpression();
+                expect(":");
+                Node otherwise = parseExpression();
+                return new Conditional(condition, then, otherwise);
+            }
+            return condition;
+        }
+
+        /**
+         * disjunction := conjunction { '||' conjunction }
+         */
+        private Node parseDisjunction() {
+
+            Node left = parseConjunction();
+            while (accept(Operator.OR.token)) {
+                left = new Binary(Operator.OR, left, parseConjunction());
+            }
+            return left;
+        }
+
+        /**
+         * conjunction := comparison { '&&' comparison }
+         */
+        private Node parseConjunction() {
+
+            Node left = parseComparison();
+            while (accept(Operator.AND.token)) {
+                left = new Binary(Operator.AND, left, parseComparison());
+            }
+            return left;
+        }
+
+        /**
+         * comparison := sum [ ( '<' | '<=' | '>' | '>=' | '==' | '!=' ) sum ]
+         */
+        private Node parseComparison() {
+
+            Node left = parseSum();
+            for (Operator operator : Operator.COMPARISONS) {
+                if (accept(operator.token)) {
+                    return new Binary(operator, left, parseSum());
+                }
+            }
+            return left;
+        }
+
+        /**
+         * sum := product { ( '+' | '-' ) product }
+         */
+        private Node parseSum() {
+
+            Node left = parseProduct();
+            while (true) {
+                if (accept(Operator.ADD.token)) {
+                    left = new Binary(Operator.ADD, left, parseProduct());
+                } else if (accept(Operator.SUBTRACT.token)) {
+                    left = new Binary(Operator.SUBTRACT, left, parseProduct());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        /**
+         * product := unary { ( '*' | '/' ) unary }
+         */
+        private Node parseProduct() {
+
+            Node left = parseUnary();
+            while (true) {
+                if (accept(Operator.MULTIPLY.token)) {
+                    left = new Binary(Operator.MULTIPLY, left, parseUnary());
+                } else if (accept(Operator.DIVIDE.token)) {
+                    left = new Binary(Operator.DIVIDE, left, parseUnary());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        /**
+         * unary := ( '-' | '!' ) unary | primary
+         */
+        private Node parseUnary() {
+
+            if (accept("-")) {
+                return new Negation(parseUnary());
+            }
+            if (accept("!")) {
+                return new Not(parseUnary());
+            }
+            return parsePrimary();
+        }
+
+        /**
+         * primary := number | name | function '(' expression { ',' expression } ')' | '(' expression ')'
+         */
+        private Node parsePrimary() {
+
+            if (accept("(")) {
+                Node expression = parseExpression();
+                expect(")");
+                return expression;
+            }
+
+            skipWhitespace();
+            int start = position;
+            if (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                while (position < text.length()
+                        && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.' || text.charAt(position) == '_')) {
+                    position++;
+                }
+                String number = text.substring(start, position);
+                try {
+                    return new Literal(Double.parseDouble(number.replace("_", "")));
+                } catch (NumberFormatException e) {
+                    position = start;
+                    throw error("Invalid number '" + number + "'");
+                }
+            }
+            if (position < text.length() && Character.isJavaIdentifierStart(text.charAt(position))) {
+                while (position < text.length() && Character.isJavaIdentifierPart(text.charAt(position))) {
+                    position++;
+                }
+                String identifier = text.substring(start, position);
+                if (accept("(")) {
+                    return parseCall(identifier, start);
+                }
+                return resolveName(identifier, start);
+            }
+
+            throw error("Expected a number, a name or '('");
+        }
+
+        /**
+         * Parses the arguments of a call to the given function, the opening parenthesis already consumed.
+         *
+         * @param functionName Name of the function
+         * @param start        Zero-based index of the function name
+         */
+        private Node parseCall(String functionName, int start) {
+
+            Function function = Function.forName(functionName);
+            if (function == null) {
+                position = start;
+                throw error("Unknown function '" + functionName + "'");
+            }
+
+            List<Node> arguments = new ArrayList<>();
+            if (!accept(")")) {
+                do {
+                    arguments.add(parseExpression());
+                } while (accept(","));
+                expect(")");
+            }
+            if (arguments.size() != function.arity) {
+                position = start;
+                throw error("Function '" + functionName + "' takes " + function.arity + " argument(s)");
+            }
+            return new Call(function, List.copyOf(arguments));
+        }
+
+        /**
+         * Resolves the given name to an input or a filing status constant.
+         *
+         * @param identifier Name
+         * @param start      Zero-based index of the name
+         */
+        private Node resolveName(String identifier, int start) {
+
+            switch (identifier) {
+                case "grossIncome" -> {
+                    return new Input(0);
+                }
+                case "earnedIncome" -> {
+                    return new Input(1);
+                }
+                case "investmentIncome" -> {
+                    return new Input(2);
+                }
+                case "qualifyingChildren" -> {
+                    return new Input(3);
+                }
+                case "filingStatus" -> {
+                    filingStatusReferenced = true;
+                    return new FilingStatusInput();
+                }
+                default -> {
+                    for (FilingStatus filingStatus : FilingStatus.values()) {
+                        if (filingStatus.name().equals(identifier)) {
+                            return new Literal(filingStatus.ordinal());
+                        }
+                    }
+                    position = start;
+                    throw error("Unknown name '" + identifier + "'");
+                }
+            }
+        }
+
+        /**
+         * Fails unless the whole expression has been parsed.
+         */
+        private void expectEnd() {
+
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("Unexpected '" + text.charAt(position) + "'");
+            }
+        }
+
+        /**
+         * Consumes the given token, or fails.
+         */
+        private void expect(String token) {
+
+            if (!accept(token)) {
+                throw error("Expected '" + token + "'");
+            }
+        }
+
+        /**
+         * Consumes the given token if it is next, and returns true if it was.
+         */
+        private boolean accept(String token) {
+
+            skipWhitespace();
+            if (text.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Skips the whitespace at the current position.
+         */
+        private void skipWhitespace() {
+
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        /**
+         * Creates an exception naming the credit and the one-based position the problem is at.
+         */
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Credit rule '" + name + "' is invalid at position "
+                    + (position + 1) + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.util.List;
+
+/**
+ * Immutable set of credit rules compiled for one tax year and filing status.  Each rule is a tree of closures
+ * (see {@link CreditRule}), and the credits they grant are added up on top of the credits entered by the user.
+ */
+public final class CreditRules {
+
+    /**
+     * Rules of a tax year that has none
+     */
+    public static final CreditRules NONE = new CreditRules(new String[0], new CreditExpression[0]);
+
+    /**
+     * Name of each credit
+     */
+    private final String[] names;
+
+    /**
+     * Compiled expression of each credit
+     */
+    private final CreditExpression[] expressions;
+
+    /**
+     * Creates a compiled set of credit rules using the given data.
+     *
+     * @param names       Name of each credit
+     * @param expressions Compiled expression of each credit
+     */
+    private CreditRules(String[] names, CreditExpression[] expressions) {
+
+        this.names = names;
+        this.expressions = expressions;
+    }
+
+    /**
+     * Compiles the given parsed rules for the given filing status.
+     *
+     * @param rules        Parsed rules
+     * @param filingStatus Filing status enum
+     */
+    public static CreditRules compile(List<CreditRule> rules, FilingStatus filingStatus) {
+
+        if (rules.isEmpty()) {
+            return NONE;
+        }
+
+        String[] names = new String[rules.size()];
+        CreditExpression[] expressions = new CreditExpression[rules.size()];
+        for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+            names[ruleIndex] = rules.get(ruleIndex).getName();
+            expressions[ruleIndex] = rules.get(ruleIndex).compile(filingStatus);
+        }
+        return new CreditRules(names, expressions);
+    }
+
+    /**
+     * Returns the number of rules.
+     */
+    public int getRuleCount() {
+        return expressions.length;
+    }
+
+    /**
+     * Returns the name of the credit at the given index.
+     *
+     * @param ruleIndex Zero-based rule index
+     */
+    public String getName(int ruleIndex) {
+        return names[ruleIndex];
+    }
+
+    /**
+     * Returns the credit (USD) the rule at the given index grants for the given inputs; never less than zero.
+     *
+     * @param ruleIndex          Zero-based rule index
+     * @param grossIncome        Gross income (USD), including the preferential income
+     * @param preferentialIncome Qualified dividends and long-term capital gains (USD) included in the gross income
+     * @param qualifyingChildren Number of qualifying children
+     */
+    public double evaluate(int ruleIndex, double grossIncome, double preferentialIncome, int qualifyingChildren) {
+
+        double investmentIncome = Math.max(preferentialIncome, 0.0);
+        double credit = expressions[ruleIndex].evaluate(
+                grossIncome, grossIncome - investmentIncome, investmentIncome, qualifyingChildren);
+
+        // Negative (or undefined) amounts grant no credit
+        return credit > 0.0 ? credit : 0.0;
+    }
+
+    /**
+     * Returns the total credits (USD) all the rules grant for the given inputs.
+     *
+     * @param grossIncome        Gross income (USD), including the preferential income
+     * @param preferentialIncome Qualified dividends and long-term capital gains (USD) included in the gross income
+     * @param qualifyingChildren Number of qualifying children
+     */
+    public double evaluate(double grossIncome, double preferentialIncome, int qualifyingChildren) {
+
+        double totalCredits = 0.0;
+        for (int ruleIndex = 0; ruleIndex < expressions.length; ruleIndex++) {
+            totalCredits += evaluate(ruleIndex, grossIncome, preferentialIncome, qualifyingChildren);
+        }
+        return totalCredits;
+    }
+}
@@ -0,0 +1,194 @@
+package com.jack.tax.engine;
+
+import java.util.Arrays;
+
+/**
+ * Federal tax owed as a piecewise linear function of itemized deductions, for a fixed tax year, filing status,
+ * gross income and credits.  Built from the bracket breakpoints of a compiled schedule, mirrored into deduction
+ * space (taxable income is gross income less the deduction), so the tax saved by each extra dollar of deduction
+ * is known for every range of deductions without re-running a calculation per amount.
+ *
+ * <p>Itemized deductions up to the standard deduction save nothing, because the standard deduction is taken
+ * instead; that is the first segment.  Beyond it every segment is in the itemized regime, down to the point
+ * where the deductions wipe out all gross income.
+ */
+public final class DeductionCurve {
+
+    /**
+     * Itemized deductions (USD) at which each segment starts, ascending; the first segment starts at zero
+     */
+    private final double[] segmentStarts;
+
+    /**
+     * Itemized deductions (USD) at which each segment ends; the last segment ends at the larger of the gross
+     * income and the standard deduction, beyond which there is nothing left to tax
+     */
+    private final double[] segmentEnds;
+
+    /**
+     * Federal tax owed (USD, after credits) at the start of each segment
+     */
+    private final double[] taxAtSegmentStarts;
+
+    /**
+     * Tax saved (%) on each extra dollar of itemized deductions within each segment
+     */
+    private final int[] segmentSavingsRates;
+
+    /**
+     * Standard deduction (USD), i.e. the itemized deductions at which itemizing starts to pay off
+     */
+    private final double standardDeduction;
+
+    /**
+     * Creates the deduction curve for the given schedule, gross income and credits.
+     *
+     * @param schedule     Compiled schedule for the tax year and filing status
+     * @param grossIncome  Gross income (USD)
+     * @param totalCredits Total credits (USD)
+     */
+    public DeductionCurve(CompiledTaxSchedule schedule, double grossIncome, double totalCredits) {
+
+        this.standardDeduction = schedule.getStandardDeduction();
+
+        // At most one segment for the standard regime, one per bracket and one per gap between brackets
+        int maxSegmentCount = 2 * schedule.getBracketCount() + 1;
+        double[] starts = new double[maxSegmentCount];
+        double[] ends = new double[maxSegmentCount];
+        double[] taxAtStarts = new double[maxSegmentCount];
+        int[] savingsRates = new int[maxSegmentCount];
+
+        // Itemized deductions up to the standard deduction do not change the taxable income
+        double taxableIncome = schedule.getTaxableIncome(grossIncome, 0.0);
+        int bracketIndex = schedule.getMaxTaxBracketIndex(taxableIncome);
+        int segmentCount = 0;
+        starts[segmentCount] = 0.0;
+        ends[segmentCount] = standardDeduction;
+        taxAtStarts[segmentCount] = schedule.getIncomeTax(taxableIncome, bracketIndex) - totalCredits;
+        savingsRates[segmentCount] = 0;
+        segmentCount++;
+
+        // Each extra dollar itemized beyond that lowers the taxable income by a dollar, walking the brackets
+        // down from the one the taxable income falls in
+        double deductions = standardDeduction;
+        for (; bracketIndex >= 0 && taxableIncome > 0.0; bracketIndex--) {
+
+            // Deductions that move the taxable income down through the bracket save the bracket's rate
+            double minIncome = schedule.getMinIncome(bracketIndex);
+            if (taxableIncome > minIncome) {
+                starts[segmentCount] = deductions;
+                ends[segmentCount] = grossIncome - minIncome;
+                taxAtStarts[segmentCount] = schedule.getIncomeTax(taxableIncome, bracketIndex) - totalCredits;
+                savingsRates[segmentCount] = schedule.getTaxRate(bracketIndex);
+                segmentCount++;
+                deductions = grossIncome - minIncome;
+                taxableIncome = minIncome;
+            }
+
+            // Deductions that move the taxable income through the gap below the bracket save nothing
+            double gapEnd = bracketIndex > 0 ? schedule.getMaxIncome(bracketIndex - 1) : 0.0;
+            if (taxableIncome > gapEnd) {
+                starts[segmentCount] = deductions;
+                ends[segmentCount] = grossIncome - gapEnd;
+                taxAtStarts[segmentCount] = schedule.getIncomeTax(taxableIncome, bracketIndex) - totalCredits;
+                savingsRates[segmentCount] = 0;
+                segmentCount++;
+                deductions = grossIncome - gapEnd;
+                taxableIncome = gapEnd;
+            }
+        }
+
+        this.segmentStarts = Arrays.copyOf(starts, segmentCount);
+        this.segmentEnds = Arrays.copyOf(ends, segmentCount);
+        this.taxAtSegmentStarts = Arrays.copyOf(taxAtStarts, segmentCount);
+        this.segmentSavingsRates = Arrays.copyOf(savingsRates, segmentCount);
+    }
+
+    /**
+     * Returns the standard deduction (USD), i.e. the itemized deductions at which itemizing starts to pay off.
+     */
+    public double getStandardDeduction() {
+        return standardDeduction;
+    }
+
+    /**
+     * Returns the number of linear segments.
+     */
+    public int getSegmentCount() {
+        return segmentStarts.length;
+    }
+
+    /**
+     * Returns the itemized deductions (USD) at which the segment at the given index starts.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public double getSegmentStart(int segmentIndex) {
+        return segmentStarts[segmentIndex];
+    }
+
+    /**
+     * Returns the itemized deductions (USD) at which the segment at the given index ends.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public double getSegmentEnd(int segmentIndex) {
+        return segmentEnds[segmentIndex];
+    }
+
+    /**
+     * Returns true if itemizing pays off within the segment at the given index, i.e. it starts at or beyond
+     * the standard deduction.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public boolean isItemizedSegment(int segmentIndex) {
+        return segmentIndex > 0;
+    }
+
+    /**
+     * Returns the tax saved (%) on each extra dollar of itemized deductions within the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public int getSegmentSavingsRate(int segmentIndex) {
+        return segmentSavingsRates[segmentIndex];
+    }
+
+    /**
+     * Returns the index of the segment in which the next dollar of itemized deductions falls, i.e. the first
+     * segment that ends beyond the given deductions.  Falls back to the last segment.
+     *
+     * @param totalDeductions Total itemized deductions (USD)
+     */
+    public int findSegmentIndex(double totalDeductions) {
+
+        int low = 0;
+        int high = segmentEnds.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (totalDeductions < segmentEnds[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the federal tax owed (USD, after credits) with the given itemized deductions, which must lie
+     * within the segment at the given index.  Deductions beyond the last segment leave nothing to tax.
+     *
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param segmentIndex    Zero-based index of the segment containing the deductions
+     */
+    public double getFederalTaxOwed(double totalDeductions, int segmentIndex) {
+
+        double deductions = Math.min(totalDeductions, segmentEnds[segmentIndex]);
+
+        return taxAtSegmentStarts[segmentIndex]
+                - (deductions - segmentStarts[segmentIndex]) * (segmentSavingsRates[segmentIndex] / 100.0);
+    }
+}
@@ -0,0 +1,18 @@
+package com.jack.tax.engine;
+
+/**
+ * Calculates federal tax owed for one tax year and filing status, all of the gross income being ordinary income.
+ * Implemented by {@link CompiledTaxSchedule}, which looks the brackets up in its arrays, and by the classes
+ * {@link ScheduleClassGenerator} generates with the brackets baked in as constants.
+ */
+public interface FederalTaxFunction {
+
+    /**
+     * Calculates federal tax owed (USD) for the given inputs.
+     *
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     */
+    public double federalTaxOwed(double grossIncome, double totalDeductions, double totalCredits);
+}
@@ -0,0 +1,89 @@
+package com.jack.tax.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws random gross incomes made up of an uncertain base salary (normally or lognormally distributed around its
+ * expected value) plus an uncertain, normally distributed bonus.  Neither part is ever negative.  Immutable, so one
+ * instance can be shared by every worker, each drawing from its own random number generator.
+ */
+public final class IncomeSampler {
+
+    /**
+     * True if the base salary is lognormally distributed, false if normally distributed
+     */
+    private final boolean lognormal;
+
+    /**
+     * Mean of the base salary (normal), or of its logarithm (lognormal)
+     */
+    private final double location;
+
+    /**
+     * Standard deviation of the base salary (normal), or of its logarithm (lognormal)
+     */
+    private final double scale;
+
+    /**
+     * Expected bonus (USD)
+     */
+    private final double expectedBonus;
+
+    /**
+     * Standard deviation (USD) of the bonus
+     */
+    private final double bonusStandardDeviation;
+
+    /**
+     * Creates an income sampler using the given data.
+     *
+     * @param lognormal                    True for a lognormally distributed base salary, false for normal
+     * @param expectedBaseSalary           Expected base salary (USD)
+     * @param baseSalaryStandardDeviation  Standard deviation (USD) of the base salary
+     * @param expectedBonus                Expected bonus (USD)
+     * @param bonusStandardDeviation       Standard deviation (USD) of the bonus
+     */
+    public IncomeSampler(boolean lognormal,
+                         double expectedBaseSalary,
+                         double baseSalaryStandardDeviation,
+                         double expectedBonus,
+                         double bonusStandardDeviation) {
+
+        if (lognormal && expectedBaseSalary <= 0) {
+            throw new IllegalArgumentException("A lognormal base salary must have a positive expected value");
+        }
+
+        this.lognormal = lognormal;
+        if (lognormal) {
+            // Match the lognormal's mean and standard deviation to the requested ones
+            double variance = Math.log1p((baseSalaryStandardDeviation * baseSalaryStandardDeviation)
+                    / (expectedBaseSalary * expectedBaseSalary));
+            this.location = Math.log(expectedBaseSalary) - variance / 2.0;
+            this.scale = Math.sqrt(variance);
+        } else {
+            this.location = expectedBaseSalary;
+            this.scale = baseSalaryStandardDeviation;
+        }
+        this.expectedBonus = expectedBonus;
+        this.bonusStandardDeviation = bonusStandardDeviation;
+    }
+
+    /**
+     * Draws one gross income (USD).
+     *
+     * @param random Random number generator owned by the calling worker
+     */
+    public double sample(SplittableRandom random) {
+
+        double baseSalary = location + scale * random.nextGaussian();
+        if (lognormal) {
+            baseSalary = Math.exp(baseSalary);
+        }
+
+        double bonus = bonusStandardDeviation > 0
+                ? expectedBonus + bonusStandardDeviation * random.nextGaussian()
+                : expectedBonus;
+
+        return Math.max(0.0, baseSalary) + Math.max(0.0, bonus);
+    }
+}
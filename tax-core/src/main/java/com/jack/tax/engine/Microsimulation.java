@@ -0,0 +1,391 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.PopulationGrouping;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the federal calculation for every household of a population file and aggregates the results by group
+ * (income decile, filing status or marginal tax rate) in one streaming pass over the memory-mapped columns.
+ * Records are processed in fixed-size chunks on every available core; each chunk aggregates into its own small
+ * array and the chunks are merged in order, so the results do not depend on the number of cores.
+ *
+ * <p>Income deciles need the weighted distribution of gross income first, which takes one extra (cheap) pass
+ * over the gross income and weight columns only.  Incomes are counted into fine logarithmic bins and each bin
+ * is assigned to a decile as a whole, so a decile's share of the households can differ from a tenth by the
+ * weight of one bin (each bin spans less than 0.04% of income).
+ */
+public final class Microsimulation {
+
+    /**
+     * Number of records per chunk; divides the population file's segment size so no chunk spans two segments
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Number of logarithmic gross income bins used to find the income deciles
+     */
+    private static final int INCOME_BIN_COUNT = 1 << 16;
+
+    /**
+     * Income bins per unit of log(1 + gross income), so that the max supported gross income falls in the last bin
+     */
+    private static final double INCOME_BINS_PER_LOG = INCOME_BIN_COUNT / Math.log1p(Integer.MAX_VALUE);
+
+    /**
+     * Number of deciles
+     */
+    private static final int DECILE_COUNT = 10;
+
+    /**
+     * Offsets of the aggregates within a group's slots
+     */
+    private static final int RECORD_COUNT = 0;
+    private static final int HOUSEHOLD_COUNT = 1;
+    private static final int GROSS_INCOME = 2;
+    private static final int FEDERAL_TAX_OWED = 3;
+    private static final int EFFECTIVE_TAX_RATE = 4;
+    private static final int MIN_GROSS_INCOME = 5;
+    private static final int MAX_GROSS_INCOME = 6;
+    private static final int AGGREGATE_COUNT = 7;
+
+    /**
+     * Population being simulated
+     */
+    private final PopulationFile population;
+
+    /**
+     * Compiled schedules indexed by filing status ordinal
+     */
+    private final CompiledTaxSchedule[] schedules;
+
+    /**
+     * How the households are grouped
+     */
+    private final PopulationGrouping grouping;
+
+    /**
+     * Ascending distinct marginal tax rates (%) of the schedules, when grouping by marginal tax rate
+     */
+    private final int[] taxRates;
+
+    /**
+     * Group of each marginal tax rate (%), when grouping by marginal tax rate
+     */
+    private final int[] groupsByTaxRate = new int[101];
+
+    /**
+     * Number of chunks the records are processed in
+     */
+    private final int chunkCount;
+
+    /**
+     * True to process chunks on every available core
+     */
+    private final boolean parallel;
+
+    /**
+     * Decile of each income bin, when grouping by income decile
+     */
+    private int[] groupsByIncomeBin;
+
+    /**
+     * Aggregates of each group, {@link #AGGREGATE_COUNT} slots per group
+     */
+    private double[] aggregates;
+
+    /**
+     * Creates a microsimulation using the given data.  Nothing is simulated until {@link #run()} is called.
+     *
+     * @param population Population to simulate
+     * @param taxYear    Compiled schedules of the tax year to simulate
+     * @param grouping   How the households are grouped
+     * @param parallel   True to process chunks on every available core, false to use the calling thread only
+     */
+    public Microsimulation(PopulationFile population,
+                           CompiledTaxYear taxYear,
+                           PopulationGrouping grouping,
+                           boolean parallel) {
+
+        this.population = population;
+        this.grouping = grouping;
+        this.parallel = parallel;
+        this.chunkCount = (int) ((population.getRecordCount() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        this.schedules = new CompiledTaxSchedule[filingStatuses.length];
+        for (FilingStatus filingStatus : filingStatuses) {
+            schedules[filingStatus.ordinal()] = taxYear.getSchedule(filingStatus);
+        }
+
+        // Every marginal tax rate of any schedule gets a group, in ascending order
+        this.taxRates = Arrays.stream(schedules)
+                .flatMapToInt(schedule -> IntStream.range(0, schedule.getBracketCount()).map(schedule::getTaxRate))
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int group = 0; group < taxRates.length; group++) {
+            groupsByTaxRate[taxRates[group]] = group;
+        }
+    }
+
+    /**
+     * Runs the microsimulation.
+     *
+     * @return This microsimulation, for chaining
+     */
+    public Microsimulation run() {
+
+        if (grouping == PopulationGrouping.INCOME_DECILE) {
+            groupsByIncomeBin = findIncomeDeciles();
+        }
+
+        // Each chunk aggregates into its own slots, merged in chunk order afterwards
+        int groupCount = getGroupCount();
+        double[][] chunkAggregates = new double[chunkCount][];
+        chunks().forEach(chunkIndex -> chunkAggregates[chunkIndex] = simulateChunk(chunkIndex, groupCount));
+
+        aggregates = createAggregates(groupCount);
+        for (double[] chunk : chunkAggregates) {
+            for (int group = 0; group < groupCount; group++) {
+                int slot = group * AGGREGATE_COUNT;
+                for (int aggregate = 0; aggregate < MIN_GROSS_INCOME; aggregate++) {
+                    aggregates[slot + aggregate] += chunk[slot + aggregate];
+                }
+                aggregates[slot + MIN_GROSS_INCOME] = Math.min(aggregates[slot + MIN_GROSS_INCOME], chunk[slot + MIN_GROSS_INCOME]);
+                aggregates[slot + MAX_GROSS_INCOME] = Math.max(aggregates[slot + MAX_GROSS_INCOME], chunk[slot + MAX_GROSS_INCOME]);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the number of groups.
+     */
+    public int getGroupCount() {
+
+        return switch (grouping) {
+            case INCOME_DECILE -> DECILE_COUNT;
+            case FILING_STATUS -> schedules.length;
+            case MARGINAL_TAX_RATE -> taxRates.length;
+        };
+    }
+
+    /**
+     * Returns the label of the group at the given index, e.g. "Decile 1", "SINGLE" or "22%".
+     *
+     * @param group Zero-based group index
+     */
+    public String getGroupLabel(int group) {
+
+        return switch (grouping) {
+            case INCOME_DECILE -> "Decile " + (group + 1);
+            case FILING_STATUS -> FilingStatus.values()[group].name();
+            case MARGINAL_TAX_RATE -> taxRates[group] + "%";
+        };
+    }
+
+    /**
+     * Returns the number of records in the group at the given index.
+     *
+     * @param group Zero-based group index
+     */
+    public long getRecordCount(int group) {
+        return (long) aggregates[group * AGGREGATE_COUNT + RECORD_COUNT];
+    }
+
+    /**
+     * Returns the number of households (i.e. the sum of the weights) in the group at the given index.
+     *
+     * @param group Zero-based group index
+     */
+    public double getHouseholdCount(int group) {
+        return aggregates[group * AGGREGATE_COUNT + HOUSEHOLD_COUNT];
+    }
+
+    /**
+     * Returns the weighted total gross income (USD) of the group at the given index.
+     *
+     * @param group Zero-based group index
+     */
+    public double getTotalGrossIncome(int group) {
+        return aggregates[group * AGGREGATE_COUNT + GROSS_INCOME];
+    }
+
+    /**
+     * Returns the weighted total federal tax owed (USD, after credits) of the group at the given index.
+     *
+     * @param group Zero-based group index
+     */
+    public double getTotalFederalTaxOwed(int group) {
+        return aggregates[group * AGGREGATE_COUNT + FEDERAL_TAX_OWED];
+    }
+
+    /**
+     * Returns the weighted sum of the households' effective tax rates (%) in the group at the given index;
+     * divide by the household count for the average.
+     *
+     * @param group Zero-based group index
+     */
+    public double getTotalEffectiveTaxRate(int group) {
+        return aggregates[group * AGGREGATE_COUNT + EFFECTIVE_TAX_RATE];
+    }
+
+    /**
+     * Returns the smallest gross income (USD) in the group at the given index, or zero if it has no records.
+     *
+     * @param group Zero-based group index
+     */
+    public double getMinGrossIncome(int group) {
+        return getRecordCount(group) > 0 ? aggregates[group * AGGREGATE_COUNT + MIN_GROSS_INCOME] : 0.0;
+    }
+
+    /**
+     * Returns the largest gross income (USD) in the group at the given index, or zero if it has no records.
+     *
+     * @param group Zero-based group index
+     */
+    public double getMaxGrossIncome(int group) {
+        return getRecordCount(group) > 0 ? aggregates[group * AGGREGATE_COUNT + MAX_GROSS_INCOME] : 0.0;
+    }
+
+    /**
+     * Returns the chunk indexes, as a parallel stream if requested.
+     */
+    private IntStream chunks() {
+
+        IntStream chunks = IntStream.range(0, chunkCount);
+
+        return parallel ? chunks.parallel() : chunks;
+    }
+
+    /**
+     * Returns empty aggregates for the given number of groups.
+     *
+     * @param groupCount Number of groups
+     */
+    private static double[] createAggregates(int groupCount) {
+
+        double[] aggregates = new double[groupCount * AGGREGATE_COUNT];
+        for (int group = 0; group < groupCount; group++) {
+            aggregates[group * AGGREGATE_COUNT + MIN_GROSS_INCOME] = Double.POSITIVE_INFINITY;
+            aggregates[group * AGGREGATE_COUNT + MAX_GROSS_INCOME] = Double.NEGATIVE_INFINITY;
+        }
+
+        return aggregates;
+    }
+
+    /**
+     * Calculates federal tax owed for every record of the chunk at the given index and aggregates by group.
+     *
+     * @param chunkIndex Zero-based chunk index
+     * @param groupCount Number of groups
+     * @return The chunk's aggregates
+     */
+    private double[] simulateChunk(int chunkIndex, int groupCount) {
+
+        double[] chunk = createAggregates(groupCount);
+
+        // Chunks never span two segments
+        long start = (long) chunkIndex * CHUNK_SIZE;
+        int segmentIndex = (int) (start / PopulationFile.SEGMENT_SIZE);
+        int first = (int) (start % PopulationFile.SEGMENT_SIZE);
+        int last = first + (int) Math.min(CHUNK_SIZE, population.getRecordCount() - start);
+        ByteBuffer filingStatuses = population.getFilingStatuses(segmentIndex);
+        DoubleBuffer grossIncomes = population.getGrossIncomes(segmentIndex);
+        DoubleBuffer totalDeductions = population.getTotalDeductions(segmentIndex);
+        DoubleBuffer totalCredits = population.getTotalCredits(segmentIndex);
+        DoubleBuffer weights = population.getWeights(segmentIndex);
+
+        for (int index = first; index < last; index++) {
+
+            int filingStatus = filingStatuses.get(index);
+            if (filingStatus < 0 || filingStatus >= schedules.length) {
+                throw new IllegalArgumentException("Population record " + (start + index - first)
+                        + " has an unknown filing status " + filingStatus);
+            }
+            CompiledTaxSchedule schedule = schedules[filingStatus];
+            double grossIncome = grossIncomes.get(index);
+            double weight = weights.get(index);
+
+            double taxableIncome = schedule.getTaxableIncome(grossIncome, totalDeductions.get(index));
+            int maxTaxBracketIndex = schedule.getMaxTaxBracketIndex(taxableIncome);
+            double federalTaxOwed = schedule.getIncomeTax(taxableIncome, maxTaxBracketIndex) - totalCredits.get(index);
+            double effectiveTaxRate = grossIncome == 0 ? 0.0 : (federalTaxOwed / grossIncome) * 100.0;
+
+            int group = switch (grouping) {
+                case INCOME_DECILE -> groupsByIncomeBin[toIncomeBin(grossIncome)];
+                case FILING_STATUS -> filingStatus;
+                case MARGINAL_TAX_RATE -> groupsByTaxRate[schedule.getTaxRate(maxTaxBracketIndex)];
+            };
+            int slot = group * AGGREGATE_COUNT;
+            chunk[slot + RECORD_COUNT]++;
+            chunk[slot + HOUSEHOLD_COUNT] += weight;
+            chunk[slot + GROSS_INCOME] += weight * grossIncome;
+            chunk[slot + FEDERAL_TAX_OWED] += weight * federalTaxOwed;
+            chunk[slot + EFFECTIVE_TAX_RATE] += weight * effectiveTaxRate;
+            chunk[slot + MIN_GROSS_INCOME] = Math.min(chunk[slot + MIN_GROSS_INCOME], grossIncome);
+            chunk[slot + MAX_GROSS_INCOME] = Math.max(chunk[slot + MAX_GROSS_INCOME], grossIncome);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Finds the decile of every income bin from the weighted distribution of gross income: each bin goes to the
+     * decile its middle household falls in.
+     */
+    private int[] findIncomeDeciles() {
+
+        // Weighted income histogram, one per worker to keep the memory bounded by the number of cores
+        int workerCount = parallel ? Math.min(Runtime.getRuntime().availableProcessors(), Math.max(1, chunkCount)) : 1;
+        double[][] workerWeights = new double[workerCount][INCOME_BIN_COUNT];
+        IntStream workers = IntStream.range(0, workerCount);
+        (workerCount > 1 ? workers.parallel() : workers).forEach(worker -> {
+            for (int chunkIndex = worker; chunkIndex < chunkCount; chunkIndex += workerCount) {
+                long start = (long) chunkIndex * CHUNK_SIZE;
+                int segmentIndex = (int) (start / PopulationFile.SEGMENT_SIZE);
+                int first = (int) (start % PopulationFile.SEGMENT_SIZE);
+                int last = first + (int) Math.min(CHUNK_SIZE, population.getRecordCount() - start);
+                DoubleBuffer grossIncomes = population.getGrossIncomes(segmentIndex);
+                DoubleBuffer weights = population.getWeights(segmentIndex);
+                for (int index = first; index < last; index++) {
+                    workerWeights[worker][toIncomeBin(grossIncomes.get(index))] += weights.get(index);
+                }
+            }
+        });
+
+        double[] binWeights = new double[INCOME_BIN_COUNT];
+        double totalWeight = 0.0;
+        for (int bin = 0; bin < INCOME_BIN_COUNT; bin++) {
+            for (double[] weights : workerWeights) {
+                binWeights[bin] += weights[bin];
+            }
+            totalWeight += binWeights[bin];
+        }
+
+        int[] deciles = new int[INCOME_BIN_COUNT];
+        double weightBelow = 0.0;
+        for (int bin = 0; bin < INCOME_BIN_COUNT; bin++) {
+            double middle = weightBelow + binWeights[bin] / 2.0;
+            deciles[bin] = totalWeight > 0.0 ? Math.min(DECILE_COUNT - 1, (int) (middle / totalWeight * DECILE_COUNT)) : 0;
+            weightBelow += binWeights[bin];
+        }
+
+        return deciles;
+    }
+
+    /**
+     * Returns the logarithmic income bin of the given gross income.
+     *
+     * @param grossIncome Gross income (USD)
+     */
+    private static int toIncomeBin(double grossIncome) {
+        return Math.min(INCOME_BIN_COUNT - 1, (int) (Math.log1p(Math.max(0.0, grossIncome)) * INCOME_BINS_PER_LOG));
+    }
+}
@@ -0,0 +1,73 @@
+package com.jack.tax.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for working with monetary amounts (USD) held as doubles.
+ */
+public final class Money {
+
+    /**
+     * Values this large (in cents) have no fractional part left to round
+     */
+    private static final double MAX_EXACT_CENTS = 0x1p52;
+
+    /**
+     * Not meant to be instantiated
+     */
+    private Money() {
+    }
+
+    /**
+     * Rounds the given amount to two decimal places using banker's rounding (half even) applied to the amount's
+     * shortest decimal representation, which is how tax outputs have always been rounded.  Amounts that are not
+     * close to a half cent are rounded arithmetically; only near-ties fall back to {@link BigDecimal}, so the
+     * result is identical to the decimal rounding but usually does not allocate.
+     *
+     * @param amount Amount to round
+     */
+    public static double roundToCents(double amount) {
+
+        double cents = amount * 100.0;
+        double absoluteCents = Math.abs(cents);
+        if (absoluteCents < MAX_EXACT_CENTS) {
+
+            // The product carries a rounding error of a few ulps at most, so only a fractional part
+            // within that distance of one half is ambiguous
+            double roundedCents = Math.rint(cents);
+            if (Math.abs(Math.abs(cents - roundedCents) - 0.5) > absoluteCents * 0x1p-45) {
+
+                // Adding zero turns a negative zero into a positive one, like decimal rounding does
+                return roundedCents / 100.0 + 0.0;
+            }
+        }
+
+        return roundToCentsExactly(amount);
+    }
+
+    /**
+     * Rounds the given amount to two decimal places using banker's rounding (half even) applied to the amount's
+     * shortest decimal representation.
+     *
+     * @param amount Amount to round
+     */
+    public static double roundToCentsExactly(double amount) {
+
+        return new BigDecimal(Double.toString(amount)).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    /**
+     * Rounds the given amount up to the next whole cent, ignoring the tiny excess that floating point
+     * arithmetic can leave on an amount that is already a whole number of cents.
+     *
+     * @param amount Amount to round
+     */
+    public static double roundUpToCents(double amount) {
+
+        // As when rounding to the nearest cent, the product carries a rounding error of a few ulps at most
+        double cents = amount * 100.0;
+
+        return Math.ceil(cents - Math.abs(cents) * 0x1p-45) / 100.0 + 0.0;
+    }
+}
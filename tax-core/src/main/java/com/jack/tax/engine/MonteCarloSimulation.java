@@ -0,0 +1,507 @@
+package com.jack.tax.engine;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Simulates gross income, federal tax owed and take home pay for many randomly drawn incomes, keeping only
+ * summary statistics so memory does not grow with the number of samples.  No per-sample results are kept:
+ * samples are drawn in fixed-size chunks, each chunk with its own random number generator split off a seeded
+ * root, and every chunk is simulated twice.  The first pass finds the range, mean and standard deviation of
+ * each output; the second pass draws the very same samples again and counts them into histograms over that
+ * range, a fine one for the percentiles and a coarse one for the caller.
+ *
+ * <p>Chunks rather than workers own the random number generators, and chunk statistics are merged in chunk
+ * order, so a given seed gives the same results however many cores run the simulation.
+ */
+public final class MonteCarloSimulation {
+
+    /**
+     * Index of the simulated gross income (USD) in the outputs
+     */
+    public static final int GROSS_INCOME = 0;
+
+    /**
+     * Index of the simulated federal tax owed (USD, after credits) in the outputs
+     */
+    public static final int FEDERAL_TAX_OWED = 1;
+
+    /**
+     * Index of the simulated take home pay (USD) in the outputs
+     */
+    public static final int TAKE_HOME_PAY = 2;
+
+    /**
+     * Number of simulated outputs
+     */
+    private static final int OUTPUT_COUNT = 3;
+
+    /**
+     * Number of samples drawn from each chunk's random number generator
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Number of histogram bins the percentiles are interpolated from, i.e. each percentile is accurate to
+     * within 1/16384th of the range of its output
+     */
+    private static final int PERCENTILE_BIN_COUNT = 1 << 14;
+
+    /**
+     * Compiled schedule for the tax year and filing status
+     */
+    private final CompiledTaxSchedule schedule;
+
+    /**
+     * Total itemized deductions (USD)
+     */
+    private final double totalDeductions;
+
+    /**
+     * Total credits (USD)
+     */
+    private final double totalCredits;
+
+    /**
+     * Number of qualifying children the credit rules are evaluated for
+     */
+    private final int qualifyingChildren;
+
+    /**
+     * Draws the random gross incomes
+     */
+    private final IncomeSampler incomeSampler;
+
+    /**
+     * Number of samples
+     */
+    private final int sampleCount;
+
+    /**
+     * Seed for the root random number generator
+     */
+    private final long seed;
+
+    /**
+     * Number of chunks the samples are drawn in
+     */
+    private final int chunkCount;
+
+    /**
+     * Number of workers that simulate chunks at the same time
+     */
+    private final int workerCount;
+
+    /**
+     * Smallest sample of each output
+     */
+    private final double[] mins = new double[OUTPUT_COUNT];
+
+    /**
+     * Largest sample of each output
+     */
+    private final double[] maxes = new double[OUTPUT_COUNT];
+
+    /**
+     * Mean of each output
+     */
+    private final double[] means = new double[OUTPUT_COUNT];
+
+    /**
+     * Sum of squared differences from the mean of each output
+     */
+    private final double[] squaredDeviations = new double[OUTPUT_COUNT];
+
+    /**
+     * Fine histogram of each output over its range, used for the percentiles
+     */
+    private final long[][] percentileCounts = new long[OUTPUT_COUNT][];
+
+    /**
+     * Requested histogram of each output over its range
+     */
+    private final long[][] histogramCounts = new long[OUTPUT_COUNT][];
+
+    /**
+     * Creates a simulation using the given data.  Nothing is simulated until {@link #run(int)} is called.
+     *
+     * @param schedule           Compiled schedule for the tax year and filing status
+     * @param totalDeductions    Total itemized deductions (USD)
+     * @param totalCredits       Total credits (USD)
+     * @param qualifyingChildren Number of qualifying children the credit rules are evaluated for
+     * @param incomeSampler      Draws the random gross incomes
+     * @param sampleCount        Number of samples, at least one
+     * @param seed               Seed for the root random number generator
+     * @param parallel           True to simulate chunks on every available core, false to use the calling thread
+     *                           only
+     */
+    public MonteCarloSimulation(CompiledTaxSchedule schedule,
+                                double totalDeductions,
+                                double totalCredits,
+                                int qualifyingChildren,
+                                IncomeSampler incomeSampler,
+                                int sampleCount,
+                                long seed,
+                                boolean parallel) {
+
+        if (sampleCount < 1) {
+            throw new IllegalArgumentException("Sample count must be at least 1");
+        }
+
+        this.schedule = schedule;
+        this.totalDeductions = totalDeductions;
+        this.totalCredits = totalCredits;
+        this.qualifyingChildren = qualifyingChildren;
+        this.incomeSampler = incomeSampler;
+        this.sampleCount = sampleCount;
+        this.seed = seed;
+        this.chunkCount = (int) ((sampleCount + (long) CHUNK_SIZE - 1) / CHUNK_SIZE);
+        this.workerCount = parallel ? Math.min(Runtime.getRuntime().availableProcessors(), chunkCount) : 1;
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param histogramBinCount Number of equally wide histogram bins per output, at least one
+     * @return This simulation, for chaining
+     */
+    public MonteCarloSimulation run(int histogramBinCount) {
+
+        if (histogramBinCount < 1) {
+            throw new IllegalArgumentException("Histogram bin count must be at least 1");
+        }
+
+        // Each chunk's random number generator is split off the root in chunk order, so it is the same
+        // in both passes and on any number of cores
+        SplittableRandom[] chunkRandoms = splitChunkRandoms();
+
+        // Pass 1: range, mean and squared deviations of each output per chunk
+        double[] chunkMins = new double[chunkCount * OUTPUT_COUNT];
+        double[] chunkMaxes = new double[chunkCount * OUTPUT_COUNT];
+        double[] chunkMeans = new double[chunkCount * OUTPUT_COUNT];
+        double[] chunkSquaredDeviations = new double[chunkCount * OUTPUT_COUNT];
+        workers().forEach(worker -> {
+            for (int chunkIndex = worker; chunkIndex < chunkCount; chunkIndex += workerCount) {
+                summarizeChunk(chunkIndex, chunkRandoms[chunkIndex],
+                        chunkMins, chunkMaxes, chunkMeans, chunkSquaredDeviations);
+            }
+        });
+        mergeChunkSummaries(chunkMins, chunkMaxes, chunkMeans, chunkSquaredDeviations);
+
+        // Pass 2: the same samples again, counted into histograms over each output's range
+        SplittableRandom[] secondPassRandoms = splitChunkRandoms();
+        long[][][] workerPercentileCounts = new long[workerCount][OUTPUT_COUNT][PERCENTILE_BIN_COUNT];
+        long[][][] workerHistogramCounts = new long[workerCount][OUTPUT_COUNT][histogramBinCount];
+        workers().forEach(worker -> {
+            for (int chunkIndex = worker; chunkIndex < chunkCount; chunkIndex += workerCount) {
+                countChunk(chunkIndex, secondPassRandoms[chunkIndex],
+                        workerPercentileCounts[worker], workerHistogramCounts[worker]);
+            }
+        });
+        for (int output = 0; output < OUTPUT_COUNT; output++) {
+            percentileCounts[output] = new long[PERCENTILE_BIN_COUNT];
+            histogramCounts[output] = new long[histogramBinCount];
+            for (int worker = 0; worker < workerCount; worker++) {
+                addCounts(percentileCounts[output], workerPercentileCounts[worker][output]);
+                addCounts(histogramCounts[output], workerHistogramCounts[worker][output]);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the number of samples.
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Returns the smallest sample of the given output.
+     *
+     * @param output Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     */
+    public double getMin(int output) {
+        return mins[output];
+    }
+
+    /**
+     * Returns the largest sample of the given output.
+     *
+     * @param output Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     */
+    public double getMax(int output) {
+        return maxes[output];
+    }
+
+    /**
+     * Returns the mean of the given output.
+     *
+     * @param output Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     */
+    public double getMean(int output) {
+        return means[output];
+    }
+
+    /**
+     * Returns the (population) standard deviation of the given output.
+     *
+     * @param output Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     */
+    public double getStandardDeviation(int output) {
+        return Math.sqrt(squaredDeviations[output] / sampleCount);
+    }
+
+    /**
+     * Returns the given percentile of the given output, interpolated linearly between the ranked samples and
+     * within the fine histogram bin the rank falls in.
+     *
+     * @param output     Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     * @param percentile Percentile (%), from 0 to 100
+     */
+    public double getPercentile(int output, double percentile) {
+
+        double min = mins[output];
+        double max = maxes[output];
+        double binWidth = (max - min) / PERCENTILE_BIN_COUNT;
+        long[] counts = percentileCounts[output];
+
+        // Zero-based rank of the percentile among the sorted samples
+        double rank = (percentile / 100.0) * (sampleCount - 1);
+
+        long countBelow = 0;
+        for (int bin = 0; bin < PERCENTILE_BIN_COUNT; bin++) {
+            long count = counts[bin];
+            if (count > 0 && rank < countBelow + count) {
+                // Spread the bin's samples evenly across it
+                double value = min + binWidth * (bin + (rank - countBelow + 0.5) / count);
+                return Math.min(max, Math.max(min, value));
+            }
+            countBelow += count;
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the width of each bin of the given output's histogram, the first of which starts at the output's
+     * smallest sample.
+     *
+     * @param output Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     */
+    public double getHistogramBinWidth(int output) {
+        return (maxes[output] - mins[output]) / histogramCounts[output].length;
+    }
+
+    /**
+     * Returns the number of samples in each bin of the given output's histogram, in ascending order.
+     *
+     * @param output Index of the output, e.g. {@link #FEDERAL_TAX_OWED}
+     */
+    public long[] getHistogramCounts(int output) {
+        return histogramCounts[output].clone();
+    }
+
+    /**
+     * Splits one random number generator per chunk off a freshly seeded root, in chunk order.
+     */
+    private SplittableRandom[] splitChunkRandoms() {
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunkCount];
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            chunkRandoms[chunkIndex] = root.split();
+        }
+
+        return chunkRandoms;
+    }
+
+    /**
+     * Returns the worker indexes, as a parallel stream if there is more than one worker.
+     */
+    private IntStream workers() {
+
+        IntStream workers = IntStream.range(0, workerCount);
+
+        return workerCount > 1 ? workers.parallel() : workers;
+    }
+
+    /**
+     * Returns the number of samples in the chunk at the given index; only the last chunk can be partial.
+     *
+     * @param chunkIndex Zero-based chunk index
+     */
+    private int getChunkSampleCount(int chunkIndex) {
+        return (int) Math.min(CHUNK_SIZE, sampleCount - (long) chunkIndex * CHUNK_SIZE);
+    }
+
+    /**
+     * Simulates the chunk at the given index and stores the range, mean and squared deviations of each output
+     * at the chunk's slots of the given arrays.
+     *
+     * @param chunkIndex             Zero-based chunk index
+     * @param random                 The chunk's random number generator
+     * @param chunkMins              Receives the smallest sample of each output
+     * @param chunkMaxes             Receives the largest sample of each output
+     * @param chunkMeans             Receives the mean of each output
+     * @param chunkSquaredDeviations Receives the sum of squared differences from the mean of each output
+     */
+    private void summarizeChunk(int chunkIndex,
+                                SplittableRandom random,
+                                double[] chunkMins,
+                                double[] chunkMaxes,
+                                double[] chunkMeans,
+                                double[] chunkSquaredDeviations) {
+
+        double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] mean = new double[OUTPUT_COUNT];
+        double[] squaredDeviation = new double[OUTPUT_COUNT];
+        double[] outputs = new double[OUTPUT_COUNT];
+
+        int chunkSampleCount = getChunkSampleCount(chunkIndex);
+        for (int sampleIndex = 0; sampleIndex < chunkSampleCount; sampleIndex++) {
+
+            simulateSample(random, outputs);
+
+            // Welford's running mean and squared deviations
+            for (int output = 0; output < OUTPUT_COUNT; output++) {
+                double value = outputs[output];
+                min[output] = Math.min(min[output], value);
+                max[output] = Math.max(max[output], value);
+                double delta = value - mean[output];
+                mean[output] += delta / (sampleIndex + 1);
+                squaredDeviation[output] += delta * (value - mean[output]);
+            }
+        }
+
+        int slot = chunkIndex * OUTPUT_COUNT;
+        System.arraycopy(min, 0, chunkMins, slot, OUTPUT_COUNT);
+        System.arraycopy(max, 0, chunkMaxes, slot, OUTPUT_COUNT);
+        System.arraycopy(mean, 0, chunkMeans, slot, OUTPUT_COUNT);
+        System.arraycopy(squaredDeviation, 0, chunkSquaredDeviations, slot, OUTPUT_COUNT);
+    }
+
+    /**
+     * Merges the per-chunk ranges, means and squared deviations in chunk order.
+     *
+     * @param chunkMins              Smallest sample of each output per chunk
+     * @param chunkMaxes             Largest sample of each output per chunk
+     * @param chunkMeans             Mean of each output per chunk
+     * @param chunkSquaredDeviations Sum of squared differences from the mean of each output per chunk
+     */
+    private void mergeChunkSummaries(double[] chunkMins,
+                                     double[] chunkMaxes,
+                                     double[] chunkMeans,
+                                     double[] chunkSquaredDeviations) {
+
+        for (int output = 0; output < OUTPUT_COUNT; output++) {
+
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double mean = 0.0;
+            double squaredDeviation = 0.0;
+            long count = 0;
+            for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+
+                int slot = chunkIndex * OUTPUT_COUNT + output;
+                long chunkSampleCount = getChunkSampleCount(chunkIndex);
+                min = Math.min(min, chunkMins[slot]);
+                max = Math.max(max, chunkMaxes[slot]);
+
+                // Chan et al.'s pairwise combination of means and squared deviations
+                long mergedCount = count + chunkSampleCount;
+                double delta = chunkMeans[slot] - mean;
+                mean += delta * chunkSampleCount / mergedCount;
+                squaredDeviation += chunkSquaredDeviations[slot]
+                        + delta * delta * ((double) count * chunkSampleCount / mergedCount);
+                count = mergedCount;
+            }
+
+            mins[output] = min;
+            maxes[output] = max;
+            means[output] = mean;
+            squaredDeviations[output] = squaredDeviation;
+        }
+    }
+
+    /**
+     * Simulates the chunk at the given index again and counts each output into the given histograms, which
+     * span the output's range.
+     *
+     * @param chunkIndex       Zero-based chunk index
+     * @param random           The chunk's random number generator, in the same state as for the first pass
+     * @param percentileCounts Fine histogram of each output
+     * @param histogramCounts  Requested histogram of each output
+     */
+    private void countChunk(int chunkIndex,
+                            SplittableRandom random,
+                            long[][] percentileCounts,
+                            long[][] histogramCounts) {
+
+        // Bins per dollar of each output; an output whose samples are all equal has every sample in bin zero
+        double[] percentileScales = new double[OUTPUT_COUNT];
+        double[] histogramScales = new double[OUTPUT_COUNT];
+        for (int output = 0; output < OUTPUT_COUNT; output++) {
+            double range = maxes[output] - mins[output];
+            percentileScales[output] = range > 0.0 ? PERCENTILE_BIN_COUNT / range : 0.0;
+            histogramScales[output] = range > 0.0 ? histogramCounts[output].length / range : 0.0;
+        }
+
+        double[] outputs = new double[OUTPUT_COUNT];
+        int chunkSampleCount = getChunkSampleCount(chunkIndex);
+        for (int sampleIndex = 0; sampleIndex < chunkSampleCount; sampleIndex++) {
+
+            simulateSample(random, outputs);
+
+            for (int output = 0; output < OUTPUT_COUNT; output++) {
+                double offset = outputs[output] - mins[output];
+                percentileCounts[output][toBin(offset * percentileScales[output], PERCENTILE_BIN_COUNT)]++;
+                histogramCounts[output][toBin(offset * histogramScales[output], histogramCounts[output].length)]++;
+            }
+        }
+    }
+
+    /**
+     * Draws one gross income and calculates the federal tax owed and take home pay on it, applying the credits the
+     * credit rules grant at that income on top of the credits entered.
+     *
+     * @param random  The chunk's random number generator
+     * @param outputs Receives the gross income, federal tax owed and take home pay (USD)
+     */
+    private void simulateSample(SplittableRandom random, double[] outputs) {
+
+        double grossIncome = incomeSampler.sample(random);
+        double federalTaxOwed = TaxEngine.federalTaxOwed(schedule, grossIncome, totalDeductions,
+                totalCredits + schedule.getCreditRules().evaluate(grossIncome, 0.0, qualifyingChildren));
+
+        outputs[GROSS_INCOME] = grossIncome;
+        outputs[FEDERAL_TAX_OWED] = federalTaxOwed;
+        outputs[TAKE_HOME_PAY] = grossIncome - federalTaxOwed;
+    }
+
+    /**
+     * Returns the histogram bin for the given scaled offset from the start of the range; the end of the range
+     * belongs to the last bin.
+     *
+     * @param scaledOffset Offset from the start of the range, in bins
+     * @param binCount     Number of bins
+     */
+    private static int toBin(double scaledOffset, int binCount) {
+        return Math.min(binCount - 1, Math.max(0, (int) scaledOffset));
+    }
+
+    /**
+     * Adds the counts of one histogram to another.
+     *
+     * @param total  Histogram that receives the counts
+     * @param counts Histogram whose counts are added
+     */
+    private static void addCounts(long[] total, long[] counts) {
+
+        for (int bin = 0; bin < total.length; bin++) {
+            total[bin] += counts[bin];
+        }
+    }
+}
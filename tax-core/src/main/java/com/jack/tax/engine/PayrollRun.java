@@ -0,0 +1,224 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.util.stream.IntStream;
+
+/**
+ * Per-pay-period federal income tax withholding for every employee of a payroll run, using the annualized
+ * (cumulative) wage method: the wages paid so far this year, including this period, are annualized, the
+ * federal tax owed on the annualized wages is prorated back to the pay periods elapsed, and whatever of that
+ * has not been withheld yet is withheld this period.  Any over- or under-withholding from earlier periods is
+ * therefore trued up as the year goes on.
+ *
+ * <p>The inputs and outputs are kept in one primitive array per column, and employees are processed in
+ * fixed-size chunks on every available core against the one compiled tax year, so a run allocates nothing
+ * per employee.
+ */
+public final class PayrollRun {
+
+    /**
+     * Number of employees per chunk
+     */
+    private static final int CHUNK_SIZE = 1 << 12;
+
+    /**
+     * Compiled schedules indexed by filing status ordinal
+     */
+    private final FederalTaxFunction[] federalTaxFunctions;
+
+    /**
+     * Number of pay periods per year
+     */
+    private final int payPeriodsPerYear;
+
+    /**
+     * Filing status ordinal of each employee
+     */
+    private final byte[] filingStatuses;
+
+    /**
+     * One-based number of the current pay period within the year of each employee
+     */
+    private final int[] payPeriods;
+
+    /**
+     * Gross pay (USD) for the current pay period of each employee
+     */
+    private final double[] grossPays;
+
+    /**
+     * Gross pay (USD) before the current pay period this year of each employee
+     */
+    private final double[] ytdGrossPays;
+
+    /**
+     * Federal income tax (USD) withheld before the current pay period this year of each employee
+     */
+    private final double[] ytdWithholdings;
+
+    /**
+     * Expected annual itemized deductions (USD) of each employee
+     */
+    private final double[] totalDeductions;
+
+    /**
+     * Expected annual credits (USD) of each employee
+     */
+    private final double[] totalCredits;
+
+    /**
+     * Annualized wages (USD, rounded to cents) of each employee
+     */
+    private final double[] annualizedWages;
+
+    /**
+     * Federal tax owed (USD, rounded to cents) on the annualized wages of each employee
+     */
+    private final double[] annualFederalTaxOwed;
+
+    /**
+     * Federal income tax (USD, rounded to cents) to withhold for the current pay period of each employee
+     */
+    private final double[] withholdings;
+
+    /**
+     * Creates a payroll run using the given data.  The input arrays must all have one element per employee.
+     * Nothing is calculated until {@link #run(boolean)} is called.
+     *
+     * @param compiledTaxYear   Compiled schedules for the tax year of the run
+     * @param payPeriodsPerYear Number of pay periods per year
+     * @param filingStatuses    Filing status of each employee
+     * @param payPeriods        One-based number of the current pay period within the year of each employee
+     * @param grossPays         Gross pay (USD) for the current pay period of each employee
+     * @param ytdGrossPays      Gross pay (USD) before the current pay period this year of each employee
+     * @param ytdWithholdings   Federal income tax (USD) withheld before the current pay period this year of each
+     *                          employee
+     * @param totalDeductions   Expected annual itemized deductions (USD) of each employee
+     * @param totalCredits      Expected annual credits (USD) of each employee
+     */
+    public PayrollRun(CompiledTaxYear compiledTaxYear,
+                      int payPeriodsPerYear,
+                      FilingStatus[] filingStatuses,
+                      int[] payPeriods,
+                      double[] grossPays,
+                      double[] ytdGrossPays,
+                      double[] ytdWithholdings,
+                      double[] totalDeductions,
+                      double[] totalCredits) {
+
+        int employeeCount = filingStatuses.length;
+        if (payPeriods.length != employeeCount || grossPays.length != employeeCount
+                || ytdGrossPays.length != employeeCount || ytdWithholdings.length != employeeCount
+                || totalDeductions.length != employeeCount || totalCredits.length != employeeCount) {
+            throw new IllegalArgumentException("Every payroll column must have the same number of employees");
+        }
+        if (payPeriodsPerYear < 1) {
+            throw new IllegalArgumentException("A payroll run must have at least one pay period per year");
+        }
+
+        FilingStatus[] allFilingStatuses = FilingStatus.values();
+        this.federalTaxFunctions = new FederalTaxFunction[allFilingStatuses.length];
+        for (FilingStatus filingStatus : allFilingStatuses) {
+            federalTaxFunctions[filingStatus.ordinal()] = compiledTaxYear.getFederalTaxFunction(filingStatus);
+        }
+
+        this.payPeriodsPerYear = payPeriodsPerYear;
+        this.filingStatuses = new byte[employeeCount];
+        for (int index = 0; index < employeeCount; index++) {
+            this.filingStatuses[index] = (byte) filingStatuses[index].ordinal();
+            if (payPeriods[index] < 1 || payPeriods[index] > payPeriodsPerYear) {
+                throw new IllegalArgumentException("Pay period of employee " + index + " must be between 1 and "
+                        + payPeriodsPerYear);
+            }
+        }
+        this.payPeriods = payPeriods.clone();
+        this.grossPays = grossPays.clone();
+        this.ytdGrossPays = ytdGrossPays.clone();
+        this.ytdWithholdings = ytdWithholdings.clone();
+        this.totalDeductions = totalDeductions.clone();
+        this.totalCredits = totalCredits.clone();
+        this.annualizedWages = new double[employeeCount];
+        this.annualFederalTaxOwed = new double[employeeCount];
+        this.withholdings = new double[employeeCount];
+    }
+
+    /**
+     * Calculates the withholding of every employee, one chunk of employees at a time.
+     *
+     * @param parallel True to process chunks on every available core, false to use the calling thread only
+     * @return This payroll run, for chaining
+     */
+    public PayrollRun run(boolean parallel) {
+
+        IntStream chunks = IntStream.range(0, (getEmployeeCount() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        (parallel ? chunks.parallel() : chunks).forEach(this::runChunk);
+
+        return this;
+    }
+
+    /**
+     * Returns the number of employees.
+     */
+    public int getEmployeeCount() {
+        return filingStatuses.length;
+    }
+
+    /**
+     * Returns the annualized wages (USD, rounded to cents) of the employee at the given index.
+     *
+     * @param index Zero-based employee index
+     */
+    public double getAnnualizedWages(int index) {
+        return annualizedWages[index];
+    }
+
+    /**
+     * Returns the federal tax owed (USD, rounded to cents) on the annualized wages of the employee at the given
+     * index.
+     *
+     * @param index Zero-based employee index
+     */
+    public double getAnnualFederalTaxOwed(int index) {
+        return annualFederalTaxOwed[index];
+    }
+
+    /**
+     * Returns the federal income tax (USD, rounded to cents) to withhold for the current pay period of the
+     * employee at the given index.
+     *
+     * @param index Zero-based employee index
+     */
+    public double getWithholding(int index) {
+        return withholdings[index];
+    }
+
+    /**
+     * Calculates the withholding of every employee in the chunk at the given index.
+     *
+     * @param chunkIndex Zero-based chunk index
+     */
+    private void runChunk(int chunkIndex) {
+
+        int first = chunkIndex * CHUNK_SIZE;
+        int last = Math.min(first + CHUNK_SIZE, getEmployeeCount());
+        for (int index = first; index < last; index++) {
+
+            // Annualize the wages paid so far this year, including this period
+            int payPeriodsElapsed = payPeriods[index];
+            double wagesToDate = ytdGrossPays[index] + grossPays[index];
+            double annualWages = wagesToDate * payPeriodsPerYear / payPeriodsElapsed;
+            double annualTaxOwed = federalTaxFunctions[filingStatuses[index]].federalTaxOwed(
+                    annualWages, totalDeductions[index], totalCredits[index]);
+
+            // Withhold the prorated tax owed so far that has not been withheld yet, but never more than the
+            // period's gross pay
+            double taxOwedToDate = annualTaxOwed * payPeriodsElapsed / payPeriodsPerYear;
+            double withholding = Math.min(Math.max(taxOwedToDate - ytdWithholdings[index], 0.0), grossPays[index]);
+
+            annualizedWages[index] = Money.roundToCents(annualWages);
+            annualFederalTaxOwed[index] = Money.roundToCents(annualTaxOwed);
+            withholdings[index] = Money.roundToCents(withholding);
+        }
+    }
+}
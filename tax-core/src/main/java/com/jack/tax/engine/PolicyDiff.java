@@ -0,0 +1,235 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * Compares federal tax owed under current law and under a draft tax table for every household of a population
+ * file.  Both calculations happen in one fused pass: each record's columns are read once and run through the
+ * current and the draft schedule back to back.  Records are processed in fixed-size chunks on every available
+ * core, and the per-chunk aggregates are merged in chunk order so the results do not depend on the number of
+ * cores.
+ *
+ * <p>A household wins if its federal tax owed, rounded to cents, is lower under the draft table, and loses if
+ * it is higher.
+ */
+public final class PolicyDiff {
+
+    /**
+     * Number of records per chunk; divides the population file's segment size so no chunk spans two segments
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Offsets of the aggregates within a chunk's slots
+     */
+    private static final int RECORD_COUNT = 0;
+    private static final int HOUSEHOLD_COUNT = 1;
+    private static final int CURRENT_REVENUE = 2;
+    private static final int DRAFT_REVENUE = 3;
+    private static final int WINNER_RECORD_COUNT = 4;
+    private static final int WINNER_HOUSEHOLD_COUNT = 5;
+    private static final int WINNER_TAX_CHANGE = 6;
+    private static final int LOSER_RECORD_COUNT = 7;
+    private static final int LOSER_HOUSEHOLD_COUNT = 8;
+    private static final int LOSER_TAX_CHANGE = 9;
+    private static final int AGGREGATE_COUNT = 10;
+
+    /**
+     * Population being simulated
+     */
+    private final PopulationFile population;
+
+    /**
+     * Current law federal tax functions indexed by filing status ordinal
+     */
+    private final FederalTaxFunction[] currentFunctions;
+
+    /**
+     * Draft federal tax functions indexed by filing status ordinal
+     */
+    private final FederalTaxFunction[] draftFunctions;
+
+    /**
+     * True to process chunks on every available core
+     */
+    private final boolean parallel;
+
+    /**
+     * Merged aggregates
+     */
+    private final double[] aggregates = new double[AGGREGATE_COUNT];
+
+    /**
+     * Creates a policy comparison using the given data.  Nothing is calculated until {@link #run()} is called.
+     *
+     * @param population Population to simulate
+     * @param current    Compiled current law schedules
+     * @param draft      Compiled draft schedules
+     * @param parallel   True to process chunks on every available core, false to use the calling thread only
+     */
+    public PolicyDiff(PopulationFile population, CompiledTaxYear current, CompiledTaxYear draft, boolean parallel) {
+
+        this.population = population;
+        this.parallel = parallel;
+
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        this.currentFunctions = new FederalTaxFunction[filingStatuses.length];
+        this.draftFunctions = new FederalTaxFunction[filingStatuses.length];
+        for (FilingStatus filingStatus : filingStatuses) {
+            currentFunctions[filingStatus.ordinal()] = current.getFederalTaxFunction(filingStatus);
+            draftFunctions[filingStatus.ordinal()] = draft.getFederalTaxFunction(filingStatus);
+        }
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @return This comparison, for chaining
+     */
+    public PolicyDiff run() {
+
+        int chunkCount = (int) ((population.getRecordCount() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        double[][] chunkAggregates = new double[chunkCount][];
+        IntStream chunks = IntStream.range(0, chunkCount);
+        (parallel ? chunks.parallel() : chunks).forEach(chunkIndex -> chunkAggregates[chunkIndex] = compareChunk(chunkIndex));
+
+        for (double[] chunk : chunkAggregates) {
+            for (int aggregate = 0; aggregate < AGGREGATE_COUNT; aggregate++) {
+                aggregates[aggregate] += chunk[aggregate];
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the number of records.
+     */
+    public long getRecordCount() {
+        return (long) aggregates[RECORD_COUNT];
+    }
+
+    /**
+     * Returns the number of households, i.e. the sum of the weights.
+     */
+    public double getHouseholdCount() {
+        return aggregates[HOUSEHOLD_COUNT];
+    }
+
+    /**
+     * Returns the weighted total federal tax owed (USD) under current law.
+     */
+    public double getCurrentRevenue() {
+        return aggregates[CURRENT_REVENUE];
+    }
+
+    /**
+     * Returns the weighted total federal tax owed (USD) under the draft table.
+     */
+    public double getDraftRevenue() {
+        return aggregates[DRAFT_REVENUE];
+    }
+
+    /**
+     * Returns the number of records that owe less under the draft table.
+     */
+    public long getWinnerRecordCount() {
+        return (long) aggregates[WINNER_RECORD_COUNT];
+    }
+
+    /**
+     * Returns the number of households that owe less under the draft table.
+     */
+    public double getWinnerHouseholdCount() {
+        return aggregates[WINNER_HOUSEHOLD_COUNT];
+    }
+
+    /**
+     * Returns the weighted total change (USD, negative) in federal tax owed by the households that win.
+     */
+    public double getWinnerTaxChange() {
+        return aggregates[WINNER_TAX_CHANGE];
+    }
+
+    /**
+     * Returns the number of records that owe more under the draft table.
+     */
+    public long getLoserRecordCount() {
+        return (long) aggregates[LOSER_RECORD_COUNT];
+    }
+
+    /**
+     * Returns the number of households that owe more under the draft table.
+     */
+    public double getLoserHouseholdCount() {
+        return aggregates[LOSER_HOUSEHOLD_COUNT];
+    }
+
+    /**
+     * Returns the weighted total change (USD, positive) in federal tax owed by the households that lose.
+     */
+    public double getLoserTaxChange() {
+        return aggregates[LOSER_TAX_CHANGE];
+    }
+
+    /**
+     * Compares current and draft federal tax owed for every record of the chunk at the given index.
+     *
+     * @param chunkIndex Zero-based chunk index
+     * @return The chunk's aggregates
+     */
+    private double[] compareChunk(int chunkIndex) {
+
+        double[] chunk = new double[AGGREGATE_COUNT];
+
+        // Chunks never span two segments
+        long start = (long) chunkIndex * CHUNK_SIZE;
+        int segmentIndex = (int) (start / PopulationFile.SEGMENT_SIZE);
+        int first = (int) (start % PopulationFile.SEGMENT_SIZE);
+        int last = first + (int) Math.min(CHUNK_SIZE, population.getRecordCount() - start);
+        ByteBuffer filingStatuses = population.getFilingStatuses(segmentIndex);
+        DoubleBuffer grossIncomes = population.getGrossIncomes(segmentIndex);
+        DoubleBuffer totalDeductions = population.getTotalDeductions(segmentIndex);
+        DoubleBuffer totalCredits = population.getTotalCredits(segmentIndex);
+        DoubleBuffer weights = population.getWeights(segmentIndex);
+
+        for (int index = first; index < last; index++) {
+
+            int filingStatus = filingStatuses.get(index);
+            if (filingStatus < 0 || filingStatus >= currentFunctions.length) {
+                throw new IllegalArgumentException("Population record " + (start + index - first)
+                        + " has an unknown filing status " + filingStatus);
+            }
+            double grossIncome = grossIncomes.get(index);
+            double deductions = totalDeductions.get(index);
+            double credits = totalCredits.get(index);
+            double weight = weights.get(index);
+
+            // Both tables for the same record, back to back
+            double currentTaxOwed = Money.roundToCents(
+                    currentFunctions[filingStatus].federalTaxOwed(grossIncome, deductions, credits));
+            double draftTaxOwed = Money.roundToCents(
+                    draftFunctions[filingStatus].federalTaxOwed(grossIncome, deductions, credits));
+
+            chunk[RECORD_COUNT]++;
+            chunk[HOUSEHOLD_COUNT] += weight;
+            chunk[CURRENT_REVENUE] += weight * currentTaxOwed;
+            chunk[DRAFT_REVENUE] += weight * draftTaxOwed;
+            if (draftTaxOwed < currentTaxOwed) {
+                chunk[WINNER_RECORD_COUNT]++;
+                chunk[WINNER_HOUSEHOLD_COUNT] += weight;
+                chunk[WINNER_TAX_CHANGE] += weight * (draftTaxOwed - currentTaxOwed);
+            } else if (draftTaxOwed > currentTaxOwed) {
+                chunk[LOSER_RECORD_COUNT]++;
+                chunk[LOSER_HOUSEHOLD_COUNT] += weight;
+                chunk[LOSER_TAX_CHANGE] += weight * (draftTaxOwed - currentTaxOwed);
+            }
+        }
+
+        return chunk;
+    }
+}
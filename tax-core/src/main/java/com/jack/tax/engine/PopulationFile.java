@@ -0,0 +1,316 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only, memory-mapped view of a columnar population file, i.e. one record per (synthetic) household with
+ * its filing status, gross income, itemized deductions, credits and survey weight.  The columns are mapped
+ * straight from the file rather than read onto the heap, so populations bigger than the heap can be simulated
+ * and the operating system pages them in as they are scanned.
+ *
+ * <p>The file layout is little-endian throughout: the ASCII magic {@code TAXPOP01}, the record count (int64),
+ * the filing status ordinals (one byte per record, padded with zeros to a multiple of eight bytes), then the
+ * gross incomes, total deductions, total credits and weights (one float64 per record each).
+ */
+public final class PopulationFile {
+
+    /**
+     * Marks the start of a population file
+     */
+    private static final byte[] MAGIC = "TAXPOP01".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Size (bytes) of the magic plus the record count
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Number of records per mapped segment (a power of two), which keeps every mapping under the 2 GB limit
+     */
+    static final int SEGMENT_SIZE = 1 << 27;
+
+    /**
+     * Number of records
+     */
+    private final long recordCount;
+
+    /**
+     * Filing status ordinals, one segment of bytes per {@link #SEGMENT_SIZE} records
+     */
+    private final ByteBuffer[] filingStatuses;
+
+    /**
+     * Gross incomes (USD), one segment per {@link #SEGMENT_SIZE} records
+     */
+    private final DoubleBuffer[] grossIncomes;
+
+    /**
+     * Total itemized deductions (USD), one segment per {@link #SEGMENT_SIZE} records
+     */
+    private final DoubleBuffer[] totalDeductions;
+
+    /**
+     * Total credits (USD), one segment per {@link #SEGMENT_SIZE} records
+     */
+    private final DoubleBuffer[] totalCredits;
+
+    /**
+     * Number of households each record stands for, one segment per {@link #SEGMENT_SIZE} records
+     */
+    private final DoubleBuffer[] weights;
+
+    /**
+     * Maps the columns of the given population file.  The mappings stay valid after the file is closed.
+     *
+     * @param path Population file
+     * @throws IOException If the file cannot be read
+     */
+    private PopulationFile(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            // Check the header and that the file is exactly as long as its record count says
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            byte[] magic = new byte[MAGIC.length];
+            if (header.remaining() == HEADER_SIZE) {
+                header.get(magic);
+            }
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalArgumentException(path.getFileName() + " is not a population file");
+            }
+            this.recordCount = header.getLong();
+            if (recordCount < 0 || channel.size() != getFileSize(recordCount)) {
+                throw new IllegalArgumentException(path.getFileName() + " is truncated or has a bad record count");
+            }
+
+            long offset = HEADER_SIZE;
+            this.filingStatuses = mapByteColumn(channel, offset);
+            offset += getPaddedSize(recordCount);
+            this.grossIncomes = mapDoubleColumn(channel, offset);
+            offset += recordCount * Double.BYTES;
+            this.totalDeductions = mapDoubleColumn(channel, offset);
+            offset += recordCount * Double.BYTES;
+            this.totalCredits = mapDoubleColumn(channel, offset);
+            offset += recordCount * Double.BYTES;
+            this.weights = mapDoubleColumn(channel, offset);
+        }
+    }
+
+    /**
+     * Maps the columns of the given population file.
+     *
+     * @param path Population file
+     * @throws IOException If the file cannot be read
+     */
+    public static PopulationFile open(Path path) throws IOException {
+        return new PopulationFile(path);
+    }
+
+    /**
+     * Writes a population file with the given columns, which must all have the same length.
+     *
+     * @param path            File to create or overwrite
+     * @param filingStatuses  Filing status of each record
+     * @param grossIncomes    Gross income (USD) of each record
+     * @param totalDeductions Total itemized deductions (USD) of each record
+     * @param totalCredits    Total credits (USD) of each record
+     * @param weights         Number of households each record stands for
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path path,
+                             FilingStatus[] filingStatuses,
+                             double[] grossIncomes,
+                             double[] totalDeductions,
+                             double[] totalCredits,
+                             double[] weights) throws IOException {
+
+        int recordCount = filingStatuses.length;
+        if (grossIncomes.length != recordCount || totalDeductions.length != recordCount
+                || totalCredits.length != recordCount || weights.length != recordCount) {
+            throw new IllegalArgumentException("Every population column must have the same number of records");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(MAGIC).putLong(recordCount);
+
+            for (FilingStatus filingStatus : filingStatuses) {
+                buffer = drainIfFull(channel, buffer, Byte.BYTES);
+                buffer.put((byte) filingStatus.ordinal());
+            }
+            for (long padding = getPaddedSize(recordCount) - recordCount; padding > 0; padding--) {
+                buffer = drainIfFull(channel, buffer, Byte.BYTES);
+                buffer.put((byte) 0);
+            }
+
+            for (double[] column : new double[][]{grossIncomes, totalDeductions, totalCredits, weights}) {
+                for (double value : column) {
+                    buffer = drainIfFull(channel, buffer, Double.BYTES);
+                    buffer.putDouble(value);
+                }
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of records.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the filing status ordinals of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index, i.e. the record index divided by {@link #SEGMENT_SIZE}
+     */
+    ByteBuffer getFilingStatuses(int segmentIndex) {
+        return filingStatuses[segmentIndex];
+    }
+
+    /**
+     * Returns the gross incomes (USD) of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index, i.e. the record index divided by {@link #SEGMENT_SIZE}
+     */
+    DoubleBuffer getGrossIncomes(int segmentIndex) {
+        return grossIncomes[segmentIndex];
+    }
+
+    /**
+     * Returns the total itemized deductions (USD) of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index, i.e. the record index divided by {@link #SEGMENT_SIZE}
+     */
+    DoubleBuffer getTotalDeductions(int segmentIndex) {
+        return totalDeductions[segmentIndex];
+    }
+
+    /**
+     * Returns the total credits (USD) of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index, i.e. the record index divided by {@link #SEGMENT_SIZE}
+     */
+    DoubleBuffer getTotalCredits(int segmentIndex) {
+        return totalCredits[segmentIndex];
+    }
+
+    /**
+     * Returns the weights of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index, i.e. the record index divided by {@link #SEGMENT_SIZE}
+     */
+    DoubleBuffer getWeights(int segmentIndex) {
+        return weights[segmentIndex];
+    }
+
+    /**
+     * Returns the size (bytes) of a population file with the given number of records.
+     *
+     * @param recordCount Number of records
+     */
+    private static long getFileSize(long recordCount) {
+        return HEADER_SIZE + getPaddedSize(recordCount) + 4 * recordCount * Double.BYTES;
+    }
+
+    /**
+     * Returns the size (bytes) of the filing status column, padded to a multiple of eight bytes so the
+     * float64 columns that follow stay aligned.
+     *
+     * @param recordCount Number of records
+     */
+    private static long getPaddedSize(long recordCount) {
+        return (recordCount + 7) & ~7L;
+    }
+
+    /**
+     * Maps a one byte per record column starting at the given file offset.
+     *
+     * @param channel Open population file
+     * @param offset  File offset (bytes) of the column
+     * @throws IOException If the file cannot be mapped
+     */
+    private ByteBuffer[] mapByteColumn(FileChannel channel, long offset) throws IOException {
+
+        ByteBuffer[] segments = new ByteBuffer[getSegmentCount()];
+        for (int segmentIndex = 0; segmentIndex < segments.length; segmentIndex++) {
+            long start = (long) segmentIndex * SEGMENT_SIZE;
+            long size = Math.min(SEGMENT_SIZE, recordCount - start);
+            segments[segmentIndex] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, size);
+        }
+
+        return segments;
+    }
+
+    /**
+     * Maps a float64 per record column starting at the given file offset.
+     *
+     * @param channel Open population file
+     * @param offset  File offset (bytes) of the column
+     * @throws IOException If the file cannot be mapped
+     */
+    private DoubleBuffer[] mapDoubleColumn(FileChannel channel, long offset) throws IOException {
+
+        DoubleBuffer[] segments = new DoubleBuffer[getSegmentCount()];
+        for (int segmentIndex = 0; segmentIndex < segments.length; segmentIndex++) {
+            long start = (long) segmentIndex * SEGMENT_SIZE;
+            long size = Math.min(SEGMENT_SIZE, recordCount - start);
+            segments[segmentIndex] = channel
+                    .map(FileChannel.MapMode.READ_ONLY, offset + start * Double.BYTES, size * Double.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer();
+        }
+
+        return segments;
+    }
+
+    /**
+     * Returns the number of mapped segments per column.
+     */
+    private int getSegmentCount() {
+        return (int) ((recordCount + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+    }
+
+    /**
+     * Writes out the given buffer if it has no room for another value of the given size.
+     *
+     * @param channel   File being written
+     * @param buffer    Buffer being filled
+     * @param valueSize Size (bytes) of the next value
+     * @return The buffer, ready for the next value
+     * @throws IOException If the file cannot be written
+     */
+    private static ByteBuffer drainIfFull(FileChannel channel, ByteBuffer buffer, int valueSize) throws IOException {
+
+        if (buffer.remaining() < valueSize) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        return buffer;
+    }
+}
@@ -0,0 +1,243 @@
+package com.jack.tax.engine;
+
+import java.util.stream.IntStream;
+
+/**
+ * Federal tax owed, marginal and effective tax rates and take home pay for every combination of compiled
+ * schedule (i.e. tax year and filing status), deductions, credits and gross income.  The credits each schedule's
+ * credit rules grant for the grid's number of qualifying children are applied on top of the credits of the row,
+ * as in a single tax calculation.  The results are kept in one primitive array per output (columnar), in
+ * row-major order with the gross income varying fastest, so evaluating a cell allocates nothing.
+ */
+public final class ScenarioGrid {
+
+    /**
+     * Compiled schedules, i.e. the outermost dimension
+     */
+    private final CompiledTaxSchedule[] schedules;
+
+    /**
+     * Total itemized deductions (USD) of each row
+     */
+    private final double[] totalDeductions;
+
+    /**
+     * Total credits (USD) of each row
+     */
+    private final double[] totalCredits;
+
+    /**
+     * Gross incomes (USD), i.e. the innermost dimension
+     */
+    private final double[] grossIncomes;
+
+    /**
+     * Number of qualifying children the credit rules are evaluated for
+     */
+    private final int qualifyingChildren;
+
+    /**
+     * Federal tax owed (USD, rounded to cents) of each cell
+     */
+    private final double[] federalTaxOwed;
+
+    /**
+     * Marginal tax rate (%) of each cell
+     */
+    private final int[] marginalTaxRates;
+
+    /**
+     * Effective tax rate (%, rounded to hundredths) of each cell
+     */
+    private final double[] effectiveTaxRates;
+
+    /**
+     * Take home pay (USD, rounded to cents) of each cell
+     */
+    private final double[] takeHomePay;
+
+    /**
+     * Creates a grid over the given dimensions.  Nothing is evaluated until {@link #evaluate(boolean)} is called.
+     *
+     * @param schedules          Compiled schedules
+     * @param totalDeductions    Total itemized deductions (USD)
+     * @param totalCredits       Total credits (USD)
+     * @param grossIncomes       Gross incomes (USD)
+     * @param qualifyingChildren Number of qualifying children the credit rules are evaluated for
+     */
+    public ScenarioGrid(CompiledTaxSchedule[] schedules,
+                        double[] totalDeductions,
+                        double[] totalCredits,
+                        double[] grossIncomes,
+                        int qualifyingChildren) {
+
+        long cellCount = (long) schedules.length * totalDeductions.length * totalCredits.length * grossIncomes.length;
+        if (cellCount == 0 || cellCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A scenario grid must have between 1 and " + Integer.MAX_VALUE + " cells");
+        }
+
+        this.schedules = schedules.clone();
+        this.totalDeductions = totalDeductions.clone();
+        this.totalCredits = totalCredits.clone();
+        this.grossIncomes = grossIncomes.clone();
+        this.qualifyingChildren = qualifyingChildren;
+        this.federalTaxOwed = new double[(int) cellCount];
+        this.marginalTaxRates = new int[(int) cellCount];
+        this.effectiveTaxRates = new double[(int) cellCount];
+        this.takeHomePay = new double[(int) cellCount];
+    }
+
+    /**
+     * Evaluates every cell, one row of gross incomes at a time.
+     *
+     * @param parallel True to evaluate rows on every available core, false to use the calling thread only
+     * @return This grid, for chaining
+     */
+    public ScenarioGrid evaluate(boolean parallel) {
+
+        IntStream rows = IntStream.range(0, schedules.length * totalDeductions.length * totalCredits.length);
+        (parallel ? rows.parallel() : rows).forEach(this::evaluateRow);
+
+        return this;
+    }
+
+    /**
+     * Returns the number of compiled schedules.
+     */
+    public int getScheduleCount() {
+        return schedules.length;
+    }
+
+    /**
+     * Returns the compiled schedule at the given index.
+     *
+     * @param scheduleIndex Zero-based schedule index
+     */
+    public CompiledTaxSchedule getSchedule(int scheduleIndex) {
+        return schedules[scheduleIndex];
+    }
+
+    /**
+     * Returns the number of deduction amounts.
+     */
+    public int getTotalDeductionsCount() {
+        return totalDeductions.length;
+    }
+
+    /**
+     * Returns the total itemized deductions (USD) at the given index.
+     *
+     * @param index Zero-based index
+     */
+    public double getTotalDeductions(int index) {
+        return totalDeductions[index];
+    }
+
+    /**
+     * Returns the number of credit amounts.
+     */
+    public int getTotalCreditsCount() {
+        return totalCredits.length;
+    }
+
+    /**
+     * Returns the total credits (USD) at the given index.
+     *
+     * @param index Zero-based index
+     */
+    public double getTotalCredits(int index) {
+        return totalCredits[index];
+    }
+
+    /**
+     * Returns the number of gross incomes.
+     */
+    public int getGrossIncomeCount() {
+        return grossIncomes.length;
+    }
+
+    /**
+     * Returns the gross income (USD) at the given index.
+     *
+     * @param index Zero-based index
+     */
+    public double getGrossIncome(int index) {
+        return grossIncomes[index];
+    }
+
+    /**
+     * Returns the number of cells.
+     */
+    public int getCellCount() {
+        return federalTaxOwed.length;
+    }
+
+    /**
+     * Returns the federal tax owed (USD, rounded to cents) of the cell at the given index.
+     *
+     * @param cellIndex Zero-based cell index
+     */
+    public double getFederalTaxOwed(int cellIndex) {
+        return federalTaxOwed[cellIndex];
+    }
+
+    /**
+     * Returns the marginal tax rate (%) of the cell at the given index.
+     *
+     * @param cellIndex Zero-based cell index
+     */
+    public int getMarginalTaxRate(int cellIndex) {
+        return marginalTaxRates[cellIndex];
+    }
+
+    /**
+     * Returns the effective tax rate (%, rounded to hundredths) of the cell at the given index.
+     *
+     * @param cellIndex Zero-based cell index
+     */
+    public double getEffectiveTaxRate(int cellIndex) {
+        return effectiveTaxRates[cellIndex];
+    }
+
+    /**
+     * Returns the take home pay (USD, rounded to cents) of the cell at the given index.
+     *
+     * @param cellIndex Zero-based cell index
+     */
+    public double getTakeHomePay(int cellIndex) {
+        return takeHomePay[cellIndex];
+    }
+
+    /**
+     * Evaluates every gross income of the given row, rounding the same way as a single tax calculation.
+     *
+     * @param rowIndex Zero-based row index, i.e. the cell index of the row's first cell divided by the number
+     *                 of gross incomes
+     */
+    private void evaluateRow(int rowIndex) {
+
+        // Unpack the row index into the schedule, deductions and credits
+        int creditsIndex = rowIndex % totalCredits.length;
+        int deductionsIndex = (rowIndex / totalCredits.length) % totalDeductions.length;
+        int scheduleIndex = rowIndex / (totalCredits.length * totalDeductions.length);
+        CompiledTaxSchedule schedule = schedules[scheduleIndex];
+        CreditRules creditRules = schedule.getCreditRules();
+        double deductions = totalDeductions[deductionsIndex];
+        double credits = totalCredits[creditsIndex];
+
+        int cellIndex = rowIndex * grossIncomes.length;
+        for (double grossIncome : grossIncomes) {
+
+            double taxableIncome = schedule.getTaxableIncome(grossIncome, deductions);
+            int maxTaxBracketIndex = schedule.getMaxTaxBracketIndex(taxableIncome);
+            double taxOwed = schedule.getIncomeTax(taxableIncome, maxTaxBracketIndex) - credits
+                    - creditRules.evaluate(grossIncome, 0.0, qualifyingChildren);
+
+            federalTaxOwed[cellIndex] = Money.roundToCents(taxOwed);
+            marginalTaxRates[cellIndex] = schedule.getTaxRate(maxTaxBracketIndex);
+            effectiveTaxRates[cellIndex] = grossIncome == 0 ? 0.0 : Money.roundToCents((taxOwed / grossIncome) * 100.0);
+            takeHomePay[cellIndex] = Money.roundToCents(grossIncome - taxOwed);
+            cellIndex++;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.jack.tax.engine;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Generates a hidden class per compiled tax schedule with the standard deduction, bracket thresholds, rates and
+ * the tax below each bracket baked in as constants.  The binary search over the brackets is unrolled into a tree
+ * of comparisons against those constants, so a calculation is straight-line code with no array loads for the JIT
+ * to fold.  The generated code performs exactly the same arithmetic as
+ * {@link TaxEngine#federalTaxOwed(CompiledTaxSchedule, double, double, double)}, so the results are identical.
+ *
+ * <p>The hidden classes are not strongly linked to the class loader: each one is unloaded once its single
+ * instance is unreachable, e.g. when the tax tables it was generated from are replaced.
+ */
+public final class ScheduleClassGenerator {
+
+    /**
+     * Internal name of the generated classes; the JVM appends a unique suffix to every hidden class
+     */
+    private static final String CLASS_NAME = "com/jack/tax/engine/GeneratedTaxSchedule";
+
+    /**
+     * Descriptor of {@link FederalTaxFunction#federalTaxOwed(double, double, double)}
+     */
+    private static final String FEDERAL_TAX_OWED_DESCRIPTOR = "(DDD)D";
+
+    /**
+     * Descriptor of {@link Math#min(double, double)} and {@link Math#max(double, double)}
+     */
+    private static final String MIN_MAX_DESCRIPTOR = "(DD)D";
+
+    /**
+     * Local variable slots of the generated federal tax owed method (doubles take two slots)
+     */
+    private static final int GROSS_INCOME = 1;
+    private static final int TOTAL_DEDUCTIONS = 3;
+    private static final int TOTAL_CREDITS = 5;
+    private static final int TAXABLE_INCOME = 7;
+
+    /**
+     * Lookup in this package, where the hidden classes are defined
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Not meant to be instantiated
+     */
+    private ScheduleClassGenerator() {
+    }
+
+    /**
+     * Generates and loads a hidden class for the given schedule, and returns its single instance.
+     *
+     * @param schedule Compiled schedule whose brackets to bake in
+     */
+    public static FederalTaxFunction generate(CompiledTaxSchedule schedule) {
+
+        try {
+            MethodHandles.Lookup hiddenClassLookup = LOOKUP.defineHiddenClass(generateClassFile(schedule), true);
+            return (FederalTaxFunction) hiddenClassLookup
+                    .findConstructor(hiddenClassLookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to generate a class for the schedule of tax year "
+                    + schedule.getTaxYear() + " and filing status " + schedule.getFilingStatus(), e);
+        }
+    }
+
+    /**
+     * Generates the class file of a final class implementing {@link FederalTaxFunction} for the given schedule.
+     *
+     * @param schedule Compiled schedule whose brackets to bake in
+     */
+    static byte[] generateClassFile(CompiledTaxSchedule schedule) {
+
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        classWriter.visit(Opcodes.V21, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null,
+                Type.getInternalName(Object.class), new String[]{Type.getInternalName(FederalTaxFunction.class)});
+
+        // Default constructor
+        MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor method = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, "federalTaxOwed",
+                FEDERAL_TAX_OWED_DESCRIPTOR, null, null);
+        method.visitCode();
+
+        // double taxableIncome = 0.0;
+        // if (grossIncome > standardDeduction) {
+        //     taxableIncome = Math.min(grossIncome - totalDeductions, grossIncome - standardDeduction);
+        // }
+        // taxableIncome = Math.max(0, taxableIncome);
+        Label clamp = new Label();
+        method.visitInsn(Opcodes.DCONST_0);
+        method.visitVarInsn(Opcodes.DSTORE, TAXABLE_INCOME);
+        method.visitVarInsn(Opcodes.DLOAD, GROSS_INCOME);
+        method.visitLdcInsn(schedule.getStandardDeduction());
+        method.visitInsn(Opcodes.DCMPL);
+        method.visitJumpInsn(Opcodes.IFLE, clamp);
+        method.visitVarInsn(Opcodes.DLOAD, GROSS_INCOME);
+        method.visitVarInsn(Opcodes.DLOAD, TOTAL_DEDUCTIONS);
+        method.visitInsn(Opcodes.DSUB);
+        method.visitVarInsn(Opcodes.DLOAD, GROSS_INCOME);
+        method.visitLdcInsn(schedule.getStandardDeduction());
+        method.visitInsn(Opcodes.DSUB);
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Math.class), "min", MIN_MAX_DESCRIPTOR, false);
+        method.visitVarInsn(Opcodes.DSTORE, TAXABLE_INCOME);
+        method.visitLabel(clamp);
+        method.visitInsn(Opcodes.DCONST_0);
+        method.visitVarInsn(Opcodes.DLOAD, TAXABLE_INCOME);
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Math.class), "max", MIN_MAX_DESCRIPTOR, false);
+        method.visitVarInsn(Opcodes.DSTORE, TAXABLE_INCOME);
+
+        generateBracketSearch(method, schedule, 0, schedule.getBracketCount() - 1);
+
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Generates the comparisons of the binary search over the brackets between the given indexes, with the tax
+     * calculation of each bracket as a leaf.  The comparisons are the same as
+     * {@link CompiledTaxSchedule#getMaxTaxBracketIndex(double)} makes, so the same bracket is found.
+     *
+     * @param method   Federal tax owed method being generated
+     * @param schedule Compiled schedule whose brackets to bake in
+     * @param low      Zero-based index of the lowest bracket still possible
+     * @param high     Zero-based index of the highest bracket still possible
+     */
+    private static void generateBracketSearch(MethodVisitor method, CompiledTaxSchedule schedule, int low, int high) {
+
+        if (low == high) {
+            generateBracketTax(method, schedule, low);
+            return;
+        }
+
+        // if (taxableIncome <= maxIncome) search the lower half, else the upper half
+        int middle = (low + high) >>> 1;
+        Label upperHalf = new Label();
+        method.visitVarInsn(Opcodes.DLOAD, TAXABLE_INCOME);
+        method.visitLdcInsn(schedule.getMaxIncome(middle));
+        method.visitInsn(Opcodes.DCMPG);
+        method.visitJumpInsn(Opcodes.IFGT, upperHalf);
+        generateBracketSearch(method, schedule, low, middle);
+        method.visitLabel(upperHalf);
+        generateBracketSearch(method, schedule, middle + 1, high);
+    }
+
+    /**
+     * Generates the return of the federal tax owed for taxable income in the bracket at the given index, using
+     * the same arithmetic as {@link CompiledTaxSchedule#getIncomeTax(double, int)}.
+     *
+     * @param method       Federal tax owed method being generated
+     * @param schedule     Compiled schedule whose brackets to bake in
+     * @param bracketIndex Zero-based bracket index
+     */
+    private static void generateBracketTax(MethodVisitor method, CompiledTaxSchedule schedule, int bracketIndex) {
+
+        // return taxBelowBracket + (Math.max(0.0, taxableIncome - minIncome) * rateFraction) - totalCredits;
+        method.visitLdcInsn(schedule.getTaxBelowBracket(bracketIndex));
+        method.visitInsn(Opcodes.DCONST_0);
+        method.visitVarInsn(Opcodes.DLOAD, TAXABLE_INCOME);
+        method.visitLdcInsn(schedule.getMinIncome(bracketIndex));
+        method.visitInsn(Opcodes.DSUB);
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Math.class), "max", MIN_MAX_DESCRIPTOR, false);
+        method.visitLdcInsn(schedule.getRateFraction(bracketIndex));
+        method.visitInsn(Opcodes.DMUL);
+        method.visitInsn(Opcodes.DADD);
+        method.visitVarInsn(Opcodes.DLOAD, TOTAL_CREDITS);
+        method.visitInsn(Opcodes.DSUB);
+        method.visitInsn(Opcodes.DRETURN);
+    }
+}
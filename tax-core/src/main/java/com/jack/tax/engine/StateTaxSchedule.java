@@ -0,0 +1,192 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+
+/**
+ * Immutable state income tax schedule compiled for one jurisdiction, tax year and filing status.  State taxes start
+ * from the federal adjusted gross income; the greater of the standard deduction and the itemized deductions comes
+ * off it, and the rest is taxed at the bracket rates.  Unlike the federal ones, state rates are often not whole
+ * percentages (e.g. 4.95%), so they are kept as doubles.  The income tax below each bracket is
+ * accumulated at compile time, so a calculation takes a single binary search.
+ */
+public final class StateTaxSchedule {
+
+    /**
+     * Code of the jurisdiction, e.g. "IL"
+     */
+    private final String jurisdiction;
+
+    /**
+     * Applicable tax year
+     */
+    private final int taxYear;
+
+    /**
+     * Filing status the schedule was compiled for
+     */
+    private final FilingStatus filingStatus;
+
+    /**
+     * Standard deduction (USD), including any personal exemption
+     */
+    private final double standardDeduction;
+
+    /**
+     * Taxable income (USD) each bracket starts at, in ascending order, the first one being zero
+     */
+    private final double[] minIncomes;
+
+    /**
+     * Tax rate (%) of each bracket
+     */
+    private final double[] taxRates;
+
+    /**
+     * Tax rate of each bracket as a fraction
+     */
+    private final double[] rateFractions;
+
+    /**
+     * Income tax (USD) on the taxable income below each bracket
+     */
+    private final double[] taxBelow;
+
+    /**
+     * Credits the jurisdiction's credit rules grant
+     */
+    private final CreditRules creditRules;
+
+    /**
+     * Creates a compiled state tax schedule using the given data.
+     *
+     * @param jurisdiction      Code of the jurisdiction, e.g. "IL"
+     * @param taxYear           Applicable tax year
+     * @param filingStatus      Filing status the schedule is compiled for
+     * @param standardDeduction Standard deduction (USD), including any personal exemption
+     * @param minIncomes        Taxable income (USD) each bracket starts at, in ascending order
+     * @param taxRates          Tax rate (%) of each bracket
+     * @param creditRules       Credits the jurisdiction's credit rules grant
+     * @throws IllegalArgumentException If there are no brackets, or they do not start at zero and ascend
+     */
+    public StateTaxSchedule(String jurisdiction,
+                            int taxYear,
+                            FilingStatus filingStatus,
+                            double standardDeduction,
+                            double[] minIncomes,
+                            double[] taxRates,
+                            CreditRules creditRules) {
+
+        if (minIncomes.length == 0 || minIncomes.length != taxRates.length || minIncomes[0] != 0.0) {
+            throw new IllegalArgumentException("The brackets of jurisdiction " + jurisdiction + " for tax year "
+                    + taxYear + " must start at zero and have one tax rate each");
+        }
+
+        this.jurisdiction = jurisdiction;
+        this.taxYear = taxYear;
+        this.filingStatus = filingStatus;
+        this.standardDeduction = standardDeduction;
+        this.minIncomes = minIncomes.clone();
+        this.taxRates = taxRates.clone();
+        this.rateFractions = new double[taxRates.length];
+        this.taxBelow = new double[taxRates.length];
+        this.creditRules = creditRules;
+
+        // Accumulate the tax on every filled bracket below each bracket
+        for (int bracketIndex = 0; bracketIndex < taxRates.length; bracketIndex++) {
+            rateFractions[bracketIndex] = taxRates[bracketIndex] / 100.0;
+            if (bracketIndex > 0) {
+                if (!(minIncomes[bracketIndex] > minIncomes[bracketIndex - 1])) {
+                    throw new IllegalArgumentException("The brackets of jurisdiction " + jurisdiction
+                            + " for tax year " + taxYear + " must be in ascending order of min income");
+                }
+                taxBelow[bracketIndex] = taxBelow[bracketIndex - 1] + rateFractions[bracketIndex - 1]
+                        * (minIncomes[bracketIndex] - minIncomes[bracketIndex - 1]);
+            }
+        }
+    }
+
+    /**
+     * Returns the code of the jurisdiction.
+     */
+    public String getJurisdiction() {
+        return jurisdiction;
+    }
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear() {
+        return taxYear;
+    }
+
+    /**
+     * Returns the filing status the schedule was compiled for.
+     */
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Returns the standard deduction (USD), including any personal exemption.
+     */
+    public double getStandardDeduction() {
+        return standardDeduction;
+    }
+
+    /**
+     * Returns the credits the jurisdiction's credit rules grant.
+     */
+    public CreditRules getCreditRules() {
+        return creditRules;
+    }
+
+    /**
+     * Returns the taxable income (USD) for the given inputs, never less than zero.
+     *
+     * @param adjustedGrossIncome Federal adjusted gross income (USD)
+     * @param totalDeductions     Total itemized deductions (USD)
+     */
+    public double getTaxableIncome(double adjustedGrossIncome, double totalDeductions) {
+        return Math.max(0.0, adjustedGrossIncome - Math.max(standardDeduction, totalDeductions));
+    }
+
+    /**
+     * Returns the zero-based index of the bracket the last dollar of the given taxable income falls in.
+     *
+     * @param taxableIncome Taxable income (USD)
+     */
+    public int getBracketIndex(double taxableIncome) {
+
+        // Find the last bracket that starts below the taxable income
+        int low = 0;
+        int high = minIncomes.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (minIncomes[middle] < taxableIncome) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the income tax (USD) before credits on the given taxable income.
+     *
+     * @param taxableIncome Taxable income (USD)
+     * @param bracketIndex  Index of the bracket the taxable income falls in (see {@link #getBracketIndex})
+     */
+    public double getIncomeTax(double taxableIncome, int bracketIndex) {
+        return taxBelow[bracketIndex] + rateFractions[bracketIndex] * (taxableIncome - minIncomes[bracketIndex]);
+    }
+
+    /**
+     * Returns the tax rate (%) of the bracket at the given index.
+     *
+     * @param bracketIndex Zero-based bracket index
+     */
+    public double getTaxRate(int bracketIndex) {
+        return taxRates[bracketIndex];
+    }
+}
@@ -0,0 +1,257 @@
+package com.jack.tax.engine;
+
+/**
+ * Mutable holder for the (unrounded) result of a single tax calculation.  Bulk callers can reuse one
+ * instance per thread so that calculating does not allocate.
+ */
+public final class TaxCalculation {
+
+    private double grossIncome;
+    private double taxableIncome;
+    private int maxTaxBracketIndex;
+    private int marginalTaxRate;
+    private double incomeTaxBeforeCredits;
+    private double federalTaxOwed;
+    private double preferentialIncome;
+    private double preferentialTaxableIncome;
+    private double capitalGainsTax;
+    private int capitalGainsTaxRate;
+    private double distanceToNextThreshold;
+    private double distanceToPreviousThreshold;
+    private double taxOnNextIncrement;
+    private double socialSecurityTax;
+    private double medicareTax;
+    private double additionalMedicareTax;
+
+    /**
+     * Creates an empty tax calculation.
+     */
+    public TaxCalculation() {
+        // No processing required
+    }
+
+    /**
+     * Returns the gross income (USD) the calculation was made for.
+     */
+    public double getGrossIncome() {
+        return grossIncome;
+    }
+
+    /**
+     * Returns the taxable income (USD).
+     */
+    public double getTaxableIncome() {
+        return taxableIncome;
+    }
+
+    /**
+     * Returns the zero-based index for the max tax bracket applicable to the ordinary taxable income.
+     */
+    public int getMaxTaxBracketIndex() {
+        return maxTaxBracketIndex;
+    }
+
+    /**
+     * Returns the marginal tax rate (%) of the max applicable tax bracket.
+     */
+    public int getMarginalTaxRate() {
+        return marginalTaxRate;
+    }
+
+    /**
+     * Returns the part of the taxable income (USD) taxed at the ordinary bracket rates, i.e. the taxable income
+     * below the stacked qualified dividends and long-term capital gains.
+     */
+    public double getOrdinaryTaxableIncome() {
+        return taxableIncome - preferentialTaxableIncome;
+    }
+
+    /**
+     * Returns the qualified dividends and long-term capital gains (USD) the calculation stacked on top of the
+     * ordinary income, or zero if the schedule has no preferential rates and taxed them as ordinary income.
+     */
+    public double getPreferentialIncome() {
+        return preferentialIncome;
+    }
+
+    /**
+     * Returns the part of the taxable income (USD) taxed at the preferential rates.  Smaller than the
+     * preferential income when the deductions reach into it.
+     */
+    public double getPreferentialTaxableIncome() {
+        return preferentialTaxableIncome;
+    }
+
+    /**
+     * Returns the tax (USD) on the preferential taxable income, which is included in the income tax.
+     */
+    public double getCapitalGainsTax() {
+        return capitalGainsTax;
+    }
+
+    /**
+     * Returns the preferential tax rate (%) of the capital gains bracket the top of the taxable income falls in,
+     * or zero if there is no preferential taxable income.
+     */
+    public int getCapitalGainsTaxRate() {
+        return capitalGainsTaxRate;
+    }
+
+    /**
+     * Returns the income tax (USD) owed before credits are applied.
+     */
+    public double getIncomeTaxBeforeCredits() {
+        return incomeTaxBeforeCredits;
+    }
+
+    /**
+     * Returns the federal tax owed (USD) after credits are applied.
+     */
+    public double getFederalTaxOwed() {
+        return federalTaxOwed;
+    }
+
+    /**
+     * Returns the effective tax rate (%), i.e. (federal tax owed divided by gross income) * 100.0, or zero
+     * when there is no gross income.
+     */
+    public double getEffectiveTaxRate() {
+        return grossIncome == 0 ? 0.0 : (federalTaxOwed / grossIncome) * 100.0;
+    }
+
+    /**
+     * Returns the take home pay (USD), i.e. gross income minus federal tax owed.
+     */
+    public double getTakeHomePay() {
+        return grossIncome - federalTaxOwed;
+    }
+
+    /**
+     * Returns the employee's Social Security tax (USD) on the wages, i.e. the gross income other than the
+     * preferential income.
+     */
+    public double getSocialSecurityTax() {
+        return socialSecurityTax;
+    }
+
+    /**
+     * Returns the employee's Medicare tax (USD) on the wages, i.e. the gross income other than the
+     * preferential income.
+     */
+    public double getMedicareTax() {
+        return medicareTax;
+    }
+
+    /**
+     * Returns the Additional Medicare tax (USD) on the wages above the filing status threshold.
+     */
+    public double getAdditionalMedicareTax() {
+        return additionalMedicareTax;
+    }
+
+    /**
+     * Returns the total payroll (FICA) tax (USD), i.e. Social Security, Medicare and Additional Medicare tax.
+     */
+    public double getPayrollTaxOwed() {
+        return socialSecurityTax + medicareTax + additionalMedicareTax;
+    }
+
+    /**
+     * Returns the additional gross income (USD) at which the marginal tax rate changes, or positive infinity
+     * when already in the top bracket.  Only populated by {@link TaxEngine#calculateMarginalSensitivity}.
+     */
+    public double getDistanceToNextThreshold() {
+        return distanceToNextThreshold;
+    }
+
+    /**
+     * Returns the gross income (USD) that can be lost before the marginal tax rate changes, i.e. the taxable
+     * income above the start of the max applicable tax bracket.  Only populated by
+     * {@link TaxEngine#calculateMarginalSensitivity}.
+     */
+    public double getDistanceToPreviousThreshold() {
+        return distanceToPreviousThreshold;
+    }
+
+    /**
+     * Returns the federal tax (USD) owed on the next increment of gross income.  Only populated by
+     * {@link TaxEngine#calculateMarginalSensitivity}.
+     */
+    public double getTaxOnNextIncrement() {
+        return taxOnNextIncrement;
+    }
+
+    /**
+     * Populates the marginal sensitivity of this tax calculation with the given data.
+     *
+     * @param distanceToNextThreshold     Additional gross income (USD) at which the marginal tax rate changes
+     * @param distanceToPreviousThreshold Gross income (USD) that can be lost before the marginal tax rate changes
+     * @param taxOnNextIncrement          Federal tax (USD) owed on the next increment of gross income
+     */
+    void setMarginalSensitivity(double distanceToNextThreshold,
+                                double distanceToPreviousThreshold,
+                                double taxOnNextIncrement) {
+
+        this.distanceToNextThreshold = distanceToNextThreshold;
+        this.distanceToPreviousThreshold = distanceToPreviousThreshold;
+        this.taxOnNextIncrement = taxOnNextIncrement;
+    }
+
+    /**
+     * Populates the payroll (FICA) taxes of this tax calculation with the given data.
+     *
+     * @param socialSecurityTax     Social Security tax (USD)
+     * @param medicareTax           Medicare tax (USD)
+     * @param additionalMedicareTax Additional Medicare tax (USD)
+     */
+    void setPayrollTaxes(double socialSecurityTax, double medicareTax, double additionalMedicareTax) {
+
+        this.socialSecurityTax = socialSecurityTax;
+        this.medicareTax = medicareTax;
+        this.additionalMedicareTax = additionalMedicareTax;
+    }
+
+    /**
+     * Populates the preferential-rate part of this tax calculation with the given data.
+     *
+     * @param preferentialIncome        Qualified dividends and long-term capital gains (USD) stacked on top
+     * @param preferentialTaxableIncome Part of the taxable income (USD) taxed at the preferential rates
+     * @param capitalGainsTax           Tax (USD) on the preferential taxable income
+     * @param capitalGainsTaxRate       Preferential tax rate (%) at the top of the taxable income
+     */
+    void setCapitalGainsTax(double preferentialIncome,
+                            double preferentialTaxableIncome,
+                            double capitalGainsTax,
+                            int capitalGainsTaxRate) {
+
+        this.preferentialIncome = preferentialIncome;
+        this.preferentialTaxableIncome = preferentialTaxableIncome;
+        this.capitalGainsTax = capitalGainsTax;
+        this.capitalGainsTaxRate = capitalGainsTaxRate;
+    }
+
+    /**
+     * Populates this tax calculation with the given data.
+     *
+     * @param grossIncome            Gross income (USD)
+     * @param taxableIncome          Taxable income (USD)
+     * @param maxTaxBracketIndex     Zero-based index for the max tax bracket applicable to the ordinary taxable income
+     * @param marginalTaxRate        Marginal tax rate (%) on ordinary income
+     * @param incomeTaxBeforeCredits Income tax (USD) before credits
+     * @param federalTaxOwed         Federal tax owed (USD) after credits
+     */
+    void set(double grossIncome,
+             double taxableIncome,
+             int maxTaxBracketIndex,
+             int marginalTaxRate,
+             double incomeTaxBeforeCredits,
+             double federalTaxOwed) {
+
+        this.grossIncome = grossIncome;
+        this.taxableIncome = taxableIncome;
+        this.maxTaxBracketIndex = maxTaxBracketIndex;
+        this.marginalTaxRate = marginalTaxRate;
+        this.incomeTaxBeforeCredits = incomeTaxBeforeCredits;
+        this.federalTaxOwed = federalTaxOwed;
+    }
+}
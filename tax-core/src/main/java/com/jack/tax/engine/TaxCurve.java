@@ -0,0 +1,330 @@
+package com.jack.tax.engine;
+
+import java.util.Arrays;
+
+/**
+ * Federal tax owed as a piecewise linear function of gross income, for a fixed tax year, filing status,
+ * deductions and credits.  Built incrementally from the bracket breakpoints of a compiled schedule, so any
+ * point on the curve can be evaluated (or the whole curve sampled) without re-running a calculation per point.
+ *
+ * <p>Taxable income is gross income less the larger of the itemized deductions and the standard deduction
+ * (never below zero), so the curve is flat up to that deduction, then follows the brackets shifted by it.
+ * The one dollar gaps between brackets show up as flat segments.
+ */
+public final class TaxCurve {
+
+    /**
+     * Gross income (USD) at which each segment starts, ascending; the first segment starts at zero
+     */
+    private final double[] segmentStarts;
+
+    /**
+     * Gross income (USD) at which each segment ends; the last segment ends at the top bracket's max income
+     */
+    private final double[] segmentEnds;
+
+    /**
+     * Federal tax owed (USD, after credits) at the start of each segment
+     */
+    private final double[] taxAtSegmentStarts;
+
+    /**
+     * Marginal tax rate (%) of each segment
+     */
+    private final int[] segmentTaxRates;
+
+    /**
+     * Marginal tax rate of each segment as a fraction
+     */
+    private final double[] segmentRateFractions;
+
+    /**
+     * Deduction (USD) that is subtracted from gross income to get taxable income
+     */
+    private final double deduction;
+
+    /**
+     * Creates the tax curve for the given schedule, deductions and credits.
+     *
+     * @param schedule        Compiled schedule for the tax year and filing status
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     */
+    public TaxCurve(CompiledTaxSchedule schedule, double totalDeductions, double totalCredits) {
+
+        this.deduction = Math.max(totalDeductions, schedule.getStandardDeduction());
+
+        // At most one segment for the deduction, one per bracket and one per gap between brackets
+        int maxSegmentCount = 2 * schedule.getBracketCount();
+        double[] starts = new double[maxSegmentCount];
+        double[] ends = new double[maxSegmentCount];
+        double[] taxAtStarts = new double[maxSegmentCount];
+        int[] taxRates = new int[maxSegmentCount];
+        double[] rateFractions = new double[maxSegmentCount];
+
+        // Income up to the deduction is not taxed
+        int segmentCount = 0;
+        starts[segmentCount] = 0.0;
+        ends[segmentCount] = deduction + schedule.getMinIncome(0);
+        taxAtStarts[segmentCount] = -totalCredits;
+        taxRates[segmentCount] = 0;
+        segmentCount++;
+
+        for (int bracketIndex = 0; bracketIndex < schedule.getBracketCount(); bracketIndex++) {
+
+            double bracketStart = deduction + schedule.getMinIncome(bracketIndex);
+            double taxAtBracketStart = schedule.getTaxBelowBracket(bracketIndex) - totalCredits;
+
+            // Income in the gap between the previous bracket's max and this bracket's min is not taxed
+            if (bracketStart > ends[segmentCount - 1]) {
+                starts[segmentCount] = ends[segmentCount - 1];
+                ends[segmentCount] = bracketStart;
+                taxAtStarts[segmentCount] = taxAtBracketStart;
+                taxRates[segmentCount] = 0;
+                segmentCount++;
+            }
+
+            starts[segmentCount] = bracketStart;
+            ends[segmentCount] = deduction + schedule.getMaxIncome(bracketIndex);
+            taxAtStarts[segmentCount] = taxAtBracketStart;
+            taxRates[segmentCount] = schedule.getTaxRate(bracketIndex);
+            rateFractions[segmentCount] = schedule.getRateFraction(bracketIndex);
+            segmentCount++;
+        }
+
+        this.segmentStarts = Arrays.copyOf(starts, segmentCount);
+        this.segmentEnds = Arrays.copyOf(ends, segmentCount);
+        this.taxAtSegmentStarts = Arrays.copyOf(taxAtStarts, segmentCount);
+        this.segmentTaxRates = Arrays.copyOf(taxRates, segmentCount);
+        this.segmentRateFractions = Arrays.copyOf(rateFractions, segmentCount);
+    }
+
+    /**
+     * Returns the deduction (USD) subtracted from gross income to get taxable income, i.e. the larger of the
+     * itemized deductions and the standard deduction.
+     */
+    public double getDeduction() {
+        return deduction;
+    }
+
+    /**
+     * Returns the number of linear segments.
+     */
+    public int getSegmentCount() {
+        return segmentStarts.length;
+    }
+
+    /**
+     * Returns the gross income (USD) at which the segment at the given index starts.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public double getSegmentStart(int segmentIndex) {
+        return segmentStarts[segmentIndex];
+    }
+
+    /**
+     * Returns the gross income (USD) at which the segment at the given index ends.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public double getSegmentEnd(int segmentIndex) {
+        return segmentEnds[segmentIndex];
+    }
+
+    /**
+     * Returns the federal tax owed (USD, after credits) at the start of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public double getTaxAtSegmentStart(int segmentIndex) {
+        return taxAtSegmentStarts[segmentIndex];
+    }
+
+    /**
+     * Returns the marginal tax rate (%) of the segment at the given index.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public int getSegmentTaxRate(int segmentIndex) {
+        return segmentTaxRates[segmentIndex];
+    }
+
+    /**
+     * Returns the marginal tax rate of the segment at the given index as a fraction, i.e. the federal tax
+     * owed on each additional dollar of gross income within the segment.
+     *
+     * @param segmentIndex Zero-based segment index
+     */
+    public double getSegmentRateFraction(int segmentIndex) {
+        return segmentRateFractions[segmentIndex];
+    }
+
+    /**
+     * Returns the index of the segment that contains the given gross income, i.e. the first segment whose end
+     * is greater than or equal to it.  Falls back to the last segment.
+     *
+     * @param grossIncome Gross income (USD)
+     */
+    public int findSegmentIndex(double grossIncome) {
+
+        int low = 0;
+        int high = segmentEnds.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (grossIncome <= segmentEnds[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the federal tax owed (USD, after credits) at the given gross income.
+     *
+     * @param grossIncome Gross income (USD)
+     */
+    public double getFederalTaxOwed(double grossIncome) {
+        return getFederalTaxOwed(grossIncome, findSegmentIndex(grossIncome));
+    }
+
+    /**
+     * Returns the federal tax owed (USD, after credits) at the given gross income, which must lie within the
+     * segment at the given index.
+     *
+     * @param grossIncome  Gross income (USD)
+     * @param segmentIndex Zero-based index of the segment containing the gross income
+     */
+    public double getFederalTaxOwed(double grossIncome, int segmentIndex) {
+        return taxAtSegmentStarts[segmentIndex]
+                + (grossIncome - segmentStarts[segmentIndex]) * segmentRateFractions[segmentIndex];
+    }
+
+    /**
+     * Samples the curve at evenly spaced gross incomes from the min to the max gross income (both included).
+     * The samples are evaluated in one forward walk over the segments.
+     *
+     * @param minGrossIncome  Gross income (USD) of the first sample
+     * @param maxGrossIncome  Gross income (USD) of the last sample
+     * @param grossIncomes    Receives the gross income (USD) of each sample
+     * @param federalTaxOwed  Receives the federal tax owed (USD, after credits) of each sample
+     * @param marginalTaxRates Receives the marginal tax rate (%) of each sample
+     */
+    public void sample(double minGrossIncome,
+                       double maxGrossIncome,
+                       double[] grossIncomes,
+                       double[] federalTaxOwed,
+                       int[] marginalTaxRates) {
+
+        int sampleCount = grossIncomes.length;
+        double step = sampleCount > 1 ? (maxGrossIncome - minGrossIncome) / (sampleCount - 1) : 0.0;
+
+        int segmentIndex = findSegmentIndex(minGrossIncome);
+        for (int sampleIndex = 0; sampleIndex < sampleCount; sampleIndex++) {
+
+            double grossIncome = (sampleIndex == sampleCount - 1) ? maxGrossIncome : minGrossIncome + sampleIndex * step;
+
+            // Samples are ascending, so the segment only ever moves forward
+            while (segmentIndex < segmentEnds.length - 1 && grossIncome > segmentEnds[segmentIndex]) {
+                segmentIndex++;
+            }
+
+            grossIncomes[sampleIndex] = grossIncome;
+            federalTaxOwed[sampleIndex] = getFederalTaxOwed(grossIncome, segmentIndex);
+            marginalTaxRates[sampleIndex] = segmentTaxRates[segmentIndex];
+        }
+    }
+
+    /**
+     * Returns the lowest gross income (USD) at which the federal tax owed (after credits) reaches the target,
+     * solved segment by segment.  Returns NaN if the target is beyond the top of the curve.
+     *
+     * @param targetFederalTaxOwed Target federal tax owed (USD)
+     */
+    public double solveForFederalTaxOwed(double targetFederalTaxOwed) {
+
+        for (int segmentIndex = 0; segmentIndex < segmentStarts.length; segmentIndex++) {
+
+            double taxAtStart = taxAtSegmentStarts[segmentIndex];
+            if (taxAtStart >= targetFederalTaxOwed) {
+                return segmentStarts[segmentIndex];
+            }
+
+            // Tax owed only grows within a segment, so the target lies in the first segment that ends at or above it
+            if (getFederalTaxOwed(segmentEnds[segmentIndex], segmentIndex) >= targetFederalTaxOwed) {
+                return segmentStarts[segmentIndex]
+                        + (targetFederalTaxOwed - taxAtStart) / segmentRateFractions[segmentIndex];
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the lowest gross income (USD) at which take home pay (gross income less federal tax owed) reaches
+     * the target, solved segment by segment.  Returns NaN if the target is beyond the top of the curve.
+     *
+     * @param targetTakeHomePay Target take home pay (USD)
+     */
+    public double solveForTakeHomePay(double targetTakeHomePay) {
+
+        for (int segmentIndex = 0; segmentIndex < segmentStarts.length; segmentIndex++) {
+
+            double start = segmentStarts[segmentIndex];
+            double end = segmentEnds[segmentIndex];
+            double takeHomePayAtStart = start - taxAtSegmentStarts[segmentIndex];
+            if (takeHomePayAtStart >= targetTakeHomePay) {
+                return start;
+            }
+
+            // Marginal rates are below 100%, so take home pay grows within every segment
+            if (end - getFederalTaxOwed(end, segmentIndex) >= targetTakeHomePay) {
+                return start + (targetTakeHomePay - takeHomePayAtStart) / (1.0 - segmentRateFractions[segmentIndex]);
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the lowest gross income (USD) at which the effective tax rate (federal tax owed over gross income)
+     * reaches the target, solved segment by segment.  The effective tax rate is zero when there is no gross
+     * income.  Returns NaN if the target is never reached.
+     *
+     * @param targetEffectiveTaxRate Target effective tax rate (%)
+     */
+    public double solveForEffectiveTaxRate(double targetEffectiveTaxRate) {
+
+        double targetRateFraction = targetEffectiveTaxRate / 100.0;
+        if (targetRateFraction <= 0.0) {
+            return 0.0;
+        }
+
+        for (int segmentIndex = 0; segmentIndex < segmentStarts.length; segmentIndex++) {
+
+            // Within the segment tax owed is intercept + rate * G, so the effective rate reaches the target
+            // where intercept = (target - rate) * G
+            double start = segmentStarts[segmentIndex];
+            double rateFraction = segmentRateFractions[segmentIndex];
+            double intercept = taxAtSegmentStarts[segmentIndex] - rateFraction * start;
+
+            double grossIncome;
+            if (targetRateFraction < rateFraction) {
+                // The effective rate rises across the segment, so the target is met from the crossing point on
+                grossIncome = Math.max(start, intercept / (targetRateFraction - rateFraction));
+            } else {
+                // The effective rate does not rise across the segment, so only its start can meet the target
+                grossIncome = intercept >= (targetRateFraction - rateFraction) * start ? start : Double.NaN;
+            }
+
+            if (grossIncome > 0.0 && grossIncome <= segmentEnds[segmentIndex]) {
+                return grossIncome;
+            }
+        }
+
+        return Double.NaN;
+    }
+}
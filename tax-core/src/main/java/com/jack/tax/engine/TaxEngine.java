@@ -0,0 +1,251 @@
+package com.jack.tax.engine;
+
+/**
+ * Stateless federal income and payroll (FICA) tax calculations against compiled tax schedules.  Qualified
+ * dividends and long-term capital gains (preferential income) are stacked on top of the ordinary income and taxed
+ * at the schedule's preferential rates; the rest of the gross income is treated as wages for the payroll taxes.
+ */
+public final class TaxEngine {
+
+    /**
+     * Not meant to be instantiated
+     */
+    private TaxEngine() {
+    }
+
+    /**
+     * Calculates federal tax owed and payroll taxes for the given inputs, all of the gross income being ordinary
+     * income, and writes the (unrounded) result into the given holder.
+     *
+     * @param schedule        Compiled schedule for the tax year and filing status
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     * @param result          Holder that receives the result
+     * @return The given result holder
+     */
+    public static TaxCalculation calculate(CompiledTaxSchedule schedule,
+                                           double grossIncome,
+                                           double totalDeductions,
+                                           double totalCredits,
+                                           TaxCalculation result) {
+
+        return calculate(schedule, grossIncome, 0.0, totalDeductions, totalCredits, result);
+    }
+
+    /**
+     * Calculates federal tax owed and payroll taxes for the given inputs and writes the (unrounded) result into
+     * the given holder.  The preferential income is stacked on top of the ordinary income: the ordinary taxable
+     * income is taxed at the bracket rates, and the taxable income above it at the preferential rates of the
+     * capital gains brackets it spans.  Each part takes a single binary search over its compiled thresholds, and
+     * the capital gains brackets spanned are walked from the bottom of the stack, so the cost does not grow with
+     * the number of tax years or schedules.  A schedule without capital gains brackets taxes the preferential
+     * income as ordinary income.
+     *
+     * @param schedule           Compiled schedule for the tax year and filing status
+     * @param grossIncome        Gross income (USD), including the preferential income
+     * @param preferentialIncome Qualified dividends and long-term capital gains (USD) included in the gross income
+     * @param totalDeductions    Total itemized deductions (USD)
+     * @param totalCredits       Total credits (USD)
+     * @param result             Holder that receives the result
+     * @return The given result holder
+     */
+    public static TaxCalculation calculate(CompiledTaxSchedule schedule,
+                                           double grossIncome,
+                                           double preferentialIncome,
+                                           double totalDeductions,
+                                           double totalCredits,
+                                           TaxCalculation result) {
+
+        double taxableIncome = schedule.getTaxableIncome(grossIncome, totalDeductions);
+
+        // The deductions come out of the ordinary income first, so the preferential income only loses the part
+        // of it that the taxable income cannot cover
+        double stackedIncome = schedule.getCapitalGainsBracketCount() > 0 ? Math.max(preferentialIncome, 0.0) : 0.0;
+        double preferentialTaxableIncome = Math.min(stackedIncome, taxableIncome);
+        double ordinaryTaxableIncome = taxableIncome - preferentialTaxableIncome;
+
+        // One binary search for the ordinary bracket
+        int maxTaxBracketIndex = schedule.getMaxTaxBracketIndex(ordinaryTaxableIncome);
+        double incomeTax = schedule.getIncomeTax(ordinaryTaxableIncome, maxTaxBracketIndex);
+
+        // One binary search for the capital gains bracket at the bottom of the stack, then walk up to its top
+        double capitalGainsTax = 0.0;
+        int capitalGainsTaxRate = 0;
+        if (preferentialTaxableIncome > 0.0) {
+            int bottomBracketIndex = schedule.getCapitalGainsBracketIndex(ordinaryTaxableIncome);
+            int topBracketIndex = schedule.getCapitalGainsBracketIndex(taxableIncome, bottomBracketIndex);
+            capitalGainsTax = schedule.getCapitalGainsTaxBelow(taxableIncome, topBracketIndex)
+                    - schedule.getCapitalGainsTaxBelow(ordinaryTaxableIncome, bottomBracketIndex);
+            capitalGainsTaxRate = schedule.getCapitalGainsTaxRate(topBracketIndex);
+        }
+
+        result.set(grossIncome,
+                taxableIncome,
+                maxTaxBracketIndex,
+                schedule.getTaxRate(maxTaxBracketIndex),
+                incomeTax + capitalGainsTax,
+                incomeTax + capitalGainsTax - totalCredits);
+        result.setCapitalGainsTax(stackedIncome, preferentialTaxableIncome, capitalGainsTax, capitalGainsTaxRate);
+        setPayrollTaxes(schedule, grossIncome - Math.max(preferentialIncome, 0.0), result);
+
+        return result;
+    }
+
+    /**
+     * Recalculates federal tax owed and payroll taxes after the gross income and/or deductions of a previous
+     * calculation against the same schedule have changed.  The max tax bracket is found by stepping from the
+     * previous one rather than searching all brackets, which is cheaper for the small changes an interactive
+     * session makes.  All of the gross income is ordinary income.
+     *
+     * @param schedule        Compiled schedule the previous calculation was made against
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     * @param result          Previous calculation, which receives the new result
+     * @return The given result holder
+     */
+    public static TaxCalculation recalculate(CompiledTaxSchedule schedule,
+                                             double grossIncome,
+                                             double totalDeductions,
+                                             double totalCredits,
+                                             TaxCalculation result) {
+
+        double taxableIncome = schedule.getTaxableIncome(grossIncome, totalDeductions);
+
+        // Step down or up from the previous max tax bracket to the first one whose max income covers the taxable income
+        int maxTaxBracketIndex = result.getMaxTaxBracketIndex();
+        while (maxTaxBracketIndex > 0 && taxableIncome <= schedule.getMaxIncome(maxTaxBracketIndex - 1)) {
+            maxTaxBracketIndex--;
+        }
+        while (maxTaxBracketIndex < schedule.getBracketCount() - 1 && taxableIncome > schedule.getMaxIncome(maxTaxBracketIndex)) {
+            maxTaxBracketIndex++;
+        }
+        double incomeTax = schedule.getIncomeTax(taxableIncome, maxTaxBracketIndex);
+
+        result.set(grossIncome,
+                taxableIncome,
+                maxTaxBracketIndex,
+                schedule.getTaxRate(maxTaxBracketIndex),
+                incomeTax,
+                incomeTax - totalCredits);
+        result.setCapitalGainsTax(0.0, 0.0, 0.0, 0);
+        setPayrollTaxes(schedule, grossIncome, result);
+
+        return result;
+    }
+
+    /**
+     * Recalculates federal tax owed after only the credits of a previous calculation have changed.  Credits are
+     * applied after the income tax, so this is a subtraction with no bracket work at all.
+     *
+     * @param totalCredits Total credits (USD)
+     * @param result       Previous calculation, which receives the new result
+     * @return The given result holder
+     */
+    public static TaxCalculation recalculateCredits(double totalCredits, TaxCalculation result) {
+
+        result.set(result.getGrossIncome(),
+                result.getTaxableIncome(),
+                result.getMaxTaxBracketIndex(),
+                result.getMarginalTaxRate(),
+                result.getIncomeTaxBeforeCredits(),
+                result.getIncomeTaxBeforeCredits() - totalCredits);
+
+        return result;
+    }
+
+    /**
+     * Adds the marginal sensitivity (distance to the next and previous bracket thresholds, and the tax owed on
+     * the next increment of gross income) to a calculation already made by
+     * {@link #calculate(CompiledTaxSchedule, double, double, double, double, TaxCalculation)}.  The max tax bracket
+     * found by that calculation is reused, so the next increment only walks forward from it instead of searching
+     * again.
+     * The increment is ordinary income, so it is taxed at the bracket rates and pushes any stacked preferential
+     * income up into higher capital gains brackets.
+     *
+     * @param schedule        Compiled schedule the calculation was made against
+     * @param totalDeductions Total itemized deductions (USD) the calculation was made with
+     * @param increment       Increment of gross income (USD) to calculate the tax on
+     * @param result          Calculation that receives the marginal sensitivity
+     * @return The given result holder
+     */
+    public static TaxCalculation calculateMarginalSensitivity(CompiledTaxSchedule schedule,
+                                                              double totalDeductions,
+                                                              double increment,
+                                                              TaxCalculation result) {
+
+        double grossIncome = result.getGrossIncome();
+        double taxableIncome = result.getTaxableIncome();
+        double ordinaryTaxableIncome = result.getOrdinaryTaxableIncome();
+        double preferentialIncome = result.getPreferentialIncome();
+        int maxTaxBracketIndex = result.getMaxTaxBracketIndex();
+        int topBracketIndex = schedule.getBracketCount() - 1;
+
+        // Gross income at or below the deduction has to grow past the deduction before any of it is taxed, and
+        // taxable income has to grow past the preferential income before any of it is ordinary
+        double incomeBelowDeduction = Math.max(0.0,
+                Math.max(totalDeductions, schedule.getStandardDeduction()) - grossIncome);
+        double incomeBelowOrdinary = Math.max(0.0, preferentialIncome - taxableIncome);
+        double distanceToNextThreshold = maxTaxBracketIndex < topBracketIndex
+                ? incomeBelowDeduction + incomeBelowOrdinary + schedule.getMaxIncome(maxTaxBracketIndex) - ordinaryTaxableIncome
+                : Double.POSITIVE_INFINITY;
+        double distanceToPreviousThreshold = Math.max(0.0,
+                ordinaryTaxableIncome - schedule.getMinIncome(maxTaxBracketIndex));
+
+        // Walk forward from the current bracket to the one the incremented ordinary taxable income falls in
+        double nextTaxableIncome = schedule.getTaxableIncome(grossIncome + increment, totalDeductions);
+        double nextOrdinaryTaxableIncome = Math.max(0.0, nextTaxableIncome - preferentialIncome);
+        int nextMaxTaxBracketIndex = maxTaxBracketIndex;
+        while (nextMaxTaxBracketIndex < topBracketIndex && nextOrdinaryTaxableIncome > schedule.getMaxIncome(nextMaxTaxBracketIndex)) {
+            nextMaxTaxBracketIndex++;
+        }
+        double nextIncomeTax = schedule.getIncomeTax(nextOrdinaryTaxableIncome, nextMaxTaxBracketIndex);
+
+        // Restack the preferential income on top of the incremented ordinary taxable income
+        if (nextTaxableIncome > nextOrdinaryTaxableIncome) {
+            int bottomBracketIndex = schedule.getCapitalGainsBracketIndex(nextOrdinaryTaxableIncome);
+            int capitalGainsTopBracketIndex = schedule.getCapitalGainsBracketIndex(nextTaxableIncome, bottomBracketIndex);
+            nextIncomeTax += schedule.getCapitalGainsTaxBelow(nextTaxableIncome, capitalGainsTopBracketIndex)
+                    - schedule.getCapitalGainsTaxBelow(nextOrdinaryTaxableIncome, bottomBracketIndex);
+        }
+        double taxOnNextIncrement = nextIncomeTax - result.getIncomeTaxBeforeCredits();
+
+        result.setMarginalSensitivity(distanceToNextThreshold, distanceToPreviousThreshold, taxOnNextIncrement);
+
+        return result;
+    }
+
+    /**
+     * Calculates federal tax owed (USD) for the given inputs, all of the gross income being ordinary income,
+     * without producing any other result data.
+     *
+     * @param schedule        Compiled schedule for the tax year and filing status
+     * @param grossIncome     Gross income (USD)
+     * @param totalDeductions Total itemized deductions (USD)
+     * @param totalCredits    Total credits (USD)
+     */
+    public static double federalTaxOwed(CompiledTaxSchedule schedule,
+                                        double grossIncome,
+                                        double totalDeductions,
+                                        double totalCredits) {
+
+        double taxableIncome = schedule.getTaxableIncome(grossIncome, totalDeductions);
+
+        return schedule.getIncomeTax(taxableIncome, schedule.getMaxTaxBracketIndex(taxableIncome)) - totalCredits;
+    }
+
+    /**
+     * Calculates the payroll (FICA) taxes on the given wages into the given holder.
+     *
+     * @param schedule Compiled schedule for the tax year and filing status
+     * @param wages    Wages (USD)
+     * @param result   Holder that receives the payroll taxes
+     */
+    private static void setPayrollTaxes(CompiledTaxSchedule schedule, double wages, TaxCalculation result) {
+
+        result.setPayrollTaxes(schedule.getSocialSecurityTax(wages),
+                schedule.getMedicareTax(wages),
+                schedule.getAdditionalMedicareTax(wages));
+    }
+}
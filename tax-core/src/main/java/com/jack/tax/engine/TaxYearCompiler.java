@@ -0,0 +1,173 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+import com.jack.tax.models.interfaces.BracketDetails;
+import com.jack.tax.models.interfaces.CapitalGainsBracketDetails;
+import com.jack.tax.models.interfaces.CreditRuleDetails;
+import com.jack.tax.models.interfaces.StandardDeductionDetails;
+import com.jack.tax.models.interfaces.TaxYearDetails;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiles the tax tables of a tax year into a schedule per filing status.  The tables can come from anywhere that
+ * implements the tax year details interfaces, so batch jobs can compile and calculate in-process without the app.
+ */
+public final class TaxYearCompiler {
+
+    /**
+     * Not meant to be instantiated
+     */
+    private TaxYearCompiler() {
+    }
+
+    /**
+     * Compiles a schedule for every filing status of the given tax year.  A tax year without capital gains
+     * brackets compiles to schedules that tax all income as ordinary income, and one without credit rules to
+     * schedules that only apply the credits entered.
+     *
+     * @param taxYearDetails Tax year details (brackets and capital gains brackets sorted by tax rate)
+     * @throws RuntimeException If a credit rule of the tax year is not valid
+     */
+    public static CompiledTaxYear compile(TaxYearDetails taxYearDetails) {
+        return compile(taxYearDetails, false);
+    }
+
+    /**
+     * Compiles a schedule for every filing status of the given tax year, optionally generating a class per
+     * schedule for the bulk calculations.  Generating classes needs ASM on the class path.
+     *
+     * @param taxYearDetails     Tax year details (brackets and capital gains brackets sorted by tax rate)
+     * @param generatedSchedules True to generate a class per schedule with its brackets baked in
+     * @throws RuntimeException If a credit rule of the tax year is not valid
+     */
+    public static CompiledTaxYear compile(TaxYearDetails taxYearDetails, boolean generatedSchedules) {
+
+        List<BracketDetails> bracketDetails = taxYearDetails.getBracketDetails();
+        List<CapitalGainsBracketDetails> capitalGainsBracketDetails =
+                Objects.requireNonNullElse(taxYearDetails.getCapitalGainsBracketDetails(), List.of());
+        StandardDeductionDetails standardDeductionDetails = taxYearDetails.getStandardDeductionDetails();
+
+        // Parse the credit rules once, to be compiled for each filing status
+        List<CreditRule> creditRules = new ArrayList<>();
+        for (CreditRuleDetails details
+                : Objects.requireNonNullElse(taxYearDetails.getCreditRuleDetails(), List.<CreditRuleDetails>of())) {
+            try {
+                creditRules.add(CreditRule.parse(details.getName(), details.getExpression()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Could not load the credit rules for tax year " + taxYearDetails.getTaxYear(), e);
+            }
+        }
+
+        FilingStatus[] filingStatuses = FilingStatus.values();
+        CompiledTaxSchedule[] schedules = new CompiledTaxSchedule[filingStatuses.length];
+        for (FilingStatus filingStatus : filingStatuses) {
+
+            // Surviving spouses use the married-filing-jointly standard deduction and brackets, so they share the
+            // married-filing-jointly schedule's arrays
+            if (filingStatus == FilingStatus.SURVIVING_SPOUSE) {
+                continue;
+            }
+
+            // Pick the bracket and capital gains bracket thresholds that pertain to the filing status
+            double[] minIncomes = new double[bracketDetails.size()];
+            double[] maxIncomes = new double[bracketDetails.size()];
+            int[] taxRates = new int[bracketDetails.size()];
+            pickBracketThresholds(bracketDetails, filingStatus, minIncomes, maxIncomes, taxRates);
+            double[] capitalGainsMinIncomes = new double[capitalGainsBracketDetails.size()];
+            double[] capitalGainsMaxIncomes = new double[capitalGainsBracketDetails.size()];
+            int[] capitalGainsTaxRates = new int[capitalGainsBracketDetails.size()];
+            pickBracketThresholds(capitalGainsBracketDetails, filingStatus,
+                    capitalGainsMinIncomes, capitalGainsMaxIncomes, capitalGainsTaxRates);
+
+            // Pick the standard deduction that pertains to the filing status
+            double standardDeduction = switch (filingStatus) {
+                case SINGLE -> standardDeductionDetails.getSingle();
+                case MARRIED_FILING_JOINTLY, SURVIVING_SPOUSE -> standardDeductionDetails.getMfj();
+                case MARRIED_FILING_SEPARATELY -> standardDeductionDetails.getMfs();
+                case HEAD_OF_HOUSEHOLD -> standardDeductionDetails.getHoh();
+            };
+
+            // Pick the Additional Medicare tax threshold that pertains to the filing status
+            int additionalMedicareThreshold = switch (filingStatus) {
+                case SINGLE, SURVIVING_SPOUSE -> standardDeductionDetails.getAdditionalMedicareThresholdSingle();
+                case MARRIED_FILING_JOINTLY -> standardDeductionDetails.getAdditionalMedicareThresholdMfj();
+                case MARRIED_FILING_SEPARATELY -> standardDeductionDetails.getAdditionalMedicareThresholdMfs();
+                case HEAD_OF_HOUSEHOLD -> standardDeductionDetails.getAdditionalMedicareThresholdHoh();
+            };
+
+            schedules[filingStatus.ordinal()] = new CompiledTaxSchedule(
+                    taxYearDetails.getTaxYear(),
+                    taxYearDetails.isProjected(),
+                    filingStatus,
+                    standardDeduction,
+                    minIncomes,
+                    maxIncomes,
+                    taxRates,
+                    capitalGainsMinIncomes,
+                    capitalGainsMaxIncomes,
+                    capitalGainsTaxRates,
+                    new CompiledTaxSchedule.PayrollTaxRates(
+                            standardDeductionDetails.getSocialSecurityTaxRate(),
+                            standardDeductionDetails.getSocialSecurityWageBase(),
+                            standardDeductionDetails.getMedicareTaxRate(),
+                            standardDeductionDetails.getAdditionalMedicareTaxRate(),
+                            additionalMedicareThreshold),
+                    CreditRules.compile(creditRules, filingStatus));
+        }
+
+        // Surviving spouses pay Additional Medicare tax above the single threshold, not the married-filing-jointly
+        // one, and only need credit rules of their own if a rule tells the filing statuses apart
+        CompiledTaxSchedule marriedFilingJointly = schedules[FilingStatus.MARRIED_FILING_JOINTLY.ordinal()];
+        schedules[FilingStatus.SURVIVING_SPOUSE.ordinal()] = new CompiledTaxSchedule(
+                marriedFilingJointly, FilingStatus.SURVIVING_SPOUSE,
+                standardDeductionDetails.getAdditionalMedicareThresholdSingle(),
+                creditRules.stream().anyMatch(CreditRule::isFilingStatusDependent)
+                        ? CreditRules.compile(creditRules, FilingStatus.SURVIVING_SPOUSE)
+                        : marriedFilingJointly.getCreditRules());
+
+        return new CompiledTaxYear(taxYearDetails.getTaxYear(), schedules, generatedSchedules);
+    }
+
+    /**
+     * Picks the thresholds and tax rates of the given brackets that pertain to the given filing status.
+     *
+     * @param bracketDetails Brackets sorted by tax rate
+     * @param filingStatus   Filing status enum
+     * @param minIncomes     Receives the min income (USD) of each bracket
+     * @param maxIncomes     Receives the max income (USD) of each bracket
+     * @param taxRates       Receives the tax rate (%) of each bracket
+     */
+    private static void pickBracketThresholds(List<? extends BracketDetails> bracketDetails,
+                                              FilingStatus filingStatus,
+                                              double[] minIncomes,
+                                              double[] maxIncomes,
+                                              int[] taxRates) {
+
+        for (int bracketIndex = 0; bracketIndex < bracketDetails.size(); bracketIndex++) {
+
+            BracketDetails details = bracketDetails.get(bracketIndex);
+            taxRates[bracketIndex] = details.getTaxRate();
+            switch (filingStatus) {
+                case SINGLE -> {
+                    minIncomes[bracketIndex] = details.getMinIncomeSingle();
+                    maxIncomes[bracketIndex] = details.getMaxIncomeSingle();
+                }
+                case MARRIED_FILING_JOINTLY, SURVIVING_SPOUSE -> {
+                    minIncomes[bracketIndex] = details.getMinIncomeMFJ();
+                    maxIncomes[bracketIndex] = details.getMaxIncomeMFJ();
+                }
+                case MARRIED_FILING_SEPARATELY -> {
+                    minIncomes[bracketIndex] = details.getMinIncomeMFS();
+                    maxIncomes[bracketIndex] = details.getMaxIncomeMFS();
+                }
+                case HEAD_OF_HOUSEHOLD -> {
+                    minIncomes[bracketIndex] = details.getMinIncomeHOH();
+                    maxIncomes[bracketIndex] = details.getMaxIncomeHOH();
+                }
+            }
+        }
+    }
+}
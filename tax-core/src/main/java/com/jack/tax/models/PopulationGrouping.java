@@ -0,0 +1,28 @@
+package com.jack.tax.models;
+
+/**
+ * Population grouping enumeration, i.e. how the households of a microsimulation are grouped for the aggregates
+ */
+public enum PopulationGrouping {
+
+    INCOME_DECILE("Income decile"),
+    FILING_STATUS("Filing status"),
+    MARGINAL_TAX_RATE("Marginal tax rate");
+
+    private final String description;
+
+    /**
+     * Initializes the enum with a description
+     * @param description Description for the enum
+     */
+    PopulationGrouping(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the description for the enum
+     */
+    public String getDescription() {
+        return description;
+    }
+}
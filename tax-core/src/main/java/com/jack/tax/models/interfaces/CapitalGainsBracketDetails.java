@@ -0,0 +1,10 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete Capital Gains Bracket Details class must contain.  The min/max incomes
+ * of a capital gains bracket are thresholds on total taxable income, ordinary and preferential alike, and the tax
+ * rate applies to the qualified dividends and long-term capital gains that fall within them.
+ */
+public interface CapitalGainsBracketDetails extends BracketDetails {
+    // Empty on purpose
+}
@@ -0,0 +1,24 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Defines the behavior that a concrete Credit Rule Details class must contain.  A credit rule is an expression in
+ * the credit rule language (see {@link com.jack.tax.engine.CreditRule}) that works out a credit, phase-outs
+ * included, from the inputs of a calculation.
+ */
+public interface CreditRuleDetails {
+
+    /**
+     * Returns the tax year applicable to the credit rule
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the name of the credit, e.g. "Child tax credit"
+     */
+    public String getName();
+
+    /**
+     * Returns the expression that works out the credit (USD)
+     */
+    public String getExpression();
+}
@@ -0,0 +1,72 @@
+package com.jack.tax.models.interfaces;
+
+/**
+ * Contains the behavior that a concrete standard deduction details class must contain.
+ */
+public interface StandardDeductionDetails {
+
+    /**
+     * Returns the tax year applicable to the standard deduction
+     */
+    public int getTaxYear();
+
+    /**
+     * Returns the standard deduction (USD) for a single filer
+     */
+    public int getSingle();
+
+    /**
+     * Returns the standard deduction (USD) for married-filing-jointly filers
+     */
+    public int getMfj();
+
+    /**
+     * Returns the standard deduction (USD) for a married-filing-separately filer
+     */
+    public int getMfs();
+
+    /**
+     * Returns the standard deduction (USD) for a head-of-household filer
+     */
+    public int getHoh();
+
+    /**
+     * Returns the social Security tax rate (%) paid by employees on wages up to the wage base
+     */
+    public double getSocialSecurityTaxRate();
+
+    /**
+     * Returns the max wages (USD) subject to Social Security tax, i.e. the wage base
+     */
+    public int getSocialSecurityWageBase();
+
+    /**
+     * Returns the medicare tax rate (%) paid by employees on all wages
+     */
+    public double getMedicareTaxRate();
+
+    /**
+     * Returns the additional Medicare tax rate (%) paid on wages above the filing status threshold
+     */
+    public double getAdditionalMedicareTaxRate();
+
+    /**
+     * Returns the wages (USD) above which single (or surviving spouse) filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdSingle();
+
+    /**
+     * Returns the wages (USD) above which married filing jointly filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdMfj();
+
+    /**
+     * Returns the wages (USD) above which married filing separately filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdMfs();
+
+    /**
+     * Returns the wages (USD) above which head of household filers pay Additional Medicare tax
+     */
+    public int getAdditionalMedicareThresholdHoh();
+}
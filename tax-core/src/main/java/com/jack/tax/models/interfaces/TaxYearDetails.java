@@ -0,0 +1,77 @@
+package com.jack.tax.models.interfaces;
+
+import java.util.List;
+
+/**
+ * Contains the behaviors that a concrete Tax Year Details class must contain.
+ */
+public interface TaxYearDetails {
+
+    /**
+     * Returns the applicable tax year.
+     */
+    public int getTaxYear();
+
+    /**
+     * Sets the tax year value.
+     * @param taxYear Applicable tax year.
+     */
+    public void setTaxYear(int taxYear);
+
+    /**
+     * Returns the standard deduction details for an applicable tax year.
+     */
+    public StandardDeductionDetails getStandardDeductionDetails();
+
+    /**
+     * Sets the standard deduction details for an applicable tax year.
+     * @param standardDeductionDetails Standard deduction details.
+     */
+    public void setStandardDeductionDetails(StandardDeductionDetails standardDeductionDetails);
+
+    /**
+     * Returns the tax bracket details for an applicable tax year.
+     */
+    public List<BracketDetails> getBracketDetails();
+
+    /**
+     * Sets the tax bracket details for an applicable tax year.
+     * @param bracketDetails Tax bracket details.
+     */
+    public void setBracketDetails(List<BracketDetails> bracketDetails);
+
+    /**
+     * Returns the capital gains bracket details for an applicable tax year, i.e. the preferential rates on
+     * qualified dividends and long-term capital gains.  Empty if the tax year has none.
+     */
+    public List<CapitalGainsBracketDetails> getCapitalGainsBracketDetails();
+
+    /**
+     * Sets the capital gains bracket details for an applicable tax year.
+     * @param capitalGainsBracketDetails Capital gains bracket details.
+     */
+    public void setCapitalGainsBracketDetails(List<CapitalGainsBracketDetails> capitalGainsBracketDetails);
+
+    /**
+     * Returns the credit rule details for an applicable tax year, i.e. the credits and phase-outs the engine
+     * works out itself.  Empty if the tax year has none.
+     */
+    public List<CreditRuleDetails> getCreditRuleDetails();
+
+    /**
+     * Sets the credit rule details for an applicable tax year.
+     * @param creditRuleDetails Credit rule details.
+     */
+    public void setCreditRuleDetails(List<CreditRuleDetails> creditRuleDetails);
+
+    /**
+     * Returns true if the tax year is projected from an earlier stored year by inflation, rather than stored.
+     */
+    public boolean isProjected();
+
+    /**
+     * Sets whether the tax year is projected from an earlier stored year by inflation.
+     * @param projected True for a projected tax year.
+     */
+    public void setProjected(boolean projected);
+}
@@ -0,0 +1,234 @@
+package com.jack.tax.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Unit tests for ArrowStreamWriter.  The stream is read back by following the flatbuffer vtables the way Arrow
+ * readers do, field id by field id.
+ */
+public class ArrowStreamWriterTests {
+
+    /**
+     * UTF-8 values of the string column
+     */
+    private static final byte[][] NAMES = {
+            "SINGLE".getBytes(StandardCharsets.UTF_8),
+            "HEAD_OF_HOUSEHOLD".getBytes(StandardCharsets.UTF_8),
+            "€".getBytes(StandardCharsets.UTF_8)};
+
+    /**
+     * Verifies that the schema and every record batch can be read back, with every message and buffer 8-byte
+     * aligned, however the rows are split into batches.
+     *
+     * @param rowCount      Number of rows
+     * @param batchRowCount Max number of rows per record batch
+     */
+    @ParameterizedTest
+    @CsvSource({"1, 1", "5, 2", "7, 7", "1000, 64"})
+    public void write_rows_readsBack(int rowCount, int batchRowCount) throws IOException {
+
+        int[] taxYears = new int[rowCount];
+        double[] amounts = new double[rowCount];
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            taxYears[rowIndex] = 2020 + rowIndex % 7;
+            amounts[rowIndex] = rowIndex * 1234.56 - 10;
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ArrowStreamWriter.write(outputStream, List.of(
+                new ArrowStreamWriter.IntColumn("taxYear", rowIndex -> taxYears[rowIndex]),
+                new ArrowStreamWriter.StringColumn("filingStatus", rowIndex -> NAMES[rowIndex % NAMES.length]),
+                new ArrowStreamWriter.DoubleColumn("federalTaxOwed", rowIndex -> amounts[rowIndex])),
+                rowCount, batchRowCount);
+
+        ByteBuffer stream = ByteBuffer.wrap(outputStream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Schema: name, nullability and type of each field
+        ByteBuffer schemaMessage = readMetadata(stream);
+        assertEquals(4, schemaMessage.getShort(field(schemaMessage, root(schemaMessage), 0)));
+        assertEquals(1, schemaMessage.get(field(schemaMessage, root(schemaMessage), 1)));
+        int schema = offset(schemaMessage, field(schemaMessage, root(schemaMessage), 2));
+        assertEquals(-1, field(schemaMessage, schema, 0));
+        int fields = offset(schemaMessage, field(schemaMessage, schema, 1));
+        assertEquals(3, schemaMessage.getInt(fields));
+        List<String> names = new ArrayList<>();
+        List<Byte> types = new ArrayList<>();
+        for (int fieldIndex = 0; fieldIndex < 3; fieldIndex++) {
+            int fieldTable = offset(schemaMessage, fields + 4 + 4 * fieldIndex);
+            names.add(readString(schemaMessage, offset(schemaMessage, field(schemaMessage, fieldTable, 0))));
+            assertEquals(0, schemaMessage.get(field(schemaMessage, fieldTable, 1)));
+            types.add(schemaMessage.get(field(schemaMessage, fieldTable, 2)));
+            int type = offset(schemaMessage, field(schemaMessage, fieldTable, 3));
+            switch (fieldIndex) {
+                case 0 -> {
+                    assertEquals(32, schemaMessage.getInt(field(schemaMessage, type, 0)));
+                    assertEquals(1, schemaMessage.get(field(schemaMessage, type, 1)));
+                }
+                case 2 -> assertEquals(2, schemaMessage.getShort(field(schemaMessage, type, 0)));
+                default -> assertEquals(-1, field(schemaMessage, type, 0));
+            }
+            assertEquals(0, schemaMessage.getInt(offset(schemaMessage, field(schemaMessage, fieldTable, 5))));
+        }
+        assertEquals(List.of("taxYear", "filingStatus", "federalTaxOwed"), names);
+        assertEquals(List.of((byte) 2, (byte) 5, (byte) 3), types);
+
+        // Record batches: every row in order
+        int rowIndex = 0;
+        while (rowIndex < rowCount) {
+
+            ByteBuffer message = readMetadata(stream);
+            assertEquals(3, message.get(field(message, root(message), 1)));
+            long bodyLength = message.getLong(field(message, root(message), 3));
+            assertEquals(0, bodyLength % 8);
+            ByteBuffer body = stream.slice(stream.position(), (int) bodyLength).order(ByteOrder.LITTLE_ENDIAN);
+            stream.position(stream.position() + (int) bodyLength);
+
+            int recordBatch = offset(message, field(message, root(message), 2));
+            int length = (int) message.getLong(field(message, recordBatch, 0));
+            assertEquals(Math.min(batchRowCount, rowCount - rowIndex), length);
+
+            int nodes = offset(message, field(message, recordBatch, 1));
+            assertEquals(3, message.getInt(nodes));
+            assertEquals(0, (nodes + 4) % 8);
+            for (int nodeIndex = 0; nodeIndex < 3; nodeIndex++) {
+                assertEquals(length, message.getLong(nodes + 4 + 16 * nodeIndex));
+                assertEquals(0, message.getLong(nodes + 4 + 16 * nodeIndex + 8));
+            }
+
+            // Validity and values of the int column, validity, offsets and data of the string column, then validity
+            // and values of the double column
+            int buffers = offset(message, field(message, recordBatch, 2));
+            assertEquals(7, message.getInt(buffers));
+            long[] bufferOffsets = new long[7];
+            for (int bufferIndex = 0; bufferIndex < 7; bufferIndex++) {
+                bufferOffsets[bufferIndex] = message.getLong(buffers + 4 + 16 * bufferIndex);
+                assertEquals(0, bufferOffsets[bufferIndex] % 8);
+            }
+            assertEquals(0, message.getLong(buffers + 4 + 8));
+            for (int row = 0; row < length; row++, rowIndex++) {
+                assertEquals(taxYears[rowIndex], body.getInt((int) bufferOffsets[1] + 4 * row));
+                int start = body.getInt((int) bufferOffsets[3] + 4 * row);
+                int end = body.getInt((int) bufferOffsets[3] + 4 * row + 4);
+                byte[] name = new byte[end - start];
+                body.get((int) bufferOffsets[4] + start, name);
+                assertArrayEquals(NAMES[rowIndex % NAMES.length], name);
+                assertEquals(amounts[rowIndex], body.getDouble((int) bufferOffsets[6] + 8 * row));
+            }
+        }
+
+        assertEndOfStream(stream);
+    }
+
+    /**
+     * Verifies that a stream without rows has the schema and then ends.
+     */
+    @Test
+    public void write_noRows_writesSchemaOnly() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ArrowStreamWriter.write(outputStream, List.of(new ArrowStreamWriter.IntColumn("taxYear", rowIndex -> 2025)),
+                0, ArrowStreamWriter.DEFAULT_BATCH_ROW_COUNT);
+
+        ByteBuffer stream = ByteBuffer.wrap(outputStream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer schemaMessage = readMetadata(stream);
+        assertEquals(1, schemaMessage.get(field(schemaMessage, root(schemaMessage), 1)));
+        assertEndOfStream(stream);
+    }
+
+    /**
+     * Reads an encapsulated message's prefix and metadata, leaving the stream at its body.
+     *
+     * @param stream Stream positioned at a message
+     */
+    private static ByteBuffer readMetadata(ByteBuffer stream) {
+
+        assertEquals(0, stream.position() % 8);
+        assertEquals(0xFFFFFFFF, stream.getInt());
+        int metadataLength = stream.getInt();
+        assertEquals(0, metadataLength % 8);
+        ByteBuffer metadata = stream.slice(stream.position(), metadataLength).order(ByteOrder.LITTLE_ENDIAN);
+        stream.position(stream.position() + metadataLength);
+
+        return metadata;
+    }
+
+    /**
+     * Verifies that the stream ends with the end-of-stream marker and nothing after it.
+     *
+     * @param stream Stream positioned after the last message
+     */
+    private static void assertEndOfStream(ByteBuffer stream) {
+
+        assertEquals(0xFFFFFFFF, stream.getInt());
+        assertEquals(0, stream.getInt());
+        assertFalse(stream.hasRemaining());
+    }
+
+    /**
+     * Returns the position of the root table.
+     *
+     * @param buffer Flatbuffer
+     */
+    private static int root(ByteBuffer buffer) {
+        return offset(buffer, 0);
+    }
+
+    /**
+     * Returns the position the offset at the given position points to.
+     *
+     * @param buffer   Flatbuffer
+     * @param position Position of the offset
+     */
+    private static int offset(ByteBuffer buffer, int position) {
+        return position + buffer.getInt(position);
+    }
+
+    /**
+     * Returns the position of a table's field, or -1 if the field is absent, checking that it is aligned.
+     *
+     * @param buffer Flatbuffer
+     * @param table  Position of the table
+     * @param id     Field id
+     */
+    private static int field(ByteBuffer buffer, int table, int id) {
+
+        int vtable = table - buffer.getInt(table);
+        assertEquals(0, vtable % 2);
+        if (4 + 2 * id >= buffer.getShort(vtable)) {
+            return -1;
+        }
+        int fieldOffset = buffer.getShort(vtable + 4 + 2 * id);
+
+        return fieldOffset == 0 ? -1 : table + fieldOffset;
+    }
+
+    /**
+     * Returns the string at the given position.
+     *
+     * @param buffer   Flatbuffer
+     * @param position Position of the string
+     */
+    private static String readString(ByteBuffer buffer, int position) {
+
+        byte[] utf8 = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, utf8);
+        assertEquals(0, buffer.get(position + 4 + utf8.length));
+
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
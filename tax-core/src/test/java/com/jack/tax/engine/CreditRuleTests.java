@@ -0,0 +1,190 @@
+package com.jack.tax.engine;
+
+import com.jack.tax.models.FilingStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the credit rule language
+ */
+public class CreditRuleTests {
+
+    /**
+     * 2025 child tax credit: $2,200 per qualifying child, reduced by $50 for every $1,000 (or part of it) of
+     * income above $400,000 for joint filers and $200,000 for everyone else
+     */
+    private static final String CHILD_TAX_CREDIT_2025 = "2200 * qualifyingChildren - 50 * ceil(max(0, grossIncome"
+            + " - (filingStatus == MARRIED_FILING_JOINTLY ? 400_000 : 200_000)) / 1000)";
+
+    /**
+     * Simplified 2025 earned income tax credit: phased in on earned income and out on the greater of earned and
+     * gross income, with no credit for married-filing-separately filers or above $11,950 of investment income
+     */
+    private static final String EARNED_INCOME_TAX_CREDIT_2025 = """
+            filingStatus == MARRIED_FILING_SEPARATELY || investmentIncome > 11_950 ? 0
+                : min(earnedIncome * (qualifyingChildren == 0 ? 0.0765 : qualifyingChildren == 1 ? 0.34
+                                      : qualifyingChildren == 2 ? 0.40 : 0.45),
+                      qualifyingChildren == 0 ? 649 : qualifyingChildren == 1 ? 4328 : qualifyingChildren == 2 ? 7152 : 8046)
+                  - max(0, max(earnedIncome, grossIncome) - (filingStatus == MARRIED_FILING_JOINTLY
+                            ? (qualifyingChildren == 0 ? 17_730 : 30_470)
+                            : (qualifyingChildren == 0 ? 10_620 : 23_350)))
+                    * (qualifyingChildren == 0 ? 0.0765 : qualifyingChildren == 1 ? 0.1598 : 0.2106)
+            """;
+
+    /**
+     * Verifies operator precedence and associativity, the functions and the inputs, for a single filer with
+     * gross income 100000, of which 10000 is investment income, and two qualifying children.
+     *
+     * @param expression Expression
+     * @param expected   Expected value
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "'1 + 2 * 3', 7",
+            "'(1 + 2) * 3', 9",
+            "'10 - 4 - 3', 3",
+            "'12 / 4 / 3', 1",
+            "'-2 * -3', 6",
+            "'.5 * 4', 2",
+            "'2_000 * qualifyingChildren', 4000",
+            "'grossIncome - earnedIncome == investmentIncome', 1",
+            "'1 < 2 && 2 <= 2 && !(3 > 4) && 3 >= 3 && 1 != 2', 1",
+            "'0 || 0', 0",
+            "'grossIncome > 0 || qualifyingChildren > 5', 1",
+            "'grossIncome > 0 && qualifyingChildren > 5', 0",
+            "'1 ? 2 : 3', 2",
+            "'0 ? 1 : 0 ? 2 : 3', 3",
+            "'qualifyingChildren == 2 ? earnedIncome : investmentIncome', 90000",
+            "'min(grossIncome, 50000) + max(1, 2)', 50002",
+            "'max(0, grossIncome - 200000)', 0",
+            "'ceil(2.1) + floor(2.9)', 5",
+            "'ceil(grossIncome / 30000)', 4",
+            "'filingStatus == SINGLE ? grossIncome : 0', 100000",
+            "'filingStatus == HEAD_OF_HOUSEHOLD || qualifyingChildren > 1', 1"
+    })
+    public void compile_evaluatesExpression(String expression, double expected) {
+
+        // Call the method under test
+        CreditExpression compiled = CreditRule.parse("Test credit", expression).compile(FilingStatus.SINGLE);
+
+        assertEquals(expected, compiled.evaluate(100_000, 90_000, 10_000, 2));
+    }
+
+    /**
+     * Verifies that the filing status is a constant of each compiled rule, and that rules are only flagged as
+     * depending on the filing status when they refer to it.
+     */
+    @Test
+    public void compile_filingStatus_constantPerCompilation() {
+
+        CreditRule childTaxCredit = CreditRule.parse("Child tax credit", CHILD_TAX_CREDIT_2025);
+
+        // 100 thousands above 200000 take 5000 off, the result not being clamped
+        assertEquals(-2800.0, childTaxCredit.compile(FilingStatus.SINGLE).evaluate(300_000, 300_000, 0, 1));
+        assertEquals(2200.0, childTaxCredit.compile(FilingStatus.MARRIED_FILING_JOINTLY).evaluate(300_000, 300_000, 0, 1));
+        assertTrue(childTaxCredit.isFilingStatusDependent());
+        assertFalse(CreditRule.parse("Flat credit", "500 * qualifyingChildren").isFilingStatusDependent());
+    }
+
+    /**
+     * Verifies that invalid expressions are rejected, naming the credit and where the problem is.
+     *
+     * @param expression       Invalid expression
+     * @param expectedPosition Expected one-based position of the problem
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "'1 +', 4",
+            "'foo * 2', 1",
+            "'2 * max(1)', 5",
+            "'sqrt(4)', 1",
+            "'1 2', 3",
+            "'(1', 3",
+            "'1 ? 2', 6",
+            "'1..2', 1",
+            "'1 & 2', 3",
+            "'min(1, 2', 9"
+    })
+    public void parse_invalidExpression_throws(String expression, int expectedPosition) {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CreditRule.parse("Test credit", expression));
+
+        assertTrue(exception.getMessage().startsWith(
+                "Credit rule 'Test credit' is invalid at position " + expectedPosition + ":"), exception.getMessage());
+    }
+
+    /**
+     * Verifies that a blank expression is rejected.
+     */
+    @Test
+    public void parse_blankExpression_throws() {
+
+        assertThrows(IllegalArgumentException.class, () -> CreditRule.parse("Test credit", " "));
+    }
+
+    /**
+     * Verifies that compiled credit rules grant nothing for negative or undefined amounts, and add up the rest.
+     */
+    @Test
+    public void evaluate_negativeOrUndefined_noCredit() {
+
+        CreditRules creditRules = CreditRules.compile(List.of(
+                CreditRule.parse("Negative", "-5"),
+                CreditRule.parse("Undefined", "0 / 0"),
+                CreditRule.parse("Percentage", "grossIncome * 0.01")), FilingStatus.SINGLE);
+
+        assertEquals(3, creditRules.getRuleCount());
+        assertEquals(0.0, creditRules.evaluate(0, 1_000, 0, 0));
+        assertEquals(0.0, creditRules.evaluate(1, 1_000, 0, 0));
+        assertEquals(10.0, creditRules.evaluate(1_000, 0, 0));
+        assertEquals(0.0, CreditRules.compile(List.of(), FilingStatus.SINGLE).evaluate(1_000, 0, 0));
+    }
+
+    /**
+     * Verifies a phase-in and phase-out credit with several thresholds written in the rule language.
+     *
+     * @param filingStatus       Filing status
+     * @param grossIncome        Gross income (USD)
+     * @param preferentialIncome Qualified dividends and long-term capital gains (USD)
+     * @param qualifyingChildren Number of qualifying children
+     * @param expectedCredit     Expected credit (USD)
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // Phasing in: 10000 * 34%
+            "SINGLE, 10000, 0, 1, 3400",
+            // Maxed out at 7152, then (30000 - 23350) * 21.06% = 1400.49 phased out
+            "SINGLE, 30000, 0, 2, 5751.51",
+            // Joint filers start phasing out at 30470
+            "MARRIED_FILING_JOINTLY, 30000, 0, 2, 7152",
+            "SURVIVING_SPOUSE, 30000, 0, 2, 5751.51",
+            "HEAD_OF_HOUSEHOLD, 15000, 0, 3, 6750",
+            // 649 - (20000 - 10620) * 7.65% is less than zero
+            "SINGLE, 20000, 0, 0, 0",
+            "SINGLE, 20000, 12000, 1, 0",
+            "MARRIED_FILING_SEPARATELY, 20000, 0, 1, 0"
+    })
+    public void evaluate_earnedIncomeTaxCredit(FilingStatus filingStatus,
+                                               double grossIncome,
+                                               double preferentialIncome,
+                                               int qualifyingChildren,
+                                               double expectedCredit) {
+
+        CreditRules creditRules = CreditRules.compile(
+                List.of(CreditRule.parse("Earned income tax credit", EARNED_INCOME_TAX_CREDIT_2025)), filingStatus);
+
+        // Call the method under test
+        double credit = creditRules.evaluate(grossIncome, preferentialIncome, qualifyingChildren);
+
+        assertEquals(expectedCredit, credit, 1e-6);
+    }
+}
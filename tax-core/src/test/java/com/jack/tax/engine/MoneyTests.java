@@ -0,0 +1,60 @@
+package com.jack.tax.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for Money
+ */
+public class MoneyTests {
+
+    /**
+     * Verifies that half-cent ties are rounded half even, the same as decimal rounding.
+     *
+     * @param amount Amount that sits exactly on (or right next to) a half cent
+     */
+    @ParameterizedTest
+    @ValueSource(doubles = {0.125, 0.135, 2.675, 1.005, -0.125, -2.675, 4015.875, 0.0, -0.0, -0.001, 45984.115})
+    public void roundToCents_halfCentTies_matchesDecimalRounding(double amount) {
+
+        assertEquals(Money.roundToCentsExactly(amount), Money.roundToCents(amount));
+    }
+
+    /**
+     * Verifies that rounding matches decimal rounding for many random amounts of varying magnitudes.
+     */
+    @Test
+    public void roundToCents_randomAmounts_matchesDecimalRounding() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+
+            // Mix amounts with up to 3 decimal places (lots of exact ties) with arbitrary doubles
+            double amount = (i % 2 == 0)
+                    ? (random.nextLong(2_000_000_000_000L) - 1_000_000_000_000L) / 1000.0
+                    : (random.nextDouble() - 0.2) * Math.pow(10, random.nextInt(10));
+
+            assertEquals(Money.roundToCentsExactly(amount), Money.roundToCents(amount), "Amount " + amount);
+        }
+    }
+
+    /**
+     * Verifies that amounts are rounded up to the next cent unless they already are a whole number of cents.
+     *
+     * @param amount   Amount to round
+     * @param expected Expected rounded amount
+     */
+    @ParameterizedTest
+    @CsvSource({"12.34, 12.34", "12.341, 12.35", "12.3400001, 12.35", "0.1, 0.1", "0.0, 0.0", "-0.001, 0.0",
+            "91234.56, 91234.56", "2147483646.99, 2147483646.99"})
+    public void roundUpToCents_roundsUpToNextCent(double amount, double expected) {
+
+        assertEquals(expected, Money.roundUpToCents(amount));
+    }
+}